@@ -0,0 +1,104 @@
+package org.dynamisengine.light.api.mesh;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * Binary layout of {@link MeshFormats#DMESH_V1} payloads.
+ *
+ * <p>All values are little-endian. A payload is a 20-byte header ({@code 'DMSH'} magic, version,
+ * vertex count, index count, flags) followed by {@code vertexCount} interleaved vertices of
+ * {@value #VERTEX_FLOATS} floats (position xyz, normal xyz, uv, tangent xyz) and {@code indexCount}
+ * unsigned 32-bit triangle-list indices. The vertex block starts at {@link #VERTEX_OFFSET}, and the index
+ * block follows it directly, so backends can copy both blocks straight into GPU buffers.</p>
+ */
+public final class DmeshV1 {
+    public static final int MAGIC = 0x48534D44; // "DMSH" read little-endian
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 20;
+    public static final int VERTEX_FLOATS = 11;
+    public static final int VERTEX_STRIDE_BYTES = VERTEX_FLOATS * Float.BYTES;
+    public static final long VERTEX_OFFSET = HEADER_BYTES;
+
+    static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    static final ValueLayout.OfFloat FLOAT = ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private DmeshV1() {
+    }
+
+    public static long byteSize(int vertexCount, int indexCount) {
+        return HEADER_BYTES + (long) vertexCount * VERTEX_STRIDE_BYTES + (long) indexCount * Integer.BYTES;
+    }
+
+    public static long indexOffset(int vertexCount) {
+        return VERTEX_OFFSET + (long) vertexCount * VERTEX_STRIDE_BYTES;
+    }
+
+    public static int magic(MemorySegment payload) {
+        return payload.get(INT, 0);
+    }
+
+    public static int version(MemorySegment payload) {
+        return payload.get(INT, 4);
+    }
+
+    public static int vertexCount(MemorySegment payload) {
+        return payload.get(INT, 8);
+    }
+
+    public static int indexCount(MemorySegment payload) {
+        return payload.get(INT, 12);
+    }
+
+    public static int flags(MemorySegment payload) {
+        return payload.get(INT, 16);
+    }
+
+    /**
+     * Writes a header into the first {@value #HEADER_BYTES} bytes of {@code target}.
+     */
+    public static void writeHeader(MemorySegment target, int vertexCount, int indexCount) {
+        target.set(INT, 0, MAGIC);
+        target.set(INT, 4, VERSION);
+        target.set(INT, 8, vertexCount);
+        target.set(INT, 12, indexCount);
+        target.set(INT, 16, 0);
+    }
+
+    /**
+     * Writes a complete payload into {@code target}, which must hold at least {@link #byteSize(int, int)} bytes.
+     * Lets hosts build geometry directly in memory they own and register it with
+     * {@link MeshUploadRequest#lease(String, String, MemorySegment, long, boolean, Runnable)}.
+     *
+     * @param vertices interleaved vertices, {@value #VERTEX_FLOATS} floats each.
+     * @param indices triangle-list indices into {@code vertices}.
+     */
+    public static void write(MemorySegment target, float[] vertices, int[] indices) {
+        Objects.requireNonNull(target, "target");
+        Objects.requireNonNull(vertices, "vertices");
+        Objects.requireNonNull(indices, "indices");
+        if (vertices.length % VERTEX_FLOATS != 0) {
+            throw new IllegalArgumentException("vertices length must be a multiple of " + VERTEX_FLOATS);
+        }
+        int vertexCount = vertices.length / VERTEX_FLOATS;
+        if (target.byteSize() < byteSize(vertexCount, indices.length)) {
+            throw new IllegalArgumentException("target is smaller than the payload");
+        }
+        writeHeader(target, vertexCount, indices.length);
+        MemorySegment.copy(vertices, 0, target, FLOAT, VERTEX_OFFSET, vertices.length);
+        MemorySegment.copy(indices, 0, target, INT, indexOffset(vertexCount), indices.length);
+    }
+
+    /**
+     * @return a new heap payload for {@code vertices} and {@code indices}.
+     */
+    public static byte[] encode(float[] vertices, int[] indices) {
+        Objects.requireNonNull(vertices, "vertices");
+        Objects.requireNonNull(indices, "indices");
+        byte[] payload = new byte[Math.toIntExact(byteSize(vertices.length / VERTEX_FLOATS, indices.length))];
+        write(MemorySegment.ofArray(payload), vertices, indices);
+        return payload;
+    }
+}
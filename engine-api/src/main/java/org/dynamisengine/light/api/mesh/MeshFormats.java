@@ -5,4 +5,27 @@ public final class MeshFormats {
     }
 
     public static final String DMESH_V1 = "DMESH_V1";
+
+    /**
+     * {@code MeshDesc.meshAssetPath} prefix that refers to a mesh registered through
+     * {@code EngineRuntime.registerMesh} instead of an asset file.
+     */
+    public static final String REGISTERED_MESH_PREFIX = "registered:";
+
+    /**
+     * @return the mesh asset path a scene uses to reference the registered mesh {@code meshId}.
+     */
+    public static String registeredMeshPath(String meshId) {
+        return REGISTERED_MESH_PREFIX + meshId;
+    }
+
+    /**
+     * @return the registered mesh id referenced by {@code meshAssetPath}, or {@code null} for asset paths.
+     */
+    public static String registeredMeshId(String meshAssetPath) {
+        if (meshAssetPath == null || !meshAssetPath.startsWith(REGISTERED_MESH_PREFIX)) {
+            return null;
+        }
+        return meshAssetPath.substring(REGISTERED_MESH_PREFIX.length());
+    }
 }
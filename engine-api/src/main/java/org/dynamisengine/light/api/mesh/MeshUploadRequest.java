@@ -1,24 +1,58 @@
 package org.dynamisengine.light.api.mesh;
 
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Backend-neutral mesh upload request.
+ *
+ * <p>The {@code byte[]} constructors copy the payload once into a heap segment owned by the request.
+ * The {@code lease} factories instead wrap caller-owned memory without copying it. A leased payload is
+ * borrowed under this contract:</p>
+ * <ul>
+ *     <li>the caller keeps the memory alive and unmodified until {@code registerMesh}/{@code registerMeshes}
+ *     returns;</li>
+ *     <li>the runtime reads the payload once, copying it straight into its upload staging memory, and
+ *     never retains the segment;</li>
+ *     <li>the runtime calls {@link #release()} before returning, on success and on failure, which runs the
+ *     caller's release callback exactly once.</li>
+ * </ul>
+ */
 public final class MeshUploadRequest {
+    private static final Runnable NO_RELEASE = () -> { };
+
     private final String meshId;
     private final String format;
-    private final byte[] payload;
+    private final MemorySegment payload;
     private final long contentHash64;
     private final boolean allowDuplicate;
+    private final Runnable onRelease;
+    private final AtomicBoolean released = new AtomicBoolean();
 
     public MeshUploadRequest(String meshId, String format, byte[] payload, long contentHash64) {
         this(meshId, format, payload, contentHash64, false);
     }
 
     public MeshUploadRequest(String meshId, String format, byte[] payload, long contentHash64, boolean allowDuplicate) {
+        this(meshId, format, copyOf(payload), contentHash64, allowDuplicate, NO_RELEASE);
+    }
+
+    private MeshUploadRequest(
+            String meshId,
+            String format,
+            MemorySegment payload,
+            long contentHash64,
+            boolean allowDuplicate,
+            Runnable onRelease
+    ) {
         this.meshId = requireNonBlank(meshId, "meshId");
         this.format = requireNonBlank(format, "format");
 
         Objects.requireNonNull(payload, "payload");
-        if (payload.length == 0) {
+        if (payload.byteSize() == 0) {
             throw new IllegalArgumentException("payload must not be empty");
         }
 
@@ -26,9 +60,48 @@ public final class MeshUploadRequest {
             throw new IllegalArgumentException("contentHash64 must not be 0");
         }
 
-        this.payload = payload.clone();
+        this.payload = payload.asReadOnly();
         this.contentHash64 = contentHash64;
         this.allowDuplicate = allowDuplicate;
+        this.onRelease = Objects.requireNonNull(onRelease, "onRelease");
+    }
+
+    /**
+     * Wraps caller-owned memory without copying it.
+     *
+     * @param payload caller-owned payload; must stay valid and unmodified until the register call returns.
+     * @param onRelease invoked exactly once when the runtime no longer needs the payload.
+     */
+    public static MeshUploadRequest lease(
+            String meshId,
+            String format,
+            MemorySegment payload,
+            long contentHash64,
+            boolean allowDuplicate,
+            Runnable onRelease
+    ) {
+        return new MeshUploadRequest(meshId, format, payload, contentHash64, allowDuplicate, onRelease);
+    }
+
+    /**
+     * Wraps the remaining bytes ({@code position..limit}) of a caller-owned direct buffer without copying them.
+     *
+     * @throws IllegalArgumentException if the buffer is not direct.
+     */
+    public static MeshUploadRequest lease(
+            String meshId,
+            String format,
+            ByteBuffer payload,
+            long contentHash64,
+            boolean allowDuplicate,
+            Runnable onRelease
+    ) {
+        Objects.requireNonNull(payload, "payload");
+        if (!payload.isDirect()) {
+            throw new IllegalArgumentException("payload buffer must be direct");
+        }
+        MemorySegment segment = MemorySegment.ofBuffer(payload);
+        return new MeshUploadRequest(meshId, format, segment, contentHash64, allowDuplicate, onRelease);
     }
 
     public String meshId() {
@@ -39,8 +112,22 @@ public final class MeshUploadRequest {
         return format;
     }
 
+    /**
+     * @return a fresh copy of the payload bytes.
+     */
     public byte[] payload() {
-        return payload.clone();
+        return payload.toArray(ValueLayout.JAVA_BYTE);
+    }
+
+    /**
+     * @return read-only, zero-copy view of the payload; for leased requests this is the caller's memory.
+     */
+    public MemorySegment payloadSegment() {
+        return payload;
+    }
+
+    public long payloadSize() {
+        return payload.byteSize();
     }
 
     public long contentHash64() {
@@ -51,6 +138,24 @@ public final class MeshUploadRequest {
         return allowDuplicate;
     }
 
+    /**
+     * Ends the lease on the payload. Only the first call runs the release callback.
+     */
+    public void release() {
+        if (released.compareAndSet(false, true)) {
+            onRelease.run();
+        }
+    }
+
+    public boolean released() {
+        return released.get();
+    }
+
+    private static MemorySegment copyOf(byte[] payload) {
+        Objects.requireNonNull(payload, "payload");
+        return MemorySegment.ofArray(payload.clone());
+    }
+
     private static String requireNonBlank(String value, String fieldName) {
         Objects.requireNonNull(value, fieldName);
         if (value.isBlank()) {
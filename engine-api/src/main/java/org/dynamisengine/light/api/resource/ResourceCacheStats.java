@@ -26,6 +26,16 @@ package org.dynamisengine.light.api.resource;
  * - {@code watcherEvents}:
  *   The total number of events triggered by resource watcher mechanisms, such as file changes
  *   for hot-reloadable resources.
+ *
+ * - {@code checksumNanos}:
+ *   Total time spent hashing resource contents for change detection.
+ *
+ * - {@code checksumBytesRead}:
+ *   Total bytes read while hashing resource contents.
+ *
+ * - {@code checksumStatHits}:
+ *   The number of checksum requests answered from an unchanged size and modification time, without
+ *   reading the file.
  */
 public record ResourceCacheStats(
         long cacheHits,
@@ -33,6 +43,19 @@ public record ResourceCacheStats(
         long reloadRequests,
         long reloadFailures,
         long evictions,
-        long watcherEvents
+        long watcherEvents,
+        long checksumNanos,
+        long checksumBytesRead,
+        long checksumStatHits
 ) {
+    public ResourceCacheStats(
+            long cacheHits,
+            long cacheMisses,
+            long reloadRequests,
+            long reloadFailures,
+            long evictions,
+            long watcherEvents
+    ) {
+        this(cacheHits, cacheMisses, reloadRequests, reloadFailures, evictions, watcherEvents, 0L, 0L, 0L);
+    }
 }
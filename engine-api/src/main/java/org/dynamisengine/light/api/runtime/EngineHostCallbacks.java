@@ -2,6 +2,7 @@ package org.dynamisengine.light.api.runtime;
 
 import org.dynamisengine.light.api.error.EngineErrorReport;
 import org.dynamisengine.light.api.event.EngineEvent;
+import org.dynamisengine.light.api.logging.LogLevel;
 import org.dynamisengine.light.api.logging.LogMessage;
 
 /**
@@ -56,6 +57,20 @@ public interface EngineHostCallbacks {
      */
     void onLog(LogMessage message);
 
+    /**
+     * Reports whether the host wants log messages at {@code level}.
+     *
+     * The engine checks this before building per-frame diagnostic messages, so
+     * hosts that drop {@link LogLevel#DEBUG} can override it to keep the render
+     * loop free of string formatting and {@link LogMessage} allocation.
+     *
+     * @param level the severity of a pending message; never null
+     * @return {@code true} (the default) if {@link #onLog(LogMessage)} should be called
+     */
+    default boolean isLogEnabled(LogLevel level) {
+        return true;
+    }
+
     /**
      * Triggered when an error occurs within the engine runtime, providing a
      * mechanism for custom error handling or recovery.
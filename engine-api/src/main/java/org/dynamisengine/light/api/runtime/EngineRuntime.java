@@ -8,6 +8,9 @@ import org.dynamisengine.light.api.mesh.MeshUploadResult;
 import org.dynamisengine.light.api.resource.EngineResourceService;
 import org.dynamisengine.light.api.scene.SceneDescriptor;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Core runtime contract used by hosts to drive the engine as a black box.
  *
@@ -142,12 +145,40 @@ public interface EngineRuntime extends AutoCloseable {
     /**
      * Registers an externally uploaded mesh and returns the resulting runtime mesh handle.
      *
+     * A leased payload (see {@link MeshUploadRequest#lease}) is copied once into upload staging
+     * and released before this method returns, whether or not it succeeds. Scenes reference the
+     * mesh through {@code MeshFormats.registeredMeshPath(meshId)}.
+     *
      * @param request backend-neutral mesh upload request carrying format, payload, and dedupe hash.
      * @return upload result containing mesh handle and reuse metadata.
      * @throws EngineException if the runtime is not initialized, request format is unsupported, or upload fails.
      */
     MeshUploadResult registerMesh(MeshUploadRequest request) throws EngineException;
 
+    /**
+     * Registers several externally uploaded meshes in one call.
+     *
+     * Backends may batch staging allocation, transfers, and descriptor work across the whole list.
+     * Leased payloads are released before this method returns, whether or not it succeeds.
+     *
+     * @param requests mesh upload requests, in the order results are returned.
+     * @return one upload result per request, in request order.
+     * @throws EngineException if the runtime is not initialized, any request is invalid, or upload fails.
+     */
+    default List<MeshUploadResult> registerMeshes(List<MeshUploadRequest> requests) throws EngineException {
+        List<MeshUploadResult> results = new ArrayList<>(requests.size());
+        try {
+            for (MeshUploadRequest request : requests) {
+                results.add(registerMesh(request));
+            }
+        } finally {
+            for (MeshUploadRequest request : requests) {
+                request.release();
+            }
+        }
+        return List.copyOf(results);
+    }
+
     /**
      * Removes a previously registered external mesh.
      *
@@ -28,6 +28,43 @@ public record EngineStats(
         long staticDraws,
         long morphDraws,
         long skinnedDraws,
-        long instancedDraws
+        long instancedDraws,
+        // GPU culling results, read back with the latency of the frames in flight
+        long frustumCulledDraws,
+        long occlusionCulledDraws,
+        long gpuVisibleDraws,
+        // Program, texture and vertex-array binds issued by the main geometry pass
+        long stateBindChanges,
+        // Uniform updates and uniform bytes sent by the main geometry pass
+        long uniformCalls,
+        long uniformBytes,
+        // Estimated vertex shader invocations of the main geometry pass after post-transform cache reuse
+        long vertexShaderInvocations
 ) {
+    public EngineStats(
+            double fps,
+            double cpuFrameMs,
+            double gpuFrameMs,
+            long drawCalls,
+            long triangles,
+            long visibleObjects,
+            long gpuMemoryBytes,
+            double taaHistoryRejectRate,
+            double taaConfidenceMean,
+            long taaConfidenceDropEvents,
+            long shadowDrawCalls,
+            long geometryDrawCalls,
+            long postDrawCalls,
+            long pipelineSwitches,
+            long submittedObjects,
+            long staticDraws,
+            long morphDraws,
+            long skinnedDraws,
+            long instancedDraws
+    ) {
+        this(fps, cpuFrameMs, gpuFrameMs, drawCalls, triangles, visibleObjects, gpuMemoryBytes,
+                taaHistoryRejectRate, taaConfidenceMean, taaConfidenceDropEvents,
+                shadowDrawCalls, geometryDrawCalls, postDrawCalls, pipelineSwitches, submittedObjects,
+                staticDraws, morphDraws, skinnedDraws, instancedDraws, 0, 0, 0, 0, 0, 0, 0);
+    }
 }
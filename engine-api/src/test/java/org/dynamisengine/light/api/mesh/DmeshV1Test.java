@@ -0,0 +1,44 @@
+package org.dynamisengine.light.api.mesh;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DmeshV1Test {
+
+    @Test
+    void encodesHeaderVerticesAndIndicesLittleEndian() {
+        float[] vertices = new float[DmeshV1.VERTEX_FLOATS * 3];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = i * 0.5f;
+        }
+        int[] indices = {0, 1, 2};
+
+        byte[] payload = DmeshV1.encode(vertices, indices);
+        MemorySegment segment = MemorySegment.ofArray(payload);
+
+        assertEquals(DmeshV1.byteSize(3, 3), payload.length);
+        assertEquals('D', payload[0]);
+        assertEquals('H', payload[3]);
+        assertEquals(DmeshV1.MAGIC, DmeshV1.magic(segment));
+        assertEquals(DmeshV1.VERSION, DmeshV1.version(segment));
+        assertEquals(3, DmeshV1.vertexCount(segment));
+        assertEquals(3, DmeshV1.indexCount(segment));
+        ValueLayout.OfFloat floatLe = ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(vertices[12], segment.get(floatLe, DmeshV1.VERTEX_OFFSET + 12L * Float.BYTES));
+        ValueLayout.OfInt intLe = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(2, segment.get(intLe, DmeshV1.indexOffset(3) + 2L * Integer.BYTES));
+    }
+
+    @Test
+    void rejectsPartialVerticesAndShortTargets() {
+        assertThrows(IllegalArgumentException.class, () -> DmeshV1.encode(new float[5], new int[0]));
+        assertThrows(IllegalArgumentException.class,
+                () -> DmeshV1.write(MemorySegment.ofArray(new byte[8]), new float[DmeshV1.VERTEX_FLOATS], new int[0]));
+    }
+}
@@ -2,9 +2,17 @@ package org.dynamisengine.light.api.mesh;
 
 import org.junit.jupiter.api.Test;
 
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class MeshUploadRequestTest {
 
@@ -56,4 +64,36 @@ class MeshUploadRequestTest {
         MeshUploadRequest request = new MeshUploadRequest("mesh/a", MeshFormats.DMESH_V1, new byte[]{1}, 5L);
         assertFalse(request.allowDuplicate());
     }
+
+    @Test
+    void leasedSegmentIsNotCopiedAndReleasesOnce() {
+        AtomicInteger releases = new AtomicInteger();
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment memory = arena.allocate(4);
+            memory.set(ValueLayout.JAVA_BYTE, 0, (byte) 1);
+            MeshUploadRequest request = MeshUploadRequest.lease(
+                    "mesh/a", MeshFormats.DMESH_V1, memory, 5L, false, releases::incrementAndGet);
+
+            memory.set(ValueLayout.JAVA_BYTE, 0, (byte) 7);
+            assertEquals(7, request.payloadSegment().get(ValueLayout.JAVA_BYTE, 0));
+            assertTrue(request.payloadSegment().isReadOnly());
+            assertEquals(4L, request.payloadSize());
+
+            request.release();
+            request.release();
+            assertTrue(request.released());
+            assertEquals(1, releases.get());
+        }
+    }
+
+    @Test
+    void leasedBufferUsesRemainingBytesAndMustBeDirect() {
+        ByteBuffer direct = ByteBuffer.allocateDirect(8);
+        direct.position(2).limit(6);
+        MeshUploadRequest request = MeshUploadRequest.lease("mesh/a", MeshFormats.DMESH_V1, direct, 5L, false, () -> { });
+        assertEquals(4L, request.payloadSize());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> MeshUploadRequest.lease("mesh/a", MeshFormats.DMESH_V1, ByteBuffer.allocate(8), 5L, false, () -> { }));
+    }
 }
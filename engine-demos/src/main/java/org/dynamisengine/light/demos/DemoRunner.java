@@ -44,6 +44,7 @@ public final class DemoRunner {
             "SHADOW_CASCADE_PROFILE",
             "VULKAN_POST_PROCESS_PIPELINE",
             "VULKAN_FRAME_RESOURCE_PROFILE",
+            "VULKAN_RENDER_GRAPH_PROFILE",
             "REFLECTIONS_BASELINE_ACTIVE",
             "TAA_BASELINE_ACTIVE"
     );
@@ -2,6 +2,9 @@ module org.dynamisengine.light.impl.common {
     exports org.dynamisengine.light.impl.common to
             org.dynamisengine.light.impl.opengl,
             org.dynamisengine.light.impl.vulkan;
+    exports org.dynamisengine.light.impl.common.culling to
+            org.dynamisengine.light.impl.opengl,
+            org.dynamisengine.light.impl.vulkan;
     exports org.dynamisengine.light.impl.common.framegraph to
             org.dynamisengine.light.impl.opengl,
             org.dynamisengine.light.impl.vulkan;
@@ -27,6 +30,7 @@ module org.dynamisengine.light.impl.common {
     requires org.lwjgl;
     requires org.lwjgl.ktx;
     requires com.github.luben.zstd_jni;
+    requires com.fasterxml.jackson.databind;
     requires meshforge;
     requires meshforge.loader;
     requires meshforge.mgi;
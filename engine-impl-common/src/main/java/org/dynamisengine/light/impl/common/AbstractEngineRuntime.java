@@ -7,18 +7,19 @@ import java.nio.file.StandardWatchEventKinds;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HexFormat;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
 import org.dynamisengine.light.api.runtime.EngineApiVersion;
 import org.dynamisengine.light.api.runtime.EngineCapabilities;
 import org.dynamisengine.light.api.runtime.AaPostCapabilityDiagnostics;
@@ -47,6 +48,7 @@ import org.dynamisengine.light.api.runtime.SkyPromotionDiagnostics;
 import org.dynamisengine.light.api.config.EngineConfig;
 import org.dynamisengine.light.api.error.EngineErrorCode;
 import org.dynamisengine.light.api.error.EngineException;
+import org.dynamisengine.light.api.mesh.MeshFormats;
 import org.dynamisengine.light.api.mesh.MeshUploadRequest;
 import org.dynamisengine.light.api.mesh.MeshUploadResult;
 import org.dynamisengine.light.api.runtime.EngineFrameResult;
@@ -112,8 +114,36 @@ public abstract class AbstractEngineRuntime implements EngineRuntime {
             long staticDraws,
             long morphDraws,
             long skinnedDraws,
-            long instancedDraws
+            long instancedDraws,
+            long frustumCulledDraws,
+            long occlusionCulledDraws,
+            long gpuVisibleDraws,
+            long stateBindChanges,
+            long uniformCalls,
+            long uniformBytes,
+            long vertexShaderInvocations
     ) {
+        RenderMetrics(
+                double cpuFrameMs,
+                double gpuFrameMs,
+                long drawCalls,
+                long triangles,
+                long visibleObjects,
+                long gpuMemoryBytes,
+                long shadowDrawCalls,
+                long geometryDrawCalls,
+                long postDrawCalls,
+                long pipelineSwitches,
+                long submittedObjects,
+                long staticDraws,
+                long morphDraws,
+                long skinnedDraws,
+                long instancedDraws
+        ) {
+            this(cpuFrameMs, gpuFrameMs, drawCalls, triangles, visibleObjects, gpuMemoryBytes,
+                    shadowDrawCalls, geometryDrawCalls, postDrawCalls, pipelineSwitches, submittedObjects,
+                    staticDraws, morphDraws, skinnedDraws, instancedDraws, 0, 0, 0, 0, 0, 0, 0);
+        }
     }
 
     private enum State {
@@ -122,6 +152,9 @@ public abstract class AbstractEngineRuntime implements EngineRuntime {
         SHUTDOWN
     }
 
+    private static final long DEFAULT_RESOURCE_CACHE_MAX_BYTES = 512L * 1024L * 1024L;
+    private static final int DEFAULT_RESOURCE_ACQUIRE_PARALLELISM = Math.min(8, Runtime.getRuntime().availableProcessors());
+
     private final String backendName;
     private final EngineCapabilities capabilities;
     private final double renderCpuFrameMs;
@@ -133,34 +166,59 @@ public abstract class AbstractEngineRuntime implements EngineRuntime {
     private long frameIndex;
     private EngineStats stats = new EngineStats(0.0, 0.0, 0.0, 0, 0, 0, 0, 0.0, 1.0, 0,
             0, 0, 0, 0, 0, 0, 0, 0, 0);
-    private final Map<ResourceId, ResourceInfo> resourceCache = new LinkedHashMap<>();
-    private final Map<ResourceId, String> resourceChecksums = new LinkedHashMap<>();
+    private final RenderMetrics defaultRenderMetrics;
+    private final List<EngineWarning> warningScratch = new ArrayList<>();
+    private List<EngineWarning> lastCombinedWarnings = List.of();
+    private long lastAaTelemetryFrame = -1L;
+    private double lastAaRejectRate;
+    private double lastAaConfidenceMean;
+    private long lastAaDropEvents;
+    private final RuntimeResourceCache resourceCache = new RuntimeResourceCache(256, DEFAULT_RESOURCE_CACHE_MAX_BYTES);
     private List<ResourceId> activeSceneResourceIds = new ArrayList<>();
-    private final EngineResourceService resourceService = new RuntimeResourceService();
-    private int resourceCacheMaxEntries = 256;
+    private final RuntimeResourceService resourceService = new RuntimeResourceService();
+    private final ResourceFingerprinter resourceFingerprinter = new ResourceFingerprinter();
     private int resourceReloadMaxRetries = 2;
+    private int resourceAcquireParallelism = DEFAULT_RESOURCE_ACQUIRE_PARALLELISM;
+    private final IntFunction<ExecutorService> resourceScanExecutors;
     private boolean resourceWatchEnabled;
     private long resourceWatchDebounceMs = 200L;
     private WatchService resourceWatchService;
     private Thread resourceWatcherThread;
     private final Map<Path, Long> watchedPathLastReloadMs = new ConcurrentHashMap<>();
-    private long cacheHits;
-    private long cacheMisses;
-    private long reloadRequests;
-    private long reloadFailures;
-    private long evictions;
-    private long watcherEvents;
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private final AtomicLong reloadRequests = new AtomicLong();
+    private final AtomicLong reloadFailures = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong watcherEvents = new AtomicLong();
 
     protected AbstractEngineRuntime(
             String backendName,
             EngineCapabilities capabilities,
             double renderCpuFrameMs,
             double renderGpuFrameMs
+    ) {
+        this(backendName, capabilities, renderCpuFrameMs, renderGpuFrameMs, AbstractEngineRuntime::newResourceScanExecutor);
+    }
+
+    /**
+     * @param resourceScanExecutors creates the pool that prescans scene resources, given its worker count; the
+     *                              pool is closed once every scan has finished
+     */
+    AbstractEngineRuntime(
+            String backendName,
+            EngineCapabilities capabilities,
+            double renderCpuFrameMs,
+            double renderGpuFrameMs,
+            IntFunction<ExecutorService> resourceScanExecutors
     ) {
         this.backendName = backendName;
         this.capabilities = capabilities;
         this.renderCpuFrameMs = renderCpuFrameMs;
         this.renderGpuFrameMs = renderGpuFrameMs;
+        this.resourceScanExecutors = resourceScanExecutors;
+        this.defaultRenderMetrics = new RenderMetrics(renderCpuFrameMs, renderGpuFrameMs, 1, 3, 1, 0,
+                0, 0, 0, 0, 0, 0, 0, 0, 0);
     }
 
     @Override
@@ -179,9 +237,14 @@ public abstract class AbstractEngineRuntime implements EngineRuntime {
 
         this.host = host;
         this.assetRoot = config.assetRoot() == null ? Path.of(".") : config.assetRoot();
-        this.resourceCacheMaxEntries = parseIntOption(config, "resource.cache.maxEntries", 256);
+        this.resourceCache.configure(
+                parseIntOption(config, "resource.cache.maxEntries", 256),
+                parseLongOption(config, "resource.cache.maxBytes", DEFAULT_RESOURCE_CACHE_MAX_BYTES)
+        );
         this.resourceReloadMaxRetries = parseIntOption(config, "resource.reload.maxRetries", 2);
         this.resourceWatchDebounceMs = parseIntOption(config, "resource.watch.debounceMs", 200);
+        this.resourceAcquireParallelism = parseIntOption(config, "resource.acquire.parallelism", DEFAULT_RESOURCE_ACQUIRE_PARALLELISM);
+        this.resourceFingerprinter.configure(ResourceFingerprinter.Mode.parse(config.backendOptions().get("resource.checksum.mode")));
         this.resourceWatchEnabled = Boolean.parseBoolean(config.backendOptions().getOrDefault("resource.watch.enabled", "false"));
         try {
             onInitialize(config);
@@ -245,51 +308,25 @@ public abstract class AbstractEngineRuntime implements EngineRuntime {
             RenderMetrics renderMetrics = onRender();
             frameIndex++;
             if (renderMetrics == null) {
-                renderMetrics = new RenderMetrics(renderCpuFrameMs, renderGpuFrameMs, 1, 3, 1, 0,
-                        0, 0, 0, 0, 0, 0, 0, 0, 0);
+                renderMetrics = defaultRenderMetrics;
             }
-            double frameMs = Math.max(renderMetrics.cpuFrameMs(), 0.0001);
-            stats = new EngineStats(
-                    1000.0 / frameMs,
-                    renderMetrics.cpuFrameMs(),
-                    renderMetrics.gpuFrameMs(),
-                    renderMetrics.drawCalls(),
-                    renderMetrics.triangles(),
-                    renderMetrics.visibleObjects(),
-                    renderMetrics.gpuMemoryBytes(),
-                    clamp01(aaHistoryRejectRate()),
-                    clamp01(aaConfidenceMean()),
-                    Math.max(0L, aaConfidenceDropEvents()),
-                    renderMetrics.shadowDrawCalls(),
-                    renderMetrics.geometryDrawCalls(),
-                    renderMetrics.postDrawCalls(),
-                    renderMetrics.pipelineSwitches(),
-                    renderMetrics.submittedObjects(),
-                    renderMetrics.staticDraws(),
-                    renderMetrics.morphDraws(),
-                    renderMetrics.skinnedDraws(),
-                    renderMetrics.instancedDraws()
-            );
-        log(LogLevel.DEBUG, "RENDER", "Rendered frame " + frameIndex);
-            log(LogLevel.DEBUG, "PERF",
-                    "frame=" + frameIndex + " cpuMs=" + String.format("%.3f", stats.cpuFrameMs())
-                            + " gpuMs=" + String.format("%.3f", stats.gpuFrameMs())
-                            + " fps=" + String.format("%.1f", stats.fps()));
-            List<EngineWarning> warnings = new ArrayList<>();
-            warnings.addAll(baselineWarnings());
-            warnings.addAll(frameWarnings());
+            updateStats(renderMetrics);
+            if (isLogEnabled(LogLevel.DEBUG)) {
+                log(LogLevel.DEBUG, "RENDER", "Rendered frame " + frameIndex);
+                log(LogLevel.DEBUG, "PERF",
+                        "frame=" + frameIndex + " cpuMs=" + String.format("%.3f", stats.cpuFrameMs())
+                                + " gpuMs=" + String.format("%.3f", stats.gpuFrameMs())
+                                + " fps=" + String.format("%.1f", stats.fps()));
+            }
+            List<EngineWarning> warnings = combineWarnings(baselineWarnings(), frameWarnings());
             if (host != null) {
-                for (EngineWarning warning : warnings) {
+                for (int i = 0; i < warnings.size(); i++) {
+                    EngineWarning warning = warnings.get(i);
                     if (shouldEmitPerformanceWarningEvent(warning)) {
                         host.onEvent(new PerformanceWarningEvent(warning.code(), warning.message()));
                     }
                 }
-                host.onEvent(new AaTelemetryEvent(
-                        frameIndex,
-                        stats.taaHistoryRejectRate(),
-                        stats.taaConfidenceMean(),
-                        stats.taaConfidenceDropEvents()
-                ));
+                emitAaTelemetryIfChanged();
                 EngineEvent extraTelemetry = additionalTelemetryEvent(frameIndex);
                 if (extraTelemetry != null) {
                     host.onEvent(extraTelemetry);
@@ -309,6 +346,124 @@ public abstract class AbstractEngineRuntime implements EngineRuntime {
         }
     }
 
+    /**
+     * Publishes this frame's stats, keeping the previous {@link EngineStats} instance when nothing changed
+     * so a steady-state frame does not allocate one.
+     */
+    private void updateStats(RenderMetrics m) {
+        double fps = 1000.0 / Math.max(m.cpuFrameMs(), 0.0001);
+        double rejectRate = clamp01(aaHistoryRejectRate());
+        double confidenceMean = clamp01(aaConfidenceMean());
+        long dropEvents = Math.max(0L, aaConfidenceDropEvents());
+        EngineStats s = stats;
+        if (s.fps() == fps
+                && s.cpuFrameMs() == m.cpuFrameMs()
+                && s.gpuFrameMs() == m.gpuFrameMs()
+                && s.drawCalls() == m.drawCalls()
+                && s.triangles() == m.triangles()
+                && s.visibleObjects() == m.visibleObjects()
+                && s.gpuMemoryBytes() == m.gpuMemoryBytes()
+                && s.taaHistoryRejectRate() == rejectRate
+                && s.taaConfidenceMean() == confidenceMean
+                && s.taaConfidenceDropEvents() == dropEvents
+                && s.shadowDrawCalls() == m.shadowDrawCalls()
+                && s.geometryDrawCalls() == m.geometryDrawCalls()
+                && s.postDrawCalls() == m.postDrawCalls()
+                && s.pipelineSwitches() == m.pipelineSwitches()
+                && s.submittedObjects() == m.submittedObjects()
+                && s.staticDraws() == m.staticDraws()
+                && s.morphDraws() == m.morphDraws()
+                && s.skinnedDraws() == m.skinnedDraws()
+                && s.instancedDraws() == m.instancedDraws()
+                && s.frustumCulledDraws() == m.frustumCulledDraws()
+                && s.occlusionCulledDraws() == m.occlusionCulledDraws()
+                && s.gpuVisibleDraws() == m.gpuVisibleDraws()
+                && s.stateBindChanges() == m.stateBindChanges()
+                && s.uniformCalls() == m.uniformCalls()
+                && s.uniformBytes() == m.uniformBytes()
+                && s.vertexShaderInvocations() == m.vertexShaderInvocations()) {
+            return;
+        }
+        stats = new EngineStats(
+                fps,
+                m.cpuFrameMs(),
+                m.gpuFrameMs(),
+                m.drawCalls(),
+                m.triangles(),
+                m.visibleObjects(),
+                m.gpuMemoryBytes(),
+                rejectRate,
+                confidenceMean,
+                dropEvents,
+                m.shadowDrawCalls(),
+                m.geometryDrawCalls(),
+                m.postDrawCalls(),
+                m.pipelineSwitches(),
+                m.submittedObjects(),
+                m.staticDraws(),
+                m.morphDraws(),
+                m.skinnedDraws(),
+                m.instancedDraws(),
+                m.frustumCulledDraws(),
+                m.occlusionCulledDraws(),
+                m.gpuVisibleDraws(),
+                m.stateBindChanges(),
+                m.uniformCalls(),
+                m.uniformBytes(),
+                m.vertexShaderInvocations()
+        );
+    }
+
+    /**
+     * Returns baseline + frame warnings as an immutable list. When either side is empty the other list is
+     * returned as-is, and an unchanged combination reuses the previous frame's list.
+     */
+    private List<EngineWarning> combineWarnings(List<EngineWarning> baseline, List<EngineWarning> frame) {
+        baseline = baseline == null ? List.of() : baseline;
+        frame = frame == null ? List.of() : frame;
+        if (frame.isEmpty()) {
+            return baseline;
+        }
+        if (baseline.isEmpty()) {
+            return frame;
+        }
+        List<EngineWarning> previous = lastCombinedWarnings;
+        if (previous.size() == baseline.size() + frame.size() && startsWith(previous, baseline, 0) && startsWith(previous, frame, baseline.size())) {
+            return previous;
+        }
+        warningScratch.clear();
+        warningScratch.addAll(baseline);
+        warningScratch.addAll(frame);
+        lastCombinedWarnings = List.copyOf(warningScratch);
+        warningScratch.clear();
+        return lastCombinedWarnings;
+    }
+
+    private static boolean startsWith(List<EngineWarning> combined, List<EngineWarning> part, int offset) {
+        for (int i = 0; i < part.size(); i++) {
+            if (!Objects.equals(combined.get(offset + i), part.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** AA telemetry is only published when one of its values moves (and always for the first frame). */
+    private void emitAaTelemetryIfChanged() {
+        EngineStats s = stats;
+        if (lastAaTelemetryFrame >= 0L
+                && lastAaRejectRate == s.taaHistoryRejectRate()
+                && lastAaConfidenceMean == s.taaConfidenceMean()
+                && lastAaDropEvents == s.taaConfidenceDropEvents()) {
+            return;
+        }
+        lastAaTelemetryFrame = frameIndex;
+        lastAaRejectRate = s.taaHistoryRejectRate();
+        lastAaConfidenceMean = s.taaConfidenceMean();
+        lastAaDropEvents = s.taaConfidenceDropEvents();
+        host.onEvent(new AaTelemetryEvent(frameIndex, lastAaRejectRate, lastAaConfidenceMean, lastAaDropEvents));
+    }
+
     @Override
     public final void resize(int widthPx, int heightPx, float dpiScale) throws EngineException {
         try {
@@ -452,6 +607,37 @@ public abstract class AbstractEngineRuntime implements EngineRuntime {
                     "Unexpected mesh registration failure: " + e.getMessage(),
                     false
             ));
+        } finally {
+            if (request != null) {
+                request.release();
+            }
+        }
+    }
+
+    @Override
+    public final List<MeshUploadResult> registerMeshes(List<MeshUploadRequest> requests) throws EngineException {
+        try {
+            ensureInitialized();
+            if (requests == null || requests.contains(null)) {
+                throw new EngineException(EngineErrorCode.INVALID_ARGUMENT, "requests must not be null", true);
+            }
+            return requests.isEmpty() ? List.of() : List.copyOf(onRegisterMeshes(List.copyOf(requests)));
+        } catch (EngineException e) {
+            throw reportAndReturn(e);
+        } catch (RuntimeException e) {
+            throw reportAndReturn(new EngineException(
+                    EngineErrorCode.INTERNAL_ERROR,
+                    "Unexpected mesh registration failure: " + e.getMessage(),
+                    false
+            ));
+        } finally {
+            if (requests != null) {
+                for (MeshUploadRequest request : requests) {
+                    if (request != null) {
+                        request.release();
+                    }
+                }
+            }
         }
     }
 
@@ -714,8 +900,8 @@ public abstract class AbstractEngineRuntime implements EngineRuntime {
         releaseResources(activeSceneResourceIds);
         activeSceneResourceIds = new ArrayList<>();
         resourceCache.clear();
-        resourceChecksums.clear();
         watchedPathLastReloadMs.clear();
+        resourceFingerprinter.clear();
         if (host != null) {
             log(LogLevel.INFO, "LIFECYCLE", backendName + " runtime shut down");
         }
@@ -779,6 +965,18 @@ public abstract class AbstractEngineRuntime implements EngineRuntime {
         );
     }
 
+    /**
+     * Batched registration hook. Backends override this to share staging and descriptor work across the
+     * batch; the default registers the requests one by one. Leases are released by the caller.
+     */
+    protected List<MeshUploadResult> onRegisterMeshes(List<MeshUploadRequest> requests) throws EngineException {
+        List<MeshUploadResult> results = new ArrayList<>(requests.size());
+        for (MeshUploadRequest request : requests) {
+            results.add(onRegisterMesh(request));
+        }
+        return results;
+    }
+
     protected void onRemoveMesh(int meshHandle) throws EngineException {
         throw new EngineException(
                 EngineErrorCode.INVALID_STATE,
@@ -1012,7 +1210,7 @@ public abstract class AbstractEngineRuntime implements EngineRuntime {
             long gpuMemoryBytes
     ) {
         return new RenderMetrics(cpuFrameMs, gpuFrameMs, drawCalls, triangles, visibleObjects, gpuMemoryBytes,
-                0, 0, 0, 0, 0, 0, 0, 0, 0);
+                0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
     }
 
     protected final RenderMetrics renderMetrics(
@@ -1031,10 +1229,98 @@ public abstract class AbstractEngineRuntime implements EngineRuntime {
             long morphDraws,
             long skinnedDraws,
             long instancedDraws
+    ) {
+        return renderMetrics(cpuFrameMs, gpuFrameMs, drawCalls, triangles, visibleObjects, gpuMemoryBytes,
+                shadowDrawCalls, geometryDrawCalls, postDrawCalls, pipelineSwitches, submittedObjects,
+                staticDraws, morphDraws, skinnedDraws, instancedDraws, 0, 0, 0, 0);
+    }
+
+    protected final RenderMetrics renderMetrics(
+            double cpuFrameMs,
+            double gpuFrameMs,
+            long drawCalls,
+            long triangles,
+            long visibleObjects,
+            long gpuMemoryBytes,
+            long shadowDrawCalls,
+            long geometryDrawCalls,
+            long postDrawCalls,
+            long pipelineSwitches,
+            long submittedObjects,
+            long staticDraws,
+            long morphDraws,
+            long skinnedDraws,
+            long instancedDraws,
+            long frustumCulledDraws,
+            long occlusionCulledDraws,
+            long gpuVisibleDraws,
+            long stateBindChanges
+    ) {
+        return renderMetrics(cpuFrameMs, gpuFrameMs, drawCalls, triangles, visibleObjects, gpuMemoryBytes,
+                shadowDrawCalls, geometryDrawCalls, postDrawCalls, pipelineSwitches, submittedObjects,
+                staticDraws, morphDraws, skinnedDraws, instancedDraws,
+                frustumCulledDraws, occlusionCulledDraws, gpuVisibleDraws, stateBindChanges, 0, 0);
+    }
+
+    protected final RenderMetrics renderMetrics(
+            double cpuFrameMs,
+            double gpuFrameMs,
+            long drawCalls,
+            long triangles,
+            long visibleObjects,
+            long gpuMemoryBytes,
+            long shadowDrawCalls,
+            long geometryDrawCalls,
+            long postDrawCalls,
+            long pipelineSwitches,
+            long submittedObjects,
+            long staticDraws,
+            long morphDraws,
+            long skinnedDraws,
+            long instancedDraws,
+            long frustumCulledDraws,
+            long occlusionCulledDraws,
+            long gpuVisibleDraws,
+            long stateBindChanges,
+            long uniformCalls,
+            long uniformBytes
+    ) {
+        return renderMetrics(cpuFrameMs, gpuFrameMs, drawCalls, triangles, visibleObjects, gpuMemoryBytes,
+                shadowDrawCalls, geometryDrawCalls, postDrawCalls, pipelineSwitches, submittedObjects,
+                staticDraws, morphDraws, skinnedDraws, instancedDraws,
+                frustumCulledDraws, occlusionCulledDraws, gpuVisibleDraws, stateBindChanges,
+                uniformCalls, uniformBytes, 0);
+    }
+
+    protected final RenderMetrics renderMetrics(
+            double cpuFrameMs,
+            double gpuFrameMs,
+            long drawCalls,
+            long triangles,
+            long visibleObjects,
+            long gpuMemoryBytes,
+            long shadowDrawCalls,
+            long geometryDrawCalls,
+            long postDrawCalls,
+            long pipelineSwitches,
+            long submittedObjects,
+            long staticDraws,
+            long morphDraws,
+            long skinnedDraws,
+            long instancedDraws,
+            long frustumCulledDraws,
+            long occlusionCulledDraws,
+            long gpuVisibleDraws,
+            long stateBindChanges,
+            long uniformCalls,
+            long uniformBytes,
+            long vertexShaderInvocations
     ) {
         return new RenderMetrics(cpuFrameMs, gpuFrameMs, drawCalls, triangles, visibleObjects, gpuMemoryBytes,
                 shadowDrawCalls, geometryDrawCalls, postDrawCalls, pipelineSwitches, submittedObjects,
-                staticDraws, morphDraws, skinnedDraws, instancedDraws);
+                staticDraws, morphDraws, skinnedDraws, instancedDraws,
+                frustumCulledDraws, occlusionCulledDraws, gpuVisibleDraws, stateBindChanges,
+                uniformCalls, uniformBytes, vertexShaderInvocations);
     }
 
     protected void onShutdown() {
@@ -1062,8 +1348,12 @@ public abstract class AbstractEngineRuntime implements EngineRuntime {
         host.onError(new EngineErrorReport(error.code(), error.getMessage(), error.recoverable(), error));
     }
 
+    private boolean isLogEnabled(LogLevel level) {
+        return host != null && host.isLogEnabled(level);
+    }
+
     private void log(LogLevel level, String category, String message) {
-        if (host == null) {
+        if (!isLogEnabled(level)) {
             return;
         }
         host.onLog(new LogMessage(level, category, message, System.currentTimeMillis()));
@@ -1129,7 +1419,7 @@ public abstract class AbstractEngineRuntime implements EngineRuntime {
                         registerWatchTree(changed);
                         continue;
                     }
-                    watcherEvents++;
+                    watcherEvents.incrementAndGet();
                     reloadResourcesForPath(changed);
                 }
                 key.reset();
@@ -1142,17 +1432,14 @@ public abstract class AbstractEngineRuntime implements EngineRuntime {
     }
 
     private void reloadResourcesForPath(Path changed) {
+        resourceFingerprinter.invalidate(changed);
         long now = System.currentTimeMillis();
         long lastReload = watchedPathLastReloadMs.getOrDefault(changed, 0L);
         if (now - lastReload < resourceWatchDebounceMs) {
             return;
         }
         watchedPathLastReloadMs.put(changed, now);
-        List<ResourceId> matching = resourceCache.values().stream()
-                .filter(info -> info.resolvedPath() != null && Path.of(info.resolvedPath()).normalize().equals(changed))
-                .map(info -> info.descriptor().id())
-                .toList();
-        for (ResourceId id : matching) {
+        for (ResourceId id : resourceCache.idsForPath(changed)) {
             try {
                 resourceService.reload(id);
             } catch (EngineException ignored) {
@@ -1172,42 +1459,42 @@ public abstract class AbstractEngineRuntime implements EngineRuntime {
         }
     }
 
+    private long parseLongOption(EngineConfig config, String key, long defaultValue) {
+        String raw = config.backendOptions().get(key);
+        if (raw == null || raw.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(raw);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
     private List<String> acquireSceneResources(SceneDescriptor scene) throws EngineException {
-        List<ResourceId> nextIds = new ArrayList<>();
-        List<String> failures = new ArrayList<>();
+        List<ResourceDescriptor> descriptors = new ArrayList<>();
         for (MeshDesc mesh : scene.meshes()) {
-            String path = mesh.meshAssetPath();
-            if (isBlank(path)) {
-                continue;
-            }
-            ResourceDescriptor descriptor = descriptor(ResourceType.MESH, path, true);
-            ResourceInfo info = resourceService.acquire(descriptor);
-            nextIds.add(descriptor.id());
-            if (info.state() == ResourceState.FAILED) {
-                failures.add(info.errorMessage());
+            if (!isBlank(mesh.meshAssetPath()) && MeshFormats.registeredMeshId(mesh.meshAssetPath()) == null) {
+                descriptors.add(descriptor(ResourceType.MESH, mesh.meshAssetPath(), true));
             }
         }
         for (MaterialDesc material : scene.materials()) {
             if (!isBlank(material.albedoTexturePath())) {
-                ResourceDescriptor descriptor = descriptor(ResourceType.TEXTURE, material.albedoTexturePath(), true);
-                ResourceInfo info = resourceService.acquire(descriptor);
-                nextIds.add(descriptor.id());
-                if (info.state() == ResourceState.FAILED) {
-                    failures.add(info.errorMessage());
-                }
+                descriptors.add(descriptor(ResourceType.TEXTURE, material.albedoTexturePath(), true));
             }
             if (!isBlank(material.normalTexturePath())) {
-                ResourceDescriptor descriptor = descriptor(ResourceType.TEXTURE, material.normalTexturePath(), true);
-                ResourceInfo info = resourceService.acquire(descriptor);
-                nextIds.add(descriptor.id());
-                if (info.state() == ResourceState.FAILED) {
-                    failures.add(info.errorMessage());
-                }
+                descriptors.add(descriptor(ResourceType.TEXTURE, material.normalTexturePath(), true));
             }
         }
         if (scene.environment() != null && !isBlank(scene.environment().skyboxAssetPath())) {
-            ResourceDescriptor descriptor = descriptor(ResourceType.TEXTURE, scene.environment().skyboxAssetPath(), true);
-            ResourceInfo info = resourceService.acquire(descriptor);
+            descriptors.add(descriptor(ResourceType.TEXTURE, scene.environment().skyboxAssetPath(), true));
+        }
+
+        Map<ResourceId, ScannedResource> prescanned = prescanResources(descriptors);
+        List<ResourceId> nextIds = new ArrayList<>(descriptors.size());
+        List<String> failures = new ArrayList<>();
+        for (ResourceDescriptor descriptor : descriptors) {
+            ResourceInfo info = resourceService.acquire(descriptor, prescanned.remove(descriptor.id()));
             nextIds.add(descriptor.id());
             if (info.state() == ResourceState.FAILED) {
                 failures.add(info.errorMessage());
@@ -1218,6 +1505,43 @@ public abstract class AbstractEngineRuntime implements EngineRuntime {
         return failures;
     }
 
+    /**
+     * Scans (stat + checksum) every distinct, not-yet-cached descriptor on a bounded pool of virtual
+     * threads. Only the I/O runs concurrently: cache updates, logging and failure collection still happen
+     * in declaration order on the caller thread, so the outcome matches a sequential load exactly.
+     * Descriptors whose scan throws are left out and rescanned inline, surfacing the same error.
+     */
+    private Map<ResourceId, ScannedResource> prescanResources(List<ResourceDescriptor> descriptors) {
+        Map<ResourceId, ResourceDescriptor> pending = new LinkedHashMap<>();
+        for (ResourceDescriptor descriptor : descriptors) {
+            if (!pending.containsKey(descriptor.id()) && resourceCache.get(descriptor.id()) == null) {
+                pending.put(descriptor.id(), descriptor);
+            }
+        }
+        Map<ResourceId, ScannedResource> scanned = new ConcurrentHashMap<>();
+        int workers = Math.min(resourceAcquireParallelism, pending.size());
+        if (workers <= 1) {
+            return scanned;
+        }
+        try (ExecutorService executor = resourceScanExecutors.apply(workers)) {
+            for (ResourceDescriptor descriptor : pending.values()) {
+                executor.execute(() -> {
+                    try {
+                        scanned.put(descriptor.id(), resourceService.scanResource(descriptor, 1));
+                    } catch (RuntimeException ignored) {
+                        // Rescanned on the caller thread so the failure propagates as before.
+                    }
+                });
+            }
+        }
+        return scanned;
+    }
+
+    private static ExecutorService newResourceScanExecutor(int workers) {
+        ThreadFactory threads = Thread.ofVirtual().name("dle-resource-scan-", 0).factory();
+        return Executors.newFixedThreadPool(workers, threads);
+    }
+
     private static ResourceDescriptor descriptor(ResourceType type, String sourcePath, boolean hotReloadable) {
         return new ResourceDescriptor(new ResourceId(type.name().toLowerCase() + ":" + sourcePath), type, sourcePath, hotReloadable);
     }
@@ -1245,30 +1569,26 @@ public abstract class AbstractEngineRuntime implements EngineRuntime {
     private final class RuntimeResourceService implements EngineResourceService {
         @Override
         public ResourceInfo acquire(ResourceDescriptor descriptor) throws EngineException {
+            return acquire(descriptor, null);
+        }
+
+        private ResourceInfo acquire(ResourceDescriptor descriptor, ScannedResource prescanned) throws EngineException {
             if (descriptor == null || descriptor.id() == null || descriptor.type() == null || isBlank(descriptor.sourcePath())) {
                 throw reportAndReturn(new EngineException(EngineErrorCode.INVALID_ARGUMENT, "Invalid resource descriptor", true));
             }
 
-            ResourceInfo existing = resourceCache.get(descriptor.id());
+            ResourceInfo existing = resourceCache.retain(descriptor.id(), System.currentTimeMillis());
             if (existing != null) {
-                cacheHits++;
-                long now = System.currentTimeMillis();
-                ResourceInfo next = new ResourceInfo(
-                        existing.descriptor(),
-                        existing.state(),
-                        existing.refCount() + 1,
-                        now,
-                        existing.errorMessage(),
-                        existing.resolvedPath(),
-                        existing.lastChecksum()
-                );
-                resourceCache.put(descriptor.id(), next);
-                return next;
+                cacheHits.incrementAndGet();
+                return existing;
             }
-            cacheMisses++;
+            cacheMisses.incrementAndGet();
 
-            ResourceInfo created = scanResource(descriptor, 1);
-            resourceCache.put(descriptor.id(), created);
+            ScannedResource scanned = prescanned != null ? prescanned : scanResource(descriptor, 1);
+            ResourceInfo created = resourceCache.putIfAbsentOrRetain(scanned.info(), scanned.sizeBytes(), System.currentTimeMillis());
+            if (created != scanned.info()) {
+                return created;
+            }
             if (created.state() == ResourceState.LOADED) {
                 log(LogLevel.DEBUG, "SCENE", "Acquired resource " + descriptor.id().value());
             } else {
@@ -1283,62 +1603,49 @@ public abstract class AbstractEngineRuntime implements EngineRuntime {
             if (id == null) {
                 return;
             }
-            ResourceInfo existing = resourceCache.get(id);
-            if (existing == null) {
-                return;
-            }
-            int nextCount = existing.refCount() - 1;
-            if (nextCount <= 0) {
-                resourceCache.put(id, new ResourceInfo(
-                        existing.descriptor(),
-                        existing.state(),
-                        0,
-                        System.currentTimeMillis(),
-                        existing.errorMessage(),
-                        existing.resolvedPath(),
-                        existing.lastChecksum()
-                ));
-                log(LogLevel.DEBUG, "SCENE", "Released resource " + id.value() + " (cached)");
-                enforceCacheEviction();
+            ResourceInfo released = resourceCache.release(id, System.currentTimeMillis());
+            if (released == null || released.refCount() > 0) {
                 return;
             }
-            resourceCache.put(id, new ResourceInfo(
-                    existing.descriptor(),
-                    existing.state(),
-                    nextCount,
-                    existing.lastLoadedEpochMs(),
-                    existing.errorMessage(),
-                    existing.resolvedPath(),
-                    existing.lastChecksum()
-            ));
+            log(LogLevel.DEBUG, "SCENE", "Released resource " + id.value() + " (cached)");
+            enforceCacheEviction();
         }
 
         @Override
         public ResourceInfo reload(ResourceId id) throws EngineException {
-            reloadRequests++;
+            reloadRequests.incrementAndGet();
             if (id == null) {
-                reloadFailures++;
+                reloadFailures.incrementAndGet();
                 throw reportAndReturn(new EngineException(EngineErrorCode.INVALID_ARGUMENT, "resource id is required", true));
             }
             ResourceInfo existing = resourceCache.get(id);
             if (existing == null) {
-                reloadFailures++;
+                reloadFailures.incrementAndGet();
                 throw reportAndReturn(new EngineException(EngineErrorCode.RESOURCE_CREATION_FAILED, "resource not loaded: " + id.value(), true));
             }
             if (!existing.descriptor().hotReloadable()) {
-                reloadFailures++;
+                reloadFailures.incrementAndGet();
                 throw reportAndReturn(new EngineException(EngineErrorCode.INVALID_ARGUMENT, "resource is not hot-reloadable: " + id.value(), true));
             }
 
-            ResourceInfo reloaded = scanWithRetry(existing.descriptor(), existing.refCount(), resourceReloadMaxRetries);
-            String previousChecksum = resourceChecksums.get(id);
+            String previousChecksum = resourceCache.checksum(id);
+            ScannedResource scanned = scanWithRetry(existing.descriptor(), existing.refCount(), resourceReloadMaxRetries);
+            ResourceInfo reloaded = scanned.info();
             String nextChecksum = checksumOf(reloaded);
-            resourceCache.put(id, reloaded);
-            if (reloaded.state() == ResourceState.LOADED && nextChecksum != null) {
-                resourceChecksums.put(id, nextChecksum);
-            } else {
-                resourceChecksums.remove(id);
+            ResourceInfo current = resourceCache.get(id);
+            int refCount = current == null ? reloaded.refCount() : current.refCount();
+            if (refCount != reloaded.refCount()) {
+                reloaded = new ResourceInfo(
+                        reloaded.descriptor(),
+                        reloaded.state(),
+                        refCount,
+                        reloaded.lastLoadedEpochMs(),
+                        reloaded.errorMessage(),
+                        reloaded.resolvedPath(),
+                        reloaded.lastChecksum()
+                );
             }
+            resourceCache.put(reloaded, scanned.sizeBytes());
 
             if (reloaded.state() == ResourceState.LOADED) {
                 if (host != null) {
@@ -1350,7 +1657,7 @@ public abstract class AbstractEngineRuntime implements EngineRuntime {
                     log(LogLevel.DEBUG, "SCENE", "Resource unchanged on reload " + id.value());
                 }
             } else {
-                reloadFailures++;
+                reloadFailures.incrementAndGet();
                 log(LogLevel.ERROR, "ERROR", "Resource reload failed " + id.value() + ": " + reloaded.errorMessage());
             }
             return reloaded;
@@ -1358,27 +1665,30 @@ public abstract class AbstractEngineRuntime implements EngineRuntime {
 
         @Override
         public List<ResourceInfo> loadedResources() {
-            return List.copyOf(resourceCache.values());
+            return resourceCache.snapshot();
         }
 
         @Override
         public ResourceCacheStats stats() {
             return new ResourceCacheStats(
-                    cacheHits,
-                    cacheMisses,
-                    reloadRequests,
-                    reloadFailures,
-                    evictions,
-                    watcherEvents
+                    cacheHits.get(),
+                    cacheMisses.get(),
+                    reloadRequests.get(),
+                    reloadFailures.get(),
+                    evictions.get(),
+                    watcherEvents.get(),
+                    resourceFingerprinter.hashNanos(),
+                    resourceFingerprinter.bytesHashed(),
+                    resourceFingerprinter.statHits()
             );
         }
 
-        private ResourceInfo scanResource(ResourceDescriptor descriptor, int refCount) {
+        private ScannedResource scanResource(ResourceDescriptor descriptor, int refCount) {
             Path path = resolveResourcePath(descriptor.sourcePath());
             long now = System.currentTimeMillis();
             try {
                 if (!Files.isRegularFile(path)) {
-                    return new ResourceInfo(
+                    return new ScannedResource(new ResourceInfo(
                             descriptor,
                             ResourceState.FAILED,
                             refCount,
@@ -1386,11 +1696,11 @@ public abstract class AbstractEngineRuntime implements EngineRuntime {
                             "Resource path not found: " + path,
                             path.toString(),
                             null
-                    );
+                    ), 0L);
                 }
-                String checksum = checksum(path);
-                resourceChecksums.put(descriptor.id(), checksum);
-                return new ResourceInfo(
+                long sizeBytes = Files.size(path);
+                String checksum = resourceFingerprinter.checksum(path);
+                return new ScannedResource(new ResourceInfo(
                         descriptor,
                         ResourceState.LOADED,
                         refCount,
@@ -1398,9 +1708,9 @@ public abstract class AbstractEngineRuntime implements EngineRuntime {
                         null,
                         path.toString(),
                         checksum
-                );
+                ), sizeBytes);
             } catch (IOException e) {
-                return new ResourceInfo(
+                return new ScannedResource(new ResourceInfo(
                         descriptor,
                         ResourceState.FAILED,
                         refCount,
@@ -1408,15 +1718,15 @@ public abstract class AbstractEngineRuntime implements EngineRuntime {
                         "Failed to read resource " + path + ": " + e.getMessage(),
                         path.toString(),
                         null
-                );
+                ), 0L);
             }
         }
 
-        private ResourceInfo scanWithRetry(ResourceDescriptor descriptor, int refCount, int maxRetries) {
-            ResourceInfo result = scanResource(descriptor, refCount);
+        private ScannedResource scanWithRetry(ResourceDescriptor descriptor, int refCount, int maxRetries) {
+            ScannedResource result = scanResource(descriptor, refCount);
             int attempts = Math.max(0, maxRetries);
             int retryIndex = 0;
-            while (attempts > 0 && result.state() == ResourceState.FAILED) {
+            while (attempts > 0 && result.info().state() == ResourceState.FAILED) {
                 attempts--;
                 retryIndex++;
                 try {
@@ -1434,16 +1744,6 @@ public abstract class AbstractEngineRuntime implements EngineRuntime {
             return info.lastChecksum();
         }
 
-        private String checksum(Path path) throws IOException {
-            byte[] bytes = Files.readAllBytes(path);
-            try {
-                MessageDigest digest = MessageDigest.getInstance("SHA-256");
-                return HexFormat.of().formatHex(digest.digest(bytes));
-            } catch (NoSuchAlgorithmException e) {
-                throw new IllegalStateException("SHA-256 not available", e);
-            }
-        }
-
         private Path resolveResourcePath(String sourcePath) {
             Path raw = Path.of(sourcePath);
             if (raw.isAbsolute()) {
@@ -1453,21 +1753,13 @@ public abstract class AbstractEngineRuntime implements EngineRuntime {
         }
 
         private void enforceCacheEviction() {
-            if (resourceCache.size() <= resourceCacheMaxEntries) {
-                return;
-            }
-            List<ResourceInfo> evictable = resourceCache.values().stream()
-                    .filter(info -> info.refCount() == 0)
-                    .sorted(Comparator.comparingLong(ResourceInfo::lastLoadedEpochMs))
-                    .toList();
-            int toEvict = resourceCache.size() - resourceCacheMaxEntries;
-            for (int i = 0; i < toEvict && i < evictable.size(); i++) {
-                ResourceId id = evictable.get(i).descriptor().id();
-                resourceCache.remove(id);
-                resourceChecksums.remove(id);
-                evictions++;
+            for (ResourceId id : resourceCache.evictOverBudget()) {
+                evictions.incrementAndGet();
                 log(LogLevel.DEBUG, "SCENE", "Evicted cached resource " + id.value());
             }
         }
     }
+
+    private record ScannedResource(ResourceInfo info, long sizeBytes) {
+    }
 }
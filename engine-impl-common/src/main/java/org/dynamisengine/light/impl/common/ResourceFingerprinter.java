@@ -0,0 +1,154 @@
+package org.dynamisengine.light.impl.common;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Layered content fingerprints for resource change detection.
+ *
+ * <p>A path whose size and modification time match the last fingerprint reuses it without reading the
+ * file. Otherwise the file is hashed in memory-mapped chunks with XXH64 (default) or SHA-256 (opt-in).
+ * As in git's "racy" check, a fingerprint taken within {@link #RACY_WINDOW_MS} of the file's mtime is
+ * not trusted on stat alone, so same-size edits inside coarse timestamp granularity are still seen.</p>
+ */
+final class ResourceFingerprinter {
+    static final long RACY_WINDOW_MS = 2_000L;
+    private static final long MAP_CHUNK_BYTES = 64L * 1024L * 1024L;
+    private static final long HEAP_READ_MAX_BYTES = 64L * 1024L;
+
+    enum Mode {
+        XXHASH64("xxh64:"),
+        SHA256("sha256:");
+
+        private final String prefix;
+
+        Mode(String prefix) {
+            this.prefix = prefix;
+        }
+
+        static Mode parse(String raw) {
+            if (raw == null || raw.isBlank()) {
+                return XXHASH64;
+            }
+            return switch (raw.trim().toLowerCase(Locale.ROOT)) {
+                case "sha256", "sha-256" -> SHA256;
+                default -> XXHASH64;
+            };
+        }
+    }
+
+    private record Fingerprint(long sizeBytes, long modifiedNanos, long hashedAtMs, String checksum) {
+    }
+
+    private final Map<Path, Fingerprint> fingerprints = new ConcurrentHashMap<>();
+    private final AtomicLong hashNanos = new AtomicLong();
+    private final AtomicLong bytesHashed = new AtomicLong();
+    private final AtomicLong statHits = new AtomicLong();
+    private volatile Mode mode = Mode.XXHASH64;
+
+    void configure(Mode mode) {
+        this.mode = mode == null ? Mode.XXHASH64 : mode;
+        fingerprints.clear();
+    }
+
+    /**
+     * @return checksum of {@code path}, prefixed with the algorithm ({@code xxh64:} / {@code sha256:})
+     */
+    String checksum(Path path) throws IOException {
+        Path key = path.toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        long size = attributes.size();
+        long modifiedNanos = attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+        Fingerprint cached = fingerprints.get(key);
+        if (cached != null
+                && cached.sizeBytes() == size
+                && cached.modifiedNanos() == modifiedNanos
+                && cached.hashedAtMs() - TimeUnit.NANOSECONDS.toMillis(modifiedNanos) > RACY_WINDOW_MS) {
+            statHits.incrementAndGet();
+            return cached.checksum();
+        }
+        long hashedAtMs = System.currentTimeMillis();
+        long start = System.nanoTime();
+        String checksum = hash(path, size, mode);
+        hashNanos.addAndGet(System.nanoTime() - start);
+        bytesHashed.addAndGet(size);
+        fingerprints.put(key, new Fingerprint(size, modifiedNanos, hashedAtMs, checksum));
+        return checksum;
+    }
+
+    /** Forgets the fingerprint for {@code path}; the next {@link #checksum} rehashes it. */
+    void invalidate(Path path) {
+        fingerprints.remove(path.toAbsolutePath().normalize());
+    }
+
+    void clear() {
+        fingerprints.clear();
+    }
+
+    long hashNanos() {
+        return hashNanos.get();
+    }
+
+    long bytesHashed() {
+        return bytesHashed.get();
+    }
+
+    long statHits() {
+        return statHits.get();
+    }
+
+    private static String hash(Path path, long size, Mode mode) throws IOException {
+        if (size <= HEAP_READ_MAX_BYTES) {
+            return digest(mode, MemorySegment.ofArray(Files.readAllBytes(path)));
+        }
+        XxHash64 xxHash = mode == Mode.XXHASH64 ? new XxHash64(0L) : null;
+        MessageDigest sha = mode == Mode.SHA256 ? sha256() : null;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (long offset = 0L; offset < size; offset += MAP_CHUNK_BYTES) {
+                try (Arena arena = Arena.ofConfined()) {
+                    MemorySegment chunk = channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                            Math.min(MAP_CHUNK_BYTES, size - offset), arena);
+                    if (xxHash != null) {
+                        xxHash.update(chunk);
+                    } else {
+                        sha.update(chunk.asByteBuffer());
+                    }
+                }
+            }
+        }
+        return xxHash != null
+                ? mode.prefix + HexFormat.of().toHexDigits(xxHash.digest())
+                : mode.prefix + HexFormat.of().formatHex(sha.digest());
+    }
+
+    private static String digest(Mode mode, MemorySegment data) {
+        if (mode == Mode.XXHASH64) {
+            return mode.prefix + HexFormat.of().toHexDigits(XxHash64.hash(data));
+        }
+        MessageDigest sha = sha256();
+        sha.update(data.asByteBuffer());
+        return mode.prefix + HexFormat.of().formatHex(sha.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
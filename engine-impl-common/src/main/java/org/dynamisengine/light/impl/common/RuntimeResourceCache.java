@@ -0,0 +1,268 @@
+package org.dynamisengine.light.impl.common;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.dynamisengine.light.api.resource.ResourceId;
+import org.dynamisengine.light.api.resource.ResourceInfo;
+
+/**
+ * Thread-safe resource cache shared by the render thread and the resource watcher.
+ * Entries with no references are kept on an intrusive LRU list so eviction is O(1)
+ * amortized, and a resolved-path index maps a changed file to the ids that depend on it.
+ */
+final class RuntimeResourceCache {
+    private final Map<ResourceId, Entry> entries = new HashMap<>();
+    private final Map<Path, Set<ResourceId>> pathIndex = new HashMap<>();
+    private Entry lruHead;
+    private Entry lruTail;
+    private int maxEntries;
+    private long maxBytes;
+    private long totalBytes;
+
+    RuntimeResourceCache(int maxEntries, long maxBytes) {
+        configure(maxEntries, maxBytes);
+    }
+
+    synchronized void configure(int maxEntries, long maxBytes) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.maxBytes = maxBytes <= 0L ? Long.MAX_VALUE : maxBytes;
+    }
+
+    synchronized ResourceInfo get(ResourceId id) {
+        Entry entry = entries.get(id);
+        return entry == null ? null : entry.info;
+    }
+
+    synchronized String checksum(ResourceId id) {
+        Entry entry = entries.get(id);
+        return entry == null ? null : entry.checksum;
+    }
+
+    /**
+     * Increments the reference count of a cached entry.
+     *
+     * @return the updated info, or {@code null} when the id is not cached
+     */
+    synchronized ResourceInfo retain(ResourceId id, long nowEpochMs) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            return null;
+        }
+        ResourceInfo existing = entry.info;
+        entry.info = new ResourceInfo(
+                existing.descriptor(),
+                existing.state(),
+                existing.refCount() + 1,
+                nowEpochMs,
+                existing.errorMessage(),
+                existing.resolvedPath(),
+                existing.lastChecksum()
+        );
+        unlink(entry);
+        return entry.info;
+    }
+
+    /**
+     * Inserts a freshly scanned entry unless another thread cached the same id first,
+     * in which case the existing entry is retained instead.
+     */
+    synchronized ResourceInfo putIfAbsentOrRetain(ResourceInfo created, long sizeBytes, long nowEpochMs) {
+        ResourceId id = created.descriptor().id();
+        if (entries.containsKey(id)) {
+            return retain(id, nowEpochMs);
+        }
+        put(created, sizeBytes);
+        return created;
+    }
+
+    /**
+     * Decrements the reference count of a cached entry. Entries that drop to zero
+     * references move to the tail of the eviction list.
+     *
+     * @return the updated info, or {@code null} when the id is not cached
+     */
+    synchronized ResourceInfo release(ResourceId id, long nowEpochMs) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            return null;
+        }
+        ResourceInfo existing = entry.info;
+        int nextCount = existing.refCount() - 1;
+        entry.info = new ResourceInfo(
+                existing.descriptor(),
+                existing.state(),
+                Math.max(0, nextCount),
+                nextCount <= 0 ? nowEpochMs : existing.lastLoadedEpochMs(),
+                existing.errorMessage(),
+                existing.resolvedPath(),
+                existing.lastChecksum()
+        );
+        if (nextCount <= 0) {
+            unlink(entry);
+            linkTail(entry);
+        }
+        return entry.info;
+    }
+
+    /**
+     * Replaces the cached entry for {@code info.descriptor().id()}, keeping the path index,
+     * byte total and eviction list consistent.
+     */
+    synchronized void put(ResourceInfo info, long sizeBytes) {
+        ResourceId id = info.descriptor().id();
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            entry = new Entry(id);
+            entries.put(id, entry);
+        } else {
+            totalBytes -= entry.sizeBytes;
+            unlink(entry);
+        }
+        Path path = indexPath(info.resolvedPath());
+        if (!Objects.equals(path, entry.path)) {
+            unindex(entry);
+            entry.path = path;
+            if (path != null) {
+                pathIndex.computeIfAbsent(path, ignored -> new LinkedHashSet<>()).add(id);
+            }
+        }
+        entry.info = info;
+        entry.checksum = info.lastChecksum();
+        entry.sizeBytes = Math.max(0L, sizeBytes);
+        totalBytes += entry.sizeBytes;
+        if (info.refCount() <= 0) {
+            linkTail(entry);
+        }
+    }
+
+    synchronized void remove(ResourceId id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        unlink(entry);
+        unindex(entry);
+        totalBytes -= entry.sizeBytes;
+    }
+
+    synchronized List<ResourceId> idsForPath(Path path) {
+        Set<ResourceId> ids = path == null ? null : pathIndex.get(path);
+        return ids == null ? List.of() : List.copyOf(ids);
+    }
+
+    /**
+     * Evicts unreferenced entries, least recently released first, until both the entry
+     * and byte budgets are met or nothing evictable remains.
+     *
+     * @return ids of evicted entries in eviction order
+     */
+    synchronized List<ResourceId> evictOverBudget() {
+        List<ResourceId> evicted = null;
+        while (lruHead != null && (entries.size() > maxEntries || totalBytes > maxBytes)) {
+            Entry victim = lruHead;
+            remove(victim.id);
+            if (evicted == null) {
+                evicted = new ArrayList<>();
+            }
+            evicted.add(victim.id);
+        }
+        return evicted == null ? List.of() : evicted;
+    }
+
+    synchronized List<ResourceInfo> snapshot() {
+        List<ResourceInfo> infos = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            infos.add(entry.info);
+        }
+        return List.copyOf(infos);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        pathIndex.clear();
+        lruHead = null;
+        lruTail = null;
+        totalBytes = 0L;
+    }
+
+    private void unindex(Entry entry) {
+        if (entry.path == null) {
+            return;
+        }
+        Set<ResourceId> ids = pathIndex.get(entry.path);
+        if (ids != null) {
+            ids.remove(entry.id);
+            if (ids.isEmpty()) {
+                pathIndex.remove(entry.path);
+            }
+        }
+        entry.path = null;
+    }
+
+    private void linkTail(Entry entry) {
+        entry.prev = lruTail;
+        entry.next = null;
+        if (lruTail != null) {
+            lruTail.next = entry;
+        } else {
+            lruHead = entry;
+        }
+        lruTail = entry;
+        entry.linked = true;
+    }
+
+    private void unlink(Entry entry) {
+        if (!entry.linked) {
+            return;
+        }
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            lruHead = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        } else {
+            lruTail = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+        entry.linked = false;
+    }
+
+    private static Path indexPath(String resolvedPath) {
+        if (resolvedPath == null || resolvedPath.isBlank()) {
+            return null;
+        }
+        return Path.of(resolvedPath).normalize();
+    }
+
+    private static final class Entry {
+        private final ResourceId id;
+        private ResourceInfo info;
+        private String checksum;
+        private long sizeBytes;
+        private Path path;
+        private Entry prev;
+        private Entry next;
+        private boolean linked;
+
+        private Entry(ResourceId id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package org.dynamisengine.light.impl.common;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+
+/**
+ * Streaming XXH64 (xxHash, 64-bit) over {@link MemorySegment} chunks.
+ *
+ * <p>Chunks may have any length; bytes that do not fill a 32-byte stripe are buffered until the next
+ * {@link #update} or {@link #digest}. Non-cryptographic: used only to detect content changes.</p>
+ */
+final class XxHash64 {
+    private static final long PRIME1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME3 = 0x165667B19E3779F9L;
+    private static final long PRIME4 = 0x85EBCA77C2B2A63DL;
+    private static final long PRIME5 = 0x27D4EB2F165667C5L;
+    private static final int STRIPE = 32;
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final long seed;
+    private final MemorySegment pending = MemorySegment.ofArray(new byte[STRIPE]);
+    private int pendingBytes;
+    private long totalBytes;
+    private long v1;
+    private long v2;
+    private long v3;
+    private long v4;
+
+    XxHash64(long seed) {
+        this.seed = seed;
+        this.v1 = seed + PRIME1 + PRIME2;
+        this.v2 = seed + PRIME2;
+        this.v3 = seed;
+        this.v4 = seed - PRIME1;
+    }
+
+    static long hash(MemorySegment data) {
+        XxHash64 hash = new XxHash64(0L);
+        hash.update(data);
+        return hash.digest();
+    }
+
+    void update(MemorySegment data) {
+        long length = data.byteSize();
+        totalBytes += length;
+        long offset = 0L;
+        if (pendingBytes > 0) {
+            int fill = (int) Math.min(STRIPE - pendingBytes, length);
+            MemorySegment.copy(data, 0L, pending, pendingBytes, fill);
+            pendingBytes += fill;
+            offset = fill;
+            if (pendingBytes < STRIPE) {
+                return;
+            }
+            stripe(pending, 0L);
+            pendingBytes = 0;
+        }
+        for (; offset + STRIPE <= length; offset += STRIPE) {
+            stripe(data, offset);
+        }
+        if (offset < length) {
+            MemorySegment.copy(data, offset, pending, 0L, length - offset);
+            pendingBytes = (int) (length - offset);
+        }
+    }
+
+    long digest() {
+        long h;
+        if (totalBytes >= STRIPE) {
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = merge(h, v1);
+            h = merge(h, v2);
+            h = merge(h, v3);
+            h = merge(h, v4);
+        } else {
+            h = seed + PRIME5;
+        }
+        h += totalBytes;
+        long offset = 0L;
+        for (; offset + 8 <= pendingBytes; offset += 8) {
+            h ^= round(0L, pending.get(LONG, offset));
+            h = Long.rotateLeft(h, 27) * PRIME1 + PRIME4;
+        }
+        if (offset + 4 <= pendingBytes) {
+            h ^= (pending.get(INT, offset) & 0xFFFFFFFFL) * PRIME1;
+            h = Long.rotateLeft(h, 23) * PRIME2 + PRIME3;
+            offset += 4;
+        }
+        for (; offset < pendingBytes; offset++) {
+            h ^= (pending.get(ValueLayout.JAVA_BYTE, offset) & 0xFFL) * PRIME5;
+            h = Long.rotateLeft(h, 11) * PRIME1;
+        }
+        h ^= h >>> 33;
+        h *= PRIME2;
+        h ^= h >>> 29;
+        h *= PRIME3;
+        h ^= h >>> 32;
+        return h;
+    }
+
+    private void stripe(MemorySegment data, long offset) {
+        v1 = round(v1, data.get(LONG, offset));
+        v2 = round(v2, data.get(LONG, offset + 8));
+        v3 = round(v3, data.get(LONG, offset + 16));
+        v4 = round(v4, data.get(LONG, offset + 24));
+    }
+
+    private static long round(long acc, long input) {
+        acc += input * PRIME2;
+        acc = Long.rotateLeft(acc, 31);
+        return acc * PRIME1;
+    }
+
+    private static long merge(long acc, long value) {
+        acc ^= round(0L, value);
+        return acc * PRIME1 + PRIME4;
+    }
+}
@@ -0,0 +1,346 @@
+package org.dynamisengine.light.impl.common.culling;
+
+import java.util.Arrays;
+
+/**
+ * CPU light binning for clustered forward shading.
+ *
+ * <p>The view frustum is split into {@code tilesX * tilesY} screen tiles and {@code slices} depth slices
+ * spaced exponentially between the near and far planes. Each cluster is bounded by the view-space box
+ * that encloses its frustum sub-volume; a light belongs to a cluster exactly when its range sphere
+ * intersects that box. Spot lights are binned by their range sphere.</p>
+ *
+ * <p>After {@link #assign} each cluster owns a contiguous run of {@link #lightIndices()} starting at
+ * {@link #clusterOffset}, with light indices in ascending order. Runs are capped at
+ * {@code maxLightsPerCluster}; the lowest indices are kept, so callers should order lights by
+ * priority. Cluster {@code (x, y, slice)} has index {@code (slice * tilesY + y) * tilesX + x}, with tile
+ * {@code (0, 0)} at NDC {@code (-1, -1)}.</p>
+ *
+ * <p>Shaders find the cluster of a view-space point from its NDC position and from
+ * {@code slice = floor(log(depth) * depthScale + depthBias)}, where {@code depth = -viewZ}.</p>
+ */
+public final class ClusteredLightGrid {
+    /** Floats per light in the {@link #assign} input: world-space x, y, z and range. */
+    public static final int LIGHT_FLOATS = 4;
+
+    private final int tilesX;
+    private final int tilesY;
+    private final int slices;
+    private final int maxLightsPerCluster;
+    private final float[] columnMinX;
+    private final float[] columnMaxX;
+    private final float[] rowMinY;
+    private final float[] rowMaxY;
+    private final float[] sliceNear;
+    private final float[] sliceFar;
+    private final int[] clusterOffsets;
+    private final int[] clusterCounts;
+    private final int[] clusterFill;
+    private int[] lightIndices;
+    private int[] pairClusters = new int[0];
+    private int[] pairLights = new int[0];
+    private float near;
+    private float far;
+    private float depthScale;
+    private float depthBias;
+    private int indexCount;
+    private int droppedAssignments;
+    private int assignedLights;
+
+    public ClusteredLightGrid(int tilesX, int tilesY, int slices, int maxLightsPerCluster) {
+        if (tilesX <= 0 || tilesY <= 0 || slices <= 0 || maxLightsPerCluster <= 0) {
+            throw new IllegalArgumentException("grid dimensions and cluster capacity must be positive");
+        }
+        this.tilesX = tilesX;
+        this.tilesY = tilesY;
+        this.slices = slices;
+        this.maxLightsPerCluster = maxLightsPerCluster;
+        int clusters = tilesX * tilesY * slices;
+        columnMinX = new float[slices * tilesX];
+        columnMaxX = new float[slices * tilesX];
+        rowMinY = new float[slices * tilesY];
+        rowMaxY = new float[slices * tilesY];
+        sliceNear = new float[slices];
+        sliceFar = new float[slices];
+        clusterOffsets = new int[clusters];
+        clusterCounts = new int[clusters];
+        clusterFill = new int[clusters];
+        lightIndices = new int[0];
+    }
+
+    /**
+     * Rebuilds the cluster bounds for a column-major perspective projection (only the x/y terms are read)
+     * and the given positive view depths of the near and far planes.
+     */
+    public void configure(float[] proj, float nearDepth, float farDepth) {
+        if (proj == null || proj.length != InstanceFrustumCuller.MATRIX_FLOATS || proj[0] == 0f || proj[5] == 0f) {
+            throw new IllegalArgumentException("proj must be a 4x4 perspective matrix");
+        }
+        if (!(nearDepth > 0f) || !(farDepth > nearDepth)) {
+            throw new IllegalArgumentException("near and far must satisfy 0 < near < far");
+        }
+        near = nearDepth;
+        far = farDepth;
+        double logRatio = Math.log((double) farDepth / nearDepth);
+        depthScale = (float) (slices / logRatio);
+        depthBias = (float) (-slices * Math.log(nearDepth) / logRatio);
+        for (int k = 0; k < slices; k++) {
+            sliceNear[k] = k == 0 ? nearDepth : (float) (nearDepth * Math.exp(logRatio * k / slices));
+            sliceFar[k] = k == slices - 1 ? farDepth : (float) (nearDepth * Math.exp(logRatio * (k + 1) / slices));
+            tileRanges(proj[0], proj[8], tilesX, sliceNear[k], sliceFar[k], columnMinX, columnMaxX, k * tilesX);
+            tileRanges(proj[5], proj[9], tilesY, sliceNear[k], sliceFar[k], rowMinY, rowMaxY, k * tilesY);
+        }
+    }
+
+    /**
+     * Rebuilds the cluster bounds for a column-major OpenGL-style perspective projection (clip z in
+     * {@code [-w, w]}), recovering the near and far depths from its depth terms.
+     */
+    public void configure(float[] proj) {
+        if (proj == null || proj.length != InstanceFrustumCuller.MATRIX_FLOATS) {
+            throw new IllegalArgumentException("proj must be a 4x4 perspective matrix");
+        }
+        configure(proj, proj[14] / (proj[10] - 1f), proj[14] / (proj[10] + 1f));
+    }
+
+    /**
+     * Bins {@code lightCount} lights laid out as {@link #LIGHT_FLOATS} floats each. {@code view} is the
+     * column-major world-to-view matrix; lights with a non-positive range are skipped.
+     */
+    public void assign(float[] view, float[] lights, int lightCount) {
+        assign(view, lights, lightCount, LIGHT_FLOATS);
+    }
+
+    /**
+     * Same as {@link #assign(float[], float[], int)} for lights stored {@code strideFloats} apart, each
+     * starting with world-space x, y, z and range.
+     */
+    public void assign(float[] view, float[] lights, int lightCount, int strideFloats) {
+        if (near == 0f) {
+            throw new IllegalStateException("configure must be called before assign");
+        }
+        if (view == null || view.length != InstanceFrustumCuller.MATRIX_FLOATS) {
+            throw new IllegalArgumentException("view must be a 4x4 matrix");
+        }
+        if (strideFloats < LIGHT_FLOATS) {
+            throw new IllegalArgumentException("strideFloats must be at least " + LIGHT_FLOATS);
+        }
+        if (lightCount < 0 || (lightCount > 0
+                && (lights == null || lights.length < (lightCount - 1) * strideFloats + LIGHT_FLOATS))) {
+            throw new IllegalArgumentException("lights must hold " + lightCount + " lights");
+        }
+        int pairs = 0;
+        assignedLights = 0;
+        for (int light = 0; light < lightCount; light++) {
+            int l = light * strideFloats;
+            float radius = lights[l + 3];
+            if (!(radius > 0f)) {
+                continue;
+            }
+            float wx = lights[l];
+            float wy = lights[l + 1];
+            float wz = lights[l + 2];
+            float cx = view[0] * wx + view[4] * wy + view[8] * wz + view[12];
+            float cy = view[1] * wx + view[5] * wy + view[9] * wz + view[13];
+            float cz = view[2] * wx + view[6] * wy + view[10] * wz + view[14];
+            float depth = -cz;
+            if (depth + radius < near || depth - radius > far) {
+                continue;
+            }
+            // The slice range only prunes; the exact box test below decides membership, so pad by one.
+            int firstSlice = Math.max(0, sliceOf(Math.max(near, depth - radius)) - 1);
+            int lastSlice = Math.min(slices - 1, sliceOf(Math.min(far, depth + radius)) + 1);
+            float radiusSq = radius * radius;
+            boolean assigned = false;
+            for (int k = firstSlice; k <= lastSlice; k++) {
+                float dz = axisDistance(cz, -sliceFar[k], -sliceNear[k]);
+                float dzSq = dz * dz;
+                if (dzSq > radiusSq) {
+                    continue;
+                }
+                for (int y = 0; y < tilesY; y++) {
+                    int row = k * tilesY + y;
+                    float dy = axisDistance(cy, rowMinY[row], rowMaxY[row]);
+                    float dyzSq = dy * dy + dzSq;
+                    if (dyzSq > radiusSq) {
+                        continue;
+                    }
+                    for (int x = 0; x < tilesX; x++) {
+                        int column = k * tilesX + x;
+                        float dx = axisDistance(cx, columnMinX[column], columnMaxX[column]);
+                        if (dx * dx + dyzSq > radiusSq) {
+                            continue;
+                        }
+                        if (pairs == pairClusters.length) {
+                            growPairs();
+                        }
+                        pairClusters[pairs] = (k * tilesY + y) * tilesX + x;
+                        pairLights[pairs] = light;
+                        pairs++;
+                        assigned = true;
+                    }
+                }
+            }
+            if (assigned) {
+                assignedLights++;
+            }
+        }
+        compact(pairs);
+    }
+
+    /** Slice containing positive view depth {@code depth}, or -1 / {@code slices} outside near/far. */
+    public int sliceOf(float depth) {
+        if (depth < near) {
+            return -1;
+        }
+        if (depth >= far) {
+            return slices;
+        }
+        int slice = (int) Math.floor(Math.log(depth) * depthScale + depthBias);
+        return Math.max(0, Math.min(slices - 1, slice));
+    }
+
+    public int clusterIndex(int tileX, int tileY, int slice) {
+        return (slice * tilesY + tileY) * tilesX + tileX;
+    }
+
+    /** View-space box of {@code cluster} as minX, minY, minZ, maxX, maxY, maxZ. */
+    public void clusterBounds(int cluster, float[] out) {
+        int x = cluster % tilesX;
+        int y = (cluster / tilesX) % tilesY;
+        int k = cluster / (tilesX * tilesY);
+        out[0] = columnMinX[k * tilesX + x];
+        out[1] = rowMinY[k * tilesY + y];
+        out[2] = -sliceFar[k];
+        out[3] = columnMaxX[k * tilesX + x];
+        out[4] = rowMaxY[k * tilesY + y];
+        out[5] = -sliceNear[k];
+    }
+
+    public int clusterOffset(int cluster) {
+        return clusterOffsets[cluster];
+    }
+
+    public int clusterLightCount(int cluster) {
+        return clusterCounts[cluster];
+    }
+
+    /** Per-cluster light runs; valid up to {@link #indexCount()} until the next {@link #assign}. */
+    public int[] lightIndices() {
+        return lightIndices;
+    }
+
+    public int indexCount() {
+        return indexCount;
+    }
+
+    /** Light-cluster pairs dropped by the last {@link #assign} because a cluster was full. */
+    public int droppedAssignments() {
+        return droppedAssignments;
+    }
+
+    /** Lights that reached at least one cluster in the last {@link #assign}. */
+    public int assignedLights() {
+        return assignedLights;
+    }
+
+    public int clusterCount() {
+        return clusterOffsets.length;
+    }
+
+    public int tilesX() {
+        return tilesX;
+    }
+
+    public int tilesY() {
+        return tilesY;
+    }
+
+    public int slices() {
+        return slices;
+    }
+
+    public int maxLightsPerCluster() {
+        return maxLightsPerCluster;
+    }
+
+    public float near() {
+        return near;
+    }
+
+    public float far() {
+        return far;
+    }
+
+    public float depthScale() {
+        return depthScale;
+    }
+
+    public float depthBias() {
+        return depthBias;
+    }
+
+    /** Counting sort of the light-cluster pairs by cluster; pairs were emitted in light order. */
+    private void compact(int pairs) {
+        Arrays.fill(clusterCounts, 0);
+        for (int p = 0; p < pairs; p++) {
+            clusterCounts[pairClusters[p]]++;
+        }
+        int offset = 0;
+        droppedAssignments = 0;
+        for (int c = 0; c < clusterCounts.length; c++) {
+            int count = clusterCounts[c];
+            if (count > maxLightsPerCluster) {
+                droppedAssignments += count - maxLightsPerCluster;
+                count = maxLightsPerCluster;
+            }
+            clusterCounts[c] = count;
+            clusterOffsets[c] = offset;
+            clusterFill[c] = 0;
+            offset += count;
+        }
+        if (lightIndices.length < offset) {
+            lightIndices = new int[Math.max(offset, lightIndices.length * 2)];
+        }
+        for (int p = 0; p < pairs; p++) {
+            int cluster = pairClusters[p];
+            int fill = clusterFill[cluster];
+            if (fill < clusterCounts[cluster]) {
+                lightIndices[clusterOffsets[cluster] + fill] = pairLights[p];
+                clusterFill[cluster] = fill + 1;
+            }
+        }
+        indexCount = offset;
+    }
+
+    private void growPairs() {
+        int capacity = Math.max(256, pairClusters.length * 2);
+        pairClusters = Arrays.copyOf(pairClusters, capacity);
+        pairLights = Arrays.copyOf(pairLights, capacity);
+    }
+
+    /**
+     * View-space extents of each tile along one axis between two depths: {@code v = (ndc + offset) * d / scale}
+     * is linear in depth, so the extremes lie at the tile edges on the near or far depth.
+     */
+    private static void tileRanges(
+            float scale, float offset, int tiles, float nearDepth, float farDepth, float[] min, float[] max, int base) {
+        for (int t = 0; t < tiles; t++) {
+            float ndc0 = -1f + 2f * t / tiles;
+            float ndc1 = -1f + 2f * (t + 1) / tiles;
+            float a = (ndc0 + offset) * nearDepth / scale;
+            float b = (ndc0 + offset) * farDepth / scale;
+            float c = (ndc1 + offset) * nearDepth / scale;
+            float d = (ndc1 + offset) * farDepth / scale;
+            min[base + t] = Math.min(Math.min(a, b), Math.min(c, d));
+            max[base + t] = Math.max(Math.max(a, b), Math.max(c, d));
+        }
+    }
+
+    private static float axisDistance(float value, float min, float max) {
+        if (value < min) {
+            return min - value;
+        }
+        return value > max ? value - max : 0f;
+    }
+}
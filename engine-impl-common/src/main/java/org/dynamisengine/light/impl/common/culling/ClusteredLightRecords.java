@@ -0,0 +1,85 @@
+package org.dynamisengine.light.impl.common.culling;
+
+import java.util.List;
+import org.dynamisengine.light.api.scene.LightDesc;
+import org.dynamisengine.light.api.scene.LightType;
+
+/**
+ * Packs local lights into the records that {@link ClusteredLightGrid} bins and both backends' clustered
+ * shading paths read.
+ *
+ * <p>A record is {@value #RECORD_FLOATS} floats laid out like the uniform local-light arrays: position and
+ * range, color and intensity, direction and inner cone cosine, then outer cone cosine and a spot flag. The
+ * last two floats stay zero because clustered lights are unshadowed. Missing fields get the same defaults
+ * the uniform path uses.</p>
+ */
+public final class ClusteredLightRecords {
+    /** Floats per packed light; the first four are the {@link ClusteredLightGrid#assign} position and range. */
+    public static final int RECORD_FLOATS = 16;
+
+    private ClusteredLightRecords() {
+    }
+
+    /**
+     * Packs up to {@code maxLights} of {@code lights}, starting at {@code from} and keeping list order. Pass
+     * the priority-sorted local lights and the first index that did not fit the uniform arrays, so the
+     * clustered path drops the least important lights first.
+     */
+    public static float[] pack(List<LightDesc> lights, int from, int maxLights) {
+        int count = lights == null ? 0 : Math.max(0, Math.min(maxLights, lights.size() - from));
+        float[] out = new float[count * RECORD_FLOATS];
+        for (int i = 0; i < count; i++) {
+            pack(lights.get(from + i), out, i * RECORD_FLOATS);
+        }
+        return out;
+    }
+
+    /** Writes one record at {@code offset}. */
+    public static void pack(LightDesc light, float[] out, int offset) {
+        LightType type = light.type() == null ? LightType.DIRECTIONAL : light.type();
+        out[offset] = light.position() == null ? 0f : light.position().x();
+        out[offset + 1] = light.position() == null ? 1.3f : light.position().y();
+        out[offset + 2] = light.position() == null ? 1.8f : light.position().z();
+        out[offset + 3] = light.range() > 0f ? light.range() : 15f;
+        out[offset + 4] = light.color() == null ? 0.95f : clamp01(light.color().x());
+        out[offset + 5] = light.color() == null ? 0.62f : clamp01(light.color().y());
+        out[offset + 6] = light.color() == null ? 0.22f : clamp01(light.color().z());
+        out[offset + 7] = Math.max(0f, light.intensity());
+        float dx = 0f;
+        float dy = -1f;
+        float dz = 0f;
+        if (light.direction() != null) {
+            float x = light.direction().x();
+            float y = light.direction().y();
+            float z = light.direction().z();
+            float length = (float) Math.sqrt(x * x + y * y + z * z);
+            if (length >= 1.0e-6f) {
+                dx = x / length;
+                dy = y / length;
+                dz = z / length;
+            }
+        }
+        out[offset + 8] = dx;
+        out[offset + 9] = dy;
+        out[offset + 10] = dz;
+        out[offset + 11] = 1.0f;
+        out[offset + 12] = 1.0f;
+        out[offset + 13] = 0f;
+        if (type == LightType.SPOT) {
+            float innerCos = cosFromDegrees(light.innerConeDegrees());
+            float outerCos = cosFromDegrees(light.outerConeDegrees());
+            out[offset + 11] = Math.max(innerCos, outerCos);
+            out[offset + 12] = Math.min(innerCos, outerCos);
+            out[offset + 13] = 1f;
+        }
+    }
+
+    private static float cosFromDegrees(float degrees) {
+        float clamped = Math.max(0f, Math.min(89.9f, degrees));
+        return (float) Math.cos(Math.toRadians(clamped));
+    }
+
+    private static float clamp01(float value) {
+        return Math.max(0f, Math.min(1f, value));
+    }
+}
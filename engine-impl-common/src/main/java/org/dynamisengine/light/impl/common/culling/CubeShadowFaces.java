@@ -0,0 +1,58 @@
+package org.dynamisengine.light.impl.common.culling;
+
+/**
+ * Selects the cube-map faces of a point-light shadow that a world-space box can cast into.
+ *
+ * <p>Each face is the 90-degree pyramid around one axis direction, in {@code GL_TEXTURE_CUBE_MAP_POSITIVE_X}
+ * order: +X, -X, +Y, -Y, +Z, -Z. Relative to the light, a point {@code p} lies in the +X pyramid when
+ * {@code p.x >= |p.y|} and {@code p.x >= |p.z|}; the box is tested against those four side planes in
+ * min/max form, so a box straddling a face edge is kept by both faces. Boxes farther from the light than
+ * its range touch no face. The result is conservative: it may keep a box whose corner region only lies
+ * outside the pyramid, but never drops one that is inside.</p>
+ */
+public final class CubeShadowFaces {
+    public static final int FACE_COUNT = 6;
+    public static final int ALL_FACES = (1 << FACE_COUNT) - 1;
+
+    private CubeShadowFaces() {
+    }
+
+    /**
+     * @param bounds world-space box as minX, minY, minZ, maxX, maxY, maxZ starting at {@code offset}
+     *               (the {@link DynamicBvh#BOUNDS_FLOATS} layout)
+     * @return bit {@code f} set when the box can cover face {@code f}; 0 when it is out of range
+     */
+    public static int faceMask(float lightX, float lightY, float lightZ, float range, float[] bounds, int offset) {
+        float minX = bounds[offset] - lightX;
+        float minY = bounds[offset + 1] - lightY;
+        float minZ = bounds[offset + 2] - lightZ;
+        float maxX = bounds[offset + 3] - lightX;
+        float maxY = bounds[offset + 4] - lightY;
+        float maxZ = bounds[offset + 5] - lightZ;
+        float dx = axisDistance(minX, maxX);
+        float dy = axisDistance(minY, maxY);
+        float dz = axisDistance(minZ, maxZ);
+        if (dx * dx + dy * dy + dz * dz > range * range) {
+            return 0;
+        }
+        // Largest distance along each face direction that the box reaches, tested against the
+        // two side planes of the other axes.
+        return faceBit(0, maxX, minY, maxY, minZ, maxZ)
+                | faceBit(1, -minX, minY, maxY, minZ, maxZ)
+                | faceBit(2, maxY, minX, maxX, minZ, maxZ)
+                | faceBit(3, -minY, minX, maxX, minZ, maxZ)
+                | faceBit(4, maxZ, minX, maxX, minY, maxY)
+                | faceBit(5, -minZ, minX, maxX, minY, maxY);
+    }
+
+    private static float axisDistance(float min, float max) {
+        return min > 0f ? min : (max < 0f ? -max : 0f);
+    }
+
+    private static int faceBit(int face, float reach, float minA, float maxA, float minB, float maxB) {
+        boolean inside = reach >= 0f
+                && reach - minA >= 0f && reach + maxA >= 0f
+                && reach - minB >= 0f && reach + maxB >= 0f;
+        return inside ? 1 << face : 0;
+    }
+}
@@ -0,0 +1,104 @@
+package org.dynamisengine.light.impl.common.culling;
+
+import java.util.Arrays;
+
+/**
+ * Orders a visible item list by packed render-state keys so that draws sharing a program, texture and
+ * vertex array are submitted back to back.
+ *
+ * <p>Key layout, most significant first:</p>
+ * <pre>
+ * [63..48] program      (16 bits)
+ * [47..24] texture      (24 bits)
+ * [23..0]  vertex array (24 bits)
+ * </pre>
+ *
+ * <p>Items are ordered with a stable LSD radix sort over 8-bit digits; digits that are identical for every
+ * key are skipped, so a list that only varies in its vertex arrays takes three passes. Scratch arrays are
+ * kept between calls.</p>
+ */
+public final class DrawStateSorter {
+    static final int PROGRAM_SHIFT = 48;
+    static final int TEXTURE_SHIFT = 24;
+    private static final long PROGRAM_MASK = 0xFFFFL;
+    private static final long NAME_MASK = 0xFF_FFFFL;
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    private long[] keys = new long[0];
+    private long[] scratchKeys = new long[0];
+    private int[] scratchItems = new int[0];
+    private final int[] counts = new int[RADIX];
+
+    /** Packs GL object names into a sort key; names wider than their field are truncated. */
+    public static long stateKey(int program, int texture, int vertexArray) {
+        return ((program & PROGRAM_MASK) << PROGRAM_SHIFT)
+                | ((texture & NAME_MASK) << TEXTURE_SHIFT)
+                | (vertexArray & NAME_MASK);
+    }
+
+    /**
+     * Sorts {@code items[0..count)} in place by {@code itemKeys[item]}; items with equal keys keep their order.
+     */
+    public void sort(int[] items, int count, long[] itemKeys) {
+        if (count < 2) {
+            return;
+        }
+        ensureCapacity(count);
+        long allOr = 0L;
+        long allAnd = -1L;
+        for (int i = 0; i < count; i++) {
+            long key = itemKeys[items[i]];
+            keys[i] = key;
+            allOr |= key;
+            allAnd &= key;
+        }
+        long varying = allOr ^ allAnd;
+        long[] srcKeys = keys;
+        int[] srcItems = items;
+        long[] dstKeys = scratchKeys;
+        int[] dstItems = scratchItems;
+        for (int shift = 0; shift < Long.SIZE; shift += RADIX_BITS) {
+            if (((varying >>> shift) & (RADIX - 1)) == 0L) {
+                continue;
+            }
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < count; i++) {
+                counts[(int) (srcKeys[i] >>> shift) & (RADIX - 1)]++;
+            }
+            int offset = 0;
+            for (int digit = 0; digit < RADIX; digit++) {
+                int digitCount = counts[digit];
+                counts[digit] = offset;
+                offset += digitCount;
+            }
+            for (int i = 0; i < count; i++) {
+                int digit = (int) (srcKeys[i] >>> shift) & (RADIX - 1);
+                int target = counts[digit]++;
+                dstKeys[target] = srcKeys[i];
+                dstItems[target] = srcItems[i];
+            }
+            long[] swapKeys = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = swapKeys;
+            int[] swapItems = srcItems;
+            srcItems = dstItems;
+            dstItems = swapItems;
+        }
+        keys = srcKeys;
+        scratchKeys = dstKeys;
+        if (srcItems != items) {
+            System.arraycopy(srcItems, 0, items, 0, count);
+        }
+    }
+
+    private void ensureCapacity(int count) {
+        if (keys.length >= count) {
+            return;
+        }
+        int capacity = Math.max(count, keys.length * 2);
+        keys = new long[capacity];
+        scratchKeys = new long[capacity];
+        scratchItems = new int[capacity];
+    }
+}
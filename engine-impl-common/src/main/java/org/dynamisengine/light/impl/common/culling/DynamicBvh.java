@@ -0,0 +1,371 @@
+package org.dynamisengine.light.impl.common.culling;
+
+import java.util.Arrays;
+
+/**
+ * Refittable bounding volume hierarchy over world-space axis-aligned boxes, for CPU frustum culling.
+ *
+ * <p>{@link #build} creates one leaf per item with a top-down median split on the longest centroid
+ * axis. Moving items afterwards only rewrites their leaf boxes ({@link #update}); {@link #refit} then
+ * re-unions the ancestors of dirty leaves and stops climbing as soon as a parent box is unchanged, so a
+ * frame with few moving objects touches few nodes. The topology is kept until the next build.</p>
+ *
+ * <p>Boxes are stored as structure-of-arrays min/max bounds. {@link #cull} tests nodes against the six
+ * planes of {@link InstanceFrustumCuller#frustumPlanes} in center/extent form with precomputed absolute
+ * normals, tracking which planes a node is already fully inside so that subtrees inside the frustum are
+ * emitted without further tests.</p>
+ */
+public final class DynamicBvh {
+    /** Floats per item in the {@link #build} bounds array: minX, minY, minZ, maxX, maxY, maxZ. */
+    public static final int BOUNDS_FLOATS = 6;
+    private static final int NULL = -1;
+    private static final int PLANES = 6;
+    private static final int ALL_PLANES = (1 << PLANES) - 1;
+    private static final int MASK_BITS = 6;
+
+    private float[] minX = new float[0];
+    private float[] minY = new float[0];
+    private float[] minZ = new float[0];
+    private float[] maxX = new float[0];
+    private float[] maxY = new float[0];
+    private float[] maxZ = new float[0];
+    private int[] left = new int[0];
+    private int[] right = new int[0];
+    private int[] parent = new int[0];
+    private int[] leafOfItem = new int[0];
+    private int[] buildItems = new int[0];
+    private int[] stack = new int[0];
+    private int[] dirtyLeaves = new int[0];
+    private boolean[] dirty = new boolean[0];
+    private final float[] planeX = new float[PLANES];
+    private final float[] planeY = new float[PLANES];
+    private final float[] planeZ = new float[PLANES];
+    private final float[] planeW = new float[PLANES];
+    private final float[] absX = new float[PLANES];
+    private final float[] absY = new float[PLANES];
+    private final float[] absZ = new float[PLANES];
+    private float[] buildBounds;
+    private int nodeCount;
+    private int itemCount;
+    private int dirtyCount;
+    private int root = NULL;
+    private int lastRefitNodes;
+    private int lastVisitedNodes;
+
+    /** Rebuilds the hierarchy over {@code count} boxes laid out as {@link #BOUNDS_FLOATS} floats per item. */
+    public void build(float[] bounds, int count) {
+        if (count < 0 || (count > 0 && (bounds == null || bounds.length < count * BOUNDS_FLOATS))) {
+            throw new IllegalArgumentException("bounds must hold " + count + " boxes");
+        }
+        itemCount = count;
+        nodeCount = 0;
+        dirtyCount = 0;
+        root = NULL;
+        int capacity = Math.max(1, 2 * count - 1);
+        ensureNodeCapacity(capacity);
+        if (leafOfItem.length < count) {
+            leafOfItem = new int[count];
+            buildItems = new int[count];
+            dirtyLeaves = new int[count];
+        }
+        Arrays.fill(dirty, 0, capacity, false);
+        if (count == 0) {
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            buildItems[i] = i;
+        }
+        buildBounds = bounds;
+        root = buildRange(0, count, NULL);
+        buildBounds = null;
+    }
+
+    /** Moves {@code item}'s box; ancestors are refit by the next {@link #refit}. */
+    public void update(int item, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        if (item < 0 || item >= itemCount) {
+            throw new IndexOutOfBoundsException("item " + item + " of " + itemCount);
+        }
+        int leaf = leafOfItem[item];
+        setBox(leaf, minX, minY, minZ, maxX, maxY, maxZ);
+        if (!dirty[leaf]) {
+            dirty[leaf] = true;
+            dirtyLeaves[dirtyCount++] = leaf;
+        }
+    }
+
+    /**
+     * Re-unions the ancestors of every leaf moved since the last refit.
+     *
+     * @return number of interior nodes whose box was recomputed
+     */
+    public int refit() {
+        int touched = 0;
+        for (int d = 0; d < dirtyCount; d++) {
+            int leaf = dirtyLeaves[d];
+            dirty[leaf] = false;
+            int node = parent[leaf];
+            while (node != NULL) {
+                touched++;
+                if (!unionChildren(node)) {
+                    break;
+                }
+                node = parent[node];
+            }
+        }
+        dirtyCount = 0;
+        lastRefitNodes = touched;
+        return touched;
+    }
+
+    /**
+     * Writes the items whose boxes intersect the frustum to {@code visibleOut}, in hierarchy order.
+     *
+     * @param planes six normalized planes as produced by {@link InstanceFrustumCuller#frustumPlanes}
+     * @return number of visible items
+     */
+    public int cull(float[] planes, int[] visibleOut) {
+        if (planes == null || planes.length < InstanceFrustumCuller.PLANE_FLOATS) {
+            throw new IllegalArgumentException("planes must hold " + InstanceFrustumCuller.PLANE_FLOATS + " floats");
+        }
+        if (visibleOut == null || visibleOut.length < itemCount) {
+            throw new IllegalArgumentException("visibleOut must hold " + itemCount + " items");
+        }
+        lastVisitedNodes = 0;
+        if (root == NULL) {
+            return 0;
+        }
+        for (int p = 0; p < PLANES; p++) {
+            planeX[p] = planes[p * 4];
+            planeY[p] = planes[p * 4 + 1];
+            planeZ[p] = planes[p * 4 + 2];
+            planeW[p] = planes[p * 4 + 3];
+            absX[p] = Math.abs(planeX[p]);
+            absY[p] = Math.abs(planeY[p]);
+            absZ[p] = Math.abs(planeZ[p]);
+        }
+        int visible = 0;
+        int top = 0;
+        stack[top++] = (root << MASK_BITS) | ALL_PLANES;
+        while (top > 0) {
+            int entry = stack[--top];
+            int node = entry >>> MASK_BITS;
+            int mask = entry & ALL_PLANES;
+            lastVisitedNodes++;
+            if (mask != 0) {
+                float cx = (minX[node] + maxX[node]) * 0.5f;
+                float cy = (minY[node] + maxY[node]) * 0.5f;
+                float cz = (minZ[node] + maxZ[node]) * 0.5f;
+                float ex = (maxX[node] - minX[node]) * 0.5f;
+                float ey = (maxY[node] - minY[node]) * 0.5f;
+                float ez = (maxZ[node] - minZ[node]) * 0.5f;
+                boolean outside = false;
+                for (int p = 0; p < PLANES; p++) {
+                    float distance = planeX[p] * cx + planeY[p] * cy + planeZ[p] * cz + planeW[p];
+                    float radius = absX[p] * ex + absY[p] * ey + absZ[p] * ez;
+                    outside |= distance + radius < 0f;
+                    if (distance - radius >= 0f) {
+                        mask &= ~(1 << p);
+                    }
+                }
+                if (outside) {
+                    continue;
+                }
+            }
+            if (left[node] == NULL) {
+                visibleOut[visible++] = right[node];
+            } else {
+                stack[top++] = (right[node] << MASK_BITS) | mask;
+                stack[top++] = (left[node] << MASK_BITS) | mask;
+            }
+        }
+        return visible;
+    }
+
+    public int itemCount() {
+        return itemCount;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /** Interior nodes recomputed by the last {@link #refit}. */
+    public int lastRefitNodes() {
+        return lastRefitNodes;
+    }
+
+    /** Nodes popped by the last {@link #cull}. */
+    public int lastVisitedNodes() {
+        return lastVisitedNodes;
+    }
+
+    /** Root box as minX, minY, minZ, maxX, maxY, maxZ; all zero when empty. */
+    public void rootBounds(float[] out) {
+        if (root == NULL) {
+            Arrays.fill(out, 0, BOUNDS_FLOATS, 0f);
+            return;
+        }
+        out[0] = minX[root];
+        out[1] = minY[root];
+        out[2] = minZ[root];
+        out[3] = maxX[root];
+        out[4] = maxY[root];
+        out[5] = maxZ[root];
+    }
+
+    /**
+     * Transforms a local-space box by a column-major model matrix into the world-space box that encloses
+     * it (center transformed, extents through the absolute upper 3x3).
+     */
+    public static void transformBounds(float[] model, float[] local, int localOffset, float[] out, int outOffset) {
+        float cx = (local[localOffset] + local[localOffset + 3]) * 0.5f;
+        float cy = (local[localOffset + 1] + local[localOffset + 4]) * 0.5f;
+        float cz = (local[localOffset + 2] + local[localOffset + 5]) * 0.5f;
+        float ex = (local[localOffset + 3] - local[localOffset]) * 0.5f;
+        float ey = (local[localOffset + 4] - local[localOffset + 1]) * 0.5f;
+        float ez = (local[localOffset + 5] - local[localOffset + 2]) * 0.5f;
+        float wx = model[0] * cx + model[4] * cy + model[8] * cz + model[12];
+        float wy = model[1] * cx + model[5] * cy + model[9] * cz + model[13];
+        float wz = model[2] * cx + model[6] * cy + model[10] * cz + model[14];
+        float rx = Math.abs(model[0]) * ex + Math.abs(model[4]) * ey + Math.abs(model[8]) * ez;
+        float ry = Math.abs(model[1]) * ex + Math.abs(model[5]) * ey + Math.abs(model[9]) * ez;
+        float rz = Math.abs(model[2]) * ex + Math.abs(model[6]) * ey + Math.abs(model[10]) * ez;
+        out[outOffset] = wx - rx;
+        out[outOffset + 1] = wy - ry;
+        out[outOffset + 2] = wz - rz;
+        out[outOffset + 3] = wx + rx;
+        out[outOffset + 4] = wy + ry;
+        out[outOffset + 5] = wz + rz;
+    }
+
+    private int buildRange(int start, int end, int parentNode) {
+        int node = nodeCount++;
+        parent[node] = parentNode;
+        if (end - start == 1) {
+            int item = buildItems[start];
+            int b = item * BOUNDS_FLOATS;
+            setBox(node, buildBounds[b], buildBounds[b + 1], buildBounds[b + 2],
+                    buildBounds[b + 3], buildBounds[b + 4], buildBounds[b + 5]);
+            left[node] = NULL;
+            right[node] = item;
+            leafOfItem[item] = node;
+            return node;
+        }
+        int axis = longestCentroidAxis(start, end);
+        int mid = (start + end) >>> 1;
+        select(start, end - 1, mid, axis);
+        left[node] = buildRange(start, mid, node);
+        right[node] = buildRange(mid, end, node);
+        unionChildren(node);
+        return node;
+    }
+
+    private int longestCentroidAxis(int start, int end) {
+        float loX = Float.POSITIVE_INFINITY;
+        float loY = Float.POSITIVE_INFINITY;
+        float loZ = Float.POSITIVE_INFINITY;
+        float hiX = Float.NEGATIVE_INFINITY;
+        float hiY = Float.NEGATIVE_INFINITY;
+        float hiZ = Float.NEGATIVE_INFINITY;
+        for (int i = start; i < end; i++) {
+            int b = buildItems[i] * BOUNDS_FLOATS;
+            float x = buildBounds[b] + buildBounds[b + 3];
+            float y = buildBounds[b + 1] + buildBounds[b + 4];
+            float z = buildBounds[b + 2] + buildBounds[b + 5];
+            loX = Math.min(loX, x);
+            hiX = Math.max(hiX, x);
+            loY = Math.min(loY, y);
+            hiY = Math.max(hiY, y);
+            loZ = Math.min(loZ, z);
+            hiZ = Math.max(hiZ, z);
+        }
+        float dx = hiX - loX;
+        float dy = hiY - loY;
+        float dz = hiZ - loZ;
+        if (dx >= dy && dx >= dz) {
+            return 0;
+        }
+        return dy >= dz ? 1 : 2;
+    }
+
+    /** Quickselect on doubled centroids so that {@code buildItems[k]} splits the range along {@code axis}. */
+    private void select(int lo, int hi, int k, int axis) {
+        while (hi > lo) {
+            float pivot = centroid(buildItems[(lo + hi) >>> 1], axis);
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (centroid(buildItems[i], axis) < pivot) {
+                    i++;
+                }
+                while (centroid(buildItems[j], axis) > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    int swap = buildItems[i];
+                    buildItems[i] = buildItems[j];
+                    buildItems[j] = swap;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private float centroid(int item, int axis) {
+        int b = item * BOUNDS_FLOATS + axis;
+        return buildBounds[b] + buildBounds[b + 3];
+    }
+
+    /** @return true when the node's box changed */
+    private boolean unionChildren(int node) {
+        int a = left[node];
+        int b = right[node];
+        float nMinX = Math.min(minX[a], minX[b]);
+        float nMinY = Math.min(minY[a], minY[b]);
+        float nMinZ = Math.min(minZ[a], minZ[b]);
+        float nMaxX = Math.max(maxX[a], maxX[b]);
+        float nMaxY = Math.max(maxY[a], maxY[b]);
+        float nMaxZ = Math.max(maxZ[a], maxZ[b]);
+        if (nMinX == minX[node] && nMinY == minY[node] && nMinZ == minZ[node]
+                && nMaxX == maxX[node] && nMaxY == maxY[node] && nMaxZ == maxZ[node]) {
+            return false;
+        }
+        setBox(node, nMinX, nMinY, nMinZ, nMaxX, nMaxY, nMaxZ);
+        return true;
+    }
+
+    private void setBox(int node, float x0, float y0, float z0, float x1, float y1, float z1) {
+        minX[node] = x0;
+        minY[node] = y0;
+        minZ[node] = z0;
+        maxX[node] = x1;
+        maxY[node] = y1;
+        maxZ[node] = z1;
+    }
+
+    private void ensureNodeCapacity(int capacity) {
+        if (minX.length >= capacity) {
+            return;
+        }
+        minX = new float[capacity];
+        minY = new float[capacity];
+        minZ = new float[capacity];
+        maxX = new float[capacity];
+        maxY = new float[capacity];
+        maxZ = new float[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        parent = new int[capacity];
+        dirty = new boolean[capacity];
+        // Depth-first traversal holds at most one pending sibling per level plus the current node.
+        stack = new int[capacity + 1];
+    }
+}
@@ -0,0 +1,157 @@
+package org.dynamisengine.light.impl.common.culling;
+
+import java.util.Arrays;
+
+/**
+ * CPU reference for hierarchical-Z occlusion culling.
+ *
+ * <p>Level 0 is the depth buffer itself (row 0 at the top, depth in [0, 1] with 1 cleared/far). Each
+ * further level halves both extents (never below 1) and stores the farthest depth of its source texels;
+ * when a source extent is odd the last texel also absorbs the trailing row or column, so every level-0
+ * texel maps to a covering texel at every level via {@code min(x >> level, width(level) - 1)}.</p>
+ *
+ * <p>A sphere is occluded when the nearest depth of its projected bounding box is behind the farthest
+ * pyramid depth under that box, read from the level where the box spans at most 2x2 texels. The GPU
+ * pyramid build and the culling shader must match this class.</p>
+ */
+public final class HiZPyramid {
+    private static final float NEAR_W_EPSILON = 1.0e-5f;
+
+    private final int[] widths;
+    private final int[] heights;
+    private final float[][] levels;
+
+    private HiZPyramid(int[] widths, int[] heights, float[][] levels) {
+        this.widths = widths;
+        this.heights = heights;
+        this.levels = levels;
+    }
+
+    public static int levelCount(int width, int height) {
+        int extent = Math.max(1, Math.max(width, height));
+        return 32 - Integer.numberOfLeadingZeros(extent);
+    }
+
+    public static int levelExtent(int baseExtent, int level) {
+        return Math.max(1, baseExtent >> level);
+    }
+
+    public static HiZPyramid build(float[] depth, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("width and height must be positive");
+        }
+        if (depth == null || depth.length < width * height) {
+            throw new IllegalArgumentException("depth must hold " + (width * height) + " values");
+        }
+        int count = levelCount(width, height);
+        int[] widths = new int[count];
+        int[] heights = new int[count];
+        float[][] levels = new float[count][];
+        widths[0] = width;
+        heights[0] = height;
+        levels[0] = Arrays.copyOf(depth, width * height);
+        for (int level = 1; level < count; level++) {
+            int srcW = widths[level - 1];
+            int srcH = heights[level - 1];
+            int dstW = levelExtent(width, level);
+            int dstH = levelExtent(height, level);
+            float[] src = levels[level - 1];
+            float[] dst = new float[dstW * dstH];
+            for (int y = 0; y < dstH; y++) {
+                int y0 = Math.min(2 * y, srcH - 1);
+                int y1 = y == dstH - 1 ? srcH - 1 : 2 * y + 1;
+                for (int x = 0; x < dstW; x++) {
+                    int x0 = Math.min(2 * x, srcW - 1);
+                    int x1 = x == dstW - 1 ? srcW - 1 : 2 * x + 1;
+                    float farthest = 0f;
+                    for (int sy = y0; sy <= y1; sy++) {
+                        for (int sx = x0; sx <= x1; sx++) {
+                            farthest = Math.max(farthest, src[sy * srcW + sx]);
+                        }
+                    }
+                    dst[y * dstW + x] = farthest;
+                }
+            }
+            widths[level] = dstW;
+            heights[level] = dstH;
+            levels[level] = dst;
+        }
+        return new HiZPyramid(widths, heights, levels);
+    }
+
+    public int levels() {
+        return levels.length;
+    }
+
+    public int width(int level) {
+        return widths[level];
+    }
+
+    public int height(int level) {
+        return heights[level];
+    }
+
+    public float depth(int level, int x, int y) {
+        return levels[level][y * widths[level] + x];
+    }
+
+    /**
+     * Tests a world-space sphere against the pyramid using the column-major view-projection the depth was
+     * rendered with. Spheres that cross the near plane or leave the screen are never reported occluded.
+     */
+    public boolean sphereOccluded(float[] viewProj, float x, float y, float z, float radius) {
+        if (viewProj == null || viewProj.length != InstanceFrustumCuller.MATRIX_FLOATS || !(radius > 0f)) {
+            return false;
+        }
+        float[] m = viewProj;
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float minZ = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        for (int corner = 0; corner < 8; corner++) {
+            float px = (corner & 1) != 0 ? x + radius : x - radius;
+            float py = (corner & 2) != 0 ? y + radius : y - radius;
+            float pz = (corner & 4) != 0 ? z + radius : z - radius;
+            float cw = m[3] * px + m[7] * py + m[11] * pz + m[15];
+            if (!(cw > NEAR_W_EPSILON)) {
+                return false;
+            }
+            float nx = (m[0] * px + m[4] * py + m[8] * pz + m[12]) / cw;
+            float ny = (m[1] * px + m[5] * py + m[9] * pz + m[13]) / cw;
+            float nz = (m[2] * px + m[6] * py + m[10] * pz + m[14]) / cw;
+            minX = Math.min(minX, nx);
+            maxX = Math.max(maxX, nx);
+            minY = Math.min(minY, ny);
+            maxY = Math.max(maxY, ny);
+            minZ = Math.min(minZ, nz);
+        }
+        if (maxX < -1f || minX > 1f || maxY < -1f || minY > 1f) {
+            return false;
+        }
+        int x0 = texel(minX, widths[0]);
+        int x1 = texel(maxX, widths[0]);
+        int y0 = texel(minY, heights[0]);
+        int y1 = texel(maxY, heights[0]);
+        int level = 0;
+        while (level < levels.length - 1 && ((x1 >> level) - (x0 >> level) > 1 || (y1 >> level) - (y0 >> level) > 1)) {
+            level++;
+        }
+        int lx0 = Math.min(x0 >> level, widths[level] - 1);
+        int lx1 = Math.min(x1 >> level, widths[level] - 1);
+        int ly0 = Math.min(y0 >> level, heights[level] - 1);
+        int ly1 = Math.min(y1 >> level, heights[level] - 1);
+        float farthest = 0f;
+        for (int ty = ly0; ty <= ly1; ty++) {
+            for (int tx = lx0; tx <= lx1; tx++) {
+                farthest = Math.max(farthest, depth(level, tx, ty));
+            }
+        }
+        return minZ > farthest;
+    }
+
+    static int texel(float ndc, int extent) {
+        float uv = Math.max(-1f, Math.min(1f, ndc)) * 0.5f + 0.5f;
+        return Math.max(0, Math.min(extent - 1, (int) Math.floor(uv * extent)));
+    }
+}
@@ -0,0 +1,117 @@
+package org.dynamisengine.light.impl.common.culling;
+
+/**
+ * CPU reference for per-instance frustum culling.
+ *
+ * <p>Mirrors the GPU instance-culling stage: each instance transforms the mesh's local bounding sphere
+ * by its column-major model matrix (radius scaled by the largest axis scale), tests it against six
+ * normalized frustum planes, and visible instances are compacted into an index list. The CPU version
+ * emits indices in ascending order; the GPU version emits the same set in any order.</p>
+ */
+public final class InstanceFrustumCuller {
+    public static final int PLANE_FLOATS = 6 * 4;
+    public static final int MATRIX_FLOATS = 16;
+    private static final float MIN_RADIUS = 0.0001f;
+    private static final float[] IDENTITY = {
+            1f, 0f, 0f, 0f,
+            0f, 1f, 0f, 0f,
+            0f, 0f, 1f, 0f,
+            0f, 0f, 0f, 1f
+    };
+
+    private InstanceFrustumCuller() {
+    }
+
+    /**
+     * Extracts left, right, bottom, top, near and far planes ({@code xyz} normal, {@code w} distance)
+     * from a column-major view-projection matrix. A missing matrix yields the identity frustum.
+     */
+    public static float[] frustumPlanes(float[] viewProj) {
+        float[] out = new float[PLANE_FLOATS];
+        frustumPlanes(viewProj, out);
+        return out;
+    }
+
+    public static void frustumPlanes(float[] viewProj, float[] out) {
+        if (out == null || out.length < PLANE_FLOATS) {
+            throw new IllegalArgumentException("out must hold " + PLANE_FLOATS + " floats");
+        }
+        float[] m = viewProj == null || viewProj.length != MATRIX_FLOATS ? IDENTITY : viewProj;
+        float r0x = m[0], r0y = m[4], r0z = m[8], r0w = m[12];
+        float r1x = m[1], r1y = m[5], r1z = m[9], r1w = m[13];
+        float r2x = m[2], r2y = m[6], r2z = m[10], r2w = m[14];
+        float r3x = m[3], r3y = m[7], r3z = m[11], r3w = m[15];
+        writePlane(out, 0, r3x + r0x, r3y + r0y, r3z + r0z, r3w + r0w); // left
+        writePlane(out, 4, r3x - r0x, r3y - r0y, r3z - r0z, r3w - r0w); // right
+        writePlane(out, 8, r3x + r1x, r3y + r1y, r3z + r1z, r3w + r1w); // bottom
+        writePlane(out, 12, r3x - r1x, r3y - r1y, r3z - r1z, r3w - r1w); // top
+        writePlane(out, 16, r3x + r2x, r3y + r2y, r3z + r2z, r3w + r2w); // near
+        writePlane(out, 20, r3x - r2x, r3y - r2y, r3z - r2z, r3w - r2w); // far
+    }
+
+    public static boolean sphereVisible(float[] planes, float x, float y, float z, float radius) {
+        for (int i = 0; i < PLANE_FLOATS; i += 4) {
+            float d = planes[i] * x + planes[i + 1] * y + planes[i + 2] * z + planes[i + 3];
+            if (d < -radius) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Culls {@code instanceCount} instances whose model matrices start every {@code strideFloats} floats
+     * in {@code models}, writing visible instance indices to {@code visibleOut}.
+     *
+     * @return number of visible instances written to {@code visibleOut}
+     */
+    public static int cullInstances(
+            float[] planes,
+            float localCenterX,
+            float localCenterY,
+            float localCenterZ,
+            float localRadius,
+            float[] models,
+            int strideFloats,
+            int instanceCount,
+            int[] visibleOut
+    ) {
+        if (planes == null || planes.length < PLANE_FLOATS) {
+            throw new IllegalArgumentException("planes must hold " + PLANE_FLOATS + " floats");
+        }
+        if (strideFloats < MATRIX_FLOATS) {
+            throw new IllegalArgumentException("strideFloats must be at least " + MATRIX_FLOATS);
+        }
+        int count = Math.max(0, instanceCount);
+        if (count > 0 && (models == null || (long) (count - 1) * strideFloats + MATRIX_FLOATS > models.length)) {
+            throw new IllegalArgumentException("models too small for " + count + " instances");
+        }
+        if (visibleOut == null || visibleOut.length < count) {
+            throw new IllegalArgumentException("visibleOut must hold " + count + " indices");
+        }
+        int visible = 0;
+        for (int i = 0; i < count; i++) {
+            int m = i * strideFloats;
+            float cx = models[m] * localCenterX + models[m + 4] * localCenterY + models[m + 8] * localCenterZ + models[m + 12];
+            float cy = models[m + 1] * localCenterX + models[m + 5] * localCenterY + models[m + 9] * localCenterZ + models[m + 13];
+            float cz = models[m + 2] * localCenterX + models[m + 6] * localCenterY + models[m + 10] * localCenterZ + models[m + 14];
+            float sx = (float) Math.sqrt(models[m] * models[m] + models[m + 1] * models[m + 1] + models[m + 2] * models[m + 2]);
+            float sy = (float) Math.sqrt(models[m + 4] * models[m + 4] + models[m + 5] * models[m + 5] + models[m + 6] * models[m + 6]);
+            float sz = (float) Math.sqrt(models[m + 8] * models[m + 8] + models[m + 9] * models[m + 9] + models[m + 10] * models[m + 10]);
+            float scale = Math.max(sx, Math.max(sy, sz));
+            float radius = Math.max(MIN_RADIUS, localRadius * Math.max(scale, MIN_RADIUS));
+            if (sphereVisible(planes, cx, cy, cz, radius)) {
+                visibleOut[visible++] = i;
+            }
+        }
+        return visible;
+    }
+
+    private static void writePlane(float[] out, int base, float x, float y, float z, float w) {
+        float invLen = (float) (1.0 / Math.max(1e-6, Math.sqrt((x * x) + (y * y) + (z * z))));
+        out[base] = x * invLen;
+        out[base + 1] = y * invLen;
+        out[base + 2] = z * invLen;
+        out[base + 3] = w * invLen;
+    }
+}
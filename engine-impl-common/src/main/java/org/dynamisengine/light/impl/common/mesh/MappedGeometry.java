@@ -0,0 +1,103 @@
+package org.dynamisengine.light.impl.common.mesh;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+/**
+ * Memory-mapped view of a {@link PackedGeometryFile}.
+ *
+ * <p>{@link #vertexSegment()} / {@link #indexSegment()} (and the {@link ByteBuffer} views) point
+ * straight into the page cache and can be copied directly into staging buffers. They are valid
+ * only until {@link #close()}.</p>
+ */
+public final class MappedGeometry implements AutoCloseable {
+    private final Arena arena;
+    private final MemorySegment vertices;
+    private final int vertexCount;
+    private final int strideBytes;
+    private final List<PackedGeometryFile.Attribute> attributes;
+    private final MemorySegment indices;
+    private final int indexCount;
+    private final int indexSize;
+
+    MappedGeometry(
+            Arena arena,
+            MemorySegment vertices,
+            int vertexCount,
+            int strideBytes,
+            List<PackedGeometryFile.Attribute> attributes,
+            MemorySegment indices,
+            int indexCount,
+            int indexSize
+    ) {
+        this.arena = arena;
+        this.vertices = vertices;
+        this.vertexCount = vertexCount;
+        this.strideBytes = strideBytes;
+        this.attributes = List.copyOf(attributes);
+        this.indices = indices;
+        this.indexCount = indexCount;
+        this.indexSize = indexSize;
+    }
+
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    public int strideBytes() {
+        return strideBytes;
+    }
+
+    public List<PackedGeometryFile.Attribute> attributes() {
+        return attributes;
+    }
+
+    /**
+     * @return byte offset of the attribute inside a vertex, or {@code -1} when absent
+     */
+    public int attributeOffset(String semantic, int setIndex) {
+        for (PackedGeometryFile.Attribute attribute : attributes) {
+            if (attribute.semantic().equals(semantic) && attribute.setIndex() == setIndex) {
+                return attribute.offsetBytes();
+            }
+        }
+        return -1;
+    }
+
+    /** Index count, or 0 for non-indexed geometry. */
+    public int indexCount() {
+        return indexCount;
+    }
+
+    /** Bytes per index (2 or 4), or 0 for non-indexed geometry. */
+    public int indexSize() {
+        return indexSize;
+    }
+
+    public MemorySegment vertexSegment() {
+        return vertices;
+    }
+
+    public MemorySegment indexSegment() {
+        return indices;
+    }
+
+    /** Read-only little-endian view of the vertex stream. */
+    public ByteBuffer vertexBytes() {
+        return vertices.asByteBuffer().asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /** Read-only little-endian view of the index stream (empty when non-indexed). */
+    public ByteBuffer indexBytes() {
+        return indices.asByteBuffer().asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /** Unmaps the file; views obtained from this instance become invalid. */
+    @Override
+    public void close() {
+        arena.close();
+    }
+}
@@ -0,0 +1,227 @@
+package org.dynamisengine.light.impl.common.mesh;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * On-disk store for meshes cooked to MGI by {@link MeshForgeAssetService}.
+ *
+ * <p>Cooked files are content-addressed: {@code <sha256(pipeline signature + source bytes)>.mgi}.
+ * Sources that pull geometry from other files (glTF {@code buffers[].uri}) fold every resolved
+ * dependency's bytes into the key, so editing a {@code .bin} next to an unchanged {@code .gltf}
+ * re-cooks too. A small per-asset index ({@code <sha256(pipeline signature + asset path)>.idx})
+ * remembers the size/mtime of the source and its dependencies and the content key they last resolved
+ * to, so an untouched source maps to its MGI without being read or hashed. A changed stamp falls back
+ * to hashing; a changed hash means a re-cook. Other artifacts derived from the same source (e.g.
+ * {@code .dlpg} packed geometry) share the content key.</p>
+ *
+ * <p>All writes go through a temporary sibling plus atomic move, and every failure is treated as a
+ * cache miss - the cache never makes a load fail.</p>
+ */
+final class MeshCookCache {
+
+    /** Resolution of a source against the cache. */
+    record Lookup(Path path, String contentKey, String stamp, boolean hit) {
+    }
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final int GLB_MAGIC = 0x46546C67;
+    private static final int GLB_JSON_CHUNK = 0x4E4F534A;
+
+    private final Path directory;
+    private final String pipelineSignature;
+
+    MeshCookCache(Path directory, String pipelineSignature) {
+        this.directory = directory;
+        this.pipelineSignature = pipelineSignature;
+    }
+
+    Path directory() {
+        return directory;
+    }
+
+    /**
+     * Resolves {@code source} to its cooked MGI path. {@link Lookup#hit()} is true when that file
+     * already exists and matches the current source content.
+     */
+    Lookup lookup(Path source, String assetKey) throws IOException {
+        return lookup(source, assetKey, ".mgi");
+    }
+
+    /**
+     * Resolves {@code source} to the cooked artifact with the given extension. Every artifact of
+     * one source shares its content key, so they all invalidate together.
+     */
+    Lookup lookup(Path source, String assetKey, String extension) throws IOException {
+        List<Path> dependencies = dependencies(source);
+        StringBuilder stampBuilder = new StringBuilder(stamp(source));
+        for (Path dependency : dependencies) {
+            stampBuilder.append('|').append(Files.isRegularFile(dependency) ? stamp(dependency) : "missing");
+        }
+        String stamp = stampBuilder.toString();
+        Path index = indexPath(assetKey);
+        String indexed = readIndex(index);
+        String contentKey = null;
+        if (indexed != null) {
+            int split = indexed.indexOf(' ');
+            if (split > 0 && stamp.equals(indexed.substring(0, split))) {
+                contentKey = indexed.substring(split + 1);
+            }
+        }
+        if (contentKey == null) {
+            contentKey = contentKey(source, dependencies);
+            // New or touched source: remember the stamp so the next lookup skips hashing.
+            writeIndex(index, stamp, contentKey);
+        }
+        Path artifact = directory.resolve(contentKey + extension);
+        return new Lookup(artifact, contentKey, stamp, Files.isRegularFile(artifact));
+    }
+
+    /**
+     * Files whose bytes feed the cooked geometry besides {@code source} itself: the external
+     * {@code buffers[].uri} entries of a glTF or GLB, resolved against the source folder. Embedded
+     * {@code data:} buffers and the GLB binary chunk are part of the source bytes already. An
+     * unparseable source has no dependencies; the importer reports that error on the cook path.
+     */
+    static List<Path> dependencies(Path source) {
+        String name = source.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (!name.endsWith(".gltf") && !name.endsWith(".glb")) {
+            return List.of();
+        }
+        try {
+            JsonNode root = name.endsWith(".glb") ? readGlbJson(source) : JSON.readTree(source.toFile());
+            if (root == null) {
+                return List.of();
+            }
+            Path base = source.toAbsolutePath().getParent();
+            List<Path> dependencies = new ArrayList<>();
+            for (JsonNode buffer : root.path("buffers")) {
+                String uri = buffer.path("uri").asText("");
+                if (uri.isBlank() || uri.startsWith("data:")) {
+                    continue;
+                }
+                dependencies.add(base.resolve(URLDecoder.decode(uri, StandardCharsets.UTF_8)).normalize());
+            }
+            return dependencies;
+        } catch (IOException | RuntimeException ignored) {
+            return List.of();
+        }
+    }
+
+    /** Stores freshly cooked bytes at the looked-up artifact path. */
+    void store(Lookup lookup, byte[] bytes) {
+        try {
+            writeAtomically(lookup.path(), bytes);
+        } catch (IOException | RuntimeException ignored) {
+            // Best effort: an unwritable cache only costs a re-cook next time.
+        }
+    }
+
+    /** Creates the cache directory and a temporary sibling for streaming writers. */
+    Path newTempFile(Lookup lookup) throws IOException {
+        Files.createDirectories(directory);
+        return Files.createTempFile(directory, lookup.path().getFileName().toString(), ".tmp");
+    }
+
+    /** Atomically publishes a temp file produced via {@link #newTempFile(Lookup)}. */
+    void publish(Path temp, Lookup lookup) throws IOException {
+        try {
+            Files.move(temp, lookup.path(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void writeIndex(Path index, String stamp, String contentKey) {
+        try {
+            writeAtomically(index, (stamp + " " + contentKey).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException | RuntimeException ignored) {
+            // Best effort.
+        }
+    }
+
+    private static String readIndex(Path index) {
+        try {
+            return Files.isRegularFile(index) ? Files.readString(index, StandardCharsets.UTF_8).trim() : null;
+        } catch (IOException ignored) {
+            return null;
+        }
+    }
+
+    private void writeAtomically(Path target, byte[] bytes) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, bytes);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path indexPath(String assetKey) {
+        return directory.resolve(sha256(
+                pipelineSignature.getBytes(StandardCharsets.UTF_8),
+                assetKey.getBytes(StandardCharsets.UTF_8)
+        ) + ".idx");
+    }
+
+    private String contentKey(Path source, List<Path> dependencies) throws IOException {
+        byte[][] parts = new byte[2 + dependencies.size()][];
+        parts[0] = pipelineSignature.getBytes(StandardCharsets.UTF_8);
+        parts[1] = Files.readAllBytes(source);
+        for (int i = 0; i < dependencies.size(); i++) {
+            Path dependency = dependencies.get(i);
+            // A missing buffer still gets a distinct key; the importer reports it on the cook path.
+            parts[2 + i] = Files.isRegularFile(dependency) ? Files.readAllBytes(dependency) : new byte[0];
+        }
+        return sha256(parts);
+    }
+
+    private static String stamp(Path path) throws IOException {
+        return Files.size(path) + ":" + Files.getLastModifiedTime(path).toMillis();
+    }
+
+    private static JsonNode readGlbJson(Path source) throws IOException {
+        byte[] bytes = Files.readAllBytes(source);
+        if (bytes.length < 20) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        int chunkLength = header.getInt(12);
+        if (header.getInt(0) != GLB_MAGIC || header.getInt(16) != GLB_JSON_CHUNK
+                || chunkLength < 0 || chunkLength > bytes.length - 20) {
+            return null;
+        }
+        return JSON.readTree(bytes, 20, chunkLength);
+    }
+
+    private static String sha256(byte[]... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (int i = 0; i < parts.length; i++) {
+                if (i > 0) {
+                    digest.update((byte) 0);
+                }
+                digest.update(parts[i]);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+}
@@ -13,12 +13,19 @@ import org.dynamisengine.meshforge.mgi.MgiStaticMeshCodec;
 import org.dynamisengine.meshforge.pack.packer.MeshPacker;
 import org.dynamisengine.meshforge.ops.pipeline.MeshPipeline;
 import org.dynamisengine.meshforge.pack.buffer.PackedMesh;
+import org.dynamisengine.meshforge.pack.layout.VertexLayout;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 /**
  * Shared mesh asset service for LightEngine backends.
@@ -30,6 +37,13 @@ import java.util.Map;
  *   <li>Output: {@link RuntimeGeometryPayload} + {@link GpuGeometryUploadPlan}</li>
  * </ol>
  *
+ * <p>Processed source meshes are cooked once into MGI files under a cook directory
+ * ({@code ~/.dynamis/asset-cache/mesh} by default, {@code -Ddle.mesh.cook.dir} to override,
+ * {@code -Ddle.mesh.cook.enabled=false} to disable); nothing is written into the asset tree. Cooked
+ * files are keyed by the source content, its external glTF buffers and the processing pipeline, so later loads of an unchanged source skip straight to the MGI
+ * path. {@link #cookDirectory(Path)} pre-cooks a whole tree, and {@link #loadMapped(String)}
+ * memory-maps a packed-GPU-layout copy for decode-free, zero-copy uploads.</p>
+ *
  * <p>Backends should NOT implement their own source-format parsers.
  * This service owns mesh truth; backends own only GPU upload.</p>
  *
@@ -38,18 +52,45 @@ import java.util.Map;
  */
 public final class MeshForgeAssetService {
 
+    private static final float WELD_EPSILON = 1e-6f;
+    private static final float NORMAL_SMOOTHING_ANGLE_DEGREES = 60f;
+    /** Bump whenever {@link #process(MeshData)}, packing or the on-disk encodings change. */
+    private static final String PIPELINE_SIGNATURE = "mgi-cook-v1;validate;removeDegenerates;weld("
+            + WELD_EPSILON + ");normals(" + NORMAL_SMOOTHING_ANGLE_DEGREES + ");tangents;optimizeVertexCache;bounds"
+            + ";pack=realtimeFast;dlpg=" + PackedGeometryFile.VERSION;
+    private static final Set<String> SOURCE_EXTENSIONS = Set.of(".obj", ".gltf", ".glb", ".stl", ".ply");
+
+    /**
+     * Outcome of {@link #cookDirectory(Path)}.
+     *
+     * @param cooked   sources processed and written to the cook cache
+     * @param upToDate sources whose cooked MGI was already current
+     * @param failed   sources that could not be loaded or processed
+     */
+    public record CookReport(int cooked, int upToDate, int failed) {
+    }
+
     private final Path assetRoot;
     private final int maxCacheEntries;
     private final LinkedHashMap<String, MeshLoadResult> cache;
     private final MgiStaticMeshCodec mgiCodec = new MgiStaticMeshCodec();
+    private final MeshCookCache cookCache;
 
     public MeshForgeAssetService(Path assetRoot) {
         this(assetRoot, 256);
     }
 
     public MeshForgeAssetService(Path assetRoot, int maxCacheEntries) {
+        this(assetRoot, maxCacheEntries, defaultCookDirectory());
+    }
+
+    /**
+     * @param cookDirectory where cooked MGI files live, or {@code null} to always import from source
+     */
+    public MeshForgeAssetService(Path assetRoot, int maxCacheEntries, Path cookDirectory) {
         this.assetRoot = assetRoot != null ? assetRoot : Path.of(".");
         this.maxCacheEntries = Math.max(1, maxCacheEntries);
+        this.cookCache = cookDirectory == null ? null : new MeshCookCache(cookDirectory, PIPELINE_SIGNATURE);
         this.cache = new LinkedHashMap<>(32, 0.75f, true) {
             @Override
             protected boolean removeEldestEntry(Map.Entry<String, MeshLoadResult> eldest) {
@@ -84,6 +125,8 @@ public final class MeshForgeAssetService {
 
             if (lower.endsWith(".mgi")) {
                 result = loadMgi(resolved, meshAssetPath);
+            } else if (cookCache != null) {
+                result = loadCooked(resolved, meshAssetPath);
             } else {
                 result = loadAndProcess(resolved, meshAssetPath);
             }
@@ -97,38 +140,186 @@ public final class MeshForgeAssetService {
         }
     }
 
-    /** Fast path: load pre-packed MGI binary. */
-    private MeshLoadResult loadMgi(Path path, String assetPath) throws Exception {
-        byte[] bytes = Files.readAllBytes(path);
-        MgiStaticMesh mgi = mgiCodec.read(bytes);
-        MeshData meshData = MgiMeshDataCodec.toMeshData(mgi);
+    /**
+     * Zero-copy load: memory-maps the asset's packed geometry ({@link PackedGeometryFile}) so its
+     * vertex and index streams can be copied straight into staging memory.
+     *
+     * <p>{@code .dlpg} assets map directly. For MGI and source formats the packed file is derived
+     * once into the cook cache, keyed like the cooked MGI, and mapped on every later load without
+     * touching MGI decode or {@code MeshPacker}. The caller owns the returned mapping.</p>
+     *
+     * @throws MeshLoadException if the asset cannot be loaded, or it is not {@code .dlpg} and the
+     *                           cook cache is disabled
+     */
+    public MappedGeometry loadMapped(String meshAssetPath) throws MeshLoadException {
+        if (meshAssetPath == null || meshAssetPath.isBlank()) {
+            throw new MeshLoadException("Null or empty mesh asset path");
+        }
+        Path resolved = assetRoot.resolve(meshAssetPath);
+        if (!Files.exists(resolved)) {
+            throw new MeshLoadException("Mesh asset not found: " + resolved);
+        }
+        try {
+            if (meshAssetPath.toLowerCase(Locale.ROOT).endsWith(PackedGeometryFile.EXTENSION)) {
+                return PackedGeometryFile.map(resolved);
+            }
+            if (cookCache == null) {
+                throw new MeshLoadException("Mapped mesh loading requires the cook cache: " + meshAssetPath);
+            }
+            MeshCookCache.Lookup lookup = cookCache.lookup(resolved, assetKey(resolved), PackedGeometryFile.EXTENSION);
+            if (lookup.hit()) {
+                try {
+                    return PackedGeometryFile.map(lookup.path());
+                } catch (Exception ignored) {
+                    // Corrupt or stale-format entry: rebuild it below.
+                }
+            }
+            RuntimeGeometryPayload payload = load(meshAssetPath).payload();
+            Path temp = cookCache.newTempFile(lookup);
+            writePacked(temp, payload);
+            cookCache.publish(temp, lookup);
+            return PackedGeometryFile.map(lookup.path());
+        } catch (MeshLoadException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new MeshLoadException("Failed to map mesh: " + meshAssetPath, e);
+        }
+    }
 
-        PackedMesh packed = MeshPacker.pack(meshData, Packers.realtimeFast());
-        RuntimeGeometryPayload payload = MeshForgeGpuBridge.payloadFromPackedMesh(packed);
-        GpuGeometryUploadPlan plan = MeshForgeGpuBridge.buildUploadPlan(payload);
+    /** Writes a runtime payload in the {@link PackedGeometryFile} layout. */
+    public static void writePacked(Path target, RuntimeGeometryPayload payload) throws IOException {
+        List<PackedGeometryFile.Attribute> attributes = new ArrayList<>();
+        for (VertexLayout.Entry entry : payload.layout().entries().values()) {
+            attributes.add(new PackedGeometryFile.Attribute(
+                    entry.key().semantic().name(),
+                    entry.key().setIndex(),
+                    entry.offsetBytes()
+            ));
+        }
+        boolean indexed = payload.indexBytes() != null && payload.indexCount() > 0;
+        PackedGeometryFile.write(
+                target,
+                payload.vertexBytes(),
+                payload.vertexCount(),
+                payload.layout().strideBytes(),
+                attributes,
+                indexed ? payload.indexBytes() : null,
+                indexed ? payload.indexCount() : 0,
+                !indexed ? 0 : payload.indexType() == PackedMesh.IndexType.UINT16 ? 2 : 4
+        );
+    }
 
-        return new MeshLoadResult(payload, plan, assetPath, true);
+    /** Fast path: load pre-packed MGI binary. */
+    private MeshLoadResult loadMgi(Path path, String assetPath) throws Exception {
+        return toResult(readMgi(path), assetPath, true);
     }
 
     /** Import path: load source format, process, pack. */
     private MeshLoadResult loadAndProcess(Path path, String assetPath) throws Exception {
-        MeshData meshData = MeshLoaders.defaults().load(path);
+        return toResult(process(MeshLoaders.defaults().load(path)), assetPath, false);
+    }
+
+    /** Cooked path: reuse the cached MGI for this source, or import once and cook it. */
+    private MeshLoadResult loadCooked(Path path, String assetPath) throws Exception {
+        String assetKey = assetKey(path);
+        MeshCookCache.Lookup lookup = cookCache.lookup(path, assetKey);
+        if (lookup.hit()) {
+            try {
+                return toResult(readMgi(lookup.path()), assetPath, true);
+            } catch (Exception ignored) {
+                // Corrupt or truncated cache entry: fall through and re-cook.
+            }
+        }
+        MeshData meshData = process(MeshLoaders.defaults().load(path));
+        cookCache.store(lookup, mgiCodec.write(MgiMeshDataCodec.fromMeshData(meshData)));
+        return toResult(meshData, assetPath, false);
+    }
 
-        meshData = MeshPipeline.run(meshData,
+    /**
+     * Cooks every supported source mesh under {@code directory} (recursively) into the cook cache,
+     * in parallel. Already-current sources are skipped without re-importing.
+     *
+     * @param directory directory to scan; relative paths resolve against the asset root
+     * @return counts of cooked, up-to-date and failed sources
+     * @throws MeshLoadException if cooking is disabled or the directory cannot be walked
+     */
+    public CookReport cookDirectory(Path directory) throws MeshLoadException {
+        if (cookCache == null) {
+            throw new MeshLoadException("Mesh cook cache is disabled");
+        }
+        Path root = assetRoot.resolve(directory == null ? Path.of(".") : directory);
+        List<Path> sources;
+        try (Stream<Path> walk = Files.walk(root)) {
+            sources = walk
+                    .filter(Files::isRegularFile)
+                    .filter(MeshForgeAssetService::isCookableSource)
+                    .toList();
+        } catch (IOException | RuntimeException e) {
+            throw new MeshLoadException("Failed to scan mesh directory: " + root, e);
+        }
+        AtomicInteger cooked = new AtomicInteger();
+        AtomicInteger upToDate = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        sources.parallelStream().forEach(source -> {
+            try {
+                String assetKey = assetKey(source);
+                MeshCookCache.Lookup lookup = cookCache.lookup(source, assetKey);
+                if (lookup.hit()) {
+                    upToDate.incrementAndGet();
+                    return;
+                }
+                MeshData meshData = process(MeshLoaders.defaults().load(source));
+                cookCache.store(lookup, mgiCodec.write(MgiMeshDataCodec.fromMeshData(meshData)));
+                cooked.incrementAndGet();
+            } catch (Exception e) {
+                failed.incrementAndGet();
+            }
+        });
+        return new CookReport(cooked.get(), upToDate.get(), failed.get());
+    }
+
+    private MeshData readMgi(Path path) throws Exception {
+        MgiStaticMesh mgi = mgiCodec.read(Files.readAllBytes(path));
+        return MgiMeshDataCodec.toMeshData(mgi);
+    }
+
+    private static MeshData process(MeshData meshData) {
+        return MeshPipeline.run(meshData,
                 Ops.validate(),
                 Ops.removeDegenerates(),
-                Ops.weld(1e-6f),
-                Ops.normals(60f),
+                Ops.weld(WELD_EPSILON),
+                Ops.normals(NORMAL_SMOOTHING_ANGLE_DEGREES),
                 Ops.tangents(),
                 Ops.optimizeVertexCache(),
                 Ops.bounds()
         );
+    }
 
+    private static MeshLoadResult toResult(MeshData meshData, String assetPath, boolean fromMgi) {
         PackedMesh packed = MeshPacker.pack(meshData, Packers.realtimeFast());
         RuntimeGeometryPayload payload = MeshForgeGpuBridge.payloadFromPackedMesh(packed);
         GpuGeometryUploadPlan plan = MeshForgeGpuBridge.buildUploadPlan(payload);
+        return new MeshLoadResult(payload, plan, assetPath, fromMgi);
+    }
+
+    private static String assetKey(Path source) {
+        return source.toAbsolutePath().normalize().toString();
+    }
 
-        return new MeshLoadResult(payload, plan, assetPath, false);
+    private static boolean isCookableSource(Path path) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        int dot = name.lastIndexOf('.');
+        return dot > 0 && SOURCE_EXTENSIONS.contains(name.substring(dot));
+    }
+
+    private static Path defaultCookDirectory() {
+        if (!Boolean.parseBoolean(System.getProperty("dle.mesh.cook.enabled", "true"))) {
+            return null;
+        }
+        String override = System.getProperty("dle.mesh.cook.dir");
+        return override == null || override.isBlank()
+                ? Path.of(System.getProperty("user.home"), ".dynamis", "asset-cache", "mesh")
+                : Path.of(override.trim());
     }
 
     /** Clear the geometry cache. */
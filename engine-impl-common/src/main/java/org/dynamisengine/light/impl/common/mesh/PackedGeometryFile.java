@@ -0,0 +1,198 @@
+package org.dynamisengine.light.impl.common.mesh;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Versioned on-disk layout for packed runtime geometry ({@code .dlpg}).
+ *
+ * <p>The vertex and index streams are stored byte-for-byte in the packed GPU layout, so loading is
+ * a file mapping - no decode, no repacking and no heap copies. Layout (little-endian):</p>
+ * <pre>
+ *   0  magic "DLPG"          4  version
+ *   8  vertexCount          12  strideBytes
+ *  16  indexCount           20  indexSize (0, 2 or 4)
+ *  24  attributeCount       28  reserved
+ *  32  vertexOffset (i64)   40  vertexLength (i64)
+ *  48  indexOffset (i64)    56  indexLength (i64)
+ *  64  attributeCount x { semantic UTF-8, NUL-padded to 24 bytes; setIndex; offsetBytes }
+ *      vertex stream, then index stream, each 16-byte aligned
+ * </pre>
+ */
+public final class PackedGeometryFile {
+    public static final String EXTENSION = ".dlpg";
+    static final int MAGIC = 0x47504C44;
+    static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int ATTRIBUTE_BYTES = 32;
+    private static final int SEMANTIC_BYTES = 24;
+    private static final int DATA_ALIGNMENT = 16;
+
+    /**
+     * One interleaved vertex attribute.
+     *
+     * @param semantic    attribute semantic name (e.g. {@code POSITION}, {@code UV})
+     * @param setIndex    semantic set index
+     * @param offsetBytes byte offset inside a vertex
+     */
+    public record Attribute(String semantic, int setIndex, int offsetBytes) {
+    }
+
+    private PackedGeometryFile() {
+    }
+
+    /**
+     * Streams the packed buffers to {@code target} without building an intermediate array.
+     *
+     * @param indexBytes index stream, or {@code null} for non-indexed geometry
+     * @param indexSize  bytes per index: 2, 4, or 0 when non-indexed
+     */
+    public static void write(
+            Path target,
+            ByteBuffer vertexBytes,
+            int vertexCount,
+            int strideBytes,
+            List<Attribute> attributes,
+            ByteBuffer indexBytes,
+            int indexCount,
+            int indexSize
+    ) throws IOException {
+        ByteBuffer vertices = vertexBytes.duplicate();
+        ByteBuffer indices = indexBytes == null || indexCount <= 0 ? ByteBuffer.allocate(0) : indexBytes.duplicate();
+        int headerLength = HEADER_BYTES + ATTRIBUTE_BYTES * attributes.size();
+        long vertexOffset = align(headerLength);
+        long vertexLength = vertices.remaining();
+        long indexOffset = align(vertexOffset + vertexLength);
+        long indexLength = indices.remaining();
+
+        ByteBuffer header = ByteBuffer.allocate((int) vertexOffset).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(vertexCount)
+                .putInt(strideBytes)
+                .putInt(indexLength == 0 ? 0 : indexCount)
+                .putInt(indexLength == 0 ? 0 : indexSize)
+                .putInt(attributes.size())
+                .putInt(0)
+                .putLong(vertexOffset)
+                .putLong(vertexLength)
+                .putLong(indexOffset)
+                .putLong(indexLength);
+        for (Attribute attribute : attributes) {
+            byte[] name = attribute.semantic().getBytes(StandardCharsets.UTF_8);
+            if (name.length >= SEMANTIC_BYTES) {
+                throw new IllegalArgumentException("Attribute semantic too long: " + attribute.semantic());
+            }
+            header.put(name).put(new byte[SEMANTIC_BYTES - name.length]);
+            header.putInt(attribute.setIndex()).putInt(attribute.offsetBytes());
+        }
+        header.position(0).limit(header.capacity());
+
+        try (FileChannel channel = FileChannel.open(target,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer padding = ByteBuffer.allocate((int) (indexOffset - vertexOffset - vertexLength));
+            writeFully(channel, header, vertices, padding, indices);
+        }
+    }
+
+    /**
+     * Maps {@code source} read-only. The returned geometry owns the mapping; close it to unmap.
+     *
+     * @throws IOException if the file cannot be mapped or is not a supported {@code .dlpg} file
+     */
+    public static MappedGeometry map(Path source) throws IOException {
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            MemorySegment file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            MappedGeometry geometry = parse(file, arena);
+            if (geometry == null) {
+                throw new IOException("Not a supported packed geometry file: " + source);
+            }
+            return geometry;
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    private static MappedGeometry parse(MemorySegment file, Arena arena) {
+        long size = file.byteSize();
+        if (size < HEADER_BYTES || readInt(file, 0) != MAGIC || readInt(file, 4) != VERSION) {
+            return null;
+        }
+        int vertexCount = readInt(file, 8);
+        int stride = readInt(file, 12);
+        int indexCount = readInt(file, 16);
+        int indexSize = readInt(file, 20);
+        int attributeCount = readInt(file, 24);
+        long vertexOffset = readLong(file, 32);
+        long vertexLength = readLong(file, 40);
+        long indexOffset = readLong(file, 48);
+        long indexLength = readLong(file, 56);
+        if (vertexCount < 0 || stride <= 0 || attributeCount < 0
+                || (indexSize != 0 && indexSize != 2 && indexSize != 4)
+                || vertexLength != (long) vertexCount * stride
+                || indexLength != (long) indexCount * indexSize
+                || HEADER_BYTES + (long) ATTRIBUTE_BYTES * attributeCount > vertexOffset
+                || vertexOffset + vertexLength > size
+                || indexOffset < vertexOffset + vertexLength
+                || indexOffset + indexLength > size) {
+            return null;
+        }
+        List<Attribute> attributes = new ArrayList<>(attributeCount);
+        for (int i = 0; i < attributeCount; i++) {
+            long base = HEADER_BYTES + (long) i * ATTRIBUTE_BYTES;
+            byte[] name = file.asSlice(base, SEMANTIC_BYTES).toArray(ValueLayout.JAVA_BYTE);
+            int length = 0;
+            while (length < name.length && name[length] != 0) {
+                length++;
+            }
+            attributes.add(new Attribute(
+                    new String(name, 0, length, StandardCharsets.UTF_8),
+                    readInt(file, base + SEMANTIC_BYTES),
+                    readInt(file, base + SEMANTIC_BYTES + 4)
+            ));
+        }
+        return new MappedGeometry(
+                arena,
+                file.asSlice(vertexOffset, vertexLength),
+                vertexCount,
+                stride,
+                attributes,
+                file.asSlice(indexOffset, indexLength),
+                indexCount,
+                indexSize
+        );
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer... buffers) throws IOException {
+        for (ByteBuffer buffer : buffers) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private static int readInt(MemorySegment segment, long offset) {
+        return segment.get(ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN), offset);
+    }
+
+    private static long readLong(MemorySegment segment, long offset) {
+        return segment.get(ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN), offset);
+    }
+
+    private static long align(long value) {
+        long remainder = value % DATA_ALIGNMENT;
+        return remainder == 0 ? value : value + DATA_ALIGNMENT - remainder;
+    }
+}
@@ -0,0 +1,121 @@
+package org.dynamisengine.light.impl.common.mesh;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+
+import org.dynamisengine.light.api.error.EngineErrorCode;
+import org.dynamisengine.light.api.error.EngineException;
+import org.dynamisengine.light.api.mesh.DmeshV1;
+import org.dynamisengine.light.api.mesh.MeshFormats;
+import org.dynamisengine.light.api.mesh.MeshUploadRequest;
+
+/**
+ * Validated view of a {@link MeshFormats#DMESH_V1} upload request.
+ *
+ * <p>{@link #vertices()} and {@link #indices()} are slices of the request's payload segment, not copies, so
+ * they are only valid while the request's lease is held. Backends copy them straight into staging memory.
+ * Bounds are computed while validating so no second pass over the payload is needed.</p>
+ *
+ * @param aabb local min xyz followed by max xyz
+ * @param sphere local bounding sphere center xyz followed by radius
+ */
+public record RegisteredMeshPayload(
+        String meshId,
+        long contentHash64,
+        int vertexCount,
+        int indexCount,
+        MemorySegment vertices,
+        MemorySegment indices,
+        float[] aabb,
+        float[] sphere
+) {
+    private static final ValueLayout.OfInt INT_LE = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfFloat FLOAT_LE = ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    public long vertexBytes() {
+        return vertices.byteSize();
+    }
+
+    public long indexBytes() {
+        return indices.byteSize();
+    }
+
+    public static RegisteredMeshPayload parse(MeshUploadRequest request) throws EngineException {
+        if (!MeshFormats.DMESH_V1.equals(request.format())) {
+            throw invalid(request, "unsupported mesh format " + request.format());
+        }
+        MemorySegment payload = request.payloadSegment();
+        if (payload.byteSize() < DmeshV1.HEADER_BYTES) {
+            throw invalid(request, "payload is shorter than the DMESH_V1 header");
+        }
+        if (DmeshV1.magic(payload) != DmeshV1.MAGIC || DmeshV1.version(payload) != DmeshV1.VERSION) {
+            throw invalid(request, "payload is not a DMESH_V1 v" + DmeshV1.VERSION + " mesh");
+        }
+        int vertexCount = DmeshV1.vertexCount(payload);
+        int indexCount = DmeshV1.indexCount(payload);
+        if (vertexCount < 3 || indexCount < 3 || indexCount % 3 != 0) {
+            throw invalid(request, "mesh needs at least one triangle (vertices=" + vertexCount + ", indices=" + indexCount + ")");
+        }
+        if (payload.byteSize() != DmeshV1.byteSize(vertexCount, indexCount)) {
+            throw invalid(request, "payload size " + payload.byteSize() + " does not match header ("
+                    + DmeshV1.byteSize(vertexCount, indexCount) + " bytes expected)");
+        }
+        long indexOffset = DmeshV1.indexOffset(vertexCount);
+        MemorySegment vertices = payload.asSlice(DmeshV1.VERTEX_OFFSET, indexOffset - DmeshV1.VERTEX_OFFSET);
+        MemorySegment indices = payload.asSlice(indexOffset, (long) indexCount * Integer.BYTES);
+        for (int i = 0; i < indexCount; i++) {
+            int index = indices.getAtIndex(INT_LE, i);
+            if (index < 0 || index >= vertexCount) {
+                throw invalid(request, "index " + index + " at " + i + " is out of range");
+            }
+        }
+        float[] aabb = aabb(vertices, vertexCount);
+        return new RegisteredMeshPayload(
+                request.meshId(),
+                request.contentHash64(),
+                vertexCount,
+                indexCount,
+                vertices,
+                indices,
+                aabb,
+                sphere(vertices, vertexCount, aabb)
+        );
+    }
+
+    private static float[] aabb(MemorySegment vertices, int vertexCount) {
+        float[] bounds = {
+                Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY,
+                Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY
+        };
+        for (int v = 0; v < vertexCount; v++) {
+            long base = (long) v * DmeshV1.VERTEX_STRIDE_BYTES;
+            for (int axis = 0; axis < 3; axis++) {
+                float value = vertices.get(FLOAT_LE, base + (long) axis * Float.BYTES);
+                bounds[axis] = Math.min(bounds[axis], value);
+                bounds[axis + 3] = Math.max(bounds[axis + 3], value);
+            }
+        }
+        return bounds;
+    }
+
+    private static float[] sphere(MemorySegment vertices, int vertexCount, float[] aabb) {
+        float cx = (aabb[0] + aabb[3]) * 0.5f;
+        float cy = (aabb[1] + aabb[4]) * 0.5f;
+        float cz = (aabb[2] + aabb[5]) * 0.5f;
+        float radiusSq = 0f;
+        for (int v = 0; v < vertexCount; v++) {
+            long base = (long) v * DmeshV1.VERTEX_STRIDE_BYTES;
+            float dx = vertices.get(FLOAT_LE, base) - cx;
+            float dy = vertices.get(FLOAT_LE, base + Float.BYTES) - cy;
+            float dz = vertices.get(FLOAT_LE, base + 2L * Float.BYTES) - cz;
+            radiusSq = Math.max(radiusSq, (dx * dx) + (dy * dy) + (dz * dz));
+        }
+        return new float[]{cx, cy, cz, (float) Math.sqrt(Math.max(1e-8f, radiusSq))};
+    }
+
+    private static EngineException invalid(MeshUploadRequest request, String reason) {
+        return new EngineException(EngineErrorCode.INVALID_ARGUMENT,
+                "Mesh '" + request.meshId() + "' rejected: " + reason, true);
+    }
+}
@@ -0,0 +1,220 @@
+package org.dynamisengine.light.impl.common.mesh;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dynamisengine.light.api.error.EngineErrorCode;
+import org.dynamisengine.light.api.error.EngineException;
+import org.dynamisengine.light.api.mesh.MeshUploadRequest;
+import org.dynamisengine.light.api.mesh.MeshUploadResult;
+
+/**
+ * Handle table for meshes registered through {@code EngineRuntime.registerMesh}, shared by both backends.
+ *
+ * <p>{@link #register(List, Uploader)} validates every request first, resolves content-hash dedupe (also
+ * within the batch), and then hands all new meshes to the backend in a single {@link Uploader} call so
+ * staging, transfer and descriptor work can be batched. Nothing is recorded unless the upload succeeds.
+ * A deduplicated request gets the existing handle with {@code reused = true}; its mesh id becomes an alias
+ * for that handle and the entry is reference-counted until every registration has been removed.</p>
+ *
+ * <p>Not thread-safe; used from the engine thread only.</p>
+ *
+ * @param <T> backend GPU resource for one mesh
+ */
+public final class RegisteredMeshTable<T> {
+    /**
+     * Uploads new meshes. Payload segments are only valid for the duration of the call.
+     */
+    @FunctionalInterface
+    public interface Uploader<T> {
+        /**
+         * @return one resource per payload, in order. On failure the uploader releases anything it created.
+         */
+        List<T> upload(List<RegisteredMeshPayload> payloads) throws EngineException;
+    }
+
+    public static final class Entry<T> {
+        private final int handle;
+        private final String meshId;
+        private final long contentHash64;
+        private final int vertexCount;
+        private final int indexCount;
+        private final T resource;
+        private int refCount = 1;
+
+        private Entry(int handle, RegisteredMeshPayload payload, T resource) {
+            this.handle = handle;
+            this.meshId = payload.meshId();
+            this.contentHash64 = payload.contentHash64();
+            this.vertexCount = payload.vertexCount();
+            this.indexCount = payload.indexCount();
+            this.resource = resource;
+        }
+
+        public int handle() {
+            return handle;
+        }
+
+        public String meshId() {
+            return meshId;
+        }
+
+        public long contentHash64() {
+            return contentHash64;
+        }
+
+        public int vertexCount() {
+            return vertexCount;
+        }
+
+        public int indexCount() {
+            return indexCount;
+        }
+
+        public T resource() {
+            return resource;
+        }
+
+        public int refCount() {
+            return refCount;
+        }
+    }
+
+    private final Map<Integer, Entry<T>> byHandle = new LinkedHashMap<>();
+    private final Map<String, Entry<T>> byMeshId = new HashMap<>();
+    private final Map<Long, Entry<T>> byHash = new HashMap<>();
+    private int nextHandle = 1;
+
+    public List<MeshUploadResult> register(List<MeshUploadRequest> requests, Uploader<T> uploader) throws EngineException {
+        List<RegisteredMeshPayload> payloads = new ArrayList<>(requests.size());
+        for (MeshUploadRequest request : requests) {
+            payloads.add(RegisteredMeshPayload.parse(request));
+        }
+
+        // Resolve every request before uploading: >= 0 reuses an existing handle, < 0 is -(1 + new mesh slot).
+        int[] plan = new int[payloads.size()];
+        List<RegisteredMeshPayload> uploads = new ArrayList<>();
+        Map<String, Integer> pendingIds = new HashMap<>();
+        Map<Long, Integer> pendingHashes = new HashMap<>();
+        for (int i = 0; i < payloads.size(); i++) {
+            RegisteredMeshPayload payload = payloads.get(i);
+            boolean allowDuplicate = requests.get(i).allowDuplicate();
+            Entry<T> existing = byMeshId.get(payload.meshId());
+            Integer pending = pendingIds.get(payload.meshId());
+            if (existing != null || pending != null) {
+                long hash = existing != null ? existing.contentHash64 : uploads.get(pending).contentHash64();
+                if (allowDuplicate || hash != payload.contentHash64()) {
+                    throw new EngineException(EngineErrorCode.INVALID_ARGUMENT,
+                            "Mesh id '" + payload.meshId() + "' is already registered", true);
+                }
+                plan[i] = existing != null ? existing.handle : -(1 + pending);
+                continue;
+            }
+            if (!allowDuplicate) {
+                Entry<T> sameContent = byHash.get(payload.contentHash64());
+                if (sameContent != null) {
+                    plan[i] = sameContent.handle;
+                    continue;
+                }
+                Integer pendingContent = pendingHashes.get(payload.contentHash64());
+                if (pendingContent != null) {
+                    plan[i] = -(1 + pendingContent);
+                    continue;
+                }
+            }
+            int slot = uploads.size();
+            uploads.add(payload);
+            pendingIds.put(payload.meshId(), slot);
+            pendingHashes.putIfAbsent(payload.contentHash64(), slot);
+            plan[i] = -(1 + slot);
+        }
+
+        List<T> resources = uploads.isEmpty() ? List.of() : uploader.upload(List.copyOf(uploads));
+        if (resources.size() != uploads.size()) {
+            throw new EngineException(EngineErrorCode.INTERNAL_ERROR,
+                    "Mesh uploader returned " + resources.size() + " resources for " + uploads.size() + " meshes", false);
+        }
+
+        List<Entry<T>> created = new ArrayList<>(uploads.size());
+        for (int slot = 0; slot < uploads.size(); slot++) {
+            Entry<T> entry = new Entry<>(nextHandle++, uploads.get(slot), resources.get(slot));
+            created.add(entry);
+            byHandle.put(entry.handle, entry);
+            byMeshId.put(entry.meshId, entry);
+            byHash.putIfAbsent(entry.contentHash64, entry);
+        }
+        List<MeshUploadResult> results = new ArrayList<>(plan.length);
+        boolean[] firstUse = new boolean[created.size()];
+        for (int i = 0; i < plan.length; i++) {
+            String meshId = payloads.get(i).meshId();
+            Entry<T> entry;
+            boolean reused;
+            if (plan[i] < 0) {
+                int slot = -(plan[i] + 1);
+                entry = created.get(slot);
+                reused = firstUse[slot];
+                firstUse[slot] = true;
+            } else {
+                entry = byHandle.get(plan[i]);
+                reused = true;
+            }
+            if (reused) {
+                entry.refCount++;
+                byMeshId.putIfAbsent(meshId, entry);
+            }
+            results.add(new MeshUploadResult(entry.handle, reused, meshId));
+        }
+        return List.copyOf(results);
+    }
+
+    /**
+     * Drops one registration of {@code handle}.
+     *
+     * @return the resource to destroy once the last registration is gone, otherwise {@code null}
+     */
+    public T remove(int handle) throws EngineException {
+        Entry<T> entry = byHandle.get(handle);
+        if (entry == null) {
+            throw new EngineException(EngineErrorCode.INVALID_ARGUMENT, "Unknown mesh handle " + handle, true);
+        }
+        if (--entry.refCount > 0) {
+            return null;
+        }
+        byHandle.remove(handle);
+        byMeshId.values().removeIf(candidate -> candidate == entry);
+        byHash.remove(entry.contentHash64, entry);
+        return entry.resource;
+    }
+
+    public Entry<T> byHandle(int handle) {
+        return byHandle.get(handle);
+    }
+
+    /**
+     * @return the entry registered under {@code meshId} or one of its dedupe aliases, or {@code null}
+     */
+    public Entry<T> byMeshId(String meshId) {
+        return byMeshId.get(meshId);
+    }
+
+    public int size() {
+        return byHandle.size();
+    }
+
+    /**
+     * Forgets every registration and returns the resources for the caller to destroy.
+     */
+    public List<T> clear() {
+        List<T> resources = new ArrayList<>(byHandle.size());
+        for (Entry<T> entry : byHandle.values()) {
+            resources.add(entry.resource);
+        }
+        byHandle.clear();
+        byMeshId.clear();
+        byHash.clear();
+        return resources;
+    }
+}
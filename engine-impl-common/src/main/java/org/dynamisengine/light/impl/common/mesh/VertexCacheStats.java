@@ -0,0 +1,76 @@
+package org.dynamisengine.light.impl.common.mesh;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * CPU estimate of how many times the vertex shader runs for one draw of a triangle list.
+ *
+ * <p>The post-transform cache is modelled as a FIFO of {@code cacheSize} vertex indices, which is how
+ * mesh optimizers usually score index orders. {@code transforms} counts cache misses; ACMR (average cache
+ * miss ratio) is transforms per triangle and ATVR (average transform to vertex ratio) is transforms per
+ * unique vertex. Non-indexed geometry transforms every vertex, so its ACMR is always 3.</p>
+ *
+ * @param triangles      triangles drawn
+ * @param uniqueVertices distinct vertices referenced by the draw
+ * @param transforms     estimated vertex shader invocations
+ */
+public record VertexCacheStats(long triangles, long uniqueVertices, long transforms) {
+    /** FIFO size used for estimates; matches the common 16-entry default of mesh optimizers. */
+    public static final int DEFAULT_CACHE_SIZE = 16;
+
+    public static final VertexCacheStats EMPTY = new VertexCacheStats(0, 0, 0);
+
+    public static VertexCacheStats nonIndexed(int vertexCount) {
+        long triangles = vertexCount / 3;
+        return new VertexCacheStats(triangles, triangles * 3, triangles * 3);
+    }
+
+    public static VertexCacheStats estimate(int[] indices, int vertexCount) {
+        return estimate(i -> indices[i], indices.length, vertexCount, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Simulates the FIFO cache over {@code indexCount} indices read through {@code indexAt}.
+     *
+     * @throws IllegalArgumentException when an index falls outside {@code [0, vertexCount)}
+     */
+    public static VertexCacheStats estimate(IntUnaryOperator indexAt, int indexCount, int vertexCount, int cacheSize) {
+        if (cacheSize <= 0) {
+            throw new IllegalArgumentException("cacheSize must be positive");
+        }
+        int usable = indexCount - indexCount % 3;
+        if (usable <= 0 || vertexCount <= 0) {
+            return EMPTY;
+        }
+        // Number of misses before the one that brought each vertex into the FIFO; it is still cached
+        // until cacheSize newer vertices have been pushed after it.
+        long[] insertedAt = new long[vertexCount];
+        Arrays.fill(insertedAt, Long.MIN_VALUE);
+        long transforms = 0;
+        long unique = 0;
+        for (int i = 0; i < usable; i++) {
+            int index = indexAt.applyAsInt(i);
+            if (index < 0 || index >= vertexCount) {
+                throw new IllegalArgumentException("Index " + index + " out of range for " + vertexCount + " vertices");
+            }
+            boolean firstUse = insertedAt[index] == Long.MIN_VALUE;
+            if (firstUse) {
+                unique++;
+            }
+            if (firstUse || transforms - insertedAt[index] > cacheSize) {
+                insertedAt[index] = transforms;
+                transforms++;
+            }
+        }
+        return new VertexCacheStats(usable / 3, unique, transforms);
+    }
+
+    public double acmr() {
+        return triangles == 0 ? 0.0 : (double) transforms / triangles;
+    }
+
+    public double atvr() {
+        return uniqueVertices == 0 ? 0.0 : (double) transforms / uniqueVertices;
+    }
+}
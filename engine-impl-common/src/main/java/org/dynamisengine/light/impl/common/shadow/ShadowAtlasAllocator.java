@@ -0,0 +1,331 @@
+package org.dynamisengine.light.impl.common.shadow;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Power-of-two quadtree (buddy) allocator for square shadow atlas tiles.
+ * Each level halves the tile edge; free blocks are tracked per level in Z-order so
+ * allocate and free touch at most one node per level and freed buddies coalesce.
+ * Allocations carry a last-use tick that drives incremental least-recently-used eviction.
+ */
+public final class ShadowAtlasAllocator {
+    private static final Comparator<Block> LRU_ORDER = Comparator
+            .comparingLong(Block::lastUseTick)
+            .thenComparing(Block::id);
+
+    private final int atlasSizePx;
+    private final int minTileSizePx;
+    private final int maxLevel;
+    private final List<TreeSet<Integer>> freeByLevel;
+    private final Map<String, Block> blocks = new HashMap<>();
+    private final TreeSet<Block> lruOrder = new TreeSet<>(LRU_ORDER);
+    private long usedPixels;
+
+    public ShadowAtlasAllocator(int atlasSizePx, int minTileSizePx) {
+        if (Integer.bitCount(atlasSizePx) != 1 || Integer.bitCount(minTileSizePx) != 1 || minTileSizePx > atlasSizePx) {
+            throw new IllegalArgumentException("atlas and minimum tile sizes must be powers of two with min <= atlas");
+        }
+        this.atlasSizePx = atlasSizePx;
+        this.minTileSizePx = minTileSizePx;
+        this.maxLevel = Integer.numberOfTrailingZeros(atlasSizePx / minTileSizePx);
+        this.freeByLevel = new ArrayList<>(maxLevel + 1);
+        for (int level = 0; level <= maxLevel; level++) {
+            freeByLevel.add(new TreeSet<>());
+        }
+        freeByLevel.getFirst().add(0);
+    }
+
+    public int atlasSizePx() {
+        return atlasSizePx;
+    }
+
+    public int minTileSizePx() {
+        return minTileSizePx;
+    }
+
+    /**
+     * Allocates a tile for {@code id}, replacing any previous tile it held.
+     *
+     * @return the placement, or {@code null} when no free block of that size exists
+     */
+    public Placement allocate(String id, int tileSizePx, long tick) {
+        free(id);
+        int level = levelOf(tileSizePx);
+        int code = takeBlock(level);
+        if (code < 0) {
+            return null;
+        }
+        return commit(id, level, code, tick);
+    }
+
+    /**
+     * Claims the exact aligned tile at ({@code xPx}, {@code yPx}) for {@code id}. Used to
+     * keep prior placements stable across replans.
+     *
+     * @return the placement, or {@code null} when the tile is misaligned or overlaps another
+     */
+    public Placement reserve(String id, int xPx, int yPx, int tileSizePx, long tick) {
+        free(id);
+        int level = levelOf(tileSizePx);
+        int tile = sizeOfLevel(level);
+        if (xPx < 0 || yPx < 0 || xPx % tile != 0 || yPx % tile != 0 || xPx + tile > atlasSizePx || yPx + tile > atlasSizePx) {
+            return null;
+        }
+        int code = interleave(xPx / tile, yPx / tile);
+        int ancestorLevel = level;
+        while (ancestorLevel >= 0 && !freeByLevel.get(ancestorLevel).contains(code >>> (2 * (level - ancestorLevel)))) {
+            ancestorLevel--;
+        }
+        if (ancestorLevel < 0) {
+            return null;
+        }
+        freeByLevel.get(ancestorLevel).remove(code >>> (2 * (level - ancestorLevel)));
+        for (int l = ancestorLevel + 1; l <= level; l++) {
+            int child = code >>> (2 * (level - l));
+            int base = child & ~3;
+            for (int sibling = base; sibling < base + 4; sibling++) {
+                if (sibling != child) {
+                    freeByLevel.get(l).add(sibling);
+                }
+            }
+        }
+        return commit(id, level, code, tick);
+    }
+
+    /**
+     * Releases the tile held by {@code id}, coalescing free buddies.
+     *
+     * @return {@code true} when {@code id} held a tile
+     */
+    public boolean free(String id) {
+        Block block = blocks.remove(id);
+        if (block == null) {
+            return false;
+        }
+        lruOrder.remove(block);
+        usedPixels -= (long) block.sizePx() * block.sizePx();
+        releaseBlock(block.level(), block.code());
+        return true;
+    }
+
+    /**
+     * Marks {@code id} as used at {@code tick}, moving it to the back of the eviction order.
+     */
+    public void touch(String id, long tick) {
+        Block block = blocks.get(id);
+        if (block == null || block.lastUseTick() == tick) {
+            return;
+        }
+        lruOrder.remove(block);
+        Block updated = new Block(block.id(), block.level(), block.code(), block.sizePx(), block.xPx(), block.yPx(), tick);
+        blocks.put(id, updated);
+        lruOrder.add(updated);
+    }
+
+    /**
+     * Frees the least-recently-used tile whose id is not in {@code pinned}.
+     *
+     * @return the evicted id, or {@code null} when every tile is pinned
+     */
+    public String evictLeastRecentlyUsed(Set<String> pinned) {
+        for (Block block : lruOrder) {
+            if (pinned == null || !pinned.contains(block.id())) {
+                free(block.id());
+                return block.id();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Moves at most {@code maxMoves} tiles, largest first, into lower Z-order free blocks of
+     * the same size so free space coalesces toward the end of the atlas.
+     *
+     * @return applied moves; callers must re-render or copy the moved tiles
+     */
+    public List<Move> defragment(int maxMoves) {
+        List<Move> moves = new ArrayList<>();
+        if (maxMoves <= 0) {
+            return moves;
+        }
+        List<Block> candidates = new ArrayList<>(blocks.values());
+        candidates.sort(Comparator
+                .comparingInt(Block::level)
+                .thenComparing(Comparator.comparingLong(this::address).reversed()));
+        for (Block block : candidates) {
+            if (moves.size() >= maxMoves) {
+                break;
+            }
+            int target = takeBlock(block.level());
+            if (target < 0) {
+                continue;
+            }
+            if (addressOf(block.level(), target) >= address(block)) {
+                releaseBlock(block.level(), target);
+                continue;
+            }
+            free(block.id());
+            Placement moved = commit(block.id(), block.level(), target, block.lastUseTick());
+            moves.add(new Move(block.id(), block.xPx(), block.yPx(), moved.xPx(), moved.yPx(), block.sizePx()));
+        }
+        return moves;
+    }
+
+    public Placement placement(String id) {
+        Block block = blocks.get(id);
+        return block == null ? null : block.toPlacement();
+    }
+
+    public List<Placement> placements() {
+        List<Placement> placements = new ArrayList<>(blocks.size());
+        for (Block block : blocks.values()) {
+            placements.add(block.toPlacement());
+        }
+        return placements;
+    }
+
+    public int allocationCount() {
+        return blocks.size();
+    }
+
+    public long usedPixels() {
+        return usedPixels;
+    }
+
+    public float utilization() {
+        return (float) ((double) usedPixels / ((double) atlasSizePx * (double) atlasSizePx));
+    }
+
+    /**
+     * @return edge length of the largest free tile, or 0 when the atlas is full
+     */
+    public int largestFreeTileSizePx() {
+        for (int level = 0; level <= maxLevel; level++) {
+            if (!freeByLevel.get(level).isEmpty()) {
+                return sizeOfLevel(level);
+            }
+        }
+        return 0;
+    }
+
+    public int freeBlockCount() {
+        int count = 0;
+        for (TreeSet<Integer> free : freeByLevel) {
+            count += free.size();
+        }
+        return count;
+    }
+
+    private Placement commit(String id, int level, int code, long tick) {
+        int size = sizeOfLevel(level);
+        int x = deinterleave(code) * size;
+        int y = deinterleave(code >>> 1) * size;
+        Block block = new Block(id, level, code, size, x, y, tick);
+        blocks.put(id, block);
+        lruOrder.add(block);
+        usedPixels += (long) size * size;
+        return block.toPlacement();
+    }
+
+    private int takeBlock(int level) {
+        int source = level;
+        while (source >= 0 && freeByLevel.get(source).isEmpty()) {
+            source--;
+        }
+        if (source < 0) {
+            return -1;
+        }
+        int code = freeByLevel.get(source).pollFirst();
+        while (source < level) {
+            int child = code << 2;
+            TreeSet<Integer> childFree = freeByLevel.get(source + 1);
+            childFree.add(child + 1);
+            childFree.add(child + 2);
+            childFree.add(child + 3);
+            code = child;
+            source++;
+        }
+        return code;
+    }
+
+    private void releaseBlock(int level, int code) {
+        while (level > 0) {
+            TreeSet<Integer> free = freeByLevel.get(level);
+            int base = code & ~3;
+            boolean buddiesFree = true;
+            for (int sibling = base; sibling < base + 4 && buddiesFree; sibling++) {
+                buddiesFree = sibling == code || free.contains(sibling);
+            }
+            if (!buddiesFree) {
+                break;
+            }
+            for (int sibling = base; sibling < base + 4; sibling++) {
+                free.remove(sibling);
+            }
+            code >>>= 2;
+            level--;
+        }
+        freeByLevel.get(level).add(code);
+    }
+
+    private long address(Block block) {
+        return addressOf(block.level(), block.code());
+    }
+
+    private long addressOf(int level, int code) {
+        return (long) code << (2 * (maxLevel - level));
+    }
+
+    private int levelOf(int tileSizePx) {
+        int clamped = Math.max(minTileSizePx, Math.min(atlasSizePx, tileSizePx));
+        int p2 = Integer.highestOneBit(clamped);
+        if (p2 < clamped) {
+            p2 <<= 1;
+        }
+        return Integer.numberOfTrailingZeros(atlasSizePx / Math.min(atlasSizePx, p2));
+    }
+
+    private int sizeOfLevel(int level) {
+        return atlasSizePx >>> level;
+    }
+
+    private static int interleave(int x, int y) {
+        return spread(x) | (spread(y) << 1);
+    }
+
+    private static int spread(int value) {
+        int v = value & 0x0000FFFF;
+        v = (v | (v << 8)) & 0x00FF00FF;
+        v = (v | (v << 4)) & 0x0F0F0F0F;
+        v = (v | (v << 2)) & 0x33333333;
+        v = (v | (v << 1)) & 0x55555555;
+        return v;
+    }
+
+    private static int deinterleave(int code) {
+        int v = code & 0x55555555;
+        v = (v | (v >>> 1)) & 0x33333333;
+        v = (v | (v >>> 2)) & 0x0F0F0F0F;
+        v = (v | (v >>> 4)) & 0x00FF00FF;
+        v = (v | (v >>> 8)) & 0x0000FFFF;
+        return v;
+    }
+
+    public record Placement(String id, int xPx, int yPx, int tileSizePx, long lastUseTick) {
+    }
+
+    public record Move(String id, int fromXPx, int fromYPx, int toXPx, int toYPx, int tileSizePx) {
+    }
+
+    private record Block(String id, int level, int code, int sizePx, int xPx, int yPx, long lastUseTick) {
+        private Placement toPlacement() {
+            return new Placement(id, xPx, yPx, sizePx, lastUseTick);
+        }
+    }
+}
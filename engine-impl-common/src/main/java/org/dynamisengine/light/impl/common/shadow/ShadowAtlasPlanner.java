@@ -3,15 +3,21 @@ package org.dynamisengine.light.impl.common.shadow;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
- * Plans power-of-two shadow atlas placement with descending-size packing.
- * Optional prior allocations are used to keep stable placement and to evict
- * least-recently-visible entries when space pressure occurs.
+ * Plans power-of-two shadow atlas placement with descending-size packing on a
+ * {@link ShadowAtlasAllocator} quadtree. Optional prior allocations are used to keep
+ * stable placement and to evict least-recently-visible entries when space pressure occurs.
  */
 public final class ShadowAtlasPlanner {
+    private static final int MIN_ATLAS_SIZE_PX = 256;
+    private static final int MAX_ATLAS_SIZE_PX = 16384;
+    private static final int MIN_TILE_SIZE_PX = 64;
+
     private ShadowAtlasPlanner() {
     }
 
@@ -40,66 +46,63 @@ public final class ShadowAtlasPlanner {
                 .thenComparing(Request::id));
 
         Map<String, ExistingAllocation> retained = normalizeExisting(atlasSize, existingAllocations);
-        List<Allocation> placements = new ArrayList<>();
-        List<String> evicted = new ArrayList<>();
-        boolean[][] occupancy = new boolean[atlasSize][atlasSize];
+        ShadowAtlasAllocator allocator = new ShadowAtlasAllocator(atlasSize, MIN_TILE_SIZE_PX);
+        Set<String> requestedIds = new HashSet<>();
+        for (Request request : sortedRequests) {
+            requestedIds.add(request.id());
+        }
         for (ExistingAllocation existing : retained.values()) {
-            if (fitsAndFree(occupancy, existing.xPx(), existing.yPx(), existing.tileSizePx(), atlasSize)) {
-                mark(occupancy, existing.xPx(), existing.yPx(), existing.tileSizePx(), true);
-            }
+            allocator.reserve(existing.id(), existing.xPx(), existing.yPx(), existing.tileSizePx(), existing.lastVisibleFrame());
         }
 
-        // Keep existing placements for currently requested lights first.
+        // Keep existing placements for currently requested lights first; drop resized ones.
+        List<Allocation> placements = new ArrayList<>();
+        Set<String> placed = new HashSet<>();
         for (Request request : sortedRequests) {
-            ExistingAllocation prior = retained.get(request.id());
-            if (prior == null || prior.tileSizePx() != request.tileSizePx()) {
+            ShadowAtlasAllocator.Placement prior = allocator.placement(request.id());
+            if (prior == null) {
+                continue;
+            }
+            if (prior.tileSizePx() != request.tileSizePx()) {
+                allocator.free(request.id());
                 continue;
             }
+            allocator.touch(request.id(), request.lastVisibleFrame());
             placements.add(new Allocation(request.id(), prior.xPx(), prior.yPx(), prior.tileSizePx()));
+            placed.add(request.id());
         }
 
+        List<String> evicted = new ArrayList<>();
         for (Request request : sortedRequests) {
-            if (containsAllocation(placements, request.id())) {
+            if (placed.contains(request.id())) {
                 continue;
             }
-            Placement candidate = findPlacement(occupancy, atlasSize, request.tileSizePx());
-            if (candidate == null) {
-                // Evict least-recently-visible retained entries not currently requested.
-                List<ExistingAllocation> evictionCandidates = retained.values().stream()
-                        .filter(existing -> !containsRequest(sortedRequests, existing.id()))
-                        .sorted(Comparator
-                                .comparingInt(ExistingAllocation::lastVisibleFrame)
-                                .thenComparing(ExistingAllocation::id))
-                        .toList();
-                boolean freed = false;
-                for (ExistingAllocation stale : evictionCandidates) {
-                    if (withinBounds(stale.xPx(), stale.yPx(), stale.tileSizePx(), atlasSize)) {
-                        mark(occupancy, stale.xPx(), stale.yPx(), stale.tileSizePx(), false);
-                    }
-                    evicted.add(stale.id());
-                    candidate = findPlacement(occupancy, atlasSize, request.tileSizePx());
-                    if (candidate != null) {
-                        freed = true;
-                        break;
-                    }
-                }
-                if (!freed && candidate == null) {
-                    continue;
+            ShadowAtlasAllocator.Placement candidate = allocator.allocate(request.id(), request.tileSizePx(), request.lastVisibleFrame());
+            while (candidate == null) {
+                // Evict least-recently-visible retained entries not currently requested, one at a time.
+                String stale = allocator.evictLeastRecentlyUsed(requestedIds);
+                if (stale == null) {
+                    break;
                 }
+                evicted.add(stale);
+                candidate = allocator.allocate(request.id(), request.tileSizePx(), request.lastVisibleFrame());
+            }
+            if (candidate == null) {
+                continue;
             }
-            mark(occupancy, candidate.x(), candidate.y(), request.tileSizePx(), true);
-            placements.add(new Allocation(request.id(), candidate.x(), candidate.y(), request.tileSizePx()));
+            placements.add(new Allocation(request.id(), candidate.xPx(), candidate.yPx(), candidate.tileSizePx()));
+            placed.add(request.id());
         }
 
-        int usedPixels = 0;
+        long usedPixels = 0L;
         for (Allocation allocation : placements) {
-            usedPixels += allocation.tileSizePx() * allocation.tileSizePx();
+            usedPixels += (long) allocation.tileSizePx() * allocation.tileSizePx();
         }
-        float utilization = Math.min(1.0f, (float) usedPixels / (float) (atlasSize * atlasSize));
+        float utilization = (float) Math.min(1.0, (double) usedPixels / ((double) atlasSize * (double) atlasSize));
         placements.sort(Comparator
                 .comparingInt(Allocation::tileSizePx).reversed()
                 .thenComparing(Allocation::id));
-        return new PlanResult(atlasSize, placements, evicted.stream().distinct().toList(), utilization);
+        return new PlanResult(atlasSize, placements, List.copyOf(evicted), utilization);
     }
 
     private static Map<String, ExistingAllocation> normalizeExisting(
@@ -122,77 +125,22 @@ public final class ShadowAtlasPlanner {
         return normalized;
     }
 
-    private static Placement findPlacement(boolean[][] occupancy, int atlasSize, int tileSize) {
-        for (int y = 0; y <= atlasSize - tileSize; y += tileSize) {
-            for (int x = 0; x <= atlasSize - tileSize; x += tileSize) {
-                if (fitsAndFree(occupancy, x, y, tileSize, atlasSize)) {
-                    return new Placement(x, y);
-                }
-            }
-        }
-        return null;
-    }
-
-    private static boolean fitsAndFree(boolean[][] occupancy, int x, int y, int size, int atlasSize) {
-        if (!withinBounds(x, y, size, atlasSize)) {
-            return false;
-        }
-        for (int row = y; row < y + size; row++) {
-            for (int col = x; col < x + size; col++) {
-                if (occupancy[row][col]) {
-                    return false;
-                }
-            }
-        }
-        return true;
-    }
-
-    private static boolean withinBounds(int x, int y, int size, int atlasSize) {
-        return !(x < 0 || y < 0 || size <= 0 || x + size > atlasSize || y + size > atlasSize);
-    }
-
-    private static void mark(boolean[][] occupancy, int x, int y, int size, boolean value) {
-        for (int row = y; row < y + size; row++) {
-            for (int col = x; col < x + size; col++) {
-                occupancy[row][col] = value;
-            }
-        }
-    }
-
-    private static boolean containsAllocation(List<Allocation> placements, String id) {
-        for (Allocation allocation : placements) {
-            if (allocation.id().equals(id)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private static boolean containsRequest(List<Request> requests, String id) {
-        for (Request request : requests) {
-            if (request.id().equals(id)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private static int clampPowerOfTwo(int value) {
-        int clamped = Math.max(256, Math.min(4096, value));
+        int clamped = Math.max(MIN_ATLAS_SIZE_PX, Math.min(MAX_ATLAS_SIZE_PX, value));
         int p2 = 1;
-        while (p2 < clamped && p2 < 4096) {
+        while (p2 < clamped && p2 < MAX_ATLAS_SIZE_PX) {
             p2 <<= 1;
         }
-        return Math.max(256, Math.min(4096, p2));
+        return Math.max(MIN_ATLAS_SIZE_PX, Math.min(MAX_ATLAS_SIZE_PX, p2));
     }
 
     private static int clampTileSize(int value, int atlasSize) {
-        int clamped = Math.max(64, Math.min(atlasSize, value));
+        int clamped = Math.max(MIN_TILE_SIZE_PX, Math.min(atlasSize, value));
         int p2 = 1;
         while (p2 < clamped && p2 < atlasSize) {
             p2 <<= 1;
         }
-        return Math.max(64, Math.min(atlasSize, p2));
+        return Math.max(MIN_TILE_SIZE_PX, Math.min(atlasSize, p2));
     }
 
     public record Request(String id, int tileSizePx, int lastVisibleFrame) {
@@ -211,7 +159,4 @@ public final class ShadowAtlasPlanner {
             float utilization
     ) {
     }
-
-    private record Placement(int x, int y) {
-    }
 }
@@ -0,0 +1,484 @@
+package org.dynamisengine.light.impl.common.texture;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * CPU block-compression encoders for BC1, BC3, BC5 and BC7.
+ *
+ * Inputs are tightly packed RGBA8 images; partial edge blocks replicate the last row/column.
+ * Color endpoints start on the principal axis of the block and are refined with one
+ * least-squares pass. BC7 uses mode 6 (single subset, RGBA 7.7.7.7 + p-bit, 4-bit indices),
+ * which covers opaque and alpha content with one code path. Block rows encode in parallel.
+ */
+public final class BcBlockEncoder {
+    private static final int[] BC7_WEIGHTS_4 = {0, 4, 9, 13, 17, 21, 26, 30, 34, 38, 43, 47, 51, 55, 60, 64};
+
+    private BcBlockEncoder() {
+    }
+
+    public static int blockCount(int width, int height) {
+        return ((width + 3) / 4) * ((height + 3) / 4);
+    }
+
+    /** Opaque BC1: 8 bytes per block, 4-color mode. */
+    public static byte[] encodeBc1(byte[] rgba, int width, int height) {
+        return encode(rgba, width, height, 8, (block, out, offset) -> encodeColorBlock(block, out, offset));
+    }
+
+    /** BC3: BC4-style alpha block followed by a BC1 color block, 16 bytes per block. */
+    public static byte[] encodeBc3(byte[] rgba, int width, int height) {
+        return encode(rgba, width, height, 16, (block, out, offset) -> {
+            encodeSingleChannelBlock(block, 3, out, offset);
+            encodeColorBlock(block, out, offset + 8);
+        });
+    }
+
+    /** BC5: independent red and green BC4 blocks, 16 bytes per block. */
+    public static byte[] encodeBc5(byte[] rgba, int width, int height) {
+        return encode(rgba, width, height, 16, (block, out, offset) -> {
+            encodeSingleChannelBlock(block, 0, out, offset);
+            encodeSingleChannelBlock(block, 1, out, offset + 8);
+        });
+    }
+
+    /** BC7 mode 6, 16 bytes per block. */
+    public static byte[] encodeBc7(byte[] rgba, int width, int height) {
+        return encode(rgba, width, height, 16, BcBlockEncoder::encodeBc7Mode6Block);
+    }
+
+    @FunctionalInterface
+    private interface BlockWriter {
+        void write(int[] block, byte[] out, int offset);
+    }
+
+    private static byte[] encode(byte[] rgba, int width, int height, int blockBytes, BlockWriter writer) {
+        if (width <= 0 || height <= 0 || rgba == null || rgba.length < width * height * 4) {
+            throw new IllegalArgumentException("block encoder source must be a non-empty RGBA8 image");
+        }
+        int blocksX = (width + 3) / 4;
+        int blocksY = (height + 3) / 4;
+        byte[] out = new byte[blocksX * blocksY * blockBytes];
+        IntStream.range(0, blocksY).parallel().forEach(by -> {
+            int[] block = new int[64];
+            for (int bx = 0; bx < blocksX; bx++) {
+                fetchBlock(rgba, width, height, bx * 4, by * 4, block);
+                writer.write(block, out, (by * blocksX + bx) * blockBytes);
+            }
+        });
+        return out;
+    }
+
+    private static void fetchBlock(byte[] rgba, int width, int height, int x0, int y0, int[] block) {
+        for (int py = 0; py < 4; py++) {
+            int y = Math.min(height - 1, y0 + py);
+            for (int px = 0; px < 4; px++) {
+                int x = Math.min(width - 1, x0 + px);
+                int src = (y * width + x) * 4;
+                int dst = (py * 4 + px) * 4;
+                block[dst] = rgba[src] & 0xFF;
+                block[dst + 1] = rgba[src + 1] & 0xFF;
+                block[dst + 2] = rgba[src + 2] & 0xFF;
+                block[dst + 3] = rgba[src + 3] & 0xFF;
+            }
+        }
+    }
+
+    // ---- BC1 color ---------------------------------------------------------------------
+
+    private static void encodeColorBlock(int[] block, byte[] out, int offset) {
+        float[] lo = new float[3];
+        float[] hi = new float[3];
+        principalAxisEndpoints(block, 3, lo, hi);
+        int[] indices = new int[16];
+        int c0 = packRgb565(hi);
+        int c1 = packRgb565(lo);
+        long error = selectColorIndices(block, c0, c1, indices);
+        if (refineColorEndpoints(block, indices, hi, lo)) {
+            int r0 = packRgb565(hi);
+            int r1 = packRgb565(lo);
+            int[] refined = new int[16];
+            if (selectColorIndices(block, r0, r1, refined) < error) {
+                c0 = r0;
+                c1 = r1;
+                System.arraycopy(refined, 0, indices, 0, 16);
+            }
+        }
+        if (c0 < c1) {
+            int swap = c0;
+            c0 = c1;
+            c1 = swap;
+            for (int i = 0; i < 16; i++) {
+                indices[i] = indices[i] ^ 1;
+            }
+        }
+        if (c0 == c1) {
+            // Equal endpoints select 3-color mode; index 0 still decodes to the endpoint.
+            Arrays.fill(indices, 0);
+        }
+        int bits = 0;
+        for (int i = 0; i < 16; i++) {
+            bits |= indices[i] << (2 * i);
+        }
+        putShort(out, offset, c0);
+        putShort(out, offset + 2, c1);
+        putInt(out, offset + 4, bits);
+    }
+
+    /**
+     * Chooses the nearest of the four palette colors for every texel.
+     *
+     * @return summed squared error
+     */
+    private static long selectColorIndices(int[] block, int c0, int c1, int[] indices) {
+        int[] palette = new int[12];
+        unpackRgb565(c0, palette, 0);
+        unpackRgb565(c1, palette, 3);
+        for (int c = 0; c < 3; c++) {
+            palette[6 + c] = (2 * palette[c] + palette[3 + c]) / 3;
+            palette[9 + c] = (palette[c] + 2 * palette[3 + c]) / 3;
+        }
+        long error = 0L;
+        for (int i = 0; i < 16; i++) {
+            int best = 0;
+            int bestError = Integer.MAX_VALUE;
+            for (int p = 0; p < 4; p++) {
+                int dr = block[i * 4] - palette[p * 3];
+                int dg = block[i * 4 + 1] - palette[p * 3 + 1];
+                int db = block[i * 4 + 2] - palette[p * 3 + 2];
+                int e = dr * dr + dg * dg + db * db;
+                if (e < bestError) {
+                    bestError = e;
+                    best = p;
+                }
+            }
+            // Palette order is c0, c1, 2/3 c0 + 1/3 c1, 1/3 c0 + 2/3 c1: matches BC1 index values.
+            indices[i] = best;
+            error += bestError;
+        }
+        return error;
+    }
+
+    private static boolean refineColorEndpoints(int[] block, int[] indices, float[] e0, float[] e1) {
+        float[] weights = {1f, 0f, 2f / 3f, 1f / 3f};
+        return leastSquares(block, 3, indices, weights, e0, e1);
+    }
+
+    private static int packRgb565(float[] rgb) {
+        int r = clamp(Math.round(rgb[0] * 31f / 255f), 0, 31);
+        int g = clamp(Math.round(rgb[1] * 63f / 255f), 0, 63);
+        int b = clamp(Math.round(rgb[2] * 31f / 255f), 0, 31);
+        return (r << 11) | (g << 5) | b;
+    }
+
+    private static void unpackRgb565(int c, int[] out, int offset) {
+        int r = (c >>> 11) & 31;
+        int g = (c >>> 5) & 63;
+        int b = c & 31;
+        out[offset] = (r << 3) | (r >>> 2);
+        out[offset + 1] = (g << 2) | (g >>> 4);
+        out[offset + 2] = (b << 3) | (b >>> 2);
+    }
+
+    // ---- BC4 single channel ------------------------------------------------------------
+
+    private static void encodeSingleChannelBlock(int[] block, int channel, byte[] out, int offset) {
+        int min = 255;
+        int max = 0;
+        for (int i = 0; i < 16; i++) {
+            int v = block[i * 4 + channel];
+            min = Math.min(min, v);
+            max = Math.max(max, v);
+        }
+        out[offset] = (byte) max;
+        out[offset + 1] = (byte) min;
+        long bits = 0L;
+        if (max > min) {
+            int[] palette = new int[8];
+            palette[0] = max;
+            palette[1] = min;
+            for (int i = 1; i < 7; i++) {
+                palette[i + 1] = ((7 - i) * max + i * min + 3) / 7;
+            }
+            for (int i = 0; i < 16; i++) {
+                int v = block[i * 4 + channel];
+                int best = 0;
+                int bestError = Integer.MAX_VALUE;
+                for (int p = 0; p < 8; p++) {
+                    int e = Math.abs(v - palette[p]);
+                    if (e < bestError) {
+                        bestError = e;
+                        best = p;
+                    }
+                }
+                bits |= (long) best << (3 * i);
+            }
+        }
+        for (int i = 0; i < 6; i++) {
+            out[offset + 2 + i] = (byte) (bits >>> (8 * i));
+        }
+    }
+
+    // ---- BC7 mode 6 --------------------------------------------------------------------
+
+    private static void encodeBc7Mode6Block(int[] block, byte[] out, int offset) {
+        float[] lo = new float[4];
+        float[] hi = new float[4];
+        principalAxisEndpoints(block, 4, lo, hi);
+        int[] q0 = new int[5];
+        int[] q1 = new int[5];
+        int[] indices = new int[16];
+        quantizeMode6(lo, q0);
+        quantizeMode6(hi, q1);
+        long error = selectMode6Indices(block, q0, q1, indices);
+
+        float[] w = new float[16];
+        for (int i = 0; i < 16; i++) {
+            w[i] = 1f - BC7_WEIGHTS_4[i] / 64f;
+        }
+        if (leastSquares(block, 4, indices, w, lo, hi)) {
+            int[] r0 = new int[5];
+            int[] r1 = new int[5];
+            int[] refined = new int[16];
+            quantizeMode6(lo, r0);
+            quantizeMode6(hi, r1);
+            long refinedError = selectMode6Indices(block, r0, r1, refined);
+            if (refinedError < error) {
+                q0 = r0;
+                q1 = r1;
+                indices = refined;
+            }
+        }
+        if (indices[0] >= 8) {
+            int[] swap = q0;
+            q0 = q1;
+            q1 = swap;
+            for (int i = 0; i < 16; i++) {
+                indices[i] = 15 - indices[i];
+            }
+        }
+
+        BitWriter bits = new BitWriter();
+        bits.write(1 << 6, 7);
+        for (int c = 0; c < 4; c++) {
+            bits.write(q0[c], 7);
+            bits.write(q1[c], 7);
+        }
+        bits.write(q0[4], 1);
+        bits.write(q1[4], 1);
+        bits.write(indices[0], 3);
+        for (int i = 1; i < 16; i++) {
+            bits.write(indices[i], 4);
+        }
+        putLong(out, offset, bits.lo);
+        putLong(out, offset + 8, bits.hi);
+    }
+
+    /**
+     * Quantizes an RGBA endpoint to 7 bits per channel plus a shared p-bit, keeping whichever
+     * p-bit reconstructs the endpoint more closely. Output is {r7, g7, b7, a7, p}.
+     */
+    private static void quantizeMode6(float[] rgba, int[] out) {
+        float bestError = Float.MAX_VALUE;
+        for (int p = 0; p < 2; p++) {
+            float error = 0f;
+            int[] candidate = new int[5];
+            for (int c = 0; c < 4; c++) {
+                int q = clamp(Math.round((rgba[c] - p) / 2f), 0, 127);
+                candidate[c] = q;
+                float d = rgba[c] - ((q << 1) | p);
+                error += d * d;
+            }
+            candidate[4] = p;
+            if (error < bestError) {
+                bestError = error;
+                System.arraycopy(candidate, 0, out, 0, 5);
+            }
+        }
+    }
+
+    private static long selectMode6Indices(int[] block, int[] q0, int[] q1, int[] indices) {
+        int[] palette = new int[64];
+        for (int c = 0; c < 4; c++) {
+            int e0 = (q0[c] << 1) | q0[4];
+            int e1 = (q1[c] << 1) | q1[4];
+            for (int i = 0; i < 16; i++) {
+                palette[i * 4 + c] = ((64 - BC7_WEIGHTS_4[i]) * e0 + BC7_WEIGHTS_4[i] * e1 + 32) >> 6;
+            }
+        }
+        long error = 0L;
+        for (int t = 0; t < 16; t++) {
+            int best = 0;
+            int bestError = Integer.MAX_VALUE;
+            for (int i = 0; i < 16; i++) {
+                int e = 0;
+                for (int c = 0; c < 4; c++) {
+                    int d = block[t * 4 + c] - palette[i * 4 + c];
+                    e += d * d;
+                }
+                if (e < bestError) {
+                    bestError = e;
+                    best = i;
+                }
+            }
+            indices[t] = best;
+            error += bestError;
+        }
+        return error;
+    }
+
+    // ---- shared endpoint fitting -------------------------------------------------------
+
+    /**
+     * Projects the block onto its principal axis and returns the extreme projections as the
+     * low/high endpoints, inset slightly to reduce error on the interpolated points.
+     */
+    private static void principalAxisEndpoints(int[] block, int channels, float[] lo, float[] hi) {
+        float[] mean = new float[channels];
+        for (int i = 0; i < 16; i++) {
+            for (int c = 0; c < channels; c++) {
+                mean[c] += block[i * 4 + c];
+            }
+        }
+        for (int c = 0; c < channels; c++) {
+            mean[c] /= 16f;
+        }
+        float[] cov = new float[channels * channels];
+        for (int i = 0; i < 16; i++) {
+            for (int a = 0; a < channels; a++) {
+                float da = block[i * 4 + a] - mean[a];
+                for (int b = a; b < channels; b++) {
+                    cov[a * channels + b] += da * (block[i * 4 + b] - mean[b]);
+                }
+            }
+        }
+        float[] axis = new float[channels];
+        for (int c = 0; c < channels; c++) {
+            axis[c] = 1f;
+        }
+        for (int iteration = 0; iteration < 8; iteration++) {
+            float[] next = new float[channels];
+            for (int a = 0; a < channels; a++) {
+                for (int b = 0; b < channels; b++) {
+                    float v = a <= b ? cov[a * channels + b] : cov[b * channels + a];
+                    next[a] += v * axis[b];
+                }
+            }
+            float length = 0f;
+            for (int c = 0; c < channels; c++) {
+                length = Math.max(length, Math.abs(next[c]));
+            }
+            if (length < 1.0e-6f) {
+                break;
+            }
+            for (int c = 0; c < channels; c++) {
+                axis[c] = next[c] / length;
+            }
+        }
+        float norm = 0f;
+        for (int c = 0; c < channels; c++) {
+            norm += axis[c] * axis[c];
+        }
+        if (norm < 1.0e-12f) {
+            System.arraycopy(mean, 0, lo, 0, channels);
+            System.arraycopy(mean, 0, hi, 0, channels);
+            return;
+        }
+        float minT = Float.MAX_VALUE;
+        float maxT = -Float.MAX_VALUE;
+        for (int i = 0; i < 16; i++) {
+            float t = 0f;
+            for (int c = 0; c < channels; c++) {
+                t += (block[i * 4 + c] - mean[c]) * axis[c];
+            }
+            minT = Math.min(minT, t);
+            maxT = Math.max(maxT, t);
+        }
+        float inset = (maxT - minT) / 32f;
+        minT += inset;
+        maxT -= inset;
+        for (int c = 0; c < channels; c++) {
+            lo[c] = clampf(mean[c] + axis[c] * minT / norm);
+            hi[c] = clampf(mean[c] + axis[c] * maxT / norm);
+        }
+    }
+
+    /**
+     * Solves for endpoints minimizing squared error given fixed index assignments, where
+     * {@code weights[index]} is the contribution of endpoint {@code e0}.
+     *
+     * @return {@code false} when the system is singular (all texels share one weight)
+     */
+    private static boolean leastSquares(int[] block, int channels, int[] indices, float[] weights, float[] e0, float[] e1) {
+        float aa = 0f;
+        float bb = 0f;
+        float ab = 0f;
+        float[] ax = new float[channels];
+        float[] bx = new float[channels];
+        for (int i = 0; i < 16; i++) {
+            float a = weights[indices[i]];
+            float b = 1f - a;
+            aa += a * a;
+            bb += b * b;
+            ab += a * b;
+            for (int c = 0; c < channels; c++) {
+                float x = block[i * 4 + c];
+                ax[c] += a * x;
+                bx[c] += b * x;
+            }
+        }
+        float det = aa * bb - ab * ab;
+        if (Math.abs(det) < 1.0e-6f) {
+            return false;
+        }
+        float inv = 1f / det;
+        for (int c = 0; c < channels; c++) {
+            e0[c] = clampf((ax[c] * bb - bx[c] * ab) * inv);
+            e1[c] = clampf((bx[c] * aa - ax[c] * ab) * inv);
+        }
+        return true;
+    }
+
+    private static final class BitWriter {
+        private long lo;
+        private long hi;
+        private int position;
+
+        void write(int value, int count) {
+            for (int i = 0; i < count; i++) {
+                long bit = (value >>> i) & 1L;
+                if (position < 64) {
+                    lo |= bit << position;
+                } else {
+                    hi |= bit << (position - 64);
+                }
+                position++;
+            }
+        }
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static float clampf(float value) {
+        return Math.max(0f, Math.min(255f, value));
+    }
+
+    private static void putShort(byte[] out, int offset, int value) {
+        out[offset] = (byte) value;
+        out[offset + 1] = (byte) (value >>> 8);
+    }
+
+    private static void putInt(byte[] out, int offset, int value) {
+        for (int i = 0; i < 4; i++) {
+            out[offset + i] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    private static void putLong(byte[] out, int offset, long value) {
+        for (int i = 0; i < 8; i++) {
+            out[offset + i] = (byte) (value >>> (8 * i));
+        }
+    }
+}
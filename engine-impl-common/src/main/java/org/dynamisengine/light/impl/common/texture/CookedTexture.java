@@ -0,0 +1,50 @@
+package org.dynamisengine.light.impl.common.texture;
+
+import java.util.List;
+
+/**
+ * GPU-ready texture payload: every mip level, already in its final upload format.
+ *
+ * @param format storage format of every level
+ * @param srgb whether color channels are sRGB-encoded
+ * @param levels mip levels, largest first
+ */
+public record CookedTexture(TextureCooker.Format format, boolean srgb, List<Level> levels) {
+    public CookedTexture {
+        if (format == null || levels == null || levels.isEmpty()) {
+            throw new IllegalArgumentException("cooked texture requires a format and at least one level");
+        }
+        levels = List.copyOf(levels);
+    }
+
+    public record Level(int width, int height, byte[] data) {
+    }
+
+    public int width() {
+        return levels.getFirst().width();
+    }
+
+    public int height() {
+        return levels.getFirst().height();
+    }
+
+    public int levelCount() {
+        return levels.size();
+    }
+
+    public int vkFormat() {
+        return format.vkFormat(srgb);
+    }
+
+    public int glInternalFormat() {
+        return format.glInternalFormat(srgb);
+    }
+
+    public long totalBytes() {
+        long total = 0L;
+        for (Level level : levels) {
+            total += level.data().length;
+        }
+        return total;
+    }
+}
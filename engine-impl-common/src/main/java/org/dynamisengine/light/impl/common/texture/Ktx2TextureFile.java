@@ -0,0 +1,257 @@
+package org.dynamisengine.light.impl.common.texture;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reader/writer for the KTX2 files produced by {@link TextureCooker}: one 2D image, no
+ * supercompression, every mip level stored. Files written here also decode through
+ * {@link KtxDecodeUtil} when their format is RGBA8.
+ */
+public final class Ktx2TextureFile {
+    private static final byte[] IDENTIFIER = new byte[]{
+            (byte) 0xAB, 0x4B, 0x54, 0x58, 0x20, 0x32, 0x30, (byte) 0xBB, 0x0D, 0x0A, 0x1A, 0x0A
+    };
+    private static final int HEADER_BYTES = 80;
+    private static final int LEVEL_INDEX_ENTRY_BYTES = 24;
+    private static final int KHR_DF_PRIMARIES_BT709 = 1;
+    private static final int KHR_DF_TRANSFER_LINEAR = 1;
+    private static final int KHR_DF_TRANSFER_SRGB = 2;
+    private static final int KHR_DF_SAMPLE_LINEAR = 0x10;
+    private static final int KHR_DF_CHANNEL_ALPHA = 15;
+
+    public record Contents(CookedTexture texture, Map<String, String> keyValues) {
+    }
+
+    private Ktx2TextureFile() {
+    }
+
+    /**
+     * Writes atomically: data goes to a temporary sibling first and is then moved into place.
+     */
+    public static void write(Path target, CookedTexture texture, Map<String, String> keyValues) throws IOException {
+        Path dir = target.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, encode(texture, keyValues));
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * @return the parsed file, or {@code null} when it is missing or not a file this class writes
+     */
+    public static Contents read(Path source) {
+        if (source == null || !Files.isRegularFile(source)) {
+            return null;
+        }
+        try {
+            return decode(Files.readAllBytes(source));
+        } catch (IOException | RuntimeException ignored) {
+            return null;
+        }
+    }
+
+    static byte[] encode(CookedTexture texture, Map<String, String> keyValues) {
+        TextureCooker.Format format = texture.format();
+        int levelCount = texture.levelCount();
+        byte[] dfd = dataFormatDescriptor(format, texture.srgb());
+        byte[] kvd = keyValueData(keyValues == null ? Map.of() : keyValues);
+        int dfdOffset = HEADER_BYTES + LEVEL_INDEX_ENTRY_BYTES * levelCount;
+        int kvdOffset = dfdOffset + dfd.length;
+        // Levels align to lcm(block bytes, 4); every supported block size is already a multiple of 4.
+        int alignment = format.blockBytes();
+        long[] levelOffsets = new long[levelCount];
+        long cursor = kvdOffset + kvd.length;
+        for (int level = levelCount - 1; level >= 0; level--) {
+            cursor = align(cursor, alignment);
+            levelOffsets[level] = cursor;
+            cursor += texture.levels().get(level).data().length;
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(Math.toIntExact(cursor)).order(ByteOrder.LITTLE_ENDIAN);
+        out.put(IDENTIFIER);
+        out.putInt(texture.vkFormat());
+        out.putInt(1);
+        out.putInt(texture.width());
+        out.putInt(texture.height());
+        out.putInt(0);
+        out.putInt(0);
+        out.putInt(1);
+        out.putInt(levelCount);
+        out.putInt(0);
+        out.putInt(dfdOffset);
+        out.putInt(dfd.length);
+        out.putInt(kvd.length == 0 ? 0 : kvdOffset);
+        out.putInt(kvd.length);
+        out.putLong(0L);
+        out.putLong(0L);
+        for (int level = 0; level < levelCount; level++) {
+            long length = texture.levels().get(level).data().length;
+            out.putLong(levelOffsets[level]);
+            out.putLong(length);
+            out.putLong(length);
+        }
+        out.put(dfd);
+        out.put(kvd);
+        for (int level = 0; level < levelCount; level++) {
+            out.position((int) levelOffsets[level]);
+            out.put(texture.levels().get(level).data());
+        }
+        return out.array();
+    }
+
+    static Contents decode(byte[] bytes) {
+        if (bytes.length < HEADER_BYTES || !Arrays.equals(bytes, 0, IDENTIFIER.length, IDENTIFIER, 0, IDENTIFIER.length)) {
+            return null;
+        }
+        ByteBuffer bb = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        int vkFormat = bb.getInt(12);
+        int width = bb.getInt(20);
+        int height = bb.getInt(24);
+        int depth = bb.getInt(28);
+        int layers = bb.getInt(32);
+        int faces = bb.getInt(36);
+        int levelCount = bb.getInt(40);
+        int supercompression = bb.getInt(44);
+        int kvdOffset = bb.getInt(56);
+        int kvdLength = bb.getInt(60);
+        TextureCooker.Format format = TextureCooker.Format.fromVkFormat(vkFormat);
+        if (format == null || width <= 0 || height <= 0 || depth > 1 || layers > 1 || faces != 1
+                || levelCount <= 0 || supercompression != 0
+                || HEADER_BYTES + (long) LEVEL_INDEX_ENTRY_BYTES * levelCount > bytes.length) {
+            return null;
+        }
+        List<CookedTexture.Level> levels = new ArrayList<>(levelCount);
+        for (int level = 0; level < levelCount; level++) {
+            int entry = HEADER_BYTES + level * LEVEL_INDEX_ENTRY_BYTES;
+            long offset = bb.getLong(entry);
+            long length = bb.getLong(entry + 8);
+            int levelWidth = Math.max(1, width >> level);
+            int levelHeight = Math.max(1, height >> level);
+            if (length != format.levelBytes(levelWidth, levelHeight) || offset < 0 || offset + length > bytes.length) {
+                return null;
+            }
+            levels.add(new CookedTexture.Level(
+                    levelWidth,
+                    levelHeight,
+                    Arrays.copyOfRange(bytes, (int) offset, (int) (offset + length))
+            ));
+        }
+        Map<String, String> keyValues = parseKeyValueData(bytes, kvdOffset, kvdLength);
+        if (keyValues == null) {
+            return null;
+        }
+        return new Contents(new CookedTexture(format, TextureCooker.Format.isSrgbVkFormat(vkFormat), levels), keyValues);
+    }
+
+    private static byte[] dataFormatDescriptor(TextureCooker.Format format, boolean srgb) {
+        int[][] samples = switch (format) {
+            // {bitOffset, bitLength, channel/qualifiers, upper}
+            case RGBA8 -> new int[][]{
+                    {0, 8, 0, 255},
+                    {8, 8, 1, 255},
+                    {16, 8, 2, 255},
+                    {24, 8, KHR_DF_CHANNEL_ALPHA | (srgb ? KHR_DF_SAMPLE_LINEAR : 0), 255}
+            };
+            case BC1 -> new int[][]{{0, 64, 0, -1}};
+            case BC3 -> new int[][]{{0, 64, KHR_DF_CHANNEL_ALPHA, -1}, {64, 64, 0, -1}};
+            case BC5 -> new int[][]{{0, 64, 0, -1}, {64, 64, 1, -1}};
+            case BC7 -> new int[][]{{0, 128, 0, -1}};
+        };
+        int blockSize = 24 + 16 * samples.length;
+        ByteBuffer out = ByteBuffer.allocate(4 + blockSize).order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(4 + blockSize);
+        out.putInt(0);
+        out.putShort((short) 2);
+        out.putShort((short) blockSize);
+        out.put((byte) format.dfdColorModel());
+        out.put((byte) KHR_DF_PRIMARIES_BT709);
+        out.put((byte) (srgb ? KHR_DF_TRANSFER_SRGB : KHR_DF_TRANSFER_LINEAR));
+        out.put((byte) 0);
+        int blockDimension = format.compressed() ? 3 : 0;
+        out.put((byte) blockDimension).put((byte) blockDimension).put((byte) 0).put((byte) 0);
+        out.put((byte) format.blockBytes());
+        out.put(new byte[7]);
+        for (int[] sample : samples) {
+            out.putShort((short) sample[0]);
+            out.put((byte) (sample[1] - 1));
+            out.put((byte) sample[2]);
+            out.putInt(0);
+            out.putInt(0);
+            out.putInt(sample[3]);
+        }
+        return out.array();
+    }
+
+    private static byte[] keyValueData(Map<String, String> keyValues) {
+        List<byte[]> entries = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<String, String> entry : new TreeMap<>(keyValues).entrySet()) {
+            byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            byte[] value = entry.getValue().getBytes(StandardCharsets.UTF_8);
+            int length = key.length + 1 + value.length + 1;
+            ByteBuffer record = ByteBuffer.allocate((int) align(4 + length, 4)).order(ByteOrder.LITTLE_ENDIAN);
+            record.putInt(length).put(key).put((byte) 0).put(value).put((byte) 0);
+            entries.add(record.array());
+            total += record.capacity();
+        }
+        ByteBuffer out = ByteBuffer.allocate(total);
+        entries.forEach(out::put);
+        return out.array();
+    }
+
+    private static Map<String, String> parseKeyValueData(byte[] bytes, int offset, int length) {
+        Map<String, String> keyValues = new LinkedHashMap<>();
+        if (length == 0) {
+            return keyValues;
+        }
+        if (offset < 0 || length < 0 || (long) offset + length > bytes.length) {
+            return null;
+        }
+        ByteBuffer bb = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        int cursor = offset;
+        int end = offset + length;
+        while (cursor + 4 <= end) {
+            int entryLength = bb.getInt(cursor);
+            int start = cursor + 4;
+            if (entryLength <= 0 || start + entryLength > end) {
+                return null;
+            }
+            int keyEnd = start;
+            while (keyEnd < start + entryLength && bytes[keyEnd] != 0) {
+                keyEnd++;
+            }
+            int valueEnd = start + entryLength;
+            if (valueEnd > keyEnd + 1 && bytes[valueEnd - 1] == 0) {
+                valueEnd--;
+            }
+            String key = new String(bytes, start, keyEnd - start, StandardCharsets.UTF_8);
+            String value = keyEnd + 1 <= valueEnd
+                    ? new String(bytes, keyEnd + 1, valueEnd - keyEnd - 1, StandardCharsets.UTF_8)
+                    : "";
+            keyValues.put(key, value);
+            cursor = (int) align(start + entryLength, 4);
+        }
+        return keyValues;
+    }
+
+    private static long align(long value, int alignment) {
+        long remainder = value % alignment;
+        return remainder == 0 ? value : value + alignment - remainder;
+    }
+}
@@ -0,0 +1,272 @@
+package org.dynamisengine.light.impl.common.texture;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Offline-style texture cooking: decode once, build a gamma-correct mip chain, block-compress
+ * every level and cache the result as a KTX2 file in a per-user cache directory
+ * ({@code ~/.dynamis/asset-cache/texture} by default, {@code -Ddle.texture.cook.dir} to override),
+ * never beside the source assets. Cache files are named
+ * {@code <source name>-<sha256(absolute source path)>.<variant>.ktx2} so equally named sources in
+ * different folders do not collide.
+ *
+ * The cached file records the source size and modification time plus the cook variant, so an
+ * edited source or a changed format/filter re-cooks on the next load. Writing the cache is
+ * best-effort; an unwritable cache directory still gets the in-memory result.
+ *
+ * Toggles: {@code -Ddle.texture.cook.enabled=false} disables cooking,
+ * {@code -Ddle.texture.cook.dir=<path>} moves the cache,
+ * {@code -Ddle.texture.cook.format=rgba8|bc1|bc3|bc5|bc7} overrides the backend's format choice and
+ * {@code -Ddle.texture.cook.filter=box|kaiser} selects the mip filter (default kaiser).
+ */
+public final class TextureCooker {
+    static final String COOK_VERSION = "1";
+    static final String KEY_SOURCE = "dle.source";
+    static final String KEY_VARIANT = "dle.cook";
+    private static final String KEY_ORIENTATION = "KTXorientation";
+    private static final String KEY_WRITER = "KTXwriter";
+
+    public enum Format {
+        RGBA8(4, false, 1, 37, 43, 0x8058, 0x8C43),
+        BC1(8, true, 128, 131, 132, 0x83F0, 0x8C4C),
+        BC3(16, true, 130, 137, 138, 0x83F3, 0x8C4F),
+        BC5(16, true, 132, 141, 141, 0x8DBD, 0x8DBD),
+        BC7(16, true, 134, 145, 146, 0x8E8C, 0x8E8D);
+
+        private final int blockBytes;
+        private final boolean compressed;
+        private final int dfdColorModel;
+        private final int vkUnorm;
+        private final int vkSrgb;
+        private final int glUnorm;
+        private final int glSrgb;
+
+        Format(int blockBytes, boolean compressed, int dfdColorModel, int vkUnorm, int vkSrgb, int glUnorm, int glSrgb) {
+            this.blockBytes = blockBytes;
+            this.compressed = compressed;
+            this.dfdColorModel = dfdColorModel;
+            this.vkUnorm = vkUnorm;
+            this.vkSrgb = vkSrgb;
+            this.glUnorm = glUnorm;
+            this.glSrgb = glSrgb;
+        }
+
+        public int blockBytes() {
+            return blockBytes;
+        }
+
+        public boolean compressed() {
+            return compressed;
+        }
+
+        int dfdColorModel() {
+            return dfdColorModel;
+        }
+
+        /** BC5 has no sRGB variant; it always stores linear two-channel data. */
+        public boolean supportsSrgb() {
+            return vkSrgb != vkUnorm;
+        }
+
+        public int vkFormat(boolean srgb) {
+            return srgb ? vkSrgb : vkUnorm;
+        }
+
+        public int glInternalFormat(boolean srgb) {
+            return srgb ? glSrgb : glUnorm;
+        }
+
+        public int levelBytes(int width, int height) {
+            return compressed
+                    ? BcBlockEncoder.blockCount(width, height) * blockBytes
+                    : width * height * blockBytes;
+        }
+
+        byte[] encode(byte[] rgba, int width, int height) {
+            return switch (this) {
+                case RGBA8 -> rgba;
+                case BC1 -> BcBlockEncoder.encodeBc1(rgba, width, height);
+                case BC3 -> BcBlockEncoder.encodeBc3(rgba, width, height);
+                case BC5 -> BcBlockEncoder.encodeBc5(rgba, width, height);
+                case BC7 -> BcBlockEncoder.encodeBc7(rgba, width, height);
+            };
+        }
+
+        static Format fromVkFormat(int vkFormat) {
+            for (Format format : values()) {
+                if (format.vkUnorm == vkFormat || format.vkSrgb == vkFormat) {
+                    return format;
+                }
+            }
+            return null;
+        }
+
+        static boolean isSrgbVkFormat(int vkFormat) {
+            Format format = fromVkFormat(vkFormat);
+            return format != null && format.supportsSrgb() && format.vkSrgb == vkFormat;
+        }
+    }
+
+    /**
+     * @param format target storage format
+     * @param srgb whether the source color channels are sRGB-encoded
+     * @param filter mip downsampling filter
+     * @param rowsBottomUp whether the decoder returns rows bottom-up (backend upload convention)
+     */
+    public record Options(Format format, boolean srgb, TextureMipChain.Filter filter, boolean rowsBottomUp) {
+        public Options {
+            format = format == null ? Format.RGBA8 : format;
+            filter = filter == null ? TextureMipChain.Filter.KAISER : filter;
+            srgb = srgb && format.supportsSrgb();
+        }
+
+        /**
+         * Backend defaults adjusted by the {@code dle.texture.cook.*} system properties.
+         */
+        public static Options defaults(Format preferredFormat, boolean srgb, boolean rowsBottomUp) {
+            return new Options(
+                    parseFormat(System.getProperty("dle.texture.cook.format"), preferredFormat),
+                    srgb,
+                    "box".equalsIgnoreCase(System.getProperty("dle.texture.cook.filter"))
+                            ? TextureMipChain.Filter.BOX
+                            : TextureMipChain.Filter.KAISER,
+                    rowsBottomUp
+            );
+        }
+
+        public String variant() {
+            return format.name().toLowerCase(Locale.ROOT)
+                    + (srgb ? "-srgb" : "-unorm")
+                    + "-" + filter.name().toLowerCase(Locale.ROOT)
+                    + (rowsBottomUp ? "-ru" : "-rd");
+        }
+    }
+
+    /**
+     * Decodes a source image into tightly packed RGBA8 rows in the backend's row order.
+     */
+    @FunctionalInterface
+    public interface RgbaDecoder {
+        KtxDecodeUtil.DecodedRgba decode(Path source);
+    }
+
+    private TextureCooker() {
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("dle.texture.cook.enabled", "true"));
+    }
+
+    /** Cache directory from {@code dle.texture.cook.dir}, defaulting to {@code ~/.dynamis/asset-cache/texture}. */
+    public static Path defaultCacheDirectory() {
+        return Path.of(System.getProperty(
+                "dle.texture.cook.dir",
+                Path.of(System.getProperty("user.home"), ".dynamis", "asset-cache", "texture").toString()));
+    }
+
+    public static Path cachePath(Path cacheDirectory, Path source, Options options) {
+        String absolute = source.toAbsolutePath().normalize().toString();
+        return cacheDirectory.resolve(source.getFileName()
+                + "-" + sha256(absolute).substring(0, 16)
+                + "." + options.variant() + ".ktx2");
+    }
+
+    /**
+     * Cooks {@code source} against the {@linkplain #defaultCacheDirectory() default cache directory}.
+     */
+    public static CookedTexture cook(Path source, Options options, RgbaDecoder decoder) {
+        return cook(source, options, decoder, defaultCacheDirectory());
+    }
+
+    /**
+     * Returns the cooked texture for {@code source}, reusing the cached KTX2 when it is current.
+     *
+     * @param cacheDirectory where cooked KTX2 files live, or {@code null} to cook in memory only
+     * @return the cooked texture, or {@code null} when the source cannot be read or decoded
+     */
+    public static CookedTexture cook(Path source, Options options, RgbaDecoder decoder, Path cacheDirectory) {
+        if (source == null || options == null || decoder == null || !Files.isRegularFile(source)) {
+            return null;
+        }
+        String sourceStamp;
+        try {
+            sourceStamp = Files.size(source) + ":" + Files.getLastModifiedTime(source).toMillis();
+        } catch (IOException ignored) {
+            return null;
+        }
+        String variant = COOK_VERSION + ":" + options.variant();
+        Path cached = cacheDirectory == null ? null : cachePath(cacheDirectory, source, options);
+        Ktx2TextureFile.Contents contents = cached == null ? null : Ktx2TextureFile.read(cached);
+        if (contents != null
+                && sourceStamp.equals(contents.keyValues().get(KEY_SOURCE))
+                && variant.equals(contents.keyValues().get(KEY_VARIANT))) {
+            return contents.texture();
+        }
+
+        KtxDecodeUtil.DecodedRgba decoded = decoder.decode(source);
+        if (decoded == null || decoded.width() <= 0 || decoded.height() <= 0) {
+            return null;
+        }
+        CookedTexture texture = cook(decoded.rgbaBytes(), decoded.width(), decoded.height(), options);
+        if (cached == null) {
+            return texture;
+        }
+        try {
+            Ktx2TextureFile.write(cached, texture, Map.of(
+                    KEY_ORIENTATION, options.rowsBottomUp() ? "ru" : "rd",
+                    KEY_WRITER, "DynamisLightEngine TextureCooker " + COOK_VERSION,
+                    KEY_SOURCE, sourceStamp,
+                    KEY_VARIANT, variant
+            ));
+        } catch (IOException | RuntimeException ignored) {
+            // Cache is an optimization; an unwritable cache directory still gets the cooked result.
+        }
+        return texture;
+    }
+
+    /**
+     * Cooks an in-memory RGBA8 image without touching the file cache.
+     */
+    public static CookedTexture cook(byte[] rgba, int width, int height, Options options) {
+        List<TextureMipChain.Level> mips = TextureMipChain.generate(rgba, width, height, options.srgb(), options.filter());
+        List<CookedTexture.Level> levels = new ArrayList<>(mips.size());
+        for (TextureMipChain.Level mip : mips) {
+            levels.add(new CookedTexture.Level(
+                    mip.width(),
+                    mip.height(),
+                    options.format().encode(mip.rgba(), mip.width(), mip.height())
+            ));
+        }
+        return new CookedTexture(options.format(), options.srgb(), levels);
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    private static Format parseFormat(String value, Format fallback) {
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        try {
+            return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ignored) {
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package org.dynamisengine.light.impl.common.texture;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CPU mip-chain generation for RGBA8 images.
+ *
+ * Filtering runs in linear light: sRGB color channels are decoded before filtering and
+ * re-encoded afterwards, alpha is always treated as linear. Each level is derived from the
+ * previous unquantized level so rounding error does not accumulate down the chain.
+ */
+public final class TextureMipChain {
+    private static final float KAISER_RADIUS = 3.0f;
+    private static final float KAISER_ALPHA = 4.0f;
+    private static final float[] SRGB_TO_LINEAR = new float[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            SRGB_TO_LINEAR[i] = srgbToLinear(i / 255.0f);
+        }
+    }
+
+    public enum Filter {
+        BOX,
+        KAISER
+    }
+
+    public record Level(int width, int height, byte[] rgba) {
+    }
+
+    private TextureMipChain() {
+    }
+
+    public static int levelCount(int width, int height) {
+        return 32 - Integer.numberOfLeadingZeros(Math.max(1, Math.max(width, height)));
+    }
+
+    /**
+     * @return every level from the base image (level 0) down to 1x1
+     */
+    public static List<Level> generate(byte[] rgba, int width, int height, boolean srgb, Filter filter) {
+        if (width <= 0 || height <= 0 || rgba == null || rgba.length < width * height * 4) {
+            throw new IllegalArgumentException("mip chain source must be a non-empty RGBA8 image");
+        }
+        int levels = levelCount(width, height);
+        List<Level> chain = new ArrayList<>(levels);
+        chain.add(new Level(width, height, rgba));
+        float[] current = toLinear(rgba, width * height, srgb);
+        int w = width;
+        int h = height;
+        for (int level = 1; level < levels; level++) {
+            int nw = Math.max(1, w / 2);
+            int nh = Math.max(1, h / 2);
+            float[] horizontal = nw == w ? current : resampleRows(current, w, h, nw, filter);
+            float[] next = nh == h ? horizontal : resampleColumns(horizontal, nw, h, nh, filter);
+            chain.add(new Level(nw, nh, toBytes(next, nw * nh, srgb)));
+            current = next;
+            w = nw;
+            h = nh;
+        }
+        return chain;
+    }
+
+    private static float[] resampleRows(float[] src, int srcWidth, int height, int dstWidth, Filter filter) {
+        Kernel kernel = Kernel.build(srcWidth, dstWidth, filter);
+        float[] dst = new float[dstWidth * height * 4];
+        for (int y = 0; y < height; y++) {
+            int rowIn = y * srcWidth * 4;
+            int rowOut = y * dstWidth * 4;
+            for (int x = 0; x < dstWidth; x++) {
+                accumulate(src, rowIn, 4, kernel, x, dst, rowOut + x * 4);
+            }
+        }
+        return dst;
+    }
+
+    private static float[] resampleColumns(float[] src, int width, int srcHeight, int dstHeight, Filter filter) {
+        Kernel kernel = Kernel.build(srcHeight, dstHeight, filter);
+        float[] dst = new float[width * dstHeight * 4];
+        int stride = width * 4;
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < dstHeight; y++) {
+                accumulate(src, x * 4, stride, kernel, y, dst, (y * width + x) * 4);
+            }
+        }
+        return dst;
+    }
+
+    private static void accumulate(float[] src, int base, int stride, Kernel kernel, int outIndex, float[] dst, int dstOffset) {
+        float r = 0f;
+        float g = 0f;
+        float b = 0f;
+        float a = 0f;
+        int first = kernel.first[outIndex];
+        float[] weights = kernel.weights[outIndex];
+        for (int i = 0; i < weights.length; i++) {
+            int at = base + kernel.clamp(first + i) * stride;
+            float w = weights[i];
+            r += src[at] * w;
+            g += src[at + 1] * w;
+            b += src[at + 2] * w;
+            a += src[at + 3] * w;
+        }
+        dst[dstOffset] = r;
+        dst[dstOffset + 1] = g;
+        dst[dstOffset + 2] = b;
+        dst[dstOffset + 3] = a;
+    }
+
+    private static float[] toLinear(byte[] rgba, int pixels, boolean srgb) {
+        float[] out = new float[pixels * 4];
+        for (int i = 0; i < pixels * 4; i++) {
+            int value = rgba[i] & 0xFF;
+            out[i] = srgb && (i & 3) != 3 ? SRGB_TO_LINEAR[value] : value / 255.0f;
+        }
+        return out;
+    }
+
+    private static byte[] toBytes(float[] linear, int pixels, boolean srgb) {
+        byte[] out = new byte[pixels * 4];
+        for (int i = 0; i < pixels * 4; i++) {
+            float value = Math.max(0f, Math.min(1f, linear[i]));
+            if (srgb && (i & 3) != 3) {
+                value = linearToSrgb(value);
+            }
+            out[i] = (byte) Math.round(value * 255.0f);
+        }
+        return out;
+    }
+
+    static float srgbToLinear(float c) {
+        return c <= 0.04045f ? c / 12.92f : (float) Math.pow((c + 0.055f) / 1.055f, 2.4f);
+    }
+
+    static float linearToSrgb(float c) {
+        return c <= 0.0031308f ? c * 12.92f : (float) (1.055f * Math.pow(c, 1.0 / 2.4) - 0.055f);
+    }
+
+    /**
+     * Per-output-texel tap weights along one axis, normalized to sum to one. Taps outside the
+     * source are clamped to the edge texel.
+     */
+    private record Kernel(int srcSize, int[] first, float[][] weights) {
+        static Kernel build(int srcSize, int dstSize, Filter filter) {
+            float scale = (float) srcSize / (float) dstSize;
+            int[] first = new int[dstSize];
+            float[][] weights = new float[dstSize][];
+            for (int o = 0; o < dstSize; o++) {
+                float center = (o + 0.5f) * scale;
+                float support = filter == Filter.BOX ? 0.5f * scale : KAISER_RADIUS * scale;
+                int lo = (int) Math.floor(center - support);
+                int hi = (int) Math.ceil(center + support) - 1;
+                float[] w = new float[hi - lo + 1];
+                float sum = 0f;
+                for (int s = lo; s <= hi; s++) {
+                    float weight = filter == Filter.BOX
+                            ? boxCoverage(s, center - support, center + support)
+                            : kaiserSinc(((s + 0.5f) - center) / scale);
+                    w[s - lo] = weight;
+                    sum += weight;
+                }
+                if (sum != 0f) {
+                    for (int i = 0; i < w.length; i++) {
+                        w[i] /= sum;
+                    }
+                }
+                first[o] = lo;
+                weights[o] = w;
+            }
+            return new Kernel(srcSize, first, weights);
+        }
+
+        int clamp(int index) {
+            return Math.max(0, Math.min(srcSize - 1, index));
+        }
+
+        private static float boxCoverage(int texel, float from, float to) {
+            return Math.max(0f, Math.min(texel + 1f, to) - Math.max((float) texel, from));
+        }
+
+        private static float kaiserSinc(float t) {
+            float x = Math.abs(t);
+            if (x >= KAISER_RADIUS) {
+                return 0f;
+            }
+            float sinc = x < 1.0e-6f ? 1f : (float) (Math.sin(Math.PI * x) / (Math.PI * x));
+            float ratio = x / KAISER_RADIUS;
+            float window = (float) (besselI0(KAISER_ALPHA * Math.sqrt(1.0 - ratio * ratio)) / besselI0(KAISER_ALPHA));
+            return sinc * window;
+        }
+
+        private static double besselI0(double x) {
+            double sum = 1.0;
+            double term = 1.0;
+            double halfX = x * 0.5;
+            for (int k = 1; k < 32 && term > sum * 1.0e-12; k++) {
+                term *= (halfX / k) * (halfX / k);
+                sum += term;
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package org.dynamisengine.light.impl.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import org.dynamisengine.light.api.config.EngineConfig;
+import org.dynamisengine.light.api.config.QualityTier;
+import org.dynamisengine.light.api.error.EngineErrorReport;
+import org.dynamisengine.light.api.event.EngineEvent;
+import org.dynamisengine.light.api.event.SceneLoadFailedEvent;
+import org.dynamisengine.light.api.logging.LogMessage;
+import org.dynamisengine.light.api.resource.ResourceInfo;
+import org.dynamisengine.light.api.runtime.EngineCapabilities;
+import org.dynamisengine.light.api.runtime.EngineHostCallbacks;
+import org.dynamisengine.light.api.scene.MaterialDesc;
+import org.dynamisengine.light.api.scene.MeshDesc;
+import org.dynamisengine.light.api.scene.SceneDescriptor;
+import org.dynamisengine.light.api.scene.Vec3;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AbstractEngineRuntimeParallelResourceAcquireTest {
+    /** Categories the runtime logs resource acquire, release and failure messages under. */
+    private static final Set<String> RESOURCE_LOG_CATEGORIES = Set.of("SCENE", "ERROR");
+
+    @TempDir
+    Path assetRoot;
+
+    @Test
+    void parallelAcquireMatchesSequentialOutcomeForLargeScene() throws Exception {
+        SceneDescriptor scene = syntheticScene(1_000);
+
+        Outcome sequential = load(scene, 1);
+        Outcome parallel = load(scene, 8);
+
+        assertEquals(sequential.logs(), parallel.logs());
+        assertEquals(sequential.failureEvents(), parallel.failureEvents());
+        assertEquals(sequential.resources(), parallel.resources());
+        assertEquals(sequential.hits(), parallel.hits());
+        assertEquals(sequential.misses(), parallel.misses());
+        assertTrue(sequential.failureEvents().get(0).contains("Resource scan failures (10)"));
+        assertTrue(sequential.resources().stream().anyMatch(r -> r.startsWith("mesh:meshes/shared.bin|LOADED|50|")));
+    }
+
+    @Test
+    void reloadingSceneReusesCachedResources() throws Exception {
+        SceneDescriptor scene = syntheticScene(200);
+        var runtime = new TestRuntime();
+        runtime.initialize(config(8), new RecordingCallbacks());
+
+        runtime.loadScene(scene);
+        long misses = runtime.resources().stats().cacheMisses();
+        runtime.loadScene(scene);
+
+        assertEquals(misses, runtime.resources().stats().cacheMisses());
+        runtime.shutdown();
+    }
+
+    @Test
+    void slowScansOverlapWhenAcquiredInParallel() throws Exception {
+        int assetCount = 16;
+        long scanDelayMs = 50L;
+        Files.createDirectories(assetRoot.resolve("meshes"));
+        List<MeshDesc> meshes = new ArrayList<>();
+        for (int i = 0; i < assetCount; i++) {
+            String path = "meshes/slow-" + i + ".bin";
+            Files.writeString(assetRoot.resolve(path), "slow-" + i);
+            meshes.add(new MeshDesc("mesh-" + i, "xf", "mat", path));
+        }
+        SceneDescriptor scene = new SceneDescriptor("slow", List.of(), null, List.of(), meshes, List.of(), List.of(),
+                null, null, List.of(), null);
+        var scans = new AtomicInteger();
+        var runtime = new TestRuntime(workers -> new SlowScanExecutor(workers, scanDelayMs, scans));
+        runtime.initialize(config(8), new RecordingCallbacks());
+
+        long start = System.nanoTime();
+        runtime.loadScene(scene);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+        runtime.shutdown();
+
+        assertEquals(assetCount, scans.get());
+        assertTrue(elapsedMs < assetCount * scanDelayMs,
+                "loadScene took " + elapsedMs + " ms for " + assetCount + " scans of " + scanDelayMs + " ms");
+    }
+
+    /**
+     * Builds {@code resourceCount} resource references: one in ten meshes points at a shared file and one in
+     * twenty-five normal maps is missing.
+     */
+    private SceneDescriptor syntheticScene(int resourceCount) throws Exception {
+        Files.createDirectories(assetRoot.resolve("meshes"));
+        Files.createDirectories(assetRoot.resolve("textures"));
+        Files.writeString(assetRoot.resolve("meshes/shared.bin"), "shared");
+        int meshCount = resourceCount / 2;
+        List<MeshDesc> meshes = new ArrayList<>();
+        for (int i = 0; i < meshCount; i++) {
+            String path = i % 10 == 0 ? "meshes/shared.bin" : "meshes/mesh-" + i + ".bin";
+            if (i % 10 != 0) {
+                Files.writeString(assetRoot.resolve(path), "mesh-" + i);
+            }
+            meshes.add(new MeshDesc("mesh-" + i, "xf", "mat-" + i, path));
+        }
+        List<MaterialDesc> materials = new ArrayList<>();
+        for (int i = 0; i < (resourceCount - meshCount) / 2; i++) {
+            String albedo = "textures/albedo-" + i + ".png";
+            String normal = "textures/normal-" + i + ".png";
+            Files.writeString(assetRoot.resolve(albedo), "albedo-" + i);
+            if (i % 25 != 0) {
+                Files.writeString(assetRoot.resolve(normal), "normal-" + i);
+            }
+            materials.add(new MaterialDesc("mat-" + i, new Vec3(1f, 1f, 1f), 0f, 0.5f,
+                    albedo, normal, null, null, 0f, false, false));
+        }
+        return new SceneDescriptor("synthetic", List.of(), null, List.of(), meshes, materials, List.of(),
+                null, null, List.of(), null);
+    }
+
+    private Outcome load(SceneDescriptor scene, int parallelism) throws Exception {
+        var runtime = new TestRuntime();
+        var callbacks = new RecordingCallbacks();
+        runtime.initialize(config(parallelism), callbacks);
+        runtime.loadScene(scene);
+        List<String> resources = runtime.resources().loadedResources().stream()
+                .sorted(Comparator.comparing(info -> info.descriptor().id().value()))
+                .map(AbstractEngineRuntimeParallelResourceAcquireTest::describe)
+                .toList();
+        var stats = runtime.resources().stats();
+        runtime.shutdown();
+        List<String> failureEvents = callbacks.events.stream()
+                .filter(SceneLoadFailedEvent.class::isInstance)
+                .map(event -> ((SceneLoadFailedEvent) event).reason())
+                .toList();
+        List<String> logs = callbacks.logs.stream()
+                .filter(log -> RESOURCE_LOG_CATEGORIES.contains(log.category()))
+                .map(log -> log.category() + ": " + log.message())
+                .toList();
+        return new Outcome(logs, failureEvents, resources, stats.cacheHits(), stats.cacheMisses());
+    }
+
+    private static String describe(ResourceInfo info) {
+        return info.descriptor().id().value() + "|" + info.state() + "|" + info.refCount() + "|" + info.lastChecksum();
+    }
+
+    private EngineConfig config(int parallelism) {
+        return new EngineConfig(
+                "test",
+                "test-app",
+                1280,
+                720,
+                1.0f,
+                true,
+                60,
+                QualityTier.MEDIUM,
+                assetRoot,
+                Map.of("resource.acquire.parallelism", Integer.toString(parallelism), "resource.cache.maxEntries", "4096")
+        );
+    }
+
+    private record Outcome(List<String> logs, List<String> failureEvents, List<String> resources, long hits, long misses) {
+    }
+
+    private static final class TestRuntime extends AbstractEngineRuntime {
+        private TestRuntime() {
+            super(
+                    "test-backend",
+                    new EngineCapabilities(Set.of("test"), false, false, false, false, 4096, 4096, Set.of(QualityTier.MEDIUM)),
+                    1.0,
+                    1.0
+            );
+        }
+
+        private TestRuntime(IntFunction<ExecutorService> resourceScanExecutors) {
+            super(
+                    "test-backend",
+                    new EngineCapabilities(Set.of("test"), false, false, false, false, 4096, 4096, Set.of(QualityTier.MEDIUM)),
+                    1.0,
+                    1.0,
+                    resourceScanExecutors
+            );
+        }
+    }
+
+    /** Simulates slow storage: every scan submitted to the pool waits {@code delayMs} before running. */
+    private static final class SlowScanExecutor extends AbstractExecutorService {
+        private final ExecutorService delegate;
+        private final long delayMs;
+        private final AtomicInteger scans;
+
+        private SlowScanExecutor(int workers, long delayMs, AtomicInteger scans) {
+            this.delegate = Executors.newFixedThreadPool(workers, Thread.ofVirtual().factory());
+            this.delayMs = delayMs;
+            this.scans = scans;
+        }
+
+        @Override
+        public void execute(Runnable scan) {
+            delegate.execute(() -> {
+                scans.incrementAndGet();
+                try {
+                    Thread.sleep(delayMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                scan.run();
+            });
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+
+    private static final class RecordingCallbacks implements EngineHostCallbacks {
+        private final List<EngineEvent> events = new ArrayList<>();
+        private final List<LogMessage> logs = new ArrayList<>();
+
+        @Override
+        public void onEvent(EngineEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public void onLog(LogMessage message) {
+            logs.add(message);
+        }
+
+        @Override
+        public void onError(EngineErrorReport error) {
+        }
+    }
+}
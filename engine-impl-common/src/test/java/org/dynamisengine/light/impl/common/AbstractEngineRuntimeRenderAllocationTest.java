@@ -0,0 +1,156 @@
+package org.dynamisengine.light.impl.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.dynamisengine.light.api.config.EngineConfig;
+import org.dynamisengine.light.api.config.QualityTier;
+import org.dynamisengine.light.api.error.EngineErrorReport;
+import org.dynamisengine.light.api.event.AaTelemetryEvent;
+import org.dynamisengine.light.api.event.EngineEvent;
+import org.dynamisengine.light.api.event.EngineWarning;
+import org.dynamisengine.light.api.logging.LogLevel;
+import org.dynamisengine.light.api.logging.LogMessage;
+import org.dynamisengine.light.api.runtime.EngineCapabilities;
+import org.dynamisengine.light.api.runtime.EngineHostCallbacks;
+import org.junit.jupiter.api.Test;
+
+class AbstractEngineRuntimeRenderAllocationTest {
+    /** The returned EngineFrameResult and FrameHandle are the only per-frame allocations. */
+    private static final long ALLOCATION_BUDGET_BYTES_PER_FRAME = 128L;
+    private static final int FRAMES = 10_000;
+
+    @Test
+    void steadyStateRenderStaysWithinAllocationBudget() throws Exception {
+        var bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(bean.isThreadAllocatedMemorySupported(), "per-thread allocation counters are not supported");
+        bean.setThreadAllocatedMemoryEnabled(true);
+        var runtime = new MockRuntime();
+        var callbacks = new RecordingCallbacks(LogLevel.INFO);
+        runtime.initialize(validConfig(), callbacks);
+        for (int i = 0; i < FRAMES; i++) {
+            runtime.render();
+        }
+
+        long threadId = Thread.currentThread().threadId();
+        long before = bean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < FRAMES; i++) {
+            runtime.render();
+        }
+        long perFrame = (bean.getThreadAllocatedBytes(threadId) - before) / FRAMES;
+
+        assertTrue(perFrame <= ALLOCATION_BUDGET_BYTES_PER_FRAME, "allocated " + perFrame + " bytes/frame");
+        runtime.shutdown();
+    }
+
+    @Test
+    void steadyStateReusesStatsWarningsAndSuppressesUnchangedTelemetry() throws Exception {
+        var runtime = new MockRuntime();
+        var callbacks = new RecordingCallbacks(LogLevel.DEBUG);
+        runtime.initialize(validConfig(), callbacks);
+
+        var first = runtime.render();
+        var firstStats = runtime.getStats();
+        var second = runtime.render();
+
+        assertSame(firstStats, runtime.getStats());
+        assertSame(first.warnings(), second.warnings());
+        assertEquals(2, second.warnings().size());
+        assertEquals(1L, callbacks.events.stream().filter(AaTelemetryEvent.class::isInstance).count());
+        assertTrue(callbacks.logs.stream().anyMatch(log -> "PERF".equals(log.category())));
+
+        runtime.rejectRate = 0.25;
+        runtime.render();
+        assertEquals(2L, callbacks.events.stream().filter(AaTelemetryEvent.class::isInstance).count());
+        runtime.shutdown();
+    }
+
+    private static EngineConfig validConfig() {
+        return new EngineConfig(
+                "test",
+                "test-app",
+                1280,
+                720,
+                1.0f,
+                true,
+                60,
+                QualityTier.MEDIUM,
+                Path.of("."),
+                Map.of()
+        );
+    }
+
+    private static final class MockRuntime extends AbstractEngineRuntime {
+        private final RenderMetrics metrics = new RenderMetrics(4.0, 3.0, 12, 3_000, 10, 1L << 20,
+                2, 8, 2, 3, 10, 8, 0, 0, 0);
+        private final List<EngineWarning> baseline = List.of(new EngineWarning("BASELINE", "baseline"));
+        private final List<EngineWarning> frame = List.of(new EngineWarning("FRAME", "frame"));
+        private double rejectRate = 0.1;
+
+        private MockRuntime() {
+            super(
+                    "mock-backend",
+                    new EngineCapabilities(Set.of("mock"), false, false, false, false, 4096, 4096, Set.of(QualityTier.MEDIUM)),
+                    1.0,
+                    1.0
+            );
+        }
+
+        @Override
+        protected RenderMetrics onRender() {
+            return metrics;
+        }
+
+        @Override
+        protected List<EngineWarning> baselineWarnings() {
+            return baseline;
+        }
+
+        @Override
+        protected List<EngineWarning> frameWarnings() {
+            return frame;
+        }
+
+        @Override
+        protected double aaHistoryRejectRate() {
+            return rejectRate;
+        }
+    }
+
+    private static final class RecordingCallbacks implements EngineHostCallbacks {
+        private final LogLevel minLevel;
+        private final List<EngineEvent> events = new ArrayList<>();
+        private final List<LogMessage> logs = new ArrayList<>();
+
+        private RecordingCallbacks(LogLevel minLevel) {
+            this.minLevel = minLevel;
+        }
+
+        @Override
+        public void onEvent(EngineEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public void onLog(LogMessage message) {
+            logs.add(message);
+        }
+
+        @Override
+        public boolean isLogEnabled(LogLevel level) {
+            return level.ordinal() >= minLevel.ordinal();
+        }
+
+        @Override
+        public void onError(EngineErrorReport error) {
+        }
+    }
+}
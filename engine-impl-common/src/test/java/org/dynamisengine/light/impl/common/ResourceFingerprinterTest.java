@@ -0,0 +1,99 @@
+package org.dynamisengine.light.impl.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResourceFingerprinterTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void xxHash64MatchesReferenceVectorsAcrossChunkBoundaries() {
+        assertEquals(0xEF46DB3751D8E999L, XxHash64.hash(segment("")));
+        assertEquals(0x44BC2CF5AD770999L, XxHash64.hash(segment("abc")));
+
+        byte[] data = new byte[1_000];
+        new Random(7L).nextBytes(data);
+        XxHash64 chunked = new XxHash64(0L);
+        int offset = 0;
+        for (int size : new int[]{5, 31, 64, 1, 400, 499}) {
+            chunked.update(MemorySegment.ofArray(data).asSlice(offset, size));
+            offset += size;
+        }
+        assertEquals(XxHash64.hash(MemorySegment.ofArray(data)), chunked.digest());
+    }
+
+    @Test
+    void unchangedSizeAndMtimeSkipHashing() throws Exception {
+        Path file = write("mesh.bin", "mesh-v1", 10_000L);
+        var fingerprinter = new ResourceFingerprinter();
+
+        String first = fingerprinter.checksum(file);
+        long bytes = fingerprinter.bytesHashed();
+        String second = fingerprinter.checksum(file);
+
+        assertEquals(first, second);
+        assertEquals(bytes, fingerprinter.bytesHashed());
+        assertEquals(1L, fingerprinter.statHits());
+    }
+
+    @Test
+    void sameSizeEditIsDetectedAfterInvalidateOrWithinRacyWindow() throws Exception {
+        Path file = write("mesh.bin", "mesh-v1", 10_000L);
+        var fingerprinter = new ResourceFingerprinter();
+        String original = fingerprinter.checksum(file);
+
+        write("mesh.bin", "mesh-v2", 10_000L);
+        fingerprinter.invalidate(file);
+        String edited = fingerprinter.checksum(file);
+        assertNotEquals(original, edited);
+
+        Path fresh = tempDir.resolve("fresh.bin");
+        Files.writeString(fresh, "fresh-v1");
+        fingerprinter.checksum(fresh);
+        Files.writeString(fresh, "fresh-v2");
+        assertNotEquals(edited, fingerprinter.checksum(fresh));
+        assertEquals(0L, fingerprinter.statHits());
+    }
+
+    @Test
+    void largeFilesAreHashedInMappedChunksAndSha256IsOptIn() throws Exception {
+        byte[] data = new byte[300_000];
+        new Random(11L).nextBytes(data);
+        Path file = tempDir.resolve("texture.bin");
+        Files.write(file, data);
+        var fingerprinter = new ResourceFingerprinter();
+
+        assertEquals("xxh64:" + HexFormat.of().toHexDigits(XxHash64.hash(MemorySegment.ofArray(data))),
+                fingerprinter.checksum(file));
+
+        fingerprinter.configure(ResourceFingerprinter.Mode.parse("sha256"));
+        String sha = fingerprinter.checksum(file);
+        assertTrue(sha.startsWith("sha256:"));
+        assertEquals("sha256:" + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data)), sha);
+        assertEquals(2L * data.length, fingerprinter.bytesHashed());
+    }
+
+    private Path write(String name, String content, long ageMs) throws Exception {
+        Path file = tempDir.resolve(name);
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - ageMs));
+        return file;
+    }
+
+    private static MemorySegment segment(String text) {
+        return MemorySegment.ofArray(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
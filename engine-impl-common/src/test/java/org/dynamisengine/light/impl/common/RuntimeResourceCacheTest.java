@@ -0,0 +1,106 @@
+package org.dynamisengine.light.impl.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.List;
+import org.dynamisengine.light.api.resource.ResourceDescriptor;
+import org.dynamisengine.light.api.resource.ResourceId;
+import org.dynamisengine.light.api.resource.ResourceInfo;
+import org.dynamisengine.light.api.resource.ResourceState;
+import org.dynamisengine.light.api.resource.ResourceType;
+import org.junit.jupiter.api.Test;
+
+class RuntimeResourceCacheTest {
+
+    @Test
+    void evictsLeastRecentlyReleasedEntriesFirst() {
+        RuntimeResourceCache cache = new RuntimeResourceCache(2, 0L);
+        cache.put(info("a", "/assets/a.glb", 1), 10L);
+        cache.put(info("b", "/assets/b.glb", 1), 10L);
+        cache.put(info("c", "/assets/c.glb", 1), 10L);
+
+        cache.release(new ResourceId("b"), 1L);
+        cache.release(new ResourceId("a"), 2L);
+        List<ResourceId> evicted = cache.evictOverBudget();
+
+        assertEquals(List.of(new ResourceId("b")), evicted);
+        assertEquals(2, cache.size());
+        assertNull(cache.get(new ResourceId("b")));
+        assertNotNull(cache.get(new ResourceId("a")));
+    }
+
+    @Test
+    void evictsUntilByteBudgetIsMetAndKeepsReferencedEntries() {
+        RuntimeResourceCache cache = new RuntimeResourceCache(100, 150L);
+        cache.put(info("a", "/assets/a.png", 0), 100L);
+        cache.put(info("b", "/assets/b.png", 0), 100L);
+        cache.put(info("c", "/assets/c.png", 1), 100L);
+
+        List<ResourceId> evicted = cache.evictOverBudget();
+
+        assertEquals(List.of(new ResourceId("a"), new ResourceId("b")), evicted);
+        assertEquals(100L, cache.totalBytes());
+        assertNotNull(cache.get(new ResourceId("c")));
+    }
+
+    @Test
+    void retainRemovesEntryFromEvictionOrder() {
+        RuntimeResourceCache cache = new RuntimeResourceCache(0, 0L);
+        cache.put(info("a", "/assets/a.png", 0), 1L);
+
+        ResourceInfo retained = cache.retain(new ResourceId("a"), 5L);
+
+        assertEquals(1, retained.refCount());
+        assertTrue(cache.evictOverBudget().isEmpty());
+        cache.release(new ResourceId("a"), 6L);
+        assertEquals(List.of(new ResourceId("a")), cache.evictOverBudget());
+    }
+
+    @Test
+    void pathIndexTracksEveryDependentIdAndFollowsReplacement() {
+        RuntimeResourceCache cache = new RuntimeResourceCache(16, 0L);
+        cache.put(info("texture:a", "/assets/shared.png", 1), 1L);
+        cache.put(info("mesh:a", "/assets/shared.png", 1), 1L);
+        cache.put(info("texture:b", "/assets/other.png", 1), 1L);
+
+        assertEquals(
+                List.of(new ResourceId("texture:a"), new ResourceId("mesh:a")),
+                cache.idsForPath(Path.of("/assets/shared.png"))
+        );
+
+        cache.put(info("mesh:a", "/assets/moved.png", 1), 1L);
+        assertEquals(List.of(new ResourceId("texture:a")), cache.idsForPath(Path.of("/assets/shared.png")));
+        assertEquals(List.of(new ResourceId("mesh:a")), cache.idsForPath(Path.of("/assets/moved.png")));
+
+        cache.remove(new ResourceId("texture:a"));
+        assertTrue(cache.idsForPath(Path.of("/assets/shared.png")).isEmpty());
+    }
+
+    @Test
+    void putIfAbsentOrRetainKeepsFirstInsertedEntry() {
+        RuntimeResourceCache cache = new RuntimeResourceCache(16, 0L);
+        ResourceInfo first = info("a", "/assets/a.png", 1);
+        cache.putIfAbsentOrRetain(first, 1L, 1L);
+
+        ResourceInfo second = cache.putIfAbsentOrRetain(info("a", "/assets/a.png", 1), 1L, 2L);
+
+        assertEquals(2, second.refCount());
+        assertEquals(1L, cache.totalBytes());
+    }
+
+    private static ResourceInfo info(String id, String path, int refCount) {
+        return new ResourceInfo(
+                new ResourceDescriptor(new ResourceId(id), ResourceType.TEXTURE, path, true),
+                ResourceState.LOADED,
+                refCount,
+                0L,
+                null,
+                path,
+                "checksum-" + id
+        );
+    }
+}
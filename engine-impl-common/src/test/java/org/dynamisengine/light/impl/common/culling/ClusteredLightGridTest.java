@@ -0,0 +1,233 @@
+package org.dynamisengine.light.impl.common.culling;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class ClusteredLightGridTest {
+    private static final float NEAR = 0.1f;
+    private static final float FAR = 200f;
+
+    @Test
+    void assignmentMatchesBruteForceSphereBoxTestsForEveryCluster() {
+        float[] proj = perspective((float) Math.toRadians(70.0), 16f / 9f, NEAR, FAR);
+        float[] view = lookFromOffset(3f, 2f, 10f);
+        int lightCount = 2_000;
+        float[] lights = randomLights(new Random(17L), lightCount);
+        ClusteredLightGrid grid = new ClusteredLightGrid(16, 9, 24, 4_096);
+        grid.configure(proj, NEAR, FAR);
+
+        grid.assign(view, lights, lightCount);
+
+        float[] box = new float[6];
+        int total = 0;
+        for (int cluster = 0; cluster < grid.clusterCount(); cluster++) {
+            grid.clusterBounds(cluster, box);
+            int[] expected = new int[lightCount];
+            int count = 0;
+            for (int light = 0; light < lightCount; light++) {
+                if (intersects(view, lights, light, box)) {
+                    expected[count++] = light;
+                }
+            }
+            int offset = grid.clusterOffset(cluster);
+            assertArrayEquals(Arrays.copyOf(expected, count),
+                    Arrays.copyOfRange(grid.lightIndices(), offset, offset + grid.clusterLightCount(cluster)),
+                    "cluster " + cluster);
+            total += count;
+        }
+        assertEquals(total, grid.indexCount());
+        assertEquals(0, grid.droppedAssignments());
+        assertTrue(grid.assignedLights() > 0 && grid.assignedLights() < lightCount, "assigned " + grid.assignedLights());
+    }
+
+    @Test
+    void everyShadedPointFindsTheLightsThatReachIt() {
+        float[] proj = perspective((float) Math.toRadians(60.0), 4f / 3f, NEAR, FAR);
+        float[] view = lookFromOffset(-5f, 1f, 4f);
+        float[] viewProj = multiply(proj, view);
+        Random random = new Random(170L);
+        int lightCount = 500;
+        float[] lights = randomLights(random, lightCount);
+        ClusteredLightGrid grid = new ClusteredLightGrid(12, 8, 16, 4_096);
+        grid.configure(proj, NEAR, FAR);
+        grid.assign(view, lights, lightCount);
+
+        int checked = 0;
+        for (int i = 0; i < 20_000; i++) {
+            int light = random.nextInt(lightCount);
+            int l = light * ClusteredLightGrid.LIGHT_FLOATS;
+            float r = lights[l + 3] * random.nextFloat() * 0.999f;
+            float[] dir = randomUnit(random);
+            float px = lights[l] + dir[0] * r;
+            float py = lights[l + 1] + dir[1] * r;
+            float pz = lights[l + 2] + dir[2] * r;
+            float w = viewProj[3] * px + viewProj[7] * py + viewProj[11] * pz + viewProj[15];
+            float depth = -(view[2] * px + view[6] * py + view[10] * pz + view[14]);
+            if (w <= 0f || depth < NEAR || depth >= FAR) {
+                continue;
+            }
+            float ndcX = (viewProj[0] * px + viewProj[4] * py + viewProj[8] * pz + viewProj[12]) / w;
+            float ndcY = (viewProj[1] * px + viewProj[5] * py + viewProj[9] * pz + viewProj[13]) / w;
+            if (Math.abs(ndcX) >= 1f || Math.abs(ndcY) >= 1f) {
+                continue;
+            }
+            int tileX = (int) Math.floor((ndcX * 0.5f + 0.5f) * grid.tilesX());
+            int tileY = (int) Math.floor((ndcY * 0.5f + 0.5f) * grid.tilesY());
+            int slice = grid.sliceOf(depth);
+            int cluster = grid.clusterIndex(tileX, tileY, slice);
+            int offset = grid.clusterOffset(cluster);
+            boolean found = false;
+            for (int j = 0; j < grid.clusterLightCount(cluster); j++) {
+                found |= grid.lightIndices()[offset + j] == light;
+            }
+            assertTrue(found, "light " + light + " missing from cluster " + cluster);
+            checked++;
+        }
+        assertTrue(checked > 1_000, "checked " + checked);
+    }
+
+    @Test
+    void fullClustersKeepTheLowestLightIndices() {
+        float[] proj = perspective((float) Math.toRadians(90.0), 1f, NEAR, FAR);
+        float[] view = lookFromOffset(0f, 0f, 0f);
+        int lightCount = 10;
+        float[] lights = new float[lightCount * ClusteredLightGrid.LIGHT_FLOATS];
+        for (int i = 0; i < lightCount; i++) {
+            lights[i * 4 + 2] = -20f;
+            lights[i * 4 + 3] = 1f;
+        }
+        lights[5 * 4 + 3] = 0f;
+        ClusteredLightGrid grid = new ClusteredLightGrid(4, 4, 8, 3);
+        grid.configure(proj, NEAR, FAR);
+
+        grid.assign(view, lights, lightCount);
+
+        int cluster = grid.clusterIndex(2, 2, grid.sliceOf(20f));
+        int offset = grid.clusterOffset(cluster);
+        assertEquals(3, grid.clusterLightCount(cluster));
+        assertArrayEquals(new int[]{0, 1, 2}, Arrays.copyOfRange(grid.lightIndices(), offset, offset + 3));
+        assertEquals(9, grid.assignedLights());
+        assertTrue(grid.droppedAssignments() >= 6, "dropped " + grid.droppedAssignments());
+    }
+
+    @Test
+    void slicesCoverNearToFarExponentially() {
+        ClusteredLightGrid grid = new ClusteredLightGrid(1, 1, 10, 1);
+        grid.configure(perspective(1f, 1f, 1f, 1024f), 1f, 1024f);
+        float[] box = new float[6];
+
+        for (int k = 0; k < 10; k++) {
+            grid.clusterBounds(grid.clusterIndex(0, 0, k), box);
+            float sliceNear = -box[5];
+            float sliceFar = -box[2];
+            assertEquals((float) Math.pow(2.0, k), sliceNear, sliceNear * 1e-4f);
+            assertEquals(k, grid.sliceOf((float) Math.sqrt(sliceNear * sliceFar)));
+        }
+        assertEquals(-1, grid.sliceOf(0.5f));
+        assertEquals(10, grid.sliceOf(2000f));
+    }
+
+    @Test
+    void stridedRecordsAndDerivedDepthRangeMatchPackedInput() {
+        float[] proj = perspective((float) Math.toRadians(65.0), 16f / 9f, 0.5f, 120f);
+        float[] view = lookFromOffset(1f, 3f, -2f);
+        int lightCount = 300;
+        float[] packed = randomLights(new Random(171L), lightCount);
+        float[] records = new float[lightCount * 16];
+        for (int i = 0; i < lightCount; i++) {
+            System.arraycopy(packed, i * 4, records, i * 16, 4);
+            records[i * 16 + 4] = 7f;
+        }
+        ClusteredLightGrid expected = new ClusteredLightGrid(8, 6, 12, 64);
+        expected.configure(proj, 0.5f, 120f);
+        expected.assign(view, packed, lightCount);
+        ClusteredLightGrid grid = new ClusteredLightGrid(8, 6, 12, 64);
+
+        grid.configure(proj);
+        grid.assign(view, records, lightCount, 16);
+
+        assertEquals(0.5f, grid.near(), 1e-4f);
+        assertEquals(120f, grid.far(), 120f * 1e-4f);
+        assertEquals(expected.indexCount(), grid.indexCount());
+        for (int cluster = 0; cluster < grid.clusterCount(); cluster++) {
+            assertEquals(expected.clusterOffset(cluster), grid.clusterOffset(cluster));
+            assertEquals(expected.clusterLightCount(cluster), grid.clusterLightCount(cluster));
+        }
+        assertArrayEquals(Arrays.copyOf(expected.lightIndices(), expected.indexCount()),
+                Arrays.copyOf(grid.lightIndices(), grid.indexCount()));
+    }
+
+    private static boolean intersects(float[] view, float[] lights, int light, float[] box) {
+        int l = light * ClusteredLightGrid.LIGHT_FLOATS;
+        float r = lights[l + 3];
+        float cx = view[0] * lights[l] + view[4] * lights[l + 1] + view[8] * lights[l + 2] + view[12];
+        float cy = view[1] * lights[l] + view[5] * lights[l + 1] + view[9] * lights[l + 2] + view[13];
+        float cz = view[2] * lights[l] + view[6] * lights[l + 1] + view[10] * lights[l + 2] + view[14];
+        float dx = Math.max(0f, Math.max(box[0] - cx, cx - box[3]));
+        float dy = Math.max(0f, Math.max(box[1] - cy, cy - box[4]));
+        float dz = Math.max(0f, Math.max(box[2] - cz, cz - box[5]));
+        return r > 0f && dx * dx + (dy * dy + dz * dz) <= r * r;
+    }
+
+    private static float[] randomLights(Random random, int count) {
+        float[] lights = new float[count * ClusteredLightGrid.LIGHT_FLOATS];
+        for (int i = 0; i < count; i++) {
+            lights[i * 4] = random.nextFloat() * 160f - 80f;
+            lights[i * 4 + 1] = random.nextFloat() * 40f - 20f;
+            lights[i * 4 + 2] = random.nextFloat() * 160f - 140f;
+            lights[i * 4 + 3] = 0.5f + random.nextFloat() * 8f;
+        }
+        return lights;
+    }
+
+    private static float[] randomUnit(Random random) {
+        while (true) {
+            float x = random.nextFloat() * 2f - 1f;
+            float y = random.nextFloat() * 2f - 1f;
+            float z = random.nextFloat() * 2f - 1f;
+            float len = (float) Math.sqrt(x * x + y * y + z * z);
+            if (len > 0.01f && len <= 1f) {
+                return new float[]{x / len, y / len, z / len};
+            }
+        }
+    }
+
+    /** Camera translated to {@code (x, y, z)}, looking down -Z. */
+    private static float[] lookFromOffset(float x, float y, float z) {
+        return new float[]{
+                1f, 0f, 0f, 0f,
+                0f, 1f, 0f, 0f,
+                0f, 0f, 1f, 0f,
+                -x, -y, -z, 1f
+        };
+    }
+
+    private static float[] perspective(float fovY, float aspect, float near, float far) {
+        float f = (float) (1.0 / Math.tan(fovY * 0.5));
+        return new float[]{
+                f / aspect, 0f, 0f, 0f,
+                0f, f, 0f, 0f,
+                0f, 0f, (far + near) / (near - far), -1f,
+                0f, 0f, (2f * far * near) / (near - far), 0f
+        };
+    }
+
+    private static float[] multiply(float[] a, float[] b) {
+        float[] out = new float[16];
+        for (int col = 0; col < 4; col++) {
+            for (int row = 0; row < 4; row++) {
+                float sum = 0f;
+                for (int k = 0; k < 4; k++) {
+                    sum += a[k * 4 + row] * b[col * 4 + k];
+                }
+                out[col * 4 + row] = sum;
+            }
+        }
+        return out;
+    }
+}
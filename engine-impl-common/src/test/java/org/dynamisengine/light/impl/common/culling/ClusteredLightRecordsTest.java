@@ -0,0 +1,50 @@
+package org.dynamisengine.light.impl.common.culling;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import org.dynamisengine.light.api.scene.LightDesc;
+import org.dynamisengine.light.api.scene.LightType;
+import org.dynamisengine.light.api.scene.Vec3;
+import org.junit.jupiter.api.Test;
+
+class ClusteredLightRecordsTest {
+
+    @Test
+    void packsLightsPastTheUniformCapInListOrder() {
+        List<LightDesc> lights = List.of(
+                point("uniform", 0f),
+                point("first", 1f),
+                point("second", 2f),
+                point("third", 3f)
+        );
+
+        float[] records = ClusteredLightRecords.pack(lights, 1, 2);
+
+        assertEquals(2 * ClusteredLightRecords.RECORD_FLOATS, records.length);
+        assertEquals(1f, records[0]);
+        assertEquals(2f, records[ClusteredLightRecords.RECORD_FLOATS]);
+        assertEquals(0, ClusteredLightRecords.pack(lights, 4, 8).length);
+    }
+
+    @Test
+    void spotRecordsCarryConeCosinesAndNormalizedDirection() {
+        LightDesc spot = new LightDesc("spot", new Vec3(1f, 2f, 3f), new Vec3(2f, 0.5f, -1f), 4f, 0f, false, null,
+                LightType.SPOT, new Vec3(0f, 0f, -2f), 20f, 40f);
+        float[] out = new float[ClusteredLightRecords.RECORD_FLOATS];
+
+        ClusteredLightRecords.pack(spot, out, 0);
+
+        assertArrayEquals(new float[]{
+                1f, 2f, 3f, 15f,
+                1f, 0.5f, 0f, 4f,
+                0f, 0f, -1f, (float) Math.cos(Math.toRadians(20f)),
+                (float) Math.cos(Math.toRadians(40f)), 1f, 0f, 0f
+        }, out, 1e-6f);
+    }
+
+    private static LightDesc point(String id, float x) {
+        return new LightDesc(id, new Vec3(x, 0f, 0f), new Vec3(1f, 1f, 1f), 1f, 5f, false, null, LightType.POINT);
+    }
+}
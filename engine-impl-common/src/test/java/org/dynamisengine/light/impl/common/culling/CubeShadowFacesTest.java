@@ -0,0 +1,112 @@
+package org.dynamisengine.light.impl.common.culling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class CubeShadowFacesTest {
+    private static final int POS_X = 1;
+    private static final int NEG_X = 1 << 1;
+    private static final int POS_Y = 1 << 2;
+    private static final int POS_Z = 1 << 4;
+
+    @Test
+    void boxOnOneAxisOnlyCoversThatFace() {
+        assertEquals(POS_X, CubeShadowFaces.faceMask(0f, 0f, 0f, 20f, box(5f, 0f, 0f, 0.5f), 0));
+        assertEquals(NEG_X, CubeShadowFaces.faceMask(0f, 0f, 0f, 20f, box(-5f, 0f, 0f, 0.5f), 0));
+        assertEquals(POS_Z, CubeShadowFaces.faceMask(1f, 2f, 3f, 20f, box(1f, 2f, 9f, 0.5f), 0));
+    }
+
+    @Test
+    void boxOnAFaceEdgeCoversBothFaces() {
+        assertEquals(POS_X | POS_Y, CubeShadowFaces.faceMask(0f, 0f, 0f, 20f, box(5f, 5f, 0f, 0.5f), 0));
+    }
+
+    @Test
+    void boxAroundTheLightCoversEveryFace() {
+        assertEquals(CubeShadowFaces.ALL_FACES, CubeShadowFaces.faceMask(0f, 0f, 0f, 20f, box(0.2f, -0.1f, 0f, 1f), 0));
+    }
+
+    @Test
+    void floorBelowTheLightSkipsTheUpFace() {
+        float[] floor = {-10f, -2f, -10f, 10f, -1f, 10f};
+
+        assertEquals(CubeShadowFaces.ALL_FACES & ~POS_Y, CubeShadowFaces.faceMask(0f, 0f, 0f, 20f, floor, 0));
+    }
+
+    @Test
+    void boxBeyondTheLightRangeCoversNoFace() {
+        float[] bounds = new float[12];
+        System.arraycopy(box(0f, 0f, 0f, 1f), 0, bounds, 0, 6);
+        System.arraycopy(box(12f, 0f, 0f, 1f), 0, bounds, 6, 6);
+
+        assertEquals(0, CubeShadowFaces.faceMask(0f, 0f, 0f, 10f, bounds, 6));
+        assertEquals(POS_X, CubeShadowFaces.faceMask(0f, 0f, 0f, 11.5f, bounds, 6));
+    }
+
+    @Test
+    void lightOutsideTheViewFrustumOnlyRendersTheFacesFacingTheVisibleCasters() {
+        float[] planes = InstanceFrustumCuller.frustumPlanes(null);
+        float[] bounds = new float[12];
+        System.arraycopy(box(0f, 0f, 0f, 0.5f), 0, bounds, 0, 6);
+        System.arraycopy(new float[]{-1f, -1f, -1f, 1f, -0.9f, 1f}, 0, bounds, 6, 6);
+        assertFalse(InstanceFrustumCuller.sphereVisible(planes, 5f, 0f, 0f, 0.1f));
+
+        int submissions = 0;
+        for (int caster = 0; caster < 2; caster++) {
+            int mask = CubeShadowFaces.faceMask(5f, 0f, 0f, 20f, bounds, caster * 6);
+            assertEquals(NEG_X, mask, "caster " + caster);
+            submissions += Integer.bitCount(mask);
+        }
+
+        assertEquals(2, submissions);
+        assertEquals(10, 2 * CubeShadowFaces.FACE_COUNT - submissions);
+    }
+
+    @Test
+    void maskNeverDropsAFaceThatAPointOfTheBoxProjectsTo() {
+        Random random = new Random(42);
+        for (int trial = 0; trial < 500; trial++) {
+            float[] bounds = box(
+                    random.nextFloat() * 16f - 8f,
+                    random.nextFloat() * 16f - 8f,
+                    random.nextFloat() * 16f - 8f,
+                    random.nextFloat() * 3f + 0.05f);
+            int mask = CubeShadowFaces.faceMask(0f, 0f, 0f, 100f, bounds, 0);
+            for (int sample = 0; sample < 64; sample++) {
+                float x = lerp(bounds[0], bounds[3], random.nextFloat());
+                float y = lerp(bounds[1], bounds[4], random.nextFloat());
+                float z = lerp(bounds[2], bounds[5], random.nextFloat());
+                int face = dominantFace(x, y, z);
+                assertTrue((mask & (1 << face)) != 0, "trial " + trial + " misses face " + face);
+            }
+        }
+    }
+
+    private static int dominantFace(float x, float y, float z) {
+        float ax = Math.abs(x);
+        float ay = Math.abs(y);
+        float az = Math.abs(z);
+        if (ax >= ay && ax >= az) {
+            return x >= 0f ? 0 : 1;
+        }
+        if (ay >= az) {
+            return y >= 0f ? 2 : 3;
+        }
+        return z >= 0f ? 4 : 5;
+    }
+
+    private static float lerp(float a, float b, float t) {
+        return a + (b - a) * t;
+    }
+
+    private static float[] box(float cx, float cy, float cz, float halfExtent) {
+        return new float[]{
+                cx - halfExtent, cy - halfExtent, cz - halfExtent,
+                cx + halfExtent, cy + halfExtent, cz + halfExtent
+        };
+    }
+}
@@ -0,0 +1,75 @@
+package org.dynamisengine.light.impl.common.culling;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class DrawStateSorterTest {
+    @Test
+    void groupsByProgramThenTextureThenVertexArray() {
+        long[] keys = {
+                DrawStateSorter.stateKey(2, 7, 1),
+                DrawStateSorter.stateKey(1, 9, 3),
+                DrawStateSorter.stateKey(1, 7, 4),
+                DrawStateSorter.stateKey(1, 7, 2),
+                DrawStateSorter.stateKey(2, 0, 5)
+        };
+        int[] items = {0, 1, 2, 3, 4};
+
+        new DrawStateSorter().sort(items, items.length, keys);
+
+        assertArrayEquals(new int[]{3, 2, 1, 4, 0}, items);
+    }
+
+    @Test
+    void equalKeysKeepTheirOrderAndOnlyTheCountedPrefixMoves() {
+        long shared = DrawStateSorter.stateKey(3, 11, 40);
+        long[] keys = {shared, DrawStateSorter.stateKey(1, 1, 1), shared, shared, DrawStateSorter.stateKey(9, 9, 9)};
+        int[] items = {2, 0, 1, 3, 4};
+
+        new DrawStateSorter().sort(items, 4, keys);
+
+        assertArrayEquals(new int[]{1, 2, 0, 3, 4}, items);
+    }
+
+    @Test
+    void randomSubsetsComeOutNonDecreasingAndStable() {
+        Random random = new Random(161L);
+        int itemCount = 3_000;
+        long[] keys = new long[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            keys[i] = DrawStateSorter.stateKey(random.nextInt(4), random.nextInt(12), random.nextInt(300));
+        }
+        DrawStateSorter sorter = new DrawStateSorter();
+
+        for (int round = 0; round < 3; round++) {
+            int[] items = new int[itemCount];
+            int count = 0;
+            for (int i = 0; i < itemCount; i++) {
+                if (random.nextInt(3) != 0) {
+                    items[count++] = i;
+                }
+            }
+
+            sorter.sort(items, count, keys);
+
+            for (int i = 1; i < count; i++) {
+                long previous = keys[items[i - 1]];
+                long current = keys[items[i]];
+                assertTrue(previous < current || (previous == current && items[i - 1] < items[i]), "slot " + i);
+            }
+        }
+    }
+
+    @Test
+    void keyFieldsDoNotOverlap() {
+        long key = DrawStateSorter.stateKey(0xFFFF, 0xFF_FFFF, 0xFF_FFFF);
+
+        assertEquals(-1L, key);
+        assertEquals(1L << DrawStateSorter.PROGRAM_SHIFT, DrawStateSorter.stateKey(1, 0, 0));
+        assertEquals(1L << DrawStateSorter.TEXTURE_SHIFT, DrawStateSorter.stateKey(0, 1, 0));
+    }
+}
@@ -0,0 +1,172 @@
+package org.dynamisengine.light.impl.common.culling;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class DynamicBvhTest {
+    @Test
+    void cullMatchesBruteForceBoxTestsUnderPerspective() {
+        float[] planes = InstanceFrustumCuller.frustumPlanes(perspective((float) Math.toRadians(60.0), 16f / 9f, 0.1f, 200f));
+        int items = 5_000;
+        float[] bounds = randomBoxes(new Random(16L), items);
+        DynamicBvh bvh = new DynamicBvh();
+        bvh.build(bounds, items);
+        int[] visible = new int[items];
+
+        int count = bvh.cull(planes, visible);
+
+        assertEquals(2 * items - 1, bvh.nodeCount());
+        assertArrayEquals(bruteForce(planes, bounds, items), sorted(visible, count));
+        assertTrue(count > 0 && count < items, "count " + count);
+        assertTrue(bvh.lastVisitedNodes() < bvh.nodeCount(), "visited " + bvh.lastVisitedNodes());
+    }
+
+    @Test
+    void refitAfterMovingItemsMatchesBruteForceAndTouchesOnlyAncestors() {
+        float[] planes = InstanceFrustumCuller.frustumPlanes(perspective((float) Math.toRadians(75.0), 1f, 0.1f, 150f));
+        Random random = new Random(160L);
+        int items = 2_048;
+        float[] bounds = randomBoxes(random, items);
+        DynamicBvh bvh = new DynamicBvh();
+        bvh.build(bounds, items);
+        int[] visible = new int[items];
+
+        for (int frame = 0; frame < 4; frame++) {
+            for (int moved = 0; moved < 16; moved++) {
+                int item = random.nextInt(items);
+                float dx = random.nextFloat() * 60f - 30f;
+                float dz = random.nextFloat() * 60f - 30f;
+                int b = item * DynamicBvh.BOUNDS_FLOATS;
+                bounds[b] += dx;
+                bounds[b + 3] += dx;
+                bounds[b + 2] += dz;
+                bounds[b + 5] += dz;
+                bvh.update(item, bounds[b], bounds[b + 1], bounds[b + 2], bounds[b + 3], bounds[b + 4], bounds[b + 5]);
+            }
+
+            int refit = bvh.refit();
+            int count = bvh.cull(planes, visible);
+
+            assertTrue(refit <= 16 * 12, "refit " + refit);
+            assertArrayEquals(bruteForce(planes, bounds, items), sorted(visible, count), "frame " + frame);
+        }
+        assertEquals(0, bvh.refit());
+    }
+
+    @Test
+    void rootEnclosesEveryItemAfterRefit() {
+        float[] bounds = {
+                0f, 0f, 0f, 1f, 1f, 1f,
+                4f, 0f, 0f, 5f, 1f, 1f,
+                -3f, 2f, 0f, -2f, 3f, 1f
+        };
+        DynamicBvh bvh = new DynamicBvh();
+        bvh.build(bounds, 3);
+        bvh.update(1, 10f, -5f, 0f, 11f, -4f, 1f);
+        bvh.refit();
+        float[] root = new float[DynamicBvh.BOUNDS_FLOATS];
+
+        bvh.rootBounds(root);
+
+        assertArrayEquals(new float[]{-3f, -5f, 0f, 11f, 3f, 1f}, root);
+    }
+
+    @Test
+    void emptyTreeCullsNothing() {
+        DynamicBvh bvh = new DynamicBvh();
+        bvh.build(new float[0], 0);
+
+        assertEquals(0, bvh.cull(InstanceFrustumCuller.frustumPlanes(null), new int[0]));
+        assertEquals(0, bvh.refit());
+    }
+
+    @Test
+    void transformedBoundsEncloseEveryTransformedCorner() {
+        float c = (float) Math.cos(0.7);
+        float s = (float) Math.sin(0.7);
+        float[] model = {
+                2f * c, 0f, -2f * s, 0f,
+                0f, 1f, 0f, 0f,
+                2f * s, 0f, 2f * c, 0f,
+                5f, -1f, 3f, 1f
+        };
+        float[] local = {-1f, -2f, -0.5f, 1f, 2f, 0.5f};
+        float[] world = new float[DynamicBvh.BOUNDS_FLOATS];
+
+        DynamicBvh.transformBounds(model, local, 0, world, 0);
+
+        for (int corner = 0; corner < 8; corner++) {
+            float x = (corner & 1) != 0 ? local[3] : local[0];
+            float y = (corner & 2) != 0 ? local[4] : local[1];
+            float z = (corner & 4) != 0 ? local[5] : local[2];
+            float wx = model[0] * x + model[4] * y + model[8] * z + model[12];
+            float wy = model[1] * x + model[5] * y + model[9] * z + model[13];
+            float wz = model[2] * x + model[6] * y + model[10] * z + model[14];
+            assertTrue(wx >= world[0] - 1e-4f && wx <= world[3] + 1e-4f, "corner " + corner);
+            assertTrue(wy >= world[1] - 1e-4f && wy <= world[4] + 1e-4f, "corner " + corner);
+            assertTrue(wz >= world[2] - 1e-4f && wz <= world[5] + 1e-4f, "corner " + corner);
+        }
+    }
+
+    private static float[] randomBoxes(Random random, int items) {
+        float[] bounds = new float[items * DynamicBvh.BOUNDS_FLOATS];
+        for (int i = 0; i < items; i++) {
+            float x = random.nextFloat() * 400f - 200f;
+            float y = random.nextFloat() * 400f - 200f;
+            float z = -random.nextFloat() * 300f + 50f;
+            float hx = 0.25f + random.nextFloat() * 4f;
+            float hy = 0.25f + random.nextFloat() * 4f;
+            float hz = 0.25f + random.nextFloat() * 4f;
+            int b = i * DynamicBvh.BOUNDS_FLOATS;
+            bounds[b] = x - hx;
+            bounds[b + 1] = y - hy;
+            bounds[b + 2] = z - hz;
+            bounds[b + 3] = x + hx;
+            bounds[b + 4] = y + hy;
+            bounds[b + 5] = z + hz;
+        }
+        return bounds;
+    }
+
+    private static int[] bruteForce(float[] planes, float[] bounds, int items) {
+        int[] visible = new int[items];
+        int count = 0;
+        for (int i = 0; i < items; i++) {
+            int b = i * DynamicBvh.BOUNDS_FLOATS;
+            boolean inside = true;
+            for (int p = 0; p < InstanceFrustumCuller.PLANE_FLOATS; p += 4) {
+                float x = planes[p] >= 0f ? bounds[b + 3] : bounds[b];
+                float y = planes[p + 1] >= 0f ? bounds[b + 4] : bounds[b + 1];
+                float z = planes[p + 2] >= 0f ? bounds[b + 5] : bounds[b + 2];
+                if (planes[p] * x + planes[p + 1] * y + planes[p + 2] * z + planes[p + 3] < 0f) {
+                    inside = false;
+                }
+            }
+            if (inside) {
+                visible[count++] = i;
+            }
+        }
+        return Arrays.copyOf(visible, count);
+    }
+
+    private static int[] sorted(int[] visible, int count) {
+        int[] copy = Arrays.copyOf(visible, count);
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    private static float[] perspective(float fovY, float aspect, float near, float far) {
+        float f = (float) (1.0 / Math.tan(fovY * 0.5));
+        return new float[]{
+                f / aspect, 0f, 0f, 0f,
+                0f, f, 0f, 0f,
+                0f, 0f, far / (near - far), -1f,
+                0f, 0f, (near * far) / (near - far), 0f
+        };
+    }
+}
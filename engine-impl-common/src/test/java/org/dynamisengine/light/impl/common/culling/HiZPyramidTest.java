@@ -0,0 +1,148 @@
+package org.dynamisengine.light.impl.common.culling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class HiZPyramidTest {
+    @Test
+    void everyLevelCoversTheFarthestDepthOfItsSourceTexelsAtOddExtents() {
+        int width = 37;
+        int height = 21;
+        Random random = new Random(15L);
+        float[] depth = new float[width * height];
+        for (int i = 0; i < depth.length; i++) {
+            depth[i] = random.nextFloat();
+        }
+
+        HiZPyramid pyramid = HiZPyramid.build(depth, width, height);
+
+        assertEquals(6, pyramid.levels());
+        assertEquals(1, pyramid.width(pyramid.levels() - 1));
+        assertEquals(1, pyramid.height(pyramid.levels() - 1));
+        float globalMax = 0f;
+        for (float d : depth) {
+            globalMax = Math.max(globalMax, d);
+        }
+        assertEquals(globalMax, pyramid.depth(pyramid.levels() - 1, 0, 0));
+        for (int level = 0; level < pyramid.levels(); level++) {
+            assertEquals(HiZPyramid.levelExtent(width, level), pyramid.width(level));
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    int lx = Math.min(x >> level, pyramid.width(level) - 1);
+                    int ly = Math.min(y >> level, pyramid.height(level) - 1);
+                    assertTrue(pyramid.depth(level, lx, ly) >= depth[y * width + x],
+                            "level " + level + " texel " + x + "," + y);
+                }
+            }
+        }
+    }
+
+    @Test
+    void sphereBehindAWallIsOccludedAndOneInFrontIsNot() {
+        int size = 64;
+        float[] depth = new float[size * size];
+        Arrays.fill(depth, 1f);
+        for (int y = 8; y < 56; y++) {
+            for (int x = 8; x < 56; x++) {
+                depth[y * size + x] = 0.3f;
+            }
+        }
+        HiZPyramid pyramid = HiZPyramid.build(depth, size, size);
+        float[] viewProj = ortho(10f);
+
+        assertTrue(pyramid.sphereOccluded(viewProj, 0f, 0f, -5f, 1f));
+        assertFalse(pyramid.sphereOccluded(viewProj, 0f, 0f, 5f, 1f));
+        assertFalse(pyramid.sphereOccluded(viewProj, 9f, 0f, -5f, 1f), "sphere reaching past the wall edge");
+        assertFalse(pyramid.sphereOccluded(viewProj, 0f, 0f, -5f, 0f));
+    }
+
+    @Test
+    void spheresCrossingTheNearPlaneAreNeverOccluded() {
+        float[] depth = new float[16 * 16];
+        HiZPyramid pyramid = HiZPyramid.build(depth, 16, 16);
+        float[] viewProj = perspective((float) Math.toRadians(60.0), 1f, 0.1f, 100f);
+
+        assertTrue(pyramid.sphereOccluded(viewProj, 0f, 0f, -10f, 1f));
+        assertFalse(pyramid.sphereOccluded(viewProj, 0f, 0f, -0.5f, 1f));
+        assertFalse(pyramid.sphereOccluded(viewProj, 0f, 0f, 5f, 1f));
+    }
+
+    @Test
+    void occludedSpheresAreBehindEveryDepthTexelTheyCover() {
+        int width = 96;
+        int height = 54;
+        Random random = new Random(150L);
+        float[] depth = new float[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                depth[y * width + x] = 0.5f + 0.45f * (float) Math.sin(x * 0.11) * (float) Math.cos(y * 0.07);
+            }
+        }
+        HiZPyramid pyramid = HiZPyramid.build(depth, width, height);
+        float[] viewProj = perspective((float) Math.toRadians(70.0), 16f / 9f, 0.1f, 50f);
+
+        int occluded = 0;
+        for (int i = 0; i < 5_000; i++) {
+            float x = random.nextFloat() * 40f - 20f;
+            float y = random.nextFloat() * 24f - 12f;
+            float z = -1f - random.nextFloat() * 45f;
+            float r = 0.05f + random.nextFloat() * 2f;
+            if (!pyramid.sphereOccluded(viewProj, x, y, z, r)) {
+                continue;
+            }
+            occluded++;
+            float[] box = projectedBox(viewProj, x, y, z, r);
+            for (int ty = HiZPyramid.texel(box[1], height); ty <= HiZPyramid.texel(box[3], height); ty++) {
+                for (int tx = HiZPyramid.texel(box[0], width); tx <= HiZPyramid.texel(box[2], width); tx++) {
+                    assertTrue(depth[ty * width + tx] < box[4], "sphere " + i + " visible at " + tx + "," + ty);
+                }
+            }
+        }
+        assertTrue(occluded > 0);
+    }
+
+    /** minX, minY, maxX, maxY, minZ in NDC for the sphere's bounding cube. */
+    private static float[] projectedBox(float[] m, float x, float y, float z, float r) {
+        float[] box = {Float.MAX_VALUE, Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE, Float.MAX_VALUE};
+        for (int corner = 0; corner < 8; corner++) {
+            float px = (corner & 1) != 0 ? x + r : x - r;
+            float py = (corner & 2) != 0 ? y + r : y - r;
+            float pz = (corner & 4) != 0 ? z + r : z - r;
+            float w = m[3] * px + m[7] * py + m[11] * pz + m[15];
+            float nx = (m[0] * px + m[4] * py + m[8] * pz + m[12]) / w;
+            float ny = (m[1] * px + m[5] * py + m[9] * pz + m[13]) / w;
+            float nz = (m[2] * px + m[6] * py + m[10] * pz + m[14]) / w;
+            box[0] = Math.min(box[0], nx);
+            box[1] = Math.min(box[1], ny);
+            box[2] = Math.max(box[2], nx);
+            box[3] = Math.max(box[3], ny);
+            box[4] = Math.min(box[4], nz);
+        }
+        return box;
+    }
+
+    private static float[] ortho(float extent) {
+        float s = 1f / extent;
+        return new float[]{
+                s, 0f, 0f, 0f,
+                0f, s, 0f, 0f,
+                0f, 0f, -0.5f * s, 0f,
+                0f, 0f, 0.5f, 1f
+        };
+    }
+
+    private static float[] perspective(float fovY, float aspect, float near, float far) {
+        float f = (float) (1.0 / Math.tan(fovY * 0.5));
+        return new float[]{
+                f / aspect, 0f, 0f, 0f,
+                0f, f, 0f, 0f,
+                0f, 0f, far / (near - far), -1f,
+                0f, 0f, (near * far) / (near - far), 0f
+        };
+    }
+}
@@ -0,0 +1,124 @@
+package org.dynamisengine.light.impl.common.culling;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class InstanceFrustumCullerTest {
+    private static final int STRIDE_FLOATS = 20;
+
+    @Test
+    void keepsInstancesInsideAnOrthographicBoxAndDropsTheRest() {
+        float[] planes = InstanceFrustumCuller.frustumPlanes(ortho(10f));
+        float[] models = new float[4 * STRIDE_FLOATS];
+        writeModel(models, 0, 0f, 0f, 0f, 1f);
+        writeModel(models, 1, 20f, 0f, 0f, 1f);
+        writeModel(models, 2, 0f, -9.5f, 0f, 1f);
+        writeModel(models, 3, 0f, 0f, -40f, 1f);
+        int[] visible = new int[4];
+
+        int count = InstanceFrustumCuller.cullInstances(planes, 0f, 0f, 0f, 1f, models, STRIDE_FLOATS, 4, visible);
+
+        assertEquals(2, count);
+        assertArrayEquals(new int[]{0, 2}, Arrays.copyOf(visible, count));
+    }
+
+    @Test
+    void instanceScaleGrowsTheBoundingSphere() {
+        float[] planes = InstanceFrustumCuller.frustumPlanes(ortho(10f));
+        float[] models = new float[2 * STRIDE_FLOATS];
+        writeModel(models, 0, 14f, 0f, 0f, 1f);
+        writeModel(models, 1, 14f, 0f, 0f, 5f);
+        int[] visible = new int[2];
+
+        int count = InstanceFrustumCuller.cullInstances(planes, 0f, 0f, 0f, 1f, models, STRIDE_FLOATS, 2, visible);
+
+        assertEquals(1, count);
+        assertEquals(1, visible[0]);
+    }
+
+    @Test
+    void missingMatrixYieldsTheIdentityFrustum() {
+        float[] planes = InstanceFrustumCuller.frustumPlanes(null);
+
+        assertTrue(InstanceFrustumCuller.sphereVisible(planes, 0.5f, -0.5f, 0.5f, 0.01f));
+        assertFalse(InstanceFrustumCuller.sphereVisible(planes, 3f, 0f, 0f, 0.5f));
+    }
+
+    @Test
+    void matchesBruteForcePlaneTestsUnderPerspective() {
+        float[] viewProj = perspective((float) Math.toRadians(60.0), 16f / 9f, 0.1f, 200f);
+        float[] planes = InstanceFrustumCuller.frustumPlanes(viewProj);
+        Random random = new Random(14L);
+        int instances = 10_000;
+        float[] models = new float[instances * STRIDE_FLOATS];
+        for (int i = 0; i < instances; i++) {
+            writeModel(models, i,
+                    random.nextFloat() * 400f - 200f,
+                    random.nextFloat() * 400f - 200f,
+                    -random.nextFloat() * 300f + 50f,
+                    0.25f + random.nextFloat() * 4f);
+        }
+        int[] visible = new int[instances];
+
+        int count = InstanceFrustumCuller.cullInstances(planes, 0.5f, 0f, 0f, 1.5f, models, STRIDE_FLOATS, instances, visible);
+
+        int expected = 0;
+        for (int i = 0; i < instances; i++) {
+            int m = i * STRIDE_FLOATS;
+            float scale = models[m];
+            float cx = models[m + 12] + 0.5f * scale;
+            float cy = models[m + 13];
+            float cz = models[m + 14];
+            boolean inside = true;
+            for (int p = 0; p < InstanceFrustumCuller.PLANE_FLOATS; p += 4) {
+                if (planes[p] * cx + planes[p + 1] * cy + planes[p + 2] * cz + planes[p + 3] < -1.5f * scale) {
+                    inside = false;
+                }
+            }
+            if (inside) {
+                assertEquals(i, visible[expected], "visible slot " + expected);
+                expected++;
+            }
+        }
+        assertEquals(expected, count);
+        assertTrue(count > 0 && count < instances, "count " + count);
+    }
+
+    private static void writeModel(float[] models, int instance, float x, float y, float z, float scale) {
+        int m = instance * STRIDE_FLOATS;
+        models[m] = scale;
+        models[m + 5] = scale;
+        models[m + 10] = scale;
+        models[m + 12] = x;
+        models[m + 13] = y;
+        models[m + 14] = z;
+        models[m + 15] = 1f;
+    }
+
+    /** Symmetric box of half-extent {@code extent}; depth maps to [0, 1] over z in [-extent, extent]. */
+    private static float[] ortho(float extent) {
+        float s = 1f / extent;
+        return new float[]{
+                s, 0f, 0f, 0f,
+                0f, s, 0f, 0f,
+                0f, 0f, -0.5f * s, 0f,
+                0f, 0f, 0.5f, 1f
+        };
+    }
+
+    private static float[] perspective(float fovY, float aspect, float near, float far) {
+        float f = (float) (1.0 / Math.tan(fovY * 0.5));
+        return new float[]{
+                f / aspect, 0f, 0f, 0f,
+                0f, f, 0f, 0f,
+                0f, 0f, far / (near - far), -1f,
+                0f, 0f, (near * far) / (near - far), 0f
+        };
+    }
+}
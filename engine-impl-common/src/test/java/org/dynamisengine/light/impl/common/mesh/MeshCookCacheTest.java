@@ -0,0 +1,106 @@
+package org.dynamisengine.light.impl.common.mesh;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MeshCookCacheTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void storedCookIsFoundOnNextLookup() throws Exception {
+        Path source = writeSource("cube.obj", "v 0 0 0\n");
+        MeshCookCache cache = new MeshCookCache(tempDir.resolve("cook"), "pipeline-a");
+
+        MeshCookCache.Lookup miss = cache.lookup(source, "cube");
+        assertFalse(miss.hit());
+        cache.store(miss, new byte[]{1, 2, 3});
+
+        MeshCookCache.Lookup hit = cache.lookup(source, "cube");
+        assertTrue(hit.hit());
+        assertEquals(miss.path(), hit.path());
+        assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(hit.path()));
+    }
+
+    @Test
+    void editedSourceMisses() throws Exception {
+        Path source = writeSource("cube.obj", "v 0 0 0\n");
+        MeshCookCache cache = new MeshCookCache(tempDir.resolve("cook"), "pipeline-a");
+        MeshCookCache.Lookup first = cache.lookup(source, "cube");
+        cache.store(first, new byte[]{1});
+
+        Files.writeString(source, "v 1 1 1\n");
+        bumpMtime(source);
+        MeshCookCache.Lookup second = cache.lookup(source, "cube");
+
+        assertFalse(second.hit());
+        assertNotEquals(first.contentKey(), second.contentKey());
+    }
+
+    @Test
+    void touchedButUnchangedSourceStillHits() throws Exception {
+        Path source = writeSource("cube.obj", "v 0 0 0\n");
+        MeshCookCache cache = new MeshCookCache(tempDir.resolve("cook"), "pipeline-a");
+        MeshCookCache.Lookup first = cache.lookup(source, "cube");
+        cache.store(first, new byte[]{1});
+
+        bumpMtime(source);
+        MeshCookCache.Lookup touched = cache.lookup(source, "cube");
+
+        assertTrue(touched.hit());
+        assertEquals(first.contentKey(), touched.contentKey());
+        assertNotEquals(first.stamp(), touched.stamp());
+    }
+
+    @Test
+    void pipelineChangeAndSharedContentAreKeyedByContent() throws Exception {
+        Path a = writeSource("a.obj", "v 0 0 0\n");
+        Path b = writeSource("b.obj", "v 0 0 0\n");
+        MeshCookCache cacheA = new MeshCookCache(tempDir.resolve("cook"), "pipeline-a");
+        cacheA.store(cacheA.lookup(a, "a"), new byte[]{1});
+
+        assertTrue(cacheA.lookup(b, "b").hit(), "identical content shares one cooked file");
+        assertFalse(new MeshCookCache(tempDir.resolve("cook"), "pipeline-b").lookup(a, "a").hit());
+    }
+
+    @Test
+    void editedGltfBufferMissesEvenWhenTheGltfIsUnchanged() throws Exception {
+        Path source = writeSource("tri.gltf", "{\"buffers\":[{\"uri\":\"tri%20data.bin\",\"byteLength\":4},"
+                + "{\"uri\":\"data:application/octet-stream;base64,AAAA\",\"byteLength\":3}]}");
+        Path buffer = tempDir.resolve("tri data.bin");
+        Files.write(buffer, new byte[]{1, 2, 3, 4});
+        MeshCookCache cache = new MeshCookCache(tempDir.resolve("cook"), "pipeline-a");
+
+        assertEquals(List.of(buffer.toAbsolutePath().normalize()), MeshCookCache.dependencies(source));
+        MeshCookCache.Lookup first = cache.lookup(source, "tri");
+        cache.store(first, new byte[]{1});
+        assertTrue(cache.lookup(source, "tri").hit());
+
+        Files.write(buffer, new byte[]{4, 3, 2, 1});
+        bumpMtime(buffer);
+        MeshCookCache.Lookup edited = cache.lookup(source, "tri");
+
+        assertFalse(edited.hit());
+        assertNotEquals(first.contentKey(), edited.contentKey());
+    }
+
+    private Path writeSource(String name, String content) throws Exception {
+        Path source = tempDir.resolve(name);
+        Files.writeString(source, content);
+        return source;
+    }
+
+    private static void bumpMtime(Path source) throws Exception {
+        Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() + 5_000L));
+    }
+}
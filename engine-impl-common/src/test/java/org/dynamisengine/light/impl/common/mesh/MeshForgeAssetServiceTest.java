@@ -0,0 +1,49 @@
+package org.dynamisengine.light.impl.common.mesh;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MeshForgeAssetServiceTest {
+    private static final String TRIANGLE = "v 0 0 0\nv 1 0 0\nv 0 1 0\nf 1 2 3\n";
+    private static final String QUAD = "v 0 0 0\nv 1 0 0\nv 1 1 0\nv 0 1 0\nf 1 2 3\nf 1 3 4\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void firstLoadCooksSecondLoadHitsAndEditingTheSourceReCooks() throws Exception {
+        Path assets = Files.createDirectories(tempDir.resolve("assets"));
+        Path cookDir = tempDir.resolve("cook");
+        Path source = assets.resolve("tri.obj");
+        Files.writeString(source, TRIANGLE);
+
+        MeshLoadResult first = new MeshForgeAssetService(assets, 8, cookDir).load("tri.obj");
+        assertFalse(first.fromMgi(), "first load imports the source and cooks it");
+        assertEquals(1L, countFiles(cookDir, ".mgi"));
+
+        MeshLoadResult second = new MeshForgeAssetService(assets, 8, cookDir).load("tri.obj");
+        assertTrue(second.fromMgi(), "second load reuses the cooked MGI");
+        assertEquals(first.payload().vertexCount(), second.payload().vertexCount());
+
+        Files.writeString(source, QUAD);
+        Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() + 5_000L));
+        MeshLoadResult edited = new MeshForgeAssetService(assets, 8, cookDir).load("tri.obj");
+        assertFalse(edited.fromMgi(), "an edited source invalidates its cooked entry");
+        assertEquals(2L, countFiles(cookDir, ".mgi"));
+        assertEquals(1L, countFiles(assets, ""), "cooking never writes into the asset tree");
+    }
+
+    private static long countFiles(Path directory, String suffix) throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(suffix)).count();
+        }
+    }
+}
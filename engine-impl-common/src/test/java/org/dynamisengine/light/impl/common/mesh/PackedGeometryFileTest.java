@@ -0,0 +1,80 @@
+package org.dynamisengine.light.impl.common.mesh;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PackedGeometryFileTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void mappedStreamsMatchWrittenBytes() throws Exception {
+        int vertexCount = 3;
+        int stride = 20;
+        ByteBuffer vertices = ByteBuffer.allocate(vertexCount * stride).order(ByteOrder.LITTLE_ENDIAN);
+        for (int v = 0; v < vertexCount; v++) {
+            vertices.putFloat(v).putFloat(v * 2f).putFloat(v * 3f).putFloat(0.25f * v).putFloat(0.5f);
+        }
+        vertices.flip();
+        ByteBuffer indices = ByteBuffer.allocate(6).order(ByteOrder.LITTLE_ENDIAN).putShort((short) 2).putShort((short) 1).putShort((short) 0).flip();
+        Path file = tempDir.resolve("tri.dlpg");
+
+        PackedGeometryFile.write(file, vertices, vertexCount, stride,
+                List.of(new PackedGeometryFile.Attribute("POSITION", 0, 0), new PackedGeometryFile.Attribute("UV", 0, 12)),
+                indices, 3, 2);
+
+        try (MappedGeometry mapped = PackedGeometryFile.map(file)) {
+            assertEquals(vertexCount, mapped.vertexCount());
+            assertEquals(stride, mapped.strideBytes());
+            assertEquals(12, mapped.attributeOffset("UV", 0));
+            assertEquals(-1, mapped.attributeOffset("NORMAL", 0));
+            assertEquals(0L, mapped.vertexSegment().address() % 16);
+            ByteBuffer vb = mapped.vertexBytes();
+            assertEquals(vertexCount * stride, vb.remaining());
+            assertEquals(vertices, vb);
+            assertEquals(6f, vb.getFloat(2 * stride + 8));
+            assertEquals(3, mapped.indexCount());
+            assertEquals(2, mapped.indexSize());
+            assertEquals(2, (int) mapped.indexBytes().getShort(0));
+        }
+    }
+
+    @Test
+    void nonIndexedGeometryHasEmptyIndexStream() throws Exception {
+        Path file = tempDir.resolve("points.dlpg");
+        PackedGeometryFile.write(file, ByteBuffer.allocate(24), 2, 12,
+                List.of(new PackedGeometryFile.Attribute("POSITION", 0, 0)), null, 0, 4);
+
+        try (MappedGeometry mapped = PackedGeometryFile.map(file)) {
+            assertEquals(0, mapped.indexCount());
+            assertEquals(0, mapped.indexSize());
+            assertEquals(0, mapped.indexBytes().remaining());
+        }
+    }
+
+    @Test
+    void rejectsTruncatedAndForeignFiles() throws Exception {
+        Path file = tempDir.resolve("tri.dlpg");
+        PackedGeometryFile.write(file, ByteBuffer.allocate(36), 3, 12,
+                List.of(new PackedGeometryFile.Attribute("POSITION", 0, 0)), null, 0, 0);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+        assertThrows(IOException.class, () -> PackedGeometryFile.map(file));
+
+        Path foreign = tempDir.resolve("mesh.mgi");
+        Files.write(foreign, new byte[128]);
+        IOException error = assertThrows(IOException.class, () -> PackedGeometryFile.map(foreign));
+        assertTrue(error.getMessage().contains("mesh.mgi"));
+    }
+}
@@ -0,0 +1,122 @@
+package org.dynamisengine.light.impl.common.mesh;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.dynamisengine.light.api.error.EngineErrorCode;
+import org.dynamisengine.light.api.error.EngineException;
+import org.dynamisengine.light.api.mesh.DmeshV1;
+import org.dynamisengine.light.api.mesh.MeshFormats;
+import org.dynamisengine.light.api.mesh.MeshUploadRequest;
+import org.dynamisengine.light.api.mesh.MeshUploadResult;
+import org.junit.jupiter.api.Test;
+
+class RegisteredMeshTableTest {
+    @Test
+    void batchUploadsNewMeshesOnceAndDedupesByContentHash() throws Exception {
+        RegisteredMeshTable<String> table = new RegisteredMeshTable<>();
+        List<Integer> uploadCalls = new ArrayList<>();
+
+        List<MeshUploadResult> results = table.register(List.of(
+                request("a", 11L, 1f, false),
+                request("b", 22L, 2f, false),
+                request("c", 11L, 1f, false)
+        ), payloads -> {
+            uploadCalls.add(payloads.size());
+            return payloads.stream().map(RegisteredMeshPayload::meshId).toList();
+        });
+
+        assertEquals(List.of(2), uploadCalls);
+        assertEquals(new MeshUploadResult(1, false, "a"), results.get(0));
+        assertEquals(new MeshUploadResult(2, false, "b"), results.get(1));
+        assertEquals(new MeshUploadResult(1, true, "c"), results.get(2));
+        assertSame(table.byHandle(1), table.byMeshId("c"));
+        assertEquals(2, table.byHandle(1).refCount());
+
+        assertNull(table.remove(1));
+        assertEquals("a", table.remove(1));
+        assertNull(table.byMeshId("c"));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    void allowDuplicateUploadsSeparateCopies() throws Exception {
+        RegisteredMeshTable<String> table = new RegisteredMeshTable<>();
+        List<MeshUploadResult> results = table.register(List.of(
+                request("a", 11L, 1f, false),
+                request("b", 11L, 1f, true)
+        ), payloads -> payloads.stream().map(RegisteredMeshPayload::meshId).toList());
+
+        assertFalse(results.get(1).reused());
+        assertEquals(2, results.get(1).meshHandle());
+    }
+
+    @Test
+    void failedBatchRecordsNothing() {
+        RegisteredMeshTable<String> table = new RegisteredMeshTable<>();
+        EngineException failure = assertThrows(EngineException.class, () -> table.register(
+                List.of(request("a", 11L, 1f, false), request("b", 22L, 2f, false)),
+                payloads -> {
+                    throw new EngineException(EngineErrorCode.BACKEND_INIT_FAILED, "out of memory", false);
+                }));
+
+        assertEquals(EngineErrorCode.BACKEND_INIT_FAILED, failure.code());
+        assertEquals(0, table.size());
+        assertNull(table.byMeshId("a"));
+    }
+
+    @Test
+    void rejectsTakenMeshIdAndMalformedPayloads() throws Exception {
+        RegisteredMeshTable<String> table = new RegisteredMeshTable<>();
+        table.register(List.of(request("a", 11L, 1f, false)), payloads -> List.of("a"));
+
+        EngineException taken = assertThrows(EngineException.class,
+                () -> table.register(List.of(request("a", 22L, 2f, false)), payloads -> List.of("x")));
+        assertEquals(EngineErrorCode.INVALID_ARGUMENT, taken.code());
+
+        byte[] outOfRange = DmeshV1.encode(triangle(0f), new int[]{0, 1, 3});
+        EngineException badIndex = assertThrows(EngineException.class, () -> table.register(
+                List.of(new MeshUploadRequest("bad", MeshFormats.DMESH_V1, outOfRange, 33L)), payloads -> List.of("x")));
+        assertEquals(EngineErrorCode.INVALID_ARGUMENT, badIndex.code());
+
+        byte[] truncated = Arrays.copyOf(DmeshV1.encode(triangle(0f), new int[]{0, 1, 2}), 40);
+        assertThrows(EngineException.class, () -> table.register(
+                List.of(new MeshUploadRequest("short", MeshFormats.DMESH_V1, truncated, 44L)), payloads -> List.of("x")));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    void payloadBoundsAndSlicesComeFromThePayload() throws Exception {
+        RegisteredMeshPayload payload = RegisteredMeshPayload.parse(request("a", 11L, 2f, false));
+
+        assertEquals(3, payload.vertexCount());
+        assertEquals(3L * DmeshV1.VERTEX_STRIDE_BYTES, payload.vertexBytes());
+        assertEquals(3L * Integer.BYTES, payload.indexBytes());
+        assertArrayEquals(new float[]{2f, 0f, 0f, 3f, 1f, 0f}, payload.aabb());
+        assertTrue(payload.sphere()[3] > 0.7f);
+    }
+
+    private static MeshUploadRequest request(String meshId, long hash, float offset, boolean allowDuplicate) {
+        byte[] payload = DmeshV1.encode(triangle(offset), new int[]{0, 1, 2});
+        return new MeshUploadRequest(meshId, MeshFormats.DMESH_V1, payload, hash, allowDuplicate);
+    }
+
+    private static float[] triangle(float offset) {
+        float[] vertices = new float[DmeshV1.VERTEX_FLOATS * 3];
+        float[][] positions = {{offset, 0f, 0f}, {offset + 1f, 0f, 0f}, {offset, 1f, 0f}};
+        for (int v = 0; v < 3; v++) {
+            int base = v * DmeshV1.VERTEX_FLOATS;
+            System.arraycopy(positions[v], 0, vertices, base, 3);
+            vertices[base + 5] = 1f;
+        }
+        return vertices;
+    }
+}
@@ -0,0 +1,77 @@
+package org.dynamisengine.light.impl.common.mesh;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class VertexCacheStatsTest {
+    @Test
+    void nonIndexedGeometryTransformsEveryVertex() {
+        VertexCacheStats stats = VertexCacheStats.nonIndexed(36);
+
+        assertEquals(12, stats.triangles());
+        assertEquals(36, stats.transforms());
+        assertEquals(3.0, stats.acmr(), 1e-9);
+        assertEquals(1.0, stats.atvr(), 1e-9);
+    }
+
+    @Test
+    void sharedQuadVerticesHitTheCache() {
+        VertexCacheStats stats = VertexCacheStats.estimate(new int[]{0, 1, 2, 2, 1, 3}, 4);
+
+        assertEquals(2, stats.triangles());
+        assertEquals(4, stats.uniqueVertices());
+        assertEquals(4, stats.transforms());
+        assertEquals(2.0, stats.acmr(), 1e-9);
+    }
+
+    @Test
+    void gridInStripOrderBeatsExpandedTriangles() {
+        int cells = 32;
+        int[] indices = grid(cells);
+        int vertexCount = (cells + 1) * (cells + 1);
+
+        VertexCacheStats indexed = VertexCacheStats.estimate(indices, vertexCount);
+        VertexCacheStats expanded = VertexCacheStats.nonIndexed(indices.length);
+
+        assertEquals(expanded.triangles(), indexed.triangles());
+        assertEquals(vertexCount, indexed.uniqueVertices());
+        assertTrue(indexed.acmr() < 1.5, "acmr=" + indexed.acmr());
+        assertTrue(indexed.transforms() * 2 < expanded.transforms());
+    }
+
+    @Test
+    void evictedVerticesAreTransformedAgain() {
+        // Vertex 0 is pushed out of a 3-entry FIFO by 3 and misses again; 2 and 3 are still cached after it.
+        int[] indices = {0, 1, 2, 3, 1, 2, 0, 2, 3};
+        VertexCacheStats stats = VertexCacheStats.estimate(i -> indices[i], indices.length, 4, 3);
+
+        assertEquals(5, stats.transforms());
+        assertEquals(4, stats.uniqueVertices());
+    }
+
+    @Test
+    void rejectsIndicesOutsideTheVertexRange() {
+        assertThrows(IllegalArgumentException.class, () -> VertexCacheStats.estimate(new int[]{0, 1, 4}, 3));
+        assertEquals(VertexCacheStats.EMPTY, VertexCacheStats.estimate(new int[]{0, 1}, 3));
+    }
+
+    private static int[] grid(int cells) {
+        int[] indices = new int[cells * cells * 6];
+        int out = 0;
+        for (int y = 0; y < cells; y++) {
+            for (int x = 0; x < cells; x++) {
+                int v = y * (cells + 1) + x;
+                indices[out++] = v;
+                indices[out++] = v + cells + 1;
+                indices[out++] = v + 1;
+                indices[out++] = v + 1;
+                indices[out++] = v + cells + 1;
+                indices[out++] = v + cells + 2;
+            }
+        }
+        return indices;
+    }
+}
@@ -0,0 +1,144 @@
+package org.dynamisengine.light.impl.common.shadow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class ShadowAtlasAllocatorTest {
+    @Test
+    void descendingSizeRequestsPackTheAtlasCompletely() {
+        ShadowAtlasAllocator allocator = new ShadowAtlasAllocator(16384, 64);
+        Random random = new Random(7L);
+        List<Integer> sizes = new ArrayList<>();
+        long area = 0L;
+        long atlasArea = 16384L * 16384L;
+        while (area < atlasArea) {
+            int size = 64 << random.nextInt(7);
+            if (area + (long) size * size > atlasArea) {
+                size = 64;
+            }
+            sizes.add(size);
+            area += (long) size * size;
+        }
+        sizes.sort((a, b) -> Integer.compare(b, a));
+
+        for (int i = 0; i < sizes.size(); i++) {
+            assertNotNull(allocator.allocate("tile-" + i, sizes.get(i), i), "allocation " + i + " should fit");
+        }
+
+        assertEquals(1.0f, allocator.utilization(), 1.0e-6f);
+        assertEquals(0, allocator.largestFreeTileSizePx());
+        assertNull(allocator.allocate("overflow", 64, 0));
+        assertNoOverlap(allocator.placements());
+    }
+
+    @Test
+    void randomChurnKeepsInvariantsAndCoalescesBackToOneBlock() {
+        ShadowAtlasAllocator allocator = new ShadowAtlasAllocator(8192, 64);
+        Random random = new Random(42L);
+        List<String> live = new ArrayList<>();
+        long expectedUsed = 0L;
+        for (int step = 0; step < 20_000; step++) {
+            if (!live.isEmpty() && random.nextInt(100) < 45) {
+                String id = live.remove(random.nextInt(live.size()));
+                int size = allocator.placement(id).tileSizePx();
+                assertTrue(allocator.free(id));
+                expectedUsed -= (long) size * size;
+            } else {
+                String id = "light-" + step;
+                int size = 64 << random.nextInt(6);
+                ShadowAtlasAllocator.Placement placement = allocator.allocate(id, size, step);
+                if (placement != null) {
+                    live.add(id);
+                    expectedUsed += (long) size * size;
+                    assertEquals(0, placement.xPx() % size);
+                    assertEquals(0, placement.yPx() % size);
+                }
+            }
+            assertEquals(expectedUsed, allocator.usedPixels());
+        }
+        assertNoOverlap(allocator.placements());
+
+        for (String id : live) {
+            allocator.free(id);
+        }
+        assertEquals(0L, allocator.usedPixels());
+        assertEquals(1, allocator.freeBlockCount());
+        assertEquals(8192, allocator.largestFreeTileSizePx());
+    }
+
+    @Test
+    void evictionFollowsLastUseTickAndSkipsPinnedIds() {
+        ShadowAtlasAllocator allocator = new ShadowAtlasAllocator(1024, 64);
+        allocator.allocate("a", 512, 5);
+        allocator.allocate("b", 512, 1);
+        allocator.allocate("c", 512, 3);
+        allocator.touch("b", 9);
+
+        assertEquals("c", allocator.evictLeastRecentlyUsed(Set.of()));
+        assertEquals("b", allocator.evictLeastRecentlyUsed(Set.of("a")));
+        assertNull(allocator.evictLeastRecentlyUsed(Set.of("a")));
+        assertEquals(1, allocator.allocationCount());
+    }
+
+    @Test
+    void reserveClaimsExactAlignedTilesOnly() {
+        ShadowAtlasAllocator allocator = new ShadowAtlasAllocator(1024, 64);
+
+        assertNotNull(allocator.reserve("a", 512, 256, 256, 0));
+        assertNull(allocator.reserve("b", 512, 256, 256, 0));
+        assertNull(allocator.reserve("c", 100, 0, 256, 0));
+        assertNull(allocator.reserve("d", 512, 0, 512, 0));
+        assertNotNull(allocator.reserve("e", 0, 0, 512, 0));
+        assertNoOverlap(allocator.placements());
+    }
+
+    @Test
+    void defragmentationMovesFewTilesAndRestoresLargestFreeBlock() {
+        ShadowAtlasAllocator allocator = new ShadowAtlasAllocator(1024, 64);
+        for (int i = 0; i < 16; i++) {
+            allocator.allocate("t" + i, 256, i);
+        }
+        // Leave one 256 tile alive in each 512 quadrant.
+        for (int i = 0; i < 16; i++) {
+            if (i % 4 != 3) {
+                allocator.free("t" + i);
+            }
+        }
+        assertEquals(256, allocator.largestFreeTileSizePx());
+
+        List<ShadowAtlasAllocator.Move> moves = allocator.defragment(8);
+
+        assertEquals(3, moves.size());
+        assertEquals(512, allocator.largestFreeTileSizePx());
+        assertNoOverlap(allocator.placements());
+        assertTrue(allocator.defragment(8).isEmpty());
+    }
+
+    private static void assertNoOverlap(List<ShadowAtlasAllocator.Placement> placements) {
+        List<ShadowAtlasAllocator.Placement> sorted = new ArrayList<>(placements);
+        sorted.sort((a, b) -> a.xPx() != b.xPx() ? Integer.compare(a.xPx(), b.xPx()) : Integer.compare(a.yPx(), b.yPx()));
+        for (int i = 0; i < sorted.size(); i++) {
+            ShadowAtlasAllocator.Placement a = sorted.get(i);
+            for (int j = i + 1; j < sorted.size(); j++) {
+                ShadowAtlasAllocator.Placement b = sorted.get(j);
+                if (b.xPx() >= a.xPx() + a.tileSizePx()) {
+                    break;
+                }
+                boolean overlap = a.xPx() < b.xPx() + b.tileSizePx()
+                        && a.xPx() + a.tileSizePx() > b.xPx()
+                        && a.yPx() < b.yPx() + b.tileSizePx()
+                        && a.yPx() + a.tileSizePx() > b.yPx();
+                assertFalse(overlap, "shadow atlas allocations must not overlap: " + a + " / " + b);
+            }
+        }
+    }
+}
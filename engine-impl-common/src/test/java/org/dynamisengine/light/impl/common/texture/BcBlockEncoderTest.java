@@ -0,0 +1,254 @@
+package org.dynamisengine.light.impl.common.texture;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class BcBlockEncoderTest {
+    private static final int[] BC7_WEIGHTS_4 = {0, 4, 9, 13, 17, 21, 26, 30, 34, 38, 43, 47, 51, 55, 60, 64};
+
+    @Test
+    void bc1MeetsPsnrOnSmoothReference() {
+        byte[] image = referenceImage(64, 64, false);
+        byte[] encoded = BcBlockEncoder.encodeBc1(image, 64, 64);
+
+        assertEquals(16 * 16 * 8, encoded.length);
+        double psnr = psnr(image, decode(encoded, 64, 64, 8, BcBlockEncoderTest::decodeBc1Block), 3);
+        assertTrue(psnr > 32.0, "BC1 PSNR " + psnr);
+    }
+
+    @Test
+    void bc3KeepsAlphaGradients() {
+        byte[] image = referenceImage(64, 64, true);
+        byte[] decoded = decode(BcBlockEncoder.encodeBc3(image, 64, 64), 64, 64, 16, (block, offset, out) -> {
+            decodeBc1Block(block, offset + 8, out);
+            decodeBc4Block(block, offset, out, 3);
+        });
+
+        assertTrue(psnr(image, decoded, 3) > 32.0, "BC3 color PSNR");
+        assertTrue(psnrChannel(image, decoded, 3) > 40.0, "BC3 alpha PSNR");
+    }
+
+    @Test
+    void bc5EncodesRedAndGreenIndependently() {
+        byte[] image = referenceImage(32, 32, false);
+        byte[] decoded = decode(BcBlockEncoder.encodeBc5(image, 32, 32), 32, 32, 16, (block, offset, out) -> {
+            decodeBc4Block(block, offset, out, 0);
+            decodeBc4Block(block, offset + 8, out, 1);
+        });
+
+        assertTrue(psnrChannel(image, decoded, 0) > 40.0, "BC5 red PSNR");
+        assertTrue(psnrChannel(image, decoded, 1) > 40.0, "BC5 green PSNR");
+    }
+
+    @Test
+    void bc7Mode6BeatsBc1AndUsesMode6Layout() {
+        byte[] image = referenceImage(64, 64, true);
+        byte[] encoded = BcBlockEncoder.encodeBc7(image, 64, 64);
+        byte[] decoded = decode(encoded, 64, 64, 16, BcBlockEncoderTest::decodeBc7Mode6Block);
+
+        for (int block = 0; block < encoded.length / 16; block++) {
+            assertEquals(0x40, encoded[block * 16] & 0x7F, "mode 6 prefix");
+        }
+        double bc7 = psnr(image, decoded, 4);
+        double bc1 = psnr(image, decode(BcBlockEncoder.encodeBc1(image, 64, 64), 64, 64, 8, BcBlockEncoderTest::decodeBc1Block), 3);
+        assertTrue(bc7 > 38.0, "BC7 PSNR " + bc7);
+        assertTrue(bc7 > bc1, "BC7 should beat BC1: " + bc7 + " vs " + bc1);
+    }
+
+    @Test
+    void solidBlocksAndPartialEdgesRoundTripExactly() {
+        byte[] image = new byte[5 * 3 * 4];
+        for (int i = 0; i < 15; i++) {
+            image[i * 4] = (byte) 0xF9;
+            image[i * 4 + 1] = (byte) 0x81;
+            image[i * 4 + 2] = 0x11;
+            image[i * 4 + 3] = (byte) 0xFF;
+        }
+        byte[] bc7 = BcBlockEncoder.encodeBc7(image, 5, 3);
+
+        assertEquals(2 * 16, bc7.length);
+        assertArrayEquals(image, decode(bc7, 5, 3, 16, BcBlockEncoderTest::decodeBc7Mode6Block));
+        assertEquals(2 * 8, BcBlockEncoder.encodeBc1(image, 5, 3).length);
+        assertEquals(2 * 16, BcBlockEncoder.encodeBc3(image, 5, 3).length);
+    }
+
+    private static byte[] referenceImage(int width, int height, boolean alpha) {
+        Random random = new Random(1234L);
+        byte[] out = new byte[width * height * 4];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int i = (y * width + x) * 4;
+                double fx = x / (double) width;
+                double fy = y / (double) height;
+                out[i] = (byte) clamp(128 + 100 * Math.sin(fx * 6.0) + random.nextInt(5) - 2);
+                out[i + 1] = (byte) clamp(255 * fy + random.nextInt(5) - 2);
+                out[i + 2] = (byte) clamp(64 + 120 * fx * fy);
+                out[i + 3] = (byte) (alpha ? clamp(255 * (1.0 - fx)) : 255);
+            }
+        }
+        return out;
+    }
+
+    @FunctionalInterface
+    private interface BlockDecoder {
+        void decode(byte[] data, int offset, int[] outRgba);
+    }
+
+    private static byte[] decode(byte[] data, int width, int height, int blockBytes, BlockDecoder decoder) {
+        byte[] out = new byte[width * height * 4];
+        int blocksX = (width + 3) / 4;
+        int[] texels = new int[64];
+        for (int by = 0; by < (height + 3) / 4; by++) {
+            for (int bx = 0; bx < blocksX; bx++) {
+                java.util.Arrays.fill(texels, 255);
+                decoder.decode(data, (by * blocksX + bx) * blockBytes, texels);
+                for (int t = 0; t < 16; t++) {
+                    int x = bx * 4 + (t & 3);
+                    int y = by * 4 + (t >> 2);
+                    if (x < width && y < height) {
+                        for (int c = 0; c < 4; c++) {
+                            out[(y * width + x) * 4 + c] = (byte) texels[t * 4 + c];
+                        }
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    private static void decodeBc1Block(byte[] data, int offset, int[] out) {
+        int c0 = (data[offset] & 0xFF) | ((data[offset + 1] & 0xFF) << 8);
+        int c1 = (data[offset + 2] & 0xFF) | ((data[offset + 3] & 0xFF) << 8);
+        int[][] palette = new int[4][];
+        palette[0] = rgb565(c0);
+        palette[1] = rgb565(c1);
+        palette[2] = new int[3];
+        palette[3] = new int[3];
+        for (int c = 0; c < 3; c++) {
+            palette[2][c] = (2 * palette[0][c] + palette[1][c]) / 3;
+            palette[3][c] = (palette[0][c] + 2 * palette[1][c]) / 3;
+        }
+        int bits = readInt(data, offset + 4);
+        for (int t = 0; t < 16; t++) {
+            int[] color = palette[(bits >>> (2 * t)) & 3];
+            out[t * 4] = color[0];
+            out[t * 4 + 1] = color[1];
+            out[t * 4 + 2] = color[2];
+        }
+    }
+
+    private static void decodeBc4Block(byte[] data, int offset, int[] out, int channel) {
+        int a0 = data[offset] & 0xFF;
+        int a1 = data[offset + 1] & 0xFF;
+        int[] palette = new int[8];
+        palette[0] = a0;
+        palette[1] = a1;
+        if (a0 > a1) {
+            for (int i = 1; i < 7; i++) {
+                palette[i + 1] = ((7 - i) * a0 + i * a1 + 3) / 7;
+            }
+        } else {
+            for (int i = 1; i < 5; i++) {
+                palette[i + 1] = ((5 - i) * a0 + i * a1 + 2) / 5;
+            }
+            palette[6] = 0;
+            palette[7] = 255;
+        }
+        long bits = 0L;
+        for (int i = 0; i < 6; i++) {
+            bits |= (long) (data[offset + 2 + i] & 0xFF) << (8 * i);
+        }
+        for (int t = 0; t < 16; t++) {
+            out[t * 4 + channel] = palette[(int) ((bits >>> (3 * t)) & 7)];
+        }
+    }
+
+    private static void decodeBc7Mode6Block(byte[] data, int offset, int[] out) {
+        long lo = readLong(data, offset);
+        long hi = readLong(data, offset + 8);
+        int[] cursor = {7};
+        int[] e0 = new int[4];
+        int[] e1 = new int[4];
+        for (int c = 0; c < 4; c++) {
+            e0[c] = bits(lo, hi, cursor, 7);
+            e1[c] = bits(lo, hi, cursor, 7);
+        }
+        int p0 = bits(lo, hi, cursor, 1);
+        int p1 = bits(lo, hi, cursor, 1);
+        for (int c = 0; c < 4; c++) {
+            e0[c] = (e0[c] << 1) | p0;
+            e1[c] = (e1[c] << 1) | p1;
+        }
+        for (int t = 0; t < 16; t++) {
+            int index = bits(lo, hi, cursor, t == 0 ? 3 : 4);
+            int w = BC7_WEIGHTS_4[index];
+            for (int c = 0; c < 4; c++) {
+                out[t * 4 + c] = ((64 - w) * e0[c] + w * e1[c] + 32) >> 6;
+            }
+        }
+    }
+
+    private static int bits(long lo, long hi, int[] cursor, int count) {
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            int position = cursor[0]++;
+            long word = position < 64 ? lo : hi;
+            value |= (int) ((word >>> (position & 63)) & 1L) << i;
+        }
+        return value;
+    }
+
+    private static int[] rgb565(int c) {
+        int r = (c >>> 11) & 31;
+        int g = (c >>> 5) & 63;
+        int b = c & 31;
+        return new int[]{(r << 3) | (r >>> 2), (g << 2) | (g >>> 4), (b << 3) | (b >>> 2)};
+    }
+
+    private static double psnr(byte[] expected, byte[] actual, int channels) {
+        double mse = 0.0;
+        for (int c = 0; c < channels; c++) {
+            mse += meanSquaredError(expected, actual, c);
+        }
+        return toPsnr(mse / channels);
+    }
+
+    private static double psnrChannel(byte[] expected, byte[] actual, int channel) {
+        return toPsnr(meanSquaredError(expected, actual, channel));
+    }
+
+    private static double meanSquaredError(byte[] expected, byte[] actual, int channel) {
+        double sum = 0.0;
+        int count = expected.length / 4;
+        for (int i = 0; i < count; i++) {
+            int d = (expected[i * 4 + channel] & 0xFF) - (actual[i * 4 + channel] & 0xFF);
+            sum += d * d;
+        }
+        return sum / count;
+    }
+
+    private static double toPsnr(double mse) {
+        return mse == 0.0 ? Double.POSITIVE_INFINITY : 10.0 * Math.log10(255.0 * 255.0 / mse);
+    }
+
+    private static int readInt(byte[] data, int offset) {
+        return (data[offset] & 0xFF) | ((data[offset + 1] & 0xFF) << 8)
+                | ((data[offset + 2] & 0xFF) << 16) | ((data[offset + 3] & 0xFF) << 24);
+    }
+
+    private static long readLong(byte[] data, int offset) {
+        long value = 0L;
+        for (int i = 0; i < 8; i++) {
+            value |= (long) (data[offset + i] & 0xFF) << (8 * i);
+        }
+        return value;
+    }
+
+    private static int clamp(double value) {
+        return (int) Math.max(0, Math.min(255, Math.round(value)));
+    }
+}
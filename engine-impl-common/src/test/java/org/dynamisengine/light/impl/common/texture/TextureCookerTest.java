@@ -0,0 +1,166 @@
+package org.dynamisengine.light.impl.common.texture;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TextureCookerTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void mipChainHalvesDownToOneTexel() {
+        List<TextureMipChain.Level> levels = TextureMipChain.generate(new byte[13 * 6 * 4], 13, 6, true, TextureMipChain.Filter.BOX);
+
+        assertEquals(TextureMipChain.levelCount(13, 6), levels.size());
+        assertEquals(4, levels.size());
+        assertEquals(6, levels.get(1).width());
+        assertEquals(3, levels.get(1).height());
+        assertEquals(1, levels.getLast().width());
+        assertEquals(1, levels.getLast().height());
+    }
+
+    @Test
+    void srgbMipsAverageInLinearSpace() {
+        byte[] checker = new byte[4 * 4 * 4];
+        for (int i = 0; i < 16; i++) {
+            byte value = (byte) (((i & 1) ^ ((i >> 2) & 1)) == 0 ? 0 : 255);
+            checker[i * 4] = value;
+            checker[i * 4 + 1] = value;
+            checker[i * 4 + 2] = value;
+            checker[i * 4 + 3] = value;
+        }
+
+        for (TextureMipChain.Filter filter : TextureMipChain.Filter.values()) {
+            TextureMipChain.Level srgb = TextureMipChain.generate(checker, 4, 4, true, filter).getLast();
+            TextureMipChain.Level linear = TextureMipChain.generate(checker, 4, 4, false, filter).getLast();
+            // 50% linear coverage is ~188 in sRGB, not the naive 128; alpha stays linear either way.
+            assertTrue(Math.abs((srgb.rgba()[0] & 0xFF) - 188) <= 2, filter + " srgb " + (srgb.rgba()[0] & 0xFF));
+            assertTrue(Math.abs((srgb.rgba()[3] & 0xFF) - 128) <= 2, filter + " alpha " + (srgb.rgba()[3] & 0xFF));
+            assertTrue(Math.abs((linear.rgba()[0] & 0xFF) - 128) <= 2, filter + " linear " + (linear.rgba()[0] & 0xFF));
+        }
+    }
+
+    @Test
+    void ktx2RoundTripPreservesLevelsAndMetadata() {
+        CookedTexture cooked = TextureCooker.cook(gradient(20, 12), 20, 12,
+                new TextureCooker.Options(TextureCooker.Format.BC7, true, TextureMipChain.Filter.KAISER, false));
+
+        Ktx2TextureFile.Contents contents = Ktx2TextureFile.decode(Ktx2TextureFile.encode(cooked, Map.of("dle.source", "42:7")));
+
+        assertNotNull(contents);
+        assertEquals("42:7", contents.keyValues().get("dle.source"));
+        assertEquals(TextureCooker.Format.BC7, contents.texture().format());
+        assertTrue(contents.texture().srgb());
+        assertEquals(146, contents.texture().vkFormat());
+        assertEquals(cooked.levelCount(), contents.texture().levelCount());
+        for (int level = 0; level < cooked.levelCount(); level++) {
+            assertArrayEquals(cooked.levels().get(level).data(), contents.texture().levels().get(level).data());
+        }
+        assertEquals(16, cooked.levels().getFirst().data().length / (5 * 3));
+    }
+
+    @Test
+    void bc5DropsSrgbAndRejectsCorruptFiles() {
+        TextureCooker.Options options = new TextureCooker.Options(TextureCooker.Format.BC5, true, null, true);
+        byte[] encoded = Ktx2TextureFile.encode(TextureCooker.cook(gradient(8, 8), 8, 8, options), Map.of());
+
+        assertFalse(options.srgb());
+        assertEquals("bc5-unorm-kaiser-ru", options.variant());
+        encoded[80 + 8] ^= 1;
+        assertNull(Ktx2TextureFile.decode(encoded));
+    }
+
+    @Test
+    void cookReusesCacheUntilSourceChanges() throws Exception {
+        Path assets = Files.createDirectories(tempDir.resolve("assets"));
+        Path cache = tempDir.resolve("cache");
+        Path source = assets.resolve("albedo.png");
+        Files.write(source, new byte[]{1, 2, 3});
+        TextureCooker.Options options = new TextureCooker.Options(TextureCooker.Format.BC1, true, TextureMipChain.Filter.BOX, true);
+        AtomicInteger decodes = new AtomicInteger();
+        TextureCooker.RgbaDecoder decoder = path -> {
+            decodes.incrementAndGet();
+            return new KtxDecodeUtil.DecodedRgba(16, 8, gradient(16, 8));
+        };
+
+        CookedTexture first = TextureCooker.cook(source, options, decoder, cache);
+        CookedTexture second = TextureCooker.cook(source, options, decoder, cache);
+
+        assertEquals(1, decodes.get());
+        assertTrue(Files.isRegularFile(TextureCooker.cachePath(cache, source, options)));
+        assertTrue(TextureCooker.cachePath(cache, source, options).getFileName().toString().endsWith(".bc1-srgb-box-ru.ktx2"));
+        try (var stream = Files.list(assets)) {
+            assertEquals(1L, stream.count());
+        }
+        assertEquals(5, second.levelCount());
+        assertArrayEquals(first.levels().getFirst().data(), second.levels().getFirst().data());
+
+        Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() + 5_000L));
+        TextureCooker.cook(source, options, decoder, cache);
+        assertEquals(2, decodes.get());
+
+        TextureCooker.cook(source, new TextureCooker.Options(TextureCooker.Format.BC7, true, TextureMipChain.Filter.BOX, true), decoder, cache);
+        assertEquals(3, decodes.get());
+        assertNull(TextureCooker.cook(tempDir.resolve("missing.png"), options, decoder, cache));
+    }
+
+    @Test
+    void sameNamedSourcesInDifferentFoldersGetDistinctCacheFiles() throws Exception {
+        TextureCooker.Options options = new TextureCooker.Options(TextureCooker.Format.RGBA8, false, null, false);
+        Path cache = tempDir.resolve("cache");
+
+        Path first = TextureCooker.cachePath(cache, tempDir.resolve("a").resolve("albedo.png"), options);
+        Path second = TextureCooker.cachePath(cache, tempDir.resolve("b").resolve("albedo.png"), options);
+
+        assertEquals(cache, first.getParent());
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void nullCacheDirectoryCooksInMemoryOnly() throws Exception {
+        Path source = tempDir.resolve("mask.png");
+        Files.write(source, new byte[]{4, 5});
+        AtomicInteger decodes = new AtomicInteger();
+        TextureCooker.RgbaDecoder decoder = path -> {
+            decodes.incrementAndGet();
+            return new KtxDecodeUtil.DecodedRgba(4, 4, gradient(4, 4));
+        };
+        TextureCooker.Options options = new TextureCooker.Options(TextureCooker.Format.RGBA8, false, null, false);
+
+        assertNotNull(TextureCooker.cook(source, options, decoder, null));
+        assertNotNull(TextureCooker.cook(source, options, decoder, null));
+
+        assertEquals(2, decodes.get());
+        try (var stream = Files.list(tempDir)) {
+            assertEquals(1L, stream.count());
+        }
+    }
+
+    private static byte[] gradient(int width, int height) {
+        byte[] out = new byte[width * height * 4];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int i = (y * width + x) * 4;
+                out[i] = (byte) (x * 255 / Math.max(1, width - 1));
+                out[i + 1] = (byte) (y * 255 / Math.max(1, height - 1));
+                out[i + 2] = (byte) ((x + y) * 8);
+                out[i + 3] = (byte) 255;
+            }
+        }
+        return out;
+    }
+}
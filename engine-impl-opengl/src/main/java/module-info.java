@@ -8,6 +8,7 @@ module org.dynamisengine.light.impl.opengl {
     requires org.lwjgl.stb;
     requires com.fasterxml.jackson.databind;
     requires java.desktop;
+    requires java.logging;
     requires meshforge;
     requires meshforge.dynamisgpu;
     requires org.dynamisengine.debug.api;
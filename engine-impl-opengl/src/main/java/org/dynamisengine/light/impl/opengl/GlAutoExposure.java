@@ -0,0 +1,192 @@
+package org.dynamisengine.light.impl.opengl;
+
+/**
+ * CPU half of auto-exposure. The post processor reduces the HDR scene color to a small grid of
+ * log2-luminance values and reads it back a few frames late; this class bins those values into a
+ * histogram, averages the bins between two percentiles (so a few very dark or very bright pixels do
+ * not swing the exposure), and adapts the exposure toward {@code keyValue / averageLuminance}.
+ *
+ * <p>Adaptation runs in log2 space with separate rates for raising and lowering exposure, the same
+ * way eyes adjust to darkness more slowly than to light. No GL calls; package-private.
+ */
+final class GlAutoExposure {
+
+    static final float DEFAULT_MIN_LOG2_LUMINANCE = -10.0f;
+    static final float DEFAULT_MAX_LOG2_LUMINANCE = 6.0f;
+    static final int DEFAULT_BIN_COUNT = 64;
+    static final float DEFAULT_KEY_VALUE = 0.18f;
+
+    private final float minLog2Luminance;
+    private final float log2LuminanceRange;
+    private final int[] bins;
+    private final float lowPercentile;
+    private final float highPercentile;
+    private final float keyValue;
+    private final float raiseRate;
+    private final float lowerRate;
+    private final float minExposure;
+    private final float maxExposure;
+    private int sampleCount;
+    private float exposure = 1.0f;
+    private boolean adapted;
+
+    GlAutoExposure() {
+        this(DEFAULT_MIN_LOG2_LUMINANCE, DEFAULT_MAX_LOG2_LUMINANCE, DEFAULT_BIN_COUNT,
+                0.50f, 0.95f, DEFAULT_KEY_VALUE, 1.0f, 3.0f, 0.03f, 16.0f);
+    }
+
+    /**
+     * @param minLog2Luminance lower edge of the histogram; darker samples fall into the first bin
+     * @param maxLog2Luminance upper edge of the histogram; brighter samples fall into the last bin
+     * @param binCount histogram bins
+     * @param lowPercentile fraction of the darkest samples ignored by the average
+     * @param highPercentile fraction of samples, counted from the darkest, above which samples are ignored
+     * @param keyValue target average luminance after exposure (middle grey)
+     * @param raiseRate adaptation rate per second when exposure goes up (scene got darker)
+     * @param lowerRate adaptation rate per second when exposure goes down (scene got brighter)
+     * @param minExposure lower exposure clamp
+     * @param maxExposure upper exposure clamp
+     */
+    GlAutoExposure(
+            float minLog2Luminance,
+            float maxLog2Luminance,
+            int binCount,
+            float lowPercentile,
+            float highPercentile,
+            float keyValue,
+            float raiseRate,
+            float lowerRate,
+            float minExposure,
+            float maxExposure
+    ) {
+        if (!(maxLog2Luminance > minLog2Luminance) || binCount < 2
+                || lowPercentile < 0f || highPercentile > 1f || !(highPercentile > lowPercentile)
+                || keyValue <= 0f || minExposure <= 0f || maxExposure < minExposure) {
+            throw new IllegalArgumentException("invalid auto-exposure configuration");
+        }
+        this.minLog2Luminance = minLog2Luminance;
+        this.log2LuminanceRange = maxLog2Luminance - minLog2Luminance;
+        this.bins = new int[binCount];
+        this.lowPercentile = lowPercentile;
+        this.highPercentile = highPercentile;
+        this.keyValue = keyValue;
+        this.raiseRate = Math.max(0f, raiseRate);
+        this.lowerRate = Math.max(0f, lowerRate);
+        this.minExposure = minExposure;
+        this.maxExposure = maxExposure;
+    }
+
+    /** Rebuilds the histogram from the first {@code count} log2-luminance samples; non-finite samples are skipped. */
+    void buildHistogram(float[] log2Luminance, int count) {
+        java.util.Arrays.fill(bins, 0);
+        sampleCount = 0;
+        int n = Math.min(count, log2Luminance.length);
+        for (int i = 0; i < n; i++) {
+            float value = log2Luminance[i];
+            if (!Float.isFinite(value)) {
+                continue;
+            }
+            bins[binOf(value)]++;
+            sampleCount++;
+        }
+    }
+
+    int binCount() {
+        return bins.length;
+    }
+
+    int binValue(int bin) {
+        return bins[bin];
+    }
+
+    int sampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * Mean log2 luminance of the samples between the low and high percentiles, using bin centres.
+     * Returns {@code NaN} for an empty histogram.
+     */
+    float averageLog2Luminance() {
+        if (sampleCount == 0) {
+            return Float.NaN;
+        }
+        float skipLow = sampleCount * lowPercentile;
+        float keep = sampleCount * highPercentile - skipLow;
+        double weighted = 0.0;
+        double taken = 0.0;
+        for (int bin = 0; bin < bins.length && keep > 0f; bin++) {
+            float count = bins[bin];
+            float skipped = Math.min(count, skipLow);
+            skipLow -= skipped;
+            count -= skipped;
+            float used = Math.min(count, keep);
+            keep -= used;
+            weighted += used * binCenter(bin);
+            taken += used;
+        }
+        return taken > 0.0 ? (float) (weighted / taken) : Float.NaN;
+    }
+
+    /** Exposure that maps the current histogram average to {@code keyValue}; the current exposure when empty. */
+    float targetExposure() {
+        float average = averageLog2Luminance();
+        if (Float.isNaN(average)) {
+            return exposure;
+        }
+        return clampExposure((float) (keyValue / Math.pow(2.0, average)));
+    }
+
+    /**
+     * Moves the exposure toward {@link #targetExposure()} over {@code dtSeconds}. The first histogram
+     * after a reset is applied directly.
+     *
+     * @return the adapted exposure
+     */
+    float adapt(float dtSeconds) {
+        if (sampleCount == 0) {
+            return exposure;
+        }
+        float target = targetExposure();
+        if (!adapted) {
+            exposure = target;
+            adapted = true;
+            return exposure;
+        }
+        double current = log2(exposure);
+        double goal = log2(target);
+        float rate = goal > current ? raiseRate : lowerRate;
+        double t = 1.0 - Math.exp(-Math.max(0f, dtSeconds) * rate);
+        exposure = clampExposure((float) Math.pow(2.0, current + (goal - current) * t));
+        return exposure;
+    }
+
+    float exposure() {
+        return exposure;
+    }
+
+    void reset() {
+        java.util.Arrays.fill(bins, 0);
+        sampleCount = 0;
+        exposure = 1.0f;
+        adapted = false;
+    }
+
+    private int binOf(float log2Luminance) {
+        float normalized = (log2Luminance - minLog2Luminance) / log2LuminanceRange;
+        int bin = (int) Math.floor(normalized * bins.length);
+        return Math.max(0, Math.min(bins.length - 1, bin));
+    }
+
+    private float binCenter(int bin) {
+        return minLog2Luminance + (bin + 0.5f) * log2LuminanceRange / bins.length;
+    }
+
+    private float clampExposure(float value) {
+        return Math.max(minExposure, Math.min(maxExposure, value));
+    }
+
+    private static double log2(float value) {
+        return Math.log(value) / Math.log(2.0);
+    }
+}
@@ -0,0 +1,30 @@
+package org.dynamisengine.light.impl.opengl;
+
+/**
+ * Storage for driver-produced program binaries ({@code glGetProgramBinary} output).
+ *
+ * <p>Implementations own key derivation, persistence and invalidation and never touch GL, so they can be
+ * exercised without a context. {@link GlProgramLinker} is the only GL-facing caller.</p>
+ */
+interface GlProgramBinaryCache {
+
+    /** A program binary and the driver-specific format enum it was retrieved with. */
+    record Binary(int format, byte[] data) {
+    }
+
+    record Stats(long hits, long misses, long stores, long invalidations) {
+    }
+
+    /** Stable key for {@code source} on the driver this cache was created for. */
+    String keyOf(GlProgramSource source);
+
+    /** Returns the stored binary for {@code key}, or {@code null} when absent or unreadable. */
+    Binary load(String key);
+
+    void store(String key, Binary binary);
+
+    /** Drops {@code key}; called when the driver rejects a stored binary. */
+    void invalidate(String key);
+
+    Stats stats();
+}
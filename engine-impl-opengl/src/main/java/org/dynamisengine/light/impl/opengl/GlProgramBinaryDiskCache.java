@@ -0,0 +1,200 @@
+package org.dynamisengine.light.impl.opengl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * {@link GlProgramBinaryCache} persisted as one {@code <key>.glbin} file per program.
+ *
+ * <p>Keys are SHA-256 of (driver vendor, renderer, version, sorted defines, vertex source, fragment source),
+ * so a driver update or any source edit simply misses and old files are never fed to the wrong driver. Each
+ * file starts with a fixed header (magic, layout version, key digest, binary format, length, CRC-32); a file
+ * whose header or checksum does not match is deleted on load.</p>
+ *
+ * <p>The runtime cache lives under {@code ~/.dynamis/shader-cache/gl-program} by default. Override with
+ * {@code -Ddle.opengl.programCache.dir=<path>} or disable it with {@code -Ddle.opengl.programCache.disk=false}.</p>
+ */
+final class GlProgramBinaryDiskCache implements GlProgramBinaryCache {
+    static final String FILE_SUFFIX = ".glbin";
+    static final int MAGIC = 0x444C4750; // "DLGP"
+    static final int LAYOUT_VERSION = 1;
+    static final int HEADER_BYTES = 4 + 4 + 32 + 4 + 4 + 4;
+
+    private final Path cacheDir;
+    private final String vendor;
+    private final String renderer;
+    private final String version;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong stores = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    GlProgramBinaryDiskCache(Path cacheDir, String vendor, String renderer, String version) {
+        this.cacheDir = cacheDir;
+        this.vendor = vendor == null ? "" : vendor;
+        this.renderer = renderer == null ? "" : renderer;
+        this.version = version == null ? "" : version;
+    }
+
+    /** Cache configured from system properties, or {@code null} when disk caching is disabled. */
+    static GlProgramBinaryDiskCache fromSystemProperties(String vendor, String renderer, String version) {
+        if (!Boolean.parseBoolean(System.getProperty("dle.opengl.programCache.disk", "true"))) {
+            return null;
+        }
+        Path dir = Path.of(System.getProperty(
+                "dle.opengl.programCache.dir",
+                Path.of(System.getProperty("user.home"), ".dynamis", "shader-cache", "gl-program").toString()));
+        return new GlProgramBinaryDiskCache(dir, vendor, renderer, version);
+    }
+
+    @Override
+    public String keyOf(GlProgramSource source) {
+        return HexFormat.of().formatHex(digestOf(source));
+    }
+
+    @Override
+    public Binary load(String key) {
+        Path path = cacheDir.resolve(key + FILE_SUFFIX);
+        if (!Files.isRegularFile(path)) {
+            misses.incrementAndGet();
+            return null;
+        }
+        Binary binary;
+        try {
+            binary = decode(key, Files.readAllBytes(path));
+        } catch (IOException e) {
+            binary = null;
+        }
+        if (binary == null) {
+            invalidate(key);
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return binary;
+    }
+
+    @Override
+    public void store(String key, Binary binary) {
+        if (binary == null || binary.data() == null || binary.data().length == 0) {
+            return;
+        }
+        Path temp = null;
+        try {
+            Files.createDirectories(cacheDir);
+            Path target = cacheDir.resolve(key + FILE_SUFFIX);
+            temp = Files.createTempFile(cacheDir, key, ".tmp");
+            Files.write(temp, encode(key, binary));
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temp = null;
+            stores.incrementAndGet();
+        } catch (IOException ignored) {
+            // A cache that cannot be written only costs the next startup a source compile.
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    @Override
+    public void invalidate(String key) {
+        try {
+            if (Files.deleteIfExists(cacheDir.resolve(key + FILE_SUFFIX))) {
+                invalidations.incrementAndGet();
+            }
+        } catch (IOException ignored) {
+        }
+    }
+
+    @Override
+    public Stats stats() {
+        return new Stats(hits.get(), misses.get(), stores.get(), invalidations.get());
+    }
+
+    static byte[] encode(String key, Binary binary) {
+        byte[] data = binary.data();
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + data.length);
+        out.putInt(MAGIC)
+                .putInt(LAYOUT_VERSION)
+                .put(HexFormat.of().parseHex(key))
+                .putInt(binary.format())
+                .putInt(data.length)
+                .putInt((int) crc.getValue())
+                .put(data);
+        return out.array();
+    }
+
+    /** Returns the binary in {@code bytes}, or {@code null} if the header, key or checksum does not match. */
+    static Binary decode(String key, byte[] bytes) {
+        if (bytes.length < HEADER_BYTES) {
+            return null;
+        }
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        if (in.getInt() != MAGIC || in.getInt() != LAYOUT_VERSION) {
+            return null;
+        }
+        byte[] storedKey = new byte[32];
+        in.get(storedKey);
+        if (!MessageDigest.isEqual(storedKey, HexFormat.of().parseHex(key))) {
+            return null;
+        }
+        int format = in.getInt();
+        int length = in.getInt();
+        int checksum = in.getInt();
+        if (length <= 0 || length != in.remaining()) {
+            return null;
+        }
+        byte[] data = new byte[length];
+        in.get(data);
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return (int) crc.getValue() == checksum ? new Binary(format, data) : null;
+    }
+
+    private byte[] digestOf(GlProgramSource source) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, vendor);
+            update(digest, renderer);
+            update(digest, version);
+            for (Map.Entry<String, String> define : source.defines().entrySet()) {
+                digest.update(define.getKey().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '=');
+                if (define.getValue() != null) {
+                    digest.update(define.getValue().getBytes(StandardCharsets.UTF_8));
+                }
+                digest.update((byte) 0);
+            }
+            digest.update((byte) 0);
+            update(digest, source.vertexSource());
+            update(digest, source.fragmentSource());
+            if (source.geometrySource() != null) {
+                update(digest, source.geometrySource());
+            }
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+}
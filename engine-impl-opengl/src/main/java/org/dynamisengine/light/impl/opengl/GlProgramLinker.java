@@ -0,0 +1,202 @@
+package org.dynamisengine.light.impl.opengl;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import org.dynamisengine.light.api.error.EngineErrorCode;
+import org.dynamisengine.light.api.error.EngineException;
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GLCapabilities;
+import org.lwjgl.system.MemoryStack;
+
+import static org.lwjgl.opengl.GL11.GL_NO_ERROR;
+import static org.lwjgl.opengl.GL11.GL_RENDERER;
+import static org.lwjgl.opengl.GL11.GL_TRUE;
+import static org.lwjgl.opengl.GL11.GL_VENDOR;
+import static org.lwjgl.opengl.GL11.GL_VERSION;
+import static org.lwjgl.opengl.GL11.glGetError;
+import static org.lwjgl.opengl.GL11.glGetInteger;
+import static org.lwjgl.opengl.GL11.glGetString;
+import static org.lwjgl.opengl.GL20.GL_COMPILE_STATUS;
+import static org.lwjgl.opengl.GL20.GL_FRAGMENT_SHADER;
+import static org.lwjgl.opengl.GL20.GL_LINK_STATUS;
+import static org.lwjgl.opengl.GL20.GL_VERTEX_SHADER;
+import static org.lwjgl.opengl.GL20.glAttachShader;
+import static org.lwjgl.opengl.GL20.glCompileShader;
+import static org.lwjgl.opengl.GL20.glCreateProgram;
+import static org.lwjgl.opengl.GL20.glCreateShader;
+import static org.lwjgl.opengl.GL20.glDeleteProgram;
+import static org.lwjgl.opengl.GL20.glDeleteShader;
+import static org.lwjgl.opengl.GL20.glDetachShader;
+import static org.lwjgl.opengl.GL20.glGetProgramInfoLog;
+import static org.lwjgl.opengl.GL20.glGetProgrami;
+import static org.lwjgl.opengl.GL20.glGetShaderInfoLog;
+import static org.lwjgl.opengl.GL20.glGetShaderi;
+import static org.lwjgl.opengl.GL20.glLinkProgram;
+import static org.lwjgl.opengl.GL20.glShaderSource;
+import static org.lwjgl.opengl.GL32.GL_GEOMETRY_SHADER;
+import static org.lwjgl.opengl.GL41C.GL_NUM_PROGRAM_BINARY_FORMATS;
+import static org.lwjgl.opengl.GL41C.GL_PROGRAM_BINARY_LENGTH;
+import static org.lwjgl.opengl.GL41C.GL_PROGRAM_BINARY_RETRIEVABLE_HINT;
+import static org.lwjgl.opengl.GL41C.glGetProgramBinary;
+import static org.lwjgl.opengl.GL41C.glProgramBinary;
+import static org.lwjgl.opengl.GL41C.glProgramParameteri;
+import static org.lwjgl.system.MemoryUtil.memAlloc;
+import static org.lwjgl.system.MemoryUtil.memFree;
+
+/**
+ * Builds vertex/fragment (and optional geometry) programs, reusing driver binaries from a {@link GlProgramBinaryCache} when possible.
+ *
+ * <p>Binaries need GL 4.1 or {@code ARB_get_program_binary} and at least one advertised binary format; the
+ * 3.3 core context often has the extension. A binary the driver refuses ({@code GL_LINK_STATUS} false after
+ * {@code glProgramBinary}) is dropped from the cache and the program is compiled from source, whose new
+ * binary then replaces it.</p>
+ */
+final class GlProgramLinker {
+    private final GlProgramBinaryCache cache;
+    private final boolean binariesSupported;
+
+    GlProgramLinker(GlProgramBinaryCache cache, boolean binariesSupported) {
+        this.cache = cache;
+        this.binariesSupported = cache != null && binariesSupported;
+    }
+
+    /** Linker for the current context, backed by the on-disk cache when the driver supports binaries. */
+    static GlProgramLinker forCurrentContext() {
+        GLCapabilities caps = GL.getCapabilities();
+        boolean supported = (caps.OpenGL41 || caps.GL_ARB_get_program_binary)
+                && glGetInteger(GL_NUM_PROGRAM_BINARY_FORMATS) > 0;
+        GlProgramBinaryCache cache = supported
+                ? GlProgramBinaryDiskCache.fromSystemProperties(
+                        glGetString(GL_VENDOR), glGetString(GL_RENDERER), glGetString(GL_VERSION))
+                : null;
+        return new GlProgramLinker(cache, supported);
+    }
+
+    /**
+     * Returns a linked program for {@code source}.
+     *
+     * @throws EngineException {@link EngineErrorCode#SHADER_COMPILATION_FAILED} if the source does not build
+     */
+    int link(GlProgramSource source) throws EngineException {
+        if (!binariesSupported) {
+            return linkFromSource(source, false);
+        }
+        String key = cache.keyOf(source);
+        GlProgramBinaryCache.Binary binary = cache.load(key);
+        if (binary != null) {
+            int programId = loadBinary(binary);
+            if (programId != 0) {
+                return programId;
+            }
+            cache.invalidate(key);
+        }
+        int programId = linkFromSource(source, true);
+        GlProgramBinaryCache.Binary retrieved = retrieveBinary(programId);
+        if (retrieved != null) {
+            cache.store(key, retrieved);
+        }
+        return programId;
+    }
+
+    private static int loadBinary(GlProgramBinaryCache.Binary binary) {
+        int programId = glCreateProgram();
+        ByteBuffer data = memAlloc(binary.data().length);
+        try {
+            data.put(binary.data()).flip();
+            glProgramBinary(programId, binary.format(), data);
+        } finally {
+            memFree(data);
+        }
+        if (glGetProgrami(programId, GL_LINK_STATUS) != 0) {
+            return programId;
+        }
+        glDeleteProgram(programId);
+        // An unknown format raises GL_INVALID_ENUM; do not leave it for unrelated error checks.
+        while (glGetError() != GL_NO_ERROR) {
+        }
+        return 0;
+    }
+
+    private static GlProgramBinaryCache.Binary retrieveBinary(int programId) {
+        int length = glGetProgrami(programId, GL_PROGRAM_BINARY_LENGTH);
+        if (length <= 0) {
+            return null;
+        }
+        ByteBuffer data = memAlloc(length);
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            IntBuffer written = stack.mallocInt(1);
+            IntBuffer format = stack.mallocInt(1);
+            glGetProgramBinary(programId, written, format, data);
+            int size = written.get(0);
+            if (size <= 0) {
+                return null;
+            }
+            byte[] bytes = new byte[size];
+            data.get(0, bytes);
+            return new GlProgramBinaryCache.Binary(format.get(0), bytes);
+        } finally {
+            memFree(data);
+        }
+    }
+
+    private static int linkFromSource(GlProgramSource source, boolean retrievable) throws EngineException {
+        int vertexShaderId = compileShader(source.label(), GL_VERTEX_SHADER, source.vertexText());
+        int fragmentShaderId;
+        int geometryShaderId = 0;
+        try {
+            fragmentShaderId = compileShader(source.label(), GL_FRAGMENT_SHADER, source.fragmentText());
+        } catch (EngineException e) {
+            glDeleteShader(vertexShaderId);
+            throw e;
+        }
+        if (source.geometryText() != null) {
+            try {
+                geometryShaderId = compileShader(source.label(), GL_GEOMETRY_SHADER, source.geometryText());
+            } catch (EngineException e) {
+                glDeleteShader(vertexShaderId);
+                glDeleteShader(fragmentShaderId);
+                throw e;
+            }
+        }
+        int programId = glCreateProgram();
+        if (retrievable) {
+            glProgramParameteri(programId, GL_PROGRAM_BINARY_RETRIEVABLE_HINT, GL_TRUE);
+        }
+        glAttachShader(programId, vertexShaderId);
+        glAttachShader(programId, fragmentShaderId);
+        if (geometryShaderId != 0) {
+            glAttachShader(programId, geometryShaderId);
+        }
+        glLinkProgram(programId);
+        glDetachShader(programId, vertexShaderId);
+        glDetachShader(programId, fragmentShaderId);
+        glDeleteShader(vertexShaderId);
+        glDeleteShader(fragmentShaderId);
+        if (geometryShaderId != 0) {
+            glDetachShader(programId, geometryShaderId);
+            glDeleteShader(geometryShaderId);
+        }
+
+        if (glGetProgrami(programId, GL_LINK_STATUS) == 0) {
+            String info = glGetProgramInfoLog(programId);
+            glDeleteProgram(programId);
+            throw new EngineException(EngineErrorCode.SHADER_COMPILATION_FAILED,
+                    source.label() + " shader link failed: " + info, false);
+        }
+        return programId;
+    }
+
+    private static int compileShader(String label, int type, String source) throws EngineException {
+        int shaderId = glCreateShader(type);
+        glShaderSource(shaderId, source);
+        glCompileShader(shaderId);
+
+        if (glGetShaderi(shaderId, GL_COMPILE_STATUS) == 0) {
+            String info = glGetShaderInfoLog(shaderId);
+            glDeleteShader(shaderId);
+            throw new EngineException(EngineErrorCode.SHADER_COMPILATION_FAILED,
+                    label + " shader compilation failed: " + info, false);
+        }
+        return shaderId;
+    }
+}
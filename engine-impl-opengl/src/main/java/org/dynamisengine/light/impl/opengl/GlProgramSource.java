@@ -0,0 +1,73 @@
+package org.dynamisengine.light.impl.opengl;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * GLSL sources and preprocessor defines for one vertex/fragment program, with an optional geometry stage.
+ *
+ * <p>Defines are kept sorted so the same set always produces the same text and the same cache key. They are
+ * injected as {@code #define} lines directly after each stage's {@code #version} directive.</p>
+ */
+record GlProgramSource(
+        String label,
+        String vertexSource,
+        String fragmentSource,
+        Map<String, String> defines,
+        String geometrySource
+) {
+    GlProgramSource(String label, String vertexSource, String fragmentSource, Map<String, String> defines) {
+        this(label, vertexSource, fragmentSource, defines, null);
+    }
+
+    GlProgramSource {
+        defines = defines == null || defines.isEmpty()
+                ? Map.of()
+                : Collections.unmodifiableMap(new TreeMap<>(defines));
+    }
+
+    static GlProgramSource of(String label, String vertexSource, String fragmentSource) {
+        return new GlProgramSource(label, vertexSource, fragmentSource, Map.of());
+    }
+
+    static GlProgramSource withGeometry(String label, String vertexSource, String geometrySource, String fragmentSource) {
+        return new GlProgramSource(label, vertexSource, fragmentSource, Map.of(), geometrySource);
+    }
+
+    String vertexText() {
+        return withDefines(vertexSource);
+    }
+
+    String fragmentText() {
+        return withDefines(fragmentSource);
+    }
+
+    /** Geometry stage text, or {@code null} for a vertex/fragment program. */
+    String geometryText() {
+        return geometrySource == null ? null : withDefines(geometrySource);
+    }
+
+    private String withDefines(String source) {
+        if (defines.isEmpty()) {
+            return source;
+        }
+        StringBuilder block = new StringBuilder();
+        for (Map.Entry<String, String> define : defines.entrySet()) {
+            block.append("#define ").append(define.getKey());
+            if (define.getValue() != null && !define.getValue().isEmpty()) {
+                block.append(' ').append(define.getValue());
+            }
+            block.append('\n');
+        }
+        int versionLine = source.indexOf("#version");
+        if (versionLine < 0) {
+            return block + source;
+        }
+        int lineEnd = source.indexOf('\n', versionLine);
+        if (lineEnd < 0) {
+            return source + '\n' + block;
+        }
+        return source.substring(0, lineEnd + 1) + block + source.substring(lineEnd + 1);
+    }
+}
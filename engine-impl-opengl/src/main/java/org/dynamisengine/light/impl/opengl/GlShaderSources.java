@@ -8,15 +8,98 @@ final class GlShaderSources {
     private GlShaderSources() {
     }
 
+    /**
+     * Per-pass uniforms of the geometry program, shared by its vertex and fragment stages. Word offsets
+     * are mirrored in {@link OpenGlUniformBlocks}.
+     */
+    static final String FRAME_DATA_BLOCK = """
+            layout(std140) uniform FrameData {
+                mat4 uView;
+                mat4 uProj;
+                mat4 uCurrentViewProj;
+                mat4 uPrevViewProj;
+                mat4 uLightViewProj;
+                mat4 uLocalShadowMatrix[4];
+                vec4 uLocalLightPosRange[8];
+                vec4 uLocalLightColorIntensity[8];
+                vec4 uLocalLightDirInner[8];
+                vec4 uLocalLightOuterTypeShadow[8];
+                vec4 uLocalShadowAtlasRect[4];
+                vec4 uLocalShadowMeta[4];
+                vec4 uIblParams;
+                vec4 uClusterDepth;
+                ivec4 uClusterGrid;
+                vec3 uDirLightDir;
+                float uDirLightIntensity;
+                vec3 uDirLightColor;
+                float uShadowStrength;
+                vec3 uPointLightPos;
+                float uPointShadowFarPlane;
+                vec3 uPointLightDir;
+                float uShadowBias;
+                vec3 uAmbientColor;
+                float uAmbientIntensity;
+                vec3 uFogColor;
+                float uFogDensity;
+                vec3 uSmokeColor;
+                float uSmokeIntensity;
+                vec2 uViewportSize;
+                float uShadowNormalBiasScale;
+                float uShadowSlopeBiasScale;
+                int uLocalLightCount;
+                int uPointShadowEnabled;
+                int uPointShadowLightIndex;
+                int uShadowEnabled;
+                int uShadowPcfRadius;
+                int uShadowCascadeCount;
+                int uLocalShadowCount;
+                int uFogEnabled;
+                int uFogSteps;
+                int uSmokeEnabled;
+                int uTonemapEnabled;
+                int uBloomEnabled;
+                int uSsaoEnabled;
+                int uSmaaEnabled;
+                int uTaaEnabled;
+                float uIblRadianceMaxLod;
+                float uTonemapExposure;
+                float uTonemapGamma;
+                float uBloomThreshold;
+                float uBloomStrength;
+                float uSsaoStrength;
+                float uSsaoRadius;
+                float uSsaoBias;
+                float uSsaoPower;
+                float uSmaaStrength;
+                float uTaaBlend;
+            };
+            """;
+
+    /** Per-draw uniforms, one {@link OpenGlUniformBlocks} slot per scene mesh. */
+    static final String OBJECT_DATA_BLOCK = """
+            layout(std140) uniform ObjectData {
+                mat4 uModel;
+                mat4 uPrevModel;
+                vec4 uMaterialReactive;
+                vec4 uMaterialReactiveTuning;
+                vec3 uMaterialAlbedo;
+                float uMaterialMetallic;
+                float uMaterialRoughness;
+                float uAlphaCutoff;
+                int uVertexFormat;
+                int uUseAlbedoTexture;
+                int uUseNormalTexture;
+                int uUseMetallicRoughnessTexture;
+                int uUseOcclusionTexture;
+            };
+            """;
+
     static final String VERTEX_SHADER = """
             #version 330 core
             layout (location = 0) in vec3 aPos;
             layout (location = 1) in vec3 aData1;
             layout (location = 2) in vec2 aData2;
-            uniform mat4 uModel;
-            uniform mat4 uView;
-            uniform mat4 uProj;
-            uniform int uVertexFormat;
+            """ + FRAME_DATA_BLOCK + OBJECT_DATA_BLOCK + """
             out vec3 vColor;
             out vec3 vWorldPos;
             out vec3 vLocalPos;
@@ -24,7 +107,6 @@ final class GlShaderSources {
             out float vHeight;
             out vec2 vUv;
             out vec4 vLightSpacePos;
-            uniform mat4 uLightViewProj;
             void main() {
                 vec4 world = uModel * vec4(aPos, 1.0);
                 vWorldPos = world.xyz;
@@ -59,6 +141,38 @@ final class GlShaderSources {
             void main() { }
             """;
 
+    // Layered point-light shadow: one draw per mesh, replicated by the geometry stage into the cube faces
+    // selected by uFaceMask (bit f = GL_TEXTURE_CUBE_MAP_POSITIVE_X + f).
+    static final String POINT_SHADOW_LAYERED_VERTEX_SHADER = """
+            #version 330 core
+            layout (location = 0) in vec3 aPos;
+            uniform mat4 uModel;
+            void main() {
+                gl_Position = uModel * vec4(aPos, 1.0);
+            }
+            """;
+
+    static final String POINT_SHADOW_LAYERED_GEOMETRY_SHADER = """
+            #version 330 core
+            layout (triangles) in;
+            layout (triangle_strip, max_vertices = 18) out;
+            uniform mat4 uFaceViewProj[6];
+            uniform int uFaceMask;
+            void main() {
+                for (int face = 0; face < 6; ++face) {
+                    if ((uFaceMask & (1 << face)) == 0) {
+                        continue;
+                    }
+                    for (int i = 0; i < 3; ++i) {
+                        gl_Layer = face;
+                        gl_Position = uFaceViewProj[face] * gl_in[i].gl_Position;
+                        EmitVertex();
+                    }
+                    EndPrimitive();
+                }
+            }
+            """;
+
     static final String FRAGMENT_SHADER = """
             #version 330 core
             in vec3 vColor;
@@ -68,81 +182,20 @@ final class GlShaderSources {
             in float vHeight;
             in vec2 vUv;
             in vec4 vLightSpacePos;
-            uniform vec3 uMaterialAlbedo;
-            uniform float uMaterialMetallic;
-            uniform float uMaterialRoughness;
-            uniform vec4 uMaterialReactive;
-            uniform vec4 uMaterialReactiveTuning;
-            uniform int uUseAlbedoTexture;
+            """ + FRAME_DATA_BLOCK + OBJECT_DATA_BLOCK + """
             uniform sampler2D uAlbedoTexture;
-            uniform int uUseNormalTexture;
             uniform sampler2D uNormalTexture;
-            uniform int uUseMetallicRoughnessTexture;
             uniform sampler2D uMetallicRoughnessTexture;
-            uniform int uUseOcclusionTexture;
             uniform sampler2D uOcclusionTexture;
             uniform sampler2D uIblIrradiance;
             uniform sampler2D uIblRadiance;
             uniform sampler2D uIblBrdfLut;
-            uniform float uIblRadianceMaxLod;
-            uniform vec3 uDirLightDir;
-            uniform vec3 uDirLightColor;
-            uniform float uDirLightIntensity;
-            uniform int uLocalLightCount;
-            uniform vec4 uLocalLightPosRange[8];
-            uniform vec4 uLocalLightColorIntensity[8];
-            uniform vec4 uLocalLightDirInner[8];
-            uniform vec4 uLocalLightOuterTypeShadow[8];
-            uniform vec3 uPointLightPos;
-            uniform vec3 uPointLightDir;
-            uniform int uPointShadowEnabled;
+            uniform samplerBuffer uClusterLights;
+            uniform usamplerBuffer uClusterRanges;
+            uniform usamplerBuffer uClusterIndices;
             uniform samplerCube uPointShadowMap;
-            uniform float uPointShadowFarPlane;
-            uniform int uPointShadowLightIndex;
-            uniform int uShadowEnabled;
-            uniform float uShadowStrength;
-            uniform float uShadowBias;
-            uniform float uShadowNormalBiasScale;
-            uniform float uShadowSlopeBiasScale;
-            uniform int uShadowPcfRadius;
-            uniform int uShadowCascadeCount;
             uniform sampler2D uShadowMap;
-            uniform int uLocalShadowCount;
             uniform sampler2D uLocalShadowMap;
-            uniform mat4 uLocalShadowMatrix[4];
-            uniform vec4 uLocalShadowAtlasRect[4];
-            uniform vec4 uLocalShadowMeta[4];
-            uniform int uFogEnabled;
-            uniform vec3 uFogColor;
-            uniform float uFogDensity;
-            uniform int uFogSteps;
-            uniform int uSmokeEnabled;
-            uniform vec3 uSmokeColor;
-            uniform float uSmokeIntensity;
-            uniform vec2 uViewportSize;
-            uniform vec4 uIblParams;
-            uniform mat4 uCurrentViewProj;
-            uniform mat4 uPrevViewProj;
-            uniform mat4 uPrevModel;
-            uniform int uTonemapEnabled;
-            uniform float uTonemapExposure;
-            uniform float uTonemapGamma;
-            uniform int uBloomEnabled;
-            uniform float uBloomThreshold;
-            uniform float uBloomStrength;
-            uniform int uSsaoEnabled;
-            uniform float uSsaoStrength;
-            uniform float uSsaoRadius;
-            uniform float uSsaoBias;
-            uniform float uSsaoPower;
-            uniform int uSmaaEnabled;
-            uniform float uSmaaStrength;
-            uniform int uTaaEnabled;
-            uniform float uTaaBlend;
-            uniform mat4 uView;
-            uniform vec3 uAmbientColor;
-            uniform float uAmbientIntensity;
-            uniform float uAlphaCutoff;
             layout(location = 0) out vec4 FragColor;
             layout(location = 1) out vec4 VelocityColor;
             float distributionGGX(float ndh, float roughness) {
@@ -363,6 +416,40 @@ final class GlShaderSources {
                     }
                     pointLit += (kd * albedo / 3.14159) * localColor * (localNdl * attenuation * spotAttenuation * localIntensity * localShadowMul);
                 }
+                if (uClusterGrid.w > 0) {
+                    vec4 clusterClip = uCurrentViewProj * vec4(vWorldPos, 1.0);
+                    vec2 clusterNdc = clusterClip.xy / max(clusterClip.w, 0.0001);
+                    float clusterDepth = -(uView * vec4(vWorldPos, 1.0)).z;
+                    if (clusterDepth >= uClusterDepth.z && clusterDepth < uClusterDepth.w
+                            && abs(clusterNdc.x) < 1.0 && abs(clusterNdc.y) < 1.0) {
+                        int tileX = min(int((clusterNdc.x * 0.5 + 0.5) * float(uClusterGrid.x)), uClusterGrid.x - 1);
+                        int tileY = min(int((clusterNdc.y * 0.5 + 0.5) * float(uClusterGrid.y)), uClusterGrid.y - 1);
+                        int slice = clamp(int(floor(log(clusterDepth) * uClusterDepth.x + uClusterDepth.y)), 0, uClusterGrid.z - 1);
+                        uvec2 clusterRange = texelFetch(uClusterRanges, (slice * uClusterGrid.y + tileY) * uClusterGrid.x + tileX).xy;
+                        for (int c = 0; c < int(clusterRange.y); c++) {
+                            int record = int(texelFetch(uClusterIndices, int(clusterRange.x) + c).x) * 4;
+                            vec4 clusterPosRange = texelFetch(uClusterLights, record);
+                            vec4 clusterColorIntensity = texelFetch(uClusterLights, record + 1);
+                            vec4 clusterDirInner = texelFetch(uClusterLights, record + 2);
+                            vec4 clusterOuterType = texelFetch(uClusterLights, record + 3);
+                            vec3 clusterToLight = clusterPosRange.xyz - vWorldPos;
+                            float clusterDist = max(length(clusterToLight), 0.1);
+                            float clusterFade = 1.0 - pow(clamp(clusterDist / max(clusterPosRange.w, 0.1), 0.0, 1.0), 4.0);
+                            clusterFade = clamp(clusterFade * clusterFade, 0.0, 1.0);
+                            float clusterAtten = (1.0 / (1.0 + 0.35 * clusterDist + 0.1 * clusterDist * clusterDist)) * clusterFade;
+                            float clusterNdl = max(dot(normal, normalize(clusterToLight)), 0.0);
+                            float clusterSpot = 1.0;
+                            if (clusterOuterType.y > 0.5) {
+                                float cosTheta = dot(normalize(clusterDirInner.xyz), normalize(-clusterToLight));
+                                float coneRange = max(clusterDirInner.w - clusterOuterType.x, 0.0001);
+                                clusterSpot = clamp((cosTheta - clusterOuterType.x) / coneRange, 0.0, 1.0);
+                                clusterSpot *= clusterSpot;
+                            }
+                            pointLit += (kd * albedo / 3.14159) * clusterColorIntensity.rgb
+                                    * (clusterNdl * clusterAtten * clusterSpot * max(clusterColorIntensity.a, 0.0));
+                        }
+                    }
+                }
                 float ao = 1.0;
                 vec3 ambient = uAmbientColor * uAmbientIntensity * albedo;
                 if (uUseOcclusionTexture == 1) {
@@ -491,7 +578,7 @@ final class GlShaderSources {
                 heuristicReactive = clamp(heuristicReactive + emissiveMask * emissiveReactiveBoost * 0.45, 0.0, 1.0);
                 float presetScale = reactivePreset < 0.5 ? 1.0 : (reactivePreset < 1.5 ? 0.82 : (reactivePreset < 2.5 ? 1.0 : 1.2));
                 float materialReactive = (authoredEnabled ? authoredReactive : heuristicReactive) * (1.0 + (1.0 - taaHistoryClamp) * 0.6) * presetScale;
-                FragColor = vec4(clamp(color, 0.0, 1.0), 1.0);
+                FragColor = vec4(clamp(color, 0.0, 65504.0), 1.0);
                 VelocityColor = vec4(velocityNdc * 0.5 + 0.5, clamp(gl_FragCoord.z, 0.0, 1.0), materialReactive);
             }
             """;
@@ -511,6 +598,88 @@ final class GlShaderSources {
             }
             """;
 
+    static final String BLOOM_DOWNSAMPLE_FRAGMENT_SHADER = """
+            #version 330 core
+            in vec2 vUv;
+            uniform sampler2D uSource;
+            uniform int uPrefilter;
+            uniform float uBloomThreshold;
+            out vec4 FragColor;
+            vec3 prefilter(vec3 c) {
+                float threshold = max(uBloomThreshold, 0.0);
+                float knee = max(threshold * 0.5, 0.0001);
+                float brightness = max(c.r, max(c.g, c.b));
+                float soft = clamp(brightness - threshold + knee, 0.0, 2.0 * knee);
+                soft = (soft * soft) / (4.0 * knee);
+                return c * (max(soft, brightness - threshold) / max(brightness, 0.0001));
+            }
+            void main() {
+                vec2 texel = 1.0 / vec2(textureSize(uSource, 0));
+                vec3 a = texture(uSource, vUv + texel * vec2(-2.0, 2.0)).rgb;
+                vec3 b = texture(uSource, vUv + texel * vec2(0.0, 2.0)).rgb;
+                vec3 c = texture(uSource, vUv + texel * vec2(2.0, 2.0)).rgb;
+                vec3 d = texture(uSource, vUv + texel * vec2(-2.0, 0.0)).rgb;
+                vec3 e = texture(uSource, vUv).rgb;
+                vec3 f = texture(uSource, vUv + texel * vec2(2.0, 0.0)).rgb;
+                vec3 g = texture(uSource, vUv + texel * vec2(-2.0, -2.0)).rgb;
+                vec3 h = texture(uSource, vUv + texel * vec2(0.0, -2.0)).rgb;
+                vec3 i = texture(uSource, vUv + texel * vec2(2.0, -2.0)).rgb;
+                vec3 j = texture(uSource, vUv + texel * vec2(-1.0, 1.0)).rgb;
+                vec3 k = texture(uSource, vUv + texel * vec2(1.0, 1.0)).rgb;
+                vec3 l = texture(uSource, vUv + texel * vec2(-1.0, -1.0)).rgb;
+                vec3 m = texture(uSource, vUv + texel * vec2(1.0, -1.0)).rgb;
+                vec3 color = e * 0.125
+                        + (a + c + g + i) * 0.03125
+                        + (b + d + f + h) * 0.0625
+                        + (j + k + l + m) * 0.125;
+                if (uPrefilter == 1) {
+                    color = prefilter(color);
+                }
+                FragColor = vec4(clamp(color, vec3(0.0), vec3(65504.0)), 1.0);
+            }
+            """;
+
+    static final String BLOOM_UPSAMPLE_FRAGMENT_SHADER = """
+            #version 330 core
+            in vec2 vUv;
+            uniform sampler2D uSource;
+            uniform float uFilterRadius;
+            out vec4 FragColor;
+            void main() {
+                vec2 texel = uFilterRadius / vec2(textureSize(uSource, 0));
+                vec3 color = texture(uSource, vUv).rgb * 4.0;
+                color += (texture(uSource, vUv + vec2(texel.x, 0.0)).rgb
+                        + texture(uSource, vUv - vec2(texel.x, 0.0)).rgb
+                        + texture(uSource, vUv + vec2(0.0, texel.y)).rgb
+                        + texture(uSource, vUv - vec2(0.0, texel.y)).rgb) * 2.0;
+                color += texture(uSource, vUv + texel).rgb
+                        + texture(uSource, vUv - texel).rgb
+                        + texture(uSource, vUv + vec2(texel.x, -texel.y)).rgb
+                        + texture(uSource, vUv + vec2(-texel.x, texel.y)).rgb;
+                FragColor = vec4(color * (1.0 / 16.0), 1.0);
+            }
+            """;
+
+    static final String LUMINANCE_FRAGMENT_SHADER = """
+            #version 330 core
+            in vec2 vUv;
+            uniform sampler2D uSceneColor;
+            uniform vec2 uGridSize;
+            out vec4 FragColor;
+            void main() {
+                vec2 cell = 1.0 / uGridSize;
+                float logSum = 0.0;
+                for (int y = 0; y < 4; y++) {
+                    for (int x = 0; x < 4; x++) {
+                        vec2 offset = (vec2(float(x), float(y)) + 0.5) * 0.25 - 0.5;
+                        vec3 c = texture(uSceneColor, clamp(vUv + offset * cell, vec2(0.0), vec2(1.0))).rgb;
+                        logSum += log2(max(dot(c, vec3(0.2126, 0.7152, 0.0722)), 0.00001));
+                    }
+                }
+                FragColor = vec4(logSum * (1.0 / 16.0), 0.0, 0.0, 1.0);
+            }
+            """;
+
     static final String POST_FRAGMENT_SHADER = """
             #version 330 core
             in vec2 vUv;
@@ -520,7 +689,6 @@ final class GlShaderSources {
             uniform float uTonemapExposure;
             uniform float uTonemapGamma;
             uniform int uBloomEnabled;
-            uniform float uBloomThreshold;
             uniform float uBloomStrength;
             uniform int uSsaoEnabled;
             uniform float uSsaoStrength;
@@ -548,15 +716,42 @@ final class GlShaderSources {
             uniform float uReflectionsPlanarStrength;
             uniform sampler2D uTaaHistory;
             uniform sampler2D uTaaHistoryVelocity;
+            uniform sampler2D uBloom;
             out vec4 FragColor;
+            vec3 displayColor(vec3 hdr) {
+                if (uTonemapEnabled == 0) {
+                    return hdr;
+                }
+                float exposure = max(uTonemapExposure, 0.0001);
+                float gamma = max(uTonemapGamma, 0.0001);
+                vec3 mapped = vec3(1.0) - exp(-max(hdr, vec3(0.0)) * exposure);
+                return pow(mapped, vec3(1.0 / gamma));
+            }
+            vec3 bloomAt(vec2 uv) {
+                return uBloomEnabled == 1 ? texture(uBloom, uv).rgb * max(uBloomStrength, 0.0) : vec3(0.0);
+            }
+            vec3 compressHdr(vec3 hdr) {
+                vec3 c = max(hdr, vec3(0.0));
+                return c / (1.0 + max(c.r, max(c.g, c.b)));
+            }
+            vec3 expandHdr(vec3 c) {
+                c = max(c, vec3(0.0));
+                return c / max(1.0 - max(c.r, max(c.g, c.b)), 0.0001);
+            }
+            vec3 sceneColorAt(vec2 uv) {
+                return compressHdr(texture(uSceneColor, uv).rgb);
+            }
+            vec3 historyColorAt(vec2 uv) {
+                return compressHdr(texture(uTaaHistory, uv).rgb);
+            }
             float ssaoLite(vec2 uv) {
                 float radius = clamp(uSsaoRadius, 0.2, 3.0);
                 vec2 texel = (1.0 / vec2(textureSize(uSceneColor, 0))) * mix(0.75, 2.0, (radius - 0.2) / 2.8);
-                vec3 c = texture(uSceneColor, uv).rgb;
-                vec3 cx = texture(uSceneColor, clamp(uv + vec2(texel.x, 0.0), vec2(0.0), vec2(1.0))).rgb;
-                vec3 cy = texture(uSceneColor, clamp(uv + vec2(0.0, texel.y), vec2(0.0), vec2(1.0))).rgb;
-                vec3 cxy = texture(uSceneColor, clamp(uv + texel, vec2(0.0), vec2(1.0))).rgb;
-                vec3 cxny = texture(uSceneColor, clamp(uv + vec2(texel.x, -texel.y), vec2(0.0), vec2(1.0))).rgb;
+                vec3 c = sceneColorAt(uv);
+                vec3 cx = sceneColorAt(clamp(uv + vec2(texel.x, 0.0), vec2(0.0), vec2(1.0)));
+                vec3 cy = sceneColorAt(clamp(uv + vec2(0.0, texel.y), vec2(0.0), vec2(1.0)));
+                vec3 cxy = sceneColorAt(clamp(uv + texel, vec2(0.0), vec2(1.0)));
+                vec3 cxny = sceneColorAt(clamp(uv + vec2(texel.x, -texel.y), vec2(0.0), vec2(1.0)));
                 float l = dot(c, vec3(0.2126, 0.7152, 0.0722));
                 float lx = dot(cx, vec3(0.2126, 0.7152, 0.0722));
                 float ly = dot(cy, vec3(0.2126, 0.7152, 0.0722));
@@ -582,10 +777,10 @@ final class GlShaderSources {
             }
             vec2 smaaEdge(vec2 uv, vec3 color) {
                 vec2 texel = 1.0 / vec2(textureSize(uSceneColor, 0));
-                vec3 cN = texture(uSceneColor, clamp(uv + vec2(0.0, texel.y), vec2(0.0), vec2(1.0))).rgb;
-                vec3 cS = texture(uSceneColor, clamp(uv - vec2(0.0, texel.y), vec2(0.0), vec2(1.0))).rgb;
-                vec3 cE = texture(uSceneColor, clamp(uv + vec2(texel.x, 0.0), vec2(0.0), vec2(1.0))).rgb;
-                vec3 cW = texture(uSceneColor, clamp(uv - vec2(texel.x, 0.0), vec2(0.0), vec2(1.0))).rgb;
+                vec3 cN = sceneColorAt(clamp(uv + vec2(0.0, texel.y), vec2(0.0), vec2(1.0)));
+                vec3 cS = sceneColorAt(clamp(uv - vec2(0.0, texel.y), vec2(0.0), vec2(1.0)));
+                vec3 cE = sceneColorAt(clamp(uv + vec2(texel.x, 0.0), vec2(0.0), vec2(1.0)));
+                vec3 cW = sceneColorAt(clamp(uv - vec2(texel.x, 0.0), vec2(0.0), vec2(1.0)));
                 float l = smaaLuma(color);
                 float ln = smaaLuma(cN);
                 float ls = smaaLuma(cS);
@@ -604,10 +799,11 @@ final class GlShaderSources {
                 vec2 diagB = uv + vec2(-texel.x, texel.y);
                 vec2 diagC = uv + vec2(texel.x, -texel.y);
                 vec2 diagD = uv + vec2(-texel.x, -texel.y);
-                float dA = abs(smaaLuma(texture(uSceneColor, clamp(diagA, vec2(0.0), vec2(1.0))).rgb) - smaaLuma(texture(uSceneColor, uv).rgb));
-                float dB = abs(smaaLuma(texture(uSceneColor, clamp(diagB, vec2(0.0), vec2(1.0))).rgb) - smaaLuma(texture(uSceneColor, uv).rgb));
-                float dC = abs(smaaLuma(texture(uSceneColor, clamp(diagC, vec2(0.0), vec2(1.0))).rgb) - smaaLuma(texture(uSceneColor, uv).rgb));
-                float dD = abs(smaaLuma(texture(uSceneColor, clamp(diagD, vec2(0.0), vec2(1.0))).rgb) - smaaLuma(texture(uSceneColor, uv).rgb));
+                float lCenter = smaaLuma(sceneColorAt(uv));
+                float dA = abs(smaaLuma(sceneColorAt(clamp(diagA, vec2(0.0), vec2(1.0)))) - lCenter);
+                float dB = abs(smaaLuma(sceneColorAt(clamp(diagB, vec2(0.0), vec2(1.0)))) - lCenter);
+                float dC = abs(smaaLuma(sceneColorAt(clamp(diagC, vec2(0.0), vec2(1.0)))) - lCenter);
+                float dD = abs(smaaLuma(sceneColorAt(clamp(diagD, vec2(0.0), vec2(1.0)))) - lCenter);
                 float diag = clamp((dA + dB + dC + dD) * 0.5, 0.0, 1.0);
                 float wH = ex * (1.0 - ey * 0.55);
                 float wV = ey * (1.0 - ex * 0.55);
@@ -617,12 +813,12 @@ final class GlShaderSources {
             }
             vec3 smaaNeighborhoodResolve(vec2 uv, vec3 color, vec4 weights) {
                 vec2 texel = 1.0 / vec2(textureSize(uSceneColor, 0));
-                vec3 cN = texture(uSceneColor, clamp(uv + vec2(0.0, texel.y), vec2(0.0), vec2(1.0))).rgb;
-                vec3 cS = texture(uSceneColor, clamp(uv - vec2(0.0, texel.y), vec2(0.0), vec2(1.0))).rgb;
-                vec3 cE = texture(uSceneColor, clamp(uv + vec2(texel.x, 0.0), vec2(0.0), vec2(1.0))).rgb;
-                vec3 cW = texture(uSceneColor, clamp(uv - vec2(texel.x, 0.0), vec2(0.0), vec2(1.0))).rgb;
-                vec3 cNE = texture(uSceneColor, clamp(uv + texel, vec2(0.0), vec2(1.0))).rgb;
-                vec3 cSW = texture(uSceneColor, clamp(uv - texel, vec2(0.0), vec2(1.0))).rgb;
+                vec3 cN = sceneColorAt(clamp(uv + vec2(0.0, texel.y), vec2(0.0), vec2(1.0)));
+                vec3 cS = sceneColorAt(clamp(uv - vec2(0.0, texel.y), vec2(0.0), vec2(1.0)));
+                vec3 cE = sceneColorAt(clamp(uv + vec2(texel.x, 0.0), vec2(0.0), vec2(1.0)));
+                vec3 cW = sceneColorAt(clamp(uv - vec2(texel.x, 0.0), vec2(0.0), vec2(1.0)));
+                vec3 cNE = sceneColorAt(clamp(uv + texel, vec2(0.0), vec2(1.0)));
+                vec3 cSW = sceneColorAt(clamp(uv - texel, vec2(0.0), vec2(1.0)));
                 vec3 horiz = (cE + cW) * 0.5;
                 vec3 vert = (cN + cS) * 0.5;
                 vec3 diag = (cNE + cSW) * 0.5;
@@ -642,10 +838,10 @@ final class GlShaderSources {
             }
             vec3 taaSharpen(vec2 uv, vec3 color, float amount) {
                 vec2 texel = 1.0 / vec2(textureSize(uSceneColor, 0));
-                vec3 cN = texture(uSceneColor, clamp(uv + vec2(0.0, texel.y), vec2(0.0), vec2(1.0))).rgb;
-                vec3 cS = texture(uSceneColor, clamp(uv - vec2(0.0, texel.y), vec2(0.0), vec2(1.0))).rgb;
-                vec3 cE = texture(uSceneColor, clamp(uv + vec2(texel.x, 0.0), vec2(0.0), vec2(1.0))).rgb;
-                vec3 cW = texture(uSceneColor, clamp(uv - vec2(texel.x, 0.0), vec2(0.0), vec2(1.0))).rgb;
+                vec3 cN = sceneColorAt(clamp(uv + vec2(0.0, texel.y), vec2(0.0), vec2(1.0)));
+                vec3 cS = sceneColorAt(clamp(uv - vec2(0.0, texel.y), vec2(0.0), vec2(1.0)));
+                vec3 cE = sceneColorAt(clamp(uv + vec2(texel.x, 0.0), vec2(0.0), vec2(1.0)));
+                vec3 cW = sceneColorAt(clamp(uv - vec2(texel.x, 0.0), vec2(0.0), vec2(1.0)));
                 vec3 blur = (cN + cS + cE + cW) * 0.25;
                 vec3 sharpened = color + (color - blur) * amount;
                 return clamp(sharpened, vec3(0.0), vec3(1.0));
@@ -676,7 +872,7 @@ final class GlShaderSources {
                     float hiZStep = hiZEnabled ? pow(1.24, float(i)) : 1.0;
                     float stepMul = (float(i) + 1.0) * stepScale * hiZStep;
                     traceUv = clamp(traceUv + rayDir * texel * stepMul, vec2(0.0), vec2(1.0));
-                    vec3 sampleColor = textureLod(uSceneColor, traceUv, mipBias).rgb;
+                    vec3 sampleColor = compressHdr(textureLod(uSceneColor, traceUv, mipBias).rgb);
                     float sampleDepth = texture(uSceneVelocity, traceUv).b;
                     float depthMatch = 1.0 - smoothstep(0.008, hiZEnabled ? 0.16 : 0.12, abs(sampleDepth - currentDepth));
                     float sampleLuma = dot(sampleColor, vec3(0.2126, 0.7152, 0.0722));
@@ -690,17 +886,17 @@ final class GlShaderSources {
                     for (int i = 0; i < denoisePasses; i++) {
                         float radius = float(i + 1);
                         vec2 o = texel * radius;
-                        vec3 n0 = texture(uSceneColor, clamp(traceUv + vec2(o.x, 0.0), vec2(0.0), vec2(1.0))).rgb;
-                        vec3 n1 = texture(uSceneColor, clamp(traceUv - vec2(o.x, 0.0), vec2(0.0), vec2(1.0))).rgb;
-                        vec3 n2 = texture(uSceneColor, clamp(traceUv + vec2(0.0, o.y), vec2(0.0), vec2(1.0))).rgb;
-                        vec3 n3 = texture(uSceneColor, clamp(traceUv - vec2(0.0, o.y), vec2(0.0), vec2(1.0))).rgb;
+                        vec3 n0 = sceneColorAt(clamp(traceUv + vec2(o.x, 0.0), vec2(0.0), vec2(1.0)));
+                        vec3 n1 = sceneColorAt(clamp(traceUv - vec2(o.x, 0.0), vec2(0.0), vec2(1.0)));
+                        vec3 n2 = sceneColorAt(clamp(traceUv + vec2(0.0, o.y), vec2(0.0), vec2(1.0)));
+                        vec3 n3 = sceneColorAt(clamp(traceUv - vec2(0.0, o.y), vec2(0.0), vec2(1.0)));
                         ssrColor = mix(ssrColor, (n0 + n1 + n2 + n3) * 0.25, 0.28);
                     }
                 }
                 vec2 planarUv = vec2(uv.x, 1.0 - uv.y);
-                vec3 planarColor = texture(uSceneColor, planarUv).rgb;
+                vec3 planarColor = sceneColorAt(planarUv);
                 float temporalWeight = clamp(uReflectionsTemporalWeight, 0.0, 0.98);
-                vec3 historyColor = texture(uTaaHistory, clamp(uv + uTaaMotionUv, vec2(0.0), vec2(1.0))).rgb;
+                vec3 historyColor = historyColorAt(clamp(uv + uTaaMotionUv, vec2(0.0), vec2(1.0)));
                 vec3 temporalColor = mix(ssrColor, historyColor, temporalWeight * clamp(historyConfidenceOut, 0.0, 1.0));
                 float planarStrength = clamp(uReflectionsPlanarStrength, 0.0, 1.0);
                 if (planarClipEnabled) {
@@ -709,7 +905,7 @@ final class GlShaderSources {
                 }
                 if (probeVolumeEnabled) {
                     vec2 boxUv = probeBoxProjectionEnabled ? clamp((uv - 0.5) * 1.35 + 0.5, vec2(0.0), vec2(1.0)) : uv;
-                    vec3 probeColor = texture(uSceneColor, boxUv).rgb;
+                    vec3 probeColor = sceneColorAt(boxUv);
                     float dist = length((uv - 0.5) * vec2(2.0));
                     float probeBlend = clamp(1.0 - dist, 0.0, 1.0) * 0.42;
                     planarColor = mix(planarColor, probeColor, probeBlend);
@@ -730,23 +926,10 @@ final class GlShaderSources {
                 return clamp(reflected, vec3(0.0), vec3(1.0));
             }
             void main() {
-                vec3 color = texture(uSceneColor, vUv).rgb;
+                vec3 color = sceneColorAt(vUv);
                 float currentDepth = texture(uSceneVelocity, vUv).b;
                 float historyConfidenceOut = 1.0;
-                if (uTonemapEnabled == 1) {
-                    float exposure = max(uTonemapExposure, 0.0001);
-                    float gamma = max(uTonemapGamma, 0.0001);
-                    color = vec3(1.0) - exp(-color * exposure);
-                    color = pow(max(color, vec3(0.0)), vec3(1.0 / gamma));
-                }
-                if (uBloomEnabled == 1) {
-                    float threshold = clamp(uBloomThreshold, 0.0, 4.0);
-                    float strength = clamp(uBloomStrength, 0.0, 2.0);
-                    float luma = dot(color, vec3(0.2126, 0.7152, 0.0722));
-                    float bright = max(0.0, luma - threshold);
-                    float bloom = bright * strength;
-                    color += color * bloom;
-                }
+                bool debugView = false;
                 if (uSsaoEnabled == 1) {
                     color *= ssaoLite(vUv);
                 }
@@ -760,7 +943,7 @@ final class GlShaderSources {
                     float materialReactive = velocitySample.a;
                     vec2 historyUv = clamp(vUv + uTaaJitterDelta + uTaaMotionUv + (velocityUv * 0.5), vec2(0.0), vec2(1.0));
                     vec4 historySample = texture(uTaaHistory, historyUv);
-                    vec3 history = historySample.rgb;
+                    vec3 history = historyColorAt(historyUv);
                     float historyConfidence = clamp(historySample.a, 0.0, 1.0);
                     float hc1 = texture(uTaaHistory, clamp(historyUv + vec2(texel.x, 0.0), vec2(0.0), vec2(1.0))).a;
                     float hc2 = texture(uTaaHistory, clamp(historyUv - vec2(texel.x, 0.0), vec2(0.0), vec2(1.0))).a;
@@ -768,10 +951,10 @@ final class GlShaderSources {
                     float hc4 = texture(uTaaHistory, clamp(historyUv - vec2(0.0, texel.y), vec2(0.0), vec2(1.0))).a;
                     float dilatedHistoryConfidence = clamp(max(historyConfidence, max(max(hc1, hc2), max(hc3, hc4)) * 0.92), 0.0, 1.0);
                     float historyDepth = texture(uTaaHistoryVelocity, historyUv).b;
-                    vec3 n1 = texture(uSceneColor, clamp(vUv + vec2(texel.x, 0.0), vec2(0.0), vec2(1.0))).rgb;
-                    vec3 n2 = texture(uSceneColor, clamp(vUv - vec2(texel.x, 0.0), vec2(0.0), vec2(1.0))).rgb;
-                    vec3 n3 = texture(uSceneColor, clamp(vUv + vec2(0.0, texel.y), vec2(0.0), vec2(1.0))).rgb;
-                    vec3 n4 = texture(uSceneColor, clamp(vUv - vec2(0.0, texel.y), vec2(0.0), vec2(1.0))).rgb;
+                    vec3 n1 = sceneColorAt(clamp(vUv + vec2(texel.x, 0.0), vec2(0.0), vec2(1.0)));
+                    vec3 n2 = sceneColorAt(clamp(vUv - vec2(texel.x, 0.0), vec2(0.0), vec2(1.0)));
+                    vec3 n3 = sceneColorAt(clamp(vUv + vec2(0.0, texel.y), vec2(0.0), vec2(1.0)));
+                    vec3 n4 = sceneColorAt(clamp(vUv - vec2(0.0, texel.y), vec2(0.0), vec2(1.0)));
                     vec3 neighMin = min(min(min(color, n1), min(n2, n3)), n4);
                     vec3 neighMax = max(max(max(color, n1), max(n2, n3)), n4);
                     float d1 = texture(uSceneVelocity, clamp(vUv + vec2(texel.x, 0.0), vec2(0.0), vec2(1.0))).b;
@@ -837,6 +1020,7 @@ final class GlShaderSources {
                     color = mix(color, clampedHistory, blend);
                     color = taaSharpen(vUv, color, clamp(uTaaSharpenStrength, 0.0, 0.35) * (1.0 - reactive));
                     historyConfidenceOut = clamp(max(confidenceState * 0.94, 1.0 - reactive * 0.86), 0.02, 1.0);
+                    debugView = uTaaDebugView >= 1 && uTaaDebugView <= 5;
                     if (uTaaDebugView == 1) {
                         color = vec3(reactive);
                     } else if (uTaaDebugView == 2) {
@@ -862,6 +1046,9 @@ final class GlShaderSources {
                     }
                 }
                 color = applyReflections(vUv, color, currentDepth, historyConfidenceOut);
+                if (!debugView) {
+                    color = displayColor(expandHdr(color) + bloomAt(vUv));
+                }
                 FragColor = vec4(clamp(color, 0.0, 1.0), historyConfidenceOut);
             }
             """;
@@ -0,0 +1,111 @@
+package org.dynamisengine.light.impl.opengl;
+
+import java.util.Arrays;
+
+/**
+ * CPU copy of a std140 uniform block, kept as 32-bit words so ints and floats compare bit-exactly.
+ *
+ * <p>Callers write the whole block every frame; {@link #commit(int, int)} compares a word range with the
+ * copy last sent to the GPU and reports the smallest span that changed, so unchanged state is never
+ * re-uploaded.</p>
+ */
+final class GlUniformBlockStaging {
+    private int[] words;
+    private int[] committed;
+    private int committedLimit;
+    private int dirtyStart;
+    private int dirtyEnd;
+
+    GlUniformBlockStaging(int wordCount) {
+        words = new int[Math.max(1, wordCount)];
+        committed = new int[words.length];
+    }
+
+    int wordCount() {
+        return words.length;
+    }
+
+    int[] words() {
+        return words;
+    }
+
+    /** Grows the block to at least {@code wordCount} words; the new words count as changed. */
+    void ensureWords(int wordCount) {
+        if (wordCount <= words.length) {
+            return;
+        }
+        int grown = Math.max(wordCount, words.length + (words.length >> 1));
+        words = Arrays.copyOf(words, grown);
+        committed = Arrays.copyOf(committed, grown);
+    }
+
+    /** Forgets the uploaded copy, for example after the GPU buffer was reallocated. */
+    void invalidate() {
+        committedLimit = 0;
+    }
+
+    void putFloat(int offset, float value) {
+        words[offset] = Float.floatToRawIntBits(value);
+    }
+
+    void putInt(int offset, int value) {
+        words[offset] = value;
+    }
+
+    void putVec3(int offset, float x, float y, float z) {
+        words[offset] = Float.floatToRawIntBits(x);
+        words[offset + 1] = Float.floatToRawIntBits(y);
+        words[offset + 2] = Float.floatToRawIntBits(z);
+    }
+
+    void putVec4(int offset, float x, float y, float z, float w) {
+        putVec3(offset, x, y, z);
+        words[offset + 3] = Float.floatToRawIntBits(w);
+    }
+
+    /** Copies {@code count} floats; a short or null source leaves the rest of the range zeroed. */
+    void putFloats(int offset, float[] values, int count) {
+        int available = values == null ? 0 : Math.min(count, values.length);
+        for (int i = 0; i < available; i++) {
+            words[offset + i] = Float.floatToRawIntBits(values[i]);
+        }
+        Arrays.fill(words, offset + available, offset + count, 0);
+    }
+
+    /**
+     * Compares words {@code [from, to)} with the committed copy. When anything differs the changed span is
+     * copied into the committed copy, exposed through {@link #dirtyStart()} and {@link #dirtyEnd()}, and
+     * {@code true} is returned.
+     */
+    boolean commit(int from, int to) {
+        int start = -1;
+        int end = -1;
+        for (int i = from; i < to; i++) {
+            if (i >= committedLimit || words[i] != committed[i]) {
+                if (start < 0) {
+                    start = i;
+                }
+                end = i + 1;
+            }
+        }
+        if (start < 0) {
+            dirtyStart = dirtyEnd = from;
+            return false;
+        }
+        System.arraycopy(words, start, committed, start, end - start);
+        if (from <= committedLimit) {
+            committedLimit = Math.max(committedLimit, to);
+        }
+        dirtyStart = start;
+        dirtyEnd = end;
+        return true;
+    }
+
+    int dirtyStart() {
+        return dirtyStart;
+    }
+
+    int dirtyEnd() {
+        return dirtyEnd;
+    }
+}
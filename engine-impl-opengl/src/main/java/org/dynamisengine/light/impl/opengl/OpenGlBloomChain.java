@@ -0,0 +1,191 @@
+package org.dynamisengine.light.impl.opengl;
+
+import static org.dynamisengine.light.impl.opengl.GlShaderSources.*;
+
+import static org.lwjgl.opengl.GL11.GL_BLEND;
+import static org.lwjgl.opengl.GL11.GL_FLOAT;
+import static org.lwjgl.opengl.GL11.GL_LINEAR;
+import static org.lwjgl.opengl.GL11.GL_ONE;
+import static org.lwjgl.opengl.GL11.GL_RGB;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_2D;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_MAG_FILTER;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_MIN_FILTER;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_WRAP_S;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_WRAP_T;
+import static org.lwjgl.opengl.GL11.GL_TRIANGLES;
+import static org.lwjgl.opengl.GL11.glBindTexture;
+import static org.lwjgl.opengl.GL11.glBlendFunc;
+import static org.lwjgl.opengl.GL11.glDeleteTextures;
+import static org.lwjgl.opengl.GL11.glDisable;
+import static org.lwjgl.opengl.GL11.glDrawArrays;
+import static org.lwjgl.opengl.GL11.glEnable;
+import static org.lwjgl.opengl.GL11.glGenTextures;
+import static org.lwjgl.opengl.GL11.glTexImage2D;
+import static org.lwjgl.opengl.GL11.glTexParameteri;
+import static org.lwjgl.opengl.GL11.glViewport;
+import static org.lwjgl.opengl.GL12.GL_CLAMP_TO_EDGE;
+import static org.lwjgl.opengl.GL13.GL_TEXTURE0;
+import static org.lwjgl.opengl.GL13.glActiveTexture;
+import static org.lwjgl.opengl.GL20.glDeleteProgram;
+import static org.lwjgl.opengl.GL20.glGetUniformLocation;
+import static org.lwjgl.opengl.GL20.glUniform1f;
+import static org.lwjgl.opengl.GL20.glUniform1i;
+import static org.lwjgl.opengl.GL20.glUseProgram;
+import static org.lwjgl.opengl.GL30.GL_COLOR_ATTACHMENT0;
+import static org.lwjgl.opengl.GL30.GL_FRAMEBUFFER;
+import static org.lwjgl.opengl.GL30.GL_FRAMEBUFFER_COMPLETE;
+import static org.lwjgl.opengl.GL30.GL_R11F_G11F_B10F;
+import static org.lwjgl.opengl.GL30.glBindFramebuffer;
+import static org.lwjgl.opengl.GL30.glCheckFramebufferStatus;
+import static org.lwjgl.opengl.GL30.glDeleteFramebuffers;
+import static org.lwjgl.opengl.GL30.glFramebufferTexture2D;
+import static org.lwjgl.opengl.GL30.glGenFramebuffers;
+
+import org.dynamisengine.light.api.error.EngineException;
+
+/**
+ * Progressive-resolution bloom over the HDR scene color.
+ *
+ * <p>Level 0 is half the scene render size and every further level halves again, down to
+ * {@value #MAX_LEVELS} levels or until a side would drop below {@value #MIN_LEVEL_SIZE} texels. The
+ * first downsample applies a soft-knee threshold; each level is then upsampled with a tent filter and
+ * added into the next larger one, so level 0 ends up holding the sum of every level. Levels are
+ * {@code R11F_G11F_B10F}: half the bandwidth of RGBA16F and no alpha to carry.
+ *
+ * <p>Package-private helper owned by {@link OpenGlPostProcessor}.
+ */
+final class OpenGlBloomChain {
+
+    static final int MAX_LEVELS = 6;
+    private static final int MIN_LEVEL_SIZE = 8;
+
+    private int downsampleProgramId;
+    private int downsamplePrefilterLocation;
+    private int downsampleThresholdLocation;
+    private int upsampleProgramId;
+    private int upsampleFilterRadiusLocation;
+
+    private final int[] levelTextureIds = new int[MAX_LEVELS];
+    private final int[] levelFramebufferIds = new int[MAX_LEVELS];
+    private final int[] levelWidths = new int[MAX_LEVELS];
+    private final int[] levelHeights = new int[MAX_LEVELS];
+    private int levelCount;
+
+    void initializePipeline(GlProgramLinker programLinker) throws EngineException {
+        downsampleProgramId = programLinker.link(GlProgramSource.of(
+                "BloomDownsample", POST_VERTEX_SHADER, BLOOM_DOWNSAMPLE_FRAGMENT_SHADER));
+        downsamplePrefilterLocation = glGetUniformLocation(downsampleProgramId, "uPrefilter");
+        downsampleThresholdLocation = glGetUniformLocation(downsampleProgramId, "uBloomThreshold");
+        upsampleProgramId = programLinker.link(GlProgramSource.of(
+                "BloomUpsample", POST_VERTEX_SHADER, BLOOM_UPSAMPLE_FRAGMENT_SHADER));
+        upsampleFilterRadiusLocation = glGetUniformLocation(upsampleProgramId, "uFilterRadius");
+        glUseProgram(downsampleProgramId);
+        glUniform1i(glGetUniformLocation(downsampleProgramId, "uSource"), 0);
+        glUseProgram(upsampleProgramId);
+        glUniform1i(glGetUniformLocation(upsampleProgramId, "uSource"), 0);
+        glUseProgram(0);
+    }
+
+    /** Rebuilds the level chain for a scene of the given size; returns false if any level is incomplete. */
+    boolean recreateTargets(int sceneRenderWidth, int sceneRenderHeight) {
+        destroyResources();
+        int w = Math.max(1, sceneRenderWidth / 2);
+        int h = Math.max(1, sceneRenderHeight / 2);
+        boolean complete = true;
+        while (levelCount < MAX_LEVELS && (levelCount == 0 || (w >= MIN_LEVEL_SIZE && h >= MIN_LEVEL_SIZE))) {
+            int texture = glGenTextures();
+            glBindTexture(GL_TEXTURE_2D, texture);
+            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
+            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
+            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
+            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
+            glTexImage2D(GL_TEXTURE_2D, 0, GL_R11F_G11F_B10F, w, h, 0, GL_RGB, GL_FLOAT, 0L);
+            glBindTexture(GL_TEXTURE_2D, 0);
+
+            int framebuffer = glGenFramebuffers();
+            glBindFramebuffer(GL_FRAMEBUFFER, framebuffer);
+            glFramebufferTexture2D(GL_FRAMEBUFFER, GL_COLOR_ATTACHMENT0, GL_TEXTURE_2D, texture, 0);
+            complete &= glCheckFramebufferStatus(GL_FRAMEBUFFER) == GL_FRAMEBUFFER_COMPLETE;
+            glBindFramebuffer(GL_FRAMEBUFFER, 0);
+
+            levelTextureIds[levelCount] = texture;
+            levelFramebufferIds[levelCount] = framebuffer;
+            levelWidths[levelCount] = w;
+            levelHeights[levelCount] = h;
+            levelCount++;
+            w = Math.max(1, w / 2);
+            h = Math.max(1, h / 2);
+        }
+        if (!complete) {
+            destroyResources();
+        }
+        return complete;
+    }
+
+    void destroyResources() {
+        for (int i = 0; i < levelCount; i++) {
+            glDeleteFramebuffers(levelFramebufferIds[i]);
+            glDeleteTextures(levelTextureIds[i]);
+            levelFramebufferIds[i] = 0;
+            levelTextureIds[i] = 0;
+        }
+        levelCount = 0;
+    }
+
+    void destroyPipeline() {
+        destroyResources();
+        if (downsampleProgramId != 0) {
+            glDeleteProgram(downsampleProgramId);
+            downsampleProgramId = 0;
+        }
+        if (upsampleProgramId != 0) {
+            glDeleteProgram(upsampleProgramId);
+            upsampleProgramId = 0;
+        }
+    }
+
+    int levelCount() {
+        return levelCount;
+    }
+
+    /** Level 0 after {@link #render}; 0 when the chain has no targets. */
+    int resultTextureId() {
+        return levelCount > 0 ? levelTextureIds[0] : 0;
+    }
+
+    /**
+     * Runs the downsample and upsample passes. Expects depth testing off and an attribute-less VAO
+     * bound; leaves framebuffer and viewport state for the caller to reset.
+     */
+    void render(int sceneColorTextureId, float threshold) {
+        if (levelCount == 0 || downsampleProgramId == 0 || upsampleProgramId == 0) {
+            return;
+        }
+        glActiveTexture(GL_TEXTURE0);
+        glUseProgram(downsampleProgramId);
+        glUniform1f(downsampleThresholdLocation, threshold);
+        int source = sceneColorTextureId;
+        for (int level = 0; level < levelCount; level++) {
+            glBindFramebuffer(GL_FRAMEBUFFER, levelFramebufferIds[level]);
+            glViewport(0, 0, levelWidths[level], levelHeights[level]);
+            glUniform1i(downsamplePrefilterLocation, level == 0 ? 1 : 0);
+            glBindTexture(GL_TEXTURE_2D, source);
+            glDrawArrays(GL_TRIANGLES, 0, 3);
+            source = levelTextureIds[level];
+        }
+
+        glUseProgram(upsampleProgramId);
+        glUniform1f(upsampleFilterRadiusLocation, 1.0f);
+        glEnable(GL_BLEND);
+        glBlendFunc(GL_ONE, GL_ONE);
+        for (int level = levelCount - 1; level > 0; level--) {
+            glBindFramebuffer(GL_FRAMEBUFFER, levelFramebufferIds[level - 1]);
+            glViewport(0, 0, levelWidths[level - 1], levelHeights[level - 1]);
+            glBindTexture(GL_TEXTURE_2D, levelTextureIds[level]);
+            glDrawArrays(GL_TRIANGLES, 0, 3);
+        }
+        glDisable(GL_BLEND);
+        glBindTexture(GL_TEXTURE_2D, 0);
+        glUseProgram(0);
+    }
+}
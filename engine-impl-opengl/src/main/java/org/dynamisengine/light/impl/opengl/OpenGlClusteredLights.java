@@ -0,0 +1,169 @@
+package org.dynamisengine.light.impl.opengl;
+
+import org.dynamisengine.light.impl.common.culling.ClusteredLightGrid;
+import org.dynamisengine.light.impl.common.culling.ClusteredLightRecords;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import static org.lwjgl.opengl.GL11.glBindTexture;
+import static org.lwjgl.opengl.GL11.glDeleteTextures;
+import static org.lwjgl.opengl.GL11.glGenTextures;
+import static org.lwjgl.opengl.GL13.GL_TEXTURE0;
+import static org.lwjgl.opengl.GL13.glActiveTexture;
+import static org.lwjgl.opengl.GL15.GL_STREAM_DRAW;
+import static org.lwjgl.opengl.GL15.glBindBuffer;
+import static org.lwjgl.opengl.GL15.glBufferData;
+import static org.lwjgl.opengl.GL15.glBufferSubData;
+import static org.lwjgl.opengl.GL15.glDeleteBuffers;
+import static org.lwjgl.opengl.GL15.glGenBuffers;
+import static org.lwjgl.opengl.GL30.GL_R32UI;
+import static org.lwjgl.opengl.GL30.GL_RG32UI;
+import static org.lwjgl.opengl.GL30.GL_RGBA32F;
+import static org.lwjgl.opengl.GL31.GL_TEXTURE_BUFFER;
+import static org.lwjgl.opengl.GL31.glTexBuffer;
+import static org.lwjgl.system.MemoryUtil.memAllocFloat;
+import static org.lwjgl.system.MemoryUtil.memAllocInt;
+import static org.lwjgl.system.MemoryUtil.memFree;
+
+/**
+ * Clustered (overflow) local lights for the GL 3.3 geometry pass.
+ *
+ * <p>GL 3.3 has no storage buffers, so the light records, per-cluster ranges and index runs are stored in
+ * three texture buffers read with {@code texelFetch}. The cluster indices are capped at
+ * {@link #MAX_LIGHTS_PER_CLUSTER} so the index buffer stays under the 65536-texel minimum that GL 3.3
+ * guarantees for {@code GL_MAX_TEXTURE_BUFFER_SIZE}.</p>
+ */
+final class OpenGlClusteredLights {
+    static final int TILES_X = 16;
+    static final int TILES_Y = 9;
+    static final int SLICES = 24;
+    static final int MAX_LIGHTS = 4096;
+    static final int MAX_LIGHTS_PER_CLUSTER = 16;
+    static final int RECORD_FLOATS = ClusteredLightRecords.RECORD_FLOATS;
+    static final int LIGHTS_UNIT = 10;
+    static final int RANGES_UNIT = 11;
+    static final int INDICES_UNIT = 12;
+    private static final int CLUSTER_COUNT = TILES_X * TILES_Y * SLICES;
+
+    private final ClusteredLightGrid grid = new ClusteredLightGrid(TILES_X, TILES_Y, SLICES, MAX_LIGHTS_PER_CLUSTER);
+    private final int[] bufferIds = new int[3];
+    private final int[] textureIds = new int[3];
+    private FloatBuffer lightData;
+    private IntBuffer rangeData;
+    private IntBuffer indexData;
+    private int lightCount;
+    private boolean initialized;
+
+    void initialize() {
+        lightData = memAllocFloat(MAX_LIGHTS * RECORD_FLOATS);
+        rangeData = memAllocInt(CLUSTER_COUNT * 2);
+        indexData = memAllocInt(CLUSTER_COUNT * MAX_LIGHTS_PER_CLUSTER);
+        int[] formats = {GL_RGBA32F, GL_RG32UI, GL_R32UI};
+        long[] capacities = {
+                (long) lightData.capacity() * Float.BYTES,
+                (long) rangeData.capacity() * Integer.BYTES,
+                (long) indexData.capacity() * Integer.BYTES
+        };
+        for (int i = 0; i < 3; i++) {
+            bufferIds[i] = glGenBuffers();
+            glBindBuffer(GL_TEXTURE_BUFFER, bufferIds[i]);
+            glBufferData(GL_TEXTURE_BUFFER, capacities[i], GL_STREAM_DRAW);
+            textureIds[i] = glGenTextures();
+            glBindTexture(GL_TEXTURE_BUFFER, textureIds[i]);
+            glTexBuffer(GL_TEXTURE_BUFFER, formats[i], bufferIds[i]);
+        }
+        glBindTexture(GL_TEXTURE_BUFFER, 0);
+        glBindBuffer(GL_TEXTURE_BUFFER, 0);
+        initialized = true;
+    }
+
+    /**
+     * Bins {@code count} records (laid out like the local-light uniform arrays, {@link #RECORD_FLOATS}
+     * floats each) against the camera and uploads them. {@code view} and {@code proj} are the column-major
+     * matrices of the geometry pass.
+     */
+    void upload(float[] view, float[] proj, float[] records, int count) {
+        lightCount = !initialized || records == null
+                ? 0
+                : Math.max(0, Math.min(Math.min(count, MAX_LIGHTS), records.length / RECORD_FLOATS));
+        if (lightCount == 0) {
+            return;
+        }
+        grid.configure(proj);
+        grid.assign(view, records, lightCount, RECORD_FLOATS);
+        lightData.clear();
+        lightData.put(records, 0, lightCount * RECORD_FLOATS).flip();
+        rangeData.clear();
+        for (int c = 0; c < CLUSTER_COUNT; c++) {
+            rangeData.put(grid.clusterOffset(c)).put(grid.clusterLightCount(c));
+        }
+        rangeData.flip();
+        indexData.clear();
+        indexData.put(grid.lightIndices(), 0, grid.indexCount()).flip();
+        glBindBuffer(GL_TEXTURE_BUFFER, bufferIds[0]);
+        glBufferSubData(GL_TEXTURE_BUFFER, 0L, lightData);
+        glBindBuffer(GL_TEXTURE_BUFFER, bufferIds[1]);
+        glBufferSubData(GL_TEXTURE_BUFFER, 0L, rangeData);
+        if (indexData.hasRemaining()) {
+            glBindBuffer(GL_TEXTURE_BUFFER, bufferIds[2]);
+            glBufferSubData(GL_TEXTURE_BUFFER, 0L, indexData);
+        }
+        glBindBuffer(GL_TEXTURE_BUFFER, 0);
+    }
+
+    /** Writes the {@code uClusterGrid} and {@code uClusterDepth} words; a zero light count skips the shader loop. */
+    void writeUniforms(GlUniformBlockStaging frame, int gridOffset, int depthOffset) {
+        frame.putInt(gridOffset, TILES_X);
+        frame.putInt(gridOffset + 1, TILES_Y);
+        frame.putInt(gridOffset + 2, SLICES);
+        frame.putInt(gridOffset + 3, lightCount);
+        frame.putVec4(depthOffset,
+                lightCount == 0 ? 0f : grid.depthScale(),
+                lightCount == 0 ? 0f : grid.depthBias(),
+                lightCount == 0 ? 0f : grid.near(),
+                lightCount == 0 ? 0f : grid.far());
+    }
+
+    void bind() {
+        if (!initialized) {
+            return;
+        }
+        glActiveTexture(GL_TEXTURE0 + LIGHTS_UNIT);
+        glBindTexture(GL_TEXTURE_BUFFER, textureIds[0]);
+        glActiveTexture(GL_TEXTURE0 + RANGES_UNIT);
+        glBindTexture(GL_TEXTURE_BUFFER, textureIds[1]);
+        glActiveTexture(GL_TEXTURE0 + INDICES_UNIT);
+        glBindTexture(GL_TEXTURE_BUFFER, textureIds[2]);
+    }
+
+    void unbind() {
+        for (int unit : new int[]{LIGHTS_UNIT, RANGES_UNIT, INDICES_UNIT}) {
+            glActiveTexture(GL_TEXTURE0 + unit);
+            glBindTexture(GL_TEXTURE_BUFFER, 0);
+        }
+    }
+
+    int lastAssignedLights() {
+        return lightCount == 0 ? 0 : grid.assignedLights();
+    }
+
+    int lastDroppedAssignments() {
+        return lightCount == 0 ? 0 : grid.droppedAssignments();
+    }
+
+    void shutdown() {
+        if (initialized) {
+            glDeleteTextures(textureIds);
+            glDeleteBuffers(bufferIds);
+            initialized = false;
+        }
+        if (lightData != null) memFree(lightData);
+        if (rangeData != null) memFree(rangeData);
+        if (indexData != null) memFree(indexData);
+        lightData = null;
+        rangeData = null;
+        indexData = null;
+        lightCount = 0;
+    }
+}
@@ -18,6 +18,7 @@ import static org.lwjgl.opengl.GL11.GL_TEXTURE_MAG_FILTER;
 import static org.lwjgl.opengl.GL11.GL_TEXTURE_MIN_FILTER;
 import static org.lwjgl.opengl.GL11.GL_TRIANGLES;
 import static org.lwjgl.opengl.GL11.GL_UNSIGNED_BYTE;
+import static org.lwjgl.opengl.GL11.GL_UNSIGNED_INT;
 import static org.lwjgl.opengl.GL11.glBindTexture;
 import static org.lwjgl.opengl.GL11.glClear;
 import static org.lwjgl.opengl.GL11.glClearColor;
@@ -25,6 +26,7 @@ import static org.lwjgl.opengl.GL11.glCullFace;
 import static org.lwjgl.opengl.GL11.glDeleteTextures;
 import static org.lwjgl.opengl.GL11.glDisable;
 import static org.lwjgl.opengl.GL11.glDrawArrays;
+import static org.lwjgl.opengl.GL11.glDrawElements;
 import static org.lwjgl.opengl.GL11.glDrawBuffer;
 import static org.lwjgl.opengl.GL11.glEnable;
 import static org.lwjgl.opengl.GL11.GL_POLYGON_OFFSET_FILL;
@@ -41,37 +43,17 @@ import static org.lwjgl.opengl.GL13.GL_TEXTURE_CUBE_MAP;
 import static org.lwjgl.opengl.GL13.GL_TEXTURE_CUBE_MAP_POSITIVE_X;
 import static org.lwjgl.opengl.GL13.glActiveTexture;
 import static org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER;
 import static org.lwjgl.opengl.GL15.GL_STATIC_DRAW;
 import static org.lwjgl.opengl.GL15.glBindBuffer;
 import static org.lwjgl.opengl.GL15.glBufferData;
 import static org.lwjgl.opengl.GL15.glDeleteBuffers;
 import static org.lwjgl.opengl.GL15.glGenBuffers;
 import static org.lwjgl.opengl.GL15.glGetQueryObjecti;
-import static org.lwjgl.opengl.GL20.GL_COMPILE_STATUS;
-import static org.lwjgl.opengl.GL20.GL_FRAGMENT_SHADER;
-import static org.lwjgl.opengl.GL20.GL_LINK_STATUS;
-import static org.lwjgl.opengl.GL20.GL_VERTEX_SHADER;
-import static org.lwjgl.opengl.GL20.glAttachShader;
-import static org.lwjgl.opengl.GL20.glCompileShader;
-import static org.lwjgl.opengl.GL20.glCreateProgram;
-import static org.lwjgl.opengl.GL20.glCreateShader;
 import static org.lwjgl.opengl.GL20.glDeleteProgram;
-import static org.lwjgl.opengl.GL20.glDeleteShader;
 import static org.lwjgl.opengl.GL20.glEnableVertexAttribArray;
-import static org.lwjgl.opengl.GL20.glGetProgramInfoLog;
-import static org.lwjgl.opengl.GL20.glGetProgrami;
-import static org.lwjgl.opengl.GL20.glGetShaderInfoLog;
-import static org.lwjgl.opengl.GL20.glGetShaderi;
 import static org.lwjgl.opengl.GL20.glGetUniformLocation;
-import static org.lwjgl.opengl.GL20.glLinkProgram;
-import static org.lwjgl.opengl.GL20.glShaderSource;
-import static org.lwjgl.opengl.GL20.glUniform1f;
 import static org.lwjgl.opengl.GL20.glUniform1i;
-import static org.lwjgl.opengl.GL20.glUniform2f;
-import static org.lwjgl.opengl.GL20.glUniform3f;
-import static org.lwjgl.opengl.GL20.glUniform4f;
-import static org.lwjgl.opengl.GL20.glUniform4fv;
-import static org.lwjgl.opengl.GL20.glUniformMatrix4fv;
 import static org.lwjgl.opengl.GL20.glUseProgram;
 import static org.lwjgl.opengl.GL20.glVertexAttribPointer;
 import static org.lwjgl.opengl.GL30.glBindVertexArray;
@@ -116,6 +98,7 @@ import java.util.List;
 import java.util.Map;
 import org.dynamisengine.light.api.error.EngineErrorCode;
 import org.dynamisengine.light.api.error.EngineException;
+import org.dynamisengine.light.impl.common.mesh.VertexCacheStats;
 import org.lwjgl.glfw.GLFW;
 import org.lwjgl.glfw.GLFWErrorCallback;
 import org.lwjgl.opengl.GL;
@@ -124,6 +107,7 @@ import org.lwjgl.system.MemoryStack;
 final class OpenGlContext {
     static final int MAX_LOCAL_LIGHTS = 8;
     static final int MAX_LOCAL_SHADOWS = 4;
+    static final int MAX_CLUSTERED_LIGHTS = OpenGlClusteredLights.MAX_LIGHTS;
 
     enum VertexFormat {
         POS_COLOR_6F(6),
@@ -132,20 +116,91 @@ final class OpenGlContext {
         VertexFormat(int stride) { this.stride = stride; }
     }
 
-    static record MeshGeometry(float[] vertices, VertexFormat format) {
+    /**
+     * Mesh vertices with an optional triangle-list index buffer, a reference to GPU-resident
+     * {@code registered} geometry whose buffers are shared, or {@code mapped} packed geometry that is uploaded
+     * straight from its file mapping. {@code indices == null} draws the vertices as a plain triangle list.
+     */
+    static record MeshGeometry(
+            float[] vertices,
+            VertexFormat format,
+            OpenGlRegisteredMeshes.Geometry registered,
+            int[] indices,
+            OpenGlMappedMesh mapped
+    ) {
         MeshGeometry(float[] vertices) {
             this(vertices, VertexFormat.POS_COLOR_6F);
         }
 
+        MeshGeometry(float[] vertices, VertexFormat format) {
+            this(vertices, format, null, null, null);
+        }
+
+        MeshGeometry(float[] vertices, VertexFormat format, int[] indices) {
+            this(vertices, format, null, indices, null);
+        }
+
         MeshGeometry {
-            if (vertices == null || vertices.length == 0 || vertices.length % format.stride != 0) {
+            if (registered == null && mapped == null && (vertices == null || vertices.length == 0 || vertices.length % format.stride != 0)) {
                 throw new IllegalArgumentException(
                         "Mesh vertices must be non-empty and divisible by stride " + format.stride);
             }
+            if (indices != null) {
+                if (indices.length == 0 || indices.length % 3 != 0) {
+                    throw new IllegalArgumentException("Mesh indices must be a non-empty triangle list");
+                }
+                int vertexCount = vertices.length / format.stride;
+                for (int index : indices) {
+                    if (index < 0 || index >= vertexCount) {
+                        throw new IllegalArgumentException("Mesh index " + index + " out of range for " + vertexCount + " vertices");
+                    }
+                }
+            }
+        }
+
+        static MeshGeometry registered(OpenGlRegisteredMeshes.Geometry geometry) {
+            return new MeshGeometry(new float[0], VertexFormat.POS_NORMAL_UV_8F, geometry, null, null);
+        }
+
+        static MeshGeometry mapped(OpenGlMappedMesh mesh) {
+            return new MeshGeometry(new float[0], VertexFormat.POS_NORMAL_UV_8F, null, null, mesh);
         }
 
         int vertexCount() {
-            return vertices.length / format.stride;
+            if (mapped != null) {
+                return mapped.vertexCount();
+            }
+            return registered != null ? registered.vertexCount() : vertices.length / format.stride;
+        }
+
+        /** Index count, or 0 for non-indexed geometry. */
+        int indexCount() {
+            if (mapped != null) {
+                return mapped.indexCount();
+            }
+            return registered != null ? registered.indexCount() : indices == null ? 0 : indices.length;
+        }
+
+        /** Unmaps {@code mapped} geometry once it has been uploaded (or will not be); no-op otherwise. */
+        void releaseMapping() {
+            if (mapped != null) {
+                mapped.close();
+            }
+        }
+
+        int triangleCount() {
+            int indexCount = indexCount();
+            return (indexCount > 0 ? indexCount : vertexCount()) / 3;
+        }
+
+        VertexCacheStats vertexCacheStats() {
+            if (registered != null) {
+                return registered.vertexCache();
+            }
+            if (mapped != null) {
+                return mapped.vertexCache();
+            }
+            return indices == null ? VertexCacheStats.nonIndexed(vertexCount()) : VertexCacheStats.estimate(indices, vertexCount());
         }
     }
 
@@ -216,10 +271,15 @@ final class OpenGlContext {
     static final class MeshBuffer {
         final int vaoId;
         private final int vboId;
+        private final int eboId;
         final int vertexCount;
+        final int indexCount;
+        private final int indexType;
+        final VertexCacheStats vertexCache;
         private final int vertexFormat; // 0 = POS_COLOR_6F, 1 = POS_NORMAL_UV_8F
         private final String meshId;
         final float[] modelMatrix;
+        final float[] localBounds;
         private final float[] prevModelMatrix;
         private final float[] albedoColor;
         private final float metallic;
@@ -232,7 +292,7 @@ final class OpenGlContext {
         private final float taaHistoryClamp;
         private final float emissiveReactiveBoost;
         private final float reactivePreset;
-        private final int textureId;
+        final int textureId;
         private final int normalTextureId;
         private final int metallicRoughnessTextureId;
         private final int occlusionTextureId;
@@ -241,14 +301,20 @@ final class OpenGlContext {
         private final long normalTextureBytes;
         private final long metallicRoughnessTextureBytes;
         private final long occlusionTextureBytes;
+        private final boolean ownsGeometry;
 
         private MeshBuffer(
                 int vaoId,
                 int vboId,
+                int eboId,
                 int vertexCount,
+                int indexCount,
+                int indexType,
+                VertexCacheStats vertexCache,
                 int vertexFormat,
                 String meshId,
                 float[] modelMatrix,
+                float[] localBounds,
                 float[] prevModelMatrix,
                 float[] albedoColor,
                 float metallic,
@@ -269,14 +335,20 @@ final class OpenGlContext {
                 long textureBytes,
                 long normalTextureBytes,
                 long metallicRoughnessTextureBytes,
-                long occlusionTextureBytes
+                long occlusionTextureBytes,
+                boolean ownsGeometry
         ) {
             this.vaoId = vaoId;
             this.vboId = vboId;
+            this.eboId = eboId;
             this.vertexCount = vertexCount;
+            this.indexCount = indexCount;
+            this.indexType = indexType;
+            this.vertexCache = vertexCache;
             this.vertexFormat = vertexFormat;
             this.meshId = meshId;
             this.modelMatrix = modelMatrix;
+            this.localBounds = localBounds;
             this.prevModelMatrix = prevModelMatrix;
             this.albedoColor = albedoColor;
             this.metallic = metallic;
@@ -298,6 +370,20 @@ final class OpenGlContext {
             this.normalTextureBytes = normalTextureBytes;
             this.metallicRoughnessTextureBytes = metallicRoughnessTextureBytes;
             this.occlusionTextureBytes = occlusionTextureBytes;
+            this.ownsGeometry = ownsGeometry;
+        }
+
+        /** Issues the draw for this mesh; its vertex array, which also holds the element buffer binding, must be bound. */
+        void draw() {
+            if (indexCount > 0) {
+                glDrawElements(GL_TRIANGLES, indexCount, indexType, 0L);
+            } else {
+                glDrawArrays(GL_TRIANGLES, 0, vertexCount);
+            }
+        }
+
+        int triangleCount() {
+            return (indexCount > 0 ? indexCount : vertexCount) / 3;
         }
     }
 
@@ -316,88 +402,26 @@ final class OpenGlContext {
     private int sceneRenderHeight = 1;
     private int programId;
     private final OpenGlDebugDrawRenderer debugDrawRenderer = new OpenGlDebugDrawRenderer();
+    private final OpenGlClusteredLights clusteredLights = new OpenGlClusteredLights();
+    private final OpenGlUniformBlocks uniformBlocks = new OpenGlUniformBlocks();
     private java.util.List<org.dynamisengine.debug.api.draw.DebugDrawCommand> pendingDebugDrawCommands = java.util.List.of();
     private final List<MeshBuffer> sceneMeshes = new ArrayList<>();
-    private int vertexFormatLocation;
-    private int modelLocation;
-    private int prevModelLocation;
-    private int viewLocation;
-    private int projLocation;
-    private int currentViewProjLocation;
-    private int prevViewProjLocation;
-    private int lightViewProjLocation;
-    private int materialAlbedoLocation;
-    private int materialMetallicLocation;
-    private int materialRoughnessLocation;
-    private int materialReactiveLocation;
-    private int materialReactiveTuningLocation;
-    private int useAlbedoTextureLocation;
+    private final OpenGlSceneCuller sceneCuller = new OpenGlSceneCuller();
     private int albedoTextureLocation;
-    private int useNormalTextureLocation;
     private int normalTextureLocation;
-    private int useMetallicRoughnessTextureLocation;
     private int metallicRoughnessTextureLocation;
-    private int useOcclusionTextureLocation;
     private int occlusionTextureLocation;
     private int iblIrradianceTextureLocation;
     private int iblRadianceTextureLocation;
     private int iblBrdfLutTextureLocation;
-    private int iblRadianceMaxLodLocation;
-    private int dirLightDirLocation;
-    private int dirLightColorLocation;
-    private int dirLightIntensityLocation;
-    private int localLightCountLocation;
-    private int localLightPosRangeLocation;
-    private int localLightColorIntensityLocation;
-    private int localLightDirInnerLocation;
-    private int localLightOuterTypeShadowLocation;
-    private int pointLightPosLocation;
-    private int pointLightDirLocation;
-    private int pointShadowEnabledLocation;
     private int pointShadowMapLocation;
-    private int pointShadowFarPlaneLocation;
-    private int pointShadowLightIndexLocation;
-    private int shadowEnabledLocation;
-    private int shadowStrengthLocation;
-    private int shadowBiasLocation;
-    private int shadowNormalBiasScaleLocation;
-    private int shadowSlopeBiasScaleLocation;
-    private int shadowPcfRadiusLocation;
-    private int shadowCascadeCountLocation;
     private int shadowMapLocation;
-    private int localShadowCountLocation;
     private int localShadowMapLocation;
-    private int localShadowMatrixLocation;
-    private int localShadowAtlasRectLocation;
-    private int localShadowMetaLocation;
-    private int fogEnabledLocation;
-    private int fogColorLocation;
-    private int fogDensityLocation;
-    private int fogStepsLocation;
-    private int smokeEnabledLocation;
-    private int smokeColorLocation;
-    private int smokeIntensityLocation;
-    private int viewportSizeLocation;
-    private int iblParamsLocation;
-    private int tonemapEnabledLocation;
-    private int tonemapExposureLocation;
-    private int tonemapGammaLocation;
-    private int bloomEnabledLocation;
-    private int bloomThresholdLocation;
-    private int bloomStrengthLocation;
-    private int ssaoEnabledLocation;
-    private int ssaoStrengthLocation;
-    private int ssaoRadiusLocation;
-    private int ssaoBiasLocation;
-    private int ssaoPowerLocation;
-    private int smaaEnabledLocation;
-    private int smaaStrengthLocation;
-    private int taaEnabledLocation;
-    private int taaBlendLocation;
-    private int ambientColorLocation;
-    private int ambientIntensityLocation;
-    private int alphaCutoffLocation;
+    private int clusterLightsLocation;
+    private int clusterRangesLocation;
+    private int clusterIndicesLocation;
     private OpenGlPostProcessor postProcessor;
+    private GlProgramLinker programLinker;
     private final OpenGlTemporalAA temporalAA = new OpenGlTemporalAA();
     private float[] viewMatrix = identityMatrix();
     private float[] projMatrix = identityMatrix();
@@ -457,6 +481,8 @@ final class OpenGlContext {
     private final float[] localLightColorIntensity = new float[MAX_LOCAL_LIGHTS * 4];
     private final float[] localLightDirInner = new float[MAX_LOCAL_LIGHTS * 4];
     private final float[] localLightOuterTypeShadow = new float[MAX_LOCAL_LIGHTS * 4];
+    private int clusteredLightCount;
+    private float[] clusteredLightRecords = new float[0];
     private float pointLightPosX = 0.0f;
     private float pointLightPosY = 1.2f;
     private float pointLightPosZ = 1.8f;
@@ -496,6 +522,9 @@ final class OpenGlContext {
     private long lastDrawCalls;
     private long lastTriangles;
     private long lastVisibleObjects;
+    private long lastCulledObjects;
+    private long lastStateBindChanges;
+    private long lastVertexInvocations;
     private long estimatedGpuMemoryBytes;
     private int frameCounter;
 
@@ -538,6 +567,7 @@ final class OpenGlContext {
         GLFW.glfwMakeContextCurrent(window);
         GLFW.glfwSwapInterval(vsyncEnabled ? 1 : 0);
         GL.createCapabilities();
+        programLinker = GlProgramLinker.forCurrentContext();
         glEnable(GL_DEPTH_TEST);
 
         // Poll events so macOS delivers the Retina framebuffer size callback.
@@ -563,12 +593,13 @@ final class OpenGlContext {
 
         initializeShaderPipeline();
         shadowRenderer = new OpenGlShadowRenderer();
-        shadowRenderer.initializeShadowPipeline();
+        shadowRenderer.initializeShadowPipeline(programLinker);
         postProcessor = new OpenGlPostProcessor();
-        postProcessor.initializePipeline();
+        postProcessor.initializePipeline(programLinker);
         postProcessor.recreateTargets(sceneRenderWidth, sceneRenderHeight);
         shadowRenderer.recreateShadowResources(shadowMapResolution);
-        debugDrawRenderer.initialize();
+        debugDrawRenderer.initialize(programLinker);
+        clusteredLights.initialize();
         initializeGpuQuerySupport();
         setSceneMeshes(List.of(new SceneMesh(
                 "default-triangle",
@@ -627,6 +658,7 @@ final class OpenGlContext {
     void beginFrame() {
         syncFramebufferSizeFromWindow();
         frameCounter++;
+        shadowRenderer.resetFrameCounters();
         projMatrix = temporalAA.updateTemporalJitterState(
                 taaEnabled, sceneRenderWidth, sceneRenderHeight,
                 projBaseMatrix, viewMatrix);
@@ -649,117 +681,81 @@ final class OpenGlContext {
     void renderGeometryPass() {
         glViewport(0, 0, activeRenderWidth(), activeRenderHeight());
         glUseProgram(programId);
-        applyFogUniforms();
-        applySmokeUniforms();
-        applyPostProcessUniforms(useShaderDrivenPost());
-        glUniformMatrix4fv(viewLocation, false, viewMatrix);
-        glUniformMatrix4fv(projLocation, false, projMatrix);
-        glUniformMatrix4fv(currentViewProjLocation, false, mul(projMatrix, viewMatrix));
-        glUniformMatrix4fv(prevViewProjLocation, false, temporalAA.isPrevViewProjValid() ? temporalAA.prevViewProj() : mul(projMatrix, viewMatrix));
-        glUniformMatrix4fv(lightViewProjLocation, false, shadowRenderer.lightViewProjMatrix());
-        glUniform3f(ambientColorLocation, ambientColorR, ambientColorG, ambientColorB);
-        glUniform1f(ambientIntensityLocation, ambientIntensity);
+        uniformBlocks.beginPass();
+        float[] viewProj = mul(projMatrix, viewMatrix);
+        clusteredLights.upload(viewMatrix, projMatrix, clusteredLightRecords, clusteredLightCount);
+        writeFrameUniforms(viewProj);
+        uniformBlocks.flushFrame();
+        // Shadow and IBL units are the same for every mesh.
+        glActiveTexture(GL_TEXTURE0 + 4);
+        glBindTexture(GL_TEXTURE_2D, shadowRenderer.shadowDepthTextureId());
+        glActiveTexture(GL_TEXTURE0 + 5);
+        glBindTexture(GL_TEXTURE_2D, iblIrradianceTextureId);
+        glActiveTexture(GL_TEXTURE0 + 6);
+        glBindTexture(GL_TEXTURE_2D, iblRadianceTextureId);
+        glActiveTexture(GL_TEXTURE0 + 7);
+        glBindTexture(GL_TEXTURE_2D, iblBrdfLutTextureId);
+        glActiveTexture(GL_TEXTURE0 + 8);
+        glBindTexture(GL_TEXTURE_CUBE_MAP, shadowRenderer.pointShadowDepthTextureId());
+        glActiveTexture(GL_TEXTURE0 + 9);
+        glBindTexture(GL_TEXTURE_2D, shadowRenderer.localShadowDepthTextureId());
+        clusteredLights.bind();
         lastDrawCalls = 0;
         lastTriangles = 0;
-        lastVisibleObjects = sceneMeshes.size();
-        for (MeshBuffer mesh : sceneMeshes) {
-            glUniform1i(vertexFormatLocation, mesh.vertexFormat);
-            glUniformMatrix4fv(modelLocation, false, mesh.modelMatrix);
-            glUniformMatrix4fv(prevModelLocation, false, mesh.prevModelMatrix);
-            glUniform3f(materialAlbedoLocation, mesh.albedoColor[0], mesh.albedoColor[1], mesh.albedoColor[2]);
-            glUniform1f(materialMetallicLocation, mesh.metallic);
-            glUniform1f(materialRoughnessLocation, mesh.roughness);
-            glUniform4f(
-                    materialReactiveLocation,
-                    mesh.reactiveStrength,
-                    mesh.alphaTested ? 1f : 0f,
-                    mesh.foliage ? 1f : 0f,
-                    0f
-            );
-            glUniform4f(
-                    materialReactiveTuningLocation,
-                    mesh.reactiveBoost,
-                    mesh.taaHistoryClamp,
-                    mesh.emissiveReactiveBoost,
-                    mesh.reactivePreset
-            );
-            glUniform1f(alphaCutoffLocation, mesh.alphaCutoff);
-            glUniform3f(dirLightDirLocation, dirLightDirX, dirLightDirY, dirLightDirZ);
-            glUniform3f(dirLightColorLocation, dirLightColorR, dirLightColorG, dirLightColorB);
-            glUniform1f(dirLightIntensityLocation, dirLightIntensity);
-            glUniform1i(localLightCountLocation, localLightCount);
-            glUniform4fv(localLightPosRangeLocation, localLightPosRange);
-            glUniform4fv(localLightColorIntensityLocation, localLightColorIntensity);
-            glUniform4fv(localLightDirInnerLocation, localLightDirInner);
-            glUniform4fv(localLightOuterTypeShadowLocation, localLightOuterTypeShadow);
-            glUniform3f(pointLightPosLocation, pointLightPosX, pointLightPosY, pointLightPosZ);
-            glUniform3f(pointLightDirLocation, pointLightDirX, pointLightDirY, pointLightDirZ);
-            glUniform1i(pointShadowEnabledLocation, pointShadowEnabled ? 1 : 0);
-            glUniform1f(pointShadowFarPlaneLocation, pointShadowFarPlane);
-            glUniform1i(pointShadowLightIndexLocation, pointShadowLightIndex);
-            glUniform1i(shadowEnabledLocation, shadowEnabled ? 1 : 0);
-            glUniform1f(shadowStrengthLocation, shadowStrength);
-            glUniform1f(shadowBiasLocation, shadowBias);
-            glUniform1f(shadowNormalBiasScaleLocation, shadowNormalBiasScale);
-            glUniform1f(shadowSlopeBiasScaleLocation, shadowSlopeBiasScale);
-            glUniform1i(shadowPcfRadiusLocation, shadowPcfRadius);
-            glUniform1i(shadowCascadeCountLocation, shadowCascadeCount);
-            glUniform1i(localShadowCountLocation, shadowRenderer.localShadowCount());
-            glUniformMatrix4fv(localShadowMatrixLocation, false, shadowRenderer.localShadowMatrices());
-            glUniform4fv(localShadowAtlasRectLocation, shadowRenderer.localShadowAtlasRects());
-            glUniform4fv(localShadowMetaLocation, shadowRenderer.localShadowMeta());
-            glUniform4f(
-                    iblParamsLocation,
-                    iblEnabled ? 1f : 0f,
-                    iblDiffuseStrength,
-                    iblSpecularStrength,
-                    iblPrefilterStrength
-            );
-            glUniform1f(iblRadianceMaxLodLocation, iblRadianceMaxLod);
-            if (mesh.textureId != 0) {
+        lastVertexInvocations = 0;
+        lastStateBindChanges = 10; // program, the six shared units and the three cluster buffers
+        int visibleCount = sceneCuller.cull(viewProj);
+        lastVisibleObjects = visibleCount;
+        lastCulledObjects = sceneCuller.culledCount();
+        // Object slots are indexed by scene position, so unchanged meshes upload nothing.
+        for (int slot = 0; slot < visibleCount; slot++) {
+            int meshIndex = sceneCuller.visibleMesh(slot);
+            writeObjectUniforms(uniformBlocks.objectSlot(meshIndex), sceneMeshes.get(meshIndex));
+        }
+        uniformBlocks.flushObjects(sceneMeshes.size());
+        // Meshes arrive sorted by texture and vertex array; skip binds that would not change state.
+        int boundAlbedo = 0;
+        int boundNormal = 0;
+        int boundMetallicRoughness = 0;
+        int boundOcclusion = 0;
+        int boundVao = 0;
+        for (int slot = 0; slot < visibleCount; slot++) {
+            int meshIndex = sceneCuller.visibleMesh(slot);
+            MeshBuffer mesh = sceneMeshes.get(meshIndex);
+            uniformBlocks.bindObject(meshIndex);
+            if (mesh.textureId != 0 && mesh.textureId != boundAlbedo) {
                 glActiveTexture(GL_TEXTURE0);
                 glBindTexture(GL_TEXTURE_2D, mesh.textureId);
-                glUniform1i(useAlbedoTextureLocation, 1);
-            } else {
-                glUniform1i(useAlbedoTextureLocation, 0);
+                boundAlbedo = mesh.textureId;
+                lastStateBindChanges++;
             }
-            if (mesh.normalTextureId != 0) {
+            if (mesh.normalTextureId != 0 && mesh.normalTextureId != boundNormal) {
                 glActiveTexture(GL_TEXTURE0 + 1);
                 glBindTexture(GL_TEXTURE_2D, mesh.normalTextureId);
-                glUniform1i(useNormalTextureLocation, 1);
-            } else {
-                glUniform1i(useNormalTextureLocation, 0);
+                boundNormal = mesh.normalTextureId;
+                lastStateBindChanges++;
             }
-            if (mesh.metallicRoughnessTextureId != 0) {
+            if (mesh.metallicRoughnessTextureId != 0 && mesh.metallicRoughnessTextureId != boundMetallicRoughness) {
                 glActiveTexture(GL_TEXTURE0 + 2);
                 glBindTexture(GL_TEXTURE_2D, mesh.metallicRoughnessTextureId);
-                glUniform1i(useMetallicRoughnessTextureLocation, 1);
-            } else {
-                glUniform1i(useMetallicRoughnessTextureLocation, 0);
+                boundMetallicRoughness = mesh.metallicRoughnessTextureId;
+                lastStateBindChanges++;
             }
-            if (mesh.occlusionTextureId != 0) {
+            if (mesh.occlusionTextureId != 0 && mesh.occlusionTextureId != boundOcclusion) {
                 glActiveTexture(GL_TEXTURE0 + 3);
                 glBindTexture(GL_TEXTURE_2D, mesh.occlusionTextureId);
-                glUniform1i(useOcclusionTextureLocation, 1);
-            } else {
-                glUniform1i(useOcclusionTextureLocation, 0);
+                boundOcclusion = mesh.occlusionTextureId;
+                lastStateBindChanges++;
+            }
+            if (mesh.vaoId != boundVao) {
+                glBindVertexArray(mesh.vaoId);
+                boundVao = mesh.vaoId;
+                lastStateBindChanges++;
             }
-            glActiveTexture(GL_TEXTURE0 + 4);
-            glBindTexture(GL_TEXTURE_2D, shadowRenderer.shadowDepthTextureId());
-            glActiveTexture(GL_TEXTURE0 + 5);
-            glBindTexture(GL_TEXTURE_2D, iblIrradianceTextureId);
-            glActiveTexture(GL_TEXTURE0 + 6);
-            glBindTexture(GL_TEXTURE_2D, iblRadianceTextureId);
-            glActiveTexture(GL_TEXTURE0 + 7);
-            glBindTexture(GL_TEXTURE_2D, iblBrdfLutTextureId);
-            glActiveTexture(GL_TEXTURE0 + 8);
-            glBindTexture(GL_TEXTURE_CUBE_MAP, shadowRenderer.pointShadowDepthTextureId());
-            glActiveTexture(GL_TEXTURE0 + 9);
-            glBindTexture(GL_TEXTURE_2D, shadowRenderer.localShadowDepthTextureId());
-            glBindVertexArray(mesh.vaoId);
-            glDrawArrays(GL_TRIANGLES, 0, mesh.vertexCount);
+            mesh.draw();
             lastDrawCalls++;
-            lastTriangles += mesh.vertexCount / 3;
+            lastTriangles += mesh.triangleCount();
+            lastVertexInvocations += mesh.vertexCache.transforms();
         }
         glBindVertexArray(0);
         glActiveTexture(GL_TEXTURE0 + 1);
@@ -780,6 +776,7 @@ final class OpenGlContext {
         glBindTexture(GL_TEXTURE_CUBE_MAP, 0);
         glActiveTexture(GL_TEXTURE0 + 9);
         glBindTexture(GL_TEXTURE_2D, 0);
+        clusteredLights.unbind();
         glActiveTexture(GL_TEXTURE0);
         glBindTexture(GL_TEXTURE_2D, 0);
         glUseProgram(0);
@@ -907,6 +904,8 @@ final class OpenGlContext {
     void shutdown() {
         clearSceneMeshes();
         debugDrawRenderer.shutdown();
+        clusteredLights.shutdown();
+        uniformBlocks.shutdown();
         shadowRenderer.destroyShadowResources();
         postProcessor.destroyPipeline();
         shadowRenderer.destroyShadowProgram();
@@ -1128,6 +1127,20 @@ final class OpenGlContext {
         }
     }
 
+    /**
+     * Lights past {@link #MAX_LOCAL_LIGHTS}, packed by {@link OpenGlLightingMapper}; they are binned into
+     * clusters against the camera of each geometry pass.
+     */
+    /** Light-to-cluster assignments the last clustered-light upload dropped because a cluster was full. */
+    int clusteredLightDroppedAssignments() {
+        return clusteredLights.lastDroppedAssignments();
+    }
+
+    void setClusteredLights(int count, float[] records) {
+        clusteredLightRecords = records == null ? new float[0] : records;
+        clusteredLightCount = Math.max(0, Math.min(count, clusteredLightRecords.length / OpenGlClusteredLights.RECORD_FLOATS));
+    }
+
     void setShadowParameters(
             boolean enabled,
             float strength,
@@ -1189,6 +1202,38 @@ final class OpenGlContext {
         return lastVisibleObjects;
     }
 
+    long lastCulledObjects() {
+        return lastCulledObjects;
+    }
+
+    long lastStateBindChanges() {
+        return lastStateBindChanges;
+    }
+
+    long lastVertexInvocations() {
+        return lastVertexInvocations;
+    }
+
+    long lastShadowDrawCalls() {
+        return shadowRenderer.shadowDrawCalls();
+    }
+
+    OpenGlShadowRenderer.PointShadowStats pointShadowStats(int lightIndex) {
+        return shadowRenderer.pointShadowStats(lightIndex);
+    }
+
+    long lastUniformCalls() {
+        return uniformBlocks.uniformCalls();
+    }
+
+    long lastUniformBytes() {
+        return uniformBlocks.uniformBytes();
+    }
+
+    long sceneObjectCount() {
+        return sceneMeshes.size();
+    }
+
     long estimatedGpuMemoryBytes() {
         return estimatedGpuMemoryBytes;
     }
@@ -1224,107 +1269,26 @@ final class OpenGlContext {
             float[] prevModel = previousModelByMeshId.get(mesh.meshId());
             sceneMeshes.add(uploadMesh(mesh, prevModel == null ? mesh.modelMatrix().clone() : prevModel));
         }
+        sceneCuller.sync(sceneMeshes, programId);
         shadowRenderer.invalidateShadowCaches();
         estimatedGpuMemoryBytes = estimateGpuMemoryBytes();
     }
 
     private void initializeShaderPipeline() throws EngineException {
-        int vertexShaderId = compileShader(GL_VERTEX_SHADER, VERTEX_SHADER);
-        int fragmentShaderId = compileShader(GL_FRAGMENT_SHADER, FRAGMENT_SHADER);
-
-        programId = glCreateProgram();
-        glAttachShader(programId, vertexShaderId);
-        glAttachShader(programId, fragmentShaderId);
-        glLinkProgram(programId);
-
-        if (glGetProgrami(programId, GL_LINK_STATUS) == 0) {
-            String info = glGetProgramInfoLog(programId);
-            glDeleteShader(vertexShaderId);
-            glDeleteShader(fragmentShaderId);
-            throw new EngineException(EngineErrorCode.SHADER_COMPILATION_FAILED, "Shader link failed: " + info, false);
-        }
-
-        glDeleteShader(vertexShaderId);
-        glDeleteShader(fragmentShaderId);
-        vertexFormatLocation = glGetUniformLocation(programId, "uVertexFormat");
-        modelLocation = glGetUniformLocation(programId, "uModel");
-        prevModelLocation = glGetUniformLocation(programId, "uPrevModel");
-        viewLocation = glGetUniformLocation(programId, "uView");
-        projLocation = glGetUniformLocation(programId, "uProj");
-        currentViewProjLocation = glGetUniformLocation(programId, "uCurrentViewProj");
-        prevViewProjLocation = glGetUniformLocation(programId, "uPrevViewProj");
-        lightViewProjLocation = glGetUniformLocation(programId, "uLightViewProj");
-        materialAlbedoLocation = glGetUniformLocation(programId, "uMaterialAlbedo");
-        materialMetallicLocation = glGetUniformLocation(programId, "uMaterialMetallic");
-        materialRoughnessLocation = glGetUniformLocation(programId, "uMaterialRoughness");
-        materialReactiveLocation = glGetUniformLocation(programId, "uMaterialReactive");
-        materialReactiveTuningLocation = glGetUniformLocation(programId, "uMaterialReactiveTuning");
-        useAlbedoTextureLocation = glGetUniformLocation(programId, "uUseAlbedoTexture");
+        programId = programLinker.link(GlProgramSource.of("Geometry", VERTEX_SHADER, FRAGMENT_SHADER));
         albedoTextureLocation = glGetUniformLocation(programId, "uAlbedoTexture");
-        useNormalTextureLocation = glGetUniformLocation(programId, "uUseNormalTexture");
         normalTextureLocation = glGetUniformLocation(programId, "uNormalTexture");
-        useMetallicRoughnessTextureLocation = glGetUniformLocation(programId, "uUseMetallicRoughnessTexture");
         metallicRoughnessTextureLocation = glGetUniformLocation(programId, "uMetallicRoughnessTexture");
-        useOcclusionTextureLocation = glGetUniformLocation(programId, "uUseOcclusionTexture");
         occlusionTextureLocation = glGetUniformLocation(programId, "uOcclusionTexture");
         iblIrradianceTextureLocation = glGetUniformLocation(programId, "uIblIrradiance");
         iblRadianceTextureLocation = glGetUniformLocation(programId, "uIblRadiance");
         iblBrdfLutTextureLocation = glGetUniformLocation(programId, "uIblBrdfLut");
-        iblRadianceMaxLodLocation = glGetUniformLocation(programId, "uIblRadianceMaxLod");
-        dirLightDirLocation = glGetUniformLocation(programId, "uDirLightDir");
-        dirLightColorLocation = glGetUniformLocation(programId, "uDirLightColor");
-        dirLightIntensityLocation = glGetUniformLocation(programId, "uDirLightIntensity");
-        localLightCountLocation = glGetUniformLocation(programId, "uLocalLightCount");
-        localLightPosRangeLocation = glGetUniformLocation(programId, "uLocalLightPosRange");
-        localLightColorIntensityLocation = glGetUniformLocation(programId, "uLocalLightColorIntensity");
-        localLightDirInnerLocation = glGetUniformLocation(programId, "uLocalLightDirInner");
-        localLightOuterTypeShadowLocation = glGetUniformLocation(programId, "uLocalLightOuterTypeShadow");
-        pointLightPosLocation = glGetUniformLocation(programId, "uPointLightPos");
-        pointLightDirLocation = glGetUniformLocation(programId, "uPointLightDir");
-        pointShadowEnabledLocation = glGetUniformLocation(programId, "uPointShadowEnabled");
         pointShadowMapLocation = glGetUniformLocation(programId, "uPointShadowMap");
-        pointShadowFarPlaneLocation = glGetUniformLocation(programId, "uPointShadowFarPlane");
-        pointShadowLightIndexLocation = glGetUniformLocation(programId, "uPointShadowLightIndex");
-        shadowEnabledLocation = glGetUniformLocation(programId, "uShadowEnabled");
-        shadowStrengthLocation = glGetUniformLocation(programId, "uShadowStrength");
-        shadowBiasLocation = glGetUniformLocation(programId, "uShadowBias");
-        shadowNormalBiasScaleLocation = glGetUniformLocation(programId, "uShadowNormalBiasScale");
-        shadowSlopeBiasScaleLocation = glGetUniformLocation(programId, "uShadowSlopeBiasScale");
-        shadowPcfRadiusLocation = glGetUniformLocation(programId, "uShadowPcfRadius");
-        shadowCascadeCountLocation = glGetUniformLocation(programId, "uShadowCascadeCount");
         shadowMapLocation = glGetUniformLocation(programId, "uShadowMap");
-        localShadowCountLocation = glGetUniformLocation(programId, "uLocalShadowCount");
         localShadowMapLocation = glGetUniformLocation(programId, "uLocalShadowMap");
-        localShadowMatrixLocation = glGetUniformLocation(programId, "uLocalShadowMatrix");
-        localShadowAtlasRectLocation = glGetUniformLocation(programId, "uLocalShadowAtlasRect");
-        localShadowMetaLocation = glGetUniformLocation(programId, "uLocalShadowMeta");
-        fogEnabledLocation = glGetUniformLocation(programId, "uFogEnabled");
-        fogColorLocation = glGetUniformLocation(programId, "uFogColor");
-        fogDensityLocation = glGetUniformLocation(programId, "uFogDensity");
-        fogStepsLocation = glGetUniformLocation(programId, "uFogSteps");
-        smokeEnabledLocation = glGetUniformLocation(programId, "uSmokeEnabled");
-        smokeColorLocation = glGetUniformLocation(programId, "uSmokeColor");
-        smokeIntensityLocation = glGetUniformLocation(programId, "uSmokeIntensity");
-        viewportSizeLocation = glGetUniformLocation(programId, "uViewportSize");
-        iblParamsLocation = glGetUniformLocation(programId, "uIblParams");
-        tonemapEnabledLocation = glGetUniformLocation(programId, "uTonemapEnabled");
-        tonemapExposureLocation = glGetUniformLocation(programId, "uTonemapExposure");
-        tonemapGammaLocation = glGetUniformLocation(programId, "uTonemapGamma");
-        bloomEnabledLocation = glGetUniformLocation(programId, "uBloomEnabled");
-        bloomThresholdLocation = glGetUniformLocation(programId, "uBloomThreshold");
-        bloomStrengthLocation = glGetUniformLocation(programId, "uBloomStrength");
-        ssaoEnabledLocation = glGetUniformLocation(programId, "uSsaoEnabled");
-        ssaoStrengthLocation = glGetUniformLocation(programId, "uSsaoStrength");
-        ssaoRadiusLocation = glGetUniformLocation(programId, "uSsaoRadius");
-        ssaoBiasLocation = glGetUniformLocation(programId, "uSsaoBias");
-        ssaoPowerLocation = glGetUniformLocation(programId, "uSsaoPower");
-        smaaEnabledLocation = glGetUniformLocation(programId, "uSmaaEnabled");
-        smaaStrengthLocation = glGetUniformLocation(programId, "uSmaaStrength");
-        taaEnabledLocation = glGetUniformLocation(programId, "uTaaEnabled");
-        taaBlendLocation = glGetUniformLocation(programId, "uTaaBlend");
-        ambientColorLocation = glGetUniformLocation(programId, "uAmbientColor");
-        ambientIntensityLocation = glGetUniformLocation(programId, "uAmbientIntensity");
-        alphaCutoffLocation = glGetUniformLocation(programId, "uAlphaCutoff");
+        clusterLightsLocation = glGetUniformLocation(programId, "uClusterLights");
+        clusterRangesLocation = glGetUniformLocation(programId, "uClusterRanges");
+        clusterIndicesLocation = glGetUniformLocation(programId, "uClusterIndices");
 
         glUseProgram(programId);
         glUniform1i(albedoTextureLocation, 0);
@@ -1337,38 +1301,59 @@ final class OpenGlContext {
         glUniform1i(iblBrdfLutTextureLocation, 7);
         glUniform1i(pointShadowMapLocation, 8);
         glUniform1i(localShadowMapLocation, 9);
+        glUniform1i(clusterLightsLocation, OpenGlClusteredLights.LIGHTS_UNIT);
+        glUniform1i(clusterRangesLocation, OpenGlClusteredLights.RANGES_UNIT);
+        glUniform1i(clusterIndicesLocation, OpenGlClusteredLights.INDICES_UNIT);
         glUseProgram(0);
+        uniformBlocks.initialize(programId);
     }
 
     // Post-processing pipeline methods extracted to OpenGlPostProcessor (step 5 decomposition).
 
     private MeshBuffer uploadMesh(SceneMesh mesh, float[] prevModelMatrix) {
-        int vaoId = glGenVertexArrays();
-        int vboId = glGenBuffers();
+        OpenGlRegisteredMeshes.Geometry registered = mesh.geometry().registered();
+        OpenGlMappedMesh mapped = mesh.geometry().mapped();
+        int vaoId = registered != null ? registered.vaoId() : glGenVertexArrays();
+        int vboId = registered != null ? registered.vboId() : glGenBuffers();
+        int[] indices = mesh.geometry().indices();
+        boolean indexed = mapped != null ? mapped.indexCount() > 0 : indices != null;
+        int eboId = registered != null ? registered.eboId() : indexed ? glGenBuffers() : 0;
         VertexFormat fmt = mesh.geometry().format();
         int formatInt = fmt == VertexFormat.POS_NORMAL_UV_8F ? 1 : 0;
 
-        glBindVertexArray(vaoId);
-        glBindBuffer(GL_ARRAY_BUFFER, vboId);
-        glBufferData(GL_ARRAY_BUFFER, mesh.geometry().vertices(), GL_STATIC_DRAW);
-
-        if (fmt == VertexFormat.POS_NORMAL_UV_8F) {
-            int stride = 8 * Float.BYTES;
-            glVertexAttribPointer(0, 3, GL_FLOAT, false, stride, 0L);
-            glEnableVertexAttribArray(0);
-            glVertexAttribPointer(1, 3, GL_FLOAT, false, stride, 3L * Float.BYTES);
-            glEnableVertexAttribArray(1);
-            glVertexAttribPointer(2, 2, GL_FLOAT, false, stride, 6L * Float.BYTES);
-            glEnableVertexAttribArray(2);
-        } else {
-            glVertexAttribPointer(0, 3, GL_FLOAT, false, 6 * Float.BYTES, 0L);
-            glEnableVertexAttribArray(0);
-            glVertexAttribPointer(1, 3, GL_FLOAT, false, 6 * Float.BYTES, 3L * Float.BYTES);
-            glEnableVertexAttribArray(1);
-        }
+        if (mapped != null) {
+            glBindVertexArray(vaoId);
+            mapped.upload(vboId, eboId);
+            glBindBuffer(GL_ARRAY_BUFFER, 0);
+            glBindVertexArray(0);
+        } else if (registered == null) {
+            glBindVertexArray(vaoId);
+            glBindBuffer(GL_ARRAY_BUFFER, vboId);
+            glBufferData(GL_ARRAY_BUFFER, mesh.geometry().vertices(), GL_STATIC_DRAW);
+            if (eboId != 0) {
+                // The element buffer binding is part of the vertex array state.
+                glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, eboId);
+                glBufferData(GL_ELEMENT_ARRAY_BUFFER, indices, GL_STATIC_DRAW);
+            }
 
-        glBindBuffer(GL_ARRAY_BUFFER, 0);
-        glBindVertexArray(0);
+            if (fmt == VertexFormat.POS_NORMAL_UV_8F) {
+                int stride = 8 * Float.BYTES;
+                glVertexAttribPointer(0, 3, GL_FLOAT, false, stride, 0L);
+                glEnableVertexAttribArray(0);
+                glVertexAttribPointer(1, 3, GL_FLOAT, false, stride, 3L * Float.BYTES);
+                glEnableVertexAttribArray(1);
+                glVertexAttribPointer(2, 2, GL_FLOAT, false, stride, 6L * Float.BYTES);
+                glEnableVertexAttribArray(2);
+            } else {
+                glVertexAttribPointer(0, 3, GL_FLOAT, false, 6 * Float.BYTES, 0L);
+                glEnableVertexAttribArray(0);
+                glVertexAttribPointer(1, 3, GL_FLOAT, false, 6 * Float.BYTES, 3L * Float.BYTES);
+                glEnableVertexAttribArray(1);
+            }
+
+            glBindBuffer(GL_ARRAY_BUFFER, 0);
+            glBindVertexArray(0);
+        }
 
         OpenGlTextureLoader.TextureData albedoTexture = mesh.preloadedAlbedoTextureId() != 0
                 ? new OpenGlTextureLoader.TextureData(mesh.preloadedAlbedoTextureId(), 0, 0)
@@ -1382,14 +1367,26 @@ final class OpenGlContext {
         OpenGlTextureLoader.TextureData occlusionTexture = mesh.preloadedOcclusionTextureId() != 0
                 ? new OpenGlTextureLoader.TextureData(mesh.preloadedOcclusionTextureId(), 0, 0)
                 : textureLoader.loadTexture(mesh.occlusionTexturePath());
-        long vertexBytes = (long) mesh.geometry().vertices().length * Float.BYTES;
+        long vertexBytes = registered != null
+                ? registered.vertexBytes()
+                : mapped != null
+                ? mapped.gpuBytes()
+                : (long) mesh.geometry().vertices().length * Float.BYTES + (long) mesh.geometry().indexCount() * Integer.BYTES;
+        float[] localBounds = registered != null
+                ? registered.localBounds()
+                : mapped != null ? mapped.localBounds() : OpenGlSceneCuller.localBounds(mesh.geometry().vertices(), fmt.stride);
         return new MeshBuffer(
                 vaoId,
                 vboId,
+                eboId,
                 mesh.geometry().vertexCount(),
+                mesh.geometry().indexCount(),
+                mapped != null ? mapped.indexType() : GL_UNSIGNED_INT,
+                mesh.geometry().vertexCacheStats(),
                 formatInt,
                 mesh.meshId(),
                 mesh.modelMatrix().clone(),
+                localBounds,
                 prevModelMatrix.clone(),
                 mesh.albedoColor().clone(),
                 clamp01(mesh.metallic()),
@@ -1410,7 +1407,8 @@ final class OpenGlContext {
                 albedoTexture.bytes(),
                 normalTexture.bytes(),
                 metallicRoughnessTexture.bytes(),
-                occlusionTexture.bytes()
+                occlusionTexture.bytes(),
+                registered == null
         );
     }
 
@@ -1438,8 +1436,13 @@ final class OpenGlContext {
             if (mesh.occlusionTextureId != 0) {
                 glDeleteTextures(mesh.occlusionTextureId);
             }
-            glDeleteBuffers(mesh.vboId);
-            glDeleteVertexArrays(mesh.vaoId);
+            if (mesh.ownsGeometry) {
+                glDeleteBuffers(mesh.vboId);
+                if (mesh.eboId != 0) {
+                    glDeleteBuffers(mesh.eboId);
+                }
+                glDeleteVertexArrays(mesh.vaoId);
+            }
         }
         sceneMeshes.clear();
         estimatedGpuMemoryBytes = 0;
@@ -1466,50 +1469,75 @@ final class OpenGlContext {
         return bytes;
     }
 
-    private static int compileShader(int type, String source) throws EngineException {
-        int shaderId = glCreateShader(type);
-        glShaderSource(shaderId, source);
-        glCompileShader(shaderId);
-
-        if (glGetShaderi(shaderId, GL_COMPILE_STATUS) == 0) {
-            String info = glGetShaderInfoLog(shaderId);
-            glDeleteShader(shaderId);
-            throw new EngineException(EngineErrorCode.SHADER_COMPILATION_FAILED, "Shader compilation failed: " + info, false);
-        }
-
-        return shaderId;
-    }
-
-    private void applyFogUniforms() {
-        glUniform1i(fogEnabledLocation, fogEnabled ? 1 : 0);
-        glUniform3f(fogColorLocation, fogR, fogG, fogB);
-        glUniform1f(fogDensityLocation, fogDensity);
-        glUniform1i(fogStepsLocation, fogSteps);
-    }
-
-    private void applySmokeUniforms() {
-        glUniform1i(smokeEnabledLocation, smokeEnabled ? 1 : 0);
-        glUniform3f(smokeColorLocation, smokeR, smokeG, smokeB);
-        glUniform1f(smokeIntensityLocation, smokeIntensity);
-        glUniform2f(viewportSizeLocation, Math.max(1, sceneRenderWidth), Math.max(1, sceneRenderHeight));
-    }
-
-    private void applyPostProcessUniforms(boolean shaderDrivenEnabled) {
-        glUniform1i(tonemapEnabledLocation, shaderDrivenEnabled && tonemapEnabled ? 1 : 0);
-        glUniform1f(tonemapExposureLocation, tonemapExposure);
-        glUniform1f(tonemapGammaLocation, tonemapGamma);
-        glUniform1i(bloomEnabledLocation, shaderDrivenEnabled && bloomEnabled ? 1 : 0);
-        glUniform1f(bloomThresholdLocation, bloomThreshold);
-        glUniform1f(bloomStrengthLocation, bloomStrength);
-        glUniform1i(ssaoEnabledLocation, shaderDrivenEnabled && ssaoEnabled ? 1 : 0);
-        glUniform1f(ssaoStrengthLocation, ssaoStrength);
-        glUniform1f(ssaoRadiusLocation, ssaoRadius);
-        glUniform1f(ssaoBiasLocation, ssaoBias);
-        glUniform1f(ssaoPowerLocation, ssaoPower);
-        glUniform1i(smaaEnabledLocation, shaderDrivenEnabled && smaaEnabled ? 1 : 0);
-        glUniform1f(smaaStrengthLocation, smaaStrength);
-        glUniform1i(taaEnabledLocation, shaderDrivenEnabled && taaEnabled ? 1 : 0);
-        glUniform1f(taaBlendLocation, taaBlend);
+    /** Stages the whole {@code FrameData} block; only words that changed since the last pass are uploaded. */
+    private void writeFrameUniforms(float[] viewProj) {
+        GlUniformBlockStaging frame = uniformBlocks.frame();
+        boolean shaderDrivenEnabled = useShaderDrivenPost();
+        frame.putFloats(OpenGlUniformBlocks.F_VIEW, viewMatrix, 16);
+        frame.putFloats(OpenGlUniformBlocks.F_PROJ, projMatrix, 16);
+        frame.putFloats(OpenGlUniformBlocks.F_CURRENT_VIEW_PROJ, viewProj, 16);
+        frame.putFloats(OpenGlUniformBlocks.F_PREV_VIEW_PROJ,
+                temporalAA.isPrevViewProjValid() ? temporalAA.prevViewProj() : viewProj, 16);
+        frame.putFloats(OpenGlUniformBlocks.F_LIGHT_VIEW_PROJ, shadowRenderer.lightViewProjMatrix(), 16);
+        frame.putFloats(OpenGlUniformBlocks.F_LOCAL_SHADOW_MATRIX, shadowRenderer.localShadowMatrices(), MAX_LOCAL_SHADOWS * 16);
+        frame.putFloats(OpenGlUniformBlocks.F_LOCAL_LIGHT_POS_RANGE, localLightPosRange, MAX_LOCAL_LIGHTS * 4);
+        frame.putFloats(OpenGlUniformBlocks.F_LOCAL_LIGHT_COLOR_INTENSITY, localLightColorIntensity, MAX_LOCAL_LIGHTS * 4);
+        frame.putFloats(OpenGlUniformBlocks.F_LOCAL_LIGHT_DIR_INNER, localLightDirInner, MAX_LOCAL_LIGHTS * 4);
+        frame.putFloats(OpenGlUniformBlocks.F_LOCAL_LIGHT_OUTER_TYPE_SHADOW, localLightOuterTypeShadow, MAX_LOCAL_LIGHTS * 4);
+        frame.putFloats(OpenGlUniformBlocks.F_LOCAL_SHADOW_ATLAS_RECT, shadowRenderer.localShadowAtlasRects(), MAX_LOCAL_SHADOWS * 4);
+        frame.putFloats(OpenGlUniformBlocks.F_LOCAL_SHADOW_META, shadowRenderer.localShadowMeta(), MAX_LOCAL_SHADOWS * 4);
+        frame.putVec4(OpenGlUniformBlocks.F_IBL_PARAMS,
+                iblEnabled ? 1f : 0f, iblDiffuseStrength, iblSpecularStrength, iblPrefilterStrength);
+        clusteredLights.writeUniforms(frame, OpenGlUniformBlocks.F_CLUSTER_GRID, OpenGlUniformBlocks.F_CLUSTER_DEPTH);
+        frame.putVec4(OpenGlUniformBlocks.F_DIR_LIGHT_DIR, dirLightDirX, dirLightDirY, dirLightDirZ, dirLightIntensity);
+        frame.putVec4(OpenGlUniformBlocks.F_DIR_LIGHT_COLOR, dirLightColorR, dirLightColorG, dirLightColorB, shadowStrength);
+        frame.putVec4(OpenGlUniformBlocks.F_POINT_LIGHT_POS, pointLightPosX, pointLightPosY, pointLightPosZ, pointShadowFarPlane);
+        frame.putVec4(OpenGlUniformBlocks.F_POINT_LIGHT_DIR, pointLightDirX, pointLightDirY, pointLightDirZ, shadowBias);
+        frame.putVec4(OpenGlUniformBlocks.F_AMBIENT_COLOR, ambientColorR, ambientColorG, ambientColorB, ambientIntensity);
+        frame.putVec4(OpenGlUniformBlocks.F_FOG_COLOR, fogR, fogG, fogB, fogDensity);
+        frame.putVec4(OpenGlUniformBlocks.F_SMOKE_COLOR, smokeR, smokeG, smokeB, smokeIntensity);
+        frame.putVec4(OpenGlUniformBlocks.F_VIEWPORT_SIZE, Math.max(1, sceneRenderWidth), Math.max(1, sceneRenderHeight),
+                shadowNormalBiasScale, shadowSlopeBiasScale);
+        int ints = OpenGlUniformBlocks.F_INTS_0;
+        frame.putInt(ints, localLightCount);
+        frame.putInt(ints + 1, pointShadowEnabled ? 1 : 0);
+        frame.putInt(ints + 2, pointShadowLightIndex);
+        frame.putInt(ints + 3, shadowEnabled ? 1 : 0);
+        frame.putInt(ints + 4, shadowPcfRadius);
+        frame.putInt(ints + 5, shadowCascadeCount);
+        frame.putInt(ints + 6, shadowRenderer.localShadowCount());
+        frame.putInt(ints + 7, fogEnabled ? 1 : 0);
+        frame.putInt(ints + 8, fogSteps);
+        frame.putInt(ints + 9, smokeEnabled ? 1 : 0);
+        frame.putInt(ints + 10, shaderDrivenEnabled && tonemapEnabled ? 1 : 0);
+        frame.putInt(ints + 11, shaderDrivenEnabled && bloomEnabled ? 1 : 0);
+        frame.putInt(ints + 12, shaderDrivenEnabled && ssaoEnabled ? 1 : 0);
+        frame.putInt(ints + 13, shaderDrivenEnabled && smaaEnabled ? 1 : 0);
+        frame.putInt(ints + 14, shaderDrivenEnabled && taaEnabled ? 1 : 0);
+        frame.putFloat(ints + 15, iblRadianceMaxLod);
+        frame.putVec4(OpenGlUniformBlocks.F_POST_0, tonemapExposure, tonemapGamma, bloomThreshold, bloomStrength);
+        frame.putVec4(OpenGlUniformBlocks.F_POST_1, ssaoStrength, ssaoRadius, ssaoBias, ssaoPower);
+        frame.putVec4(OpenGlUniformBlocks.F_POST_2, smaaStrength, taaBlend, 0f, 0f);
+    }
+
+    private void writeObjectUniforms(int slot, MeshBuffer mesh) {
+        GlUniformBlockStaging objects = uniformBlocks.objects();
+        objects.putFloats(slot + OpenGlUniformBlocks.O_MODEL, mesh.modelMatrix, 16);
+        objects.putFloats(slot + OpenGlUniformBlocks.O_PREV_MODEL, mesh.prevModelMatrix, 16);
+        objects.putVec4(slot + OpenGlUniformBlocks.O_MATERIAL_REACTIVE,
+                mesh.reactiveStrength, mesh.alphaTested ? 1f : 0f, mesh.foliage ? 1f : 0f, 0f);
+        objects.putVec4(slot + OpenGlUniformBlocks.O_MATERIAL_REACTIVE_TUNING,
+                mesh.reactiveBoost, mesh.taaHistoryClamp, mesh.emissiveReactiveBoost, mesh.reactivePreset);
+        objects.putVec4(slot + OpenGlUniformBlocks.O_MATERIAL_ALBEDO,
+                mesh.albedoColor[0], mesh.albedoColor[1], mesh.albedoColor[2], mesh.metallic);
+        int ints = slot + OpenGlUniformBlocks.O_INTS_0;
+        objects.putFloat(ints, mesh.roughness);
+        objects.putFloat(ints + 1, mesh.alphaCutoff);
+        objects.putInt(ints + 2, mesh.vertexFormat);
+        objects.putInt(ints + 3, mesh.textureId != 0 ? 1 : 0);
+        objects.putInt(ints + 4, mesh.normalTextureId != 0 ? 1 : 0);
+        objects.putInt(ints + 5, mesh.metallicRoughnessTextureId != 0 ? 1 : 0);
+        objects.putInt(ints + 6, mesh.occlusionTextureId != 0 ? 1 : 0);
     }
 
     private boolean useDedicatedPostPass() {
@@ -1608,7 +1636,13 @@ final class OpenGlContext {
             maxAnisotropy = org.lwjgl.opengl.GL11.glGetFloat(
                     org.lwjgl.opengl.EXTTextureFilterAnisotropic.GL_MAX_TEXTURE_MAX_ANISOTROPY_EXT);
         }
-        textureLoader = new OpenGlTextureLoader(maxAnisotropy);
+        textureLoader = new OpenGlTextureLoader(
+                maxAnisotropy,
+                caps.GL_EXT_texture_compression_s3tc,
+                caps.GL_EXT_texture_sRGB,
+                caps.OpenGL30 || caps.GL_ARB_texture_compression_rgtc || caps.GL_EXT_texture_compression_rgtc,
+                caps.OpenGL42 || caps.GL_ARB_texture_compression_bptc
+        );
     }
 
     static MeshGeometry defaultTriangleGeometry() {
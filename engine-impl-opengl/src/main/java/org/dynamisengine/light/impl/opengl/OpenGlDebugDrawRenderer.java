@@ -1,6 +1,7 @@
 package org.dynamisengine.light.impl.opengl;
 
 import org.dynamisengine.debug.api.draw.*;
+import org.dynamisengine.light.api.error.EngineException;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -37,8 +38,8 @@ final class OpenGlDebugDrawRenderer {
     private boolean initialized;
     private boolean enabled = true;
 
-    void initialize() {
-        programId = createDebugShaderProgram();
+    void initialize(GlProgramLinker programLinker) throws EngineException {
+        programId = programLinker.link(GlProgramSource.of("Debug draw", DEBUG_VERTEX_SHADER, DEBUG_FRAGMENT_SHADER));
         vpLocation = glGetUniformLocation(programId, "u_viewProj");
 
         vaoId = glGenVertexArrays();
@@ -200,37 +201,6 @@ final class OpenGlDebugDrawRenderer {
         };
     }
 
-    // --- Shader ---
-
-    private static int createDebugShaderProgram() {
-        int vs = compileShader(GL_VERTEX_SHADER, DEBUG_VERTEX_SHADER);
-        int fs = compileShader(GL_FRAGMENT_SHADER, DEBUG_FRAGMENT_SHADER);
-        int prog = glCreateProgram();
-        glAttachShader(prog, vs);
-        glAttachShader(prog, fs);
-        glLinkProgram(prog);
-        if (glGetProgrami(prog, GL_LINK_STATUS) == GL_FALSE) {
-            String log = glGetProgramInfoLog(prog);
-            glDeleteProgram(prog);
-            throw new RuntimeException("Debug shader link failed: " + log);
-        }
-        glDeleteShader(vs);
-        glDeleteShader(fs);
-        return prog;
-    }
-
-    private static int compileShader(int type, String source) {
-        int id = glCreateShader(type);
-        glShaderSource(id, source);
-        glCompileShader(id);
-        if (glGetShaderi(id, GL_COMPILE_STATUS) == GL_FALSE) {
-            String log = glGetShaderInfoLog(id);
-            glDeleteShader(id);
-            throw new RuntimeException("Debug shader compile failed: " + log);
-        }
-        return id;
-    }
-
     private static final String DEBUG_VERTEX_SHADER = """
             #version 330 core
             layout(location = 0) in vec3 a_position;
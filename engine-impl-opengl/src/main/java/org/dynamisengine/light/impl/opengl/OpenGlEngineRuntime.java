@@ -2,7 +2,10 @@ package org.dynamisengine.light.impl.opengl;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.dynamisengine.debug.api.draw.DebugDrawCommand;
 import org.dynamisengine.light.api.runtime.EngineCapabilities;
@@ -10,6 +13,8 @@ import org.dynamisengine.light.api.config.EngineConfig;
 import org.dynamisengine.light.api.error.EngineErrorCode;
 import org.dynamisengine.light.api.error.EngineException;
 import org.dynamisengine.light.api.event.EngineWarning;
+import org.dynamisengine.light.api.mesh.MeshUploadRequest;
+import org.dynamisengine.light.api.mesh.MeshUploadResult;
 import org.dynamisengine.light.api.scene.CameraDesc;
 import org.dynamisengine.light.api.scene.AntiAliasingDesc;
 import org.dynamisengine.light.api.scene.EnvironmentDesc;
@@ -28,6 +33,7 @@ import org.dynamisengine.light.impl.common.framegraph.FrameGraph;
 import org.dynamisengine.light.impl.common.framegraph.FrameGraphBuilder;
 import org.dynamisengine.light.impl.common.framegraph.FrameGraphExecutor;
 import org.dynamisengine.light.impl.common.framegraph.FrameGraphPass;
+import org.dynamisengine.light.impl.common.mesh.VertexCacheStats;
 import org.dynamisengine.light.impl.common.upscale.ExternalUpscalerBridge;
 import org.dynamisengine.light.impl.common.upscale.ExternalUpscalerIntegration;
 
@@ -85,8 +91,10 @@ public final class OpenGlEngineRuntime extends AbstractEngineRuntime {
     private QualityTier qualityTier = QualityTier.MEDIUM;
     private long plannedDrawCalls = 1;
     private long plannedTriangles = 1;
+    private Map<String, VertexCacheStats> meshVertexCache = Map.of();
     private long plannedVisibleObjects = 1;
     private OpenGlMeshAssetLoader meshLoader = new OpenGlMeshAssetLoader(Path.of("."));
+    private OpenGlRegisteredMeshes registeredMeshes = new OpenGlRegisteredMeshes(true);
     private Path assetRoot = Path.of(".");
     private int viewportWidth = 1280;
     private int viewportHeight = 720;
@@ -152,6 +160,7 @@ public final class OpenGlEngineRuntime extends AbstractEngineRuntime {
         qualityTier = config.qualityTier();
         assetRoot = config.assetRoot() == null ? Path.of(".") : config.assetRoot();
         meshLoader = new OpenGlMeshAssetLoader(assetRoot);
+        registeredMeshes = new OpenGlRegisteredMeshes(mockContext);
         viewportWidth = config.initialWidthPx();
         viewportHeight = config.initialHeightPx();
         if (Boolean.parseBoolean(config.backendOptions().getOrDefault("opengl.forceInitFailure", "false"))) {
@@ -183,16 +192,30 @@ public final class OpenGlEngineRuntime extends AbstractEngineRuntime {
         postProcess = applyExternalUpscalerDecision(postProcess);
         ibl = OpenGlIblResolver.mapIbl(scene.environment(), qualityTier, assetRoot);
 
-        List<OpenGlContext.SceneMesh> sceneMeshes = OpenGlSceneMeshMapper.mapSceneMeshes(scene, meshLoader, context, assetRoot, mockContext);
+        List<OpenGlContext.SceneMesh> sceneMeshes = OpenGlSceneMeshMapper.mapSceneMeshes(
+                scene, meshLoader, registeredMeshes, context, assetRoot, mockContext);
         plannedDrawCalls = sceneMeshes.size();
-        plannedTriangles = sceneMeshes.stream().mapToLong(mesh -> mesh.geometry().vertexCount() / 3).sum();
+        plannedTriangles = sceneMeshes.stream().mapToLong(mesh -> mesh.geometry().triangleCount()).sum();
+        Map<String, VertexCacheStats> vertexCache = new LinkedHashMap<>();
+        for (OpenGlContext.SceneMesh mesh : sceneMeshes) {
+            vertexCache.put(mesh.meshId(), mesh.geometry().vertexCacheStats());
+        }
+        meshVertexCache = Collections.unmodifiableMap(vertexCache);
         plannedVisibleObjects = plannedDrawCalls;
 
         CameraDesc camera = selectActiveCamera(scene);
         CameraMatrices cameraMatrices = cameraMatricesFor(camera, safeAspect(viewportWidth, viewportHeight));
 
+        try {
+            if (!mockContext) {
+                context.setSceneMeshes(sceneMeshes);
+            }
+        } finally {
+            // Mapped packed geometry is in GL buffers now (or never will be on the mock context).
+            sceneMeshes.forEach(mesh -> mesh.geometry().releaseMapping());
+        }
+        registeredMeshes.retainSceneGeometry(sceneMeshes);
         if (!mockContext) {
-            context.setSceneMeshes(sceneMeshes);
             context.setCameraMatrices(cameraMatrices.view(), cameraMatrices.proj());
             LightingConfig lighting = OpenGlLightingMapper.mapLighting(scene.lights());
             context.setLightingParameters(
@@ -211,6 +234,7 @@ public final class OpenGlEngineRuntime extends AbstractEngineRuntime {
                     lighting.localLightDirInner(),
                     lighting.localLightOuterTypeShadow()
             );
+            context.setClusteredLights(lighting.clusteredLightCount(), lighting.clusteredLights());
             context.setShadowParameters(
                     shadows.enabled(),
                     shadows.strength(),
@@ -269,7 +293,23 @@ public final class OpenGlEngineRuntime extends AbstractEngineRuntime {
                 context.lastDrawCalls(),
                 context.lastTriangles(),
                 context.lastVisibleObjects(),
-                context.estimatedGpuMemoryBytes()
+                context.estimatedGpuMemoryBytes(),
+                context.lastShadowDrawCalls(),
+                context.lastDrawCalls(),
+                0,
+                0,
+                context.sceneObjectCount(),
+                0,
+                0,
+                0,
+                0,
+                context.lastCulledObjects(),
+                0,
+                0,
+                context.lastStateBindChanges(),
+                context.lastUniformCalls(),
+                context.lastUniformBytes(),
+                context.lastVertexInvocations()
         );
     }
 
@@ -290,10 +330,26 @@ public final class OpenGlEngineRuntime extends AbstractEngineRuntime {
     @Override
     protected void onShutdown() {
         if (!mockContext) {
+            registeredMeshes.shutdown();
             context.shutdown();
         }
     }
 
+    @Override
+    protected MeshUploadResult onRegisterMesh(MeshUploadRequest request) throws EngineException {
+        return registeredMeshes.register(List.of(request)).getFirst();
+    }
+
+    @Override
+    protected List<MeshUploadResult> onRegisterMeshes(List<MeshUploadRequest> requests) throws EngineException {
+        return registeredMeshes.register(requests);
+    }
+
+    @Override
+    protected void onRemoveMesh(int meshHandle) throws EngineException {
+        registeredMeshes.remove(meshHandle);
+    }
+
     // --- Debug draw support ---
 
     void submitDebugDrawCommands(List<DebugDrawCommand> commands) {
@@ -302,6 +358,16 @@ public final class OpenGlEngineRuntime extends AbstractEngineRuntime {
         }
     }
 
+    /** Estimated post-transform cache behaviour (ACMR/ATVR) of each mesh in the loaded scene, keyed by mesh id. */
+    Map<String, VertexCacheStats> meshVertexCacheStats() {
+        return meshVertexCache;
+    }
+
+    /** Face culling and draw counters of the last cube shadow rendered for a local light; null in mock mode or before one ran. */
+    OpenGlShadowRenderer.PointShadowStats pointShadowStats(int lightIndex) {
+        return mockContext ? null : context.pointShadowStats(lightIndex);
+    }
+
     boolean isDebugDrawEnabled() {
         return !mockContext && context.isDebugDrawEnabled();
     }
@@ -351,6 +417,15 @@ public final class OpenGlEngineRuntime extends AbstractEngineRuntime {
                             + " slopeBiasScale=" + shadows.slopeBiasScale()
             ));
         }
+        int droppedClusterAssignments = mockContext ? 0 : context.clusteredLightDroppedAssignments();
+        if (droppedClusterAssignments > 0) {
+            warnings.add(new EngineWarning(
+                    "CLUSTERED_LIGHT_CLUSTER_OVERFLOW",
+                    "Clustered lighting dropped " + droppedClusterAssignments
+                            + " light-to-cluster assignments; each cluster shades at most "
+                            + OpenGlClusteredLights.MAX_LIGHTS_PER_CLUSTER + " lights"
+            ));
+        }
         if (postProcess.ssaoEnabled() && qualityTier == QualityTier.MEDIUM) {
             warnings.add(new EngineWarning(
                     "SSAO_QUALITY_DEGRADED",
@@ -361,16 +361,46 @@ final class OpenGlGltfMeshParser {
 
         int materialIndex = prim.path("material").asInt(-1);
 
-        float[] interleaved = buildExtendedInterleaved(positions, normals, uvs, indices);
-        if (interleaved.length < 24) { // at least 3 vertices * 8 floats
-            return null;
+        // Flat normals are per face, so primitives without NORMAL still need expanded triangles.
+        OpenGlContext.MeshGeometry geometry = normals != null ? buildIndexedGeometry(positions, normals, uvs, indices) : null;
+        if (geometry == null) {
+            float[] interleaved = buildExtendedInterleaved(positions, normals, uvs, indices);
+            if (interleaved.length < 24) { // at least 3 vertices * 8 floats
+                return null;
+            }
+            geometry = new OpenGlContext.MeshGeometry(interleaved, OpenGlContext.VertexFormat.POS_NORMAL_UV_8F);
         }
-
-        OpenGlContext.MeshGeometry geometry = new OpenGlContext.MeshGeometry(
-                interleaved, OpenGlContext.VertexFormat.POS_NORMAL_UV_8F);
         return new ParsedPrimitive(geometry, materialIndex, meshName, meshIndex, primIndex);
     }
 
+    /**
+     * Keeps the primitive's shared vertices and index order so the GPU can reuse transformed vertices.
+     * Returns {@code null} when the primitive is non-indexed or has out-of-range indices.
+     */
+    private OpenGlContext.MeshGeometry buildIndexedGeometry(float[] positions, float[] normals, float[] uvs, int[] indices) {
+        if (indices == null) {
+            return null;
+        }
+        int vertexCount = positions.length / 3;
+        int usable = indices.length - (indices.length % 3);
+        if (usable < 3) {
+            return null;
+        }
+        int[] triangles = new int[usable];
+        for (int i = 0; i < usable; i++) {
+            int idx = indices[i];
+            if (idx < 0 || idx >= vertexCount) {
+                return null;
+            }
+            triangles[i] = idx;
+        }
+        float[] vertices = new float[vertexCount * 8];
+        for (int v = 0; v < vertexCount; v++) {
+            writeExtendedVertex(vertices, v, positions, normals, uvs, v, vertexCount);
+        }
+        return new OpenGlContext.MeshGeometry(vertices, OpenGlContext.VertexFormat.POS_NORMAL_UV_8F, triangles);
+    }
+
     private float[] buildExtendedInterleaved(float[] positions, float[] normals, float[] uvs, int[] indices) {
         int vertexCount = positions.length / 3;
 
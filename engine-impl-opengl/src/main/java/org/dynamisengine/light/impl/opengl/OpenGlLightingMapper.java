@@ -6,6 +6,7 @@ import java.util.Map;
 import org.dynamisengine.light.api.config.QualityTier;
 import org.dynamisengine.light.api.scene.LightDesc;
 import org.dynamisengine.light.api.scene.LightType;
+import org.dynamisengine.light.impl.common.culling.ClusteredLightRecords;
 import org.dynamisengine.light.api.scene.ShadowDesc;
 import org.dynamisengine.light.impl.common.shadow.ShadowAtlasPlanner;
 
@@ -33,7 +34,9 @@ final class OpenGlLightingMapper {
             float[] localLightPosRange,
             float[] localLightColorIntensity,
             float[] localLightDirInner,
-            float[] localLightOuterTypeShadow
+            float[] localLightOuterTypeShadow,
+            int clusteredLightCount,
+            float[] clusteredLights
     ) {
     }
 
@@ -229,6 +232,8 @@ final class OpenGlLightingMapper {
         float shadowPointRange = 15f;
         boolean shadowPointCastsShadows = false;
         int localLightCount = 0;
+        int clusteredLightCount = 0;
+        float[] clusteredLights = new float[0];
         float[] localLightPosRange = new float[OpenGlContext.MAX_LOCAL_LIGHTS * 4];
         float[] localLightColorIntensity = new float[OpenGlContext.MAX_LOCAL_LIGHTS * 4];
         float[] localLightDirInner = new float[OpenGlContext.MAX_LOCAL_LIGHTS * 4];
@@ -237,7 +242,8 @@ final class OpenGlLightingMapper {
             return new LightingConfig(
                     dir, dirColor, dirIntensity,
                     shadowPointPos, shadowPointDir, shadowPointIsSpot, shadowPointOuterCos, shadowPointRange, shadowPointCastsShadows,
-                    localLightCount, localLightPosRange, localLightColorIntensity, localLightDirInner, localLightOuterTypeShadow
+                    localLightCount, localLightPosRange, localLightColorIntensity, localLightDirInner, localLightOuterTypeShadow,
+                    0, new float[0]
             );
         }
         LightDesc directional = null;
@@ -319,6 +325,8 @@ final class OpenGlLightingMapper {
                 localLightOuterTypeShadow[offset + 1] = isSpot;
                 localLightOuterTypeShadow[offset + 2] = castsShadows;
             }
+            clusteredLights = ClusteredLightRecords.pack(localLights, localLightCount, OpenGlContext.MAX_CLUSTERED_LIGHTS);
+            clusteredLightCount = clusteredLights.length / ClusteredLightRecords.RECORD_FLOATS;
 
             LightDesc shadowLight = localLights.stream().filter(LightDesc::castsShadows).findFirst().orElse(localLights.getFirst());
             if (shadowLight.position() != null) {
@@ -340,7 +348,8 @@ final class OpenGlLightingMapper {
         return new LightingConfig(
                 dir, dirColor, dirIntensity,
                 shadowPointPos, shadowPointDir, shadowPointIsSpot, shadowPointOuterCos, shadowPointRange, shadowPointCastsShadows,
-                localLightCount, localLightPosRange, localLightColorIntensity, localLightDirInner, localLightOuterTypeShadow
+                localLightCount, localLightPosRange, localLightColorIntensity, localLightDirInner, localLightOuterTypeShadow,
+                clusteredLightCount, clusteredLights
         );
     }
 
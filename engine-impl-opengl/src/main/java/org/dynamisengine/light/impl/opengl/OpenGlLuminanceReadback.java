@@ -0,0 +1,211 @@
+package org.dynamisengine.light.impl.opengl;
+
+import static org.dynamisengine.light.impl.opengl.GlShaderSources.*;
+
+import static org.lwjgl.opengl.GL11.GL_FLOAT;
+import static org.lwjgl.opengl.GL11.GL_NEAREST;
+import static org.lwjgl.opengl.GL11.GL_RED;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_2D;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_MAG_FILTER;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_MIN_FILTER;
+import static org.lwjgl.opengl.GL11.GL_TRIANGLES;
+import static org.lwjgl.opengl.GL11.glBindTexture;
+import static org.lwjgl.opengl.GL11.glDeleteTextures;
+import static org.lwjgl.opengl.GL11.glDrawArrays;
+import static org.lwjgl.opengl.GL11.glGenTextures;
+import static org.lwjgl.opengl.GL11.glReadBuffer;
+import static org.lwjgl.opengl.GL11.glReadPixels;
+import static org.lwjgl.opengl.GL11.glTexImage2D;
+import static org.lwjgl.opengl.GL11.glTexParameteri;
+import static org.lwjgl.opengl.GL11.glViewport;
+import static org.lwjgl.opengl.GL13.GL_TEXTURE0;
+import static org.lwjgl.opengl.GL13.glActiveTexture;
+import static org.lwjgl.opengl.GL15.GL_STREAM_READ;
+import static org.lwjgl.opengl.GL15.glBindBuffer;
+import static org.lwjgl.opengl.GL15.glBufferData;
+import static org.lwjgl.opengl.GL15.glDeleteBuffers;
+import static org.lwjgl.opengl.GL15.glGenBuffers;
+import static org.lwjgl.opengl.GL15.glUnmapBuffer;
+import static org.lwjgl.opengl.GL20.glDeleteProgram;
+import static org.lwjgl.opengl.GL20.glGetUniformLocation;
+import static org.lwjgl.opengl.GL20.glUniform1i;
+import static org.lwjgl.opengl.GL20.glUniform2f;
+import static org.lwjgl.opengl.GL20.glUseProgram;
+import static org.lwjgl.opengl.GL21.GL_PIXEL_PACK_BUFFER;
+import static org.lwjgl.opengl.GL30.GL_COLOR_ATTACHMENT0;
+import static org.lwjgl.opengl.GL30.GL_FRAMEBUFFER;
+import static org.lwjgl.opengl.GL30.GL_FRAMEBUFFER_COMPLETE;
+import static org.lwjgl.opengl.GL30.GL_MAP_READ_BIT;
+import static org.lwjgl.opengl.GL30.GL_R16F;
+import static org.lwjgl.opengl.GL30.glBindFramebuffer;
+import static org.lwjgl.opengl.GL30.glCheckFramebufferStatus;
+import static org.lwjgl.opengl.GL30.glDeleteFramebuffers;
+import static org.lwjgl.opengl.GL30.glFramebufferTexture2D;
+import static org.lwjgl.opengl.GL30.glGenFramebuffers;
+import static org.lwjgl.opengl.GL30.glMapBufferRange;
+import static org.lwjgl.opengl.GL32.GL_ALREADY_SIGNALED;
+import static org.lwjgl.opengl.GL32.GL_CONDITION_SATISFIED;
+import static org.lwjgl.opengl.GL32.GL_SYNC_GPU_COMMANDS_COMPLETE;
+import static org.lwjgl.opengl.GL32.glClientWaitSync;
+import static org.lwjgl.opengl.GL32.glDeleteSync;
+import static org.lwjgl.opengl.GL32.glFenceSync;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.dynamisengine.light.api.error.EngineException;
+
+/**
+ * GPU half of auto-exposure: reduces the HDR scene color to a {@value #GRID_WIDTH}x{@value #GRID_HEIGHT}
+ * grid of log2 luminance (each cell the mean of 4x4 taps) and reads it back without stalling.
+ *
+ * <p>GL 3.3 has no compute shaders, so the histogram itself is built on the CPU by
+ * {@link GlAutoExposure}. Each frame's grid is copied into one of {@value #RING_SIZE} pixel-pack
+ * buffers followed by a fence; {@link #poll(float[])} maps a buffer only once its fence has signaled,
+ * so the exposure trails the scene by a couple of frames instead of blocking on the GPU. When every
+ * buffer is still in flight the frame's reduction is skipped.
+ *
+ * <p>Package-private helper owned by {@link OpenGlPostProcessor}.
+ */
+final class OpenGlLuminanceReadback {
+
+    static final int GRID_WIDTH = 64;
+    static final int GRID_HEIGHT = 32;
+    static final int SAMPLE_COUNT = GRID_WIDTH * GRID_HEIGHT;
+    private static final int RING_SIZE = 3;
+
+    private int programId;
+    private int gridSizeLocation;
+    private int textureId;
+    private int framebufferId;
+    private final int[] packBufferIds = new int[RING_SIZE];
+    private final long[] fences = new long[RING_SIZE];
+    private int nextWrite;
+    private int nextRead;
+    private int inFlight;
+    private boolean available;
+
+    void initializePipeline(GlProgramLinker programLinker) throws EngineException {
+        programId = programLinker.link(GlProgramSource.of("Luminance", POST_VERTEX_SHADER, LUMINANCE_FRAGMENT_SHADER));
+        gridSizeLocation = glGetUniformLocation(programId, "uGridSize");
+        glUseProgram(programId);
+        glUniform1i(glGetUniformLocation(programId, "uSceneColor"), 0);
+        glUseProgram(0);
+    }
+
+    boolean recreateTargets() {
+        destroyResources();
+        textureId = glGenTextures();
+        glBindTexture(GL_TEXTURE_2D, textureId);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_NEAREST);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
+        glTexImage2D(GL_TEXTURE_2D, 0, GL_R16F, GRID_WIDTH, GRID_HEIGHT, 0, GL_RED, GL_FLOAT, 0L);
+        glBindTexture(GL_TEXTURE_2D, 0);
+
+        framebufferId = glGenFramebuffers();
+        glBindFramebuffer(GL_FRAMEBUFFER, framebufferId);
+        glFramebufferTexture2D(GL_FRAMEBUFFER, GL_COLOR_ATTACHMENT0, GL_TEXTURE_2D, textureId, 0);
+        int status = glCheckFramebufferStatus(GL_FRAMEBUFFER);
+        glBindFramebuffer(GL_FRAMEBUFFER, 0);
+
+        for (int i = 0; i < RING_SIZE; i++) {
+            packBufferIds[i] = glGenBuffers();
+            glBindBuffer(GL_PIXEL_PACK_BUFFER, packBufferIds[i]);
+            glBufferData(GL_PIXEL_PACK_BUFFER, (long) SAMPLE_COUNT * Float.BYTES, GL_STREAM_READ);
+        }
+        glBindBuffer(GL_PIXEL_PACK_BUFFER, 0);
+        available = status == GL_FRAMEBUFFER_COMPLETE;
+        if (!available) {
+            destroyResources();
+        }
+        return available;
+    }
+
+    void destroyResources() {
+        for (int i = 0; i < RING_SIZE; i++) {
+            if (fences[i] != 0L) {
+                glDeleteSync(fences[i]);
+                fences[i] = 0L;
+            }
+            if (packBufferIds[i] != 0) {
+                glDeleteBuffers(packBufferIds[i]);
+                packBufferIds[i] = 0;
+            }
+        }
+        if (framebufferId != 0) {
+            glDeleteFramebuffers(framebufferId);
+            framebufferId = 0;
+        }
+        if (textureId != 0) {
+            glDeleteTextures(textureId);
+            textureId = 0;
+        }
+        nextWrite = 0;
+        nextRead = 0;
+        inFlight = 0;
+        available = false;
+    }
+
+    void destroyPipeline() {
+        destroyResources();
+        if (programId != 0) {
+            glDeleteProgram(programId);
+            programId = 0;
+        }
+    }
+
+    /**
+     * Reduces {@code sceneColorTextureId} into the grid and queues its readback. Expects depth testing
+     * off and an attribute-less VAO bound; leaves framebuffer and viewport state for the caller to reset.
+     */
+    void reduce(int sceneColorTextureId) {
+        if (!available || programId == 0 || inFlight == RING_SIZE) {
+            return;
+        }
+        glBindFramebuffer(GL_FRAMEBUFFER, framebufferId);
+        glViewport(0, 0, GRID_WIDTH, GRID_HEIGHT);
+        glUseProgram(programId);
+        glUniform2f(gridSizeLocation, GRID_WIDTH, GRID_HEIGHT);
+        glActiveTexture(GL_TEXTURE0);
+        glBindTexture(GL_TEXTURE_2D, sceneColorTextureId);
+        glDrawArrays(GL_TRIANGLES, 0, 3);
+        glBindTexture(GL_TEXTURE_2D, 0);
+        glUseProgram(0);
+
+        glReadBuffer(GL_COLOR_ATTACHMENT0);
+        glBindBuffer(GL_PIXEL_PACK_BUFFER, packBufferIds[nextWrite]);
+        glReadPixels(0, 0, GRID_WIDTH, GRID_HEIGHT, GL_RED, GL_FLOAT, 0L);
+        glBindBuffer(GL_PIXEL_PACK_BUFFER, 0);
+        fences[nextWrite] = glFenceSync(GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+        nextWrite = (nextWrite + 1) % RING_SIZE;
+        inFlight++;
+    }
+
+    /**
+     * Copies the oldest completed grid into {@code out} (at least {@link #SAMPLE_COUNT} long).
+     *
+     * @return the number of samples written, or 0 when no readback has completed yet
+     */
+    int poll(float[] out) {
+        if (!available || inFlight == 0) {
+            return 0;
+        }
+        int status = glClientWaitSync(fences[nextRead], 0, 0L);
+        if (status != GL_ALREADY_SIGNALED && status != GL_CONDITION_SATISFIED) {
+            return 0;
+        }
+        glDeleteSync(fences[nextRead]);
+        fences[nextRead] = 0L;
+        int written = 0;
+        glBindBuffer(GL_PIXEL_PACK_BUFFER, packBufferIds[nextRead]);
+        ByteBuffer mapped = glMapBufferRange(GL_PIXEL_PACK_BUFFER, 0L, (long) SAMPLE_COUNT * Float.BYTES, GL_MAP_READ_BIT);
+        if (mapped != null) {
+            mapped.order(ByteOrder.nativeOrder()).asFloatBuffer().get(out, 0, SAMPLE_COUNT);
+            written = SAMPLE_COUNT;
+            glUnmapBuffer(GL_PIXEL_PACK_BUFFER);
+        }
+        glBindBuffer(GL_PIXEL_PACK_BUFFER, 0);
+        nextRead = (nextRead + 1) % RING_SIZE;
+        inFlight--;
+        return written;
+    }
+}
@@ -0,0 +1,184 @@
+package org.dynamisengine.light.impl.opengl;
+
+import static org.lwjgl.opengl.GL11.GL_FLOAT;
+import static org.lwjgl.opengl.GL11.GL_UNSIGNED_INT;
+import static org.lwjgl.opengl.GL11.GL_UNSIGNED_SHORT;
+import static org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL15.GL_STATIC_DRAW;
+import static org.lwjgl.opengl.GL15.glBindBuffer;
+import static org.lwjgl.opengl.GL15.nglBufferData;
+import static org.lwjgl.opengl.GL20.glDisableVertexAttribArray;
+import static org.lwjgl.opengl.GL20.glEnableVertexAttribArray;
+import static org.lwjgl.opengl.GL20.glVertexAttrib2f;
+import static org.lwjgl.opengl.GL20.glVertexAttrib3f;
+import static org.lwjgl.opengl.GL20.glVertexAttribPointer;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.util.function.IntUnaryOperator;
+import org.dynamisengine.light.impl.common.mesh.MappedGeometry;
+import org.dynamisengine.light.impl.common.mesh.MeshLoadException;
+import org.dynamisengine.light.impl.common.mesh.VertexCacheStats;
+
+/**
+ * Packed geometry that stays memory-mapped from the cook cache until its GL upload.
+ *
+ * <p>{@link OpenGlMeshAssetLoader} returns this instead of converting the streams to float/int arrays.
+ * {@link #upload} passes the mapped vertex and index segments straight to {@code glBufferData} and points the
+ * position/normal/uv attributes at the packed stride and offsets, so the geometry never goes through the Java
+ * heap. Bounds and vertex-cache statistics are read from the mapping when it is wrapped. Whoever applies the
+ * scene closes it after the upload; closing twice is harmless.</p>
+ */
+final class OpenGlMappedMesh implements AutoCloseable {
+    private static final ValueLayout.OfFloat FLOAT_LE = ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfShort SHORT_LE = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfInt INT_LE = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final MappedGeometry mapped;
+    private final int positionOffset;
+    private final int normalOffset;
+    private final int uvOffset;
+    private final int indexCount;
+    private final float[] localBounds;
+    private final VertexCacheStats vertexCache;
+    private boolean closed;
+
+    private OpenGlMappedMesh(MappedGeometry mapped, int positionOffset, int normalOffset, int uvOffset, int indexCount) {
+        this.mapped = mapped;
+        this.positionOffset = positionOffset;
+        this.normalOffset = normalOffset;
+        this.uvOffset = uvOffset;
+        this.indexCount = indexCount;
+        this.localBounds = computeBounds(mapped.vertexSegment(), mapped.vertexCount(), mapped.strideBytes(), positionOffset);
+        this.vertexCache = indexCount > 0
+                ? VertexCacheStats.estimate(indexReader(mapped), indexCount, mapped.vertexCount(), VertexCacheStats.DEFAULT_CACHE_SIZE)
+                : VertexCacheStats.nonIndexed(mapped.vertexCount());
+    }
+
+    /**
+     * Validates the packed layout against what the geometry program reads and takes ownership of {@code mapped}.
+     * Trailing indices that do not form a whole triangle are not drawn.
+     *
+     * @throws MeshLoadException when positions are missing, an attribute does not fit in the stride or an index
+     *                           is out of range; the caller still owns and closes {@code mapped} in that case
+     */
+    static OpenGlMappedMesh wrap(MappedGeometry mapped) throws MeshLoadException {
+        int stride = mapped.strideBytes();
+        int position = mapped.attributeOffset("POSITION", 0);
+        int normal = mapped.attributeOffset("NORMAL", 0);
+        int uv = mapped.attributeOffset("UV", 0);
+        if (mapped.vertexCount() <= 0 || position < 0) {
+            throw new MeshLoadException("Packed geometry has no POSITION stream");
+        }
+        if (position + 12 > stride || normal + 12 > stride || uv + 8 > stride) {
+            throw new MeshLoadException("Packed geometry attribute exceeds its " + stride + "-byte stride");
+        }
+        int indexCount = mapped.indexCount() - mapped.indexCount() % 3;
+        if (indexCount > 0) {
+            IntUnaryOperator index = indexReader(mapped);
+            for (int i = 0; i < indexCount; i++) {
+                int value = index.applyAsInt(i);
+                if (value < 0 || value >= mapped.vertexCount()) {
+                    throw new MeshLoadException("Packed geometry index " + value + " out of range for "
+                            + mapped.vertexCount() + " vertices");
+                }
+            }
+        } else if (mapped.vertexCount() % 3 != 0) {
+            throw new MeshLoadException("Non-indexed packed geometry is not a triangle list");
+        }
+        return new OpenGlMappedMesh(mapped, position, normal, uv, indexCount);
+    }
+
+    int vertexCount() {
+        return mapped.vertexCount();
+    }
+
+    /** Drawn index count, or 0 for non-indexed geometry. */
+    int indexCount() {
+        return indexCount;
+    }
+
+    /** {@code GL_UNSIGNED_SHORT} or {@code GL_UNSIGNED_INT}, matching the packed index size. */
+    int indexType() {
+        return mapped.indexSize() == 2 ? GL_UNSIGNED_SHORT : GL_UNSIGNED_INT;
+    }
+
+    float[] localBounds() {
+        return localBounds.clone();
+    }
+
+    VertexCacheStats vertexCache() {
+        return vertexCache;
+    }
+
+    long gpuBytes() {
+        return mapped.vertexSegment().byteSize() + (long) indexCount * mapped.indexSize();
+    }
+
+    /**
+     * Fills the bound vertex array's buffers from the mapping. {@code vaoId} must be bound; {@code eboId} is
+     * ignored for non-indexed geometry.
+     */
+    void upload(int vboId, int eboId) {
+        if (closed) {
+            throw new IllegalStateException("Mapped mesh was closed before upload");
+        }
+        MemorySegment vertices = mapped.vertexSegment();
+        glBindBuffer(GL_ARRAY_BUFFER, vboId);
+        nglBufferData(GL_ARRAY_BUFFER, vertices.byteSize(), vertices.address(), GL_STATIC_DRAW);
+        if (indexCount > 0) {
+            glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, eboId);
+            nglBufferData(GL_ELEMENT_ARRAY_BUFFER, (long) indexCount * mapped.indexSize(),
+                    mapped.indexSegment().address(), GL_STATIC_DRAW);
+        }
+        int stride = mapped.strideBytes();
+        glVertexAttribPointer(0, 3, GL_FLOAT, false, stride, positionOffset);
+        glEnableVertexAttribArray(0);
+        if (normalOffset >= 0) {
+            glVertexAttribPointer(1, 3, GL_FLOAT, false, stride, normalOffset);
+            glEnableVertexAttribArray(1);
+        } else {
+            glDisableVertexAttribArray(1);
+            glVertexAttrib3f(1, 0f, 1f, 0f);
+        }
+        if (uvOffset >= 0) {
+            glVertexAttribPointer(2, 2, GL_FLOAT, false, stride, uvOffset);
+            glEnableVertexAttribArray(2);
+        } else {
+            glDisableVertexAttribArray(2);
+            glVertexAttrib2f(2, 0f, 0f);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            mapped.close();
+        }
+    }
+
+    private static IntUnaryOperator indexReader(MappedGeometry mapped) {
+        MemorySegment indices = mapped.indexSegment();
+        return mapped.indexSize() == 2
+                ? i -> Short.toUnsignedInt(indices.getAtIndex(SHORT_LE, i))
+                : i -> indices.getAtIndex(INT_LE, i);
+    }
+
+    private static float[] computeBounds(MemorySegment vertices, int vertexCount, int stride, int positionOffset) {
+        float[] bounds = new float[6];
+        bounds[0] = bounds[1] = bounds[2] = Float.POSITIVE_INFINITY;
+        bounds[3] = bounds[4] = bounds[5] = Float.NEGATIVE_INFINITY;
+        for (int v = 0; v < vertexCount; v++) {
+            long base = (long) v * stride + positionOffset;
+            for (int axis = 0; axis < 3; axis++) {
+                float value = vertices.get(FLOAT_LE, base + axis * 4L);
+                bounds[axis] = Math.min(bounds[axis], value);
+                bounds[axis + 3] = Math.max(bounds[axis + 3], value);
+            }
+        }
+        return bounds;
+    }
+}
@@ -6,7 +6,9 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.logging.Logger;
 import org.dynamisengine.light.api.scene.MeshDesc;
+import org.dynamisengine.light.impl.common.mesh.MappedGeometry;
 import org.dynamisengine.light.impl.common.mesh.MeshForgeAssetService;
 import org.dynamisengine.light.impl.common.mesh.MeshLoadException;
 import org.dynamisengine.light.impl.common.mesh.MeshLoadResult;
@@ -19,13 +21,16 @@ import org.dynamisengine.meshforge.pack.layout.VertexLayout;
  *
  * <p>Primary path: delegates to {@link MeshForgeAssetService} for canonical
  * mesh loading (MGI fast-path or source format import via MeshForge).
- * Converts {@link RuntimeGeometryPayload} to {@link OpenGlContext.MeshGeometry}.</p>
+ * Packed geometry from the cook cache is handed over still mapped ({@link OpenGlMappedMesh}); the
+ * decoded {@link RuntimeGeometryPayload} fallback is converted to indexed {@link OpenGlContext.MeshGeometry}.</p>
  *
  * <p>glTF scene expansion (multi-primitive with embedded textures/materials)
  * still uses the legacy parser for full scene loads, as that path requires
  * material and texture extraction beyond geometry.</p>
  */
 final class OpenGlMeshAssetLoader {
+    private static final Logger LOG = Logger.getLogger(OpenGlMeshAssetLoader.class.getName());
+
     private final OpenGlGltfMeshParser gltfParser;
     private final MeshForgeAssetService meshForge;
 
@@ -51,7 +56,13 @@ final class OpenGlMeshAssetLoader {
             return OpenGlContext.defaultTriangleGeometry();
         }
 
-        // Try MeshForge canonical path first (handles MGI, OBJ, STL, PLY, glTF)
+        // Zero-copy path: the packed geometry stays mapped and is uploaded straight from the mapping.
+        OpenGlContext.MeshGeometry mapped = loadMapped(mesh.meshAssetPath());
+        if (mapped != null) {
+            return mapped;
+        }
+
+        // Decoded MeshForge payload (handles MGI, OBJ, STL, PLY, glTF)
         try {
             MeshLoadResult result = meshForge.load(mesh.meshAssetPath());
             return convertPayload(result.payload());
@@ -72,6 +83,24 @@ final class OpenGlMeshAssetLoader {
         return mapByName(meshPath, index);
     }
 
+    /**
+     * Maps the asset's packed geometry for a direct upload. Returns {@code null} (after logging why) to fall
+     * back to the decoded payload path.
+     */
+    private OpenGlContext.MeshGeometry loadMapped(String meshAssetPath) {
+        MappedGeometry mapped = null;
+        try {
+            mapped = meshForge.loadMapped(meshAssetPath);
+            return OpenGlContext.MeshGeometry.mapped(OpenGlMappedMesh.wrap(mapped));
+        } catch (MeshLoadException | RuntimeException e) {
+            if (mapped != null) {
+                mapped.close();
+            }
+            LOG.warning("Mapped mesh load failed for " + meshAssetPath + ", using the decoded payload: " + e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Convert MeshForge RuntimeGeometryPayload to OpenGL MeshGeometry.
      *
@@ -80,9 +109,6 @@ final class OpenGlMeshAssetLoader {
      */
     private OpenGlContext.MeshGeometry convertPayload(RuntimeGeometryPayload payload) {
         VertexLayout layout = payload.layout();
-        ByteBuffer vb = payload.vertexBytes().duplicate().order(ByteOrder.LITTLE_ENDIAN);
-        int vertexCount = payload.vertexCount();
-        int stride = layout.strideBytes();
 
         // Find attribute offsets
         int posOffset = -1, normalOffset = -1, uvOffset = -1;
@@ -92,7 +118,26 @@ final class OpenGlMeshAssetLoader {
             else if ("NORMAL".equals(semantic)) normalOffset = entry.offsetBytes();
             else if ("UV".equals(semantic) && entry.key().setIndex() == 0) uvOffset = entry.offsetBytes();
         }
+        boolean indexed = payload.indexBytes() != null && payload.indexCount() > 0;
+        return convertStreams(payload.vertexBytes(), payload.vertexCount(), layout.strideBytes(),
+                posOffset, normalOffset, uvOffset,
+                indexed ? payload.indexBytes() : null,
+                indexed ? payload.indexCount() : 0,
+                indexed && payload.indexType() == PackedMesh.IndexType.UINT16 ? 2 : 4);
+    }
 
+    private static OpenGlContext.MeshGeometry convertStreams(
+            ByteBuffer vertexBytes,
+            int vertexCount,
+            int stride,
+            int posOffset,
+            int normalOffset,
+            int uvOffset,
+            ByteBuffer indexBytes,
+            int indexCount,
+            int indexSize
+    ) {
+        ByteBuffer vb = vertexBytes.duplicate().order(ByteOrder.LITTLE_ENDIAN);
         if (posOffset < 0) {
             throw new IllegalStateException("MeshForge payload missing POSITION attribute");
         }
@@ -121,7 +166,19 @@ final class OpenGlMeshAssetLoader {
             }
         }
 
-        return new OpenGlContext.MeshGeometry(vertices, OpenGlContext.VertexFormat.POS_NORMAL_UV_8F);
+        // Keep the packed index buffer so shared vertices are transformed once per cache hit.
+        int[] indices = null;
+        if (indexBytes != null && indexCount >= 3) {
+            ByteBuffer ib = indexBytes.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            indices = new int[indexCount - (indexCount % 3)];
+            if (indexSize == 2) {
+                for (int i = 0; i < indices.length; i++) indices[i] = Short.toUnsignedInt(ib.getShort(i * 2));
+            } else {
+                for (int i = 0; i < indices.length; i++) indices[i] = ib.getInt(i * 4);
+            }
+        }
+
+        return new OpenGlContext.MeshGeometry(vertices, OpenGlContext.VertexFormat.POS_NORMAL_UV_8F, indices);
     }
 
     // --- glTF scene expansion (legacy, for multi-primitive + texture/material extraction) ---
@@ -9,8 +9,9 @@ import static org.lwjgl.opengl.GL11.GL_RGBA;
 import static org.lwjgl.opengl.GL11.GL_TEXTURE_2D;
 import static org.lwjgl.opengl.GL11.GL_TEXTURE_MAG_FILTER;
 import static org.lwjgl.opengl.GL11.GL_TEXTURE_MIN_FILTER;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_WRAP_S;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_WRAP_T;
 import static org.lwjgl.opengl.GL11.GL_TRIANGLES;
-import static org.lwjgl.opengl.GL11.GL_UNSIGNED_BYTE;
 import static org.lwjgl.opengl.GL11.glBindTexture;
 import static org.lwjgl.opengl.GL11.glClear;
 import static org.lwjgl.opengl.GL11.glDisable;
@@ -21,25 +22,11 @@ import static org.lwjgl.opengl.GL11.glDeleteTextures;
 import static org.lwjgl.opengl.GL11.glTexImage2D;
 import static org.lwjgl.opengl.GL11.glTexParameteri;
 import static org.lwjgl.opengl.GL11.glViewport;
+import static org.lwjgl.opengl.GL12.GL_CLAMP_TO_EDGE;
 import static org.lwjgl.opengl.GL13.GL_TEXTURE0;
 import static org.lwjgl.opengl.GL13.glActiveTexture;
-import static org.lwjgl.opengl.GL20.GL_COMPILE_STATUS;
-import static org.lwjgl.opengl.GL20.GL_FRAGMENT_SHADER;
-import static org.lwjgl.opengl.GL20.GL_LINK_STATUS;
-import static org.lwjgl.opengl.GL20.GL_VERTEX_SHADER;
-import static org.lwjgl.opengl.GL20.glAttachShader;
-import static org.lwjgl.opengl.GL20.glCompileShader;
-import static org.lwjgl.opengl.GL20.glCreateProgram;
-import static org.lwjgl.opengl.GL20.glCreateShader;
 import static org.lwjgl.opengl.GL20.glDeleteProgram;
-import static org.lwjgl.opengl.GL20.glDeleteShader;
-import static org.lwjgl.opengl.GL20.glGetProgramInfoLog;
-import static org.lwjgl.opengl.GL20.glGetProgrami;
-import static org.lwjgl.opengl.GL20.glGetShaderInfoLog;
-import static org.lwjgl.opengl.GL20.glGetShaderi;
 import static org.lwjgl.opengl.GL20.glGetUniformLocation;
-import static org.lwjgl.opengl.GL20.glLinkProgram;
-import static org.lwjgl.opengl.GL20.glShaderSource;
 import static org.lwjgl.opengl.GL20.glUniform1f;
 import static org.lwjgl.opengl.GL20.glUniform1i;
 import static org.lwjgl.opengl.GL20.glUniform2f;
@@ -50,7 +37,9 @@ import static org.lwjgl.opengl.GL30.GL_DEPTH24_STENCIL8;
 import static org.lwjgl.opengl.GL30.GL_DEPTH_STENCIL_ATTACHMENT;
 import static org.lwjgl.opengl.GL30.GL_FRAMEBUFFER;
 import static org.lwjgl.opengl.GL30.GL_FRAMEBUFFER_COMPLETE;
+import static org.lwjgl.opengl.GL30.GL_HALF_FLOAT;
 import static org.lwjgl.opengl.GL30.GL_RENDERBUFFER;
+import static org.lwjgl.opengl.GL30.GL_RGBA16F;
 import static org.lwjgl.opengl.GL30.glBindFramebuffer;
 import static org.lwjgl.opengl.GL30.glBindRenderbuffer;
 import static org.lwjgl.opengl.GL30.glBindVertexArray;
@@ -65,7 +54,6 @@ import static org.lwjgl.opengl.GL30.glGenRenderbuffers;
 import static org.lwjgl.opengl.GL30.glGenVertexArrays;
 import static org.lwjgl.opengl.GL30.glRenderbufferStorage;
 
-import org.dynamisengine.light.api.error.EngineErrorCode;
 import org.dynamisengine.light.api.error.EngineException;
 
 /**
@@ -73,6 +61,14 @@ import org.dynamisengine.light.api.error.EngineException;
  * full-screen post-process render pass (tone mapping, bloom, SSAO, SMAA, TAA,
  * reflections).
  *
+ * <p>Scene color, velocity and TAA history are RGBA16F so lighting reaches the post pass unclamped.
+ * Bloom runs as a separate progressive chain ({@link OpenGlBloomChain}). The post pass runs SSAO, SMAA,
+ * TAA and reflections on HDR values compressed with {@code c / (1 + max(c))}, then expands the resolved
+ * pixel, adds bloom and applies exposure and tone mapping once. TAA history holds the pre-bloom scene
+ * color, so bloom is never reprojected. With {@code dle.opengl.autoExposure=true} the manual
+ * exposure is additionally scaled by a histogram-driven auto exposure ({@link OpenGlLuminanceReadback},
+ * {@link GlAutoExposure}).
+ *
  * <p>Package-private helper extracted from {@code OpenGlContext} (step 5 decomposition).
  */
 final class OpenGlPostProcessor {
@@ -85,7 +81,6 @@ final class OpenGlPostProcessor {
     private int postTonemapExposureLocation;
     private int postTonemapGammaLocation;
     private int postBloomEnabledLocation;
-    private int postBloomThresholdLocation;
     private int postBloomStrengthLocation;
     private int postSsaoEnabledLocation;
     private int postSsaoStrengthLocation;
@@ -113,6 +108,7 @@ final class OpenGlPostProcessor {
     private int postReflectionsPlanarStrengthLocation;
     private int postTaaHistoryLocation;
     private int postTaaHistoryVelocityLocation;
+    private int postBloomLocation;
 
     // --- full-screen triangle VAO ---
     private int postVaoId;
@@ -127,34 +123,28 @@ final class OpenGlPostProcessor {
     private boolean taaHistoryValid;
     private boolean postProcessPipelineAvailable;
 
+    // --- bloom chain + auto exposure ---
+    private final OpenGlBloomChain bloomChain = new OpenGlBloomChain();
+    private final OpenGlLuminanceReadback luminanceReadback = new OpenGlLuminanceReadback();
+    private final GlAutoExposure autoExposure = new GlAutoExposure();
+    private final float[] luminanceSamples = new float[OpenGlLuminanceReadback.SAMPLE_COUNT];
+    private final boolean autoExposureEnabled =
+            Boolean.parseBoolean(System.getProperty("dle.opengl.autoExposure", "false"));
+    private boolean autoExposureAvailable;
+    private long lastAutoExposureNs;
+
     // -----------------------------------------------------------------------
     // Lifecycle
     // -----------------------------------------------------------------------
 
-    void initializePipeline() throws EngineException {
-        int vertexShaderId = compileShader(GL_VERTEX_SHADER, POST_VERTEX_SHADER);
-        int fragmentShaderId = compileShader(GL_FRAGMENT_SHADER, POST_FRAGMENT_SHADER);
-        postProgramId = glCreateProgram();
-        glAttachShader(postProgramId, vertexShaderId);
-        glAttachShader(postProgramId, fragmentShaderId);
-        glLinkProgram(postProgramId);
-
-        if (glGetProgrami(postProgramId, GL_LINK_STATUS) == 0) {
-            String info = glGetProgramInfoLog(postProgramId);
-            glDeleteShader(vertexShaderId);
-            glDeleteShader(fragmentShaderId);
-            throw new EngineException(EngineErrorCode.SHADER_COMPILATION_FAILED, "Post shader link failed: " + info, false);
-        }
-
-        glDeleteShader(vertexShaderId);
-        glDeleteShader(fragmentShaderId);
+    void initializePipeline(GlProgramLinker programLinker) throws EngineException {
+        postProgramId = programLinker.link(GlProgramSource.of("Post", POST_VERTEX_SHADER, POST_FRAGMENT_SHADER));
         postSceneColorLocation = glGetUniformLocation(postProgramId, "uSceneColor");
         postSceneVelocityLocation = glGetUniformLocation(postProgramId, "uSceneVelocity");
         postTonemapEnabledLocation = glGetUniformLocation(postProgramId, "uTonemapEnabled");
         postTonemapExposureLocation = glGetUniformLocation(postProgramId, "uTonemapExposure");
         postTonemapGammaLocation = glGetUniformLocation(postProgramId, "uTonemapGamma");
         postBloomEnabledLocation = glGetUniformLocation(postProgramId, "uBloomEnabled");
-        postBloomThresholdLocation = glGetUniformLocation(postProgramId, "uBloomThreshold");
         postBloomStrengthLocation = glGetUniformLocation(postProgramId, "uBloomStrength");
         postSsaoEnabledLocation = glGetUniformLocation(postProgramId, "uSsaoEnabled");
         postSsaoStrengthLocation = glGetUniformLocation(postProgramId, "uSsaoStrength");
@@ -182,13 +172,20 @@ final class OpenGlPostProcessor {
         postReflectionsPlanarStrengthLocation = glGetUniformLocation(postProgramId, "uReflectionsPlanarStrength");
         postTaaHistoryLocation = glGetUniformLocation(postProgramId, "uTaaHistory");
         postTaaHistoryVelocityLocation = glGetUniformLocation(postProgramId, "uTaaHistoryVelocity");
+        postBloomLocation = glGetUniformLocation(postProgramId, "uBloom");
         postVaoId = glGenVertexArrays();
         glUseProgram(postProgramId);
         glUniform1i(postSceneColorLocation, 0);
         glUniform1i(postTaaHistoryLocation, 1);
         glUniform1i(postSceneVelocityLocation, 2);
         glUniform1i(postTaaHistoryVelocityLocation, 3);
+        glUniform1i(postBloomLocation, 4);
         glUseProgram(0);
+        bloomChain.initializePipeline(programLinker);
+        if (autoExposureEnabled) {
+            luminanceReadback.initializePipeline(programLinker);
+            autoExposureAvailable = luminanceReadback.recreateTargets();
+        }
     }
 
     void recreateTargets(int sceneRenderWidth, int sceneRenderHeight) {
@@ -200,28 +197,30 @@ final class OpenGlPostProcessor {
             glBindTexture(GL_TEXTURE_2D, sceneColorTextureId);
             glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
             glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
-            glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, rw, rh, 0, GL_RGBA, GL_UNSIGNED_BYTE, 0L);
+            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
+            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
+            glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA16F, rw, rh, 0, GL_RGBA, GL_HALF_FLOAT, 0L);
             glBindTexture(GL_TEXTURE_2D, 0);
 
             sceneVelocityTextureId = glGenTextures();
             glBindTexture(GL_TEXTURE_2D, sceneVelocityTextureId);
             glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
             glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
-            glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, rw, rh, 0, GL_RGBA, GL_UNSIGNED_BYTE, 0L);
+            glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA16F, rw, rh, 0, GL_RGBA, GL_HALF_FLOAT, 0L);
             glBindTexture(GL_TEXTURE_2D, 0);
 
             taaHistoryTextureId = glGenTextures();
             glBindTexture(GL_TEXTURE_2D, taaHistoryTextureId);
             glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
             glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
-            glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, rw, rh, 0, GL_RGBA, GL_UNSIGNED_BYTE, 0L);
+            glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA16F, rw, rh, 0, GL_RGBA, GL_HALF_FLOAT, 0L);
             glBindTexture(GL_TEXTURE_2D, 0);
 
             taaHistoryVelocityTextureId = glGenTextures();
             glBindTexture(GL_TEXTURE_2D, taaHistoryVelocityTextureId);
             glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
             glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
-            glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, rw, rh, 0, GL_RGBA, GL_UNSIGNED_BYTE, 0L);
+            glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA16F, rw, rh, 0, GL_RGBA, GL_HALF_FLOAT, 0L);
             glBindTexture(GL_TEXTURE_2D, 0);
             taaHistoryValid = false;
 
@@ -240,7 +239,8 @@ final class OpenGlPostProcessor {
             }
             int status = glCheckFramebufferStatus(GL_FRAMEBUFFER);
             glBindFramebuffer(GL_FRAMEBUFFER, 0);
-            postProcessPipelineAvailable = status == GL_FRAMEBUFFER_COMPLETE;
+            postProcessPipelineAvailable = status == GL_FRAMEBUFFER_COMPLETE
+                    && bloomChain.recreateTargets(rw, rh);
         } catch (Throwable ignored) {
             postProcessPipelineAvailable = false;
         }
@@ -274,12 +274,16 @@ final class OpenGlPostProcessor {
             glDeleteTextures(taaHistoryVelocityTextureId);
             taaHistoryVelocityTextureId = 0;
         }
+        bloomChain.destroyResources();
         taaHistoryValid = false;
         postProcessPipelineAvailable = false;
     }
 
     void destroyPipeline() {
         destroyResources();
+        bloomChain.destroyPipeline();
+        luminanceReadback.destroyPipeline();
+        autoExposureAvailable = false;
         if (postVaoId != 0) {
             glDeleteVertexArrays(postVaoId);
             postVaoId = 0;
@@ -359,8 +363,17 @@ final class OpenGlPostProcessor {
         if (!useDedicatedPostPass(tonemapEnabled, bloomEnabled, ssaoEnabled, smaaEnabled, taaEnabled, reflectionsEnabled)) {
             return;
         }
-        glBindFramebuffer(GL_FRAMEBUFFER, 0);
         org.lwjgl.opengl.GL11.glDisable(org.lwjgl.opengl.GL11.GL_SCISSOR_TEST);
+        glDisable(GL_DEPTH_TEST);
+        glBindVertexArray(postVaoId);
+        if (bloomEnabled) {
+            bloomChain.render(sceneColorTextureId, bloomThreshold);
+        }
+        float exposure = tonemapExposure;
+        if (tonemapEnabled && autoExposureAvailable) {
+            exposure *= updateAutoExposure();
+        }
+        glBindFramebuffer(GL_FRAMEBUFFER, 0);
         glViewport(0, 0, displayWidth, displayHeight);
         glClear(GL_COLOR_BUFFER_BIT);
         glUseProgram(postProgramId);
@@ -372,12 +385,14 @@ final class OpenGlPostProcessor {
         glBindTexture(GL_TEXTURE_2D, sceneVelocityTextureId);
         glActiveTexture(GL_TEXTURE0 + 3);
         glBindTexture(GL_TEXTURE_2D, taaHistoryVelocityTextureId);
+        glActiveTexture(GL_TEXTURE0 + 4);
+        glBindTexture(GL_TEXTURE_2D, bloomChain.resultTextureId());
         glUniform1i(postTonemapEnabledLocation, tonemapEnabled ? 1 : 0);
-        glUniform1f(postTonemapExposureLocation, tonemapExposure);
+        glUniform1f(postTonemapExposureLocation, exposure);
         glUniform1f(postTonemapGammaLocation, tonemapGamma);
         glUniform1i(postBloomEnabledLocation, bloomEnabled ? 1 : 0);
-        glUniform1f(postBloomThresholdLocation, bloomThreshold);
-        glUniform1f(postBloomStrengthLocation, bloomStrength);
+        // Level 0 of the chain holds the sum of every level; normalize so strength means the same at any size.
+        glUniform1f(postBloomStrengthLocation, bloomStrength / Math.max(1, bloomChain.levelCount()));
         glUniform1i(postSsaoEnabledLocation, ssaoEnabled ? 1 : 0);
         glUniform1f(postSsaoStrengthLocation, ssaoStrength);
         glUniform1f(postSsaoRadiusLocation, ssaoRadius);
@@ -402,8 +417,6 @@ final class OpenGlPostProcessor {
         glUniform1f(postReflectionsSsrStepScaleLocation, reflectionsSsrStepScale);
         glUniform1f(postReflectionsTemporalWeightLocation, reflectionsTemporalWeight);
         glUniform1f(postReflectionsPlanarStrengthLocation, reflectionsPlanarStrength);
-        glDisable(GL_DEPTH_TEST);
-        glBindVertexArray(postVaoId);
         glDrawArrays(GL_TRIANGLES, 0, 3);
         glBindVertexArray(0);
         glEnable(GL_DEPTH_TEST);
@@ -426,25 +439,26 @@ final class OpenGlPostProcessor {
         glBindTexture(GL_TEXTURE_2D, 0);
         glActiveTexture(GL_TEXTURE0 + 3);
         glBindTexture(GL_TEXTURE_2D, 0);
+        glActiveTexture(GL_TEXTURE0 + 4);
+        glBindTexture(GL_TEXTURE_2D, 0);
         glActiveTexture(GL_TEXTURE0);
         glUseProgram(0);
     }
 
-    // -----------------------------------------------------------------------
-    // Internal
-    // -----------------------------------------------------------------------
-
-    private static int compileShader(int type, String source) throws EngineException {
-        int shaderId = glCreateShader(type);
-        glShaderSource(shaderId, source);
-        glCompileShader(shaderId);
-
-        if (glGetShaderi(shaderId, GL_COMPILE_STATUS) == 0) {
-            String info = glGetShaderInfoLog(shaderId);
-            glDeleteShader(shaderId);
-            throw new EngineException(EngineErrorCode.SHADER_COMPILATION_FAILED, "Shader compilation failed: " + info, false);
+    /**
+     * Feeds the newest completed luminance readback into the histogram, adapts, and queues this frame's
+     * reduction. Returns the exposure multiplier to apply on top of the manual exposure.
+     */
+    private float updateAutoExposure() {
+        long now = System.nanoTime();
+        float dtSeconds = lastAutoExposureNs == 0L ? 0f : (now - lastAutoExposureNs) / 1_000_000_000f;
+        lastAutoExposureNs = now;
+        int samples = luminanceReadback.poll(luminanceSamples);
+        if (samples > 0) {
+            autoExposure.buildHistogram(luminanceSamples, samples);
+            autoExposure.adapt(Math.min(dtSeconds, 0.25f));
         }
-
-        return shaderId;
+        luminanceReadback.reduce(sceneColorTextureId);
+        return autoExposure.exposure();
     }
 }
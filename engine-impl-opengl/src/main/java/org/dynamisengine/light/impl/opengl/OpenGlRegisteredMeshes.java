@@ -0,0 +1,234 @@
+package org.dynamisengine.light.impl.opengl;
+
+import static org.lwjgl.opengl.GL11.GL_FLOAT;
+import static org.lwjgl.opengl.GL11.GL_NO_ERROR;
+import static org.lwjgl.opengl.GL11.GL_OUT_OF_MEMORY;
+import static org.lwjgl.opengl.GL11.glGetError;
+import static org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL15.GL_STATIC_DRAW;
+import static org.lwjgl.opengl.GL15.glBindBuffer;
+import static org.lwjgl.opengl.GL15.glBufferData;
+import static org.lwjgl.opengl.GL15.glDeleteBuffers;
+import static org.lwjgl.opengl.GL15.glGenBuffers;
+import static org.lwjgl.opengl.GL20.glEnableVertexAttribArray;
+import static org.lwjgl.opengl.GL20.glVertexAttribPointer;
+import static org.lwjgl.opengl.GL30.glBindVertexArray;
+import static org.lwjgl.opengl.GL30.glDeleteVertexArrays;
+import static org.lwjgl.opengl.GL30.glGenVertexArrays;
+import static org.lwjgl.system.MemoryUtil.memAlloc;
+import static org.lwjgl.system.MemoryUtil.memFree;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import org.dynamisengine.light.api.error.EngineErrorCode;
+import org.dynamisengine.light.api.error.EngineException;
+import org.dynamisengine.light.api.mesh.DmeshV1;
+import org.dynamisengine.light.api.mesh.MeshFormats;
+import org.dynamisengine.light.api.mesh.MeshUploadRequest;
+import org.dynamisengine.light.api.mesh.MeshUploadResult;
+import org.dynamisengine.light.impl.common.mesh.RegisteredMeshPayload;
+import org.dynamisengine.light.impl.common.mesh.RegisteredMeshTable;
+import org.dynamisengine.light.impl.common.mesh.VertexCacheStats;
+
+/**
+ * GPU-resident meshes registered through {@code registerMesh}/{@code registerMeshes}.
+ *
+ * <p>A batch is uploaded through one off-heap staging allocation sized for its largest mesh: each payload
+ * is read once from the caller's memory into staging and handed to {@code glBufferData}, so no Java heap
+ * copy is made. Vertices are narrowed to the {@code POS_NORMAL_UV_8F} layout the geometry program reads
+ * and the DMESH_V1 index list is kept as the element buffer. Scene meshes that reference a registered mesh
+ * share its VAO/VBO/EBO; removing a mesh the current scene still draws is deferred until the scene stops
+ * using it.</p>
+ */
+final class OpenGlRegisteredMeshes {
+    private static final ValueLayout.OfFloat FLOAT_LE = ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfFloat FLOAT_NATIVE = ValueLayout.JAVA_FLOAT_UNALIGNED;
+    private static final ValueLayout.OfInt INT_LE = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfInt INT_NATIVE = ValueLayout.JAVA_INT_UNALIGNED;
+    private static final int OUT_FLOATS = OpenGlContext.VertexFormat.POS_NORMAL_UV_8F.stride;
+    private static final long OUT_STRIDE_BYTES = (long) OUT_FLOATS * Float.BYTES;
+
+    /** Shared GL objects of one registered mesh; ids are 0 on the mock context. */
+    record Geometry(
+            int vaoId,
+            int vboId,
+            int eboId,
+            int vertexCount,
+            int indexCount,
+            float[] localBounds,
+            long vertexBytes,
+            VertexCacheStats vertexCache
+    ) {
+    }
+
+    private final RegisteredMeshTable<Geometry> table = new RegisteredMeshTable<>();
+    private final boolean mockContext;
+    private Set<Geometry> sceneGeometry = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<Geometry> pendingDestroy = new ArrayList<>();
+
+    OpenGlRegisteredMeshes(boolean mockContext) {
+        this.mockContext = mockContext;
+    }
+
+    List<MeshUploadResult> register(List<MeshUploadRequest> requests) throws EngineException {
+        return table.register(requests, mockContext ? OpenGlRegisteredMeshes::placeholders : this::upload);
+    }
+
+    void remove(int meshHandle) throws EngineException {
+        Geometry released = table.remove(meshHandle);
+        if (released == null) {
+            return;
+        }
+        if (sceneGeometry.contains(released)) {
+            pendingDestroy.add(released);
+        } else {
+            destroy(released);
+        }
+    }
+
+    /**
+     * @return geometry for a {@link MeshFormats#registeredMeshPath(String)} path, or {@code null} for asset paths
+     */
+    OpenGlContext.MeshGeometry geometryFor(String meshAssetPath) throws EngineException {
+        String meshId = MeshFormats.registeredMeshId(meshAssetPath);
+        if (meshId == null) {
+            return null;
+        }
+        RegisteredMeshTable.Entry<Geometry> entry = table.byMeshId(meshId);
+        if (entry == null) {
+            throw new EngineException(EngineErrorCode.INVALID_ARGUMENT, "Unknown registered mesh '" + meshId + "'", true);
+        }
+        return OpenGlContext.MeshGeometry.registered(entry.resource());
+    }
+
+    /**
+     * Records which registered meshes the newly applied scene draws and destroys removed meshes it no longer uses.
+     */
+    void retainSceneGeometry(List<OpenGlContext.SceneMesh> sceneMeshes) {
+        Set<Geometry> inUse = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (OpenGlContext.SceneMesh mesh : sceneMeshes) {
+            if (mesh.geometry().registered() != null) {
+                inUse.add(mesh.geometry().registered());
+            }
+        }
+        sceneGeometry = inUse;
+        pendingDestroy.removeIf(geometry -> {
+            if (inUse.contains(geometry)) {
+                return false;
+            }
+            destroy(geometry);
+            return true;
+        });
+    }
+
+    void shutdown() {
+        for (Geometry geometry : table.clear()) {
+            destroy(geometry);
+        }
+        for (Geometry geometry : pendingDestroy) {
+            destroy(geometry);
+        }
+        pendingDestroy.clear();
+        sceneGeometry.clear();
+    }
+
+    private List<Geometry> upload(List<RegisteredMeshPayload> payloads) throws EngineException {
+        long stagingBytes = 0;
+        for (RegisteredMeshPayload payload : payloads) {
+            stagingBytes = Math.max(stagingBytes, payload.vertexCount() * OUT_STRIDE_BYTES + payload.indexBytes());
+        }
+        if (stagingBytes > Integer.MAX_VALUE) {
+            throw new EngineException(EngineErrorCode.INVALID_ARGUMENT, "Registered mesh is too large for OpenGL upload", true);
+        }
+        List<Geometry> created = new ArrayList<>(payloads.size());
+        ByteBuffer staging = memAlloc((int) stagingBytes);
+        try {
+            MemorySegment stagingSegment = MemorySegment.ofBuffer(staging);
+            for (RegisteredMeshPayload payload : payloads) {
+                int vertexBytes = Math.toIntExact(copyVertices(payload, stagingSegment));
+                int indexBytes = Math.toIntExact(payload.indexBytes());
+                MemorySegment.copy(payload.indices(), INT_LE, 0L, stagingSegment, INT_NATIVE, vertexBytes, payload.indexCount());
+                int vaoId = glGenVertexArrays();
+                int vboId = glGenBuffers();
+                int eboId = glGenBuffers();
+                created.add(new Geometry(vaoId, vboId, eboId, payload.vertexCount(), payload.indexCount(), payload.aabb(),
+                        (long) vertexBytes + indexBytes, vertexCache(payload)));
+                glBindVertexArray(vaoId);
+                glBindBuffer(GL_ARRAY_BUFFER, vboId);
+                glBufferData(GL_ARRAY_BUFFER, staging.limit(vertexBytes).position(0), GL_STATIC_DRAW);
+                glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, eboId);
+                glBufferData(GL_ELEMENT_ARRAY_BUFFER, staging.limit(vertexBytes + indexBytes).position(vertexBytes), GL_STATIC_DRAW);
+                int stride = (int) OUT_STRIDE_BYTES;
+                glVertexAttribPointer(0, 3, GL_FLOAT, false, stride, 0L);
+                glEnableVertexAttribArray(0);
+                glVertexAttribPointer(1, 3, GL_FLOAT, false, stride, 3L * Float.BYTES);
+                glEnableVertexAttribArray(1);
+                glVertexAttribPointer(2, 2, GL_FLOAT, false, stride, 6L * Float.BYTES);
+                glEnableVertexAttribArray(2);
+            }
+            glBindVertexArray(0);
+            glBindBuffer(GL_ARRAY_BUFFER, 0);
+            int error = glGetError();
+            if (error != GL_NO_ERROR) {
+                throw new EngineException(
+                        error == GL_OUT_OF_MEMORY ? EngineErrorCode.BACKEND_INIT_FAILED : EngineErrorCode.INTERNAL_ERROR,
+                        "Registered mesh upload failed (GL error 0x" + Integer.toHexString(error) + ")",
+                        error == GL_OUT_OF_MEMORY
+                );
+            }
+            return created;
+        } catch (EngineException | RuntimeException e) {
+            glBindVertexArray(0);
+            glBindBuffer(GL_ARRAY_BUFFER, 0);
+            created.forEach(OpenGlRegisteredMeshes::destroy);
+            throw e;
+        } finally {
+            memFree(staging);
+        }
+    }
+
+    /** Copies position, normal and uv of every vertex into {@code target}; returns the bytes written. */
+    static long copyVertices(RegisteredMeshPayload payload, MemorySegment target) {
+        MemorySegment vertices = payload.vertices();
+        for (int v = 0; v < payload.vertexCount(); v++) {
+            MemorySegment.copy(vertices, FLOAT_LE, (long) v * DmeshV1.VERTEX_STRIDE_BYTES,
+                    target, FLOAT_NATIVE, v * OUT_STRIDE_BYTES, OUT_FLOATS);
+        }
+        return payload.vertexCount() * OUT_STRIDE_BYTES;
+    }
+
+    private static VertexCacheStats vertexCache(RegisteredMeshPayload payload) {
+        MemorySegment indices = payload.indices();
+        return VertexCacheStats.estimate(i -> indices.getAtIndex(INT_LE, i), payload.indexCount(),
+                payload.vertexCount(), VertexCacheStats.DEFAULT_CACHE_SIZE);
+    }
+
+    private static List<Geometry> placeholders(List<RegisteredMeshPayload> payloads) {
+        List<Geometry> geometry = new ArrayList<>(payloads.size());
+        for (RegisteredMeshPayload payload : payloads) {
+            geometry.add(new Geometry(0, 0, 0, payload.vertexCount(), payload.indexCount(), payload.aabb(),
+                    payload.vertexCount() * OUT_STRIDE_BYTES + payload.indexBytes(), vertexCache(payload)));
+        }
+        return geometry;
+    }
+
+    private static void destroy(Geometry geometry) {
+        if (geometry.vboId() != 0) {
+            glDeleteBuffers(geometry.vboId());
+        }
+        if (geometry.eboId() != 0) {
+            glDeleteBuffers(geometry.eboId());
+        }
+        if (geometry.vaoId() != 0) {
+            glDeleteVertexArrays(geometry.vaoId());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package org.dynamisengine.light.impl.opengl;
+
+import java.util.Arrays;
+import java.util.List;
+import org.dynamisengine.light.impl.common.culling.DrawStateSorter;
+import org.dynamisengine.light.impl.common.culling.DynamicBvh;
+import org.dynamisengine.light.impl.common.culling.InstanceFrustumCuller;
+
+/**
+ * CPU visibility for the forward geometry pass of {@link OpenGlContext}.
+ *
+ * <p>Keeps a {@link DynamicBvh} over the world-space bounds of the scene meshes. When a new scene has the
+ * same meshes in the same order (same local bounds), only meshes whose model matrix changed are moved
+ * and refit; any other change rebuilds the hierarchy. Each frame the visible meshes are culled against
+ * the camera frustum and ordered by program, albedo texture and vertex array so that the geometry pass
+ * can skip redundant binds.</p>
+ *
+ * <p>This is a package-private helper; shadow passes keep drawing every caster.</p>
+ */
+final class OpenGlSceneCuller {
+    private static final int MATRIX_FLOATS = InstanceFrustumCuller.MATRIX_FLOATS;
+    private static final int BOUNDS_FLOATS = DynamicBvh.BOUNDS_FLOATS;
+
+    private final DynamicBvh bvh = new DynamicBvh();
+    private final DrawStateSorter sorter = new DrawStateSorter();
+    private final float[] planes = new float[InstanceFrustumCuller.PLANE_FLOATS];
+    private float[] localBounds = new float[0];
+    private float[] worldBounds = new float[0];
+    private float[] models = new float[0];
+    private long[] stateKeys = new long[0];
+    private int[] visible = new int[0];
+    private int meshCount;
+    private int visibleCount;
+    private int lastMovedMeshes;
+
+    /**
+     * Brings the hierarchy in line with {@code meshes}. Returns the number of meshes that were moved by a
+     * refit, or the mesh count after a rebuild.
+     */
+    int sync(List<OpenGlContext.MeshBuffer> meshes, int programId) {
+        int count = meshes.size();
+        boolean sameLayout = count == meshCount;
+        for (int i = 0; sameLayout && i < count; i++) {
+            sameLayout = Arrays.equals(
+                    localBounds, i * BOUNDS_FLOATS, (i + 1) * BOUNDS_FLOATS,
+                    meshes.get(i).localBounds, 0, BOUNDS_FLOATS);
+        }
+        if (!sameLayout) {
+            ensureCapacity(count);
+        }
+        int moved = 0;
+        for (int i = 0; i < count; i++) {
+            OpenGlContext.MeshBuffer mesh = meshes.get(i);
+            stateKeys[i] = DrawStateSorter.stateKey(programId, mesh.textureId, mesh.vaoId);
+            int m = i * MATRIX_FLOATS;
+            if (sameLayout && Arrays.equals(models, m, m + MATRIX_FLOATS, mesh.modelMatrix, 0, MATRIX_FLOATS)) {
+                continue;
+            }
+            System.arraycopy(mesh.modelMatrix, 0, models, m, MATRIX_FLOATS);
+            System.arraycopy(mesh.localBounds, 0, localBounds, i * BOUNDS_FLOATS, BOUNDS_FLOATS);
+            int b = i * BOUNDS_FLOATS;
+            DynamicBvh.transformBounds(mesh.modelMatrix, mesh.localBounds, 0, worldBounds, b);
+            if (sameLayout) {
+                bvh.update(i, worldBounds[b], worldBounds[b + 1], worldBounds[b + 2],
+                        worldBounds[b + 3], worldBounds[b + 4], worldBounds[b + 5]);
+            }
+            moved++;
+        }
+        meshCount = count;
+        if (sameLayout) {
+            bvh.refit();
+        } else {
+            bvh.build(worldBounds, count);
+        }
+        lastMovedMeshes = moved;
+        return moved;
+    }
+
+    /** Culls against the column-major view-projection and sorts the survivors by render state. */
+    int cull(float[] viewProj) {
+        InstanceFrustumCuller.frustumPlanes(viewProj, planes);
+        visibleCount = bvh.cull(planes, visible);
+        sorter.sort(visible, visibleCount, stateKeys);
+        return visibleCount;
+    }
+
+    /** Mesh index drawn in {@code slot} of the sorted visible list. */
+    int visibleMesh(int slot) {
+        return visible[slot];
+    }
+
+    int visibleCount() {
+        return visibleCount;
+    }
+
+    int culledCount() {
+        return meshCount - visibleCount;
+    }
+
+    int lastMovedMeshes() {
+        return lastMovedMeshes;
+    }
+
+    /** Object-space bounds of the first three floats of each vertex; all zero for empty geometry. */
+    static float[] localBounds(float[] vertices, int strideFloats) {
+        float[] bounds = new float[BOUNDS_FLOATS];
+        if (vertices == null || strideFloats < 3 || vertices.length < 3) {
+            return bounds;
+        }
+        bounds[0] = bounds[1] = bounds[2] = Float.POSITIVE_INFINITY;
+        bounds[3] = bounds[4] = bounds[5] = Float.NEGATIVE_INFINITY;
+        for (int v = 0; v + 2 < vertices.length; v += strideFloats) {
+            for (int axis = 0; axis < 3; axis++) {
+                bounds[axis] = Math.min(bounds[axis], vertices[v + axis]);
+                bounds[axis + 3] = Math.max(bounds[axis + 3], vertices[v + axis]);
+            }
+        }
+        return bounds;
+    }
+
+    private void ensureCapacity(int count) {
+        if (stateKeys.length >= count) {
+            return;
+        }
+        localBounds = new float[count * BOUNDS_FLOATS];
+        worldBounds = new float[count * BOUNDS_FLOATS];
+        models = new float[count * MATRIX_FLOATS];
+        stateKeys = new long[count];
+        visible = new int[count];
+    }
+}
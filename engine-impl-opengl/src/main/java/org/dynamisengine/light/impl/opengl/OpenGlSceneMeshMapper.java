@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import org.dynamisengine.light.api.error.EngineException;
 import org.dynamisengine.light.api.scene.MaterialDesc;
 import org.dynamisengine.light.api.scene.MeshDesc;
 import org.dynamisengine.light.api.scene.ReactivePreset;
@@ -24,9 +25,10 @@ final class OpenGlSceneMeshMapper {
     static List<OpenGlContext.SceneMesh> mapSceneMeshes(
             SceneDescriptor scene,
             OpenGlMeshAssetLoader meshLoader,
+            OpenGlRegisteredMeshes registeredMeshes,
             OpenGlContext context,
             Path assetRoot,
-            boolean mockContext) {
+            boolean mockContext) throws EngineException {
         if (scene.meshes() == null || scene.meshes().isEmpty()) {
             return List.of(new OpenGlContext.SceneMesh(
                     "default-triangle",
@@ -60,54 +62,69 @@ final class OpenGlSceneMeshMapper {
         }
 
         List<OpenGlContext.SceneMesh> sceneMeshes = new ArrayList<>(scene.meshes().size());
-        for (int i = 0; i < scene.meshes().size(); i++) {
-            MeshDesc mesh = scene.meshes().get(i);
+        OpenGlContext.MeshGeometry pending = null;
+        try {
+            for (int i = 0; i < scene.meshes().size(); i++) {
+                MeshDesc mesh = scene.meshes().get(i);
+
+                if (mesh.id() != null && mesh.id().startsWith("gltf-scene:")) {
+                    List<OpenGlContext.SceneMesh> expanded = expandGltfScene(mesh, transforms, materials, meshLoader, context, mockContext);
+                    sceneMeshes.addAll(expanded);
+                    continue;
+                }
 
-            if (mesh.id() != null && mesh.id().startsWith("gltf-scene:")) {
-                List<OpenGlContext.SceneMesh> expanded = expandGltfScene(mesh, transforms, materials, meshLoader, context, mockContext);
-                sceneMeshes.addAll(expanded);
-                continue;
+                OpenGlContext.MeshGeometry geometry = registeredMeshes.geometryFor(mesh.meshAssetPath());
+                if (geometry == null) {
+                    geometry = meshLoader.loadMeshGeometry(mesh, i);
+                    pending = geometry;
+                }
+                TransformDesc transform = transforms.get(mesh.transformId());
+                MaterialDesc material = materials.get(mesh.materialId());
+
+                float[] model = modelMatrixOf(transform);
+                float[] albedo = albedoOf(material);
+                Path albedoTexturePath = resolveTexturePath(material == null ? null : material.albedoTexturePath(), assetRoot);
+                Path normalTexturePath = resolveTexturePath(material == null ? null : material.normalTexturePath(), assetRoot);
+                Path metallicRoughnessTexturePath =
+                        resolveTexturePath(material == null ? null : material.metallicRoughnessTexturePath(), assetRoot);
+                Path occlusionTexturePath = resolveTexturePath(material == null ? null : material.occlusionTexturePath(), assetRoot);
+                float metallic = material == null ? 0.0f : clamp01(material.metallic());
+                float roughness = material == null ? 0.6f : clamp01(material.roughness());
+                float reactiveStrength = material == null ? 0f : clamp01(material.reactiveStrength());
+                boolean alphaTested = material != null && material.alphaTested();
+                boolean foliage = material != null && material.foliage();
+                float reactiveBoost = material == null ? 1.0f : Math.max(0f, Math.min(2.0f, material.reactiveBoost()));
+                float taaHistoryClamp = material == null ? 1.0f : clamp01(material.taaHistoryClamp());
+                float emissiveReactiveBoost = material == null ? 1.0f : Math.max(0f, Math.min(3.0f, material.emissiveReactiveBoost()));
+                float reactivePreset = material == null ? 0f : toReactivePresetValue(material.reactivePreset());
+                sceneMeshes.add(new OpenGlContext.SceneMesh(
+                        mesh.id() == null || mesh.id().isBlank() ? ("mesh-index-" + i) : mesh.id(),
+                        geometry,
+                        model,
+                        albedo,
+                        metallic,
+                        roughness,
+                        reactiveStrength,
+                        alphaTested,
+                        foliage,
+                        reactiveBoost,
+                        taaHistoryClamp,
+                        emissiveReactiveBoost,
+                        reactivePreset,
+                        albedoTexturePath,
+                        normalTexturePath,
+                        metallicRoughnessTexturePath,
+                        occlusionTexturePath
+                ));
+                pending = null;
             }
-
-            OpenGlContext.MeshGeometry geometry = meshLoader.loadMeshGeometry(mesh, i);
-            TransformDesc transform = transforms.get(mesh.transformId());
-            MaterialDesc material = materials.get(mesh.materialId());
-
-            float[] model = modelMatrixOf(transform);
-            float[] albedo = albedoOf(material);
-            Path albedoTexturePath = resolveTexturePath(material == null ? null : material.albedoTexturePath(), assetRoot);
-            Path normalTexturePath = resolveTexturePath(material == null ? null : material.normalTexturePath(), assetRoot);
-            Path metallicRoughnessTexturePath =
-                    resolveTexturePath(material == null ? null : material.metallicRoughnessTexturePath(), assetRoot);
-            Path occlusionTexturePath = resolveTexturePath(material == null ? null : material.occlusionTexturePath(), assetRoot);
-            float metallic = material == null ? 0.0f : clamp01(material.metallic());
-            float roughness = material == null ? 0.6f : clamp01(material.roughness());
-            float reactiveStrength = material == null ? 0f : clamp01(material.reactiveStrength());
-            boolean alphaTested = material != null && material.alphaTested();
-            boolean foliage = material != null && material.foliage();
-            float reactiveBoost = material == null ? 1.0f : Math.max(0f, Math.min(2.0f, material.reactiveBoost()));
-            float taaHistoryClamp = material == null ? 1.0f : clamp01(material.taaHistoryClamp());
-            float emissiveReactiveBoost = material == null ? 1.0f : Math.max(0f, Math.min(3.0f, material.emissiveReactiveBoost()));
-            float reactivePreset = material == null ? 0f : toReactivePresetValue(material.reactivePreset());
-            sceneMeshes.add(new OpenGlContext.SceneMesh(
-                    mesh.id() == null || mesh.id().isBlank() ? ("mesh-index-" + i) : mesh.id(),
-                    geometry,
-                    model,
-                    albedo,
-                    metallic,
-                    roughness,
-                    reactiveStrength,
-                    alphaTested,
-                    foliage,
-                    reactiveBoost,
-                    taaHistoryClamp,
-                    emissiveReactiveBoost,
-                    reactivePreset,
-                    albedoTexturePath,
-                    normalTexturePath,
-                    metallicRoughnessTexturePath,
-                    occlusionTexturePath
-            ));
+        } catch (EngineException | RuntimeException e) {
+            // The caller only unmaps what it gets back; release what was mapped before the failure.
+            sceneMeshes.forEach(sceneMesh -> sceneMesh.geometry().releaseMapping());
+            if (pending != null) {
+                pending.releaseMapping();
+            }
+            throw e;
         }
         return sceneMeshes;
     }
@@ -13,12 +13,10 @@ import static org.lwjgl.opengl.GL11.GL_TEXTURE_2D;
 import static org.lwjgl.opengl.GL11.GL_TEXTURE_BORDER_COLOR;
 import static org.lwjgl.opengl.GL11.GL_TEXTURE_MAG_FILTER;
 import static org.lwjgl.opengl.GL11.GL_TEXTURE_MIN_FILTER;
-import static org.lwjgl.opengl.GL11.GL_TRIANGLES;
 import static org.lwjgl.opengl.GL11.glBindTexture;
 import static org.lwjgl.opengl.GL11.glClear;
 import static org.lwjgl.opengl.GL11.glDeleteTextures;
 import static org.lwjgl.opengl.GL11.glDisable;
-import static org.lwjgl.opengl.GL11.glDrawArrays;
 import static org.lwjgl.opengl.GL11.glDrawBuffer;
 import static org.lwjgl.opengl.GL11.glEnable;
 import static org.lwjgl.opengl.GL11.glGenTextures;
@@ -32,23 +30,9 @@ import static org.lwjgl.opengl.GL12.GL_CLAMP_TO_EDGE;
 import static org.lwjgl.opengl.GL13.GL_TEXTURE_CUBE_MAP;
 import static org.lwjgl.opengl.GL13.GL_TEXTURE_CUBE_MAP_POSITIVE_X;
 import static org.lwjgl.opengl.GL14.GL_TEXTURE_COMPARE_MODE;
-import static org.lwjgl.opengl.GL20.GL_COMPILE_STATUS;
-import static org.lwjgl.opengl.GL20.GL_FRAGMENT_SHADER;
-import static org.lwjgl.opengl.GL20.GL_LINK_STATUS;
-import static org.lwjgl.opengl.GL20.GL_VERTEX_SHADER;
-import static org.lwjgl.opengl.GL20.glAttachShader;
-import static org.lwjgl.opengl.GL20.glCompileShader;
-import static org.lwjgl.opengl.GL20.glCreateProgram;
-import static org.lwjgl.opengl.GL20.glCreateShader;
 import static org.lwjgl.opengl.GL20.glDeleteProgram;
-import static org.lwjgl.opengl.GL20.glDeleteShader;
-import static org.lwjgl.opengl.GL20.glGetProgramInfoLog;
-import static org.lwjgl.opengl.GL20.glGetProgrami;
-import static org.lwjgl.opengl.GL20.glGetShaderInfoLog;
-import static org.lwjgl.opengl.GL20.glGetShaderi;
 import static org.lwjgl.opengl.GL20.glGetUniformLocation;
-import static org.lwjgl.opengl.GL20.glLinkProgram;
-import static org.lwjgl.opengl.GL20.glShaderSource;
+import static org.lwjgl.opengl.GL20.glUniform1i;
 import static org.lwjgl.opengl.GL20.glUniformMatrix4fv;
 import static org.lwjgl.opengl.GL20.glUseProgram;
 import static org.lwjgl.opengl.GL30.GL_DEPTH_ATTACHMENT;
@@ -60,18 +44,36 @@ import static org.lwjgl.opengl.GL30.glCheckFramebufferStatus;
 import static org.lwjgl.opengl.GL30.glDeleteFramebuffers;
 import static org.lwjgl.opengl.GL30.glFramebufferTexture2D;
 import static org.lwjgl.opengl.GL30.glGenFramebuffers;
+import static org.lwjgl.opengl.GL32.glFramebufferTexture;
 
 import java.util.List;
-import org.dynamisengine.light.api.error.EngineErrorCode;
 import org.dynamisengine.light.api.error.EngineException;
+import org.dynamisengine.light.impl.common.culling.CubeShadowFaces;
+import org.dynamisengine.light.impl.common.culling.DynamicBvh;
 
 /**
  * Manages shadow map rendering: directional, point (cubemap), and local spot shadow atlas.
  * Extracted from OpenGlContext (step 4 decomposition).
+ *
+ * <p>The point-light pass tests each mesh's world bounds against the six cube-face pyramids
+ * ({@link CubeShadowFaces}). With the layered program (geometry stage writing {@code gl_Layer}) each
+ * caster is drawn once and only emitted into the faces it touches; without it the pass falls back to one
+ * render per face that skips meshes outside that face. {@code -Ddle.opengl.pointShadow.layered=false}
+ * forces the per-face path.</p>
  */
 final class OpenGlShadowRenderer {
 
     private static final int MAX_LOCAL_SHADOWS = OpenGlContext.MAX_LOCAL_SHADOWS;
+    private static final float[][] CUBE_FACE_DIRECTIONS = {
+            {1f, 0f, 0f}, {-1f, 0f, 0f},
+            {0f, 1f, 0f}, {0f, -1f, 0f},
+            {0f, 0f, 1f}, {0f, 0f, -1f}
+    };
+    private static final float[][] CUBE_FACE_UPS = {
+            {0f, -1f, 0f}, {0f, -1f, 0f},
+            {0f, 0f, 1f}, {0f, 0f, -1f},
+            {0f, -1f, 0f}, {0f, -1f, 0f}
+    };
 
     // Shadow shader program state
     private int shadowProgramId;
@@ -85,6 +87,26 @@ final class OpenGlShadowRenderer {
     // Point shadow resources
     private int pointShadowFramebufferId;
     private int pointShadowDepthTextureId;
+    private int pointShadowLayeredFramebufferId;
+
+    // Layered point shadow program state; 0 when the per-face fallback is used
+    private int layeredProgramId;
+    private int layeredModelLocation;
+    private int layeredFaceViewProjLocation;
+    private int layeredFaceMaskLocation;
+
+    // Per-mesh cube-face masks of the current point shadow and the draw counters of the frame; the
+    // scratch arrays and stats are reused so the point pass does not allocate per frame
+    private int[] pointShadowFaceMasks = new int[0];
+    private final int[] pointShadowCandidates = new int[OpenGlContext.MAX_LOCAL_LIGHTS];
+    private final float[] casterWorldBounds = new float[DynamicBvh.BOUNDS_FLOATS];
+    private final float[] faceViewProj = new float[CubeShadowFaces.FACE_COUNT * 16];
+    private final float[] singleFaceViewProj = new float[16];
+    // Light position and far plane that faceViewProj was built for; NaN forces a rebuild
+    private final float[] faceViewProjLight = {Float.NaN, Float.NaN, Float.NaN, Float.NaN};
+    private final PointShadowStats[] pointShadowStatsByLight = new PointShadowStats[OpenGlContext.MAX_LOCAL_LIGHTS];
+    private int pointShadowStatsRecorded;
+    private long shadowDrawCalls;
 
     // Local shadow atlas resources
     private int localShadowFramebufferId;
@@ -106,29 +128,37 @@ final class OpenGlShadowRenderer {
     private final int[] localShadowSlotLastUpdateFrame = new int[MAX_LOCAL_SHADOWS];
 
     OpenGlShadowRenderer() {
+        for (int i = 0; i < pointShadowStatsByLight.length; i++) {
+            pointShadowStatsByLight[i] = new PointShadowStats();
+        }
         for (int i = 0; i < localShadowSlotLightIndex.length; i++) {
             localShadowSlotLightIndex[i] = -1;
             localShadowSlotLastUpdateFrame[i] = Integer.MIN_VALUE / 2;
         }
     }
 
-    void initializeShadowPipeline() throws EngineException {
-        int vertexShaderId = compileShader(GL_VERTEX_SHADER, SHADOW_VERTEX_SHADER);
-        int fragmentShaderId = compileShader(GL_FRAGMENT_SHADER, SHADOW_FRAGMENT_SHADER);
-        shadowProgramId = glCreateProgram();
-        glAttachShader(shadowProgramId, vertexShaderId);
-        glAttachShader(shadowProgramId, fragmentShaderId);
-        glLinkProgram(shadowProgramId);
-        if (glGetProgrami(shadowProgramId, GL_LINK_STATUS) == 0) {
-            String info = glGetProgramInfoLog(shadowProgramId);
-            glDeleteShader(vertexShaderId);
-            glDeleteShader(fragmentShaderId);
-            throw new EngineException(EngineErrorCode.SHADER_COMPILATION_FAILED, "Shadow shader link failed: " + info, false);
-        }
-        glDeleteShader(vertexShaderId);
-        glDeleteShader(fragmentShaderId);
+    void initializeShadowPipeline(GlProgramLinker programLinker) throws EngineException {
+        shadowProgramId = programLinker.link(GlProgramSource.of("Shadow", SHADOW_VERTEX_SHADER, SHADOW_FRAGMENT_SHADER));
         shadowModelLocation = glGetUniformLocation(shadowProgramId, "uModel");
         shadowLightViewProjLocation = glGetUniformLocation(shadowProgramId, "uLightViewProj");
+        layeredProgramId = 0;
+        if (Boolean.parseBoolean(System.getProperty("dle.opengl.pointShadow.layered", "true"))) {
+            try {
+                layeredProgramId = programLinker.link(GlProgramSource.withGeometry(
+                        "PointShadowLayered",
+                        POINT_SHADOW_LAYERED_VERTEX_SHADER,
+                        POINT_SHADOW_LAYERED_GEOMETRY_SHADER,
+                        SHADOW_FRAGMENT_SHADER));
+            } catch (EngineException e) {
+                // Drivers that reject the geometry stage keep the per-face point shadow path.
+                layeredProgramId = 0;
+            }
+        }
+        if (layeredProgramId != 0) {
+            layeredModelLocation = glGetUniformLocation(layeredProgramId, "uModel");
+            layeredFaceViewProjLocation = glGetUniformLocation(layeredProgramId, "uFaceViewProj");
+            layeredFaceMaskLocation = glGetUniformLocation(layeredProgramId, "uFaceMask");
+        }
     }
 
     void recreateShadowResources(int shadowMapResolution) {
@@ -189,6 +219,21 @@ final class OpenGlShadowRenderer {
             throw new IllegalStateException("Point shadow framebuffer incomplete: status=" + pointStatus);
         }
 
+        if (layeredProgramId != 0) {
+            // All six faces attached as layers; the geometry stage picks the face through gl_Layer.
+            pointShadowLayeredFramebufferId = glGenFramebuffers();
+            glBindFramebuffer(GL_FRAMEBUFFER, pointShadowLayeredFramebufferId);
+            glFramebufferTexture(GL_FRAMEBUFFER, GL_DEPTH_ATTACHMENT, pointShadowDepthTextureId, 0);
+            glDrawBuffer(GL_NONE);
+            glReadBuffer(GL_NONE);
+            int layeredStatus = glCheckFramebufferStatus(GL_FRAMEBUFFER);
+            glBindFramebuffer(GL_FRAMEBUFFER, 0);
+            if (layeredStatus != GL_FRAMEBUFFER_COMPLETE) {
+                glDeleteFramebuffers(pointShadowLayeredFramebufferId);
+                pointShadowLayeredFramebufferId = 0;
+            }
+        }
+
         localShadowDepthTextureId = glGenTextures();
         glBindTexture(GL_TEXTURE_2D, localShadowDepthTextureId);
         glTexImage2D(GL_TEXTURE_2D, 0, GL_DEPTH_COMPONENT, shadowMapResolution, shadowMapResolution, 0, GL_DEPTH_COMPONENT, GL_FLOAT, 0L);
@@ -224,6 +269,10 @@ final class OpenGlShadowRenderer {
             glDeleteFramebuffers(pointShadowFramebufferId);
             pointShadowFramebufferId = 0;
         }
+        if (pointShadowLayeredFramebufferId != 0) {
+            glDeleteFramebuffers(pointShadowLayeredFramebufferId);
+            pointShadowLayeredFramebufferId = 0;
+        }
         if (pointShadowDepthTextureId != 0) {
             glDeleteTextures(pointShadowDepthTextureId);
             pointShadowDepthTextureId = 0;
@@ -248,6 +297,13 @@ final class OpenGlShadowRenderer {
         java.util.Arrays.fill(localShadowMatrices, 0f);
         java.util.Arrays.fill(localShadowAtlasRects, 0f);
         java.util.Arrays.fill(localShadowMeta, 0f);
+        faceViewProjLight[0] = Float.NaN;
+        pointShadowStatsRecorded = 0;
+    }
+
+    /** Resets the per-frame shadow draw counter; called once at the start of each frame. */
+    void resetFrameCounters() {
+        shadowDrawCalls = 0;
     }
 
     void renderShadowPass(
@@ -284,8 +340,9 @@ final class OpenGlShadowRenderer {
         for (OpenGlContext.MeshBuffer mesh : sceneMeshes) {
             glUniformMatrix4fv(shadowModelLocation, false, mesh.modelMatrix);
             glBindVertexArray(mesh.vaoId);
-            glDrawArrays(GL_TRIANGLES, 0, mesh.vertexCount);
+            mesh.draw();
         }
+        shadowDrawCalls += sceneMeshes.size();
         glBindVertexArray(0);
         glUseProgram(0);
         glDisable(GL_POLYGON_OFFSET_FILL);
@@ -401,8 +458,9 @@ final class OpenGlShadowRenderer {
             for (OpenGlContext.MeshBuffer mesh : sceneMeshes) {
                 glUniformMatrix4fv(shadowModelLocation, false, mesh.modelMatrix);
                 glBindVertexArray(mesh.vaoId);
-                glDrawArrays(GL_TRIANGLES, 0, mesh.vertexCount);
+                mesh.draw();
             }
+            shadowDrawCalls += sceneMeshes.size();
             localShadowSlotLastUpdateFrame[slot] = frameCounter;
         }
 
@@ -430,7 +488,7 @@ final class OpenGlShadowRenderer {
         if (!shadowEnabled || pointShadowFramebufferId == 0 || pointShadowDepthTextureId == 0 || shadowProgramId == 0 || localShadowBudget <= 0) {
             return new PointShadowResult(false, -1, 0f, 0f, 0f, 15f);
         }
-        int[] pointCandidates = new int[OpenGlContext.MAX_LOCAL_LIGHTS];
+        int[] pointCandidates = pointShadowCandidates;
         int pointCandidateCount = 0;
         for (int i = 0; i < localLightCount; i++) {
             int offset = i * 4;
@@ -453,44 +511,85 @@ final class OpenGlShadowRenderer {
         float posZ = localLightPosRange[selectedOffset + 2];
         float farPlane = Math.max(1.0f, localLightPosRange[selectedOffset + 3]);
 
-        float[] lightProj = perspective((float) Math.toRadians(90.0), 1f, 0.1f, farPlane);
-        float[][] directions = new float[][]{
-                {1f, 0f, 0f}, {-1f, 0f, 0f},
-                {0f, 1f, 0f}, {0f, -1f, 0f},
-                {0f, 0f, 1f}, {0f, 0f, -1f}
-        };
-        float[][] ups = new float[][]{
-                {0f, -1f, 0f}, {0f, -1f, 0f},
-                {0f, 0f, 1f}, {0f, 0f, -1f},
-                {0f, -1f, 0f}, {0f, -1f, 0f}
-        };
+        if (faceViewProjLight[0] != posX || faceViewProjLight[1] != posY
+                || faceViewProjLight[2] != posZ || faceViewProjLight[3] != farPlane) {
+            faceViewProjLight[0] = posX;
+            faceViewProjLight[1] = posY;
+            faceViewProjLight[2] = posZ;
+            faceViewProjLight[3] = farPlane;
+            float[] lightProj = perspective((float) Math.toRadians(90.0), 1f, 0.1f, farPlane);
+            for (int face = 0; face < CubeShadowFaces.FACE_COUNT; face++) {
+                float[] dir = CUBE_FACE_DIRECTIONS[face];
+                float[] up = CUBE_FACE_UPS[face];
+                float[] lightView = lookAt(
+                        posX, posY, posZ,
+                        posX + dir[0], posY + dir[1], posZ + dir[2],
+                        up[0], up[1], up[2]
+                );
+                System.arraycopy(mul(lightProj, lightView), 0, faceViewProj, face * 16, 16);
+            }
+        }
+        int meshCount = sceneMeshes.size();
+        if (pointShadowFaceMasks.length < meshCount) {
+            pointShadowFaceMasks = new int[meshCount];
+        }
+        int faceSubmissions = 0;
+        for (int i = 0; i < meshCount; i++) {
+            OpenGlContext.MeshBuffer mesh = sceneMeshes.get(i);
+            DynamicBvh.transformBounds(mesh.modelMatrix, mesh.localBounds, 0, casterWorldBounds, 0);
+            pointShadowFaceMasks[i] = CubeShadowFaces.faceMask(posX, posY, posZ, farPlane, casterWorldBounds, 0);
+            faceSubmissions += Integer.bitCount(pointShadowFaceMasks[i]);
+        }
+
+        boolean layered = layeredProgramId != 0 && pointShadowLayeredFramebufferId != 0;
+        int drawCalls = 0;
         glViewport(0, 0, shadowMapResolution, shadowMapResolution);
-        glBindFramebuffer(GL_FRAMEBUFFER, pointShadowFramebufferId);
         glEnable(GL_POLYGON_OFFSET_FILL);
         glPolygonOffset(2.0f, 4.0f);
-        glUseProgram(shadowProgramId);
-        for (int face = 0; face < 6; face++) {
-            glFramebufferTexture2D(GL_FRAMEBUFFER, GL_DEPTH_ATTACHMENT, GL_TEXTURE_CUBE_MAP_POSITIVE_X + face, pointShadowDepthTextureId, 0);
+        if (layered) {
+            glBindFramebuffer(GL_FRAMEBUFFER, pointShadowLayeredFramebufferId);
             glClear(GL_DEPTH_BUFFER_BIT);
-            float[] dir = directions[face];
-            float[] up = ups[face];
-            float[] lightView = lookAt(
-                    posX, posY, posZ,
-                    posX + dir[0], posY + dir[1], posZ + dir[2],
-                    up[0], up[1], up[2]
-            );
-            float[] lightVp = mul(lightProj, lightView);
-            glUniformMatrix4fv(shadowLightViewProjLocation, false, lightVp);
-            for (OpenGlContext.MeshBuffer mesh : sceneMeshes) {
-                glUniformMatrix4fv(shadowModelLocation, false, mesh.modelMatrix);
+            glUseProgram(layeredProgramId);
+            glUniformMatrix4fv(layeredFaceViewProjLocation, false, faceViewProj);
+            for (int i = 0; i < meshCount; i++) {
+                if (pointShadowFaceMasks[i] == 0) {
+                    continue;
+                }
+                OpenGlContext.MeshBuffer mesh = sceneMeshes.get(i);
+                glUniformMatrix4fv(layeredModelLocation, false, mesh.modelMatrix);
+                glUniform1i(layeredFaceMaskLocation, pointShadowFaceMasks[i]);
                 glBindVertexArray(mesh.vaoId);
-                glDrawArrays(GL_TRIANGLES, 0, mesh.vertexCount);
+                mesh.draw();
+                drawCalls++;
+            }
+        } else {
+            glBindFramebuffer(GL_FRAMEBUFFER, pointShadowFramebufferId);
+            glUseProgram(shadowProgramId);
+            float[] lightVp = singleFaceViewProj;
+            for (int face = 0; face < CubeShadowFaces.FACE_COUNT; face++) {
+                glFramebufferTexture2D(GL_FRAMEBUFFER, GL_DEPTH_ATTACHMENT, GL_TEXTURE_CUBE_MAP_POSITIVE_X + face, pointShadowDepthTextureId, 0);
+                glClear(GL_DEPTH_BUFFER_BIT);
+                System.arraycopy(faceViewProj, face * 16, lightVp, 0, 16);
+                glUniformMatrix4fv(shadowLightViewProjLocation, false, lightVp);
+                for (int i = 0; i < meshCount; i++) {
+                    if ((pointShadowFaceMasks[i] & (1 << face)) == 0) {
+                        continue;
+                    }
+                    OpenGlContext.MeshBuffer mesh = sceneMeshes.get(i);
+                    glUniformMatrix4fv(shadowModelLocation, false, mesh.modelMatrix);
+                    glBindVertexArray(mesh.vaoId);
+                    mesh.draw();
+                    drawCalls++;
+                }
             }
         }
         glBindVertexArray(0);
         glUseProgram(0);
         glDisable(GL_POLYGON_OFFSET_FILL);
         glBindFramebuffer(GL_FRAMEBUFFER, 0);
+        shadowDrawCalls += drawCalls;
+        pointShadowStatsByLight[selectedLight].set(meshCount, faceSubmissions, drawCalls, layered);
+        pointShadowStatsRecorded |= 1 << selectedLight;
 
         return new PointShadowResult(true, selectedLight, posX, posY, posZ, farPlane);
     }
@@ -567,6 +666,10 @@ final class OpenGlShadowRenderer {
             glDeleteProgram(shadowProgramId);
             shadowProgramId = 0;
         }
+        if (layeredProgramId != 0) {
+            glDeleteProgram(layeredProgramId);
+            layeredProgramId = 0;
+        }
     }
 
     // --- Accessors for state that OpenGlContext needs to read ---
@@ -614,6 +717,59 @@ final class OpenGlShadowRenderer {
         }
     }
 
+    long shadowDrawCalls() {
+        return shadowDrawCalls;
+    }
+
+    /**
+     * Counters of the most recent cube shadow rendered for local light {@code lightIndex}, or {@code null}.
+     * The returned object is updated in place by later point passes for that light.
+     */
+    PointShadowStats pointShadowStats(int lightIndex) {
+        return lightIndex < 0 || lightIndex >= pointShadowStatsByLight.length
+                || (pointShadowStatsRecorded & (1 << lightIndex)) == 0 ? null : pointShadowStatsByLight[lightIndex];
+    }
+
+    /**
+     * Submission counters of one point-light cube shadow: the scene meshes considered ({@code casters}), the
+     * mesh/face pairs that survived the per-face test ({@code faceSubmissions}) and the draws issued
+     * ({@code drawCalls}: one per caster when {@code layered}, one per mesh/face pair otherwise).
+     */
+    static final class PointShadowStats {
+        private int casters;
+        private int faceSubmissions;
+        private int drawCalls;
+        private boolean layered;
+
+        void set(int casters, int faceSubmissions, int drawCalls, boolean layered) {
+            this.casters = casters;
+            this.faceSubmissions = faceSubmissions;
+            this.drawCalls = drawCalls;
+            this.layered = layered;
+        }
+
+        int casters() {
+            return casters;
+        }
+
+        int faceSubmissions() {
+            return faceSubmissions;
+        }
+
+        int drawCalls() {
+            return drawCalls;
+        }
+
+        boolean layered() {
+            return layered;
+        }
+
+        /** Draws avoided compared with drawing every mesh into all six faces. */
+        int drawsSaved() {
+            return casters * CubeShadowFaces.FACE_COUNT - drawCalls;
+        }
+    }
+
     /**
      * Result of point shadow pass, carrying back updated point-light state to OpenGlContext.
      */
@@ -626,18 +782,4 @@ final class OpenGlShadowRenderer {
             float pointShadowFarPlane
     ) {
     }
-
-    private static int compileShader(int type, String source) throws EngineException {
-        int shaderId = glCreateShader(type);
-        glShaderSource(shaderId, source);
-        glCompileShader(shaderId);
-
-        if (glGetShaderi(shaderId, GL_COMPILE_STATUS) == 0) {
-            String info = glGetShaderInfoLog(shaderId);
-            glDeleteShader(shaderId);
-            throw new EngineException(EngineErrorCode.SHADER_COMPILATION_FAILED, "Shader compilation failed: " + info, false);
-        }
-
-        return shaderId;
-    }
 }
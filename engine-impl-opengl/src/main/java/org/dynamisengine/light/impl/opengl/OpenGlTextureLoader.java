@@ -12,7 +12,9 @@ import static org.lwjgl.opengl.GL11.glGenTextures;
 import static org.lwjgl.opengl.GL11.glTexImage2D;
 import static org.lwjgl.opengl.GL11.glTexParameterf;
 import static org.lwjgl.opengl.GL11.glTexParameteri;
+import static org.lwjgl.opengl.GL12.GL_TEXTURE_BASE_LEVEL;
 import static org.lwjgl.opengl.GL12.GL_TEXTURE_MAX_LEVEL;
+import static org.lwjgl.opengl.GL13.glCompressedTexImage2D;
 import static org.lwjgl.opengl.GL21.GL_SRGB8_ALPHA8;
 import static org.lwjgl.opengl.GL30.glGenerateMipmap;
 import static org.lwjgl.stb.STBImage.stbi_image_free;
@@ -30,7 +32,9 @@ import java.nio.FloatBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import javax.imageio.ImageIO;
+import org.dynamisengine.light.impl.common.texture.CookedTexture;
 import org.dynamisengine.light.impl.common.texture.KtxDecodeUtil;
+import org.dynamisengine.light.impl.common.texture.TextureCooker;
 import org.lwjgl.system.MemoryStack;
 
 final class OpenGlTextureLoader {
@@ -39,9 +43,43 @@ final class OpenGlTextureLoader {
     }
 
     private final float maxAnisotropy;
+    private final boolean s3tcSupported;
+    private final boolean s3tcSrgbSupported;
+    private final boolean rgtcSupported;
+    private final boolean bptcSupported;
 
     OpenGlTextureLoader(float maxAnisotropy) {
+        this(maxAnisotropy, false, false, false, false);
+    }
+
+    /**
+     * @param s3tcSupported BC1/BC3 upload (EXT_texture_compression_s3tc)
+     * @param s3tcSrgbSupported sRGB BC1/BC3 upload (S3TC plus EXT_texture_sRGB)
+     * @param rgtcSupported BC5 upload (GL 3.0 or ARB_texture_compression_rgtc)
+     * @param bptcSupported BC7 upload (GL 4.2 or ARB_texture_compression_bptc)
+     */
+    OpenGlTextureLoader(
+            float maxAnisotropy,
+            boolean s3tcSupported,
+            boolean s3tcSrgbSupported,
+            boolean rgtcSupported,
+            boolean bptcSupported
+    ) {
         this.maxAnisotropy = maxAnisotropy;
+        this.s3tcSupported = s3tcSupported;
+        this.s3tcSrgbSupported = s3tcSupported && s3tcSrgbSupported;
+        this.rgtcSupported = rgtcSupported;
+        this.bptcSupported = bptcSupported;
+    }
+
+    /** Whether this context can sample {@code format} directly; uncompressed RGBA8 always can. */
+    boolean supportsFormat(TextureCooker.Format format, boolean sRgb) {
+        return switch (format) {
+            case RGBA8 -> true;
+            case BC1, BC3 -> sRgb ? s3tcSrgbSupported : s3tcSupported;
+            case BC5 -> rgtcSupported;
+            case BC7 -> bptcSupported;
+        };
     }
 
     TextureData loadTexture(Path texturePath) {
@@ -63,6 +101,18 @@ final class OpenGlTextureLoader {
                 return new TextureData(0, 0, 0);
             }
         }
+        if (TextureCooker.isEnabled() && !isKtxContainerPath(sourcePath)) {
+            TextureCooker.Options options = TextureCooker.Options.defaults(
+                    bptcSupported ? TextureCooker.Format.BC7 : TextureCooker.Format.RGBA8, sRgb, false);
+            if (!supportsFormat(options.format(), options.srgb())) {
+                // A format override the context cannot sample: cook uncompressed mips instead.
+                options = new TextureCooker.Options(TextureCooker.Format.RGBA8, sRgb, options.filter(), false);
+            }
+            CookedTexture cooked = TextureCooker.cook(sourcePath, options, OpenGlTextureLoader::decodeForCooking);
+            if (cooked != null && supportsFormat(cooked.format(), cooked.srgb())) {
+                return uploadCookedTexture(cooked);
+            }
+        }
         try {
             BufferedImage image = ImageIO.read(sourcePath.toFile());
             if (image != null) {
@@ -206,6 +256,88 @@ final class OpenGlTextureLoader {
         return new TextureData(textureId, (long) width * height * 4L, maxLod);
     }
 
+    /**
+     * Uploads every pre-built level; compressed levels go through glCompressedTexImage2D so the
+     * driver never re-encodes or regenerates mips.
+     */
+    TextureData uploadCookedTexture(CookedTexture cooked) {
+        int textureId = glGenTextures();
+        glBindTexture(GL_TEXTURE_2D, textureId);
+        int maxLod = cooked.levelCount() - 1;
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_BASE_LEVEL, 0);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAX_LEVEL, maxLod);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR_MIPMAP_LINEAR);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
+        if (maxAnisotropy > 0f) {
+            glTexParameterf(GL_TEXTURE_2D,
+                    org.lwjgl.opengl.EXTTextureFilterAnisotropic.GL_TEXTURE_MAX_ANISOTROPY_EXT,
+                    Math.min(maxAnisotropy, 16f));
+        }
+        ByteBuffer staging = ByteBuffer.allocateDirect(cooked.levels().getFirst().data().length).order(ByteOrder.nativeOrder());
+        for (int level = 0; level < cooked.levelCount(); level++) {
+            CookedTexture.Level mip = cooked.levels().get(level);
+            staging.clear();
+            staging.put(mip.data()).flip();
+            if (cooked.format().compressed()) {
+                glCompressedTexImage2D(GL_TEXTURE_2D, level, cooked.glInternalFormat(), mip.width(), mip.height(), 0, staging);
+            } else {
+                glTexImage2D(GL_TEXTURE_2D, level, cooked.glInternalFormat(), mip.width(), mip.height(), 0, GL_RGBA, GL_UNSIGNED_BYTE, staging);
+            }
+        }
+        glBindTexture(GL_TEXTURE_2D, 0);
+        return new TextureData(textureId, cooked.totalBytes(), maxLod);
+    }
+
+    /**
+     * Top-down RGBA8 decode for the cooker. HDR sources return {@code null} and keep the
+     * tone-mapped upload path.
+     */
+    static KtxDecodeUtil.DecodedRgba decodeForCooking(Path sourcePath) {
+        try {
+            BufferedImage image = ImageIO.read(sourcePath.toFile());
+            if (image != null) {
+                int width = image.getWidth();
+                int height = image.getHeight();
+                byte[] rgba = new byte[width * height * 4];
+                int i = 0;
+                for (int y = 0; y < height; y++) {
+                    for (int x = 0; x < width; x++) {
+                        int argb = image.getRGB(x, y);
+                        rgba[i++] = (byte) ((argb >> 16) & 0xFF);
+                        rgba[i++] = (byte) ((argb >> 8) & 0xFF);
+                        rgba[i++] = (byte) (argb & 0xFF);
+                        rgba[i++] = (byte) ((argb >> 24) & 0xFF);
+                    }
+                }
+                return new KtxDecodeUtil.DecodedRgba(width, height, rgba);
+            }
+        } catch (IOException ignored) {
+            // Fall through to stb path.
+        }
+        String path = sourcePath.toAbsolutePath().toString();
+        try (var stack = MemoryStack.stackPush()) {
+            var x = stack.mallocInt(1);
+            var y = stack.mallocInt(1);
+            var channels = stack.mallocInt(1);
+            if (!stbi_info(path, x, y, channels) || stbi_is_hdr(path)) {
+                return null;
+            }
+            ByteBuffer ldr = stbi_load(path, x, y, channels, 4);
+            if (ldr == null) {
+                return null;
+            }
+            try {
+                byte[] rgba = new byte[ldr.remaining()];
+                ldr.get(rgba);
+                return new KtxDecodeUtil.DecodedRgba(x.get(0), y.get(0), rgba);
+            } finally {
+                stbi_image_free(ldr);
+            }
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+
     int toLdrByte(float hdrValue) {
         float toneMapped = hdrValue / (1.0f + Math.max(0f, hdrValue));
         float gammaCorrected = (float) Math.pow(Math.max(0f, toneMapped), 1.0 / 2.2);
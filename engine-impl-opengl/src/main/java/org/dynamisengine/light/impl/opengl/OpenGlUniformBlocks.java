@@ -0,0 +1,204 @@
+package org.dynamisengine.light.impl.opengl;
+
+import java.nio.IntBuffer;
+
+import static org.lwjgl.opengl.GL11.glGetInteger;
+import static org.lwjgl.opengl.GL15.GL_DYNAMIC_DRAW;
+import static org.lwjgl.opengl.GL15.glBindBuffer;
+import static org.lwjgl.opengl.GL15.glBufferData;
+import static org.lwjgl.opengl.GL15.glBufferSubData;
+import static org.lwjgl.opengl.GL15.glDeleteBuffers;
+import static org.lwjgl.opengl.GL15.glGenBuffers;
+import static org.lwjgl.opengl.GL30.glBindBufferBase;
+import static org.lwjgl.opengl.GL30.glBindBufferRange;
+import static org.lwjgl.opengl.GL31.GL_INVALID_INDEX;
+import static org.lwjgl.opengl.GL31.GL_UNIFORM_BUFFER;
+import static org.lwjgl.opengl.GL31.GL_UNIFORM_BUFFER_OFFSET_ALIGNMENT;
+import static org.lwjgl.opengl.GL31.glGetUniformBlockIndex;
+import static org.lwjgl.opengl.GL31.glUniformBlockBinding;
+import static org.lwjgl.system.MemoryUtil.memAllocInt;
+import static org.lwjgl.system.MemoryUtil.memFree;
+import static org.lwjgl.system.MemoryUtil.memRealloc;
+
+/**
+ * Uniform buffers behind the {@code FrameData} and {@code ObjectData} blocks of the geometry program.
+ *
+ * <p>{@code FrameData} holds everything that is constant for a geometry pass. {@code ObjectData} has one
+ * slot per scene mesh, indexed by the mesh's position in the scene list and selected per draw with
+ * {@code glBindBufferRange}. Both are staged on the CPU and only the changed word span is uploaded, so a
+ * static scene sends no uniform data after its first frame. The word offsets below follow the std140
+ * declarations in {@link GlShaderSources} and must be kept in step with them.</p>
+ */
+final class OpenGlUniformBlocks {
+    static final int FRAME_BINDING = 0;
+    static final int OBJECT_BINDING = 1;
+
+    // FrameData word offsets.
+    static final int F_VIEW = 0;
+    static final int F_PROJ = 16;
+    static final int F_CURRENT_VIEW_PROJ = 32;
+    static final int F_PREV_VIEW_PROJ = 48;
+    static final int F_LIGHT_VIEW_PROJ = 64;
+    static final int F_LOCAL_SHADOW_MATRIX = 80;
+    static final int F_LOCAL_LIGHT_POS_RANGE = 144;
+    static final int F_LOCAL_LIGHT_COLOR_INTENSITY = 176;
+    static final int F_LOCAL_LIGHT_DIR_INNER = 208;
+    static final int F_LOCAL_LIGHT_OUTER_TYPE_SHADOW = 240;
+    static final int F_LOCAL_SHADOW_ATLAS_RECT = 272;
+    static final int F_LOCAL_SHADOW_META = 288;
+    static final int F_IBL_PARAMS = 304;
+    static final int F_CLUSTER_DEPTH = 308;
+    static final int F_CLUSTER_GRID = 312;
+    static final int F_DIR_LIGHT_DIR = 316; // w: uDirLightIntensity
+    static final int F_DIR_LIGHT_COLOR = 320; // w: uShadowStrength
+    static final int F_POINT_LIGHT_POS = 324; // w: uPointShadowFarPlane
+    static final int F_POINT_LIGHT_DIR = 328; // w: uShadowBias
+    static final int F_AMBIENT_COLOR = 332; // w: uAmbientIntensity
+    static final int F_FOG_COLOR = 336; // w: uFogDensity
+    static final int F_SMOKE_COLOR = 340; // w: uSmokeIntensity
+    static final int F_VIEWPORT_SIZE = 344; // then uShadowNormalBiasScale, uShadowSlopeBiasScale
+    static final int F_INTS_0 = 348; // uLocalLightCount, uPointShadowEnabled, uPointShadowLightIndex, uShadowEnabled
+    static final int F_INTS_1 = 352; // uShadowPcfRadius, uShadowCascadeCount, uLocalShadowCount, uFogEnabled
+    static final int F_INTS_2 = 356; // uFogSteps, uSmokeEnabled, uTonemapEnabled, uBloomEnabled
+    static final int F_INTS_3 = 360; // uSsaoEnabled, uSmaaEnabled, uTaaEnabled, uIblRadianceMaxLod
+    static final int F_POST_0 = 364; // uTonemapExposure, uTonemapGamma, uBloomThreshold, uBloomStrength
+    static final int F_POST_1 = 368; // uSsaoStrength, uSsaoRadius, uSsaoBias, uSsaoPower
+    static final int F_POST_2 = 372; // uSmaaStrength, uTaaBlend
+    static final int FRAME_WORDS = 376;
+
+    // ObjectData word offsets.
+    static final int O_MODEL = 0;
+    static final int O_PREV_MODEL = 16;
+    static final int O_MATERIAL_REACTIVE = 32;
+    static final int O_MATERIAL_REACTIVE_TUNING = 36;
+    static final int O_MATERIAL_ALBEDO = 40; // w: uMaterialMetallic
+    static final int O_INTS_0 = 44; // uMaterialRoughness, uAlphaCutoff, uVertexFormat, uUseAlbedoTexture
+    static final int O_INTS_1 = 48; // uUseNormalTexture, uUseMetallicRoughnessTexture, uUseOcclusionTexture
+    static final int OBJECT_WORDS = 52;
+
+    private final GlUniformBlockStaging frame = new GlUniformBlockStaging(FRAME_WORDS);
+    private final GlUniformBlockStaging objects = new GlUniformBlockStaging(OBJECT_WORDS);
+    private int frameBufferId;
+    private int objectBufferId;
+    private int objectBufferWords;
+    private int objectStrideWords = OBJECT_WORDS;
+    private IntBuffer upload;
+    private long uniformCalls;
+    private long uniformBytes;
+
+    void initialize(int programId) {
+        int alignment = Math.max(4, glGetInteger(GL_UNIFORM_BUFFER_OFFSET_ALIGNMENT));
+        int strideBytes = ((OBJECT_WORDS * Integer.BYTES + alignment - 1) / alignment) * alignment;
+        objectStrideWords = strideBytes / Integer.BYTES;
+        upload = memAllocInt(FRAME_WORDS);
+        frameBufferId = glGenBuffers();
+        glBindBuffer(GL_UNIFORM_BUFFER, frameBufferId);
+        glBufferData(GL_UNIFORM_BUFFER, (long) FRAME_WORDS * Integer.BYTES, GL_DYNAMIC_DRAW);
+        objectBufferId = glGenBuffers();
+        resizeObjectBuffer(objectStrideWords * 64);
+        glBindBuffer(GL_UNIFORM_BUFFER, 0);
+        bindBlock(programId, "FrameData", FRAME_BINDING);
+        bindBlock(programId, "ObjectData", OBJECT_BINDING);
+    }
+
+    GlUniformBlockStaging frame() {
+        return frame;
+    }
+
+    GlUniformBlockStaging objects() {
+        return objects;
+    }
+
+    /** Word offset of the slot for scene mesh {@code meshIndex}; grows the staging copy as needed. */
+    int objectSlot(int meshIndex) {
+        int offset = meshIndex * objectStrideWords;
+        objects.ensureWords(offset + objectStrideWords);
+        return offset;
+    }
+
+    /** Starts a geometry pass: zeroes the per-frame counters. */
+    void beginPass() {
+        uniformCalls = 0;
+        uniformBytes = 0;
+    }
+
+    /** Uploads the changed span of {@code FrameData} and binds it. */
+    void flushFrame() {
+        if (frame.commit(0, FRAME_WORDS)) {
+            uploadSpan(frameBufferId, frame);
+        }
+        glBindBufferBase(GL_UNIFORM_BUFFER, FRAME_BINDING, frameBufferId);
+    }
+
+    /** Uploads the changed span of the first {@code meshCount} object slots. */
+    void flushObjects(int meshCount) {
+        int words = meshCount * objectStrideWords;
+        objects.ensureWords(words);
+        if (words > objectBufferWords) {
+            resizeObjectBuffer(Math.max(words, objectBufferWords * 2));
+            objects.invalidate();
+        }
+        if (words > 0 && objects.commit(0, words)) {
+            uploadSpan(objectBufferId, objects);
+        }
+        glBindBuffer(GL_UNIFORM_BUFFER, 0);
+    }
+
+    void bindObject(int meshIndex) {
+        glBindBufferRange(GL_UNIFORM_BUFFER, OBJECT_BINDING, objectBufferId,
+                (long) meshIndex * objectStrideWords * Integer.BYTES, (long) OBJECT_WORDS * Integer.BYTES);
+    }
+
+    long uniformCalls() {
+        return uniformCalls;
+    }
+
+    long uniformBytes() {
+        return uniformBytes;
+    }
+
+    void shutdown() {
+        if (frameBufferId != 0) {
+            glDeleteBuffers(frameBufferId);
+            frameBufferId = 0;
+        }
+        if (objectBufferId != 0) {
+            glDeleteBuffers(objectBufferId);
+            objectBufferId = 0;
+        }
+        if (upload != null) {
+            memFree(upload);
+            upload = null;
+        }
+        objectBufferWords = 0;
+        frame.invalidate();
+        objects.invalidate();
+    }
+
+    private void uploadSpan(int bufferId, GlUniformBlockStaging staging) {
+        int start = staging.dirtyStart();
+        int count = staging.dirtyEnd() - start;
+        if (upload.capacity() < count) {
+            upload = memRealloc(upload, count);
+        }
+        upload.clear();
+        upload.put(staging.words(), start, count).flip();
+        glBindBuffer(GL_UNIFORM_BUFFER, bufferId);
+        glBufferSubData(GL_UNIFORM_BUFFER, (long) start * Integer.BYTES, upload);
+        uniformCalls++;
+        uniformBytes += (long) count * Integer.BYTES;
+    }
+
+    private void resizeObjectBuffer(int words) {
+        objectBufferWords = words;
+        glBindBuffer(GL_UNIFORM_BUFFER, objectBufferId);
+        glBufferData(GL_UNIFORM_BUFFER, (long) words * Integer.BYTES, GL_DYNAMIC_DRAW);
+    }
+
+    private static void bindBlock(int programId, String name, int binding) {
+        int index = glGetUniformBlockIndex(programId, name);
+        if (index != GL_INVALID_INDEX) {
+            glUniformBlockBinding(programId, index, binding);
+        }
+    }
+}
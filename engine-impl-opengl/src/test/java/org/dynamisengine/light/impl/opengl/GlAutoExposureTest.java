@@ -0,0 +1,94 @@
+package org.dynamisengine.light.impl.opengl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class GlAutoExposureTest {
+
+    @Test
+    void histogramClampsOutOfRangeSamplesAndSkipsNonFinite() {
+        GlAutoExposure exposure = new GlAutoExposure(-8f, 8f, 16, 0f, 1f, 0.18f, 1f, 1f, 0.01f, 100f);
+
+        exposure.buildHistogram(new float[]{-20f, -8f, 0.5f, 7.99f, 30f, Float.NaN, Float.NEGATIVE_INFINITY}, 7);
+
+        assertEquals(5, exposure.sampleCount());
+        assertEquals(2, exposure.binValue(0));
+        assertEquals(1, exposure.binValue(8));
+        assertEquals(2, exposure.binValue(15));
+    }
+
+    @Test
+    void percentilesTrimTheDarkestAndBrightestSamples() {
+        GlAutoExposure exposure = new GlAutoExposure(-8f, 8f, 16, 0.1f, 0.9f, 0.18f, 1f, 1f, 0.01f, 100f);
+        float[] samples = new float[100];
+        java.util.Arrays.fill(samples, 0, 10, -8f);
+        java.util.Arrays.fill(samples, 10, 90, 2.5f);
+        java.util.Arrays.fill(samples, 90, 100, 8f);
+
+        exposure.buildHistogram(samples, samples.length);
+
+        assertEquals(2.5f, exposure.averageLog2Luminance(), 1e-5f);
+    }
+
+    @Test
+    void targetExposureMapsAverageLuminanceToKeyValue() {
+        GlAutoExposure exposure = new GlAutoExposure(-8.5f, 7.5f, 16, 0f, 1f, 0.25f, 1f, 1f, 0.01f, 100f);
+        float[] samples = new float[32];
+        java.util.Arrays.fill(samples, 1.0f);
+
+        exposure.buildHistogram(samples, samples.length);
+
+        assertEquals(0.125f, exposure.targetExposure(), 1e-6f);
+    }
+
+    @Test
+    void firstHistogramSnapsAndLaterOnesAdaptAtTheDirectionalRate() {
+        GlAutoExposure exposure = new GlAutoExposure(-8.5f, 7.5f, 16, 0f, 1f, 1f, 1f, 4f, 0.01f, 100f);
+        float[] samples = new float[16];
+
+        java.util.Arrays.fill(samples, 0f);
+        exposure.buildHistogram(samples, samples.length);
+        assertEquals(1f, exposure.adapt(0.016f), 1e-6f);
+
+        java.util.Arrays.fill(samples, -4f);
+        exposure.buildHistogram(samples, samples.length);
+        float raised = exposure.adapt(0.5f);
+        double expectedRaise = Math.pow(2.0, 4.0 * (1.0 - Math.exp(-0.5)));
+        assertEquals(expectedRaise, raised, 1e-4);
+
+        java.util.Arrays.fill(samples, 0f);
+        exposure.buildHistogram(samples, samples.length);
+        float lowered = exposure.adapt(0.5f);
+        double startLog2 = Math.log(raised) / Math.log(2.0);
+        double expectedLower = Math.pow(2.0, startLog2 * Math.exp(-2.0));
+        assertEquals(expectedLower, lowered, 1e-4);
+        assertTrue(lowered < raised);
+    }
+
+    @Test
+    void exposureIsClampedAndEmptyHistogramsKeepTheCurrentValue() {
+        GlAutoExposure exposure = new GlAutoExposure(-10f, 6f, 32, 0f, 1f, 0.18f, 1f, 1f, 0.5f, 2f);
+
+        exposure.buildHistogram(new float[]{-10f, -10f}, 2);
+        assertEquals(2f, exposure.adapt(0.016f), 1e-6f);
+
+        exposure.buildHistogram(new float[]{Float.NaN}, 1);
+        assertTrue(Float.isNaN(exposure.averageLog2Luminance()));
+        assertEquals(2f, exposure.adapt(10f), 1e-6f);
+
+        exposure.reset();
+        assertEquals(1f, exposure.exposure(), 1e-6f);
+        assertEquals(0, exposure.sampleCount());
+    }
+
+    @Test
+    void invalidConfigurationIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new GlAutoExposure(4f, 4f, 16, 0f, 1f, 0.18f, 1f, 1f, 0.1f, 10f));
+        assertThrows(IllegalArgumentException.class,
+                () -> new GlAutoExposure(-4f, 4f, 16, 0.9f, 0.5f, 0.18f, 1f, 1f, 0.1f, 10f));
+    }
+}
@@ -0,0 +1,126 @@
+package org.dynamisengine.light.impl.opengl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class GlProgramBinaryDiskCacheTest {
+    private static final String VS = "#version 330 core\nvoid main() { gl_Position = vec4(0.0); }\n";
+    private static final String FS = "#version 330 core\nout vec4 c;\nvoid main() { c = vec4(1.0); }\n";
+
+    @Test
+    void storedBinarySurvivesNewCacheInstances() throws Exception {
+        Path dir = Files.createTempDirectory("dle-gl-program-cache");
+        GlProgramSource source = GlProgramSource.of("Test", VS, FS);
+        GlProgramBinaryDiskCache cold = new GlProgramBinaryDiskCache(dir, "Vendor", "Renderer", "3.3 1.0");
+        String key = cold.keyOf(source);
+        assertNull(cold.load(key));
+        cold.store(key, new GlProgramBinaryCache.Binary(0x8E21, new byte[]{1, 2, 3, 4, 5}));
+
+        GlProgramBinaryDiskCache warm = new GlProgramBinaryDiskCache(dir, "Vendor", "Renderer", "3.3 1.0");
+        GlProgramBinaryCache.Binary loaded = warm.load(warm.keyOf(source));
+
+        assertNotNull(loaded);
+        assertEquals(0x8E21, loaded.format());
+        assertArrayEquals(new byte[]{1, 2, 3, 4, 5}, loaded.data());
+        assertEquals(1L, warm.stats().hits());
+        assertEquals(1L, cold.stats().misses());
+    }
+
+    @Test
+    void keyChangesWithSourceStagesDefinesAndDriver() {
+        Path dir = Path.of("unused");
+        GlProgramBinaryDiskCache cache = new GlProgramBinaryDiskCache(dir, "Vendor", "Renderer", "3.3 1.0");
+        GlProgramSource base = GlProgramSource.of("Test", VS, FS);
+        String key = cache.keyOf(base);
+
+        assertEquals(key, cache.keyOf(GlProgramSource.of("Renamed", VS, FS)));
+        assertNotEquals(key, cache.keyOf(GlProgramSource.of("Test", VS, FS + " ")));
+        assertNotEquals(key, cache.keyOf(new GlProgramSource("Test", VS, FS, Map.of("USE_FOG", "1"))));
+        assertNotEquals(key, cache.keyOf(GlProgramSource.withGeometry("Test", VS, "#version 330 core\n", FS)));
+        assertNotEquals(key, new GlProgramBinaryDiskCache(dir, "Other", "Renderer", "3.3 1.0").keyOf(base));
+        assertNotEquals(key, new GlProgramBinaryDiskCache(dir, "Vendor", "Other", "3.3 1.0").keyOf(base));
+        assertNotEquals(key, new GlProgramBinaryDiskCache(dir, "Vendor", "Renderer", "3.3 1.1").keyOf(base));
+
+        Map<String, String> ab = new LinkedHashMap<>();
+        ab.put("A", "1");
+        ab.put("B", "2");
+        Map<String, String> ba = new LinkedHashMap<>();
+        ba.put("B", "2");
+        ba.put("A", "1");
+        assertEquals(cache.keyOf(new GlProgramSource("Test", VS, FS, ab)),
+                cache.keyOf(new GlProgramSource("Test", VS, FS, ba)));
+    }
+
+    @Test
+    void corruptOrMismatchedFilesAreRejectedAndDeleted() throws Exception {
+        Path dir = Files.createTempDirectory("dle-gl-program-cache");
+        GlProgramBinaryDiskCache cache = new GlProgramBinaryDiskCache(dir, "Vendor", "Renderer", "3.3 1.0");
+        String key = cache.keyOf(GlProgramSource.of("Test", VS, FS));
+        String otherKey = cache.keyOf(GlProgramSource.of("Test", VS, FS + "\n"));
+        cache.store(key, new GlProgramBinaryCache.Binary(7, new byte[]{9, 8, 7, 6}));
+        Path file = dir.resolve(key + GlProgramBinaryDiskCache.FILE_SUFFIX);
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 0x55;
+        Files.write(file, bytes);
+        assertNull(cache.load(key));
+        assertFalse(Files.exists(file));
+
+        Files.write(dir.resolve(otherKey + GlProgramBinaryDiskCache.FILE_SUFFIX),
+                GlProgramBinaryDiskCache.encode(key, new GlProgramBinaryCache.Binary(7, new byte[]{1})));
+        assertNull(cache.load(otherKey));
+        assertEquals(2L, cache.stats().invalidations());
+    }
+
+    @Test
+    void invalidateDropsARejectedBinary() throws Exception {
+        Path dir = Files.createTempDirectory("dle-gl-program-cache");
+        GlProgramBinaryDiskCache cache = new GlProgramBinaryDiskCache(dir, "Vendor", "Renderer", "3.3 1.0");
+        String key = cache.keyOf(GlProgramSource.of("Test", VS, FS));
+        cache.store(key, new GlProgramBinaryCache.Binary(7, new byte[]{1, 2}));
+        assertNotNull(cache.load(key));
+
+        cache.invalidate(key);
+
+        assertNull(cache.load(key));
+        assertEquals(1L, cache.stats().stores());
+        assertEquals(1L, cache.stats().invalidations());
+    }
+
+    @Test
+    void failedStoreLeavesNoTempFileBehind() throws Exception {
+        Path dir = Files.createTempDirectory("dle-gl-program-cache");
+        GlProgramBinaryDiskCache cache = new GlProgramBinaryDiskCache(dir, "Vendor", "Renderer", "3.3 1.0");
+        String key = cache.keyOf(GlProgramSource.of("Test", VS, FS));
+        Files.createDirectories(dir.resolve(key + GlProgramBinaryDiskCache.FILE_SUFFIX).resolve("occupied"));
+
+        cache.store(key, new GlProgramBinaryCache.Binary(7, new byte[]{1, 2}));
+
+        try (Stream<Path> files = Files.list(dir)) {
+            assertTrue(files.noneMatch(file -> file.getFileName().toString().endsWith(".tmp")));
+        }
+        assertEquals(0L, cache.stats().stores());
+    }
+
+    @Test
+    void definesAreInjectedAfterTheVersionDirective() {
+        GlProgramSource source = new GlProgramSource("Test", VS, FS, Map.of("MAX_LIGHTS", "8", "USE_FOG", ""));
+
+        String vertex = source.vertexText();
+
+        assertTrue(vertex.startsWith("#version 330 core\n#define MAX_LIGHTS 8\n#define USE_FOG\nvoid main()"));
+        assertEquals(VS, GlProgramSource.of("Test", VS, FS).vertexText());
+    }
+}
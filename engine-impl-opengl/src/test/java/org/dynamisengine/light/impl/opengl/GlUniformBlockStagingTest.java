@@ -0,0 +1,69 @@
+package org.dynamisengine.light.impl.opengl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class GlUniformBlockStagingTest {
+    @Test
+    void firstCommitUploadsEverythingAndUnchangedWritesUploadNothing() {
+        GlUniformBlockStaging staging = new GlUniformBlockStaging(16);
+        staging.putFloats(0, new float[]{1f, 2f, 3f}, 16);
+
+        assertTrue(staging.commit(0, 16));
+        assertEquals(0, staging.dirtyStart());
+        assertEquals(16, staging.dirtyEnd());
+
+        staging.putFloats(0, new float[]{1f, 2f, 3f}, 16);
+        assertFalse(staging.commit(0, 16));
+    }
+
+    @Test
+    void commitReportsTheSmallestChangedSpan() {
+        GlUniformBlockStaging staging = new GlUniformBlockStaging(32);
+        staging.commit(0, 32);
+
+        staging.putFloat(5, 0.5f);
+        staging.putInt(20, 7);
+
+        assertTrue(staging.commit(0, 32));
+        assertEquals(5, staging.dirtyStart());
+        assertEquals(21, staging.dirtyEnd());
+        assertFalse(staging.commit(0, 32));
+    }
+
+    @Test
+    void signedZeroAndIntBitsCompareExactly() {
+        GlUniformBlockStaging staging = new GlUniformBlockStaging(4);
+        staging.putFloat(0, 0f);
+        staging.putInt(1, -1);
+        staging.commit(0, 4);
+
+        staging.putFloat(0, -0f);
+        assertTrue(staging.commit(0, 4));
+        assertEquals(0, staging.dirtyStart());
+        assertEquals(1, staging.dirtyEnd());
+
+        staging.putInt(1, -1);
+        assertFalse(staging.commit(0, 4));
+    }
+
+    @Test
+    void grownAndInvalidatedWordsCountAsChanged() {
+        GlUniformBlockStaging staging = new GlUniformBlockStaging(8);
+        staging.commit(0, 8);
+
+        staging.ensureWords(20);
+        assertTrue(staging.wordCount() >= 20);
+        assertTrue(staging.commit(0, 20));
+        assertEquals(8, staging.dirtyStart());
+        assertEquals(20, staging.dirtyEnd());
+
+        staging.invalidate();
+        assertTrue(staging.commit(0, 20));
+        assertEquals(0, staging.dirtyStart());
+        assertEquals(20, staging.dirtyEnd());
+    }
+}
@@ -138,4 +138,53 @@ class OpenGlMeshAssetLoaderTest {
         assertEquals(1, geometries.size());
         assertEquals(3, geometries.getFirst().vertexCount());
     }
+
+    @Test
+    void indexedGltfScenePrimitiveKeepsSharedVertices() throws Exception {
+        Path root = Files.createTempDirectory("dle-opengl-gltf-indexed");
+        Files.createDirectories(root.resolve("meshes"));
+        byte[] bytes = new byte[24 * Float.BYTES + 6 * Short.BYTES];
+        ByteBuffer bb = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        bb.putFloat(-0.5f).putFloat(-0.5f).putFloat(0.0f);
+        bb.putFloat(0.5f).putFloat(-0.5f).putFloat(0.0f);
+        bb.putFloat(-0.5f).putFloat(0.5f).putFloat(0.0f);
+        bb.putFloat(0.5f).putFloat(0.5f).putFloat(0.0f);
+        for (int i = 0; i < 4; i++) {
+            bb.putFloat(0.0f).putFloat(0.0f).putFloat(1.0f);
+        }
+        for (short index : new short[]{0, 1, 2, 2, 1, 3}) {
+            bb.putShort(index);
+        }
+        String encoded = Base64.getEncoder().encodeToString(bytes);
+        String gltf = """
+                {
+                  "asset": { "version": "2.0" },
+                  "buffers": [{ "uri": "data:application/octet-stream;base64,%s", "byteLength": %d }],
+                  "bufferViews": [
+                    { "buffer": 0, "byteOffset": 0, "byteLength": 48 },
+                    { "buffer": 0, "byteOffset": 48, "byteLength": 48 },
+                    { "buffer": 0, "byteOffset": 96, "byteLength": 12 }
+                  ],
+                  "accessors": [
+                    { "bufferView": 0, "componentType": 5126, "count": 4, "type": "VEC3" },
+                    { "bufferView": 1, "componentType": 5126, "count": 4, "type": "VEC3" },
+                    { "bufferView": 2, "componentType": 5123, "count": 6, "type": "SCALAR" }
+                  ],
+                  "meshes": [{ "primitives": [{ "attributes": { "POSITION": 0, "NORMAL": 1 }, "indices": 2, "mode": 4 }] }]
+                }
+                """.formatted(encoded, bytes.length);
+        Files.writeString(root.resolve("meshes/quad.gltf"), gltf);
+
+        var loader = new OpenGlMeshAssetLoader(root);
+
+        OpenGlMeshAssetLoader.LoadedGltfScene scene = loader.loadGltfScene(Path.of("meshes/quad.gltf"));
+
+        assertEquals(1, scene.primitives().size());
+        OpenGlContext.MeshGeometry geometry = scene.primitives().getFirst().geometry();
+        assertEquals(4, geometry.vertexCount());
+        assertEquals(6, geometry.indexCount());
+        assertEquals(2, geometry.triangleCount());
+        assertEquals(4, geometry.vertexCacheStats().transforms());
+        assertEquals(2.0, geometry.vertexCacheStats().acmr(), 1e-9);
+    }
 }
@@ -0,0 +1,232 @@
+package org.dynamisengine.light.impl.opengl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.dynamisengine.light.api.config.EngineConfig;
+import org.dynamisengine.light.api.config.QualityTier;
+import org.dynamisengine.light.api.error.EngineErrorCode;
+import org.dynamisengine.light.api.error.EngineErrorReport;
+import org.dynamisengine.light.api.error.EngineException;
+import org.dynamisengine.light.api.event.EngineEvent;
+import org.dynamisengine.light.api.logging.LogMessage;
+import org.dynamisengine.light.api.mesh.DmeshV1;
+import org.dynamisengine.light.api.mesh.MeshFormats;
+import org.dynamisengine.light.api.mesh.MeshUploadRequest;
+import org.dynamisengine.light.api.mesh.MeshUploadResult;
+import org.dynamisengine.light.api.runtime.EngineHostCallbacks;
+import org.dynamisengine.light.api.scene.CameraDesc;
+import org.dynamisengine.light.api.scene.EnvironmentDesc;
+import org.dynamisengine.light.api.scene.FogDesc;
+import org.dynamisengine.light.api.scene.FogMode;
+import org.dynamisengine.light.api.scene.LightDesc;
+import org.dynamisengine.light.api.scene.LightType;
+import org.dynamisengine.light.api.scene.MaterialDesc;
+import org.dynamisengine.light.api.scene.MeshDesc;
+import org.dynamisengine.light.api.scene.SceneDescriptor;
+import org.dynamisengine.light.api.scene.TransformDesc;
+import org.dynamisengine.light.api.scene.Vec3;
+import org.dynamisengine.light.impl.common.mesh.RegisteredMeshPayload;
+import org.junit.jupiter.api.Test;
+
+class OpenGlMeshRegistrationTest {
+    private static final int MESH_COUNT = 64;
+
+    @Test
+    void batchedRegistrationDedupesAndReleasesEveryLease() throws Exception {
+        OpenGlEngineRuntime runtime = new OpenGlEngineRuntime();
+        AtomicInteger released = new AtomicInteger();
+        try (Arena arena = Arena.ofConfined()) {
+            runtime.initialize(validConfig(), new NoopCallbacks());
+            List<MeshUploadRequest> requests = new ArrayList<>(MESH_COUNT);
+            for (int i = 0; i < MESH_COUNT; i++) {
+                // Every fourth mesh repeats the content of its predecessor and must reuse its handle.
+                int content = i % 4 == 3 ? i - 1 : i;
+                requests.add(MeshUploadRequest.lease(
+                        "mesh-" + i, MeshFormats.DMESH_V1, leasedTriangle(arena, content), 1000L + content, false,
+                        released::incrementAndGet));
+            }
+
+            List<MeshUploadResult> results = runtime.registerMeshes(requests);
+
+            assertEquals(MESH_COUNT, results.size());
+            assertEquals(MESH_COUNT, released.get());
+            assertTrue(requests.stream().allMatch(MeshUploadRequest::released));
+            Set<Integer> handles = new HashSet<>();
+            for (int i = 0; i < MESH_COUNT; i++) {
+                MeshUploadResult result = results.get(i);
+                assertEquals("mesh-" + i, result.meshId());
+                assertEquals(i % 4 == 3, result.reused());
+                if (result.reused()) {
+                    assertEquals(results.get(i - 1).meshHandle(), result.meshHandle());
+                }
+                handles.add(result.meshHandle());
+            }
+            assertEquals(MESH_COUNT - MESH_COUNT / 4, handles.size());
+        } finally {
+            runtime.shutdown();
+        }
+    }
+
+    @Test
+    void batchRegisteredMeshIsDrawnUntilItIsRemoved() throws Exception {
+        OpenGlEngineRuntime runtime = new OpenGlEngineRuntime();
+        try (Arena arena = Arena.ofConfined()) {
+            runtime.initialize(validConfig(), new NoopCallbacks());
+            List<MeshUploadResult> registered = runtime.registerMeshes(List.of(
+                    MeshUploadRequest.lease("crate", MeshFormats.DMESH_V1, leasedTriangle(arena, 0), 7L, false, () -> {
+                    }),
+                    MeshUploadRequest.lease("barrel", MeshFormats.DMESH_V1, leasedTriangle(arena, 1), 8L, false, () -> {
+                    })
+            ));
+            assertFalse(registered.get(1).reused());
+
+            runtime.loadScene(scene(MeshFormats.registeredMeshPath("barrel")));
+            assertNotNull(runtime.render());
+
+            runtime.removeMesh(registered.get(1).meshHandle());
+            assertNotNull(runtime.render());
+
+            EngineException unknown = assertThrows(EngineException.class,
+                    () -> runtime.loadScene(scene(MeshFormats.registeredMeshPath("barrel"))));
+            assertEquals(EngineErrorCode.INVALID_ARGUMENT, unknown.code());
+        } finally {
+            runtime.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsMalformedPayloadInABatchAndStillReleasesEveryLease() throws Exception {
+        OpenGlEngineRuntime runtime = new OpenGlEngineRuntime();
+        AtomicInteger released = new AtomicInteger();
+        try (Arena arena = Arena.ofConfined()) {
+            runtime.initialize(validConfig(), new NoopCallbacks());
+            MemorySegment truncated = leasedTriangle(arena, 0).asSlice(0, DmeshV1.HEADER_BYTES + 8);
+            List<MeshUploadRequest> batch = List.of(
+                    MeshUploadRequest.lease("good", MeshFormats.DMESH_V1, leasedTriangle(arena, 1), 1L, false,
+                            released::incrementAndGet),
+                    MeshUploadRequest.lease("broken", MeshFormats.DMESH_V1, truncated, 2L, false, released::incrementAndGet)
+            );
+
+            EngineException failure = assertThrows(EngineException.class, () -> runtime.registerMeshes(batch));
+
+            assertEquals(EngineErrorCode.INVALID_ARGUMENT, failure.code());
+            assertEquals(2, released.get());
+        } finally {
+            runtime.shutdown();
+        }
+    }
+
+    @Test
+    void stagingCopyNarrowsVerticesToTheGeometryLayout() throws Exception {
+        float[] vertices = triangleVertices(3);
+        RegisteredMeshPayload payload = RegisteredMeshPayload.parse(new MeshUploadRequest(
+                "staged", MeshFormats.DMESH_V1, DmeshV1.encode(vertices, new int[]{0, 1, 2}), 3L));
+        int outFloats = OpenGlContext.VertexFormat.POS_NORMAL_UV_8F.stride;
+        float[] staged = new float[3 * outFloats];
+
+        long written = OpenGlRegisteredMeshes.copyVertices(payload, MemorySegment.ofArray(staged));
+
+        assertEquals(3L * outFloats * Float.BYTES, written);
+        for (int v = 0; v < 3; v++) {
+            // Position, normal and uv survive; the tangent is dropped.
+            assertArrayEquals(
+                    Arrays.copyOfRange(vertices, v * DmeshV1.VERTEX_FLOATS, v * DmeshV1.VERTEX_FLOATS + outFloats),
+                    Arrays.copyOfRange(staged, v * outFloats, (v + 1) * outFloats));
+        }
+    }
+
+    private static MemorySegment leasedTriangle(Arena arena, int content) {
+        int[] indices = {0, 1, 2};
+        MemorySegment payload = arena.allocate(DmeshV1.byteSize(3, indices.length));
+        DmeshV1.write(payload, triangleVertices(content), indices);
+        return payload;
+    }
+
+    private static float[] triangleVertices(int content) {
+        float offset = content * 0.01f;
+        return new float[]{
+                offset, -0.6f, 0f,        0f, 0f, 1f,    0.5f, 0f,    1f, 0f, 0f,
+                offset + 0.6f, 0.6f, 0f,  0f, 0f, 1f,    1f, 1f,      1f, 0f, 0f,
+                offset - 0.6f, 0.6f, 0f,  0f, 0f, 1f,    0f, 1f,      1f, 0f, 0f
+        };
+    }
+
+    private static EngineConfig validConfig() {
+        return new EngineConfig(
+                "opengl",
+                "opengl-mesh-registration-test",
+                1280,
+                720,
+                1.0f,
+                true,
+                60,
+                QualityTier.MEDIUM,
+                Path.of("."),
+                Map.of("opengl.mockContext", "true")
+        );
+    }
+
+    private static SceneDescriptor scene(String meshAssetPath) {
+        CameraDesc camera = new CameraDesc("cam", new Vec3(0, 0, 5), new Vec3(0, 0, 0), 60f, 0.1f, 100f);
+        TransformDesc transform = new TransformDesc("xform", new Vec3(0, 0, 0), new Vec3(0, 0, 0), new Vec3(1, 1, 1));
+        MeshDesc mesh = new MeshDesc("mesh", "xform", "mat", meshAssetPath);
+        MaterialDesc material = new MaterialDesc("mat", new Vec3(1, 1, 1), 0.0f, 0.5f, null, null);
+        LightDesc sun = new LightDesc(
+                "sun",
+                new Vec3(0, 6, 0),
+                new Vec3(1, 1, 1),
+                3.0f,
+                50f,
+                false,
+                null,
+                LightType.DIRECTIONAL,
+                new Vec3(0, -1, 0),
+                15f,
+                30f
+        );
+        EnvironmentDesc environment = new EnvironmentDesc(new Vec3(0.1f, 0.1f, 0.1f), 0.2f, null);
+        FogDesc fog = new FogDesc(false, FogMode.NONE, new Vec3(0.5f, 0.5f, 0.5f), 0f, 0f, 0f, 0f, 0f, 0f);
+        return new SceneDescriptor(
+                "mesh-registration-scene",
+                List.of(camera),
+                "cam",
+                List.of(transform),
+                List.of(mesh),
+                List.of(material),
+                List.of(sun),
+                environment,
+                fog,
+                List.of(),
+                null
+        );
+    }
+
+    private static final class NoopCallbacks implements EngineHostCallbacks {
+        @Override
+        public void onEvent(EngineEvent event) {
+        }
+
+        @Override
+        public void onLog(LogMessage message) {
+        }
+
+        @Override
+        public void onError(EngineErrorReport error) {
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.dynamisengine.light.impl.opengl;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.dynamisengine.light.impl.common.texture.TextureCooker;
+import org.junit.jupiter.api.Test;
+
+class OpenGlTextureLoaderTest {
+
+    @Test
+    void compressedFormatsAreGatedOnTheirOwnExtension() {
+        OpenGlTextureLoader s3tcOnly = new OpenGlTextureLoader(0f, true, false, false, false);
+
+        assertTrue(s3tcOnly.supportsFormat(TextureCooker.Format.BC1, false));
+        assertTrue(s3tcOnly.supportsFormat(TextureCooker.Format.BC3, false));
+        assertFalse(s3tcOnly.supportsFormat(TextureCooker.Format.BC3, true));
+        assertFalse(s3tcOnly.supportsFormat(TextureCooker.Format.BC5, false));
+        assertFalse(s3tcOnly.supportsFormat(TextureCooker.Format.BC7, false));
+        assertTrue(s3tcOnly.supportsFormat(TextureCooker.Format.RGBA8, true));
+
+        OpenGlTextureLoader bptcOnly = new OpenGlTextureLoader(0f, false, true, false, true);
+
+        assertTrue(bptcOnly.supportsFormat(TextureCooker.Format.BC7, true));
+        assertFalse(bptcOnly.supportsFormat(TextureCooker.Format.BC1, true));
+        assertFalse(bptcOnly.supportsFormat(TextureCooker.Format.BC5, false));
+    }
+}
@@ -0,0 +1,97 @@
+package org.dynamisengine.light.impl.opengl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+class OpenGlUniformBlocksLayoutTest {
+    private static final Pattern MEMBER = Pattern.compile("^\\s*(\\w+)\\s+(\\w+)(?:\\[(\\d+)])?;\\s*$", Pattern.MULTILINE);
+
+    @Test
+    void frameDataOffsetsMatchStd140Layout() {
+        Map<String, Integer> offsets = std140WordOffsets(GlShaderSources.FRAME_DATA_BLOCK);
+
+        assertEquals(OpenGlUniformBlocks.F_VIEW, (int) offsets.get("uView"));
+        assertEquals(OpenGlUniformBlocks.F_PROJ, (int) offsets.get("uProj"));
+        assertEquals(OpenGlUniformBlocks.F_CURRENT_VIEW_PROJ, (int) offsets.get("uCurrentViewProj"));
+        assertEquals(OpenGlUniformBlocks.F_PREV_VIEW_PROJ, (int) offsets.get("uPrevViewProj"));
+        assertEquals(OpenGlUniformBlocks.F_LIGHT_VIEW_PROJ, (int) offsets.get("uLightViewProj"));
+        assertEquals(OpenGlUniformBlocks.F_LOCAL_SHADOW_MATRIX, (int) offsets.get("uLocalShadowMatrix"));
+        assertEquals(OpenGlUniformBlocks.F_LOCAL_LIGHT_POS_RANGE, (int) offsets.get("uLocalLightPosRange"));
+        assertEquals(OpenGlUniformBlocks.F_LOCAL_LIGHT_COLOR_INTENSITY, (int) offsets.get("uLocalLightColorIntensity"));
+        assertEquals(OpenGlUniformBlocks.F_LOCAL_LIGHT_DIR_INNER, (int) offsets.get("uLocalLightDirInner"));
+        assertEquals(OpenGlUniformBlocks.F_LOCAL_LIGHT_OUTER_TYPE_SHADOW, (int) offsets.get("uLocalLightOuterTypeShadow"));
+        assertEquals(OpenGlUniformBlocks.F_LOCAL_SHADOW_ATLAS_RECT, (int) offsets.get("uLocalShadowAtlasRect"));
+        assertEquals(OpenGlUniformBlocks.F_LOCAL_SHADOW_META, (int) offsets.get("uLocalShadowMeta"));
+        assertEquals(OpenGlUniformBlocks.F_IBL_PARAMS, (int) offsets.get("uIblParams"));
+        assertEquals(OpenGlUniformBlocks.F_CLUSTER_DEPTH, (int) offsets.get("uClusterDepth"));
+        assertEquals(OpenGlUniformBlocks.F_CLUSTER_GRID, (int) offsets.get("uClusterGrid"));
+        assertEquals(OpenGlUniformBlocks.F_DIR_LIGHT_DIR, (int) offsets.get("uDirLightDir"));
+        assertEquals(OpenGlUniformBlocks.F_DIR_LIGHT_DIR + 3, (int) offsets.get("uDirLightIntensity"));
+        assertEquals(OpenGlUniformBlocks.F_DIR_LIGHT_COLOR + 3, (int) offsets.get("uShadowStrength"));
+        assertEquals(OpenGlUniformBlocks.F_POINT_LIGHT_POS + 3, (int) offsets.get("uPointShadowFarPlane"));
+        assertEquals(OpenGlUniformBlocks.F_POINT_LIGHT_DIR + 3, (int) offsets.get("uShadowBias"));
+        assertEquals(OpenGlUniformBlocks.F_AMBIENT_COLOR + 3, (int) offsets.get("uAmbientIntensity"));
+        assertEquals(OpenGlUniformBlocks.F_FOG_COLOR + 3, (int) offsets.get("uFogDensity"));
+        assertEquals(OpenGlUniformBlocks.F_SMOKE_COLOR + 3, (int) offsets.get("uSmokeIntensity"));
+        assertEquals(OpenGlUniformBlocks.F_VIEWPORT_SIZE, (int) offsets.get("uViewportSize"));
+        assertEquals(OpenGlUniformBlocks.F_VIEWPORT_SIZE + 3, (int) offsets.get("uShadowSlopeBiasScale"));
+        assertEquals(OpenGlUniformBlocks.F_INTS_0, (int) offsets.get("uLocalLightCount"));
+        assertEquals(OpenGlUniformBlocks.F_INTS_1 + 3, (int) offsets.get("uFogEnabled"));
+        assertEquals(OpenGlUniformBlocks.F_INTS_3 + 3, (int) offsets.get("uIblRadianceMaxLod"));
+        assertEquals(OpenGlUniformBlocks.F_POST_0, (int) offsets.get("uTonemapExposure"));
+        assertEquals(OpenGlUniformBlocks.F_POST_1 + 3, (int) offsets.get("uSsaoPower"));
+        assertEquals(OpenGlUniformBlocks.F_POST_2 + 1, (int) offsets.get("uTaaBlend"));
+        assertEquals(OpenGlUniformBlocks.FRAME_WORDS, (int) offsets.get("$size"));
+    }
+
+    @Test
+    void objectDataOffsetsMatchStd140Layout() {
+        Map<String, Integer> offsets = std140WordOffsets(GlShaderSources.OBJECT_DATA_BLOCK);
+
+        assertEquals(OpenGlUniformBlocks.O_MODEL, (int) offsets.get("uModel"));
+        assertEquals(OpenGlUniformBlocks.O_PREV_MODEL, (int) offsets.get("uPrevModel"));
+        assertEquals(OpenGlUniformBlocks.O_MATERIAL_REACTIVE, (int) offsets.get("uMaterialReactive"));
+        assertEquals(OpenGlUniformBlocks.O_MATERIAL_REACTIVE_TUNING, (int) offsets.get("uMaterialReactiveTuning"));
+        assertEquals(OpenGlUniformBlocks.O_MATERIAL_ALBEDO, (int) offsets.get("uMaterialAlbedo"));
+        assertEquals(OpenGlUniformBlocks.O_MATERIAL_ALBEDO + 3, (int) offsets.get("uMaterialMetallic"));
+        assertEquals(OpenGlUniformBlocks.O_INTS_0, (int) offsets.get("uMaterialRoughness"));
+        assertEquals(OpenGlUniformBlocks.O_INTS_0 + 2, (int) offsets.get("uVertexFormat"));
+        assertEquals(OpenGlUniformBlocks.O_INTS_1 + 2, (int) offsets.get("uUseOcclusionTexture"));
+        assertEquals(OpenGlUniformBlocks.OBJECT_WORDS, (int) offsets.get("$size"));
+    }
+
+    /** std140 offsets, in 4-byte words, for the scalar, vector, mat4 and array members used by the blocks. */
+    private static Map<String, Integer> std140WordOffsets(String block) {
+        Map<String, Integer> offsets = new LinkedHashMap<>();
+        int offset = 0;
+        Matcher m = MEMBER.matcher(block);
+        while (m.find()) {
+            String type = m.group(1);
+            int count = m.group(3) == null ? 1 : Integer.parseInt(m.group(3));
+            int size;
+            int align;
+            switch (type) {
+                case "float", "int" -> { size = 1; align = 1; }
+                case "vec2" -> { size = 2; align = 2; }
+                case "vec3" -> { size = 3; align = 4; }
+                case "vec4", "ivec4" -> { size = 4; align = 4; }
+                case "mat4" -> { size = 16; align = 4; }
+                default -> throw new IllegalArgumentException("unsupported member type " + type);
+            }
+            if (m.group(3) != null) {
+                align = 4;
+                size = ((size + 3) / 4) * 4 * count;
+            }
+            offset = ((offset + align - 1) / align) * align;
+            offsets.put(m.group(2), offset);
+            offset += size;
+        }
+        offsets.put("$size", ((offset + 3) / 4) * 4);
+        return offsets;
+    }
+}
@@ -10,6 +10,7 @@ import org.dynamisengine.light.api.error.EngineErrorCode;
 import org.dynamisengine.light.api.error.EngineException;
 import org.dynamisengine.gpu.api.error.GpuException;
 import org.dynamisengine.light.api.scene.ReflectionProbeDesc;
+import org.dynamisengine.light.impl.common.mesh.RegisteredMeshPayload;
 import org.dynamisengine.light.impl.vulkan.command.VulkanFrameCommandInputAssembler;
 import org.dynamisengine.light.impl.vulkan.command.VulkanFrameCommandOrchestrator;
 import org.dynamisengine.light.impl.vulkan.ui.VulkanDebugOverlayRenderer;
@@ -23,11 +24,14 @@ import org.dynamisengine.light.impl.vulkan.command.VulkanDrawMetaBuffer;
 import org.dynamisengine.light.impl.vulkan.command.VulkanIndirectDrawBuffer;
 import org.dynamisengine.light.impl.vulkan.descriptor.VulkanTextureDescriptorSetCoordinator;
 import org.dynamisengine.light.impl.vulkan.lifecycle.VulkanLifecycleOrchestrator;
+import org.dynamisengine.light.impl.vulkan.lighting.VulkanClusteredLightBuffer;
 import org.dynamisengine.light.impl.vulkan.model.VulkanGpuMesh;
 import org.dynamisengine.light.impl.vulkan.model.VulkanGpuTexture;
+import org.dynamisengine.light.impl.vulkan.model.VulkanRegisteredMesh;
 import org.dynamisengine.light.impl.vulkan.model.VulkanSceneMeshData;
 import org.dynamisengine.light.impl.vulkan.profile.FrameResourceProfile;
 import org.dynamisengine.light.impl.vulkan.profile.PostProcessPipelineProfile;
+import org.dynamisengine.light.impl.vulkan.profile.RenderGraphProfile;
 import org.dynamisengine.light.impl.vulkan.profile.SceneReuseStats;
 import org.dynamisengine.light.impl.vulkan.profile.ShadowCascadeProfile;
 import org.dynamisengine.light.impl.vulkan.profile.VulkanContextDiagnosticsCoordinator;
@@ -37,14 +41,17 @@ import org.dynamisengine.light.impl.vulkan.profile.VulkanPipelineProfileCache;
 import org.dynamisengine.light.impl.vulkan.profile.VulkanPipelineProfileCompilation;
 import org.dynamisengine.light.impl.vulkan.profile.VulkanPipelineProfileKey;
 import org.dynamisengine.light.impl.vulkan.profile.VulkanPipelineProfileResolver;
+import org.dynamisengine.light.impl.vulkan.profile.VulkanProfileFactory;
 import org.dynamisengine.light.impl.vulkan.scene.VulkanSceneRuntimeCoordinator;
 import org.dynamisengine.light.impl.vulkan.scene.VulkanSceneMeshCoordinator;
 import org.dynamisengine.light.impl.vulkan.scene.VulkanSceneMeshLifecycle;
+import org.dynamisengine.light.impl.vulkan.scene.VulkanRegisteredMeshUploader;
 import org.dynamisengine.light.impl.vulkan.scene.VulkanReflectionProbeRuntimeCoordinator;
 import org.dynamisengine.light.impl.vulkan.scene.VulkanReflectionProbeTextureCoordinator;
 import org.dynamisengine.light.impl.vulkan.scene.VulkanSceneSetPlanner;
 import org.dynamisengine.light.impl.vulkan.scene.VulkanSceneTextureRuntimeCoordinator;
 import org.dynamisengine.light.impl.vulkan.scene.VulkanSceneTextureCoordinator;
+import org.dynamisengine.light.impl.vulkan.shader.VulkanSpirvCache;
 import org.dynamisengine.light.impl.vulkan.sky.VulkanSkyRuntimeBridge;
 import org.dynamisengine.light.impl.vulkan.shadow.VulkanShadowMatrixStateCoordinator;
 import org.dynamisengine.light.impl.vulkan.state.VulkanFrameUploadStats;
@@ -95,6 +102,7 @@ public final class VulkanContext {
     private static final int POINT_SHADOW_FACES = 6;
     private static final int MAX_SHADOW_MATRICES = 24;
     public static final int MAX_LOCAL_LIGHTS = 8;
+    public static final int MAX_CLUSTERED_LIGHTS = VulkanClusteredLightBuffer.MAX_LIGHTS;
     private static final int GLOBAL_SCENE_UNIFORM_BYTES = 2736;
     private static final int OBJECT_UNIFORM_BYTES = 176;
     private static final String SHADOW_DEPTH_FORMAT_PROPERTY = "dle.vulkan.shadow.depthFormat";
@@ -133,6 +141,11 @@ public final class VulkanContext {
     private volatile UiRenderCallback uiRenderCallback;
     private final org.dynamisengine.light.impl.vulkan.profile.VulkanGpuTimestamps gpuTimestamps =
         new org.dynamisengine.light.impl.vulkan.profile.VulkanGpuTimestamps();
+    private final VulkanFrameCommandOrchestrator.FrameState frameCommandState = new VulkanFrameCommandOrchestrator.FrameState(
+            Boolean.parseBoolean(System.getProperty("vk.renderGraph.transientPacking.enabled", "true"))
+    );
+    // Reference on the process-wide SPIR-V cache held between initialize and shutdown
+    private boolean spirvCacheAcquired;
 
     /**
      * Callback for rendering UI/overlay content during the Vulkan frame.
@@ -164,6 +177,11 @@ public final class VulkanContext {
     private final float[] localLightColorIntensity = new float[MAX_LOCAL_LIGHTS * 4];
     private final float[] localLightDirInner = new float[MAX_LOCAL_LIGHTS * 4];
     private final float[] localLightOuterTypeShadow = new float[MAX_LOCAL_LIGHTS * 4];
+    private final VulkanClusteredLightBuffer clusteredLightBuffer = new VulkanClusteredLightBuffer();
+    private final float[] clusteredViewMatrix = new float[16];
+    private final float[] clusteredProjMatrix = new float[16];
+    private float[] clusteredLights = new float[0];
+    private int clusteredLightCount;
     private final VulkanIblState iblState = new VulkanIblState();
     private List<ReflectionProbeDesc> reflectionProbes = List.of();
     private Map<String, Integer> reflectionProbeCubemapSlots = Map.of();
@@ -258,6 +276,10 @@ public final class VulkanContext {
     void setPipelineSkyModeOverride(String modeId) { pipelineSkyModeOverride = (modeId == null || modeId.isBlank()) ? null : new RenderFeatureMode(modeId); }
     void setPipelineRtModeOverride(String modeId) { pipelineRtModeOverride = (modeId == null || modeId.isBlank()) ? null : new RenderFeatureMode(modeId); }
     void initialize(String appName, int width, int height, boolean windowVisible) throws EngineException {
+        if (!spirvCacheAcquired) {
+            VulkanSpirvCache.acquireShared();
+            spirvCacheAcquired = true;
+        }
         VulkanLifecycleOrchestrator.initializeRuntime(
                 new VulkanLifecycleOrchestrator.InitializeRequest(
                         appName,
@@ -329,11 +351,6 @@ public final class VulkanContext {
     VulkanFrameMetrics renderFrame() throws EngineException {
         long start = System.nanoTime();
 
-        // GPU timing: read previous frame's results (N+1 readback, no stalls)
-        if (gpuTimestamps.isAvailable() && backendResources.device != null) {
-            gpuTimestamps.readPreviousFrame(backendResources.device, backendResources.currentFrame);
-        }
-
         if (backendResources.device != null && backendResources.swapchain != VK_NULL_HANDLE) {
             boolean profileChanged = refreshActivePipelineProfile();
             if (profileChanged) {
@@ -362,6 +379,7 @@ public final class VulkanContext {
             if (backendResources.bindlessDescriptorHeap != null && backendResources.bindlessDescriptorHeap.active()) {
                 backendResources.bindlessDescriptorHeap.processRetirements(bindlessFrameSerial);
             }
+            VulkanSceneMeshCoordinator.processTextureDescriptorRetirements(descriptorResources, descriptorRingStats, bindlessFrameSerial);
             try (MemoryStack stack = stackPush()) {
                 int frameIdx = backendResources.currentFrame % backendResources.commandBuffers.length;
                 int acquireResult = acquireNextImage(stack, frameIdx);
@@ -434,6 +452,7 @@ public final class VulkanContext {
         long shadowDrawCalls = totalDraws;
         long geometryDrawCalls = totalDraws;
         long postDrawCalls = 1;
+        VulkanCullingComputePass culling = backendResources.cullingComputePass;
         return new VulkanFrameMetrics(
                 cpuMs,
                 cpuMs * 0.7,
@@ -451,7 +470,11 @@ public final class VulkanContext {
                 staticDraws,
                 morphDraws,
                 skinnedDraws,
-                instancedDraws
+                instancedDraws,
+                culling == null ? 0 : culling.lastFrustumCulledDraws(),
+                culling == null ? 0 : culling.lastOcclusionCulledDraws(),
+                culling == null ? 0 : culling.lastVisibleDraws(),
+                gpuTimestamps.passTimings()
         );
     }
 
@@ -580,6 +603,9 @@ public final class VulkanContext {
                         descriptorRingStats.descriptorRingPoolReuseCount,
                         descriptorRingStats.descriptorRingPoolResetFailureCount,
                         descriptorRingStats.descriptorRingCapBypassCount,
+                        descriptorRingStats.descriptorPoolCount,
+                        descriptorRingStats.descriptorSetHighWaterMark,
+                        descriptorRingStats.descriptorAllocationFailureCount,
                         dynamicUploadMergeGapObjects,
                         dynamicObjectSoftLimit,
                         uploadState.maxObservedDynamicObjects(),
@@ -589,6 +615,18 @@ public final class VulkanContext {
         );
     }
 
+    /** Light-to-cluster assignments the last clustered-light upload dropped because a cluster was full. */
+    public int clusteredLightDroppedAssignments() {
+        return clusteredLightBuffer.lastDroppedAssignments();
+    }
+
+    public RenderGraphProfile renderGraphProfile() {
+        return VulkanProfileFactory.renderGraphProfile(
+                frameCommandState.graphPlanCacheStats(),
+                frameCommandState.transientMemoryStats()
+        );
+    }
+
     public record ReflectionProbeDiagnostics(
             int configuredProbeCount,
             int activeProbeCount,
@@ -723,6 +761,24 @@ public final class VulkanContext {
         );
     }
 
+    List<VulkanRegisteredMesh> uploadRegisteredMeshes(List<RegisteredMeshPayload> payloads) throws EngineException {
+        return VulkanRegisteredMeshUploader.upload(
+                backendResources.device,
+                backendResources.physicalDevice,
+                backendResources.commandPool,
+                backendResources.graphicsQueue,
+                payloads,
+                this::vkFailure
+        );
+    }
+
+    void destroyRegisteredMesh(VulkanRegisteredMesh mesh) {
+        if (backendResources.device != null) {
+            vkDeviceWaitIdle(backendResources.device);
+            VulkanRegisteredMeshUploader.destroy(backendResources.device, mesh);
+        }
+    }
+
     void setCameraMatrices(Matrix4f view, Matrix4f proj) {
         float[] currentView = matrixToArray(viewMatrix);
         float[] currentProj = matrixToArray(projMatrix);
@@ -805,6 +861,17 @@ public final class VulkanContext {
         markGlobalStateDirty();
     }
 
+    /**
+     * Local lights past {@link #MAX_LOCAL_LIGHTS}, as {@link VulkanClusteredLightBuffer#RECORD_FLOATS}-float
+     * records. They are binned into screen/depth clusters every frame and shaded without shadows.
+     */
+    void setClusteredLights(int count, float[] records) {
+        int clamped = records == null ? 0 : Math.max(0, Math.min(Math.min(count, MAX_CLUSTERED_LIGHTS),
+                records.length / VulkanClusteredLightBuffer.RECORD_FLOATS));
+        clusteredLightCount = clamped;
+        clusteredLights = clamped == 0 ? new float[0] : records.clone();
+    }
+
     void setShadowParameters(
             boolean enabled,
             float strength,
@@ -1272,6 +1339,11 @@ public final class VulkanContext {
                 )
         );
         VulkanLifecycleOrchestrator.applyShutdownState(backendResources, result);
+        VulkanSceneMeshLifecycle.releaseMappedMeshes(sceneResources.pendingSceneMeshes, List.of());
+        if (spirvCacheAcquired) {
+            spirvCacheAcquired = false;
+            VulkanSpirvCache.releaseShared();
+        }
     }
 
     private void createDescriptorResources(MemoryStack stack) throws EngineException {
@@ -1285,6 +1357,7 @@ public final class VulkanContext {
                 DEFAULT_MAX_REFLECTION_PROBES,
                 OBJECT_UNIFORM_BYTES,
                 GLOBAL_SCENE_UNIFORM_BYTES,
+                VulkanClusteredLightBuffer.FRAME_BYTES,
                 activePipelineProfile.mainGeometryDescriptorPlan()
         );
     }
@@ -1405,7 +1478,9 @@ public final class VulkanContext {
                 backendResources.physicalDevice,
                 maxDynamicSceneObjects,
                 backendResources.indirectDrawBuffers,
-                backendResources.culledIndirectDrawBuffers
+                backendResources.culledIndirectDrawBuffers,
+                Boolean.parseBoolean(System.getProperty("vk.instanceCulling.enabled", "true")),
+                Boolean.parseBoolean(System.getProperty("vk.occlusionCulling.enabled", "true"))
         );
         boolean bindlessEnabled = Boolean.parseBoolean(System.getProperty("vk.bindless.enabled", "false"));
         try {
@@ -1490,11 +1565,19 @@ public final class VulkanContext {
                         backendResources.renderFinishedSemaphores[frameIdx],
                         backendResources.renderFences[frameIdx],
                         imageIndex -> recordCommandBuffer(stack, commandBuffer, imageIndex, frameIdx),
-                        () -> samplePlanarCaptureTimingForFrame(stack, frameIdx)
+                        () -> onFrameFenceReady(stack, frameIdx)
                 )
         );
     }
 
+    private void onFrameFenceReady(MemoryStack stack, int frameIdx) throws EngineException {
+        samplePlanarCaptureTimingForFrame(stack, frameIdx);
+        // GPU timing: the slot's last frame has finished, so its queries resolve before the pool is reset.
+        if (gpuTimestamps.isAvailable()) {
+            gpuTimestamps.resolveFrame(backendResources.device, frameIdx);
+        }
+    }
+
     private void recordCommandBuffer(MemoryStack stack, VkCommandBuffer commandBuffer, int imageIndex, int frameIdx) throws EngineException {
         vfxPhaseTracker.beginFrame();
         if (vfxIntegration != null && !vfxIntegration.isDisabled()) {
@@ -1582,6 +1665,7 @@ public final class VulkanContext {
                 commandBuffer,
                 imageIndex,
                 frameIdx,
+                frameCommandState,
                 new VulkanFrameCommandOrchestrator.FrameHooks(
                         this::updateShadowLightViewProjMatrices,
                         () -> prepareFrameUniforms(frameIdx),
@@ -1812,6 +1896,7 @@ public final class VulkanContext {
 
     private void prepareFrameUniforms(int frameIdx) throws EngineException {
         updateReflectionProbeMetadataBuffer();
+        updateClusteredLightBuffer(frameIdx);
         VulkanGlobalSceneUniformCoordinator.BuildRequest globalSceneRequest =
                 VulkanGlobalSceneBuildRequestFactory.build(
                         new VulkanGlobalSceneBuildRequestFactory.Inputs(
@@ -1862,6 +1947,19 @@ public final class VulkanContext {
         );
     }
 
+    private void updateClusteredLightBuffer(int frameIdx) {
+        if (descriptorResources.clusteredLightMappedAddress == 0L) {
+            return;
+        }
+        clusteredLightBuffer.write(
+                descriptorResources.clusteredLightMappedAddress + (long) frameIdx * descriptorResources.clusteredLightFrameSpanBytes,
+                viewMatrix.get(clusteredViewMatrix),
+                projMatrix.get(clusteredProjMatrix),
+                clusteredLights,
+                clusteredLightCount
+        );
+    }
+
     private void updateReflectionProbeMetadataBuffer() {
         var result = VulkanReflectionProbeRuntimeCoordinator.updateMetadataBuffer(
                 new VulkanReflectionProbeRuntimeCoordinator.MetadataUploadRequest(
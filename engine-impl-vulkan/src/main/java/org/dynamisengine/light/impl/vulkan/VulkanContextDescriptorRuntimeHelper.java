@@ -24,6 +24,7 @@ final class VulkanContextDescriptorRuntimeHelper {
             int maxReflectionProbes,
             int objectUniformBytes,
             int globalSceneUniformBytes,
+            int clusteredLightFrameBytes,
             VulkanComposedDescriptorLayoutPlan mainGeometryDescriptorPlan
     ) throws EngineException {
         VulkanDescriptorResources.Allocation allocation = VulkanDescriptorResources.create(
@@ -35,6 +36,7 @@ final class VulkanContextDescriptorRuntimeHelper {
                 maxReflectionProbes,
                 objectUniformBytes,
                 globalSceneUniformBytes,
+                clusteredLightFrameBytes,
                 mainGeometryDescriptorPlan
         );
         descriptorResources.descriptorSetLayout = allocation.descriptorSetLayout();
@@ -61,6 +63,10 @@ final class VulkanContextDescriptorRuntimeHelper {
         descriptorResources.reflectionProbeMetadataStrideBytes = allocation.reflectionProbeMetadataStrideBytes();
         descriptorResources.reflectionProbeMetadataBufferBytes = allocation.reflectionProbeMetadataBufferBytes();
         descriptorResources.reflectionProbeMetadataActiveCount = 0;
+        descriptorResources.clusteredLightBuffer = allocation.clusteredLightBuffer();
+        descriptorResources.clusteredLightMemory = allocation.clusteredLightMemory();
+        descriptorResources.clusteredLightMappedAddress = allocation.clusteredLightMappedAddress();
+        descriptorResources.clusteredLightFrameSpanBytes = allocation.clusteredLightFrameSpanBytes();
         descriptorResources.uniformStrideBytes = allocation.uniformStrideBytes();
         descriptorResources.uniformFrameSpanBytes = allocation.uniformFrameSpanBytes();
         descriptorResources.globalUniformFrameSpanBytes = allocation.globalUniformFrameSpanBytes();
@@ -80,6 +86,12 @@ final class VulkanContextDescriptorRuntimeHelper {
         if (backendResources.device == null) {
             return estimatedGpuMemoryBytes;
         }
+        if (descriptorResources.textureDescriptorPages != null) {
+            // Both callers wait for device idle first, so retired pages can go immediately.
+            descriptorResources.textureDescriptorPages.destroy();
+            descriptorResources.textureDescriptorPages = null;
+            descriptorRingStats.descriptorPoolCount = 0;
+        }
         VulkanDescriptorLifecycleCoordinator.ResetState state = VulkanDescriptorLifecycleCoordinator.destroyAndReset(
                 new VulkanDescriptorLifecycleCoordinator.DestroyRequest(
                         backendResources.device,
@@ -105,6 +117,10 @@ final class VulkanContextDescriptorRuntimeHelper {
                                 descriptorResources.reflectionProbeMetadataMaxCount,
                                 descriptorResources.reflectionProbeMetadataStrideBytes,
                                 descriptorResources.reflectionProbeMetadataBufferBytes,
+                                descriptorResources.clusteredLightBuffer,
+                                descriptorResources.clusteredLightMemory,
+                                descriptorResources.clusteredLightMappedAddress,
+                                descriptorResources.clusteredLightFrameSpanBytes,
                                 descriptorResources.uniformStrideBytes,
                                 descriptorResources.uniformFrameSpanBytes,
                                 descriptorResources.globalUniformFrameSpanBytes,
@@ -132,6 +148,10 @@ final class VulkanContextDescriptorRuntimeHelper {
         descriptorResources.reflectionProbeMetadataStrideBytes = state.reflectionProbeMetadataStrideBytes();
         descriptorResources.reflectionProbeMetadataBufferBytes = state.reflectionProbeMetadataBufferBytes();
         descriptorResources.reflectionProbeMetadataActiveCount = state.reflectionProbeMetadataActiveCount();
+        descriptorResources.clusteredLightBuffer = state.clusteredLightBuffer();
+        descriptorResources.clusteredLightMemory = state.clusteredLightMemory();
+        descriptorResources.clusteredLightMappedAddress = state.clusteredLightMappedAddress();
+        descriptorResources.clusteredLightFrameSpanBytes = state.clusteredLightFrameSpanBytes();
         descriptorResources.uniformStrideBytes = state.uniformStrideBytes();
         descriptorResources.uniformFrameSpanBytes = state.uniformFrameSpanBytes();
         descriptorResources.globalUniformFrameSpanBytes = state.globalUniformFrameSpanBytes();
@@ -9,6 +9,7 @@ import org.dynamisengine.light.impl.vulkan.runtime.upscale.VulkanExternalUpscale
 import org.dynamisengine.light.impl.vulkan.shadow.VulkanShadowRuntimeTuning;
 import org.dynamisengine.light.impl.vulkan.runtime.model.*;
 import org.dynamisengine.light.impl.vulkan.state.VulkanTelemetryStateBinder;
+import org.dynamisengine.light.impl.vulkan.scene.VulkanRegisteredMeshes;
 import org.dynamisengine.light.impl.vulkan.runtime.config.AaMode;
 import org.dynamisengine.light.impl.vulkan.runtime.config.AaPreset;
 import org.dynamisengine.light.impl.vulkan.runtime.config.ReflectionProfile;
@@ -35,6 +36,8 @@ import org.dynamisengine.light.api.error.EngineErrorCode;
 import org.dynamisengine.light.api.error.EngineException;
 import org.dynamisengine.light.api.event.EngineEvent;
 import org.dynamisengine.light.api.event.EngineWarning;
+import org.dynamisengine.light.api.mesh.MeshUploadRequest;
+import org.dynamisengine.light.api.mesh.MeshUploadResult;
 import org.dynamisengine.light.api.event.ReflectionAdaptiveTelemetryEvent;
 import org.dynamisengine.light.api.config.QualityTier;
 import org.dynamisengine.light.api.runtime.AaPostCapabilityDiagnostics;
@@ -183,6 +186,7 @@ public final class VulkanEngineRuntime extends AbstractEngineRuntime {
     private long plannedVisibleObjects = 1;
     private Path assetRoot = Path.of(".");
     private VulkanMeshAssetLoader meshLoader = new VulkanMeshAssetLoader(assetRoot);
+    private VulkanRegisteredMeshes registeredMeshes = VulkanRegisteredMeshes.mock();
     private int meshGeometryCacheMaxEntries = DEFAULT_MESH_GEOMETRY_CACHE_ENTRIES;
     private MeshGeometryCacheProfile meshGeometryCacheProfile =
             new MeshGeometryCacheProfile(0, 0, 0, 0, DEFAULT_MESH_GEOMETRY_CACHE_ENTRIES);
@@ -811,7 +815,7 @@ public final class VulkanEngineRuntime extends AbstractEngineRuntime {
         nativeUpscalerProvider = externalUpscaler.providerId();
         nativeUpscalerDetail = externalUpscaler.statusDetail();
         assetRoot = config.assetRoot() == null ? Path.of(".") : config.assetRoot();
-        meshLoader = new VulkanMeshAssetLoader(assetRoot, meshGeometryCacheMaxEntries);
+        meshLoader = new VulkanMeshAssetLoader(assetRoot, meshGeometryCacheMaxEntries, meshId -> registeredMeshes.lookup(meshId));
         qualityTier = resolvedQualityTier;
         context.setPipelineProfileTier(qualityTier);
         viewportWidth = config.initialWidthPx();
@@ -819,6 +823,9 @@ public final class VulkanEngineRuntime extends AbstractEngineRuntime {
         deviceLostRaised = false;
         warningPolicy.reset(warningState);
         VulkanRuntimeLifecycle.initialize(context, config, options, plannedDrawCalls, plannedTriangles, plannedVisibleObjects);
+        registeredMeshes = mockContext
+                ? VulkanRegisteredMeshes.mock()
+                : new VulkanRegisteredMeshes(context::uploadRegisteredMeshes, context::destroyRegisteredMesh);
         shadowRtTraversalSupported = !mockContext && context.isHardwareRtShadowTraversalSupported();
         shadowRtBvhSupported = !mockContext && context.isHardwareRtShadowBvhSupported();
         if (mockContext) {
@@ -873,6 +880,7 @@ public final class VulkanEngineRuntime extends AbstractEngineRuntime {
 
     @Override
     protected void onLoadScene(SceneDescriptor scene) throws EngineException {
+        registeredMeshes.requireKnown(scene);
         aaMode = VulkanRuntimeOptionParsing.resolveAaMode(scene.postProcess(), aaMode);
         taaDebugView = VulkanRuntimeOptionParsing.resolveTaaDebugView(scene.postProcess(), taaDebugView);
         context.setTaaDebugView(taaDebugView);
@@ -941,6 +949,7 @@ public final class VulkanEngineRuntime extends AbstractEngineRuntime {
         shadowAllocatorEvictions = sceneState.lighting().shadowAllocatorEvictions();
         VulkanShadowRuntimeTuning.updateShadowSchedulerTicks(shadowSchedulerLastRenderedTicks, shadowSchedulerFrameTick, currentShadows.renderedShadowLightIdsCsv());
         VulkanRuntimeLifecycle.applySceneToContext(context, sceneState);
+        registeredMeshes.retainSceneMeshes(sceneState.sceneMeshes());
         currentShadows = VulkanShadowContextBindings.applySceneLoadShadowBindings(
                 mockContext,
                 context,
@@ -1010,6 +1019,7 @@ public final class VulkanEngineRuntime extends AbstractEngineRuntime {
                     refresh.lighting().localLightDirInner(),
                     refresh.lighting().localLightOuterTypeShadow()
             );
+            context.setClusteredLights(refresh.lighting().clusteredLightCount(), refresh.lighting().clusteredLights());
             context.setShadowParameters(
                     currentShadows.enabled(),
                     currentShadows.strength(),
@@ -1075,13 +1085,18 @@ public final class VulkanEngineRuntime extends AbstractEngineRuntime {
                 frame.staticDraws(),
                 frame.morphDraws(),
                 frame.skinnedDraws(),
-                frame.instancedDraws()
+                frame.instancedDraws(),
+                frame.frustumCulledDraws(),
+                frame.occlusionCulledDraws(),
+                frame.gpuVisibleDraws(),
+                0
         );
     }
 
     /**
      * GPU timing metrics from the most recently resolved frame.
-     * Returns gpu.frameTimeMs, gpu.shadowPassMs, gpu.geometryPassMs, etc.
+     * Returns gpu.frameTimeMs, gpu.shadowPassMs, gpu.geometryPassMs, etc., plus rolling
+     * {@code gpu.scope.<scope>.minMs/avgMs/p95Ms} for every render-graph pass and profiler scope.
      * Empty map if timing is not available (OpenGL, unsupported device, first frame).
      */
     public java.util.Map<String, Double> gpuTimingMetrics() {
@@ -1120,8 +1135,24 @@ public final class VulkanEngineRuntime extends AbstractEngineRuntime {
         context.removeInstanceBatch(batchHandle);
     }
 
+    @Override
+    protected MeshUploadResult onRegisterMesh(MeshUploadRequest request) throws EngineException {
+        return registeredMeshes.register(List.of(request)).getFirst();
+    }
+
+    @Override
+    protected List<MeshUploadResult> onRegisterMeshes(List<MeshUploadRequest> requests) throws EngineException {
+        return registeredMeshes.register(requests);
+    }
+
+    @Override
+    protected void onRemoveMesh(int meshHandle) throws EngineException {
+        registeredMeshes.remove(meshHandle);
+    }
+
     @Override
     protected void onShutdown() {
+        registeredMeshes.shutdown();
         VulkanRuntimeLifecycle.shutdown(context, mockContext);
     }
 
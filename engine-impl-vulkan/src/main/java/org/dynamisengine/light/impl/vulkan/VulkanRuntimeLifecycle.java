@@ -145,7 +145,7 @@ final class VulkanRuntimeLifecycle {
                 cache.hits(), cache.misses(), cache.evictions(), cache.entries(), cache.maxEntries()
         );
         long plannedDrawCalls = sceneMeshes.size();
-        long plannedTriangles = sceneMeshes.stream().mapToLong(m -> m.indices().length / 3).sum();
+        long plannedTriangles = sceneMeshes.stream().mapToLong(m -> m.indexCount() / 3).sum();
         long plannedVisibleObjects = plannedDrawCalls;
         return new SceneLoadState(
                 cameraMatrices, lighting, fog, smoke, shadows, post, ibl,
@@ -177,6 +177,7 @@ final class VulkanRuntimeLifecycle {
                 state.lighting().localLightDirInner(),
                 state.lighting().localLightOuterTypeShadow()
         );
+        context.setClusteredLights(state.lighting().clusteredLightCount(), state.lighting().clusteredLights());
         context.setShadowParameters(
                 state.shadows().enabled(),
                 state.shadows().strength(),
@@ -265,7 +266,8 @@ final class VulkanRuntimeLifecycle {
                     plannedTriangles,
                     plannedVisibleObjects,
                     0,
-                    0, 0, 0, 0, 0, 0, 0, 0, 0
+                    0, 0, 0, 0, 0, 0, 0, 0, 0,
+                    0, 0, 0
             );
         }
         VulkanFrameMetrics frame = context.renderFrame();
@@ -287,7 +289,10 @@ final class VulkanRuntimeLifecycle {
                 frame.staticDraws(),
                 frame.morphDraws(),
                 frame.skinnedDraws(),
-                frame.instancedDraws()
+                frame.instancedDraws(),
+                frame.frustumCulledDraws(),
+                frame.occlusionCulledDraws(),
+                frame.gpuVisibleDraws()
         );
     }
 
@@ -393,7 +398,10 @@ final class VulkanRuntimeLifecycle {
             long staticDraws,
             long morphDraws,
             long skinnedDraws,
-            long instancedDraws
+            long instancedDraws,
+            long frustumCulledDraws,
+            long occlusionCulledDraws,
+            long gpuVisibleDraws
     ) {
     }
 
@@ -5,6 +5,7 @@ import java.nio.file.Path;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.logging.Logger;
+import org.dynamisengine.light.impl.vulkan.model.VulkanMappedMesh;
 import org.dynamisengine.meshforge.core.attr.AttributeSemantic;
 import org.dynamisengine.meshforge.core.attr.VertexAttributeView;
 import org.dynamisengine.meshforge.core.mesh.MeshData;
@@ -377,14 +378,32 @@ public final class VulkanGltfMeshParser {
         }
     }
 
+    /**
+     * @param mapped cooked geometry still in its memory mapping; {@code vertices}/{@code indices} are empty when set
+     */
     public record MeshGeometry(
             float[] vertices,
             int[] indices,
             boolean skinned,
             int jointCount,
             float[] morphTargetDeltas,
-            int morphTargetCount
+            int morphTargetCount,
+            VulkanMappedMesh mapped
     ) {
+        public MeshGeometry(
+                float[] vertices,
+                int[] indices,
+                boolean skinned,
+                int jointCount,
+                float[] morphTargetDeltas,
+                int morphTargetCount
+        ) {
+            this(vertices, indices, skinned, jointCount, morphTargetDeltas, morphTargetCount, null);
+        }
+
+        public static MeshGeometry mapped(VulkanMappedMesh mapped) {
+            return new MeshGeometry(new float[0], new int[0], false, 0, null, 0, mapped);
+        }
     }
 
     private record MorphTargetData(float[] packedDeltas, int targetCount) {
@@ -7,10 +7,16 @@ import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import org.dynamisengine.light.api.mesh.MeshFormats;
 import org.dynamisengine.light.api.scene.MeshDesc;
+import org.dynamisengine.light.impl.common.mesh.MappedGeometry;
 import org.dynamisengine.light.impl.common.mesh.MeshForgeAssetService;
 import org.dynamisengine.light.impl.common.mesh.MeshLoadException;
 import org.dynamisengine.light.impl.common.mesh.MeshLoadResult;
+import org.dynamisengine.light.impl.vulkan.model.VulkanMappedMesh;
+import org.dynamisengine.light.impl.vulkan.model.VulkanRegisteredMesh;
 import org.dynamisengine.meshforge.gpu.RuntimeGeometryPayload;
 import org.dynamisengine.meshforge.pack.layout.VertexLayout;
 
@@ -19,14 +25,18 @@ import org.dynamisengine.meshforge.pack.layout.VertexLayout;
  *
  * <p>Primary path: delegates to {@link MeshForgeAssetService} for canonical
  * mesh loading (MGI fast-path or source format import via MeshForge).
+ * Packed geometry from the cook cache is handed over still mapped ({@link VulkanMappedMesh}) and is not
+ * held in the geometry cache; the decoded payload is converted to the 11-float layout and cached.
  * Falls back to legacy glTF parser for backward compatibility.</p>
  */
 public final class VulkanMeshAssetLoader {
+    private static final Logger LOG = Logger.getLogger(VulkanMeshAssetLoader.class.getName());
     private static final int DEFAULT_MAX_GEOMETRY_CACHE_ENTRIES = 256;
     private final Path assetRoot;
     private final VulkanGltfMeshParser gltfParser;
     private final MeshForgeAssetService meshForge;
     private final int maxGeometryCacheEntries;
+    private final Function<String, VulkanRegisteredMesh> registeredMeshResolver;
     private final LinkedHashMap<String, VulkanGltfMeshParser.MeshGeometry> geometryCache =
             new LinkedHashMap<>(32, 0.75f, true);
     private long geometryCacheHits;
@@ -38,10 +48,54 @@ public final class VulkanMeshAssetLoader {
     }
 
     public VulkanMeshAssetLoader(Path assetRoot, int maxGeometryCacheEntries) {
+        this(assetRoot, maxGeometryCacheEntries, meshId -> null);
+    }
+
+    /**
+     * @param registeredMeshResolver resolves the mesh id of a {@link MeshFormats#registeredMeshPath(String)}
+     *                               path to its GPU-resident mesh, or {@code null} when it is not registered
+     */
+    public VulkanMeshAssetLoader(
+            Path assetRoot,
+            int maxGeometryCacheEntries,
+            Function<String, VulkanRegisteredMesh> registeredMeshResolver
+    ) {
+        this(assetRoot, maxGeometryCacheEntries, registeredMeshResolver, new MeshForgeAssetService(assetRoot));
+    }
+
+    /**
+     * @param meshCookDirectory cook cache for MeshForge imports and mapped geometry, or {@code null} to always
+     *                          import from source and upload the decoded payload
+     */
+    public VulkanMeshAssetLoader(
+            Path assetRoot,
+            int maxGeometryCacheEntries,
+            Function<String, VulkanRegisteredMesh> registeredMeshResolver,
+            Path meshCookDirectory
+    ) {
+        this(assetRoot, maxGeometryCacheEntries, registeredMeshResolver,
+                new MeshForgeAssetService(assetRoot, 256, meshCookDirectory));
+    }
+
+    private VulkanMeshAssetLoader(
+            Path assetRoot,
+            int maxGeometryCacheEntries,
+            Function<String, VulkanRegisteredMesh> registeredMeshResolver,
+            MeshForgeAssetService meshForge
+    ) {
         this.assetRoot = assetRoot == null ? Path.of(".") : assetRoot;
         this.gltfParser = new VulkanGltfMeshParser(this.assetRoot);
-        this.meshForge = new MeshForgeAssetService(this.assetRoot);
+        this.meshForge = meshForge;
         this.maxGeometryCacheEntries = Math.max(1, maxGeometryCacheEntries);
+        this.registeredMeshResolver = registeredMeshResolver;
+    }
+
+    /**
+     * @return the registered mesh a scene mesh refers to, or {@code null} when it references an asset file
+     */
+    public VulkanRegisteredMesh registeredMesh(MeshDesc mesh) {
+        String meshId = mesh == null ? null : MeshFormats.registeredMeshId(mesh.meshAssetPath());
+        return meshId == null ? null : registeredMeshResolver.apply(meshId);
     }
 
     public VulkanGltfMeshParser.MeshGeometry loadMeshGeometry(MeshDesc mesh, int meshIndex) {
@@ -57,8 +111,13 @@ public final class VulkanMeshAssetLoader {
             return cloneGeometry(cached);
         }
 
-        // Try MeshForge canonical path first (handles MGI, OBJ, STL, PLY, glTF)
         if (mesh.meshAssetPath() != null && !mesh.meshAssetPath().isBlank()) {
+            // Zero-copy path: the packed geometry stays mapped and staging is filled straight from the mapping.
+            VulkanGltfMeshParser.MeshGeometry mapped = loadMapped(mesh.meshAssetPath());
+            if (mapped != null) {
+                return mapped;
+            }
+            // Decoded MeshForge payload (handles MGI, OBJ, STL, PLY, glTF)
             try {
                 MeshLoadResult result = meshForge.load(mesh.meshAssetPath());
                 VulkanGltfMeshParser.MeshGeometry converted = convertPayload(result.payload());
@@ -89,6 +148,24 @@ public final class VulkanMeshAssetLoader {
         return cloneGeometry(resolvedGeometry);
     }
 
+    /**
+     * Maps the asset's packed geometry for a direct upload. Returns {@code null} (after logging why) to fall
+     * back to {@link MeshForgeAssetService#load}.
+     */
+    private VulkanGltfMeshParser.MeshGeometry loadMapped(String meshAssetPath) {
+        MappedGeometry mapped = null;
+        try {
+            mapped = meshForge.loadMapped(meshAssetPath);
+            return VulkanGltfMeshParser.MeshGeometry.mapped(VulkanMappedMesh.wrap(mapped));
+        } catch (MeshLoadException e) {
+            if (mapped != null) {
+                mapped.close();
+            }
+            LOG.warning("Mapped mesh load failed for " + meshAssetPath + ", using the decoded payload: " + e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Convert MeshForge RuntimeGeometryPayload to Vulkan MeshGeometry.
      *
@@ -96,10 +173,6 @@ public final class VulkanMeshAssetLoader {
      */
     private VulkanGltfMeshParser.MeshGeometry convertPayload(RuntimeGeometryPayload payload) {
         VertexLayout layout = payload.layout();
-        ByteBuffer vb = payload.vertexBytes().duplicate().order(ByteOrder.LITTLE_ENDIAN);
-        int vertexCount = payload.vertexCount();
-        int stride = layout.strideBytes();
-
         int posOff = -1, normOff = -1, uvOff = -1, tanOff = -1;
         for (VertexLayout.Entry entry : layout.entries().values()) {
             String semantic = entry.key().semantic().name();
@@ -108,6 +181,34 @@ public final class VulkanMeshAssetLoader {
             else if ("UV".equals(semantic) && entry.key().setIndex() == 0) uvOff = entry.offsetBytes();
             else if ("TANGENT".equals(semantic)) tanOff = entry.offsetBytes();
         }
+        boolean indexed = payload.indexBytes() != null && payload.indexCount() > 0;
+        return convertStreams(
+                payload.vertexBytes(),
+                payload.vertexCount(),
+                layout.strideBytes(),
+                posOff,
+                normOff,
+                uvOff,
+                tanOff,
+                indexed ? payload.indexBytes() : null,
+                indexed ? payload.indexCount() : 0,
+                indexed && payload.indexType() == org.dynamisengine.meshforge.pack.buffer.PackedMesh.IndexType.UINT16 ? 2 : 4
+        );
+    }
+
+    private static VulkanGltfMeshParser.MeshGeometry convertStreams(
+            ByteBuffer vertexBytes,
+            int vertexCount,
+            int stride,
+            int posOff,
+            int normOff,
+            int uvOff,
+            int tanOff,
+            ByteBuffer indexBytes,
+            int indexCount,
+            int indexSize
+    ) {
+        ByteBuffer vb = vertexBytes.duplicate().order(ByteOrder.LITTLE_ENDIAN);
 
         // Vulkan expects 11 floats: pos(3) + normal(3) + uv(2) + tangent(3)
         float[] vertices = new float[vertexCount * 11];
@@ -145,10 +246,10 @@ public final class VulkanMeshAssetLoader {
 
         // Extract indices
         int[] indices;
-        if (payload.indexBytes() != null && payload.indexCount() > 0) {
-            ByteBuffer ib = payload.indexBytes().duplicate().order(ByteOrder.LITTLE_ENDIAN);
-            indices = new int[payload.indexCount()];
-            if (payload.indexType() == org.dynamisengine.meshforge.pack.buffer.PackedMesh.IndexType.UINT16) {
+        if (indexBytes != null && indexCount > 0) {
+            ByteBuffer ib = indexBytes.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            indices = new int[indexCount];
+            if (indexSize == 2) {
                 for (int i = 0; i < indices.length; i++) indices[i] = Short.toUnsignedInt(ib.getShort(i * 2));
             } else {
                 for (int i = 0; i < indices.length; i++) indices[i] = ib.getInt(i * 4);
@@ -15,6 +15,7 @@ import org.lwjgl.vulkan.VkExtensionProperties;
 import org.lwjgl.vulkan.VkInstance;
 import org.lwjgl.vulkan.VkInstanceCreateInfo;
 import org.lwjgl.vulkan.VkPhysicalDevice;
+import org.lwjgl.vulkan.VkPhysicalDeviceFeatures;
 import org.lwjgl.vulkan.VkQueue;
 import org.lwjgl.vulkan.KHRPortabilityEnumeration;
 import org.lwjgl.vulkan.KHRPortabilitySubset;
@@ -53,6 +54,7 @@ import static org.lwjgl.vulkan.VK10.vkCreateDevice;
 import static org.lwjgl.vulkan.VK10.vkCreateInstance;
 import static org.lwjgl.vulkan.VK10.vkEnumerateInstanceExtensionProperties;
 import static org.lwjgl.vulkan.VK10.vkGetDeviceQueue;
+import static org.lwjgl.vulkan.VK10.vkGetPhysicalDeviceFeatures;
 
 public final class VulkanBootstrap {
     private VulkanBootstrap() {
@@ -216,10 +218,17 @@ public final class VulkanBootstrap {
             extensions.put(stack.UTF8(extensionName));
         }
         extensions.flip();
+        // Cooked textures upload as BC7 when the device can sample block-compressed formats.
+        VkPhysicalDeviceFeatures supportedFeatures = VkPhysicalDeviceFeatures.calloc(stack);
+        vkGetPhysicalDeviceFeatures(physicalDevice, supportedFeatures);
+        boolean textureCompressionBcSupported = supportedFeatures.textureCompressionBC();
+        VkPhysicalDeviceFeatures enabledFeatures = VkPhysicalDeviceFeatures.calloc(stack)
+                .textureCompressionBC(textureCompressionBcSupported);
         VkDeviceCreateInfo deviceCreateInfo = VkDeviceCreateInfo.calloc(stack)
                 .sType(VK_STRUCTURE_TYPE_DEVICE_CREATE_INFO)
                 .pQueueCreateInfos(queueCreateInfo)
-                .ppEnabledExtensionNames(extensions);
+                .ppEnabledExtensionNames(extensions)
+                .pEnabledFeatures(enabledFeatures);
 
         PointerBuffer pDevice = stack.mallocPointer(1);
         int createResult = vkCreateDevice(physicalDevice, deviceCreateInfo, null, pDevice);
@@ -235,12 +244,13 @@ public final class VulkanBootstrap {
         PointerBuffer pQueue = stack.mallocPointer(1);
         vkGetDeviceQueue(device, graphicsQueueFamilyIndex, 0, pQueue);
         VkQueue graphicsQueue = new VkQueue(pQueue.get(0), device);
-        return new DeviceAndQueue(device, graphicsQueue);
+        return new DeviceAndQueue(device, graphicsQueue, textureCompressionBcSupported);
     }
 
     public record DeviceAndQueue(
             VkDevice device,
-            VkQueue graphicsQueue
+            VkQueue graphicsQueue,
+            boolean textureCompressionBcSupported
     ) {
     }
 }
@@ -28,6 +28,7 @@ public final class VulkanCoreCapabilityDescriptorV2 implements RenderFeatureCapa
             new RenderDescriptorRequirement("main_geometry", 0, 0, RenderDescriptorType.UNIFORM_BUFFER, RenderBindingFrequency.PER_FRAME, false),
             new RenderDescriptorRequirement("main_geometry", 0, 1, RenderDescriptorType.UNIFORM_BUFFER, RenderBindingFrequency.PER_DRAW, false),
             new RenderDescriptorRequirement("main_geometry", 0, 2, RenderDescriptorType.STORAGE_BUFFER, RenderBindingFrequency.PER_FRAME, false),
+            new RenderDescriptorRequirement("main_geometry", 0, 3, RenderDescriptorType.STORAGE_BUFFER, RenderBindingFrequency.PER_FRAME, false),
             // Main set=1 material + shadow/IBL/probe lanes used by texture descriptor writer.
             new RenderDescriptorRequirement("main_geometry", 1, 0, RenderDescriptorType.COMBINED_IMAGE_SAMPLER, RenderBindingFrequency.PER_MATERIAL, false),
             new RenderDescriptorRequirement("main_geometry", 1, 1, RenderDescriptorType.COMBINED_IMAGE_SAMPLER, RenderBindingFrequency.PER_MATERIAL, false),
@@ -6,16 +6,24 @@ import org.dynamisengine.gpu.api.gpu.ComputeCullingDispatch;
 import org.dynamisengine.gpu.api.error.GpuException;
 import org.dynamisengine.gpu.vulkan.memory.VulkanBufferOps;
 import org.dynamisengine.gpu.vulkan.memory.VulkanBufferAlloc;
+import org.dynamisengine.light.impl.common.culling.InstanceFrustumCuller;
 import org.dynamisengine.light.impl.vulkan.model.VulkanGpuMesh;
+import org.dynamisengine.light.impl.vulkan.model.VulkanInstanceBatch;
+import org.dynamisengine.light.impl.vulkan.model.VulkanInstanceBatchBuffer;
 import org.dynamisengine.light.impl.vulkan.shader.VulkanCullingComputeSource;
 import org.dynamisengine.light.impl.vulkan.shader.VulkanShaderCompiler;
+import org.lwjgl.PointerBuffer;
 import org.lwjgl.system.MemoryStack;
 import org.lwjgl.vulkan.*;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.lwjgl.system.MemoryStack.stackPush;
+import static org.lwjgl.system.MemoryUtil.memGetInt;
+import static org.lwjgl.system.MemoryUtil.memPutFloat;
+import static org.lwjgl.system.MemoryUtil.memPutInt;
 import static org.lwjgl.util.shaderc.Shaderc.shaderc_glsl_compute_shader;
 import static org.lwjgl.vulkan.VK10.*;
 
@@ -23,6 +31,16 @@ public final class VulkanCullingComputePass implements ComputeCullingDispatch {
     private static final int LOCAL_SIZE_X = 64;
     private static final int DRAW_COUNT_BUFFER_BYTES = 8 * Integer.BYTES;
     private static final int PUSH_BYTES = (6 * 4 * Float.BYTES) + (8 * Integer.BYTES);
+    private static final int INSTANCE_PUSH_BYTES = (7 * 4 * Float.BYTES) + (4 * Integer.BYTES);
+    private static final int INSTANCE_BINDINGS = 3;
+    private static final int CULLING_BINDINGS = 7;
+    private static final int HIZ_BINDING = 4;
+    private static final int OCCLUSION_PARAMS_BYTES = (16 * Float.BYTES) + (4 * Integer.BYTES);
+    private static final int VARIANT_COUNT_SLOTS = 5;
+    private static final int OCCLUSION_CULLED_SLOT = 5;
+    private static final int FRUSTUM_CULLED_SLOT = 6;
+    static final int MAX_INSTANCE_CULL_BATCHES = 64;
+    static final int VISIBLE_INDEX_CAPACITY = 1 << 18;
 
     private final VkDevice device;
     private final VulkanMeshBoundsBuffer boundsBuffer;
@@ -34,6 +52,48 @@ public final class VulkanCullingComputePass implements ComputeCullingDispatch {
     private final long[] descriptorSets;
     private final long pipelineLayout;
     private final long pipeline;
+    private final InstanceCulling instanceCulling;
+    private final Occlusion occlusion;
+    private final boolean occlusionCullingEnabled;
+    private final boolean[] readbackPending;
+    private boolean historyCleared;
+    private int lastVisibleDraws;
+    private int lastOcclusionCulledDraws;
+    private int lastFrustumCulledDraws;
+    private final float[] planes = new float[InstanceFrustumCuller.PLANE_FLOATS];
+    private final int[] instanceCommandIndices = new int[MAX_INSTANCE_CULL_BATCHES];
+    private final VulkanInstanceBatch[] instanceBatches = new VulkanInstanceBatch[MAX_INSTANCE_CULL_BATCHES];
+    private int lastInstanceCulledBatches;
+    private int lastInstanceCullCandidates;
+
+    /** Per-instance culling stage: its own pipeline, per-frame visible-index lists and per-batch sets. */
+    private record InstanceCulling(
+            long descriptorSetLayout,
+            long descriptorPool,
+            long[][] descriptorSets,
+            long[] visibleIndexBuffers,
+            long[] visibleIndexMemories,
+            long pipelineLayout,
+            long pipeline
+    ) {
+    }
+
+    /**
+     * Hi-Z occlusion stage: the pyramid built from the previous frame's depth, per-frame parameter blocks
+     * and draw-count readbacks, and a per-mesh visibility history shared across frames.
+     */
+    private record Occlusion(
+            VulkanHiZPyramid pyramid,
+            long[] paramBuffers,
+            long[] paramMemories,
+            long[] paramAddresses,
+            long[] readbackBuffers,
+            long[] readbackMemories,
+            long[] readbackAddresses,
+            long historyBuffer,
+            long historyMemory
+    ) {
+    }
 
     private VulkanCullingComputePass(
             VkDevice device,
@@ -45,7 +105,10 @@ public final class VulkanCullingComputePass implements ComputeCullingDispatch {
             long descriptorPool,
             long[] descriptorSets,
             long pipelineLayout,
-            long pipeline
+            long pipeline,
+            InstanceCulling instanceCulling,
+            Occlusion occlusion,
+            boolean occlusionCullingEnabled
     ) {
         this.device = device;
         this.boundsBuffer = boundsBuffer;
@@ -57,6 +120,10 @@ public final class VulkanCullingComputePass implements ComputeCullingDispatch {
         this.descriptorSets = descriptorSets;
         this.pipelineLayout = pipelineLayout;
         this.pipeline = pipeline;
+        this.instanceCulling = instanceCulling;
+        this.occlusion = occlusion;
+        this.occlusionCullingEnabled = occlusionCullingEnabled;
+        this.readbackPending = new boolean[descriptorSets.length];
     }
 
     public static VulkanCullingComputePass create(
@@ -65,6 +132,29 @@ public final class VulkanCullingComputePass implements ComputeCullingDispatch {
             int meshCapacity,
             VulkanIndirectDrawBuffer[] inputBuffers,
             VulkanIndirectDrawBuffer[] outputBuffers
+    ) throws EngineException {
+        return create(device, physicalDevice, meshCapacity, inputBuffers, outputBuffers, false);
+    }
+
+    public static VulkanCullingComputePass create(
+            VkDevice device,
+            VkPhysicalDevice physicalDevice,
+            int meshCapacity,
+            VulkanIndirectDrawBuffer[] inputBuffers,
+            VulkanIndirectDrawBuffer[] outputBuffers,
+            boolean instanceCullingEnabled
+    ) throws EngineException {
+        return create(device, physicalDevice, meshCapacity, inputBuffers, outputBuffers, instanceCullingEnabled, false);
+    }
+
+    public static VulkanCullingComputePass create(
+            VkDevice device,
+            VkPhysicalDevice physicalDevice,
+            int meshCapacity,
+            VulkanIndirectDrawBuffer[] inputBuffers,
+            VulkanIndirectDrawBuffer[] outputBuffers,
+            boolean instanceCullingEnabled,
+            boolean occlusionCullingEnabled
     ) throws EngineException {
         if (device == null || physicalDevice == null || inputBuffers == null || outputBuffers == null
                 || inputBuffers.length == 0 || inputBuffers.length != outputBuffers.length) {
@@ -88,7 +178,9 @@ public final class VulkanCullingComputePass implements ComputeCullingDispatch {
                             physicalDevice,
                             stack,
                             DRAW_COUNT_BUFFER_BYTES,
-                            VK_BUFFER_USAGE_STORAGE_BUFFER_BIT | VK_BUFFER_USAGE_TRANSFER_DST_BIT,
+                            VK_BUFFER_USAGE_STORAGE_BUFFER_BIT
+                                    | VK_BUFFER_USAGE_TRANSFER_SRC_BIT
+                                    | VK_BUFFER_USAGE_TRANSFER_DST_BIT,
                             VK_MEMORY_PROPERTY_DEVICE_LOCAL_BIT
                     );
                 } catch (GpuException ex) {
@@ -105,6 +197,7 @@ public final class VulkanCullingComputePass implements ComputeCullingDispatch {
             long descriptorSetLayout = createDescriptorSetLayout(device, stack);
             long descriptorPool = createDescriptorPool(device, stack, frameCount);
             long[] descriptorSets = allocateDescriptorSets(device, stack, descriptorPool, descriptorSetLayout, frameCount);
+            Occlusion occlusion = createOcclusion(device, physicalDevice, stack, frameCount, bounds.capacity());
             for (int i = 0; i < frameCount; i++) {
                 writeDescriptorSet(
                         device,
@@ -113,12 +206,18 @@ public final class VulkanCullingComputePass implements ComputeCullingDispatch {
                         bounds.bufferHandle(),
                         inputBuffers[i].bufferHandle(),
                         outputBuffers[i].bufferHandle(),
-                        drawCountBuffers[i]
+                        drawCountBuffers[i],
+                        occlusion.paramBuffers()[i],
+                        occlusion.historyBuffer()
                 );
+                writeHiZBinding(device, stack, descriptorSets[i], occlusion.pyramid());
             }
 
-            long pipelineLayout = createPipelineLayout(device, stack, descriptorSetLayout);
-            long pipeline = createPipeline(device, stack, pipelineLayout);
+            long pipelineLayout = createPipelineLayout(device, stack, descriptorSetLayout, PUSH_BYTES);
+            long pipeline = createPipeline(device, stack, pipelineLayout, VulkanCullingComputeSource.compute(), "culling.comp");
+            InstanceCulling instanceCulling = instanceCullingEnabled
+                    ? createInstanceCulling(device, physicalDevice, stack, frameCount)
+                    : null;
             return new VulkanCullingComputePass(
                     device,
                     bounds,
@@ -129,22 +228,257 @@ public final class VulkanCullingComputePass implements ComputeCullingDispatch {
                     descriptorPool,
                     descriptorSets,
                     pipelineLayout,
-                    pipeline
+                    pipeline,
+                    instanceCulling,
+                    occlusion,
+                    occlusionCullingEnabled
+            );
+        }
+    }
+
+    public void uploadMeshBounds(List<VulkanGpuMesh> meshes, List<VulkanRenderCommandRecorder.MeshDrawCmd> draws) {
+        boundsBuffer.upload(meshes, draws);
+    }
+
+    /** Bytes of bounds data written by the last {@link #uploadMeshBounds}; zero when no draw moved. */
+    public int meshBoundsUploadBytes() {
+        return boundsBuffer.lastUploadBytes();
+    }
+
+    public boolean instanceCullingEnabled() {
+        return instanceCulling != null;
+    }
+
+    /**
+     * Culls the instances of every instanced draw in {@code commands} against the view frustum before the
+     * per-draw pass runs. Each batch's visible records are compacted to the front of its instance buffer,
+     * its visible source indices are written to this frame's visible-index list, and the batch's
+     * {@code instanceCount} in {@code commands} becomes the visible count. Batches beyond
+     * {@link #MAX_INSTANCE_CULL_BATCHES} or the visible-index capacity are drawn unculled.
+     *
+     * @return number of batches culled this frame
+     */
+    public int cullInstances(
+            MemoryStack stack,
+            VkCommandBuffer commandBuffer,
+            int frameIdx,
+            VulkanIndirectDrawBuffer commands,
+            List<VulkanRenderCommandRecorder.MeshDrawCmd> draws,
+            List<VulkanGpuMesh> meshes,
+            List<VulkanInstanceBatch> batches,
+            float[] viewProjMatrix
+    ) {
+        lastInstanceCulledBatches = 0;
+        lastInstanceCullCandidates = 0;
+        if (instanceCulling == null || commands == null || draws == null || meshes == null || batches == null
+                || frameIdx < 0 || frameIdx >= instanceCulling.descriptorSets().length) {
+            return 0;
+        }
+        int count = 0;
+        int visibleBase = 0;
+        int commandCount = Math.min(draws.size(), commands.commandCount());
+        boolean leadingBarrier = false;
+        for (int i = 0; i < commandCount; i++) {
+            VulkanRenderCommandRecorder.MeshDrawCmd draw = draws.get(i);
+            if (!draw.instanced()) {
+                continue;
+            }
+            VulkanInstanceBatch batch = findBatch(batches, draw.instanceBatchDescriptorSet());
+            if (batch == null || batch.instanceCount <= 0 || batch.instanceCount > batch.buffer.capacity()) {
+                continue;
+            }
+            if (!leadingBarrier) {
+                // Earlier frames may still be reading the front regions and counts about to be rewritten.
+                memoryBarrier(
+                        stack,
+                        commandBuffer,
+                        VK_PIPELINE_STAGE_VERTEX_SHADER_BIT | VK_PIPELINE_STAGE_DRAW_INDIRECT_BIT,
+                        VK_PIPELINE_STAGE_TRANSFER_BIT,
+                        0,
+                        0
+                );
+                leadingBarrier = true;
+            }
+            if (count == MAX_INSTANCE_CULL_BATCHES
+                    || draw.uniformMeshIndex() < 0
+                    || draw.uniformMeshIndex() >= meshes.size()
+                    || visibleBase + batch.instanceCount > VISIBLE_INDEX_CAPACITY) {
+                // Drawn unculled: a previous frame may have compacted its front region.
+                restoreSourceRecords(stack, commandBuffer, batch);
+                continue;
+            }
+            instanceCommandIndices[count] = i;
+            instanceBatches[count] = batch;
+            visibleBase += batch.instanceCount;
+            count++;
+        }
+        if (count == 0) {
+            if (leadingBarrier) {
+                memoryBarrier(
+                        stack,
+                        commandBuffer,
+                        VK_PIPELINE_STAGE_TRANSFER_BIT,
+                        VK_PIPELINE_STAGE_VERTEX_SHADER_BIT,
+                        VK_ACCESS_TRANSFER_WRITE_BIT,
+                        VK_ACCESS_SHADER_READ_BIT
+                );
+            }
+            return 0;
+        }
+
+        long[] sets = instanceCulling.descriptorSets()[frameIdx];
+        long visibleIndexBuffer = instanceCulling.visibleIndexBuffers()[frameIdx];
+        VkWriteDescriptorSet.Buffer writes = VkWriteDescriptorSet.calloc(count * INSTANCE_BINDINGS, stack);
+        for (int k = 0; k < count; k++) {
+            long[] buffers = {instanceBatches[k].buffer.bufferHandle(), commands.bufferHandle(), visibleIndexBuffer};
+            for (int b = 0; b < INSTANCE_BINDINGS; b++) {
+                writes.get(k * INSTANCE_BINDINGS + b)
+                        .sType(VK_STRUCTURE_TYPE_WRITE_DESCRIPTOR_SET)
+                        .dstSet(sets[k])
+                        .dstBinding(b)
+                        .descriptorType(VK_DESCRIPTOR_TYPE_STORAGE_BUFFER)
+                        .descriptorCount(1)
+                        .pBufferInfo(VkDescriptorBufferInfo.calloc(1, stack)
+                                .buffer(buffers[b])
+                                .offset(0)
+                                .range(VK_WHOLE_SIZE));
+            }
+        }
+        vkUpdateDescriptorSets(device, writes, null);
+
+        for (int k = 0; k < count; k++) {
+            vkCmdFillBuffer(
+                    commandBuffer,
+                    commands.bufferHandle(),
+                    VulkanIndirectDrawBuffer.instanceCountOffsetBytes(instanceCommandIndices[k]),
+                    Integer.BYTES,
+                    0
             );
         }
+        memoryBarrier(
+                stack,
+                commandBuffer,
+                VK_PIPELINE_STAGE_TRANSFER_BIT,
+                VK_PIPELINE_STAGE_COMPUTE_SHADER_BIT | VK_PIPELINE_STAGE_VERTEX_SHADER_BIT,
+                VK_ACCESS_TRANSFER_WRITE_BIT,
+                VK_ACCESS_SHADER_READ_BIT | VK_ACCESS_SHADER_WRITE_BIT
+        );
+
+        InstanceFrustumCuller.frustumPlanes(viewProjMatrix, planes);
+        vkCmdBindPipeline(commandBuffer, VK_PIPELINE_BIND_POINT_COMPUTE, instanceCulling.pipeline());
+        ByteBuffer push = stack.malloc(INSTANCE_PUSH_BYTES);
+        int base = 0;
+        for (int k = 0; k < count; k++) {
+            VulkanInstanceBatch batch = instanceBatches[k];
+            VulkanGpuMesh mesh = meshes.get(draws.get(instanceCommandIndices[k]).uniformMeshIndex());
+            vkCmdBindDescriptorSets(
+                    commandBuffer,
+                    VK_PIPELINE_BIND_POINT_COMPUTE,
+                    instanceCulling.pipelineLayout(),
+                    0,
+                    stack.longs(sets[k]),
+                    null
+            );
+            push.clear();
+            for (float value : planes) {
+                push.putFloat(value);
+            }
+            push.putFloat(mesh.localBoundsCenterX);
+            push.putFloat(mesh.localBoundsCenterY);
+            push.putFloat(mesh.localBoundsCenterZ);
+            push.putFloat(mesh.localBoundsRadius);
+            push.putInt(batch.instanceCount);
+            push.putInt(batch.buffer.sourceOffsetInstances());
+            push.putInt(instanceCommandIndices[k]);
+            push.putInt(base);
+            push.flip();
+            vkCmdPushConstants(commandBuffer, instanceCulling.pipelineLayout(), VK_SHADER_STAGE_COMPUTE_BIT, 0, push);
+            vkCmdDispatch(commandBuffer, Math.max(1, (batch.instanceCount + LOCAL_SIZE_X - 1) / LOCAL_SIZE_X), 1, 1);
+            base += batch.instanceCount;
+            instanceBatches[k] = null;
+        }
+        memoryBarrier(
+                stack,
+                commandBuffer,
+                VK_PIPELINE_STAGE_COMPUTE_SHADER_BIT,
+                VK_PIPELINE_STAGE_COMPUTE_SHADER_BIT | VK_PIPELINE_STAGE_VERTEX_SHADER_BIT | VK_PIPELINE_STAGE_DRAW_INDIRECT_BIT,
+                VK_ACCESS_SHADER_WRITE_BIT,
+                VK_ACCESS_SHADER_READ_BIT | VK_ACCESS_INDIRECT_COMMAND_READ_BIT
+        );
+        lastInstanceCulledBatches = count;
+        lastInstanceCullCandidates = base;
+        return count;
+    }
+
+    public int lastInstanceCulledBatches() {
+        return lastInstanceCulledBatches;
     }
 
-    public void uploadMeshBounds(List<VulkanGpuMesh> meshes) {
-        boundsBuffer.upload(meshes);
+    /** Instances tested by the last {@link #cullInstances}; visible counts live on the GPU. */
+    public int lastInstanceCullCandidates() {
+        return lastInstanceCullCandidates;
     }
 
-    public void dispatch(MemoryStack stack, VkCommandBuffer commandBuffer, int frameIdx, int drawCount, int boundsCount, float[] viewProjMatrix) {
+    public long visibleIndexBufferHandle(int frameIdx) {
+        if (instanceCulling == null || frameIdx < 0 || frameIdx >= instanceCulling.visibleIndexBuffers().length) {
+            return VK_NULL_HANDLE;
+        }
+        return instanceCulling.visibleIndexBuffers()[frameIdx];
+    }
+
+    private static void restoreSourceRecords(MemoryStack stack, VkCommandBuffer commandBuffer, VulkanInstanceBatch batch) {
+        VkBufferCopy.Buffer region = VkBufferCopy.calloc(1, stack);
+        region.get(0)
+                .srcOffset((long) batch.buffer.sourceOffsetInstances() * VulkanInstanceBatchBuffer.INSTANCE_STRIDE_BYTES)
+                .dstOffset(0)
+                .size((long) batch.instanceCount * VulkanInstanceBatchBuffer.INSTANCE_STRIDE_BYTES);
+        vkCmdCopyBuffer(commandBuffer, batch.buffer.bufferHandle(), batch.buffer.bufferHandle(), region);
+    }
+
+    private static VulkanInstanceBatch findBatch(List<VulkanInstanceBatch> batches, long descriptorSet) {
+        for (int i = 0; i < batches.size(); i++) {
+            VulkanInstanceBatch batch = batches.get(i);
+            if (batch != null && batch.buffer != null && batch.buffer.descriptorSetHandle() == descriptorSet) {
+                return batch;
+            }
+        }
+        return null;
+    }
+
+    public void dispatch(
+            MemoryStack stack,
+            VkCommandBuffer commandBuffer,
+            int frameIdx,
+            int drawCount,
+            int boundsCount,
+            float[] viewProjMatrix
+    ) throws EngineException {
         if (frameIdx < 0 || frameIdx >= descriptorSets.length || drawCount <= 0 || pipeline == VK_NULL_HANDLE) {
             return;
         }
         int safeBoundsCount = Math.max(0, Math.min(boundsCount, boundsBuffer.capacity()));
+        collectDrawCounts(frameIdx);
+        if (occlusionCullingEnabled && occlusion.pyramid().prepare(stack)) {
+            for (long set : descriptorSets) {
+                writeHiZBinding(device, stack, set, occlusion.pyramid());
+            }
+        }
+        writeOcclusionParams(frameIdx);
+        if (!historyCleared) {
+            vkCmdFillBuffer(commandBuffer, occlusion.historyBuffer(), 0, VK_WHOLE_SIZE, 0);
+            historyCleared = true;
+        }
         resetDrawCount(commandBuffer, frameIdx);
         barrierTransferToCompute(commandBuffer, frameIdx);
+        // Visibility history is written by earlier frames' dispatches and the pyramid by their Hi-Z builds.
+        memoryBarrier(
+                stack,
+                commandBuffer,
+                VK_PIPELINE_STAGE_TRANSFER_BIT | VK_PIPELINE_STAGE_COMPUTE_SHADER_BIT,
+                VK_PIPELINE_STAGE_COMPUTE_SHADER_BIT,
+                VK_ACCESS_TRANSFER_WRITE_BIT | VK_ACCESS_SHADER_WRITE_BIT,
+                VK_ACCESS_SHADER_READ_BIT | VK_ACCESS_SHADER_WRITE_BIT
+        );
 
         vkCmdBindPipeline(commandBuffer, VK_PIPELINE_BIND_POINT_COMPUTE, pipeline);
         vkCmdBindDescriptorSets(
@@ -157,7 +491,7 @@ public final class VulkanCullingComputePass implements ComputeCullingDispatch {
         );
 
         ByteBuffer push = stack.malloc(PUSH_BYTES);
-        float[] planes = extractFrustumPlanes(viewProjMatrix);
+        InstanceFrustumCuller.frustumPlanes(viewProjMatrix, planes);
         for (float value : planes) {
             push.putFloat(value);
         }
@@ -176,6 +510,111 @@ public final class VulkanCullingComputePass implements ComputeCullingDispatch {
         int groups = Math.max(1, (drawCount + LOCAL_SIZE_X - 1) / LOCAL_SIZE_X);
         vkCmdDispatch(commandBuffer, groups, 1, 1);
         barrierComputeToIndirect(commandBuffer, frameIdx);
+        copyDrawCountsToReadback(stack, commandBuffer, frameIdx);
+    }
+
+    /**
+     * Builds the Hi-Z pyramid from this frame's depth buffer for the next frame's occlusion test. Records
+     * after the render graph, with {@code depthLayout} the layout the graph left the depth image in;
+     * {@code viewProjMatrix} must be the matrix the depth was rendered with.
+     */
+    public void buildHiZ(
+            MemoryStack stack,
+            VkCommandBuffer commandBuffer,
+            int frameIdx,
+            long depthImage,
+            int depthFormat,
+            int depthLayout,
+            int width,
+            int height,
+            float[] viewProjMatrix
+    ) throws EngineException {
+        if (!occlusionCullingEnabled) {
+            return;
+        }
+        occlusion.pyramid().build(
+                stack,
+                commandBuffer,
+                frameIdx,
+                depthImage,
+                depthFormat,
+                depthLayout,
+                width,
+                height,
+                viewProjMatrix
+        );
+    }
+
+    public boolean occlusionCullingEnabled() {
+        return occlusionCullingEnabled;
+    }
+
+    /**
+     * Draws that survived culling, read back from the GPU. Like the other {@code last*} counts below it
+     * lags by the frames in flight, since a slot's counts are collected when that slot is reused.
+     */
+    public int lastVisibleDraws() {
+        return lastVisibleDraws;
+    }
+
+    public int lastOcclusionCulledDraws() {
+        return lastOcclusionCulledDraws;
+    }
+
+    public int lastFrustumCulledDraws() {
+        return lastFrustumCulledDraws;
+    }
+
+    private void collectDrawCounts(int frameIdx) {
+        if (!readbackPending[frameIdx]) {
+            return;
+        }
+        long address = occlusion.readbackAddresses()[frameIdx];
+        int visible = 0;
+        for (int i = 0; i < VARIANT_COUNT_SLOTS; i++) {
+            visible += memGetInt(address + (long) i * Integer.BYTES);
+        }
+        lastVisibleDraws = visible;
+        lastOcclusionCulledDraws = memGetInt(address + (long) OCCLUSION_CULLED_SLOT * Integer.BYTES);
+        lastFrustumCulledDraws = memGetInt(address + (long) FRUSTUM_CULLED_SLOT * Integer.BYTES);
+        readbackPending[frameIdx] = false;
+    }
+
+    private void writeOcclusionParams(int frameIdx) {
+        VulkanHiZPyramid pyramid = occlusion.pyramid();
+        long address = occlusion.paramAddresses()[frameIdx];
+        float[] matrix = pyramid.viewProj();
+        for (int i = 0; i < 16; i++) {
+            memPutFloat(address + (long) i * Float.BYTES, matrix[i]);
+        }
+        long info = address + 16L * Float.BYTES;
+        memPutInt(info, occlusionCullingEnabled && pyramid.valid() ? 1 : 0);
+        memPutInt(info + 4L, pyramid.levels());
+        memPutInt(info + 8L, pyramid.width());
+        memPutInt(info + 12L, pyramid.height());
+    }
+
+    private void copyDrawCountsToReadback(MemoryStack stack, VkCommandBuffer commandBuffer, int frameIdx) {
+        memoryBarrier(
+                stack,
+                commandBuffer,
+                VK_PIPELINE_STAGE_COMPUTE_SHADER_BIT,
+                VK_PIPELINE_STAGE_TRANSFER_BIT,
+                VK_ACCESS_SHADER_WRITE_BIT,
+                VK_ACCESS_TRANSFER_READ_BIT
+        );
+        VkBufferCopy.Buffer region = VkBufferCopy.calloc(1, stack);
+        region.get(0).srcOffset(0).dstOffset(0).size(DRAW_COUNT_BUFFER_BYTES);
+        vkCmdCopyBuffer(commandBuffer, drawCountBuffers[frameIdx], occlusion.readbackBuffers()[frameIdx], region);
+        memoryBarrier(
+                stack,
+                commandBuffer,
+                VK_PIPELINE_STAGE_TRANSFER_BIT,
+                VK_PIPELINE_STAGE_HOST_BIT,
+                VK_ACCESS_TRANSFER_WRITE_BIT,
+                VK_ACCESS_HOST_READ_BIT
+        );
+        readbackPending[frameIdx] = true;
     }
 
     @Override
@@ -205,6 +644,10 @@ public final class VulkanCullingComputePass implements ComputeCullingDispatch {
     }
 
     public void destroy() {
+        if (instanceCulling != null) {
+            destroyInstanceCulling(device, instanceCulling);
+        }
+        destroyOcclusion(device, occlusion);
         if (pipeline != VK_NULL_HANDLE) {
             vkDestroyPipeline(device, pipeline, null);
         }
@@ -289,12 +732,224 @@ public final class VulkanCullingComputePass implements ComputeCullingDispatch {
         }
     }
 
+    private static void memoryBarrier(
+            MemoryStack stack,
+            VkCommandBuffer commandBuffer,
+            int srcStageMask,
+            int dstStageMask,
+            int srcAccessMask,
+            int dstAccessMask
+    ) {
+        VkMemoryBarrier.Buffer barrier = VkMemoryBarrier.calloc(1, stack);
+        barrier.get(0)
+                .sType(VK_STRUCTURE_TYPE_MEMORY_BARRIER)
+                .srcAccessMask(srcAccessMask)
+                .dstAccessMask(dstAccessMask);
+        vkCmdPipelineBarrier(commandBuffer, srcStageMask, dstStageMask, 0, barrier, null, null);
+    }
+
+    private static InstanceCulling createInstanceCulling(
+            VkDevice device,
+            VkPhysicalDevice physicalDevice,
+            MemoryStack stack,
+            int frameCount
+    ) throws EngineException {
+        long[] visibleIndexBuffers = new long[frameCount];
+        long[] visibleIndexMemories = new long[frameCount];
+        for (int i = 0; i < frameCount; i++) {
+            VulkanBufferAlloc alloc;
+            try {
+                alloc = VulkanBufferOps.createBuffer(
+                        device,
+                        physicalDevice,
+                        stack,
+                        VISIBLE_INDEX_CAPACITY * Integer.BYTES,
+                        VK_BUFFER_USAGE_STORAGE_BUFFER_BIT | VK_BUFFER_USAGE_TRANSFER_SRC_BIT,
+                        VK_MEMORY_PROPERTY_DEVICE_LOCAL_BIT
+                );
+            } catch (GpuException ex) {
+                throw new EngineException(
+                        EngineErrorCode.BACKEND_INIT_FAILED,
+                        "Failed to create instance culling visible-index buffer: " + ex.getMessage(),
+                        false
+                );
+            }
+            visibleIndexBuffers[i] = alloc.buffer();
+            visibleIndexMemories[i] = alloc.memory();
+        }
+        long setLayout = createDescriptorSetLayout(device, stack, INSTANCE_BINDINGS);
+        int setCount = frameCount * MAX_INSTANCE_CULL_BATCHES;
+        long pool = createDescriptorPool(device, stack, setCount, INSTANCE_BINDINGS);
+        long[][] sets = new long[frameCount][];
+        for (int i = 0; i < frameCount; i++) {
+            sets[i] = allocateDescriptorSets(device, stack, pool, setLayout, MAX_INSTANCE_CULL_BATCHES);
+        }
+        long layout = createPipelineLayout(device, stack, setLayout, INSTANCE_PUSH_BYTES);
+        long instancePipeline = createPipeline(
+                device,
+                stack,
+                layout,
+                VulkanCullingComputeSource.instanceCompute(),
+                "instance_culling.comp"
+        );
+        return new InstanceCulling(setLayout, pool, sets, visibleIndexBuffers, visibleIndexMemories, layout, instancePipeline);
+    }
+
+    private static void destroyInstanceCulling(VkDevice device, InstanceCulling culling) {
+        if (culling.pipeline() != VK_NULL_HANDLE) {
+            vkDestroyPipeline(device, culling.pipeline(), null);
+        }
+        if (culling.pipelineLayout() != VK_NULL_HANDLE) {
+            vkDestroyPipelineLayout(device, culling.pipelineLayout(), null);
+        }
+        if (culling.descriptorPool() != VK_NULL_HANDLE) {
+            vkDestroyDescriptorPool(device, culling.descriptorPool(), null);
+        }
+        if (culling.descriptorSetLayout() != VK_NULL_HANDLE) {
+            vkDestroyDescriptorSetLayout(device, culling.descriptorSetLayout(), null);
+        }
+        for (int i = 0; i < culling.visibleIndexBuffers().length; i++) {
+            if (culling.visibleIndexBuffers()[i] != VK_NULL_HANDLE) {
+                vkDestroyBuffer(device, culling.visibleIndexBuffers()[i], null);
+            }
+            if (culling.visibleIndexMemories()[i] != VK_NULL_HANDLE) {
+                vkFreeMemory(device, culling.visibleIndexMemories()[i], null);
+            }
+        }
+    }
+
+    private static Occlusion createOcclusion(
+            VkDevice device,
+            VkPhysicalDevice physicalDevice,
+            MemoryStack stack,
+            int frameCount,
+            int meshCapacity
+    ) throws EngineException {
+        long[] paramBuffers = new long[frameCount];
+        long[] paramMemories = new long[frameCount];
+        long[] paramAddresses = new long[frameCount];
+        long[] readbackBuffers = new long[frameCount];
+        long[] readbackMemories = new long[frameCount];
+        long[] readbackAddresses = new long[frameCount];
+        for (int i = 0; i < frameCount; i++) {
+            VulkanBufferAlloc params = createBuffer(
+                    device,
+                    physicalDevice,
+                    stack,
+                    OCCLUSION_PARAMS_BYTES,
+                    VK_BUFFER_USAGE_STORAGE_BUFFER_BIT,
+                    VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT | VK_MEMORY_PROPERTY_HOST_COHERENT_BIT,
+                    "occlusion parameter"
+            );
+            paramBuffers[i] = params.buffer();
+            paramMemories[i] = params.memory();
+            paramAddresses[i] = map(device, stack, params.memory(), OCCLUSION_PARAMS_BYTES);
+            VulkanBufferAlloc readback = createBuffer(
+                    device,
+                    physicalDevice,
+                    stack,
+                    DRAW_COUNT_BUFFER_BYTES,
+                    VK_BUFFER_USAGE_TRANSFER_DST_BIT,
+                    VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT | VK_MEMORY_PROPERTY_HOST_COHERENT_BIT,
+                    "draw-count readback"
+            );
+            readbackBuffers[i] = readback.buffer();
+            readbackMemories[i] = readback.memory();
+            readbackAddresses[i] = map(device, stack, readback.memory(), DRAW_COUNT_BUFFER_BYTES);
+        }
+        VulkanBufferAlloc history = createBuffer(
+                device,
+                physicalDevice,
+                stack,
+                Math.max(1, meshCapacity) * Integer.BYTES,
+                VK_BUFFER_USAGE_STORAGE_BUFFER_BIT | VK_BUFFER_USAGE_TRANSFER_DST_BIT,
+                VK_MEMORY_PROPERTY_DEVICE_LOCAL_BIT,
+                "visibility history"
+        );
+        VulkanHiZPyramid pyramid = VulkanHiZPyramid.create(device, physicalDevice, frameCount);
+        return new Occlusion(
+                pyramid,
+                paramBuffers,
+                paramMemories,
+                paramAddresses,
+                readbackBuffers,
+                readbackMemories,
+                readbackAddresses,
+                history.buffer(),
+                history.memory()
+        );
+    }
+
+    private static void destroyOcclusion(VkDevice device, Occlusion occlusion) {
+        occlusion.pyramid().destroy();
+        for (int i = 0; i < occlusion.paramBuffers().length; i++) {
+            destroyBuffer(device, occlusion.paramBuffers()[i], occlusion.paramMemories()[i]);
+            destroyBuffer(device, occlusion.readbackBuffers()[i], occlusion.readbackMemories()[i]);
+        }
+        destroyBuffer(device, occlusion.historyBuffer(), occlusion.historyMemory());
+    }
+
+    private static VulkanBufferAlloc createBuffer(
+            VkDevice device,
+            VkPhysicalDevice physicalDevice,
+            MemoryStack stack,
+            int bytes,
+            int usage,
+            int memoryProperties,
+            String label
+    ) throws EngineException {
+        try {
+            return VulkanBufferOps.createBuffer(device, physicalDevice, stack, bytes, usage, memoryProperties);
+        } catch (GpuException ex) {
+            throw new EngineException(
+                    EngineErrorCode.BACKEND_INIT_FAILED,
+                    "Failed to create culling " + label + " buffer: " + ex.getMessage(),
+                    false
+            );
+        }
+    }
+
+    private static long map(VkDevice device, MemoryStack stack, long memory, int bytes) throws EngineException {
+        PointerBuffer mapped = stack.mallocPointer(1);
+        int result = vkMapMemory(device, memory, 0, bytes, 0, mapped);
+        if (result != VK_SUCCESS || mapped.get(0) == 0L) {
+            throw new EngineException(
+                    EngineErrorCode.BACKEND_INIT_FAILED,
+                    "vkMapMemory(culling) failed: " + result,
+                    false
+            );
+        }
+        return mapped.get(0);
+    }
+
+    private static void destroyBuffer(VkDevice device, long buffer, long memory) {
+        if (buffer != VK_NULL_HANDLE) {
+            vkDestroyBuffer(device, buffer, null);
+        }
+        if (memory != VK_NULL_HANDLE) {
+            vkFreeMemory(device, memory, null);
+        }
+    }
+
     private static long createDescriptorSetLayout(VkDevice device, MemoryStack stack) throws EngineException {
-        VkDescriptorSetLayoutBinding.Buffer bindings = VkDescriptorSetLayoutBinding.calloc(4, stack);
-        for (int i = 0; i < 4; i++) {
+        int[] types = new int[CULLING_BINDINGS];
+        Arrays.fill(types, VK_DESCRIPTOR_TYPE_STORAGE_BUFFER);
+        types[HIZ_BINDING] = VK_DESCRIPTOR_TYPE_COMBINED_IMAGE_SAMPLER;
+        return createDescriptorSetLayout(device, stack, types);
+    }
+
+    private static long createDescriptorSetLayout(VkDevice device, MemoryStack stack, int bindingCount) throws EngineException {
+        int[] types = new int[bindingCount];
+        Arrays.fill(types, VK_DESCRIPTOR_TYPE_STORAGE_BUFFER);
+        return createDescriptorSetLayout(device, stack, types);
+    }
+
+    private static long createDescriptorSetLayout(VkDevice device, MemoryStack stack, int[] descriptorTypes) throws EngineException {
+        VkDescriptorSetLayoutBinding.Buffer bindings = VkDescriptorSetLayoutBinding.calloc(descriptorTypes.length, stack);
+        for (int i = 0; i < descriptorTypes.length; i++) {
             bindings.get(i)
                     .binding(i)
-                    .descriptorType(VK_DESCRIPTOR_TYPE_STORAGE_BUFFER)
+                    .descriptorType(descriptorTypes[i])
                     .descriptorCount(1)
                     .stageFlags(VK_SHADER_STAGE_COMPUTE_BIT);
         }
@@ -314,10 +969,34 @@ public final class VulkanCullingComputePass implements ComputeCullingDispatch {
     }
 
     private static long createDescriptorPool(VkDevice device, MemoryStack stack, int frameCount) throws EngineException {
-        VkDescriptorPoolSize.Buffer sizes = VkDescriptorPoolSize.calloc(1, stack);
+        return createDescriptorPool(device, stack, frameCount, CULLING_BINDINGS - 1, 1);
+    }
+
+    private static long createDescriptorPool(
+            VkDevice device,
+            MemoryStack stack,
+            int frameCount,
+            int bindingsPerSet
+    ) throws EngineException {
+        return createDescriptorPool(device, stack, frameCount, bindingsPerSet, 0);
+    }
+
+    private static long createDescriptorPool(
+            VkDevice device,
+            MemoryStack stack,
+            int frameCount,
+            int bindingsPerSet,
+            int samplerBindingsPerSet
+    ) throws EngineException {
+        VkDescriptorPoolSize.Buffer sizes = VkDescriptorPoolSize.calloc(samplerBindingsPerSet > 0 ? 2 : 1, stack);
         sizes.get(0)
                 .type(VK_DESCRIPTOR_TYPE_STORAGE_BUFFER)
-                .descriptorCount(Math.max(1, frameCount) * 4);
+                .descriptorCount(Math.max(1, frameCount) * bindingsPerSet);
+        if (samplerBindingsPerSet > 0) {
+            sizes.get(1)
+                    .type(VK_DESCRIPTOR_TYPE_COMBINED_IMAGE_SAMPLER)
+                    .descriptorCount(Math.max(1, frameCount) * samplerBindingsPerSet);
+        }
         VkDescriptorPoolCreateInfo info = VkDescriptorPoolCreateInfo.calloc(stack)
                 .sType(VK_STRUCTURE_TYPE_DESCRIPTOR_POOL_CREATE_INFO)
                 .maxSets(Math.max(1, frameCount))
@@ -372,32 +1051,57 @@ public final class VulkanCullingComputePass implements ComputeCullingDispatch {
             long boundsBuffer,
             long inputDrawBuffer,
             long outputDrawBuffer,
-            long drawCountBuffer
+            long drawCountBuffer,
+            long occlusionParamBuffer,
+            long historyBuffer
     ) {
-        VkDescriptorBufferInfo.Buffer infos = VkDescriptorBufferInfo.calloc(4, stack);
+        VkDescriptorBufferInfo.Buffer infos = VkDescriptorBufferInfo.calloc(6, stack);
         infos.get(0).buffer(boundsBuffer).offset(0).range(VK_WHOLE_SIZE);
         infos.get(1).buffer(inputDrawBuffer).offset(0).range(VK_WHOLE_SIZE);
         infos.get(2).buffer(outputDrawBuffer).offset(0).range(VK_WHOLE_SIZE);
         infos.get(3).buffer(drawCountBuffer).offset(0).range(DRAW_COUNT_BUFFER_BYTES);
+        infos.get(4).buffer(occlusionParamBuffer).offset(0).range(OCCLUSION_PARAMS_BYTES);
+        infos.get(5).buffer(historyBuffer).offset(0).range(VK_WHOLE_SIZE);
+        int[] bindings = {0, 1, 2, 3, 5, 6};
 
-        VkWriteDescriptorSet.Buffer writes = VkWriteDescriptorSet.calloc(4, stack);
-        for (int i = 0; i < 4; i++) {
+        VkWriteDescriptorSet.Buffer writes = VkWriteDescriptorSet.calloc(bindings.length, stack);
+        for (int i = 0; i < bindings.length; i++) {
             writes.get(i)
                     .sType(VK_STRUCTURE_TYPE_WRITE_DESCRIPTOR_SET)
                     .dstSet(descriptorSet)
-                    .dstBinding(i)
+                    .dstBinding(bindings[i])
                     .descriptorType(VK_DESCRIPTOR_TYPE_STORAGE_BUFFER)
                     .pBufferInfo(VkDescriptorBufferInfo.calloc(1, stack).put(0, infos.get(i)));
         }
         vkUpdateDescriptorSets(device, writes, null);
     }
 
-    private static long createPipelineLayout(VkDevice device, MemoryStack stack, long descriptorSetLayout) throws EngineException {
+    private static void writeHiZBinding(VkDevice device, MemoryStack stack, long descriptorSet, VulkanHiZPyramid pyramid) {
+        VkWriteDescriptorSet.Buffer writes = VkWriteDescriptorSet.calloc(1, stack);
+        writes.get(0)
+                .sType(VK_STRUCTURE_TYPE_WRITE_DESCRIPTOR_SET)
+                .dstSet(descriptorSet)
+                .dstBinding(HIZ_BINDING)
+                .descriptorType(VK_DESCRIPTOR_TYPE_COMBINED_IMAGE_SAMPLER)
+                .descriptorCount(1)
+                .pImageInfo(VkDescriptorImageInfo.calloc(1, stack)
+                        .sampler(pyramid.samplerHandle())
+                        .imageView(pyramid.sampledViewHandle())
+                        .imageLayout(VK_IMAGE_LAYOUT_GENERAL));
+        vkUpdateDescriptorSets(device, writes, null);
+    }
+
+    private static long createPipelineLayout(
+            VkDevice device,
+            MemoryStack stack,
+            long descriptorSetLayout,
+            int pushBytes
+    ) throws EngineException {
         VkPushConstantRange.Buffer range = VkPushConstantRange.calloc(1, stack);
         range.get(0)
                 .stageFlags(VK_SHADER_STAGE_COMPUTE_BIT)
                 .offset(0)
-                .size(PUSH_BYTES);
+                .size(pushBytes);
         VkPipelineLayoutCreateInfo info = VkPipelineLayoutCreateInfo.calloc(stack)
                 .sType(VK_STRUCTURE_TYPE_PIPELINE_LAYOUT_CREATE_INFO)
                 .pSetLayouts(stack.longs(descriptorSetLayout))
@@ -414,9 +1118,14 @@ public final class VulkanCullingComputePass implements ComputeCullingDispatch {
         return pLayout.get(0);
     }
 
-    private static long createPipeline(VkDevice device, MemoryStack stack, long pipelineLayout) throws EngineException {
-        String source = VulkanCullingComputeSource.compute();
-        ByteBuffer spv = VulkanShaderCompiler.compileGlslToSpv(source, shaderc_glsl_compute_shader, "culling.comp");
+    private static long createPipeline(
+            VkDevice device,
+            MemoryStack stack,
+            long pipelineLayout,
+            String source,
+            String sourceName
+    ) throws EngineException {
+        ByteBuffer spv = VulkanShaderCompiler.compileGlslToSpv(source, shaderc_glsl_compute_shader, sourceName);
         long shaderModule = VK_NULL_HANDLE;
         try {
             shaderModule = VulkanShaderCompiler.createShaderModule(device, stack, spv);
@@ -445,39 +1154,4 @@ public final class VulkanCullingComputePass implements ComputeCullingDispatch {
             }
         }
     }
-
-    private static float[] extractFrustumPlanes(float[] viewProj) {
-        float[] m = viewProj == null || viewProj.length != 16 ? identityMatrixArray() : viewProj;
-
-        float r0x = m[0], r0y = m[4], r0z = m[8], r0w = m[12];
-        float r1x = m[1], r1y = m[5], r1z = m[9], r1w = m[13];
-        float r2x = m[2], r2y = m[6], r2z = m[10], r2w = m[14];
-        float r3x = m[3], r3y = m[7], r3z = m[11], r3w = m[15];
-
-        float[] out = new float[24];
-        writePlane(out, 0, r3x + r0x, r3y + r0y, r3z + r0z, r3w + r0w); // left
-        writePlane(out, 4, r3x - r0x, r3y - r0y, r3z - r0z, r3w - r0w); // right
-        writePlane(out, 8, r3x + r1x, r3y + r1y, r3z + r1z, r3w + r1w); // bottom
-        writePlane(out, 12, r3x - r1x, r3y - r1y, r3z - r1z, r3w - r1w); // top
-        writePlane(out, 16, r3x + r2x, r3y + r2y, r3z + r2z, r3w + r2w); // near
-        writePlane(out, 20, r3x - r2x, r3y - r2y, r3z - r2z, r3w - r2w); // far
-        return out;
-    }
-
-    private static void writePlane(float[] out, int base, float x, float y, float z, float w) {
-        float invLen = (float) (1.0 / Math.max(1e-6, Math.sqrt((x * x) + (y * y) + (z * z))));
-        out[base] = x * invLen;
-        out[base + 1] = y * invLen;
-        out[base + 2] = z * invLen;
-        out[base + 3] = w * invLen;
-    }
-
-    private static float[] identityMatrixArray() {
-        return new float[]{
-                1f, 0f, 0f, 0f,
-                0f, 1f, 0f, 0f,
-                0f, 0f, 1f, 0f,
-                0f, 0f, 0f, 1f
-        };
-    }
 }
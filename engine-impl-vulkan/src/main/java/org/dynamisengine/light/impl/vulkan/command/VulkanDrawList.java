@@ -0,0 +1,320 @@
+package org.dynamisengine.light.impl.vulkan.command;
+
+import org.dynamisengine.light.impl.vulkan.model.VulkanGpuMesh;
+import org.dynamisengine.light.impl.vulkan.model.VulkanInstanceBatch;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import static org.lwjgl.vulkan.VK10.VK_NULL_HANDLE;
+
+/**
+ * Reusable structure-of-arrays draw list ordered by packed 64-bit sort keys.
+ *
+ * <p>Key layout, most significant first:</p>
+ * <pre>
+ * [63..60] draw path (static, morph, skinned, skinned+morph, instanced) - indirect variant ranges stay contiguous
+ * [59..44] material  (16-bit hash of the texture descriptor set)
+ * [43..28] mesh      (16-bit hash of the vertex/index buffers)
+ * [27..12] depth     (view-space w, front to back, top 16 bits of the positive float)
+ * [11..0]  unused
+ * </pre>
+ *
+ * <p>Keys are ordered with a stable LSD radix sort over 8-bit digits; digits that are identical for every
+ * key are skipped. Draw commands are cached per slot and only rebuilt when their inputs change, so a
+ * steady scene records without allocating.</p>
+ */
+public final class VulkanDrawList {
+    static final int PATH_SHIFT = 60;
+    static final int MATERIAL_SHIFT = 44;
+    static final int MESH_SHIFT = 28;
+    static final int DEPTH_SHIFT = 12;
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    private long[] keys = new long[0];
+    private long[] scratchKeys = new long[0];
+    private int[] order = new int[0];
+    private int[] scratchOrder = new int[0];
+    private VulkanRenderCommandRecorder.MeshDrawCmd[] commands = new VulkanRenderCommandRecorder.MeshDrawCmd[0];
+    private VulkanRenderCommandRecorder.MeshDrawCmd[] sortedCommands = new VulkanRenderCommandRecorder.MeshDrawCmd[0];
+    private final int[] counts = new int[RADIX];
+    private int size;
+    private int visible;
+    private final View view = new View();
+
+    /** Starts a new frame; cached commands from the previous frame stay available for reuse. */
+    public void reset(int expectedDraws) {
+        ensureCapacity(expectedDraws);
+        size = 0;
+        visible = 0;
+    }
+
+    public void addMesh(VulkanGpuMesh mesh, int meshIndex, float[] viewProjMatrix) {
+        ensureCapacity(size + 1);
+        VulkanRenderCommandRecorder.MeshDrawCmd cached = commands[size];
+        boolean morphTargeted = mesh.morphTargetCount > 0 && mesh.morphDescriptorSetHandle != VK_NULL_HANDLE;
+        int morphVertexCount = mesh.morphTargets == null ? 0 : mesh.morphTargets.vertexCount();
+        if (cached == null
+                || cached.instanced()
+                || cached.uniformMeshIndex() != meshIndex
+                || cached.vertexBuffer() != mesh.vertexBuffer
+                || cached.indexBuffer() != mesh.indexBuffer
+                || cached.indexCount() != mesh.indexCount
+                || cached.textureDescriptorSet() != mesh.textureDescriptorSet
+                || cached.reflectionOverrideMode() != mesh.reflectionOverrideMode
+                || cached.skinned() != mesh.skinned
+                || cached.skinningBufferHandle() != mesh.skinningBufferHandle
+                || cached.bindlessJointHandle() != mesh.bindlessJointHandle
+                || cached.bindlessMorphDeltaHandle() != mesh.bindlessMorphDeltaHandle
+                || cached.bindlessMorphWeightHandle() != mesh.bindlessMorphWeightHandle
+                || cached.morphTargeted() != morphTargeted
+                || cached.morphDescriptorSetHandle() != mesh.morphDescriptorSetHandle
+                || cached.morphTargetCount() != mesh.morphTargetCount
+                || cached.morphVertexCount() != morphVertexCount) {
+            cached = new VulkanRenderCommandRecorder.MeshDrawCmd(
+                    mesh.vertexBuffer,
+                    mesh.indexBuffer,
+                    mesh.indexCount,
+                    mesh.textureDescriptorSet,
+                    mesh.reflectionOverrideMode,
+                    meshIndex,
+                    mesh.skinned,
+                    mesh.skinningBufferHandle,
+                    mesh.bindlessJointHandle,
+                    mesh.bindlessMorphDeltaHandle,
+                    mesh.bindlessMorphWeightHandle,
+                    morphTargeted,
+                    mesh.morphDescriptorSetHandle,
+                    mesh.morphTargetCount,
+                    morphVertexCount,
+                    false,
+                    1,
+                    0,
+                    VK_NULL_HANDLE,
+                    VK_NULL_HANDLE,
+                    0L
+            );
+        }
+        add(cached, viewDepth(mesh, viewProjMatrix));
+    }
+
+    public void addInstanceBatch(VulkanGpuMesh mesh, int meshIndex, VulkanInstanceBatch batch, float[] viewProjMatrix) {
+        ensureCapacity(size + 1);
+        VulkanRenderCommandRecorder.MeshDrawCmd cached = commands[size];
+        long batchDescriptorSet = batch.buffer.descriptorSetHandle();
+        long sourceDescriptorSet = batch.buffer.sourceDescriptorSetHandle();
+        if (cached == null
+                || !cached.instanced()
+                || cached.uniformMeshIndex() != meshIndex
+                || cached.vertexBuffer() != mesh.vertexBuffer
+                || cached.indexBuffer() != mesh.indexBuffer
+                || cached.indexCount() != mesh.indexCount
+                || cached.textureDescriptorSet() != mesh.textureDescriptorSet
+                || cached.reflectionOverrideMode() != mesh.reflectionOverrideMode
+                || cached.instanceCount() != batch.instanceCount
+                || cached.instanceBatchDescriptorSet() != batchDescriptorSet
+                || cached.instanceSourceDescriptorSet() != sourceDescriptorSet
+                || cached.bindlessInstanceHandle() != batch.bindlessInstanceHandle) {
+            cached = new VulkanRenderCommandRecorder.MeshDrawCmd(
+                    mesh.vertexBuffer,
+                    mesh.indexBuffer,
+                    mesh.indexCount,
+                    mesh.textureDescriptorSet,
+                    mesh.reflectionOverrideMode,
+                    meshIndex,
+                    false,
+                    VK_NULL_HANDLE,
+                    0L,
+                    0L,
+                    0L,
+                    false,
+                    VK_NULL_HANDLE,
+                    0,
+                    0,
+                    true,
+                    batch.instanceCount,
+                    0,
+                    batchDescriptorSet,
+                    sourceDescriptorSet,
+                    batch.bindlessInstanceHandle
+            );
+        }
+        add(cached, viewDepth(mesh, viewProjMatrix));
+    }
+
+    /** Appends {@code draw}; {@code viewDepth} is the clip-space w of its bounds center. */
+    void add(VulkanRenderCommandRecorder.MeshDrawCmd draw, float viewDepth) {
+        ensureCapacity(size + 1);
+        commands[size] = draw;
+        keys[size] = sortKey(draw, viewDepth);
+        size++;
+    }
+
+    /** Sorts the list by key; draws with equal keys keep their insertion order. */
+    public void sort() {
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        visible = size;
+        if (size < 2) {
+            gatherSorted();
+            return;
+        }
+        long allOr = 0L;
+        long allAnd = -1L;
+        for (int i = 0; i < size; i++) {
+            allOr |= keys[i];
+            allAnd &= keys[i];
+        }
+        long varying = allOr ^ allAnd;
+        long[] srcKeys = keys;
+        int[] srcOrder = order;
+        long[] dstKeys = scratchKeys;
+        int[] dstOrder = scratchOrder;
+        for (int shift = 0; shift < Long.SIZE; shift += RADIX_BITS) {
+            if (((varying >>> shift) & (RADIX - 1)) == 0L) {
+                continue;
+            }
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < size; i++) {
+                counts[(int) (srcKeys[i] >>> shift) & (RADIX - 1)]++;
+            }
+            int offset = 0;
+            for (int digit = 0; digit < RADIX; digit++) {
+                int count = counts[digit];
+                counts[digit] = offset;
+                offset += count;
+            }
+            for (int i = 0; i < size; i++) {
+                int digit = (int) (srcKeys[i] >>> shift) & (RADIX - 1);
+                int target = counts[digit]++;
+                dstKeys[target] = srcKeys[i];
+                dstOrder[target] = srcOrder[i];
+            }
+            long[] swapKeys = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = swapKeys;
+            int[] swapOrder = srcOrder;
+            srcOrder = dstOrder;
+            dstOrder = swapOrder;
+        }
+        keys = srcKeys;
+        scratchKeys = dstKeys;
+        order = srcOrder;
+        scratchOrder = dstOrder;
+        gatherSorted();
+    }
+
+    /** Keeps only the first {@code count} sorted draws visible through {@link #draws()}. */
+    public void truncate(int count) {
+        visible = Math.max(0, Math.min(count, size));
+    }
+
+    /** Sorted, truncated view; reused across frames and valid from {@link #sort()} until the next {@link #reset}. */
+    public List<VulkanRenderCommandRecorder.MeshDrawCmd> draws() {
+        return view;
+    }
+
+    public int size() {
+        return visible;
+    }
+
+    /** Sort key at sorted position {@code index}. */
+    long keyAt(int index) {
+        return keys[index];
+    }
+
+    /** Insertion index of the draw at sorted position {@code index} in the last {@link #sort()}. */
+    int insertionIndexAt(int index) {
+        return order[index];
+    }
+
+    static long sortKey(VulkanRenderCommandRecorder.MeshDrawCmd draw, float viewDepth) {
+        long path = drawPathRank(draw);
+        long material = hash16(draw.textureDescriptorSet());
+        long mesh = hash16(draw.vertexBuffer() * 31L + draw.indexBuffer());
+        return (path << PATH_SHIFT)
+                | (material << MATERIAL_SHIFT)
+                | (mesh << MESH_SHIFT)
+                | ((long) depthBucket(viewDepth) << DEPTH_SHIFT);
+    }
+
+    static int drawPathRank(VulkanRenderCommandRecorder.MeshDrawCmd draw) {
+        if (draw.instanced()) {
+            return 4;
+        }
+        if (draw.skinned() && draw.morphTargeted()) {
+            return 3;
+        }
+        if (draw.skinned()) {
+            return 2;
+        }
+        if (draw.morphTargeted()) {
+            return 1;
+        }
+        return 0;
+    }
+
+    /** Positive IEEE floats order like their bit patterns, so the top 16 bits are a monotonic bucket. */
+    static int depthBucket(float viewDepth) {
+        if (!(viewDepth > 0f)) {
+            return 0;
+        }
+        return Float.floatToRawIntBits(viewDepth) >>> 15;
+    }
+
+    private static float viewDepth(VulkanGpuMesh mesh, float[] viewProjMatrix) {
+        float[] model = mesh.modelMatrix;
+        if (viewProjMatrix == null || viewProjMatrix.length < 16 || model == null || model.length < 16) {
+            return 0f;
+        }
+        float cx = mesh.localBoundsCenterX;
+        float cy = mesh.localBoundsCenterY;
+        float cz = mesh.localBoundsCenterZ;
+        float wx = model[0] * cx + model[4] * cy + model[8] * cz + model[12];
+        float wy = model[1] * cx + model[5] * cy + model[9] * cz + model[13];
+        float wz = model[2] * cx + model[6] * cy + model[10] * cz + model[14];
+        return viewProjMatrix[3] * wx + viewProjMatrix[7] * wy + viewProjMatrix[11] * wz + viewProjMatrix[15];
+    }
+
+    private static int hash16(long value) {
+        return (int) ((value * 0x9E3779B97F4A7C15L) >>> 48);
+    }
+
+    private void gatherSorted() {
+        for (int i = 0; i < size; i++) {
+            sortedCommands[i] = commands[order[i]];
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= keys.length) {
+            return;
+        }
+        int capacity = Math.max(required, Math.max(16, keys.length * 2));
+        keys = Arrays.copyOf(keys, capacity);
+        scratchKeys = Arrays.copyOf(scratchKeys, capacity);
+        order = Arrays.copyOf(order, capacity);
+        scratchOrder = Arrays.copyOf(scratchOrder, capacity);
+        commands = Arrays.copyOf(commands, capacity);
+        sortedCommands = Arrays.copyOf(sortedCommands, capacity);
+    }
+
+    private final class View extends AbstractList<VulkanRenderCommandRecorder.MeshDrawCmd> implements RandomAccess {
+        @Override
+        public VulkanRenderCommandRecorder.MeshDrawCmd get(int index) {
+            if (index < 0 || index >= visible) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return sortedCommands[index];
+        }
+
+        @Override
+        public int size() {
+            return visible;
+        }
+    }
+}
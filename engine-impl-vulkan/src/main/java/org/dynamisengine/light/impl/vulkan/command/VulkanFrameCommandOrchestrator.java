@@ -5,7 +5,9 @@ import org.dynamisengine.light.api.error.EngineErrorCode;
 import org.dynamisengine.light.impl.vulkan.graph.VulkanAaPostRenderGraphPlanner;
 import org.dynamisengine.light.impl.vulkan.graph.VulkanExecutableRenderGraphPlan;
 import org.dynamisengine.light.impl.vulkan.graph.VulkanExecutableRenderGraphBuilder;
-import org.dynamisengine.light.impl.vulkan.graph.VulkanExecutableRenderGraphPlanner;
+import org.dynamisengine.light.impl.vulkan.graph.VulkanExecutableRenderGraphPlanCache;
+import org.dynamisengine.light.impl.vulkan.graph.VulkanRenderGraphBarrier;
+import org.dynamisengine.light.impl.vulkan.graph.VulkanRenderGraphBarrierPlan;
 import org.dynamisengine.light.impl.vulkan.graph.VulkanResourceBindingTable;
 import org.dynamisengine.light.impl.vulkan.model.VulkanGpuMesh;
 import org.dynamisengine.light.impl.vulkan.model.VulkanInstanceBatch;
@@ -13,7 +15,6 @@ import org.lwjgl.system.MemoryStack;
 import org.lwjgl.vulkan.VK10;
 import org.lwjgl.vulkan.VkCommandBuffer;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.function.IntUnaryOperator;
@@ -34,12 +35,32 @@ public final class VulkanFrameCommandOrchestrator {
     private static final VulkanPlanarReflectionPassRecorder PLANAR_RECORDER = new VulkanPlanarReflectionPassRecorder();
     private static final VulkanMainPassRecorder MAIN_RECORDER = new VulkanMainPassRecorder();
     private static final VulkanPostCompositePassRecorder POST_COMPOSITE_RECORDER = new VulkanPostCompositePassRecorder();
-    private static final VulkanExecutableRenderGraphPlanner EXECUTABLE_GRAPH_PLANNER = new VulkanExecutableRenderGraphPlanner();
     private static final VulkanRenderGraphExecutor GRAPH_EXECUTOR = new VulkanRenderGraphExecutor();
 
     private VulkanFrameCommandOrchestrator() {
     }
 
+    /**
+     * Per-context state reused across frames: the sorted draw list and compiled graph plans with their
+     * transient memory packing estimate.
+     */
+    public static final class FrameState {
+        private final VulkanDrawList drawList = new VulkanDrawList();
+        private final VulkanExecutableRenderGraphPlanCache graphPlans;
+
+        public FrameState(boolean transientPackingEnabled) {
+            this.graphPlans = new VulkanExecutableRenderGraphPlanCache(transientPackingEnabled);
+        }
+
+        public VulkanExecutableRenderGraphPlanCache.Stats graphPlanCacheStats() {
+            return graphPlans.stats();
+        }
+
+        public VulkanExecutableRenderGraphPlanCache.TransientMemoryStats transientMemoryStats() {
+            return graphPlans.transientMemory();
+        }
+    }
+
     @FunctionalInterface
     public interface ThrowingRunnable {
         void run() throws EngineException;
@@ -50,10 +71,11 @@ public final class VulkanFrameCommandOrchestrator {
             VkCommandBuffer commandBuffer,
             int imageIndex,
             int frameIdx,
+            FrameState state,
             FrameHooks hooks,
             Inputs inputs
     ) throws EngineException {
-        record(stack, commandBuffer, imageIndex, frameIdx, hooks, inputs, null);
+        record(stack, commandBuffer, imageIndex, frameIdx, state, hooks, inputs, null);
     }
 
     public static void record(
@@ -61,6 +83,7 @@ public final class VulkanFrameCommandOrchestrator {
             VkCommandBuffer commandBuffer,
             int imageIndex,
             int frameIdx,
+            FrameState state,
             FrameHooks hooks,
             Inputs inputs,
             org.dynamisengine.light.impl.vulkan.profile.VulkanGpuTimestamps gpuTimestamps
@@ -81,31 +104,9 @@ public final class VulkanFrameCommandOrchestrator {
         hooks.uploadUniforms().run();
         long frameDescriptorSet = inputs.descriptorSetForFrame().applyAsLong(frameIdx);
         int drawCount = inputs.gpuMeshes().isEmpty() ? 1 : Math.min(inputs.maxDynamicSceneObjects(), inputs.gpuMeshes().size());
-        List<VulkanRenderCommandRecorder.MeshDrawCmd> meshes = new ArrayList<>(Math.min(drawCount, inputs.gpuMeshes().size()));
+        state.drawList.reset(drawCount + (inputs.instanceBatches() == null ? 0 : inputs.instanceBatches().size()));
         for (int i = 0; i < drawCount && i < inputs.gpuMeshes().size(); i++) {
-            VulkanGpuMesh mesh = inputs.gpuMeshes().get(i);
-            meshes.add(new VulkanRenderCommandRecorder.MeshDrawCmd(
-                    mesh.vertexBuffer,
-                    mesh.indexBuffer,
-                    mesh.indexCount,
-                    mesh.textureDescriptorSet,
-                    mesh.reflectionOverrideMode,
-                    i,
-                    mesh.skinned,
-                    mesh.skinningBufferHandle,
-                    mesh.bindlessJointHandle,
-                    mesh.bindlessMorphDeltaHandle,
-                    mesh.bindlessMorphWeightHandle,
-                    mesh.morphTargetCount > 0 && mesh.morphDescriptorSetHandle != VK_NULL_HANDLE,
-                    mesh.morphDescriptorSetHandle,
-                    mesh.morphTargetCount,
-                    mesh.morphTargets == null ? 0 : mesh.morphTargets.vertexCount(),
-                    false,
-                    1,
-                    0,
-                    VK_NULL_HANDLE,
-                    0L
-            ));
+            state.drawList.addMesh(inputs.gpuMeshes().get(i), i, inputs.viewProjMatrix());
         }
         if (inputs.instanceBatches() != null) {
             for (VulkanInstanceBatch batch : inputs.instanceBatches()) {
@@ -116,54 +117,44 @@ public final class VulkanFrameCommandOrchestrator {
                 if (baseMeshIndex < 0 || baseMeshIndex >= inputs.gpuMeshes().size()) {
                     continue;
                 }
-                VulkanGpuMesh mesh = inputs.gpuMeshes().get(baseMeshIndex);
                 if (batch.buffer == null || batch.buffer.descriptorSetHandle() == VK_NULL_HANDLE) {
                     continue;
                 }
-                meshes.add(new VulkanRenderCommandRecorder.MeshDrawCmd(
-                        mesh.vertexBuffer,
-                        mesh.indexBuffer,
-                        mesh.indexCount,
-                        mesh.textureDescriptorSet,
-                        mesh.reflectionOverrideMode,
-                    baseMeshIndex,
-                    false,
-                    VK_NULL_HANDLE,
-                    0L,
-                    0L,
-                    0L,
-                    false,
-                    VK_NULL_HANDLE,
-                        0,
-                        0,
-                    true,
-                    batch.instanceCount,
-                    0,
-                        batch.buffer.descriptorSetHandle(),
-                        batch.bindlessInstanceHandle
-                ));
+                state.drawList.addInstanceBatch(inputs.gpuMeshes().get(baseMeshIndex), baseMeshIndex, batch, inputs.viewProjMatrix());
             }
         }
-        meshes.sort((left, right) -> Integer.compare(drawPathRank(left), drawPathRank(right)));
+        state.drawList.sort();
+        List<VulkanRenderCommandRecorder.MeshDrawCmd> meshes = state.drawList.draws();
         long activeIndirectBufferHandle = VK_NULL_HANDLE;
         long activeIndirectCountBufferHandle = VK_NULL_HANDLE;
         VulkanIndirectDrawBuffer activeIndirectBuffer = null;
         int activeDrawCount = meshes.size();
         if (inputs.indirectDrawBuffer() != null) {
             activeDrawCount = inputs.indirectDrawBuffer().upload(meshes);
-            if (activeDrawCount < meshes.size()) {
-                meshes = new ArrayList<>(meshes.subList(0, activeDrawCount));
-            }
+            state.drawList.truncate(activeDrawCount);
             activeIndirectBufferHandle = inputs.indirectDrawBuffer().bufferHandle();
             activeIndirectBuffer = inputs.indirectDrawBuffer();
             if (inputs.cullingComputePass() != null) {
-                inputs.cullingComputePass().uploadMeshBounds(inputs.gpuMeshes());
+                if (!inputs.bindlessActive() && inputs.instanceBatches() != null) {
+                    // Bindless instanced shaders fetch records from the heap, not the batch buffer.
+                    inputs.cullingComputePass().cullInstances(
+                            stack,
+                            commandBuffer,
+                            frameIdx,
+                            inputs.indirectDrawBuffer(),
+                            meshes,
+                            inputs.gpuMeshes(),
+                            inputs.instanceBatches(),
+                            inputs.viewProjMatrix()
+                    );
+                }
+                inputs.cullingComputePass().uploadMeshBounds(inputs.gpuMeshes(), meshes);
                 inputs.cullingComputePass().dispatch(
                         stack,
                         commandBuffer,
                         frameIdx,
                         activeDrawCount,
-                        inputs.gpuMeshes().size(),
+                        activeDrawCount,
                         inputs.viewProjMatrix()
                 );
                 activeIndirectBufferHandle = inputs.cullingComputePass().culledIndirectBufferHandle(frameIdx);
@@ -456,9 +447,14 @@ public final class VulkanFrameCommandOrchestrator {
             );
         }
 
-        VulkanExecutableRenderGraphPlan executablePlan = EXECUTABLE_GRAPH_PLANNER.compile(
+        VulkanExecutableRenderGraphPlan executablePlan = state.graphPlans.plan(
                 graphBuilder.build(),
-                VulkanAaPostRenderGraphPlanner.defaultImportedResources()
+                VulkanAaPostRenderGraphPlanner.defaultImportedResources(),
+                new VulkanExecutableRenderGraphPlanCache.TransientExtent(
+                        inputs.swapchainWidth(),
+                        inputs.swapchainHeight(),
+                        inputs.shadowMapResolution()
+                )
         );
         VulkanResourceBindingTable bindingTable = buildResourceBindingTable(inputs, imageIndex);
         Set<String> unboundResources = bindingTable.unboundResources(executablePlan.metadataPlan());
@@ -480,12 +476,28 @@ public final class VulkanFrameCommandOrchestrator {
 
         GRAPH_EXECUTOR.execute(stack, commandBuffer, executablePlan, bindingTable, gpuTimestamps);
 
+        if (inputs.cullingComputePass() != null && inputs.indirectDrawBuffer() != null
+                && imageIndex >= 0 && imageIndex < inputs.depthImages().length) {
+            // Next frame's occlusion test reads this frame's depth through the Hi-Z pyramid.
+            inputs.cullingComputePass().buildHiZ(
+                    stack,
+                    commandBuffer,
+                    frameIdx,
+                    inputs.depthImages()[imageIndex],
+                    inputs.depthFormat(),
+                    finalDepthLayout(executablePlan.barrierPlan()),
+                    inputs.swapchainWidth(),
+                    inputs.swapchainHeight(),
+                    inputs.viewProjMatrix()
+            );
+        }
+
         // UI pass: render overlay/UI after the main scene
         if (hooks.uiPassRecorder() != null) {
-            if (gpuTimestamps != null) gpuTimestamps.writePassStart(commandBuffer, "ui");
+            if (gpuTimestamps != null) gpuTimestamps.beginScope(commandBuffer, "ui");
             hooks.uiPassRecorder().record(commandBuffer, imageIndex,
                 inputs.swapchainWidth(), inputs.swapchainHeight());
-            if (gpuTimestamps != null) gpuTimestamps.writePassEnd(commandBuffer, "ui");
+            if (gpuTimestamps != null) gpuTimestamps.endScope(commandBuffer);
         }
 
         // GPU timing: frame end
@@ -499,22 +511,6 @@ public final class VulkanFrameCommandOrchestrator {
         }
     }
 
-    private static int drawPathRank(VulkanRenderCommandRecorder.MeshDrawCmd mesh) {
-        if (mesh.instanced()) {
-            return 4;
-        }
-        if (mesh.skinned() && mesh.morphTargeted()) {
-            return 3;
-        }
-        if (mesh.skinned()) {
-            return 2;
-        }
-        if (mesh.morphTargeted()) {
-            return 1;
-        }
-        return 0;
-    }
-
     private static long hashCommandStream(List<VulkanRenderCommandRecorder.MeshDrawCmd> meshes) {
         long hash = 1469598103934665603L;
         for (VulkanRenderCommandRecorder.MeshDrawCmd mesh : meshes) {
@@ -549,6 +545,19 @@ public final class VulkanFrameCommandOrchestrator {
         EngineException failure(String operation, int result);
     }
 
+    /** Layout the graph's barriers leave the depth image in; the main pass ends it as an attachment. */
+    static int finalDepthLayout(VulkanRenderGraphBarrierPlan barrierPlan) {
+        int layout = VK_IMAGE_LAYOUT_DEPTH_STENCIL_ATTACHMENT_OPTIMAL;
+        List<VulkanRenderGraphBarrier> barriers = barrierPlan.barriers();
+        for (int i = 0; i < barriers.size(); i++) {
+            VulkanRenderGraphBarrier barrier = barriers.get(i);
+            if ("depth".equals(barrier.resourceName()) && barrier.newLayout() >= 0) {
+                layout = barrier.newLayout();
+            }
+        }
+        return layout;
+    }
+
     static VulkanResourceBindingTable buildResourceBindingTable(Inputs inputs, int imageIndex) {
         long currentSwapchainImage = imageIndex >= 0 && imageIndex < inputs.swapchainImages().length
                 ? inputs.swapchainImages()[imageIndex]
@@ -0,0 +1,604 @@
+package org.dynamisengine.light.impl.vulkan.command;
+
+import org.dynamisengine.gpu.api.error.GpuException;
+import org.dynamisengine.gpu.vulkan.memory.VulkanImageAlloc;
+import org.dynamisengine.gpu.vulkan.memory.VulkanImageOps;
+import org.dynamisengine.light.api.error.EngineErrorCode;
+import org.dynamisengine.light.api.error.EngineException;
+import org.dynamisengine.light.impl.common.culling.HiZPyramid;
+import org.dynamisengine.light.impl.vulkan.shader.VulkanCullingComputeSource;
+import org.dynamisengine.light.impl.vulkan.shader.VulkanShaderCompiler;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.*;
+
+import java.nio.ByteBuffer;
+
+import static org.lwjgl.util.shaderc.Shaderc.shaderc_glsl_compute_shader;
+import static org.lwjgl.vulkan.VK10.*;
+
+/**
+ * Hierarchical depth pyramid for occlusion culling, built by a compute reduction from the main depth buffer.
+ *
+ * <p>The R32F image has {@link HiZPyramid#levelCount} mips at the depth extent and stays in
+ * {@code GENERAL} layout. {@link #build} runs after the main pass; the culling pass samples the result on
+ * the next frame together with the view-projection the depth was rendered with. Until the first build
+ * the pyramid is a 1x1 placeholder and {@link #valid()} is false.</p>
+ *
+ * <p>A new depth extent is only recorded by {@link #build}; the image is reallocated by {@link #prepare}
+ * before the next frame binds anything that samples it. Depth views are recreated per frame slot, so
+ * swapchain depth images can change without invalidating cached handles.</p>
+ */
+public final class VulkanHiZPyramid {
+    private static final int FORMAT = VK_FORMAT_R32_SFLOAT;
+    private static final int LOCAL_SIZE = 8;
+    private static final int PUSH_BYTES = 8 * Integer.BYTES;
+    private static final int MAX_LEVELS = 16;
+
+    private final VkDevice device;
+    private final VkPhysicalDevice physicalDevice;
+    private final long sampler;
+    private final long descriptorSetLayout;
+    private final long descriptorPool;
+    private final long pipelineLayout;
+    private final long pipeline;
+    private final float[] viewProj = new float[16];
+    private long image = VK_NULL_HANDLE;
+    private long memory = VK_NULL_HANDLE;
+    private long sampledView = VK_NULL_HANDLE;
+    private long[] levelViews = new long[0];
+    private long[] levelSets = new long[0];
+    private final long[] depthViews;
+    private long[] depthSets;
+    private int width;
+    private int height;
+    private int levels;
+    private int requestedWidth = 1;
+    private int requestedHeight = 1;
+    private boolean layoutInitialized;
+    private boolean valid;
+
+    private VulkanHiZPyramid(
+            VkDevice device,
+            VkPhysicalDevice physicalDevice,
+            long sampler,
+            long descriptorSetLayout,
+            long descriptorPool,
+            long pipelineLayout,
+            long pipeline,
+            int frameCount
+    ) {
+        this.device = device;
+        this.physicalDevice = physicalDevice;
+        this.sampler = sampler;
+        this.descriptorSetLayout = descriptorSetLayout;
+        this.descriptorPool = descriptorPool;
+        this.pipelineLayout = pipelineLayout;
+        this.pipeline = pipeline;
+        this.depthViews = new long[frameCount];
+        this.depthSets = new long[frameCount];
+    }
+
+    public static VulkanHiZPyramid create(
+            VkDevice device,
+            VkPhysicalDevice physicalDevice,
+            int frameCount
+    ) throws EngineException {
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            int frames = Math.max(1, frameCount);
+            long sampler = createSampler(device, stack);
+            long setLayout = createDescriptorSetLayout(device, stack);
+            long pool = createDescriptorPool(device, stack, MAX_LEVELS + frames);
+            long layout = createPipelineLayout(device, stack, setLayout);
+            long pipeline = createPipeline(device, stack, layout);
+            VulkanHiZPyramid pyramid = new VulkanHiZPyramid(
+                    device,
+                    physicalDevice,
+                    sampler,
+                    setLayout,
+                    pool,
+                    layout,
+                    pipeline,
+                    frames
+            );
+            pyramid.allocate(stack, 1, 1);
+            return pyramid;
+        }
+    }
+
+    /**
+     * Reallocates the pyramid when {@link #build} last saw a different depth extent. Waits for the device,
+     * so callers must invoke it before recording anything that references the current image this frame.
+     *
+     * @return true when the image was reallocated and sampling descriptors must be rewritten
+     */
+    public boolean prepare(MemoryStack stack) throws EngineException {
+        if (requestedWidth == width && requestedHeight == height) {
+            return false;
+        }
+        vkDeviceWaitIdle(device);
+        release();
+        vkResetDescriptorPool(device, descriptorPool, 0);
+        allocate(stack, requestedWidth, requestedHeight);
+        return true;
+    }
+
+    /**
+     * Records the reduction of {@code depthImage} (in {@code depthLayout}, restored afterwards) into the
+     * pyramid. A depth extent that differs from the pyramid's is only noted for {@link #prepare} and
+     * leaves the pyramid invalid for a frame.
+     */
+    public void build(
+            MemoryStack stack,
+            VkCommandBuffer commandBuffer,
+            int frameIdx,
+            long depthImage,
+            int depthFormat,
+            int depthLayout,
+            int depthWidth,
+            int depthHeight,
+            float[] depthViewProj
+    ) throws EngineException {
+        if (depthImage == VK_NULL_HANDLE || depthWidth <= 0 || depthHeight <= 0
+                || frameIdx < 0 || frameIdx >= depthSets.length
+                || depthViewProj == null || depthViewProj.length != 16) {
+            valid = false;
+            return;
+        }
+        if (depthWidth != width || depthHeight != height) {
+            requestedWidth = depthWidth;
+            requestedHeight = depthHeight;
+            valid = false;
+            return;
+        }
+        // The slot's previous frame has retired, so its view and set are free to replace.
+        if (depthViews[frameIdx] != VK_NULL_HANDLE) {
+            vkDestroyImageView(device, depthViews[frameIdx], null);
+        }
+        depthViews[frameIdx] = createView(device, stack, depthImage, depthFormat, VK_IMAGE_ASPECT_DEPTH_BIT, 0, 1);
+        writeSet(stack, depthSets[frameIdx], depthViews[frameIdx], VK_IMAGE_LAYOUT_SHADER_READ_ONLY_OPTIMAL, levelViews[0]);
+
+        VkImageMemoryBarrier.Buffer enter = VkImageMemoryBarrier.calloc(2, stack);
+        imageBarrier(enter.get(0), depthImage, VK_IMAGE_ASPECT_DEPTH_BIT, 0, 1,
+                depthLayout, VK_IMAGE_LAYOUT_SHADER_READ_ONLY_OPTIMAL,
+                VK_ACCESS_DEPTH_STENCIL_ATTACHMENT_WRITE_BIT, VK_ACCESS_SHADER_READ_BIT);
+        imageBarrier(enter.get(1), image, VK_IMAGE_ASPECT_COLOR_BIT, 0, levels,
+                layoutInitialized ? VK_IMAGE_LAYOUT_GENERAL : VK_IMAGE_LAYOUT_UNDEFINED, VK_IMAGE_LAYOUT_GENERAL,
+                VK_ACCESS_SHADER_READ_BIT, VK_ACCESS_SHADER_WRITE_BIT);
+        vkCmdPipelineBarrier(
+                commandBuffer,
+                VK_PIPELINE_STAGE_LATE_FRAGMENT_TESTS_BIT
+                        | VK_PIPELINE_STAGE_FRAGMENT_SHADER_BIT
+                        | VK_PIPELINE_STAGE_COMPUTE_SHADER_BIT,
+                VK_PIPELINE_STAGE_COMPUTE_SHADER_BIT,
+                0,
+                null,
+                null,
+                enter
+        );
+        layoutInitialized = true;
+
+        vkCmdBindPipeline(commandBuffer, VK_PIPELINE_BIND_POINT_COMPUTE, pipeline);
+        ByteBuffer push = stack.malloc(PUSH_BYTES);
+        VkImageMemoryBarrier.Buffer levelDone = VkImageMemoryBarrier.calloc(1, stack);
+        for (int level = 0; level < levels; level++) {
+            int dstW = HiZPyramid.levelExtent(width, level);
+            int dstH = HiZPyramid.levelExtent(height, level);
+            int srcW = level == 0 ? width : HiZPyramid.levelExtent(width, level - 1);
+            int srcH = level == 0 ? height : HiZPyramid.levelExtent(height, level - 1);
+            vkCmdBindDescriptorSets(
+                    commandBuffer,
+                    VK_PIPELINE_BIND_POINT_COMPUTE,
+                    pipelineLayout,
+                    0,
+                    stack.longs(level == 0 ? depthSets[frameIdx] : levelSets[level]),
+                    null
+            );
+            push.clear();
+            push.putInt(srcW).putInt(srcH).putInt(dstW).putInt(dstH);
+            push.putInt(level == 0 ? 1 : 0).putInt(0).putInt(0).putInt(0);
+            push.flip();
+            vkCmdPushConstants(commandBuffer, pipelineLayout, VK_SHADER_STAGE_COMPUTE_BIT, 0, push);
+            vkCmdDispatch(commandBuffer, (dstW + LOCAL_SIZE - 1) / LOCAL_SIZE, (dstH + LOCAL_SIZE - 1) / LOCAL_SIZE, 1);
+            imageBarrier(levelDone.get(0), image, VK_IMAGE_ASPECT_COLOR_BIT, level, 1,
+                    VK_IMAGE_LAYOUT_GENERAL, VK_IMAGE_LAYOUT_GENERAL,
+                    VK_ACCESS_SHADER_WRITE_BIT, VK_ACCESS_SHADER_READ_BIT);
+            vkCmdPipelineBarrier(
+                    commandBuffer,
+                    VK_PIPELINE_STAGE_COMPUTE_SHADER_BIT,
+                    VK_PIPELINE_STAGE_COMPUTE_SHADER_BIT,
+                    0,
+                    null,
+                    null,
+                    levelDone
+            );
+        }
+
+        VkImageMemoryBarrier.Buffer exit = VkImageMemoryBarrier.calloc(1, stack);
+        imageBarrier(exit.get(0), depthImage, VK_IMAGE_ASPECT_DEPTH_BIT, 0, 1,
+                VK_IMAGE_LAYOUT_SHADER_READ_ONLY_OPTIMAL, depthLayout,
+                VK_ACCESS_SHADER_READ_BIT,
+                VK_ACCESS_DEPTH_STENCIL_ATTACHMENT_READ_BIT | VK_ACCESS_DEPTH_STENCIL_ATTACHMENT_WRITE_BIT);
+        vkCmdPipelineBarrier(
+                commandBuffer,
+                VK_PIPELINE_STAGE_COMPUTE_SHADER_BIT,
+                VK_PIPELINE_STAGE_EARLY_FRAGMENT_TESTS_BIT | VK_PIPELINE_STAGE_LATE_FRAGMENT_TESTS_BIT,
+                0,
+                null,
+                null,
+                exit
+        );
+        System.arraycopy(depthViewProj, 0, viewProj, 0, 16);
+        valid = true;
+    }
+
+    /** Drops the current contents, e.g. after a camera cut; the next {@link #build} makes it valid again. */
+    public void invalidate() {
+        valid = false;
+    }
+
+    public boolean valid() {
+        return valid;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    public int levels() {
+        return levels;
+    }
+
+    /** View-projection of the depth the pyramid was built from. */
+    public float[] viewProj() {
+        return viewProj;
+    }
+
+    public long sampledViewHandle() {
+        return sampledView;
+    }
+
+    public long samplerHandle() {
+        return sampler;
+    }
+
+    public void destroy() {
+        release();
+        if (pipeline != VK_NULL_HANDLE) {
+            vkDestroyPipeline(device, pipeline, null);
+        }
+        if (pipelineLayout != VK_NULL_HANDLE) {
+            vkDestroyPipelineLayout(device, pipelineLayout, null);
+        }
+        if (descriptorPool != VK_NULL_HANDLE) {
+            vkDestroyDescriptorPool(device, descriptorPool, null);
+        }
+        if (descriptorSetLayout != VK_NULL_HANDLE) {
+            vkDestroyDescriptorSetLayout(device, descriptorSetLayout, null);
+        }
+        if (sampler != VK_NULL_HANDLE) {
+            vkDestroySampler(device, sampler, null);
+        }
+    }
+
+    private void allocate(MemoryStack stack, int newWidth, int newHeight) throws EngineException {
+        int newLevels = Math.min(MAX_LEVELS, HiZPyramid.levelCount(newWidth, newHeight));
+        if (newLevels < HiZPyramid.levelCount(newWidth, newHeight)) {
+            throw new EngineException(
+                    EngineErrorCode.BACKEND_INIT_FAILED,
+                    "Hi-Z pyramid extent " + newWidth + "x" + newHeight + " exceeds " + MAX_LEVELS + " levels",
+                    false
+            );
+        }
+        VulkanImageAlloc alloc;
+        try {
+            alloc = VulkanImageOps.createImage(
+                    device,
+                    physicalDevice,
+                    stack,
+                    newWidth,
+                    newHeight,
+                    FORMAT,
+                    VK_IMAGE_TILING_OPTIMAL,
+                    VK_IMAGE_USAGE_STORAGE_BIT | VK_IMAGE_USAGE_SAMPLED_BIT,
+                    VK_MEMORY_PROPERTY_DEVICE_LOCAL_BIT,
+                    1,
+                    newLevels
+            );
+        } catch (GpuException ex) {
+            throw new EngineException(
+                    EngineErrorCode.BACKEND_INIT_FAILED,
+                    "Failed to create Hi-Z pyramid image: " + ex.getMessage(),
+                    false
+            );
+        }
+        image = alloc.image();
+        memory = alloc.memory();
+        width = newWidth;
+        height = newHeight;
+        levels = newLevels;
+        layoutInitialized = false;
+        valid = false;
+        sampledView = createView(device, stack, image, FORMAT, VK_IMAGE_ASPECT_COLOR_BIT, 0, levels);
+        levelViews = new long[levels];
+        for (int level = 0; level < levels; level++) {
+            levelViews[level] = createView(device, stack, image, FORMAT, VK_IMAGE_ASPECT_COLOR_BIT, level, 1);
+        }
+        levelSets = new long[levels];
+        for (int level = 1; level < levels; level++) {
+            levelSets[level] = allocateSet(stack);
+            writeSet(stack, levelSets[level], levelViews[level - 1], VK_IMAGE_LAYOUT_GENERAL, levelViews[level]);
+        }
+        depthSets = new long[depthViews.length];
+        for (int i = 0; i < depthSets.length; i++) {
+            depthSets[i] = allocateSet(stack);
+        }
+    }
+
+    /** Destroys the size-dependent image and views; descriptor sets go back with the pool reset. */
+    private void release() {
+        for (int i = 0; i < depthViews.length; i++) {
+            if (depthViews[i] != VK_NULL_HANDLE) {
+                vkDestroyImageView(device, depthViews[i], null);
+                depthViews[i] = VK_NULL_HANDLE;
+            }
+        }
+        for (long view : levelViews) {
+            if (view != VK_NULL_HANDLE) {
+                vkDestroyImageView(device, view, null);
+            }
+        }
+        if (sampledView != VK_NULL_HANDLE) {
+            vkDestroyImageView(device, sampledView, null);
+        }
+        if (image != VK_NULL_HANDLE) {
+            vkDestroyImage(device, image, null);
+        }
+        if (memory != VK_NULL_HANDLE) {
+            vkFreeMemory(device, memory, null);
+        }
+        depthSets = new long[depthViews.length];
+        levelViews = new long[0];
+        levelSets = new long[0];
+        sampledView = VK_NULL_HANDLE;
+        image = VK_NULL_HANDLE;
+        memory = VK_NULL_HANDLE;
+        width = 0;
+        height = 0;
+        levels = 0;
+        valid = false;
+    }
+
+    private long allocateSet(MemoryStack stack) throws EngineException {
+        VkDescriptorSetAllocateInfo alloc = VkDescriptorSetAllocateInfo.calloc(stack)
+                .sType(VK_STRUCTURE_TYPE_DESCRIPTOR_SET_ALLOCATE_INFO)
+                .descriptorPool(descriptorPool)
+                .pSetLayouts(stack.longs(descriptorSetLayout));
+        var pSet = stack.longs(VK_NULL_HANDLE);
+        int result = vkAllocateDescriptorSets(device, alloc, pSet);
+        if (result != VK_SUCCESS || pSet.get(0) == VK_NULL_HANDLE) {
+            throw new EngineException(
+                    EngineErrorCode.BACKEND_INIT_FAILED,
+                    "vkAllocateDescriptorSets(hiz) failed: " + result,
+                    false
+            );
+        }
+        return pSet.get(0);
+    }
+
+    private void writeSet(MemoryStack stack, long set, long srcView, int srcLayout, long dstView) {
+        VkWriteDescriptorSet.Buffer writes = VkWriteDescriptorSet.calloc(2, stack);
+        writes.get(0)
+                .sType(VK_STRUCTURE_TYPE_WRITE_DESCRIPTOR_SET)
+                .dstSet(set)
+                .dstBinding(0)
+                .descriptorType(VK_DESCRIPTOR_TYPE_COMBINED_IMAGE_SAMPLER)
+                .descriptorCount(1)
+                .pImageInfo(VkDescriptorImageInfo.calloc(1, stack)
+                        .sampler(sampler)
+                        .imageView(srcView)
+                        .imageLayout(srcLayout));
+        writes.get(1)
+                .sType(VK_STRUCTURE_TYPE_WRITE_DESCRIPTOR_SET)
+                .dstSet(set)
+                .dstBinding(1)
+                .descriptorType(VK_DESCRIPTOR_TYPE_STORAGE_IMAGE)
+                .descriptorCount(1)
+                .pImageInfo(VkDescriptorImageInfo.calloc(1, stack)
+                        .imageView(dstView)
+                        .imageLayout(VK_IMAGE_LAYOUT_GENERAL));
+        vkUpdateDescriptorSets(device, writes, null);
+    }
+
+    private static void imageBarrier(
+            VkImageMemoryBarrier barrier,
+            long image,
+            int aspectMask,
+            int baseMipLevel,
+            int levelCount,
+            int oldLayout,
+            int newLayout,
+            int srcAccessMask,
+            int dstAccessMask
+    ) {
+        barrier.sType(VK_STRUCTURE_TYPE_IMAGE_MEMORY_BARRIER)
+                .srcAccessMask(srcAccessMask)
+                .dstAccessMask(dstAccessMask)
+                .oldLayout(oldLayout)
+                .newLayout(newLayout)
+                .srcQueueFamilyIndex(VK_QUEUE_FAMILY_IGNORED)
+                .dstQueueFamilyIndex(VK_QUEUE_FAMILY_IGNORED)
+                .image(image);
+        barrier.subresourceRange()
+                .aspectMask(aspectMask)
+                .baseMipLevel(baseMipLevel)
+                .levelCount(levelCount)
+                .baseArrayLayer(0)
+                .layerCount(1);
+    }
+
+    private static long createView(
+            VkDevice device,
+            MemoryStack stack,
+            long image,
+            int format,
+            int aspectMask,
+            int baseMipLevel,
+            int levelCount
+    ) throws EngineException {
+        VkImageViewCreateInfo viewInfo = VkImageViewCreateInfo.calloc(stack)
+                .sType(VK_STRUCTURE_TYPE_IMAGE_VIEW_CREATE_INFO)
+                .image(image)
+                .viewType(VK_IMAGE_VIEW_TYPE_2D)
+                .format(format);
+        viewInfo.subresourceRange()
+                .aspectMask(aspectMask)
+                .baseMipLevel(baseMipLevel)
+                .levelCount(levelCount)
+                .baseArrayLayer(0)
+                .layerCount(1);
+        var pView = stack.longs(VK_NULL_HANDLE);
+        int result = vkCreateImageView(device, viewInfo, null, pView);
+        if (result != VK_SUCCESS || pView.get(0) == VK_NULL_HANDLE) {
+            throw new EngineException(EngineErrorCode.BACKEND_INIT_FAILED, "vkCreateImageView(hiz) failed: " + result, false);
+        }
+        return pView.get(0);
+    }
+
+    private static long createSampler(VkDevice device, MemoryStack stack) throws EngineException {
+        VkSamplerCreateInfo samplerInfo = VkSamplerCreateInfo.calloc(stack)
+                .sType(VK_STRUCTURE_TYPE_SAMPLER_CREATE_INFO)
+                .magFilter(VK_FILTER_NEAREST)
+                .minFilter(VK_FILTER_NEAREST)
+                .addressModeU(VK_SAMPLER_ADDRESS_MODE_CLAMP_TO_EDGE)
+                .addressModeV(VK_SAMPLER_ADDRESS_MODE_CLAMP_TO_EDGE)
+                .addressModeW(VK_SAMPLER_ADDRESS_MODE_CLAMP_TO_EDGE)
+                .anisotropyEnable(false)
+                .maxAnisotropy(1.0f)
+                .borderColor(VK_BORDER_COLOR_FLOAT_OPAQUE_WHITE)
+                .unnormalizedCoordinates(false)
+                .compareEnable(false)
+                .compareOp(VK_COMPARE_OP_ALWAYS)
+                .mipmapMode(VK_SAMPLER_MIPMAP_MODE_NEAREST)
+                .mipLodBias(0.0f)
+                .minLod(0.0f)
+                .maxLod(MAX_LEVELS);
+        var pSampler = stack.longs(VK_NULL_HANDLE);
+        int result = vkCreateSampler(device, samplerInfo, null, pSampler);
+        if (result != VK_SUCCESS || pSampler.get(0) == VK_NULL_HANDLE) {
+            throw new EngineException(EngineErrorCode.BACKEND_INIT_FAILED, "vkCreateSampler(hiz) failed: " + result, false);
+        }
+        return pSampler.get(0);
+    }
+
+    private static long createDescriptorSetLayout(VkDevice device, MemoryStack stack) throws EngineException {
+        VkDescriptorSetLayoutBinding.Buffer bindings = VkDescriptorSetLayoutBinding.calloc(2, stack);
+        bindings.get(0)
+                .binding(0)
+                .descriptorType(VK_DESCRIPTOR_TYPE_COMBINED_IMAGE_SAMPLER)
+                .descriptorCount(1)
+                .stageFlags(VK_SHADER_STAGE_COMPUTE_BIT);
+        bindings.get(1)
+                .binding(1)
+                .descriptorType(VK_DESCRIPTOR_TYPE_STORAGE_IMAGE)
+                .descriptorCount(1)
+                .stageFlags(VK_SHADER_STAGE_COMPUTE_BIT);
+        VkDescriptorSetLayoutCreateInfo info = VkDescriptorSetLayoutCreateInfo.calloc(stack)
+                .sType(VK_STRUCTURE_TYPE_DESCRIPTOR_SET_LAYOUT_CREATE_INFO)
+                .pBindings(bindings);
+        var pLayout = stack.longs(VK_NULL_HANDLE);
+        int result = vkCreateDescriptorSetLayout(device, info, null, pLayout);
+        if (result != VK_SUCCESS || pLayout.get(0) == VK_NULL_HANDLE) {
+            throw new EngineException(
+                    EngineErrorCode.BACKEND_INIT_FAILED,
+                    "vkCreateDescriptorSetLayout(hiz) failed: " + result,
+                    false
+            );
+        }
+        return pLayout.get(0);
+    }
+
+    private static long createDescriptorPool(VkDevice device, MemoryStack stack, int maxSets) throws EngineException {
+        VkDescriptorPoolSize.Buffer sizes = VkDescriptorPoolSize.calloc(2, stack);
+        sizes.get(0)
+                .type(VK_DESCRIPTOR_TYPE_COMBINED_IMAGE_SAMPLER)
+                .descriptorCount(maxSets);
+        sizes.get(1)
+                .type(VK_DESCRIPTOR_TYPE_STORAGE_IMAGE)
+                .descriptorCount(maxSets);
+        VkDescriptorPoolCreateInfo info = VkDescriptorPoolCreateInfo.calloc(stack)
+                .sType(VK_STRUCTURE_TYPE_DESCRIPTOR_POOL_CREATE_INFO)
+                .maxSets(maxSets)
+                .pPoolSizes(sizes);
+        var pPool = stack.longs(VK_NULL_HANDLE);
+        int result = vkCreateDescriptorPool(device, info, null, pPool);
+        if (result != VK_SUCCESS || pPool.get(0) == VK_NULL_HANDLE) {
+            throw new EngineException(
+                    EngineErrorCode.BACKEND_INIT_FAILED,
+                    "vkCreateDescriptorPool(hiz) failed: " + result,
+                    false
+            );
+        }
+        return pPool.get(0);
+    }
+
+    private static long createPipelineLayout(VkDevice device, MemoryStack stack, long descriptorSetLayout) throws EngineException {
+        VkPushConstantRange.Buffer range = VkPushConstantRange.calloc(1, stack);
+        range.get(0)
+                .stageFlags(VK_SHADER_STAGE_COMPUTE_BIT)
+                .offset(0)
+                .size(PUSH_BYTES);
+        VkPipelineLayoutCreateInfo info = VkPipelineLayoutCreateInfo.calloc(stack)
+                .sType(VK_STRUCTURE_TYPE_PIPELINE_LAYOUT_CREATE_INFO)
+                .pSetLayouts(stack.longs(descriptorSetLayout))
+                .pPushConstantRanges(range);
+        var pLayout = stack.longs(VK_NULL_HANDLE);
+        int result = vkCreatePipelineLayout(device, info, null, pLayout);
+        if (result != VK_SUCCESS || pLayout.get(0) == VK_NULL_HANDLE) {
+            throw new EngineException(
+                    EngineErrorCode.BACKEND_INIT_FAILED,
+                    "vkCreatePipelineLayout(hiz) failed: " + result,
+                    false
+            );
+        }
+        return pLayout.get(0);
+    }
+
+    private static long createPipeline(VkDevice device, MemoryStack stack, long pipelineLayout) throws EngineException {
+        ByteBuffer spv = VulkanShaderCompiler.compileGlslToSpv(
+                VulkanCullingComputeSource.hiZReduceCompute(),
+                shaderc_glsl_compute_shader,
+                "hiz_reduce.comp"
+        );
+        long shaderModule = VK_NULL_HANDLE;
+        try {
+            shaderModule = VulkanShaderCompiler.createShaderModule(device, stack, spv);
+            VkPipelineShaderStageCreateInfo stage = VkPipelineShaderStageCreateInfo.calloc(stack)
+                    .sType(VK_STRUCTURE_TYPE_PIPELINE_SHADER_STAGE_CREATE_INFO)
+                    .stage(VK_SHADER_STAGE_COMPUTE_BIT)
+                    .module(shaderModule)
+                    .pName(stack.UTF8("main"));
+            VkComputePipelineCreateInfo.Buffer info = VkComputePipelineCreateInfo.calloc(1, stack)
+                    .sType(VK_STRUCTURE_TYPE_COMPUTE_PIPELINE_CREATE_INFO)
+                    .stage(stage)
+                    .layout(pipelineLayout);
+            var pPipeline = stack.longs(VK_NULL_HANDLE);
+            int result = vkCreateComputePipelines(device, VK_NULL_HANDLE, info, null, pPipeline);
+            if (result != VK_SUCCESS || pPipeline.get(0) == VK_NULL_HANDLE) {
+                throw new EngineException(
+                        EngineErrorCode.BACKEND_INIT_FAILED,
+                        "vkCreateComputePipelines(hiz) failed: " + result,
+                        false
+                );
+            }
+            return pPipeline.get(0);
+        } finally {
+            if (shaderModule != VK_NULL_HANDLE) {
+                vkDestroyShaderModule(device, shaderModule, null);
+            }
+        }
+    }
+}
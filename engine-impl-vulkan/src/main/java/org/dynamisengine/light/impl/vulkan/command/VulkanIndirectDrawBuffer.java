@@ -33,6 +33,8 @@ import static org.lwjgl.vulkan.VK10.vkUnmapMemory;
 
 public final class VulkanIndirectDrawBuffer implements IndirectCommandBuffer {
     public static final int COMMAND_STRIDE_BYTES = 5 * Integer.BYTES;
+    /** Byte offset of {@code instanceCount} within a command; per-instance culling rewrites it on the GPU. */
+    public static final int INSTANCE_COUNT_OFFSET_BYTES = Integer.BYTES;
     public static final int VARIANT_COUNT = 5;
     public static final int VARIANT_STATIC = 0;
     public static final int VARIANT_MORPH = 1;
@@ -162,6 +164,10 @@ public final class VulkanIndirectDrawBuffer implements IndirectCommandBuffer {
         return buffer;
     }
 
+    public static long instanceCountOffsetBytes(int commandIndex) {
+        return (long) commandIndex * COMMAND_STRIDE_BYTES + INSTANCE_COUNT_OFFSET_BYTES;
+    }
+
     @Override
     public long countBufferHandle() {
         return VK_NULL_HANDLE;
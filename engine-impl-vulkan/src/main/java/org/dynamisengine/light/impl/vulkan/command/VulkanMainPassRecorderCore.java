@@ -292,12 +292,16 @@ final class VulkanMainPassRecorderCore {
                     && mesh.instanceBatchDescriptorSet() != VK_NULL_HANDLE
                     && targetPipelineLayout == in.instancedPipelineLayout()
                     && !bindlessInstancedDraw) {
+                // Direct draws use the CPU instance count, so they must not read a region culling compacted.
+                long instanceSet = in.indirectDrawBuffer() != VK_NULL_HANDLE
+                        ? mesh.instanceBatchDescriptorSet()
+                        : mesh.unculledInstanceDescriptorSet();
                 vkCmdBindDescriptorSets(
                         commandBuffer,
                         VK_PIPELINE_BIND_POINT_GRAPHICS,
                         targetPipelineLayout,
                         2,
-                        stack.longs(mesh.instanceBatchDescriptorSet()),
+                        stack.longs(instanceSet),
                         null
                 );
             }
@@ -13,17 +13,24 @@ import org.lwjgl.vulkan.VkDevice;
 import org.lwjgl.vulkan.VkPhysicalDevice;
 
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.lwjgl.system.MemoryStack.stackPush;
-import static org.lwjgl.system.MemoryUtil.memAddress;
 import static org.lwjgl.system.MemoryUtil.memByteBuffer;
-import static org.lwjgl.system.MemoryUtil.memCopy;
+import static org.lwjgl.system.MemoryUtil.memPutInt;
 import static org.lwjgl.vulkan.VK10.*;
 
+/**
+ * Persistently mapped per-draw bounding spheres for GPU culling.
+ *
+ * <p>A host-side shadow of every slot mirrors what is in mapped memory, so an upload only writes the
+ * slots whose sphere or mesh index changed. A frame with no moved, added or removed draws writes zero
+ * bytes; slots past the current draw count are left as they are because the shader never reads them.</p>
+ */
 public final class VulkanMeshBoundsBuffer implements BoundsBuffer {
     public static final int STRIDE_BYTES = 8 * Integer.BYTES;
+    private static final int SHADOW_INTS_PER_SLOT = 5;
 
     private final VkDevice device;
     private final long buffer;
@@ -31,6 +38,10 @@ public final class VulkanMeshBoundsBuffer implements BoundsBuffer {
     private final long mappedAddress;
     private final int capacity;
     private final int allocatedBytes;
+    private final int[] shadow;
+    private int lastUploadBytes;
+    private int lastDirtySlots;
+    private long totalUploadBytes;
 
     private VulkanMeshBoundsBuffer(
             VkDevice device,
@@ -46,6 +57,22 @@ public final class VulkanMeshBoundsBuffer implements BoundsBuffer {
         this.mappedAddress = mappedAddress;
         this.capacity = capacity;
         this.allocatedBytes = allocatedBytes;
+        this.shadow = new int[capacity * SHADOW_INTS_PER_SLOT];
+    }
+
+    /** Wraps host memory without a Vulkan buffer, for exercising upload tracking on the mock context. */
+    static VulkanMeshBoundsBuffer wrapHostMemory(long address, int capacity) {
+        int safeCapacity = Math.max(1, capacity);
+        VulkanMeshBoundsBuffer out = new VulkanMeshBoundsBuffer(
+                null,
+                VK_NULL_HANDLE,
+                VK_NULL_HANDLE,
+                address,
+                safeCapacity,
+                safeCapacity * STRIDE_BYTES
+        );
+        out.clear();
+        return out;
     }
 
     public static VulkanMeshBoundsBuffer create(VkDevice device, VkPhysicalDevice physicalDevice, int capacity) throws EngineException {
@@ -100,17 +127,27 @@ public final class VulkanMeshBoundsBuffer implements BoundsBuffer {
         }
     }
 
-    public void upload(List<VulkanGpuMesh> meshes) {
-        if (meshes == null || meshes.isEmpty()) {
-            clear();
+    /**
+     * Writes one world-space bounding sphere per draw, in draw order, so the culling shader can index
+     * bounds by command. Instanced batches get an unbounded sphere and are never rejected here.
+     */
+    public void upload(List<VulkanGpuMesh> meshes, List<VulkanRenderCommandRecorder.MeshDrawCmd> draws) {
+        lastUploadBytes = 0;
+        lastDirtySlots = 0;
+        if (meshes == null || draws == null || draws.isEmpty()) {
             return;
         }
-        int count = Math.min(meshes.size(), capacity);
-        ByteBuffer src = ByteBuffer.allocateDirect(count * STRIDE_BYTES).order(ByteOrder.nativeOrder());
+        int count = Math.min(draws.size(), capacity);
         for (int i = 0; i < count; i++) {
-            VulkanGpuMesh mesh = meshes.get(i);
+            VulkanRenderCommandRecorder.MeshDrawCmd draw = draws.get(i);
+            int meshIndex = draw.uniformMeshIndex();
+            VulkanGpuMesh mesh = meshIndex >= 0 && meshIndex < meshes.size() ? meshes.get(meshIndex) : null;
+            if (draw.instanced()) {
+                writeSlotIfChanged(i, 0f, 0f, 0f, Float.MAX_VALUE, meshIndex);
+                continue;
+            }
             if (mesh == null) {
-                putBounds(src, 0f, 0f, 0f, 0f, i);
+                writeSlotIfChanged(i, 0f, 0f, 0f, 0f, meshIndex);
                 continue;
             }
             float[] model = mesh.modelMatrix;
@@ -126,10 +163,9 @@ public final class VulkanMeshBoundsBuffer implements BoundsBuffer {
             float sz = (float) Math.sqrt((model[8] * model[8]) + (model[9] * model[9]) + (model[10] * model[10]));
             float scale = Math.max(sx, Math.max(sy, sz));
             float wr = Math.max(0.0001f, mesh.localBoundsRadius * Math.max(scale, 0.0001f));
-            putBounds(src, wcx, wcy, wcz, wr, i);
+            writeSlotIfChanged(i, wcx, wcy, wcz, wr, meshIndex);
         }
-        src.flip();
-        memCopy(memAddress(src), mappedAddress, src.remaining());
+        totalUploadBytes += lastUploadBytes;
     }
 
     @Override
@@ -137,24 +173,51 @@ public final class VulkanMeshBoundsBuffer implements BoundsBuffer {
         if (meshIndex < 0 || meshIndex >= capacity || mappedAddress == 0L) {
             return;
         }
-        ByteBuffer mapped = memByteBuffer(mappedAddress, allocatedBytes).order(ByteOrder.nativeOrder());
-        int offset = meshIndex * STRIDE_BYTES;
-        if (offset + STRIDE_BYTES > allocatedBytes) {
+        lastUploadBytes = 0;
+        lastDirtySlots = 0;
+        writeSlotIfChanged(meshIndex, centerX, centerY, centerZ, radius, meshIndex);
+        totalUploadBytes += lastUploadBytes;
+    }
+
+    private void writeSlotIfChanged(int slot, float x, float y, float z, float radius, int meshIndex) {
+        int base = slot * SHADOW_INTS_PER_SLOT;
+        int bx = Float.floatToRawIntBits(x);
+        int by = Float.floatToRawIntBits(y);
+        int bz = Float.floatToRawIntBits(z);
+        int br = Float.floatToRawIntBits(radius);
+        if (shadow[base] == bx
+                && shadow[base + 1] == by
+                && shadow[base + 2] == bz
+                && shadow[base + 3] == br
+                && shadow[base + 4] == meshIndex) {
             return;
         }
-        mapped.position(offset);
-        putBounds(mapped, centerX, centerY, centerZ, radius, meshIndex);
+        shadow[base] = bx;
+        shadow[base + 1] = by;
+        shadow[base + 2] = bz;
+        shadow[base + 3] = br;
+        shadow[base + 4] = meshIndex;
+        long address = mappedAddress + (long) slot * STRIDE_BYTES;
+        memPutInt(address, bx);
+        memPutInt(address + 4L, by);
+        memPutInt(address + 8L, bz);
+        memPutInt(address + 12L, br);
+        memPutInt(address + 16L, meshIndex);
+        lastUploadBytes += STRIDE_BYTES;
+        lastDirtySlots++;
+    }
+
+    /** Bytes written to mapped memory by the last {@link #upload}. */
+    public int lastUploadBytes() {
+        return lastUploadBytes;
+    }
+
+    public int lastDirtySlots() {
+        return lastDirtySlots;
     }
 
-    private static void putBounds(ByteBuffer dst, float x, float y, float z, float radius, int meshIndex) {
-        dst.putFloat(x);
-        dst.putFloat(y);
-        dst.putFloat(z);
-        dst.putFloat(radius);
-        dst.putInt(meshIndex);
-        dst.putInt(0);
-        dst.putInt(0);
-        dst.putInt(0);
+    public long totalUploadBytes() {
+        return totalUploadBytes;
     }
 
     public void clear() {
@@ -167,6 +230,7 @@ public final class VulkanMeshBoundsBuffer implements BoundsBuffer {
             mapped.put((byte) 0);
         }
         mapped.clear();
+        Arrays.fill(shadow, 0);
     }
 
     @Override
@@ -378,8 +378,17 @@ public final class VulkanRenderCommandRecorder {
             int instanceCount,
             int firstInstance,
             long instanceBatchDescriptorSet,
+            long instanceSourceDescriptorSet,
             long bindlessInstanceHandle
     ) {
+        /**
+         * Instance records that are never camera-culled. Culling compacts the records behind
+         * {@link #instanceBatchDescriptorSet} for the camera's indirect draw, so every direct draw of the
+         * full {@link #instanceCount} reads this set instead.
+         */
+        public long unculledInstanceDescriptorSet() {
+            return instanceSourceDescriptorSet != VK_NULL_HANDLE ? instanceSourceDescriptorSet : instanceBatchDescriptorSet;
+        }
     }
 
     public record ShadowPassInputs(
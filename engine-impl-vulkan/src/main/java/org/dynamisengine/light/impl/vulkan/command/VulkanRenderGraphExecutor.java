@@ -12,6 +12,7 @@ import org.dynamisengine.light.impl.vulkan.graph.VulkanExecutableRenderGraphPlan
 import org.dynamisengine.light.impl.vulkan.graph.VulkanImageResourceBinding;
 import org.dynamisengine.light.impl.vulkan.graph.VulkanRenderGraphBarrier;
 import org.dynamisengine.light.impl.vulkan.graph.VulkanRenderGraphNode;
+import org.dynamisengine.light.impl.vulkan.graph.VulkanRenderGraphTimestampSlots;
 import org.dynamisengine.light.impl.vulkan.graph.VulkanResourceBinding;
 import org.dynamisengine.light.impl.vulkan.graph.VulkanResourceBindingTable;
 import org.dynamisengine.light.impl.vulkan.profile.VulkanGpuTimestamps;
@@ -67,7 +68,11 @@ public final class VulkanRenderGraphExecutor {
             return;
         }
         Map<String, List<VulkanRenderGraphBarrier>> barriersByDestinationNode = barriersByDestinationNodeId(executablePlan);
-        for (VulkanRenderGraphNode node : executablePlan.metadataPlan().orderedNodes()) {
+        VulkanRenderGraphTimestampSlots timestampSlots = executablePlan.timestampSlots();
+        int timestampBase = gpuTimestamps == null ? -1 : gpuTimestamps.beginPlan(timestampSlots);
+        List<VulkanRenderGraphNode> nodes = executablePlan.metadataPlan().orderedNodes();
+        for (int nodeIndex = 0; nodeIndex < nodes.size(); nodeIndex++) {
+            VulkanRenderGraphNode node = nodes.get(nodeIndex);
             if (node == null) {
                 continue;
             }
@@ -76,16 +81,15 @@ public final class VulkanRenderGraphExecutor {
                 emitBarrier(stack, commandBuffer, barrier, bindingTable);
             }
 
-            // GPU timestamp: write pass start
+            // GPU timestamps: query pair assigned to this node when the plan was compiled
             if (gpuTimestamps != null) {
-                gpuTimestamps.writePassStart(commandBuffer, node.nodeId());
+                gpuTimestamps.writePassStart(commandBuffer, timestampBase, timestampSlots, nodeIndex);
             }
 
             executablePlan.executeCallback(node.nodeId()).run();
 
-            // GPU timestamp: write pass end
             if (gpuTimestamps != null) {
-                gpuTimestamps.writePassEnd(commandBuffer, node.nodeId());
+                gpuTimestamps.writePassEnd(commandBuffer);
             }
         }
     }
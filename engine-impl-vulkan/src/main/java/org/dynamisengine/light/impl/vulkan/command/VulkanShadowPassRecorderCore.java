@@ -192,12 +192,13 @@ final class VulkanShadowPassRecorderCore {
                             && (!in.bindlessActive()
                             || in.shadowBindlessInstancedPipeline() == VK_NULL_HANDLE
                             || in.bindlessDescriptorSet() == VK_NULL_HANDLE)) {
+                        // Casters outside the camera frustum still cast: read the unculled source records.
                         vkCmdBindDescriptorSets(
                                 commandBuffer,
                                 VK_PIPELINE_BIND_POINT_GRAPHICS,
                                 in.shadowPipelineLayout(),
                                 1,
-                                stack.longs(mesh.instanceBatchDescriptorSet()),
+                                stack.longs(mesh.unculledInstanceDescriptorSet()),
                                 null
                         );
                     }
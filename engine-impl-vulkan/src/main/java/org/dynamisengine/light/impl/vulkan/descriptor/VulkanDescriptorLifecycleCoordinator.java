@@ -15,6 +15,7 @@ public final class VulkanDescriptorLifecycleCoordinator {
                 VK_NULL_HANDLE, VK_NULL_HANDLE, VK_NULL_HANDLE, VK_NULL_HANDLE, 0L,
                 VK_NULL_HANDLE, VK_NULL_HANDLE, 0L,
                 0, 0, 0, 0,
+                VK_NULL_HANDLE, VK_NULL_HANDLE, 0L, 0,
                 request.objectUniformBytes(),
                 request.objectUniformBytes(),
                 request.globalSceneUniformBytes(),
@@ -58,6 +59,10 @@ public final class VulkanDescriptorLifecycleCoordinator {
             int reflectionProbeMetadataStrideBytes,
             int reflectionProbeMetadataBufferBytes,
             int reflectionProbeMetadataActiveCount,
+            long clusteredLightBuffer,
+            long clusteredLightMemory,
+            long clusteredLightMappedAddress,
+            int clusteredLightFrameSpanBytes,
             int uniformStrideBytes,
             int uniformFrameSpanBytes,
             int globalUniformFrameSpanBytes,
@@ -0,0 +1,278 @@
+package org.dynamisengine.light.impl.vulkan.descriptor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import org.dynamisengine.light.api.error.EngineErrorCode;
+import org.dynamisengine.light.api.error.EngineException;
+
+/**
+ * Paged descriptor-set allocator for one descriptor set layout.
+ *
+ * <p>Sets are carved out of a list of descriptor pools ("pages"). When the current page is exhausted a
+ * recycled page is taken, or a new page is created at twice the previous page size (capped at
+ * {@code maxPageSets}); existing pages and the sets already written into them are never torn down to
+ * grow. {@link #retireAll()} stamps every page in use with the next frame serial, and
+ * {@link #processRetirements(long)} resets those pages in bulk once {@code framesInFlight} frames have
+ * been submitted after them, so replacing a scene's sets never waits on the GPU. An allocator that is
+ * replaced outright (for a different layout) is handed to its successor with {@link #retireAllocator},
+ * which destroys its pages after the same delay.</p>
+ *
+ * <p>Device calls go through {@link PoolOps}; {@link VulkanTextureDescriptorPoolManager} supplies the
+ * Vulkan implementation.</p>
+ */
+public final class VulkanDescriptorPageAllocator {
+    private final PoolOps ops;
+    private final int framesInFlight;
+    private final int maxPageSets;
+    private final List<Page> active = new ArrayList<>();
+    private final ArrayDeque<Page> retired = new ArrayDeque<>();
+    private final ArrayDeque<Page> free = new ArrayDeque<>();
+    private final ArrayDeque<VulkanDescriptorPageAllocator> replaced = new ArrayDeque<>();
+    private int nextPageSets;
+    private long lastProcessedSerial = -1L;
+    private long replacedSerial;
+    private int liveSets;
+    private int setHighWaterMark;
+    private long pagesCreated;
+    private long pagesRecycled;
+    private long allocationFailures;
+    private long resetFailures;
+    private Object writtenBindings;
+
+    public VulkanDescriptorPageAllocator(PoolOps ops, int framesInFlight, int initialPageSets, int maxPageSets) {
+        if (ops == null || framesInFlight <= 0 || initialPageSets <= 0 || maxPageSets < initialPageSets) {
+            throw new IllegalArgumentException("invalid descriptor page allocator configuration");
+        }
+        this.ops = ops;
+        this.framesInFlight = framesInFlight;
+        this.maxPageSets = maxPageSets;
+        this.nextPageSets = initialPageSets;
+    }
+
+    public PoolOps poolOps() {
+        return ops;
+    }
+
+    /**
+     * Caller-defined key for the bindings shared by every live set, or null once {@link #retireAll()} or
+     * {@link #destroy()} has released them. Lets a caller keep its live sets while that key is unchanged.
+     */
+    public Object writtenBindings() {
+        return writtenBindings;
+    }
+
+    public void writtenBindings(Object writtenBindings) {
+        this.writtenBindings = writtenBindings;
+    }
+
+    /**
+     * Allocates {@code count} sets of {@code layout}, filling the current page first, then recycled pages,
+     * then new pages. A page the driver reports as exhausted is counted as an allocation failure and
+     * skipped; only a failure on an empty page is fatal.
+     */
+    public long[] allocate(long layout, int count) throws EngineException {
+        long[] out = new long[Math.max(0, count)];
+        int filled = 0;
+        while (filled < out.length) {
+            Page page = pageWithRoom(out.length - filled);
+            int batch = Math.min(page.capacity - page.used, out.length - filled);
+            if (!ops.allocate(page.handle, layout, batch, out, filled)) {
+                allocationFailures++;
+                if (page.used == 0) {
+                    throw new EngineException(
+                            EngineErrorCode.BACKEND_INIT_FAILED,
+                            "Descriptor allocation failed on an empty page of " + page.capacity + " sets",
+                            false
+                    );
+                }
+                page.used = page.capacity;
+                continue;
+            }
+            page.used += batch;
+            filled += batch;
+        }
+        liveSets += out.length;
+        setHighWaterMark = Math.max(setHighWaterMark, liveSets);
+        return out;
+    }
+
+    /**
+     * Releases every set handed out so far. Their pages stay untouched until
+     * {@link #processRetirements(long)} sees that the frames which could still reference them are done.
+     */
+    public void retireAll() {
+        long serial = lastProcessedSerial + 1L;
+        for (Page page : active) {
+            page.retiredSerial = serial;
+            retired.addLast(page);
+        }
+        active.clear();
+        liveSets = 0;
+        writtenBindings = null;
+    }
+
+    /**
+     * Takes over {@code previous}, the allocator this one replaces. Its sets may still be bound by frames
+     * in flight, so its pages are destroyed by {@link #processRetirements(long)} once {@code framesInFlight}
+     * frames have passed instead of immediately. This allocator also continues the frame serial of
+     * {@code previous}, so its own first retirement is delayed as well.
+     */
+    public void retireAllocator(VulkanDescriptorPageAllocator previous) {
+        if (previous == null || previous == this) {
+            return;
+        }
+        previous.retireAll();
+        previous.replacedSerial = previous.lastProcessedSerial + 1L;
+        lastProcessedSerial = Math.max(lastProcessedSerial, previous.lastProcessedSerial);
+        replaced.addAll(previous.replaced);
+        previous.replaced.clear();
+        replaced.addLast(previous);
+    }
+
+    /**
+     * Recycles retired pages whose frames have completed. Call once per frame, before the frame's fence
+     * wait, with a serial that increases by one per submitted frame.
+     */
+    public void processRetirements(long frameSerial) {
+        lastProcessedSerial = Math.max(lastProcessedSerial, frameSerial);
+        while (!retired.isEmpty() && frameSerial - retired.peekFirst().retiredSerial >= framesInFlight) {
+            Page page = retired.pollFirst();
+            if (ops.resetPool(page.handle)) {
+                page.used = 0;
+                free.addLast(page);
+                pagesRecycled++;
+            } else {
+                resetFailures++;
+                ops.destroyPool(page.handle);
+            }
+        }
+        while (!replaced.isEmpty() && frameSerial - replaced.peekFirst().replacedSerial >= framesInFlight) {
+            replaced.pollFirst().destroy();
+        }
+    }
+
+    /** Destroys every page. The caller guarantees the device is idle. */
+    public void destroy() {
+        for (Page page : active) {
+            ops.destroyPool(page.handle);
+        }
+        for (Page page : retired) {
+            ops.destroyPool(page.handle);
+        }
+        for (Page page : free) {
+            ops.destroyPool(page.handle);
+        }
+        for (VulkanDescriptorPageAllocator previous : replaced) {
+            previous.destroy();
+        }
+        replaced.clear();
+        active.clear();
+        retired.clear();
+        free.clear();
+        liveSets = 0;
+        writtenBindings = null;
+    }
+
+    /** Pools still alive, including those of replaced allocators awaiting destruction. */
+    public int poolCount() {
+        int count = active.size() + retired.size() + free.size();
+        for (VulkanDescriptorPageAllocator previous : replaced) {
+            count += previous.poolCount();
+        }
+        return count;
+    }
+
+    public int setCapacity() {
+        return capacityOf(active) + capacityOf(retired) + capacityOf(free);
+    }
+
+    public int liveSets() {
+        return liveSets;
+    }
+
+    public int setHighWaterMark() {
+        return setHighWaterMark;
+    }
+
+    public long pagesCreated() {
+        return pagesCreated;
+    }
+
+    public long pagesRecycled() {
+        return pagesRecycled;
+    }
+
+    public long allocationFailures() {
+        return allocationFailures;
+    }
+
+    public long resetFailures() {
+        return resetFailures;
+    }
+
+    private Page pageWithRoom(int remaining) throws EngineException {
+        if (!active.isEmpty()) {
+            Page current = active.get(active.size() - 1);
+            if (current.used < current.capacity) {
+                return current;
+            }
+        }
+        Page page = free.pollFirst();
+        if (page == null) {
+            int sets = Math.min(maxPageSets, Math.max(nextPageSets, remaining));
+            long handle = ops.createPool(sets);
+            if (handle == 0L) {
+                allocationFailures++;
+                throw new EngineException(
+                        EngineErrorCode.BACKEND_INIT_FAILED,
+                        "Descriptor pool creation failed for a page of " + sets + " sets",
+                        false
+                );
+            }
+            page = new Page(handle, sets);
+            pagesCreated++;
+            nextPageSets = Math.min(maxPageSets, sets * 2);
+        }
+        active.add(page);
+        return page;
+    }
+
+    private static int capacityOf(Iterable<Page> pages) {
+        int total = 0;
+        for (Page page : pages) {
+            total += page.capacity;
+        }
+        return total;
+    }
+
+    /** Device-side pool operations used by the allocator. */
+    public interface PoolOps {
+        /** Creates a pool able to hold {@code maxSets} sets; returns 0 on failure. */
+        long createPool(int maxSets);
+
+        /**
+         * Allocates {@code count} sets of {@code layout} from {@code pool} into {@code out[offset..]}.
+         *
+         * @return false when the pool is out of memory or fragmented
+         */
+        boolean allocate(long pool, long layout, int count, long[] out, int offset);
+
+        /** Frees every set of {@code pool} at once; returns false when the reset failed. */
+        boolean resetPool(long pool);
+
+        void destroyPool(long pool);
+    }
+
+    private static final class Page {
+        private final long handle;
+        private final int capacity;
+        private int used;
+        private long retiredSerial;
+
+        private Page(long handle, int capacity) {
+            this.handle = handle;
+            this.capacity = capacity;
+        }
+    }
+}
@@ -21,6 +21,7 @@ import org.lwjgl.vulkan.VkPhysicalDeviceProperties;
 import org.lwjgl.vulkan.VkWriteDescriptorSet;
 import org.dynamisengine.light.spi.render.RenderDescriptorType;
 
+import static org.lwjgl.system.MemoryUtil.memSet;
 import static org.lwjgl.vulkan.VK10.VK_DESCRIPTOR_TYPE_UNIFORM_BUFFER;
 import static org.lwjgl.vulkan.VK10.VK_DESCRIPTOR_TYPE_UNIFORM_BUFFER_DYNAMIC;
 import static org.lwjgl.vulkan.VK10.VK_DESCRIPTOR_TYPE_STORAGE_BUFFER;
@@ -69,6 +70,7 @@ public final class VulkanDescriptorResources implements DescriptorWriter {
             int maxReflectionProbes,
             int objectUniformBytes,
             int globalSceneUniformBytes,
+            int clusteredLightFrameBytes,
             VulkanComposedDescriptorLayoutPlan mainGeometryPlan
     ) throws EngineException {
         VulkanComposedDescriptorLayoutPlan safePlan = mainGeometryPlan == null
@@ -80,7 +82,8 @@ public final class VulkanDescriptorResources implements DescriptorWriter {
             set0Bindings = java.util.List.of(
                     new VulkanComposedDescriptorBinding(0, 0, RenderDescriptorType.UNIFORM_BUFFER, org.dynamisengine.light.spi.render.RenderBindingFrequency.PER_FRAME, false, java.util.List.of("fallback")),
                     new VulkanComposedDescriptorBinding(0, 1, RenderDescriptorType.UNIFORM_BUFFER, org.dynamisengine.light.spi.render.RenderBindingFrequency.PER_DRAW, false, java.util.List.of("fallback")),
-                    new VulkanComposedDescriptorBinding(0, 2, RenderDescriptorType.STORAGE_BUFFER, org.dynamisengine.light.spi.render.RenderBindingFrequency.PER_FRAME, false, java.util.List.of("fallback"))
+                    new VulkanComposedDescriptorBinding(0, 2, RenderDescriptorType.STORAGE_BUFFER, org.dynamisengine.light.spi.render.RenderBindingFrequency.PER_FRAME, false, java.util.List.of("fallback")),
+                    new VulkanComposedDescriptorBinding(0, 3, RenderDescriptorType.STORAGE_BUFFER, org.dynamisengine.light.spi.render.RenderBindingFrequency.PER_FRAME, false, java.util.List.of("fallback"))
             );
         }
         if (set1Bindings.isEmpty()) {
@@ -191,6 +194,33 @@ public final class VulkanDescriptorResources implements DescriptorWriter {
         }
         long reflectionProbeMetadataMappedAddress = pProbeMapped.get(0);
 
+        long minStorageAlign = Math.max(1L, props.limits().minStorageBufferOffsetAlignment());
+        int clusteredLightFrameSpanBytes = alignUp(Math.max(16, clusteredLightFrameBytes), (int) Math.min(Integer.MAX_VALUE, minStorageAlign));
+        int clusteredLightBufferBytes = clusteredLightFrameSpanBytes * framesInFlight;
+        VulkanBufferAlloc clusteredLightAlloc = createBufferOrThrow(
+                device,
+                physicalDevice,
+                stack,
+                clusteredLightBufferBytes,
+                VK10.VK_BUFFER_USAGE_STORAGE_BUFFER_BIT,
+                VK10.VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT | VK10.VK_MEMORY_PROPERTY_HOST_COHERENT_BIT,
+                "clustered light buffer"
+        );
+        PointerBuffer pClusteredMapped = stack.mallocPointer(1);
+        int mapClusteredResult = vkMapMemory(device, clusteredLightAlloc.memory(), 0, clusteredLightBufferBytes, 0, pClusteredMapped);
+        if (mapClusteredResult != VK_SUCCESS || pClusteredMapped.get(0) == 0L) {
+            throw new EngineException(
+                    EngineErrorCode.BACKEND_INIT_FAILED,
+                    "vkMapMemory(clusteredLightPersistent) failed: " + mapClusteredResult,
+                    false
+            );
+        }
+        long clusteredLightMappedAddress = pClusteredMapped.get(0);
+        for (int i = 0; i < framesInFlight; i++) {
+            // Zero light count per span so frames drawn before the first upload skip the cluster loop.
+            memSet(clusteredLightMappedAddress + (long) i * clusteredLightFrameSpanBytes, 0, 16);
+        }
+
         long descriptorPool = createMainDescriptorPool(device, stack, framesInFlight, set0Bindings);
         long[] frameDescriptorSets = allocateFrameDescriptorSets(device, stack, descriptorPool, descriptorSetLayout, framesInFlight);
         updateFrameDescriptorSets(
@@ -200,16 +230,20 @@ public final class VulkanDescriptorResources implements DescriptorWriter {
                 globalUniformDeviceAlloc.buffer(),
                 objectUniformDeviceAlloc.buffer(),
                 reflectionProbeMetadataAlloc.buffer(),
+                clusteredLightAlloc.buffer(),
                 globalUniformFrameSpanBytes,
                 uniformFrameSpanBytes,
                 globalSceneUniformBytes,
                 objectUniformBytes,
+                clusteredLightFrameSpanBytes,
+                clusteredLightFrameBytes,
                 framesInFlight
         );
 
         long estimatedGpuMemoryBytes = ((long) totalObjectUniformBytes * 2L)
                 + ((long) totalGlobalUniformBytes * 2L)
-                + reflectionProbeMetadataBufferBytes;
+                + reflectionProbeMetadataBufferBytes
+                + clusteredLightBufferBytes;
         return new Allocation(
                 descriptorSetLayout,
                 textureDescriptorSetLayout,
@@ -232,6 +266,10 @@ public final class VulkanDescriptorResources implements DescriptorWriter {
                 reflectionProbeMetadataMaxCount,
                 reflectionProbeMetadataStrideBytes,
                 reflectionProbeMetadataBufferBytes,
+                clusteredLightAlloc.buffer(),
+                clusteredLightAlloc.memory(),
+                clusteredLightMappedAddress,
+                clusteredLightFrameSpanBytes,
                 uniformStrideBytes,
                 uniformFrameSpanBytes,
                 globalUniformFrameSpanBytes,
@@ -283,6 +321,15 @@ public final class VulkanDescriptorResources implements DescriptorWriter {
         if (resources.reflectionProbeMetadataMemory() != VK_NULL_HANDLE) {
             vkFreeMemory(device, resources.reflectionProbeMetadataMemory(), null);
         }
+        if (resources.clusteredLightBuffer() != VK_NULL_HANDLE) {
+            vkDestroyBuffer(device, resources.clusteredLightBuffer(), null);
+        }
+        if (resources.clusteredLightMappedAddress() != 0L && resources.clusteredLightMemory() != VK_NULL_HANDLE) {
+            vkUnmapMemory(device, resources.clusteredLightMemory());
+        }
+        if (resources.clusteredLightMemory() != VK_NULL_HANDLE) {
+            vkFreeMemory(device, resources.clusteredLightMemory(), null);
+        }
         if (resources.descriptorPool() != VK_NULL_HANDLE) {
             vkDestroyDescriptorPool(device, resources.descriptorPool(), null);
         }
@@ -430,16 +477,20 @@ public final class VulkanDescriptorResources implements DescriptorWriter {
             long sceneGlobalUniformBuffer,
             long objectUniformBuffer,
             long reflectionProbeMetadataBuffer,
+            long clusteredLightBuffer,
             int globalUniformFrameSpanBytes,
             int uniformFrameSpanBytes,
             int globalSceneUniformBytes,
             int objectUniformBytes,
+            int clusteredLightFrameSpanBytes,
+            int clusteredLightFrameBytes,
             int framesInFlight
     ) {
         VkDescriptorBufferInfo.Buffer globalBufferInfos = VkDescriptorBufferInfo.calloc(framesInFlight, stack);
         VkDescriptorBufferInfo.Buffer objectBufferInfos = VkDescriptorBufferInfo.calloc(framesInFlight, stack);
         VkDescriptorBufferInfo.Buffer probeBufferInfos = VkDescriptorBufferInfo.calloc(framesInFlight, stack);
-        VkWriteDescriptorSet.Buffer writes = VkWriteDescriptorSet.calloc(framesInFlight * 3, stack);
+        VkDescriptorBufferInfo.Buffer clusteredBufferInfos = VkDescriptorBufferInfo.calloc(framesInFlight, stack);
+        VkWriteDescriptorSet.Buffer writes = VkWriteDescriptorSet.calloc(framesInFlight * 4, stack);
         for (int i = 0; i < framesInFlight; i++) {
             long globalFrameBase = (long) i * globalUniformFrameSpanBytes;
             long objectFrameBase = (long) i * uniformFrameSpanBytes;
@@ -455,24 +506,34 @@ public final class VulkanDescriptorResources implements DescriptorWriter {
                     .buffer(reflectionProbeMetadataBuffer)
                     .offset(0)
                     .range(VK10.VK_WHOLE_SIZE);
-            writes.get(i * 3)
+            clusteredBufferInfos.get(i)
+                    .buffer(clusteredLightBuffer)
+                    .offset((long) i * clusteredLightFrameSpanBytes)
+                    .range(clusteredLightFrameBytes);
+            writes.get(i * 4)
                     .sType(VK_STRUCTURE_TYPE_WRITE_DESCRIPTOR_SET)
                     .dstSet(frameDescriptorSets[i])
                     .dstBinding(0)
                     .descriptorType(VK_DESCRIPTOR_TYPE_UNIFORM_BUFFER)
                     .pBufferInfo(VkDescriptorBufferInfo.calloc(1, stack).put(0, globalBufferInfos.get(i)));
-            writes.get((i * 3) + 1)
+            writes.get((i * 4) + 1)
                     .sType(VK_STRUCTURE_TYPE_WRITE_DESCRIPTOR_SET)
                     .dstSet(frameDescriptorSets[i])
                     .dstBinding(1)
                     .descriptorType(VK_DESCRIPTOR_TYPE_UNIFORM_BUFFER_DYNAMIC)
                     .pBufferInfo(VkDescriptorBufferInfo.calloc(1, stack).put(0, objectBufferInfos.get(i)));
-            writes.get((i * 3) + 2)
+            writes.get((i * 4) + 2)
                     .sType(VK_STRUCTURE_TYPE_WRITE_DESCRIPTOR_SET)
                     .dstSet(frameDescriptorSets[i])
                     .dstBinding(2)
                     .descriptorType(VK_DESCRIPTOR_TYPE_STORAGE_BUFFER)
                     .pBufferInfo(VkDescriptorBufferInfo.calloc(1, stack).put(0, probeBufferInfos.get(i)));
+            writes.get((i * 4) + 3)
+                    .sType(VK_STRUCTURE_TYPE_WRITE_DESCRIPTOR_SET)
+                    .dstSet(frameDescriptorSets[i])
+                    .dstBinding(3)
+                    .descriptorType(VK_DESCRIPTOR_TYPE_STORAGE_BUFFER)
+                    .pBufferInfo(VkDescriptorBufferInfo.calloc(1, stack).put(0, clusteredBufferInfos.get(i)));
         }
         vkUpdateDescriptorSets(device, writes, null);
     }
@@ -551,6 +612,17 @@ public final class VulkanDescriptorResources implements DescriptorWriter {
             long descriptorSet,
             long instanceBuffer,
             long instanceRangeBytes
+    ) {
+        writeInstanceBatchDescriptorSet(device, stack, descriptorSet, instanceBuffer, 0L, instanceRangeBytes);
+    }
+
+    public static void writeInstanceBatchDescriptorSet(
+            VkDevice device,
+            MemoryStack stack,
+            long descriptorSet,
+            long instanceBuffer,
+            long instanceOffsetBytes,
+            long instanceRangeBytes
     ) {
         if (device == null || descriptorSet == VK_NULL_HANDLE || instanceBuffer == VK_NULL_HANDLE) {
             return;
@@ -558,7 +630,7 @@ public final class VulkanDescriptorResources implements DescriptorWriter {
         VkDescriptorBufferInfo.Buffer instanceBufferInfo = VkDescriptorBufferInfo.calloc(1, stack);
         instanceBufferInfo.get(0)
                 .buffer(instanceBuffer)
-                .offset(0)
+                .offset(instanceOffsetBytes)
                 .range(instanceRangeBytes <= 0 ? VK10.VK_WHOLE_SIZE : instanceRangeBytes);
         VkWriteDescriptorSet.Buffer writes = VkWriteDescriptorSet.calloc(1, stack);
         writes.get(0)
@@ -631,6 +703,10 @@ public final class VulkanDescriptorResources implements DescriptorWriter {
             int reflectionProbeMetadataMaxCount,
             int reflectionProbeMetadataStrideBytes,
             int reflectionProbeMetadataBufferBytes,
+            long clusteredLightBuffer,
+            long clusteredLightMemory,
+            long clusteredLightMappedAddress,
+            int clusteredLightFrameSpanBytes,
             int uniformStrideBytes,
             int uniformFrameSpanBytes,
             int globalUniformFrameSpanBytes,
@@ -1,6 +1,5 @@
 package org.dynamisengine.light.impl.vulkan.descriptor;
 
-import org.dynamisengine.light.api.error.EngineErrorCode;
 import org.dynamisengine.light.api.error.EngineException;
 import org.dynamisengine.light.impl.vulkan.model.VulkanGpuMesh;
 import org.dynamisengine.light.impl.vulkan.model.VulkanGpuTexture;
@@ -8,13 +7,18 @@ import org.lwjgl.system.MemoryStack;
 import org.lwjgl.vulkan.VK10;
 import org.lwjgl.vulkan.VkDescriptorPoolCreateInfo;
 import org.lwjgl.vulkan.VkDescriptorPoolSize;
+import org.lwjgl.vulkan.VkDescriptorSetAllocateInfo;
 import org.lwjgl.vulkan.VkDevice;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import static org.lwjgl.system.MemoryStack.stackPush;
 import static org.lwjgl.vulkan.VK10.VK_NULL_HANDLE;
 import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_DESCRIPTOR_POOL_CREATE_INFO;
+import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_DESCRIPTOR_SET_ALLOCATE_INFO;
 import static org.lwjgl.vulkan.VK10.VK_SUCCESS;
+import static org.lwjgl.vulkan.VK10.vkAllocateDescriptorSets;
 import static org.lwjgl.vulkan.VK10.vkCreateDescriptorPool;
 import static org.lwjgl.vulkan.VK10.vkDestroyDescriptorPool;
 import static org.lwjgl.vulkan.VK10.vkResetDescriptorPool;
@@ -23,13 +27,22 @@ public final class VulkanTextureDescriptorPoolManager {
     private VulkanTextureDescriptorPoolManager() {
     }
 
+    /**
+     * Gives every mesh without a texture set one from the paged allocator and writes it; meshes that already
+     * hold a live set keep it untouched. All sets are retired and rewritten only when the layout or the
+     * shared shadow/IBL bindings changed (see {@link #assignSets}). Retired sets are not reset: their pages
+     * are recycled by {@link VulkanDescriptorPageAllocator#processRetirements(long)} once in-flight frames
+     * are done with them. A new allocator is only built when none exists or the binding count changed; in
+     * the latter case the old one is handed to it via {@link VulkanDescriptorPageAllocator#retireAllocator}
+     * so its pages outlive the frames that may still bind them.
+     */
     public static State createOrReuseAndWrite(
             VkDevice device,
             MemoryStack stack,
             List<VulkanGpuMesh> gpuMeshes,
             long textureDescriptorSetLayout,
-            long textureDescriptorPool,
-            int descriptorRingSetCapacity,
+            VulkanDescriptorPageAllocator textureDescriptorPages,
+            int framesInFlight,
             int descriptorRingPeakSetCapacity,
             int descriptorRingPeakWasteSetCount,
             long descriptorPoolBuildCount,
@@ -38,7 +51,10 @@ public final class VulkanTextureDescriptorPoolManager {
             long descriptorRingSteadyRebuildCount,
             long descriptorRingPoolReuseCount,
             long descriptorRingPoolResetFailureCount,
+            int descriptorSetHighWaterMark,
+            long descriptorAllocationFailureCount,
             int targetSetCapacity,
+            int descriptorRingMaxSetCapacity,
             int textureDescriptorBindingCount,
             long shadowDepthImageView,
             long shadowSampler,
@@ -49,63 +65,68 @@ public final class VulkanTextureDescriptorPoolManager {
             VulkanGpuTexture iblBrdfLutTexture,
             VulkanGpuTexture probeRadianceTexture
     ) throws EngineException {
-        int requiredSetCount = gpuMeshes.size();
-        boolean needsRebuild = textureDescriptorPool == VK_NULL_HANDLE || requiredSetCount > descriptorRingSetCapacity;
-        if (!needsRebuild) {
-            int resetResult = vkResetDescriptorPool(device, textureDescriptorPool, 0);
-            if (resetResult == VK_SUCCESS) {
-                descriptorRingPoolReuseCount++;
+        int bindingCount = Math.max(1, textureDescriptorBindingCount);
+        VulkanDescriptorPageAllocator replacedPages = null;
+        if (textureDescriptorPages != null
+                && !(textureDescriptorPages.poolOps() instanceof TexturePoolOps ops
+                && ops.device() == device
+                && ops.descriptorsPerSet() == bindingCount)) {
+            // Only a binding-count change on the same device can leave sets bound by frames in flight.
+            if (textureDescriptorPages.poolOps() instanceof TexturePoolOps previousOps && previousOps.device() == device) {
+                replacedPages = textureDescriptorPages;
             } else {
-                descriptorRingPoolResetFailureCount++;
-                needsRebuild = true;
+                textureDescriptorPages.destroy();
             }
+            textureDescriptorPages = null;
+            descriptorPoolRebuildCount++;
+            descriptorRingSteadyRebuildCount++;
         }
-
-        if (needsRebuild) {
-            if (textureDescriptorPool != VK_NULL_HANDLE) {
-                vkDestroyDescriptorPool(device, textureDescriptorPool, null);
-                textureDescriptorPool = VK_NULL_HANDLE;
-                descriptorPoolRebuildCount++;
-                if (requiredSetCount > descriptorRingSetCapacity) {
-                    descriptorRingGrowthRebuildCount++;
-                } else {
-                    descriptorRingSteadyRebuildCount++;
-                }
-            }
-            descriptorPoolBuildCount++;
-            descriptorRingSetCapacity = targetSetCapacity;
-            descriptorRingPeakSetCapacity = Math.max(descriptorRingPeakSetCapacity, descriptorRingSetCapacity);
-
-            VkDescriptorPoolSize.Buffer poolSizes = VkDescriptorPoolSize.calloc(1, stack);
-            poolSizes.get(0)
-                    .type(VK10.VK_DESCRIPTOR_TYPE_COMBINED_IMAGE_SAMPLER)
-                    .descriptorCount(descriptorRingSetCapacity * Math.max(1, textureDescriptorBindingCount));
-
-            VkDescriptorPoolCreateInfo poolInfo = VkDescriptorPoolCreateInfo.calloc(stack)
-                    .sType(VK_STRUCTURE_TYPE_DESCRIPTOR_POOL_CREATE_INFO)
-                    .maxSets(descriptorRingSetCapacity)
-                    .pPoolSizes(poolSizes);
-            var pPool = stack.longs(VK_NULL_HANDLE);
-            int poolResult = vkCreateDescriptorPool(device, poolInfo, null, pPool);
-            if (poolResult != VK_SUCCESS || pPool.get(0) == VK_NULL_HANDLE) {
-                throw new EngineException(
-                        EngineErrorCode.BACKEND_INIT_FAILED,
-                        "vkCreateDescriptorPool(texture) failed: " + poolResult,
-                        false
-                );
-            }
-            textureDescriptorPool = pPool.get(0);
+        if (textureDescriptorPages == null) {
+            int pageSets = Math.max(1, targetSetCapacity);
+            textureDescriptorPages = new VulkanDescriptorPageAllocator(
+                    new TexturePoolOps(device, bindingCount),
+                    Math.max(1, framesInFlight),
+                    pageSets,
+                    Math.max(pageSets, descriptorRingMaxSetCapacity)
+            );
+            textureDescriptorPages.retireAllocator(replacedPages);
         }
-        int descriptorRingActiveSetCount = requiredSetCount;
-        int descriptorRingWasteSetCount = Math.max(0, descriptorRingSetCapacity - requiredSetCount);
+
+        long createdBefore = textureDescriptorPages.pagesCreated();
+        long failuresBefore = textureDescriptorPages.allocationFailures();
+        List<VulkanGpuMesh> pendingMeshes = assignSets(
+                textureDescriptorPages,
+                gpuMeshes,
+                new SharedBindings(
+                        textureDescriptorSetLayout,
+                        shadowDepthImageView,
+                        shadowSampler,
+                        shadowMomentImageView,
+                        shadowMomentSampler,
+                        iblIrradianceTexture.view(),
+                        iblIrradianceTexture.sampler(),
+                        iblRadianceTexture.view(),
+                        iblRadianceTexture.sampler(),
+                        iblBrdfLutTexture.view(),
+                        iblBrdfLutTexture.sampler(),
+                        probeRadianceTexture.view(),
+                        probeRadianceTexture.sampler()
+                )
+        );
+        descriptorPoolBuildCount += textureDescriptorPages.pagesCreated() - createdBefore;
+        descriptorAllocationFailureCount += textureDescriptorPages.allocationFailures() - failuresBefore;
+        descriptorSetHighWaterMark = Math.max(descriptorSetHighWaterMark, textureDescriptorPages.setHighWaterMark());
+
+        int descriptorRingSetCapacity = textureDescriptorPages.setCapacity();
+        descriptorRingPeakSetCapacity = Math.max(descriptorRingPeakSetCapacity, descriptorRingSetCapacity);
+        int descriptorRingActiveSetCount = textureDescriptorPages.liveSets();
+        int descriptorRingWasteSetCount = Math.max(0, descriptorRingSetCapacity - descriptorRingActiveSetCount);
         descriptorRingPeakWasteSetCount = Math.max(descriptorRingPeakWasteSetCount, descriptorRingWasteSetCount);
 
-        VulkanTextureDescriptorWriter.allocateAndWrite(
+        VulkanTextureDescriptorWriter.write(
                 device,
                 stack,
-                textureDescriptorPool,
-                textureDescriptorSetLayout,
-                gpuMeshes,
+                pendingMeshes,
                 shadowDepthImageView,
                 shadowSampler,
                 shadowMomentImageView,
@@ -117,7 +138,7 @@ public final class VulkanTextureDescriptorPoolManager {
         );
 
         return new State(
-                textureDescriptorPool,
+                textureDescriptorPages,
                 descriptorPoolBuildCount,
                 descriptorPoolRebuildCount,
                 descriptorRingGrowthRebuildCount,
@@ -128,12 +149,71 @@ public final class VulkanTextureDescriptorPoolManager {
                 descriptorRingPeakSetCapacity,
                 descriptorRingActiveSetCount,
                 descriptorRingWasteSetCount,
-                descriptorRingPeakWasteSetCount
+                descriptorRingPeakWasteSetCount,
+                textureDescriptorPages.poolCount(),
+                descriptorSetHighWaterMark,
+                descriptorAllocationFailureCount
         );
     }
 
+    /**
+     * Points every mesh that has no texture set at a newly allocated one and returns the meshes whose sets
+     * must be written. Live sets are kept while {@code shared} matches what they were written with; when it
+     * does not, or when sets left behind by removed meshes would outnumber the live meshes, everything is
+     * retired and every mesh gets a new set. Sets cannot be freed one by one from a paged allocator, so the
+     * second condition is what bounds the waste of incremental batches.
+     */
+    static List<VulkanGpuMesh> assignSets(
+            VulkanDescriptorPageAllocator textureDescriptorPages,
+            List<VulkanGpuMesh> gpuMeshes,
+            SharedBindings shared
+    ) throws EngineException {
+        int missing = 0;
+        for (VulkanGpuMesh mesh : gpuMeshes) {
+            if (mesh.textureDescriptorSet == VK_NULL_HANDLE) {
+                missing++;
+            }
+        }
+        boolean rewriteAll = !shared.equals(textureDescriptorPages.writtenBindings())
+                || textureDescriptorPages.liveSets() + missing > 2 * gpuMeshes.size();
+        if (rewriteAll) {
+            textureDescriptorPages.retireAll();
+            missing = gpuMeshes.size();
+        }
+        List<VulkanGpuMesh> pending = new ArrayList<>(missing);
+        for (VulkanGpuMesh mesh : gpuMeshes) {
+            if (rewriteAll || mesh.textureDescriptorSet == VK_NULL_HANDLE) {
+                pending.add(mesh);
+            }
+        }
+        long[] sets = textureDescriptorPages.allocate(shared.layout(), pending.size());
+        for (int i = 0; i < sets.length; i++) {
+            pending.get(i).textureDescriptorSet = sets[i];
+        }
+        textureDescriptorPages.writtenBindings(shared);
+        return pending;
+    }
+
+    /** The set layout plus the shadow and IBL views and samplers written into every texture set. */
+    record SharedBindings(
+            long layout,
+            long shadowDepthImageView,
+            long shadowSampler,
+            long shadowMomentImageView,
+            long shadowMomentSampler,
+            long iblIrradianceView,
+            long iblIrradianceSampler,
+            long iblRadianceView,
+            long iblRadianceSampler,
+            long iblBrdfLutView,
+            long iblBrdfLutSampler,
+            long probeRadianceView,
+            long probeRadianceSampler
+    ) {
+    }
+
     public record State(
-            long textureDescriptorPool,
+            VulkanDescriptorPageAllocator textureDescriptorPages,
             long descriptorPoolBuildCount,
             long descriptorPoolRebuildCount,
             long descriptorRingGrowthRebuildCount,
@@ -144,7 +224,60 @@ public final class VulkanTextureDescriptorPoolManager {
             int descriptorRingPeakSetCapacity,
             int descriptorRingActiveSetCount,
             int descriptorRingWasteSetCount,
-            int descriptorRingPeakWasteSetCount
+            int descriptorRingPeakWasteSetCount,
+            int descriptorPoolCount,
+            int descriptorSetHighWaterMark,
+            long descriptorAllocationFailureCount
     ) {
     }
+
+    /** Texture pages: {@code descriptorsPerSet} combined image samplers per set. */
+    record TexturePoolOps(VkDevice device, int descriptorsPerSet) implements VulkanDescriptorPageAllocator.PoolOps {
+        @Override
+        public long createPool(int maxSets) {
+            try (MemoryStack stack = stackPush()) {
+                VkDescriptorPoolSize.Buffer poolSizes = VkDescriptorPoolSize.calloc(1, stack);
+                poolSizes.get(0)
+                        .type(VK10.VK_DESCRIPTOR_TYPE_COMBINED_IMAGE_SAMPLER)
+                        .descriptorCount(maxSets * descriptorsPerSet);
+                VkDescriptorPoolCreateInfo poolInfo = VkDescriptorPoolCreateInfo.calloc(stack)
+                        .sType(VK_STRUCTURE_TYPE_DESCRIPTOR_POOL_CREATE_INFO)
+                        .maxSets(maxSets)
+                        .pPoolSizes(poolSizes);
+                var pPool = stack.longs(VK_NULL_HANDLE);
+                int result = vkCreateDescriptorPool(device, poolInfo, null, pPool);
+                return result == VK_SUCCESS ? pPool.get(0) : VK_NULL_HANDLE;
+            }
+        }
+
+        @Override
+        public boolean allocate(long pool, long layout, int count, long[] out, int offset) {
+            try (MemoryStack stack = stackPush()) {
+                var setLayouts = stack.mallocLong(count);
+                for (int i = 0; i < count; i++) {
+                    setLayouts.put(i, layout);
+                }
+                VkDescriptorSetAllocateInfo allocInfo = VkDescriptorSetAllocateInfo.calloc(stack)
+                        .sType(VK_STRUCTURE_TYPE_DESCRIPTOR_SET_ALLOCATE_INFO)
+                        .descriptorPool(pool)
+                        .pSetLayouts(setLayouts);
+                var allocatedSets = stack.mallocLong(count);
+                if (vkAllocateDescriptorSets(device, allocInfo, allocatedSets) != VK_SUCCESS) {
+                    return false;
+                }
+                allocatedSets.get(out, offset, count);
+                return true;
+            }
+        }
+
+        @Override
+        public boolean resetPool(long pool) {
+            return vkResetDescriptorPool(device, pool, 0) == VK_SUCCESS;
+        }
+
+        @Override
+        public void destroyPool(long pool) {
+            vkDestroyDescriptorPool(device, pool, null);
+        }
+    }
 }
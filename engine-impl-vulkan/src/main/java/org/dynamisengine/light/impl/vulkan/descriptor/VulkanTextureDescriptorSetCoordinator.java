@@ -27,8 +27,8 @@ public final class VulkanTextureDescriptorSetCoordinator {
                 inputs.stack(),
                 inputs.gpuMeshes(),
                 inputs.textureDescriptorSetLayout(),
-                inputs.textureDescriptorPool(),
-                inputs.descriptorRingSetCapacity(),
+                inputs.textureDescriptorPages(),
+                inputs.framesInFlight(),
                 inputs.descriptorRingPeakSetCapacity(),
                 inputs.descriptorRingPeakWasteSetCount(),
                 inputs.descriptorPoolBuildCount(),
@@ -37,7 +37,10 @@ public final class VulkanTextureDescriptorSetCoordinator {
                 inputs.descriptorRingSteadyRebuildCount(),
                 inputs.descriptorRingPoolReuseCount(),
                 inputs.descriptorRingPoolResetFailureCount(),
+                inputs.descriptorSetHighWaterMark(),
+                inputs.descriptorAllocationFailureCount(),
                 decision.targetCapacity(),
+                inputs.descriptorRingMaxSetCapacity(),
                 inputs.textureDescriptorBindingCount(),
                 inputs.shadowDepthImageView(),
                 inputs.shadowSampler(),
@@ -49,7 +52,7 @@ public final class VulkanTextureDescriptorSetCoordinator {
                 inputs.probeRadianceTexture()
         );
         return new Result(
-                state.textureDescriptorPool(),
+                state.textureDescriptorPages(),
                 state.descriptorPoolBuildCount(),
                 state.descriptorPoolRebuildCount(),
                 state.descriptorRingGrowthRebuildCount(),
@@ -61,6 +64,9 @@ public final class VulkanTextureDescriptorSetCoordinator {
                 state.descriptorRingActiveSetCount(),
                 state.descriptorRingWasteSetCount(),
                 state.descriptorRingPeakWasteSetCount(),
+                state.descriptorPoolCount(),
+                state.descriptorSetHighWaterMark(),
+                state.descriptorAllocationFailureCount(),
                 capBypassCountIncrement
         );
     }
@@ -70,7 +76,8 @@ public final class VulkanTextureDescriptorSetCoordinator {
             MemoryStack stack,
             List<VulkanGpuMesh> gpuMeshes,
             long textureDescriptorSetLayout,
-            long textureDescriptorPool,
+            VulkanDescriptorPageAllocator textureDescriptorPages,
+            int framesInFlight,
             int descriptorRingSetCapacity,
             int descriptorRingPeakSetCapacity,
             int descriptorRingPeakWasteSetCount,
@@ -80,6 +87,8 @@ public final class VulkanTextureDescriptorSetCoordinator {
             long descriptorRingSteadyRebuildCount,
             long descriptorRingPoolReuseCount,
             long descriptorRingPoolResetFailureCount,
+            int descriptorSetHighWaterMark,
+            long descriptorAllocationFailureCount,
             int descriptorRingMaxSetCapacity,
             int textureDescriptorBindingCount,
             long shadowDepthImageView,
@@ -94,7 +103,7 @@ public final class VulkanTextureDescriptorSetCoordinator {
     }
 
     public record Result(
-            long textureDescriptorPool,
+            VulkanDescriptorPageAllocator textureDescriptorPages,
             long descriptorPoolBuildCount,
             long descriptorPoolRebuildCount,
             long descriptorRingGrowthRebuildCount,
@@ -106,6 +115,9 @@ public final class VulkanTextureDescriptorSetCoordinator {
             int descriptorRingActiveSetCount,
             int descriptorRingWasteSetCount,
             int descriptorRingPeakWasteSetCount,
+            int descriptorPoolCount,
+            int descriptorSetHighWaterMark,
+            long descriptorAllocationFailureCount,
             long descriptorRingCapBypassCountIncrement
     ) {
     }
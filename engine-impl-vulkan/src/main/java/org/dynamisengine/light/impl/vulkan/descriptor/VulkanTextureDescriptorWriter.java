@@ -1,23 +1,18 @@
 package org.dynamisengine.light.impl.vulkan.descriptor;
 
 import java.util.List;
-import org.dynamisengine.light.api.error.EngineErrorCode;
 import org.dynamisengine.light.api.error.EngineException;
 import org.dynamisengine.light.impl.vulkan.model.VulkanGpuMesh;
 import org.dynamisengine.light.impl.vulkan.model.VulkanGpuTexture;
 import org.lwjgl.system.MemoryStack;
 import org.lwjgl.vulkan.VK10;
 import org.lwjgl.vulkan.VkDescriptorImageInfo;
-import org.lwjgl.vulkan.VkDescriptorSetAllocateInfo;
 import org.lwjgl.vulkan.VkDevice;
 import org.lwjgl.vulkan.VkWriteDescriptorSet;
 
 import static org.lwjgl.vulkan.VK10.VK_IMAGE_LAYOUT_DEPTH_STENCIL_READ_ONLY_OPTIMAL;
 import static org.lwjgl.vulkan.VK10.VK_NULL_HANDLE;
-import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_DESCRIPTOR_SET_ALLOCATE_INFO;
 import static org.lwjgl.vulkan.VK10.VK_STRUCTURE_TYPE_WRITE_DESCRIPTOR_SET;
-import static org.lwjgl.vulkan.VK10.VK_SUCCESS;
-import static org.lwjgl.vulkan.VK10.vkAllocateDescriptorSets;
 import static org.lwjgl.vulkan.VK10.vkUpdateDescriptorSets;
 
 public final class VulkanTextureDescriptorWriter {
@@ -27,11 +22,10 @@ public final class VulkanTextureDescriptorWriter {
     private VulkanTextureDescriptorWriter() {
     }
 
-    public static void allocateAndWrite(
+    /** Writes the texture, shadow and IBL bindings of each mesh's already allocated texture set. */
+    public static void write(
             VkDevice device,
             MemoryStack stack,
-            long textureDescriptorPool,
-            long textureDescriptorSetLayout,
             List<VulkanGpuMesh> meshes,
             long shadowDepthImageView,
             long shadowSampler,
@@ -42,33 +36,8 @@ public final class VulkanTextureDescriptorWriter {
             VulkanGpuTexture iblBrdfLutTexture,
             VulkanGpuTexture probeRadianceTexture
     ) throws EngineException {
-        int requiredSetCount = meshes.size();
-        if (requiredSetCount <= 0 || textureDescriptorSetLayout == VK_NULL_HANDLE || textureDescriptorPool == VK_NULL_HANDLE) {
-            return;
-        }
-
-        VkDescriptorSetAllocateInfo allocInfo = VkDescriptorSetAllocateInfo.calloc(stack)
-                .sType(VK_STRUCTURE_TYPE_DESCRIPTOR_SET_ALLOCATE_INFO)
-                .descriptorPool(textureDescriptorPool);
-        var setLayouts = stack.mallocLong(requiredSetCount);
-        for (int i = 0; i < requiredSetCount; i++) {
-            setLayouts.put(i, textureDescriptorSetLayout);
-        }
-        allocInfo.pSetLayouts(setLayouts);
-
-        var allocatedSets = stack.mallocLong(requiredSetCount);
-        int setResult = vkAllocateDescriptorSets(device, allocInfo, allocatedSets);
-        if (setResult != VK_SUCCESS) {
-            throw new EngineException(
-                    EngineErrorCode.BACKEND_INIT_FAILED,
-                    "vkAllocateDescriptorSets(texture) failed: " + setResult,
-                    false
-            );
-        }
-
-        for (int i = 0; i < requiredSetCount; i++) {
+        for (int i = 0; i < meshes.size(); i++) {
             VulkanGpuMesh mesh = meshes.get(i);
-            mesh.textureDescriptorSet = allocatedSets.get(i);
 
             VkDescriptorImageInfo.Buffer albedoInfo = imageInfo(stack, mesh.albedoTexture.view(), mesh.albedoTexture.sampler());
             VkDescriptorImageInfo.Buffer normalInfo = imageInfo(stack, mesh.normalTexture.view(), mesh.normalTexture.sampler());
@@ -5,13 +5,33 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * Executable Vulkan graph plan (metadata order + per-node callback mapping).
+ * Executable Vulkan graph plan (metadata order + per-node callback mapping + timestamp query layout
+ * + transient memory packing estimate).
  */
 public record VulkanExecutableRenderGraphPlan(
         VulkanRenderGraphPlan metadataPlan,
         VulkanRenderGraphBarrierPlan barrierPlan,
-        Map<String, Runnable> executeCallbackByNodeId
+        Map<String, Runnable> executeCallbackByNodeId,
+        VulkanRenderGraphTimestampSlots timestampSlots,
+        VulkanTransientPackingPlan transientPackingPlan
 ) {
+    public VulkanExecutableRenderGraphPlan(
+            VulkanRenderGraphPlan metadataPlan,
+            VulkanRenderGraphBarrierPlan barrierPlan,
+            Map<String, Runnable> executeCallbackByNodeId
+    ) {
+        this(metadataPlan, barrierPlan, executeCallbackByNodeId, null, null);
+    }
+
+    public VulkanExecutableRenderGraphPlan(
+            VulkanRenderGraphPlan metadataPlan,
+            VulkanRenderGraphBarrierPlan barrierPlan,
+            Map<String, Runnable> executeCallbackByNodeId,
+            VulkanRenderGraphTimestampSlots timestampSlots
+    ) {
+        this(metadataPlan, barrierPlan, executeCallbackByNodeId, timestampSlots, null);
+    }
+
     public VulkanExecutableRenderGraphPlan {
         metadataPlan = metadataPlan == null
                 ? new VulkanRenderGraphPlan(List.of(), List.of(), List.of(), List.of())
@@ -20,6 +40,10 @@ public record VulkanExecutableRenderGraphPlan(
         executeCallbackByNodeId = executeCallbackByNodeId == null
                 ? Map.of()
                 : Map.copyOf(new LinkedHashMap<>(executeCallbackByNodeId));
+        timestampSlots = timestampSlots == null ? VulkanRenderGraphTimestampSlots.of(metadataPlan) : timestampSlots;
+        transientPackingPlan = transientPackingPlan == null
+                ? new VulkanTransientPackingPlan(List.of(), List.of())
+                : transientPackingPlan;
     }
 
     public Runnable executeCallback(String nodeId) {
@@ -0,0 +1,225 @@
+package org.dynamisengine.light.impl.vulkan.graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.dynamisengine.light.spi.render.RenderPassContribution;
+
+/**
+ * Reuses compiled executable plans across frames whose graph inputs are structurally equal.
+ *
+ * The fingerprint is the ordered (featureId, pass contribution) list plus the imported
+ * resources; callbacks are excluded because they are rebuilt every frame. On a hit the cached
+ * metadata and barrier plans (and the timestamp query layout) are reused as-is and only the
+ * node-to-callback map is rebound.
+ *
+ * Each template also carries the transient packing estimate for the extent it was last planned at,
+ * so graph-owned resources are re-packed only when the graph or the render extent changes.
+ * With packing disabled every transient resource gets its own heap, which makes
+ * {@link TransientMemoryStats#peakTransientBytes()} the unpacked footprint.
+ */
+public final class VulkanExecutableRenderGraphPlanCache {
+    private static final int DEFAULT_MAX_ENTRIES = 8;
+
+    private final VulkanExecutableRenderGraphPlanner planner;
+    private final VulkanTransientPackingPlanner packingPlanner = new VulkanTransientPackingPlanner();
+    private final int maxEntries;
+    private final boolean transientPackingEnabled;
+    private final Map<Fingerprint, Template> templates;
+    private Fingerprint lastFingerprint;
+    private long hits;
+    private long misses;
+    private long invalidations;
+    private VulkanTransientPackingPlan lastTransientPlan = new VulkanTransientPackingPlan(List.of(), List.of());
+
+    public VulkanExecutableRenderGraphPlanCache() {
+        this(false);
+    }
+
+    public VulkanExecutableRenderGraphPlanCache(boolean transientPackingEnabled) {
+        this(new VulkanExecutableRenderGraphPlanner(), DEFAULT_MAX_ENTRIES, transientPackingEnabled);
+    }
+
+    public VulkanExecutableRenderGraphPlanCache(VulkanExecutableRenderGraphPlanner planner, int maxEntries) {
+        this(planner, maxEntries, false);
+    }
+
+    public VulkanExecutableRenderGraphPlanCache(
+            VulkanExecutableRenderGraphPlanner planner,
+            int maxEntries,
+            boolean transientPackingEnabled
+    ) {
+        this.planner = planner == null ? new VulkanExecutableRenderGraphPlanner() : planner;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.transientPackingEnabled = transientPackingEnabled;
+        this.templates = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public VulkanExecutableRenderGraphPlan plan(
+            List<VulkanExecutablePassDeclaration> declarations,
+            List<VulkanImportedResource> imports
+    ) {
+        return plan(declarations, imports, null);
+    }
+
+    /**
+     * Returns the executable plan for {@code declarations}, with transient resources placed for
+     * {@code extent}; a {@code null} extent skips transient placement.
+     */
+    public synchronized VulkanExecutableRenderGraphPlan plan(
+            List<VulkanExecutablePassDeclaration> declarations,
+            List<VulkanImportedResource> imports,
+            TransientExtent extent
+    ) {
+        Fingerprint fingerprint = Fingerprint.of(declarations, imports);
+        if (lastFingerprint != null && !lastFingerprint.equals(fingerprint)) {
+            invalidations++;
+        }
+        lastFingerprint = fingerprint;
+
+        Template template = templates.get(fingerprint);
+        if (template != null) {
+            hits++;
+            if (!Objects.equals(template.transientExtent(), extent)) {
+                template = template.withTransientPlan(extent, planTransients(template.metadataPlan(), extent));
+                templates.put(fingerprint, template);
+            }
+            lastTransientPlan = template.transientPlan();
+            return template.bind(declarations);
+        }
+        misses++;
+        VulkanExecutableRenderGraphPlan compiled = planner.compile(declarations, imports);
+        VulkanTransientPackingPlan transientPlan = planTransients(compiled.metadataPlan(), extent);
+        templates.put(fingerprint, new Template(
+                compiled.metadataPlan(),
+                compiled.barrierPlan(),
+                compiled.timestampSlots(),
+                VulkanExecutableRenderGraphPlanner.nodeIdsByDeclaration(declarations),
+                extent,
+                transientPlan
+        ));
+        if (templates.size() > maxEntries) {
+            templates.remove(templates.keySet().iterator().next());
+        }
+        lastTransientPlan = transientPlan;
+        return new VulkanExecutableRenderGraphPlan(
+                compiled.metadataPlan(),
+                compiled.barrierPlan(),
+                compiled.executeCallbackByNodeId(),
+                compiled.timestampSlots(),
+                transientPlan
+        );
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, invalidations, templates.size());
+    }
+
+    /** Transient memory estimate of the most recently planned graph. */
+    public synchronized TransientMemoryStats transientMemory() {
+        return new TransientMemoryStats(
+                transientPackingEnabled,
+                lastTransientPlan.peakTransientBytes(),
+                lastTransientPlan.unpackedTransientBytes(),
+                lastTransientPlan.heaps().size(),
+                lastTransientPlan.allocations().size()
+        );
+    }
+
+    public synchronized void clear() {
+        templates.clear();
+        lastFingerprint = null;
+    }
+
+    /**
+     * @param hits frames that reused a cached plan
+     * @param misses frames that compiled a plan
+     * @param invalidations frames whose fingerprint differed from the previous frame
+     * @param entries cached plan count
+     */
+    public record Stats(long hits, long misses, long invalidations, int entries) {
+    }
+
+    /**
+     * Render extent used to size graph-owned resources.
+     *
+     * @param widthPx render width
+     * @param heightPx render height
+     * @param shadowResolutionPx shadow map edge length
+     */
+    public record TransientExtent(int widthPx, int heightPx, int shadowResolutionPx) {
+    }
+
+    /**
+     * @param packingEnabled whether transient resources with disjoint lifetimes are estimated to share heaps
+     * @param peakTransientBytes bytes the estimated heaps would commit under the current setting
+     * @param unpackedTransientBytes sum of the resources' own sizes, before heap alignment
+     * @param heaps transient heap count
+     * @param resources graph-owned resources placed in those heaps
+     */
+    public record TransientMemoryStats(
+            boolean packingEnabled,
+            long peakTransientBytes,
+            long unpackedTransientBytes,
+            int heaps,
+            int resources
+    ) {
+    }
+
+    private VulkanTransientPackingPlan planTransients(VulkanRenderGraphPlan metadataPlan, TransientExtent extent) {
+        if (extent == null) {
+            return new VulkanTransientPackingPlan(List.of(), List.of());
+        }
+        return packingPlanner.plan(
+                metadataPlan,
+                VulkanTransientPackingPlanner.mockRequests(
+                        metadataPlan,
+                        extent.widthPx(),
+                        extent.heightPx(),
+                        extent.shadowResolutionPx()
+                ),
+                transientPackingEnabled
+        );
+    }
+
+    private record Fingerprint(List<PassKey> passes, List<VulkanImportedResource> imports) {
+        static Fingerprint of(List<VulkanExecutablePassDeclaration> declarations, List<VulkanImportedResource> imports) {
+            List<PassKey> passes = new ArrayList<>(declarations == null ? 0 : declarations.size());
+            if (declarations != null) {
+                for (VulkanExecutablePassDeclaration declaration : declarations) {
+                    passes.add(declaration == null ? null : new PassKey(declaration.featureId(), declaration.contribution()));
+                }
+            }
+            return new Fingerprint(passes, imports == null ? List.of() : List.copyOf(imports));
+        }
+    }
+
+    private record PassKey(String featureId, RenderPassContribution contribution) {
+    }
+
+    private record Template(
+            VulkanRenderGraphPlan metadataPlan,
+            VulkanRenderGraphBarrierPlan barrierPlan,
+            VulkanRenderGraphTimestampSlots timestampSlots,
+            String[] nodeIdsByDeclaration,
+            TransientExtent transientExtent,
+            VulkanTransientPackingPlan transientPlan
+    ) {
+        Template withTransientPlan(TransientExtent extent, VulkanTransientPackingPlan plan) {
+            return new Template(metadataPlan, barrierPlan, timestampSlots, nodeIdsByDeclaration, extent, plan);
+        }
+
+        VulkanExecutableRenderGraphPlan bind(List<VulkanExecutablePassDeclaration> declarations) {
+            Map<String, Runnable> callbackByNode = new HashMap<>();
+            for (int i = 0; i < nodeIdsByDeclaration.length; i++) {
+                if (nodeIdsByDeclaration[i] != null) {
+                    callbackByNode.put(nodeIdsByDeclaration[i], declarations.get(i).executeCallback());
+                }
+            }
+            return new VulkanExecutableRenderGraphPlan(metadataPlan, barrierPlan, callbackByNode, timestampSlots, transientPlan);
+        }
+    }
+}
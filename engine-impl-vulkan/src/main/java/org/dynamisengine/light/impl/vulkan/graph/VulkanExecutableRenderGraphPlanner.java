@@ -1,6 +1,7 @@
 package org.dynamisengine.light.impl.vulkan.graph;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,37 +35,27 @@ public final class VulkanExecutableRenderGraphPlanner {
             List<VulkanImportedResource> imports
     ) {
         Map<String, List<RenderPassContribution>> passByFeature = new LinkedHashMap<>();
-        Map<String, List<Runnable>> callbackByFeature = new LinkedHashMap<>();
+        Map<String, Runnable> callbackByNode = new LinkedHashMap<>();
+        String[] nodeIds = nodeIdsByDeclaration(declarations);
 
         if (declarations != null) {
-            for (VulkanExecutablePassDeclaration declaration : declarations) {
-                if (declaration == null || declaration.featureId().isBlank()) {
+            for (int i = 0; i < declarations.size(); i++) {
+                VulkanExecutablePassDeclaration declaration = declarations.get(i);
+                if (nodeIds[i] == null) {
                     continue;
                 }
                 passByFeature.computeIfAbsent(declaration.featureId(), ignored -> new ArrayList<>())
                         .add(declaration.contribution());
-                callbackByFeature.computeIfAbsent(declaration.featureId(), ignored -> new ArrayList<>())
-                        .add(declaration.executeCallback());
+                callbackByNode.put(nodeIds[i], declaration.executeCallback());
             }
         }
 
         List<RenderFeatureCapability> capabilities = new ArrayList<>();
-        Map<String, Runnable> callbackByNode = new LinkedHashMap<>();
-
         for (Map.Entry<String, List<RenderPassContribution>> entry : passByFeature.entrySet()) {
-            String featureId = entry.getKey();
-            List<RenderPassContribution> contributions = List.copyOf(entry.getValue());
-            List<Runnable> callbacks = callbackByFeature.getOrDefault(featureId, List.of());
-
-            for (int i = 0; i < contributions.size() && i < callbacks.size(); i++) {
-                String nodeId = featureId + ":" + contributions.get(i).passId() + "#" + i;
-                callbackByNode.put(nodeId, callbacks.get(i));
-            }
-
             RenderFeatureContract contract = new RenderFeatureContract(
-                    featureId,
+                    entry.getKey(),
                     "v1",
-                    contributions,
+                    List.copyOf(entry.getValue()),
                     List.of(),
                     List.of(),
                     List.of()
@@ -74,6 +65,32 @@ public final class VulkanExecutableRenderGraphPlanner {
 
         VulkanRenderGraphPlan metadataPlan = compiler.compile(capabilities, imports == null ? List.of() : imports);
         VulkanRenderGraphBarrierPlan barrierPlan = barrierPlanner.plan(metadataPlan);
-        return new VulkanExecutableRenderGraphPlan(metadataPlan, barrierPlan, callbackByNode);
+        return new VulkanExecutableRenderGraphPlan(
+                metadataPlan,
+                barrierPlan,
+                callbackByNode,
+                VulkanRenderGraphTimestampSlots.of(metadataPlan)
+        );
+    }
+
+    /**
+     * Graph node id for each declaration index ({@code featureId:passId#n}, where n counts
+     * passes within the feature), or {@code null} for declarations the planner skips.
+     */
+    static String[] nodeIdsByDeclaration(List<VulkanExecutablePassDeclaration> declarations) {
+        if (declarations == null) {
+            return new String[0];
+        }
+        String[] nodeIds = new String[declarations.size()];
+        Map<String, Integer> passIndexByFeature = new HashMap<>();
+        for (int i = 0; i < declarations.size(); i++) {
+            VulkanExecutablePassDeclaration declaration = declarations.get(i);
+            if (declaration == null || declaration.featureId().isBlank()) {
+                continue;
+            }
+            int passIndex = passIndexByFeature.merge(declaration.featureId(), 1, Integer::sum) - 1;
+            nodeIds[i] = declaration.featureId() + ":" + declaration.contribution().passId() + "#" + passIndex;
+        }
+        return nodeIds;
     }
 }
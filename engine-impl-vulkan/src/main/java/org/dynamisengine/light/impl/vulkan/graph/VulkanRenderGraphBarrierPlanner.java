@@ -157,7 +157,7 @@ public final class VulkanRenderGraphBarrierPlanner {
         return event.nodeId() + "#" + event.nodeIndex() + ":" + event.accessType().name().toLowerCase();
     }
 
-    private static RenderResourceType inferType(String resourceName) {
+    static RenderResourceType inferType(String resourceName) {
         String name = resourceName == null ? "" : resourceName.toLowerCase();
         if (name.contains("ubo") || name.contains("uniform")) {
             return RenderResourceType.UNIFORM_BUFFER;
@@ -171,7 +171,7 @@ public final class VulkanRenderGraphBarrierPlanner {
         return RenderResourceType.ATTACHMENT;
     }
 
-    private static boolean isImage(RenderResourceType type) {
+    static boolean isImage(RenderResourceType type) {
         return type == RenderResourceType.ATTACHMENT
                 || type == RenderResourceType.SAMPLED_IMAGE
                 || type == RenderResourceType.STORAGE_IMAGE;
@@ -0,0 +1,44 @@
+package org.dynamisengine.light.impl.vulkan.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GPU timestamp query layout of a compiled plan.
+ *
+ * Node {@code i} of {@link VulkanRenderGraphPlan#orderedNodes()} owns the start/end query pair at
+ * {@code 2 * i} and {@code 2 * i + 1}, relative to the block a profiler reserves for the plan each
+ * frame. The layout is fixed when the plan is compiled, so recording a pass never looks up its name.
+ *
+ * @param scopeNames profiler scope name per ordered node (the node id)
+ */
+public record VulkanRenderGraphTimestampSlots(List<String> scopeNames) {
+    public static final VulkanRenderGraphTimestampSlots EMPTY = new VulkanRenderGraphTimestampSlots(List.of());
+
+    public VulkanRenderGraphTimestampSlots {
+        scopeNames = scopeNames == null ? List.of() : List.copyOf(scopeNames);
+    }
+
+    public static VulkanRenderGraphTimestampSlots of(VulkanRenderGraphPlan plan) {
+        if (plan == null || plan.orderedNodes().isEmpty()) {
+            return EMPTY;
+        }
+        List<String> names = new ArrayList<>(plan.orderedNodes().size());
+        for (VulkanRenderGraphNode node : plan.orderedNodes()) {
+            names.add(node == null ? "" : node.nodeId());
+        }
+        return new VulkanRenderGraphTimestampSlots(names);
+    }
+
+    public int queryCount() {
+        return scopeNames.size() * 2;
+    }
+
+    public int startQuery(int nodeIndex) {
+        return nodeIndex * 2;
+    }
+
+    public int endQuery(int nodeIndex) {
+        return nodeIndex * 2 + 1;
+    }
+}
@@ -0,0 +1,71 @@
+package org.dynamisengine.light.impl.vulkan.graph;
+
+import java.util.List;
+
+/**
+ * Estimated packing of transient graph resources into shared memory heaps. It is a sizing report:
+ * nothing is allocated or bound from it.
+ *
+ * @param heaps shared heaps; each hosts resources with pairwise disjoint lifetimes
+ * @param allocations per-resource placement, in request order
+ */
+public record VulkanTransientPackingPlan(
+        List<Heap> heaps,
+        List<Allocation> allocations
+) {
+    public VulkanTransientPackingPlan {
+        heaps = heaps == null ? List.of() : List.copyOf(heaps);
+        allocations = allocations == null ? List.of() : List.copyOf(allocations);
+    }
+
+    /**
+     * @param index heap index
+     * @param sizeBytes heap size (largest aligned resident)
+     * @param alignmentBytes heap alignment (largest resident alignment)
+     * @param memoryTypeBits memory types every resident accepts
+     * @param image whether the heap hosts images (buffers never share an image heap)
+     * @param residents resource names in lifetime order
+     */
+    public record Heap(int index, long sizeBytes, long alignmentBytes, int memoryTypeBits, boolean image, List<String> residents) {
+        public Heap {
+            residents = residents == null ? List.of() : List.copyOf(residents);
+        }
+    }
+
+    /**
+     * @param resourceName symbolic resource name
+     * @param heapIndex heap the resource is placed in (offset 0)
+     * @param sizeBytes resource size
+     * @param firstNodeIndex first usage index (inclusive)
+     * @param lastNodeIndex last usage index (inclusive)
+     */
+    public record Allocation(String resourceName, int heapIndex, long sizeBytes, int firstNodeIndex, int lastNodeIndex) {
+    }
+
+    /** Bytes needed when every transient resource has its own allocation. */
+    public long unpackedTransientBytes() {
+        long total = 0L;
+        for (Allocation allocation : allocations) {
+            total += allocation.sizeBytes();
+        }
+        return total;
+    }
+
+    /** Bytes the packed heaps would commit for transient resources (sum of heap sizes). */
+    public long peakTransientBytes() {
+        long total = 0L;
+        for (Heap heap : heaps) {
+            total += heap.sizeBytes();
+        }
+        return total;
+    }
+
+    public Allocation allocation(String resourceName) {
+        for (Allocation allocation : allocations) {
+            if (allocation.resourceName().equals(resourceName)) {
+                return allocation;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,191 @@
+package org.dynamisengine.light.impl.vulkan.graph;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.dynamisengine.light.spi.render.RenderResourceType;
+
+/**
+ * Estimates how tightly graph-owned resources with non-overlapping lifetimes could be packed into shared
+ * memory heaps.
+ *
+ * Lifetimes in ordered node space form an interval graph, so greedy coloring in order of first use
+ * needs exactly as many heaps as the largest set of simultaneously live resources. Among the heaps
+ * that are free at a resource's first use, the one that grows least is chosen. Imported resources are
+ * never packed, and images and buffers never share a heap.
+ *
+ * The plan is a sizing report only: graph attachments are still allocated one by one by the swapchain
+ * lifecycle code, so no memory is bound from it and no hand-off barriers are planned.
+ */
+public final class VulkanTransientPackingPlanner {
+    private static final long MOCK_IMAGE_ALIGNMENT = 64L * 1024L;
+    private static final long MOCK_BUFFER_ALIGNMENT = 256L;
+    private static final long MOCK_BUFFER_BYTES = 64L * 1024L;
+
+    public VulkanTransientPackingPlan plan(
+            VulkanRenderGraphPlan graphPlan,
+            List<VulkanTransientResourceRequest> requests,
+            boolean packingEnabled
+    ) {
+        if (graphPlan == null || requests == null || requests.isEmpty()) {
+            return new VulkanTransientPackingPlan(List.of(), List.of());
+        }
+        Map<String, VulkanRenderGraphResourceLifetime> lifetimes = new LinkedHashMap<>();
+        for (VulkanRenderGraphResourceLifetime lifetime : graphPlan.resourceLifetimes()) {
+            lifetimes.put(lifetime.resourceName(), lifetime);
+        }
+        Set<String> imported = new HashSet<>();
+        for (VulkanImportedResource resource : graphPlan.importedResources()) {
+            imported.add(resource.resourceName());
+        }
+
+        Map<String, Candidate> candidates = new LinkedHashMap<>();
+        for (VulkanTransientResourceRequest request : requests) {
+            if (request == null || request.resourceName().isBlank() || imported.contains(request.resourceName())) {
+                continue;
+            }
+            VulkanRenderGraphResourceLifetime lifetime = lifetimes.get(request.resourceName());
+            if (lifetime != null) {
+                candidates.putIfAbsent(request.resourceName(), new Candidate(request, lifetime));
+            }
+        }
+        List<Candidate> byFirstUse = new ArrayList<>(candidates.values());
+        byFirstUse.sort(Comparator
+                .comparingInt((Candidate c) -> c.lifetime().firstNodeIndex())
+                .thenComparing(Comparator.comparingLong(Candidate::alignedSize).reversed())
+                .thenComparing(c -> c.request().resourceName()));
+
+        List<HeapBuilder> heaps = new ArrayList<>();
+        Map<String, Integer> heapByResource = new LinkedHashMap<>();
+        for (Candidate candidate : byFirstUse) {
+            HeapBuilder heap = packingEnabled ? bestFreeHeap(heaps, candidate) : null;
+            if (heap == null) {
+                heap = new HeapBuilder(heaps.size(), isImage(candidate.request().resourceType()), candidate.request().memoryTypeBits());
+                heaps.add(heap);
+            }
+            heap.add(candidate);
+            heapByResource.put(candidate.request().resourceName(), heap.index);
+        }
+
+        List<VulkanTransientPackingPlan.Allocation> allocations = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates.values()) {
+            allocations.add(new VulkanTransientPackingPlan.Allocation(
+                    candidate.request().resourceName(),
+                    heapByResource.get(candidate.request().resourceName()),
+                    candidate.request().sizeBytes(),
+                    candidate.lifetime().firstNodeIndex(),
+                    candidate.lifetime().lastNodeIndex()
+            ));
+        }
+        return new VulkanTransientPackingPlan(heaps.stream().map(HeapBuilder::build).toList(), allocations);
+    }
+
+    /**
+     * Mock-context sizing: estimates requirements for every graph-owned resource from the render extent
+     * (RGBA16F color, D32 depth, square shadow maps, 64 KiB buffers), so transient memory with and
+     * without packing can be reported without a device.
+     */
+    public static List<VulkanTransientResourceRequest> mockRequests(
+            VulkanRenderGraphPlan graphPlan,
+            int widthPx,
+            int heightPx,
+            int shadowResolutionPx
+    ) {
+        if (graphPlan == null) {
+            return List.of();
+        }
+        Set<String> imported = new HashSet<>();
+        for (VulkanImportedResource resource : graphPlan.importedResources()) {
+            imported.add(resource.resourceName());
+        }
+        List<VulkanTransientResourceRequest> out = new ArrayList<>();
+        for (VulkanRenderGraphResourceLifetime lifetime : graphPlan.resourceLifetimes()) {
+            String name = lifetime.resourceName();
+            if (imported.contains(name)) {
+                continue;
+            }
+            RenderResourceType type = VulkanRenderGraphBarrierPlanner.inferType(name);
+            if (!isImage(type)) {
+                out.add(new VulkanTransientResourceRequest(name, type, MOCK_BUFFER_BYTES, MOCK_BUFFER_ALIGNMENT, 1));
+                continue;
+            }
+            String lower = name.toLowerCase();
+            boolean shadow = lower.contains("shadow");
+            long pixels = shadow
+                    ? (long) shadowResolutionPx * shadowResolutionPx
+                    : (long) Math.max(1, widthPx) * Math.max(1, heightPx);
+            long bytesPerPixel = shadow || lower.contains("depth") ? 4L : 8L;
+            out.add(new VulkanTransientResourceRequest(name, type, pixels * bytesPerPixel, MOCK_IMAGE_ALIGNMENT, 1));
+        }
+        return out;
+    }
+
+    private static HeapBuilder bestFreeHeap(List<HeapBuilder> heaps, Candidate candidate) {
+        HeapBuilder best = null;
+        long bestGrowth = Long.MAX_VALUE;
+        long bestWaste = Long.MAX_VALUE;
+        boolean image = isImage(candidate.request().resourceType());
+        for (HeapBuilder heap : heaps) {
+            if (heap.image != image
+                    || heap.lastNodeIndex >= candidate.lifetime().firstNodeIndex()
+                    || (heap.memoryTypeBits & candidate.request().memoryTypeBits()) == 0) {
+                continue;
+            }
+            long growth = Math.max(0L, candidate.alignedSize() - heap.sizeBytes);
+            long waste = Math.max(0L, heap.sizeBytes - candidate.alignedSize());
+            if (growth < bestGrowth || (growth == bestGrowth && waste < bestWaste)) {
+                best = heap;
+                bestGrowth = growth;
+                bestWaste = waste;
+            }
+        }
+        return best;
+    }
+
+    private static boolean isImage(RenderResourceType type) {
+        return VulkanRenderGraphBarrierPlanner.isImage(type);
+    }
+
+    private static long align(long value, long alignment) {
+        long remainder = value % alignment;
+        return remainder == 0L ? value : value + alignment - remainder;
+    }
+
+    private record Candidate(VulkanTransientResourceRequest request, VulkanRenderGraphResourceLifetime lifetime) {
+        private long alignedSize() {
+            return align(request.sizeBytes(), request.alignmentBytes());
+        }
+    }
+
+    private static final class HeapBuilder {
+        private final int index;
+        private final boolean image;
+        private final List<String> residents = new ArrayList<>();
+        private int memoryTypeBits;
+        private long sizeBytes;
+        private long alignmentBytes = 1L;
+        private int lastNodeIndex = -1;
+
+        private HeapBuilder(int index, boolean image, int memoryTypeBits) {
+            this.index = index;
+            this.image = image;
+            this.memoryTypeBits = memoryTypeBits;
+        }
+
+        private void add(Candidate candidate) {
+            residents.add(candidate.request().resourceName());
+            memoryTypeBits &= candidate.request().memoryTypeBits();
+            alignmentBytes = Math.max(alignmentBytes, candidate.request().alignmentBytes());
+            sizeBytes = Math.max(sizeBytes, candidate.alignedSize());
+            lastNodeIndex = candidate.lifetime().lastNodeIndex();
+        }
+
+        private VulkanTransientPackingPlan.Heap build() {
+            return new VulkanTransientPackingPlan.Heap(index, sizeBytes, alignmentBytes, memoryTypeBits, image, residents);
+        }
+    }
+}
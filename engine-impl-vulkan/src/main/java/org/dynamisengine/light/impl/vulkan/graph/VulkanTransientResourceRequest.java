@@ -0,0 +1,27 @@
+package org.dynamisengine.light.impl.vulkan.graph;
+
+import org.dynamisengine.light.spi.render.RenderResourceType;
+
+/**
+ * Memory requirements of a graph-owned (non-imported) transient resource.
+ *
+ * @param resourceName symbolic resource name
+ * @param resourceType image or buffer classification
+ * @param sizeBytes required allocation size
+ * @param alignmentBytes required allocation alignment
+ * @param memoryTypeBits supported memory type bits (as reported by {@code vkGet*MemoryRequirements})
+ */
+public record VulkanTransientResourceRequest(
+        String resourceName,
+        RenderResourceType resourceType,
+        long sizeBytes,
+        long alignmentBytes,
+        int memoryTypeBits
+) {
+    public VulkanTransientResourceRequest {
+        resourceName = resourceName == null ? "" : resourceName.trim();
+        resourceType = resourceType == null ? RenderResourceType.ATTACHMENT : resourceType;
+        sizeBytes = Math.max(0L, sizeBytes);
+        alignmentBytes = Math.max(1L, alignmentBytes);
+    }
+}
@@ -54,6 +54,7 @@ public final class VulkanLifecycleOrchestrator {
             );
             request.backendResources().device = deviceAndQueue.device();
             request.backendResources().graphicsQueue = deviceAndQueue.graphicsQueue();
+            request.backendResources().textureCompressionBcSupported = deviceAndQueue.textureCompressionBcSupported();
 
             request.createDescriptorResources().accept(stack);
             request.createSwapchainResources().accept(stack);
@@ -0,0 +1,98 @@
+package org.dynamisengine.light.impl.vulkan.lighting;
+
+import org.dynamisengine.light.impl.common.culling.ClusteredLightGrid;
+import org.dynamisengine.light.impl.common.culling.ClusteredLightRecords;
+
+import static org.lwjgl.system.MemoryUtil.memFloatBuffer;
+import static org.lwjgl.system.MemoryUtil.memIntBuffer;
+import static org.lwjgl.system.MemoryUtil.memPutFloat;
+import static org.lwjgl.system.MemoryUtil.memPutInt;
+
+/**
+ * Bins the clustered (overflow) local lights and writes them into one frame span of the set 0 binding 3
+ * storage buffer read by the main fragment shader.
+ *
+ * <p>The span follows the std430 {@code ClusteredLightData} block: a {@code uvec4} grid header
+ * ({@code tilesX, tilesY, slices, lightCount}), a {@code vec4} depth header ({@code depthScale,
+ * depthBias, near, far}), {@link #MAX_LIGHTS} light records of {@link #RECORD_FLOATS} floats laid out like
+ * the uniform local-light arrays, one {@code uvec2} (offset, count) per cluster and the light index
+ * runs. The array sizes here must match the shader declaration.</p>
+ */
+public final class VulkanClusteredLightBuffer {
+    public static final int TILES_X = 16;
+    public static final int TILES_Y = 9;
+    public static final int SLICES = 24;
+    public static final int MAX_LIGHTS = 4096;
+    public static final int MAX_LIGHTS_PER_CLUSTER = 32;
+    public static final int RECORD_FLOATS = ClusteredLightRecords.RECORD_FLOATS;
+    public static final int CLUSTER_COUNT = TILES_X * TILES_Y * SLICES;
+    private static final int HEADER_BYTES = 32;
+    private static final int LIGHTS_OFFSET = HEADER_BYTES;
+    private static final int CLUSTERS_OFFSET = LIGHTS_OFFSET + MAX_LIGHTS * RECORD_FLOATS * Float.BYTES;
+    private static final int INDICES_OFFSET = CLUSTERS_OFFSET + CLUSTER_COUNT * 2 * Integer.BYTES;
+    /** Bytes of one frame span; every cluster can hold its full run. */
+    public static final int FRAME_BYTES = INDICES_OFFSET + CLUSTER_COUNT * MAX_LIGHTS_PER_CLUSTER * Integer.BYTES;
+
+    private final ClusteredLightGrid grid = new ClusteredLightGrid(TILES_X, TILES_Y, SLICES, MAX_LIGHTS_PER_CLUSTER);
+    private final int[] ranges = new int[CLUSTER_COUNT * 2];
+    private int lastAssignedLights;
+    private int lastDroppedAssignments;
+    private int lastIndexCount;
+
+    /**
+     * Bins {@code lightCount} records and writes the span at {@code address}. {@code view} and {@code proj}
+     * are the column-major matrices uploaded to the global uniform for the same frame. With no lights only
+     * the header is written, so the shader loop is skipped.
+     */
+    public void write(long address, float[] view, float[] proj, float[] records, int lightCount) {
+        int count = records == null ? 0 : Math.max(0, Math.min(Math.min(lightCount, MAX_LIGHTS), records.length / RECORD_FLOATS));
+        if (address == 0L) {
+            return;
+        }
+        if (count == 0) {
+            writeHeader(address, 0);
+            lastAssignedLights = 0;
+            lastDroppedAssignments = 0;
+            lastIndexCount = 0;
+            return;
+        }
+        grid.configure(proj);
+        grid.assign(view, records, count, RECORD_FLOATS);
+        for (int c = 0; c < CLUSTER_COUNT; c++) {
+            ranges[c * 2] = grid.clusterOffset(c);
+            ranges[c * 2 + 1] = grid.clusterLightCount(c);
+        }
+        writeHeader(address, count);
+        memFloatBuffer(address + LIGHTS_OFFSET, count * RECORD_FLOATS).put(records, 0, count * RECORD_FLOATS);
+        memIntBuffer(address + CLUSTERS_OFFSET, ranges.length).put(ranges);
+        if (grid.indexCount() > 0) {
+            memIntBuffer(address + INDICES_OFFSET, grid.indexCount()).put(grid.lightIndices(), 0, grid.indexCount());
+        }
+        lastAssignedLights = grid.assignedLights();
+        lastDroppedAssignments = grid.droppedAssignments();
+        lastIndexCount = grid.indexCount();
+    }
+
+    public int lastAssignedLights() {
+        return lastAssignedLights;
+    }
+
+    public int lastDroppedAssignments() {
+        return lastDroppedAssignments;
+    }
+
+    public int lastIndexCount() {
+        return lastIndexCount;
+    }
+
+    private void writeHeader(long address, int lightCount) {
+        memPutInt(address, TILES_X);
+        memPutInt(address + 4, TILES_Y);
+        memPutInt(address + 8, SLICES);
+        memPutInt(address + 12, lightCount);
+        memPutFloat(address + 16, lightCount == 0 ? 0f : grid.depthScale());
+        memPutFloat(address + 20, lightCount == 0 ? 0f : grid.depthBias());
+        memPutFloat(address + 24, lightCount == 0 ? 0f : grid.near());
+        memPutFloat(address + 28, lightCount == 0 ? 0f : grid.far());
+    }
+}
@@ -55,6 +55,8 @@ public final class VulkanGpuMesh {
     public final org.dynamisengine.gpu.vulkan.buffer.VulkanMorphTargetBuffer morphTargets;
     public final VulkanMorphWeightUniforms morphWeightUniforms;
     public long morphDescriptorSetHandle = VK_NULL_HANDLE;
+    /** Buffers belong to a registered mesh and are destroyed with the registration, not with the scene. */
+    public boolean sharedGeometry;
 
     public VulkanGpuMesh(
             long vertexBuffer,
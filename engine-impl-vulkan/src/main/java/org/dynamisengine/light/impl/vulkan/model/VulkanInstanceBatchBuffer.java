@@ -22,6 +22,8 @@ import static org.lwjgl.system.MemoryStack.stackPush;
 import static org.lwjgl.system.MemoryUtil.memAddress;
 import static org.lwjgl.system.MemoryUtil.memCopy;
 import static org.lwjgl.vulkan.VK10.VK_BUFFER_USAGE_STORAGE_BUFFER_BIT;
+import static org.lwjgl.vulkan.VK10.VK_BUFFER_USAGE_TRANSFER_DST_BIT;
+import static org.lwjgl.vulkan.VK10.VK_BUFFER_USAGE_TRANSFER_SRC_BIT;
 import static org.lwjgl.vulkan.VK10.VK_DESCRIPTOR_TYPE_STORAGE_BUFFER;
 import static org.lwjgl.vulkan.VK10.VK_MEMORY_PROPERTY_HOST_COHERENT_BIT;
 import static org.lwjgl.vulkan.VK10.VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT;
@@ -37,6 +39,15 @@ import static org.lwjgl.vulkan.VK10.vkFreeMemory;
 import static org.lwjgl.vulkan.VK10.vkMapMemory;
 import static org.lwjgl.vulkan.VK10.vkUnmapMemory;
 
+/**
+ * Host-visible instance records for one instanced batch.
+ *
+ * <p>The buffer holds two regions of {@code capacity} records. The front region is what the instanced
+ * vertex shaders read; the back region keeps the uploaded source records. Uploads write both, so the
+ * batch draws correctly without culling; when per-instance GPU culling runs it rewrites the front region
+ * with only the visible records. A second descriptor set views the source region, so passes that must see
+ * every instance (shadow casters outside the camera frustum) never read the camera-culled front.</p>
+ */
 public final class VulkanInstanceBatchBuffer implements InstanceDataBuffer {
     public static final int INSTANCE_STRIDE_BYTES = (16 * Float.BYTES) + (4 * Integer.BYTES);
     private static final int DEFAULT_FLAGS = 1;
@@ -46,8 +57,10 @@ public final class VulkanInstanceBatchBuffer implements InstanceDataBuffer {
     private final long memory;
     private final long descriptorPool;
     private final long descriptorSet;
+    private final long sourceDescriptorSet;
     private final long mappedAddress;
     private final int capacity;
+    private final int sourceOffsetInstances;
     private final int allocatedBytes;
     private int instanceCount;
 
@@ -57,8 +70,10 @@ public final class VulkanInstanceBatchBuffer implements InstanceDataBuffer {
             long memory,
             long descriptorPool,
             long descriptorSet,
+            long sourceDescriptorSet,
             long mappedAddress,
             int capacity,
+            int sourceOffsetInstances,
             int allocatedBytes
     ) {
         this.device = device;
@@ -66,8 +81,10 @@ public final class VulkanInstanceBatchBuffer implements InstanceDataBuffer {
         this.memory = memory;
         this.descriptorPool = descriptorPool;
         this.descriptorSet = descriptorSet;
+        this.sourceDescriptorSet = sourceDescriptorSet;
         this.mappedAddress = mappedAddress;
         this.capacity = capacity;
+        this.sourceOffsetInstances = sourceOffsetInstances;
         this.allocatedBytes = allocatedBytes;
         this.instanceCount = 0;
     }
@@ -86,11 +103,12 @@ public final class VulkanInstanceBatchBuffer implements InstanceDataBuffer {
             );
         }
         int safeCapacity = Math.max(1, instanceCapacity);
-        int rawBytes = safeCapacity * INSTANCE_STRIDE_BYTES;
         try (MemoryStack stack = stackPush()) {
             VkPhysicalDeviceProperties props = VkPhysicalDeviceProperties.calloc(stack);
             VK10.vkGetPhysicalDeviceProperties(physicalDevice, props);
             long minAlign = Math.max(1L, props.limits().minStorageBufferOffsetAlignment());
+            int sourceOffset = sourceOffsetInstances(safeCapacity, (int) Math.min(Integer.MAX_VALUE, minAlign));
+            int rawBytes = (sourceOffset + safeCapacity) * INSTANCE_STRIDE_BYTES;
             int allocBytes = alignUp(rawBytes, (int) Math.min(Integer.MAX_VALUE, minAlign));
             org.dynamisengine.gpu.vulkan.memory.VulkanBufferAlloc alloc;
             try {
@@ -99,7 +117,7 @@ public final class VulkanInstanceBatchBuffer implements InstanceDataBuffer {
                         physicalDevice,
                         stack,
                         allocBytes,
-                        VK_BUFFER_USAGE_STORAGE_BUFFER_BIT,
+                        VK_BUFFER_USAGE_STORAGE_BUFFER_BIT | VK_BUFFER_USAGE_TRANSFER_SRC_BIT | VK_BUFFER_USAGE_TRANSFER_DST_BIT,
                         VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT | VK_MEMORY_PROPERTY_HOST_COHERENT_BIT
                 );
             } catch (GpuException ex) {
@@ -122,15 +140,27 @@ public final class VulkanInstanceBatchBuffer implements InstanceDataBuffer {
             }
             long pool = createDescriptorPool(device, stack);
             long set = allocateDescriptorSet(device, stack, pool, skinnedDescriptorSetLayout);
+            long sourceSet = allocateDescriptorSet(device, stack, pool, skinnedDescriptorSetLayout);
+            long sourceOffsetBytes = (long) sourceOffset * INSTANCE_STRIDE_BYTES;
             VulkanDescriptorResources.writeInstanceBatchDescriptorSet(device, stack, set, alloc.buffer(), allocBytes);
+            VulkanDescriptorResources.writeInstanceBatchDescriptorSet(
+                    device,
+                    stack,
+                    sourceSet,
+                    alloc.buffer(),
+                    sourceOffsetBytes,
+                    (long) safeCapacity * INSTANCE_STRIDE_BYTES
+            );
             return new VulkanInstanceBatchBuffer(
                     device,
                     alloc.buffer(),
                     alloc.memory(),
                     pool,
                     set,
+                    sourceSet,
                     mapped.get(0),
                     safeCapacity,
+                    sourceOffset,
                     allocBytes
             );
         }
@@ -150,7 +180,7 @@ public final class VulkanInstanceBatchBuffer implements InstanceDataBuffer {
             throw new IllegalArgumentException("flags must be null or match model matrix count");
         }
         int byteCount = modelMatrices.length * INSTANCE_STRIDE_BYTES;
-        if (byteCount > allocatedBytes) {
+        if (sourceOffsetBytes() + byteCount > allocatedBytes) {
             throw new IllegalArgumentException("instance payload exceeds allocated SSBO capacity");
         }
         ByteBuffer src = ByteBuffer.allocateDirect(byteCount).order(ByteOrder.nativeOrder());
@@ -169,6 +199,7 @@ public final class VulkanInstanceBatchBuffer implements InstanceDataBuffer {
         }
         src.flip();
         memCopy(memAddress(src), mappedAddress, byteCount);
+        memCopy(memAddress(src), mappedAddress + sourceOffsetBytes(), byteCount);
         instanceCount = modelMatrices.length;
     }
 
@@ -191,6 +222,11 @@ public final class VulkanInstanceBatchBuffer implements InstanceDataBuffer {
         return descriptorSet;
     }
 
+    /** Set over the uploaded source records; never rewritten by culling. */
+    public long sourceDescriptorSetHandle() {
+        return sourceDescriptorSet;
+    }
+
     public long bufferHandle() {
         return buffer;
     }
@@ -203,6 +239,15 @@ public final class VulkanInstanceBatchBuffer implements InstanceDataBuffer {
         return capacity;
     }
 
+    /** First record of the source region, in records; culling reads from here and compacts to record 0. */
+    public int sourceOffsetInstances() {
+        return sourceOffsetInstances;
+    }
+
+    private long sourceOffsetBytes() {
+        return (long) sourceOffsetInstances * INSTANCE_STRIDE_BYTES;
+    }
+
     @Override
     public int instanceCount() {
         return instanceCount;
@@ -212,10 +257,10 @@ public final class VulkanInstanceBatchBuffer implements InstanceDataBuffer {
         VkDescriptorPoolSize.Buffer poolSizes = VkDescriptorPoolSize.calloc(1, stack);
         poolSizes.get(0)
                 .type(VK_DESCRIPTOR_TYPE_STORAGE_BUFFER)
-                .descriptorCount(1);
+                .descriptorCount(2);
         VkDescriptorPoolCreateInfo poolInfo = VkDescriptorPoolCreateInfo.calloc(stack)
                 .sType(VK_STRUCTURE_TYPE_DESCRIPTOR_POOL_CREATE_INFO)
-                .maxSets(1)
+                .maxSets(2)
                 .pPoolSizes(poolSizes);
         var pPool = stack.longs(VK_NULL_HANDLE);
         int result = vkCreateDescriptorPool(device, poolInfo, null, pPool);
@@ -251,6 +296,27 @@ public final class VulkanInstanceBatchBuffer implements InstanceDataBuffer {
         return pSet.get(0);
     }
 
+    /**
+     * First source record at or after {@code capacity} whose byte offset is a multiple of
+     * {@code minOffsetAlignment}, so the source descriptor set can start there.
+     */
+    static int sourceOffsetInstances(int capacity, int minOffsetAlignment) {
+        if (minOffsetAlignment <= 1) {
+            return capacity;
+        }
+        int step = minOffsetAlignment / gcd(INSTANCE_STRIDE_BYTES, minOffsetAlignment);
+        return alignUp(capacity, step);
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
     private static int alignUp(int value, int alignment) {
         if (alignment <= 0) {
             return value;
@@ -0,0 +1,234 @@
+package org.dynamisengine.light.impl.vulkan.model;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.dynamisengine.light.impl.common.mesh.MappedGeometry;
+import org.dynamisengine.light.impl.common.mesh.MeshLoadException;
+
+/**
+ * Cooked geometry kept memory-mapped until the scene that references it is replaced.
+ *
+ * <p>{@link #vertexData()} and {@link #indexData()} are direct buffers in the static 11-float / uint32 scene
+ * layout that the staging upload copies from. When the cooked stream already has that layout (stride 44 with
+ * position, normal, uv and tangent at 0/12/24/32, 32-bit indices) they view the mapping itself. Otherwise the
+ * stream is gathered once into off-heap memory owned by this mesh. Neither path goes through the Java heap.</p>
+ *
+ * <p>Scene mesh lists are re-uploaded after device re-creation, so the mapping stays open until
+ * {@link #close()}; closing twice is harmless.</p>
+ */
+public final class VulkanMappedMesh implements AutoCloseable {
+    private static final int STRIDE_FLOATS = 11;
+    private static final int STRIDE_BYTES = STRIDE_FLOATS * Float.BYTES;
+    private static final ValueLayout.OfFloat FLOAT_LE = ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfShort SHORT_LE = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfInt INT_LE = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final MappedGeometry mapped;
+    private final Arena repacked;
+    private final MemorySegment vertices;
+    private final MemorySegment indices;
+    private final int vertexCount;
+    private final int indexCount;
+    private final int vertexHash;
+    private final int indexHash;
+    private final float[] localBounds;
+    private boolean closed;
+
+    private VulkanMappedMesh(MappedGeometry mapped, Arena repacked, MemorySegment vertices, MemorySegment indices) {
+        this.mapped = mapped;
+        this.repacked = repacked;
+        this.vertices = vertices;
+        this.indices = indices;
+        this.vertexCount = mapped.vertexCount();
+        this.indexCount = (int) (indices.byteSize() / Integer.BYTES);
+        this.vertexHash = hash(vertices);
+        this.indexHash = hash(indices);
+        this.localBounds = computeLocalBounds(vertices, vertexCount);
+    }
+
+    /**
+     * Takes ownership of {@code mapped} once its layout has been validated.
+     *
+     * @throws MeshLoadException when positions are missing, an attribute does not fit in the stride, the
+     *                           geometry is not a triangle list or an index is out of range; the caller still
+     *                           owns and closes {@code mapped} in that case
+     */
+    public static VulkanMappedMesh wrap(MappedGeometry mapped) throws MeshLoadException {
+        int stride = mapped.strideBytes();
+        int position = mapped.attributeOffset("POSITION", 0);
+        int normal = mapped.attributeOffset("NORMAL", 0);
+        int uv = mapped.attributeOffset("UV", 0);
+        int tangent = mapped.attributeOffset("TANGENT", 0);
+        if (mapped.vertexCount() < 3 || position < 0) {
+            throw new MeshLoadException("Packed geometry has no POSITION stream");
+        }
+        if (position + 12 > stride || normal + 12 > stride || uv + 8 > stride || tangent + 12 > stride) {
+            throw new MeshLoadException("Packed geometry attribute exceeds its " + stride + "-byte stride");
+        }
+        int indexCount = mapped.indexCount() > 0 ? mapped.indexCount() - mapped.indexCount() % 3 : mapped.vertexCount();
+        if (indexCount < 3 || (mapped.indexCount() == 0 && indexCount % 3 != 0)) {
+            throw new MeshLoadException("Packed geometry is not a triangle list");
+        }
+        for (int i = 0; i < mapped.indexCount() && i < indexCount; i++) {
+            int value = readIndex(mapped, i);
+            if (value < 0 || value >= mapped.vertexCount()) {
+                throw new MeshLoadException("Packed geometry index " + value + " out of range for "
+                        + mapped.vertexCount() + " vertices");
+            }
+        }
+
+        boolean sceneVertexLayout = stride == STRIDE_BYTES && position == 0 && normal == 12 && uv == 24 && tangent == 32;
+        boolean sceneIndexLayout = mapped.indexCount() > 0 && mapped.indexSize() == Integer.BYTES;
+        Arena arena = sceneVertexLayout && sceneIndexLayout ? null : Arena.ofShared();
+        MemorySegment vertices = sceneVertexLayout
+                ? mapped.vertexSegment().asSlice(0L, (long) mapped.vertexCount() * STRIDE_BYTES)
+                : gatherVertices(arena, mapped, position, normal, uv, tangent);
+        MemorySegment indices = sceneIndexLayout
+                ? mapped.indexSegment().asSlice(0L, (long) indexCount * Integer.BYTES)
+                : widenIndices(arena, mapped, indexCount);
+        return new VulkanMappedMesh(mapped, arena, vertices, indices);
+    }
+
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    public int indexCount() {
+        return indexCount;
+    }
+
+    public long vertexBytes() {
+        return vertices.byteSize();
+    }
+
+    public long indexBytes() {
+        return indices.byteSize();
+    }
+
+    public int vertexHash() {
+        return vertexHash;
+    }
+
+    public int indexHash() {
+        return indexHash;
+    }
+
+    /** Bounding sphere center xyz followed by radius. */
+    public float[] localBounds() {
+        return localBounds.clone();
+    }
+
+    /** Direct view of the 11-float vertex stream; valid until {@link #close()}. */
+    public ByteBuffer vertexData() {
+        return view(vertices);
+    }
+
+    /** Direct view of the uint32 index stream; valid until {@link #close()}. */
+    public ByteBuffer indexData() {
+        return view(indices);
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            if (repacked != null) {
+                repacked.close();
+            }
+            mapped.close();
+        }
+    }
+
+    private ByteBuffer view(MemorySegment segment) {
+        if (closed) {
+            throw new IllegalStateException("Mapped mesh was closed before upload");
+        }
+        return segment.asByteBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static MemorySegment gatherVertices(Arena arena, MappedGeometry mapped, int position, int normal, int uv, int tangent) {
+        MemorySegment source = mapped.vertexSegment();
+        int stride = mapped.strideBytes();
+        int count = mapped.vertexCount();
+        MemorySegment target = arena.allocate((long) count * STRIDE_BYTES, Float.BYTES);
+        for (int v = 0; v < count; v++) {
+            long in = (long) v * stride;
+            long out = (long) v * STRIDE_BYTES;
+            MemorySegment.copy(source, in + position, target, out, 12L);
+            if (normal >= 0) {
+                MemorySegment.copy(source, in + normal, target, out + 12L, 12L);
+            } else {
+                target.set(FLOAT_LE, out + 16L, 1f);
+            }
+            if (uv >= 0) {
+                MemorySegment.copy(source, in + uv, target, out + 24L, 8L);
+            }
+            if (tangent >= 0) {
+                MemorySegment.copy(source, in + tangent, target, out + 32L, 12L);
+            } else {
+                target.set(FLOAT_LE, out + 32L, 1f);
+            }
+        }
+        return target;
+    }
+
+    private static MemorySegment widenIndices(Arena arena, MappedGeometry mapped, int indexCount) {
+        MemorySegment target = arena.allocate((long) indexCount * Integer.BYTES, Integer.BYTES);
+        boolean indexed = mapped.indexCount() > 0;
+        for (int i = 0; i < indexCount; i++) {
+            target.setAtIndex(INT_LE, i, indexed ? readIndex(mapped, i) : i);
+        }
+        return target;
+    }
+
+    private static int readIndex(MappedGeometry mapped, int i) {
+        return mapped.indexSize() == 2
+                ? Short.toUnsignedInt(mapped.indexSegment().getAtIndex(SHORT_LE, i))
+                : mapped.indexSegment().getAtIndex(INT_LE, i);
+    }
+
+    private static int hash(MemorySegment segment) {
+        int h = 1;
+        long words = segment.byteSize() / Integer.BYTES;
+        for (long i = 0; i < words; i++) {
+            h = 31 * h + segment.getAtIndex(INT_LE, i);
+        }
+        return h;
+    }
+
+    private static float[] computeLocalBounds(MemorySegment vertices, int vertexCount) {
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float minZ = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        float maxZ = Float.NEGATIVE_INFINITY;
+        for (int v = 0; v < vertexCount; v++) {
+            long base = (long) v * STRIDE_BYTES;
+            float x = vertices.get(FLOAT_LE, base);
+            float y = vertices.get(FLOAT_LE, base + 4L);
+            float z = vertices.get(FLOAT_LE, base + 8L);
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            minZ = Math.min(minZ, z);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+            maxZ = Math.max(maxZ, z);
+        }
+        float cx = (minX + maxX) * 0.5f;
+        float cy = (minY + maxY) * 0.5f;
+        float cz = (minZ + maxZ) * 0.5f;
+        float radiusSq = 0f;
+        for (int v = 0; v < vertexCount; v++) {
+            long base = (long) v * STRIDE_BYTES;
+            float dx = vertices.get(FLOAT_LE, base) - cx;
+            float dy = vertices.get(FLOAT_LE, base + 4L) - cy;
+            float dz = vertices.get(FLOAT_LE, base + 8L) - cz;
+            radiusSq = Math.max(radiusSq, (dx * dx) + (dy * dy) + (dz * dz));
+        }
+        return new float[]{cx, cy, cz, (float) Math.sqrt(Math.max(1e-8f, radiusSq))};
+    }
+}
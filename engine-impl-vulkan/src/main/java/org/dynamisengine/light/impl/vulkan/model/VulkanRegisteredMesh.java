@@ -0,0 +1,22 @@
+package org.dynamisengine.light.impl.vulkan.model;
+
+/**
+ * Device-local buffers of a mesh registered through {@code registerMesh}; shared by every scene mesh that
+ * references it and destroyed only when the registration is removed. Handles are {@code VK_NULL_HANDLE}
+ * on the mock context.
+ *
+ * @param localBounds bounding sphere center xyz followed by radius
+ */
+public record VulkanRegisteredMesh(
+        long vertexBuffer,
+        long vertexMemory,
+        long indexBuffer,
+        long indexMemory,
+        int vertexCount,
+        int indexCount,
+        long vertexBytes,
+        long indexBytes,
+        long contentHash64,
+        float[] localBounds
+) {
+}
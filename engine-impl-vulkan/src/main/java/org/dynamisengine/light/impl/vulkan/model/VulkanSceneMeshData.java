@@ -1,6 +1,7 @@
 package org.dynamisengine.light.impl.vulkan.model;
 
 import java.nio.file.Path;
+import java.util.Arrays;
 
 public record VulkanSceneMeshData(
         String meshId,
@@ -27,7 +28,9 @@ public record VulkanSceneMeshData(
         int jointCount,
         float[] morphTargetDeltas,
         int morphTargetCount,
-        org.dynamisengine.gpu.vulkan.buffer.VulkanMorphTargetBuffer morphTargets
+        org.dynamisengine.gpu.vulkan.buffer.VulkanMorphTargetBuffer morphTargets,
+        VulkanRegisteredMesh registeredMesh,
+        VulkanMappedMesh mappedMesh
 ) {
     private static final int VERTEX_STRIDE_FLOATS = 11;
     private static final int SKINNED_VERTEX_STRIDE_FLOATS = 16;
@@ -37,11 +40,22 @@ public record VulkanSceneMeshData(
             throw new IllegalArgumentException("meshId is required");
         }
         int stride = skinned ? SKINNED_VERTEX_STRIDE_FLOATS : VERTEX_STRIDE_FLOATS;
-        if (vertices == null || vertices.length < stride * 3 || vertices.length % stride != 0) {
-            throw new IllegalArgumentException("vertices must be interleaved as static(11f) or skinned(16f)");
+        if (registeredMesh != null && mappedMesh != null) {
+            throw new IllegalArgumentException("a scene mesh is either registered or mapped");
         }
-        if (indices == null || indices.length < 3 || indices.length % 3 != 0) {
-            throw new IllegalArgumentException("indices must be non-empty triangles");
+        if (registeredMesh != null || mappedMesh != null) {
+            if (skinned || morphTargetCount > 0) {
+                throw new IllegalArgumentException("registered and mapped meshes are static geometry");
+            }
+            vertices = vertices == null ? new float[0] : vertices;
+            indices = indices == null ? new int[0] : indices;
+        } else {
+            if (vertices == null || vertices.length < stride * 3 || vertices.length % stride != 0) {
+                throw new IllegalArgumentException("vertices must be interleaved as static(11f) or skinned(16f)");
+            }
+            if (indices == null || indices.length < 3 || indices.length % 3 != 0) {
+                throw new IllegalArgumentException("indices must be non-empty triangles");
+            }
         }
         if (modelMatrix == null || modelMatrix.length != 16) {
             throw new IllegalArgumentException("modelMatrix must be 16 floats");
@@ -69,6 +83,162 @@ public record VulkanSceneMeshData(
         }
     }
 
+    public VulkanSceneMeshData(
+            String meshId,
+            float[] vertices,
+            int[] indices,
+            float[] modelMatrix,
+            float[] color,
+            float metallic,
+            float roughness,
+            float reactiveStrength,
+            boolean alphaTested,
+            boolean foliage,
+            int reflectionOverrideMode,
+            float reactiveBoost,
+            float taaHistoryClamp,
+            float emissiveReactiveBoost,
+            float reactivePreset,
+            Path albedoTexturePath,
+            Path normalTexturePath,
+            Path metallicRoughnessTexturePath,
+            Path occlusionTexturePath,
+            VulkanSkinnedMeshUniforms skinnedUniforms,
+            boolean skinned,
+            int jointCount,
+            float[] morphTargetDeltas,
+            int morphTargetCount,
+            org.dynamisengine.gpu.vulkan.buffer.VulkanMorphTargetBuffer morphTargets,
+            VulkanRegisteredMesh registeredMesh
+    ) {
+        this(
+                meshId,
+                vertices,
+                indices,
+                modelMatrix,
+                color,
+                metallic,
+                roughness,
+                reactiveStrength,
+                alphaTested,
+                foliage,
+                reflectionOverrideMode,
+                reactiveBoost,
+                taaHistoryClamp,
+                emissiveReactiveBoost,
+                reactivePreset,
+                albedoTexturePath,
+                normalTexturePath,
+                metallicRoughnessTexturePath,
+                occlusionTexturePath,
+                skinnedUniforms,
+                skinned,
+                jointCount,
+                morphTargetDeltas,
+                morphTargetCount,
+                morphTargets,
+                registeredMesh,
+                null
+        );
+    }
+
+    public VulkanSceneMeshData(
+            String meshId,
+            float[] vertices,
+            int[] indices,
+            float[] modelMatrix,
+            float[] color,
+            float metallic,
+            float roughness,
+            float reactiveStrength,
+            boolean alphaTested,
+            boolean foliage,
+            int reflectionOverrideMode,
+            float reactiveBoost,
+            float taaHistoryClamp,
+            float emissiveReactiveBoost,
+            float reactivePreset,
+            Path albedoTexturePath,
+            Path normalTexturePath,
+            Path metallicRoughnessTexturePath,
+            Path occlusionTexturePath,
+            VulkanSkinnedMeshUniforms skinnedUniforms,
+            boolean skinned,
+            int jointCount,
+            float[] morphTargetDeltas,
+            int morphTargetCount,
+            org.dynamisengine.gpu.vulkan.buffer.VulkanMorphTargetBuffer morphTargets
+    ) {
+        this(
+                meshId,
+                vertices,
+                indices,
+                modelMatrix,
+                color,
+                metallic,
+                roughness,
+                reactiveStrength,
+                alphaTested,
+                foliage,
+                reflectionOverrideMode,
+                reactiveBoost,
+                taaHistoryClamp,
+                emissiveReactiveBoost,
+                reactivePreset,
+                albedoTexturePath,
+                normalTexturePath,
+                metallicRoughnessTexturePath,
+                occlusionTexturePath,
+                skinnedUniforms,
+                skinned,
+                jointCount,
+                morphTargetDeltas,
+                morphTargetCount,
+                morphTargets,
+                null,
+                null
+        );
+    }
+
+    public int indexCount() {
+        if (mappedMesh != null) {
+            return mappedMesh.indexCount();
+        }
+        return registeredMesh != null ? registeredMesh.indexCount() : indices.length;
+    }
+
+    public long vertexBytes() {
+        if (mappedMesh != null) {
+            return mappedMesh.vertexBytes();
+        }
+        return registeredMesh != null ? registeredMesh.vertexBytes() : (long) vertices.length * Float.BYTES;
+    }
+
+    public long indexBytes() {
+        if (mappedMesh != null) {
+            return mappedMesh.indexBytes();
+        }
+        return registeredMesh != null ? registeredMesh.indexBytes() : (long) indices.length * Integer.BYTES;
+    }
+
+    /**
+     * Registered meshes are identified by their content hash and GPU allocation instead of hashing the arrays;
+     * mapped meshes by hashes taken over the mapping when it was wrapped.
+     */
+    public int vertexHash() {
+        if (mappedMesh != null) {
+            return mappedMesh.vertexHash();
+        }
+        return registeredMesh != null ? Long.hashCode(registeredMesh.contentHash64()) : Arrays.hashCode(vertices);
+    }
+
+    public int indexHash() {
+        if (mappedMesh != null) {
+            return mappedMesh.indexHash();
+        }
+        return registeredMesh != null ? System.identityHashCode(registeredMesh) : Arrays.hashCode(indices);
+    }
+
     public static VulkanSceneMeshData defaultTriangle() {
         return triangle(new float[]{1f, 1f, 1f, 1f}, 0);
     }
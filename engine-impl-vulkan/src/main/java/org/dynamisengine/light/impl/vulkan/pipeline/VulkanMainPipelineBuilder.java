@@ -1,6 +1,8 @@
 package org.dynamisengine.light.impl.vulkan.pipeline;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import org.dynamisengine.light.api.error.EngineErrorCode;
 import org.dynamisengine.light.api.error.EngineException;
 import org.dynamisengine.light.impl.vulkan.shader.VulkanBindlessStaticVertexShaderSource;
@@ -14,6 +16,7 @@ import org.dynamisengine.light.impl.vulkan.shader.VulkanSkinnedMorphVertexShader
 import org.dynamisengine.light.impl.vulkan.shader.VulkanSkinnedVertexShaderSource;
 import org.dynamisengine.light.impl.vulkan.shader.VulkanShaderCompiler;
 import org.dynamisengine.light.impl.vulkan.shader.VulkanShaderSources;
+import org.dynamisengine.light.impl.vulkan.shader.VulkanSpirvCompileRequest;
 import org.lwjgl.system.MemoryStack;
 import org.lwjgl.vulkan.VK10;
 import org.lwjgl.vulkan.VkDevice;
@@ -116,8 +119,14 @@ public final class VulkanMainPipelineBuilder {
                     ? VulkanShaderSources.mainFragment()
                     : mainFragmentSource;
 
-            ByteBuffer vertSpv = VulkanShaderCompiler.compileGlslToSpv(vertexShaderSource, shaderc_glsl_vertex_shader, "triangle.vert");
-            ByteBuffer fragSpv = VulkanShaderCompiler.compileGlslToSpv(fragmentShaderSource, shaderc_fragment_shader, "triangle.frag");
+            // Warm the shared SPIR-V cache for every variant the assembler compiles below.
+            VulkanShaderCompiler.prefetch(variantVertexRequests(bindlessDescriptorSetLayout != VK_NULL_HANDLE));
+            List<ByteBuffer> mainSpv = VulkanShaderCompiler.compileGlslToSpv(List.of(
+                    VulkanSpirvCompileRequest.of(vertexShaderSource, shaderc_glsl_vertex_shader, "triangle.vert"),
+                    VulkanSpirvCompileRequest.of(fragmentShaderSource, shaderc_fragment_shader, "triangle.frag")
+            ));
+            ByteBuffer vertSpv = mainSpv.get(0);
+            ByteBuffer fragSpv = mainSpv.get(1);
 
             long vertModule = VK_NULL_HANDLE;
             long fragModule = VK_NULL_HANDLE;
@@ -426,6 +435,31 @@ public final class VulkanMainPipelineBuilder {
         );
     }
 
+    private static List<VulkanSpirvCompileRequest> variantVertexRequests(boolean bindless) {
+        List<VulkanSpirvCompileRequest> requests = new ArrayList<>();
+        if (bindless) {
+            requests.add(VulkanSpirvCompileRequest.of(
+                    VulkanBindlessStaticVertexShaderSource.mainVertex(), shaderc_glsl_vertex_shader, "main_static_bindless.vert"));
+            requests.add(VulkanSpirvCompileRequest.of(
+                    VulkanBindlessSkinnedVertexShaderSource.mainVertex(), shaderc_glsl_vertex_shader, "main_skinned_bindless.vert"));
+            requests.add(VulkanSpirvCompileRequest.of(
+                    VulkanBindlessMorphVertexShaderSource.mainVertex(), shaderc_glsl_vertex_shader, "main_morph_bindless.vert"));
+            requests.add(VulkanSpirvCompileRequest.of(
+                    VulkanBindlessSkinnedMorphVertexShaderSource.mainVertex(), shaderc_glsl_vertex_shader, "main_skinned_morph_bindless.vert"));
+            requests.add(VulkanSpirvCompileRequest.of(
+                    VulkanBindlessInstancedVertexShaderSource.mainVertex(), shaderc_glsl_vertex_shader, "main_instanced_bindless.vert"));
+        }
+        requests.add(VulkanSpirvCompileRequest.of(
+                VulkanMorphVertexShaderSource.mainVertex(), shaderc_glsl_vertex_shader, "main_morph.vert"));
+        requests.add(VulkanSpirvCompileRequest.of(
+                VulkanSkinnedVertexShaderSource.mainVertex(), shaderc_glsl_vertex_shader, "main_skinned.vert"));
+        requests.add(VulkanSpirvCompileRequest.of(
+                VulkanSkinnedMorphVertexShaderSource.mainVertex(), shaderc_glsl_vertex_shader, "main_skinned_morph.vert"));
+        requests.add(VulkanSpirvCompileRequest.of(
+                VulkanInstancedVertexShaderSource.mainVertex(), shaderc_glsl_vertex_shader, "main_instanced.vert"));
+        return requests;
+    }
+
     public record Result(
             long renderPass,
             long pipelineLayout,
@@ -1,10 +1,12 @@
 package org.dynamisengine.light.impl.vulkan.pipeline;
 
 import java.nio.ByteBuffer;
+import java.util.List;
 import org.dynamisengine.light.api.error.EngineErrorCode;
 import org.dynamisengine.light.api.error.EngineException;
 import org.dynamisengine.light.impl.vulkan.shader.VulkanShaderCompiler;
 import org.dynamisengine.light.impl.vulkan.shader.VulkanShaderSources;
+import org.dynamisengine.light.impl.vulkan.shader.VulkanSpirvCompileRequest;
 import org.lwjgl.system.MemoryStack;
 import org.lwjgl.vulkan.VK10;
 import org.lwjgl.vulkan.VkAttachmentDescription;
@@ -92,8 +94,12 @@ public final class VulkanPostPipelineBuilder {
             String fragmentShaderSource = (postFragmentSource == null || postFragmentSource.isBlank())
                     ? VulkanShaderSources.postFragment()
                     : postFragmentSource;
-            ByteBuffer vertSpv = VulkanShaderCompiler.compileGlslToSpv(vertexShaderSource, shaderc_glsl_vertex_shader, "post.vert");
-            ByteBuffer fragSpv = VulkanShaderCompiler.compileGlslToSpv(fragmentShaderSource, shaderc_fragment_shader, "post.frag");
+            List<ByteBuffer> postSpv = VulkanShaderCompiler.compileGlslToSpv(List.of(
+                    VulkanSpirvCompileRequest.of(vertexShaderSource, shaderc_glsl_vertex_shader, "post.vert"),
+                    VulkanSpirvCompileRequest.of(fragmentShaderSource, shaderc_fragment_shader, "post.frag")
+            ));
+            ByteBuffer vertSpv = postSpv.get(0);
+            ByteBuffer fragSpv = postSpv.get(1);
             long vertModule = VK_NULL_HANDLE;
             long fragModule = VK_NULL_HANDLE;
             try {
@@ -58,7 +58,8 @@ final class VulkanRenderPassFactory {
                 .format(depthFormat)
                 .samples(VK_SAMPLE_COUNT_1_BIT)
                 .loadOp(VK_ATTACHMENT_LOAD_OP_CLEAR)
-                .storeOp(VK10.VK_ATTACHMENT_STORE_OP_DONT_CARE)
+                // Stored for the end-of-frame Hi-Z pyramid build.
+                .storeOp(VK_ATTACHMENT_STORE_OP_STORE)
                 .stencilLoadOp(VK10.VK_ATTACHMENT_LOAD_OP_DONT_CARE)
                 .stencilStoreOp(VK10.VK_ATTACHMENT_STORE_OP_DONT_CARE)
                 .initialLayout(VK_IMAGE_LAYOUT_UNDEFINED)
@@ -1,11 +1,13 @@
 package org.dynamisengine.light.impl.vulkan.pipeline;
 
 import java.nio.ByteBuffer;
+import java.util.List;
 import org.dynamisengine.light.api.error.EngineErrorCode;
 import org.dynamisengine.light.api.error.EngineException;
 import org.dynamisengine.light.impl.vulkan.shader.VulkanBindlessInstancedShadowVertexShaderSource;
 import org.dynamisengine.light.impl.vulkan.shader.VulkanShaderCompiler;
 import org.dynamisengine.light.impl.vulkan.shader.VulkanShaderSources;
+import org.dynamisengine.light.impl.vulkan.shader.VulkanSpirvCompileRequest;
 import org.lwjgl.system.MemoryStack;
 import org.lwjgl.vulkan.VK10;
 import org.lwjgl.vulkan.VkAttachmentDescription;
@@ -92,6 +94,15 @@ public final class VulkanShadowPipelineBuilder {
                     ? VulkanShaderSources.shadowFragmentMoments()
                     : VulkanShaderSources.shadowFragment();
 
+            // The bindless variant is optional; prefetch it alongside the rest and let the
+            // blocking call below decide whether its failure is fatal.
+            VulkanShaderCompiler.prefetch(List.of(
+                    VulkanSpirvCompileRequest.of(shadowVertSource, shaderc_glsl_vertex_shader, "shadow.vert"),
+                    VulkanSpirvCompileRequest.of(shadowInstancedVertSource, shaderc_glsl_vertex_shader, "shadow_instanced.vert"),
+                    VulkanSpirvCompileRequest.of(
+                            shadowBindlessInstancedVertSource, shaderc_glsl_vertex_shader, "shadow_instanced_bindless.vert"),
+                    VulkanSpirvCompileRequest.of(shadowFragSource, shaderc_fragment_shader, "shadow.frag")
+            ));
             ByteBuffer vertSpv = VulkanShaderCompiler.compileGlslToSpv(shadowVertSource, shaderc_glsl_vertex_shader, "shadow.vert");
             ByteBuffer instancedVertSpv = VulkanShaderCompiler.compileGlslToSpv(
                     shadowInstancedVertSource,
@@ -30,6 +30,9 @@ public record FrameResourceProfile(
         long descriptorRingPoolReuses,
         long descriptorRingPoolResetFailures,
         long descriptorRingCapBypasses,
+        int descriptorPoolCount,
+        int descriptorSetHighWaterMark,
+        long descriptorAllocationFailures,
         int dynamicUploadMergeGapObjects,
         int dynamicObjectSoftLimit,
         int maxObservedDynamicObjects,
@@ -0,0 +1,14 @@
+package org.dynamisengine.light.impl.vulkan.profile;
+
+public record RenderGraphProfile(
+        long planCacheHits,
+        long planCacheMisses,
+        long planCacheInvalidations,
+        int planCacheEntries,
+        boolean transientPackingEnabled,
+        long transientPeakBytes,
+        long transientUnpackedBytes,
+        int transientHeaps,
+        int transientResources
+) {
+}
@@ -47,6 +47,9 @@ public final class VulkanContextProfileCoordinator {
                 in.descriptorRingPoolReuseCount(),
                 in.descriptorRingPoolResetFailureCount(),
                 in.descriptorRingCapBypassCount(),
+                in.descriptorPoolCount(),
+                in.descriptorSetHighWaterMark(),
+                in.descriptorAllocationFailureCount(),
                 in.dynamicUploadMergeGapObjects(),
                 in.dynamicObjectSoftLimit(),
                 in.maxObservedDynamicObjects(),
@@ -110,6 +113,9 @@ public final class VulkanContextProfileCoordinator {
             long descriptorRingPoolReuseCount,
             long descriptorRingPoolResetFailureCount,
             long descriptorRingCapBypassCount,
+            int descriptorPoolCount,
+            int descriptorSetHighWaterMark,
+            long descriptorAllocationFailureCount,
             int dynamicUploadMergeGapObjects,
             int dynamicObjectSoftLimit,
             int maxObservedDynamicObjects,
@@ -1,5 +1,11 @@
 package org.dynamisengine.light.impl.vulkan.profile;
 
+import java.util.List;
+
+/**
+ * Per-frame Vulkan counters. {@code gpuPassTimings} holds the rolling GPU timestamp statistics per
+ * render-graph pass and profiler scope; it is empty when timestamps are unsupported (or in mock mode).
+ */
 public record VulkanFrameMetrics(
         double cpuFrameMs,
         double gpuFrameMs,
@@ -17,6 +23,41 @@ public record VulkanFrameMetrics(
         long staticDraws,
         long morphDraws,
         long skinnedDraws,
-        long instancedDraws
+        long instancedDraws,
+        long frustumCulledDraws,
+        long occlusionCulledDraws,
+        long gpuVisibleDraws,
+        List<VulkanGpuPassTiming> gpuPassTimings
 ) {
+    public VulkanFrameMetrics {
+        gpuPassTimings = gpuPassTimings == null ? List.of() : List.copyOf(gpuPassTimings);
+    }
+
+    public VulkanFrameMetrics(
+            double cpuFrameMs,
+            double gpuFrameMs,
+            double planarCaptureGpuMs,
+            String gpuTimingSource,
+            long drawCalls,
+            long triangles,
+            long visibleObjects,
+            long gpuMemoryBytes,
+            long shadowDrawCalls,
+            long geometryDrawCalls,
+            long postDrawCalls,
+            long pipelineSwitches,
+            long submittedObjects,
+            long staticDraws,
+            long morphDraws,
+            long skinnedDraws,
+            long instancedDraws,
+            long frustumCulledDraws,
+            long occlusionCulledDraws,
+            long gpuVisibleDraws
+    ) {
+        this(cpuFrameMs, gpuFrameMs, planarCaptureGpuMs, gpuTimingSource, drawCalls, triangles, visibleObjects,
+                gpuMemoryBytes, shadowDrawCalls, geometryDrawCalls, postDrawCalls, pipelineSwitches, submittedObjects,
+                staticDraws, morphDraws, skinnedDraws, instancedDraws, frustumCulledDraws, occlusionCulledDraws,
+                gpuVisibleDraws, List.of());
+    }
 }
@@ -0,0 +1,23 @@
+package org.dynamisengine.light.impl.vulkan.profile;
+
+/**
+ * Rolling GPU time of one profiler scope over the last {@code samples} resolved frames.
+ *
+ * @param scope scope path; nested scopes are joined with {@code '/'} below their parent
+ * @param depth nesting depth, 0 for the frame scope and for graph passes recorded directly in it
+ * @param samples resolved frames in the window
+ * @param lastMs most recent sample
+ * @param minMs window minimum
+ * @param avgMs window mean
+ * @param p95Ms window 95th percentile (nearest rank)
+ */
+public record VulkanGpuPassTiming(
+        String scope,
+        int depth,
+        int samples,
+        double lastMs,
+        double minMs,
+        double avgMs,
+        double p95Ms
+) {
+}
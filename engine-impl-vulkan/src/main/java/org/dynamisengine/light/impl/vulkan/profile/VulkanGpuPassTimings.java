@@ -0,0 +1,108 @@
+package org.dynamisengine.light.impl.vulkan.profile;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-scope ring of the last {@code window} resolved samples. Scopes that have not been sampled for a
+ * whole window (a pass removed from the graph) are dropped. The snapshot is rebuilt on demand, so
+ * resolving a frame allocates nothing once every scope has a ring.
+ */
+final class VulkanGpuPassTimings {
+    private final int window;
+    private final Map<String, Ring> rings = new LinkedHashMap<>();
+    private long resolvedFrames;
+    private List<VulkanGpuPassTiming> snapshot = List.of();
+    private boolean snapshotStale;
+
+    VulkanGpuPassTimings(int window) {
+        this.window = Math.max(1, window);
+    }
+
+    void add(String scope, int depth, double ms) {
+        Ring ring = rings.get(scope);
+        if (ring == null) {
+            ring = new Ring(window);
+            rings.put(scope, ring);
+        }
+        ring.depth = depth;
+        ring.add(ms, resolvedFrames);
+    }
+
+    /** Closes one resolved frame; the next {@link #snapshot()} reflects it. */
+    void endFrame() {
+        resolvedFrames++;
+        snapshotStale = true;
+    }
+
+    List<VulkanGpuPassTiming> snapshot() {
+        if (!snapshotStale) {
+            return snapshot;
+        }
+        snapshotStale = false;
+        List<VulkanGpuPassTiming> out = new ArrayList<>(rings.size());
+        Iterator<Map.Entry<String, Ring>> it = rings.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Ring> entry = it.next();
+            Ring ring = entry.getValue();
+            if (resolvedFrames - ring.lastFrame > window) {
+                it.remove();
+                continue;
+            }
+            out.add(ring.timing(entry.getKey()));
+        }
+        snapshot = List.copyOf(out);
+        return snapshot;
+    }
+
+    void clear() {
+        rings.clear();
+        snapshot = List.of();
+        snapshotStale = false;
+    }
+
+    private static final class Ring {
+        private final double[] samples;
+        private final double[] sorted;
+        private int count;
+        private int next;
+        private int depth;
+        private double last;
+        private long lastFrame;
+
+        Ring(int window) {
+            samples = new double[window];
+            sorted = new double[window];
+        }
+
+        void add(double ms, long frame) {
+            if (frame == lastFrame && count > 0) {
+                // Same scope recorded twice in one frame (e.g. a repeated pass): accumulate.
+                int previous = (next - 1 + samples.length) % samples.length;
+                samples[previous] += ms;
+                last = samples[previous];
+                return;
+            }
+            samples[next] = ms;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+            last = ms;
+            lastFrame = frame;
+        }
+
+        VulkanGpuPassTiming timing(String scope) {
+            System.arraycopy(samples, 0, sorted, 0, count);
+            Arrays.sort(sorted, 0, count);
+            double sum = 0.0;
+            for (int i = 0; i < count; i++) {
+                sum += sorted[i];
+            }
+            int p95 = Math.max(0, (int) Math.ceil(count * 0.95) - 1);
+            return new VulkanGpuPassTiming(scope, depth, count, last, sorted[0], sum / count, sorted[p95]);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package org.dynamisengine.light.impl.vulkan.profile;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.dynamisengine.light.impl.vulkan.graph.VulkanRenderGraphTimestampSlots;
+
+/**
+ * Device-independent half of the GPU timestamp profiler: query index assignment per frame-in-flight
+ * slot and aggregation of resolved timestamps. {@link VulkanGpuTimestamps} issues the Vulkan commands
+ * for the indices returned here.
+ *
+ * <p>Each frame starts at query 0. A compiled graph plan reserves one contiguous block sized by its
+ * {@link VulkanRenderGraphTimestampSlots}; ad-hoc and nested scopes take the next free pair. Scopes nest
+ * through a stack, and a nested scope is reported as {@code parent/child}. Scopes past the pool capacity
+ * are skipped, never wrapped onto live queries.</p>
+ *
+ * <p>The backend resolves a slot once the fence of the frame recorded in it has signalled and before
+ * {@link #beginFrame} reuses it, so results are read without waiting on the GPU; a slot whose results were
+ * never read is discarded when the ring comes back to it. Scope records, nested scope paths and the
+ * aggregation are reused across frames, so recording allocates nothing once every scope has been seen.</p>
+ */
+public final class VulkanGpuProfiler {
+    public static final String FRAME_SCOPE = "frame";
+    public static final int DEFAULT_QUERY_CAPACITY = 256;
+    public static final int DEFAULT_WINDOW = 120;
+
+    private final int queryCapacity;
+    private final double msPerTick;
+    private final FrameRecord[] frames;
+    private final VulkanGpuPassTimings timings;
+    private final int[] openScopes = new int[32];
+    private final Map<String, Map<String, String>> nestedPaths = new HashMap<>();
+    private FrameRecord recording;
+    private int openCount;
+    private long droppedFrames;
+    private long skippedScopes;
+    private double lastFrameMs;
+
+    public VulkanGpuProfiler(int framesInFlight, int queryCapacity, double timestampPeriodNs, int window) {
+        if (framesInFlight <= 0 || queryCapacity < 2) {
+            throw new IllegalArgumentException("framesInFlight must be positive and queryCapacity at least 2");
+        }
+        this.queryCapacity = queryCapacity;
+        this.msPerTick = timestampPeriodNs / 1_000_000.0;
+        this.frames = new FrameRecord[framesInFlight];
+        for (int i = 0; i < framesInFlight; i++) {
+            frames[i] = new FrameRecord();
+        }
+        this.timings = new VulkanGpuPassTimings(window);
+    }
+
+    public int framesInFlight() {
+        return frames.length;
+    }
+
+    public int queryCapacity() {
+        return queryCapacity;
+    }
+
+    /** Ring slot that frame {@code frameIndex} records into; resolve it after its fence, before reuse. */
+    public int slotOf(int frameIndex) {
+        return Math.floorMod(frameIndex, frames.length);
+    }
+
+    /**
+     * Starts recording into ring slot {@code frameIndex % framesInFlight}. Results of that slot that were
+     * never resolved are dropped.
+     *
+     * @return the ring slot
+     */
+    public int beginFrame(int frameIndex) {
+        int slot = slotOf(frameIndex);
+        FrameRecord frame = frames[slot];
+        if (frame.pending) {
+            droppedFrames++;
+        }
+        frame.clear();
+        recording = frame;
+        openCount = 0;
+        return slot;
+    }
+
+    /** Opens a scope on the next free query pair; returns its start query, or -1 when not timed. */
+    public int beginScope(String name) {
+        int start = allocate(2);
+        return open(name, start, start < 0 ? -1 : start + 1);
+    }
+
+    /**
+     * Reserves the query block of a compiled plan.
+     *
+     * @return the block base to pass to {@link #beginPlannedScope}, or -1 when the pool has no room
+     */
+    public int reservePlan(VulkanRenderGraphTimestampSlots slots) {
+        if (slots == null || slots.queryCount() == 0) {
+            return -1;
+        }
+        return allocate(slots.queryCount());
+    }
+
+    /** Opens the scope of plan node {@code nodeIndex}; returns its start query, or -1 when not timed. */
+    public int beginPlannedScope(int base, VulkanRenderGraphTimestampSlots slots, int nodeIndex) {
+        String name = slots.scopeNames().get(nodeIndex);
+        if (base < 0) {
+            return open(name, -1, -1);
+        }
+        return open(name, base + slots.startQuery(nodeIndex), base + slots.endQuery(nodeIndex));
+    }
+
+    /** Closes the innermost scope; returns its end query, or -1 when it was not timed. */
+    public int endScope() {
+        if (recording == null || openCount == 0) {
+            throw new IllegalStateException("endScope without an open scope");
+        }
+        Scope scope = recording.scopes.get(openScopes[--openCount]);
+        return scope.endQuery;
+    }
+
+    /** Marks the recorded frame as submitted; its queries become eligible for {@link #resolve}. */
+    public void endFrame() {
+        if (recording == null) {
+            return;
+        }
+        if (openCount != 0) {
+            throw new IllegalStateException(openCount + " GPU profiler scope(s) left open");
+        }
+        recording.pending = recording.queriesUsed > 0;
+        recording = null;
+    }
+
+    /** Queries written by the last frame recorded in {@code slot}, or 0 when nothing awaits resolution. */
+    public int pendingQueryCount(int slot) {
+        FrameRecord frame = frames[slot];
+        return frame.pending ? frame.queriesUsed : 0;
+    }
+
+    /**
+     * Aggregates the timestamps of {@code slot}; {@code timestamps[i]} is the raw tick value of query i and
+     * entries past {@link #pendingQueryCount} are ignored, so one buffer per slot can be reused.
+     * Scopes that were not timed or whose end precedes the start (pass skipped, counter wrap) are ignored.
+     */
+    public void resolve(int slot, long[] timestamps) {
+        FrameRecord frame = frames[slot];
+        if (!frame.pending) {
+            return;
+        }
+        int queries = Math.min(timestamps.length, frame.queriesUsed);
+        for (int i = 0; i < frame.scopeCount; i++) {
+            Scope scope = frame.scopes.get(i);
+            if (scope.startQuery < 0 || scope.endQuery >= queries) {
+                continue;
+            }
+            long ticks = timestamps[scope.endQuery] - timestamps[scope.startQuery];
+            if (ticks < 0) {
+                continue;
+            }
+            double ms = ticks * msPerTick;
+            timings.add(scope.path, scope.depth, ms);
+            if (scope.depth == 0 && FRAME_SCOPE.equals(scope.path)) {
+                lastFrameMs = ms;
+            }
+        }
+        timings.endFrame();
+        frame.pending = false;
+    }
+
+    public List<VulkanGpuPassTiming> passTimings() {
+        return timings.snapshot();
+    }
+
+    public double lastFrameMs() {
+        return lastFrameMs;
+    }
+
+    /** Frames whose results were still unresolved when their ring slot was reused. */
+    public long droppedFrames() {
+        return droppedFrames;
+    }
+
+    /** Scopes that were not timed because the query pool was full. */
+    public long skippedScopes() {
+        return skippedScopes;
+    }
+
+    public void reset() {
+        for (FrameRecord frame : frames) {
+            frame.clear();
+        }
+        timings.clear();
+        recording = null;
+        openCount = 0;
+        lastFrameMs = 0.0;
+    }
+
+    private int allocate(int queries) {
+        if (recording == null) {
+            throw new IllegalStateException("beginFrame must be called before recording scopes");
+        }
+        if (recording.queriesUsed + queries > queryCapacity) {
+            return -1;
+        }
+        int base = recording.queriesUsed;
+        recording.queriesUsed += queries;
+        return base;
+    }
+
+    private int open(String name, int startQuery, int endQuery) {
+        if (recording == null) {
+            throw new IllegalStateException("beginFrame must be called before recording scopes");
+        }
+        if (openCount == openScopes.length) {
+            throw new IllegalStateException("GPU profiler scopes nested deeper than " + openScopes.length);
+        }
+        if (startQuery < 0) {
+            skippedScopes++;
+        }
+        int depth = 0;
+        String path = name == null ? "" : name;
+        if (openCount > 0) {
+            Scope parent = recording.scopes.get(openScopes[openCount - 1]);
+            // Passes recorded directly inside the frame scope keep their own name.
+            boolean frameChild = parent.depth == 0 && FRAME_SCOPE.equals(parent.path);
+            depth = frameChild ? 0 : parent.depth + 1;
+            path = frameChild ? path : nestedPath(parent.path, path);
+        }
+        openScopes[openCount++] = recording.add(path, depth, startQuery, endQuery);
+        return startQuery;
+    }
+
+    private String nestedPath(String parentPath, String name) {
+        Map<String, String> children = nestedPaths.get(parentPath);
+        if (children == null) {
+            children = new HashMap<>();
+            nestedPaths.put(parentPath, children);
+        }
+        String path = children.get(name);
+        if (path == null) {
+            path = parentPath + "/" + name;
+            children.put(name, path);
+        }
+        return path;
+    }
+
+    private static final class Scope {
+        private String path;
+        private int depth;
+        private int startQuery;
+        private int endQuery;
+    }
+
+    /** Scopes of one slot; {@link Scope} records are kept across frames and overwritten in place. */
+    private static final class FrameRecord {
+        private final List<Scope> scopes = new ArrayList<>();
+        private int scopeCount;
+        private int queriesUsed;
+        private boolean pending;
+
+        int add(String path, int depth, int startQuery, int endQuery) {
+            if (scopeCount == scopes.size()) {
+                scopes.add(new Scope());
+            }
+            Scope scope = scopes.get(scopeCount);
+            scope.path = path;
+            scope.depth = depth;
+            scope.startQuery = startQuery;
+            scope.endQuery = endQuery;
+            return scopeCount++;
+        }
+
+        void clear() {
+            scopeCount = 0;
+            queriesUsed = 0;
+            pending = false;
+        }
+    }
+}
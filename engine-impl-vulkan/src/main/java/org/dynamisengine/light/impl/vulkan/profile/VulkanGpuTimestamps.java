@@ -1,88 +1,78 @@
 package org.dynamisengine.light.impl.vulkan.profile;
 
+import org.dynamisengine.light.impl.vulkan.graph.VulkanRenderGraphTimestampSlots;
 import org.lwjgl.system.MemoryStack;
-import org.lwjgl.vulkan.VK10;
 import org.lwjgl.vulkan.VkCommandBuffer;
 import org.lwjgl.vulkan.VkDevice;
 
+import java.nio.LongBuffer;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
+import static org.lwjgl.system.MemoryUtil.memAllocLong;
+import static org.lwjgl.system.MemoryUtil.memFree;
 import static org.lwjgl.vulkan.VK10.*;
 
 /**
  * Manages Vulkan timestamp queries for GPU pass timing.
  *
- * <p>Double-buffered: queries written in frame N are read in frame N+1.
- * No same-frame reads. No CPU waits. Reset only after results consumed.
+ * <p>One query pool per frame in flight, sized by {@code dle.vulkan.gpuTimestamps.maxQueries}
+ * (default {@value VulkanGpuProfiler#DEFAULT_QUERY_CAPACITY}). Query indices come from
+ * {@link VulkanGpuProfiler}: render-graph nodes use the block laid out when their plan was compiled,
+ * other scopes (UI, nested scopes) take the next free pair. A slot is resolved by {@link #resolveFrame}
+ * once the fence of the frame recorded in it has signalled and before {@link #resetForFrame} reuses its
+ * pool, so reading results never stalls and no frame is dropped. Each slot owns an off-heap result
+ * buffer and a tick array sized to the pool, so resolving allocates nothing per frame.
  *
- * <p>Coarse passes instrumented:
- * <ul>
- *   <li>frame (total)</li>
- *   <li>shadow_passes</li>
- *   <li>main_geometry</li>
- *   <li>post_composite</li>
- *   <li>ui (debug/UI composition)</li>
- * </ul>
+ * <p>Rolling min/avg/p95 per scope are exposed through {@link #passTimings()}.
  */
 public final class VulkanGpuTimestamps {
 
     private static final Logger LOG = Logger.getLogger(VulkanGpuTimestamps.class.getName());
 
-    // Query indices: each pass has START and END
-    private static final int FRAME_START = 0;
-    private static final int FRAME_END = 1;
-    private static final int SHADOW_START = 2;
-    private static final int SHADOW_END = 3;
-    private static final int GEOMETRY_START = 4;
-    private static final int GEOMETRY_END = 5;
-    private static final int POST_START = 6;
-    private static final int POST_END = 7;
-    private static final int UI_START = 8;
-    private static final int UI_END = 9;
-    private static final int QUERY_COUNT = 10;
-
     private long[] queryPools; // one per frame-in-flight
-    private int framesInFlight;
-    private float timestampPeriodNs; // nanoseconds per timestamp tick
+    private LongBuffer[] queryResults; // off-heap vkGetQueryPoolResults target per pool
+    private long[][] slotTimestamps;
+    private VulkanGpuProfiler profiler;
     private boolean available;
-    private int currentFrame;
-
-    // Results from the previous frame
-    private double frameTimeMs;
-    private double shadowPassMs;
-    private double geometryPassMs;
-    private double postProcessMs;
-    private double uiPassMs;
+    private int currentSlot;
     private boolean resultsValid;
 
     /**
      * Initialize query pools. Call after device and physical device are ready.
      */
     public void initialize(VkDevice device, int framesInFlight, float timestampPeriod) {
-        this.framesInFlight = framesInFlight;
-        this.timestampPeriodNs = timestampPeriod;
-
         if (timestampPeriod <= 0) {
             LOG.warning("GPU timestamps not supported (timestampPeriod=0)");
             available = false;
             return;
         }
+        int queryCapacity = Math.max(2, Integer.getInteger(
+                "dle.vulkan.gpuTimestamps.maxQueries", VulkanGpuProfiler.DEFAULT_QUERY_CAPACITY));
+        int window = Math.max(1, Integer.getInteger(
+                "dle.vulkan.gpuTimestamps.window", VulkanGpuProfiler.DEFAULT_WINDOW));
+        profiler = new VulkanGpuProfiler(framesInFlight, queryCapacity, timestampPeriod, window);
 
         queryPools = new long[framesInFlight];
+        queryResults = new LongBuffer[framesInFlight];
+        slotTimestamps = new long[framesInFlight][queryCapacity];
+        for (int i = 0; i < framesInFlight; i++) {
+            queryResults[i] = memAllocLong(queryCapacity);
+        }
         try (var stack = MemoryStack.stackPush()) {
             var createInfo = org.lwjgl.vulkan.VkQueryPoolCreateInfo.calloc(stack)
                 .sType$Default()
                 .queryType(VK_QUERY_TYPE_TIMESTAMP)
-                .queryCount(QUERY_COUNT);
+                .queryCount(queryCapacity);
 
             for (int i = 0; i < framesInFlight; i++) {
                 var pPool = stack.mallocLong(1);
                 int result = vkCreateQueryPool(device, createInfo, null, pPool);
                 if (result != VK_SUCCESS) {
                     LOG.warning("Failed to create timestamp query pool: " + result);
-                    available = false;
+                    destroy(device);
                     return;
                 }
                 queryPools[i] = pPool.get(0);
@@ -90,7 +80,7 @@ public final class VulkanGpuTimestamps {
         }
 
         available = true;
-        LOG.info("GPU timestamps initialized: " + framesInFlight + " pools x " + QUERY_COUNT + " queries");
+        LOG.info("GPU timestamps initialized: " + framesInFlight + " pools x " + queryCapacity + " queries");
     }
 
     /**
@@ -98,80 +88,74 @@ public final class VulkanGpuTimestamps {
      */
     public void resetForFrame(VkCommandBuffer cmd, int frameIndex) {
         if (!available) return;
-        currentFrame = frameIndex % framesInFlight;
-        vkCmdResetQueryPool(cmd, queryPools[currentFrame], 0, QUERY_COUNT);
+        currentSlot = profiler.beginFrame(frameIndex);
+        vkCmdResetQueryPool(cmd, queryPools[currentSlot], 0, profiler.queryCapacity());
     }
 
     /** Write frame-start timestamp. */
     public void writeFrameStart(VkCommandBuffer cmd) {
-        if (!available) return;
-        vkCmdWriteTimestamp(cmd, VK_PIPELINE_STAGE_TOP_OF_PIPE_BIT, queryPools[currentFrame], FRAME_START);
+        beginScope(cmd, VulkanGpuProfiler.FRAME_SCOPE);
     }
 
-    /** Write frame-end timestamp. */
+    /** Write frame-end timestamp and mark the frame's queries as submitted. */
     public void writeFrameEnd(VkCommandBuffer cmd) {
         if (!available) return;
-        vkCmdWriteTimestamp(cmd, VK_PIPELINE_STAGE_BOTTOM_OF_PIPE_BIT, queryPools[currentFrame], FRAME_END);
+        endScope(cmd);
+        profiler.endFrame();
     }
 
-    /** Write pass-start timestamp for a named pass. */
-    public void writePassStart(VkCommandBuffer cmd, String passId) {
+    /** Open a named scope; scopes nest inside the innermost open scope. */
+    public void beginScope(VkCommandBuffer cmd, String name) {
         if (!available) return;
-        int idx = passStartIndex(passId);
-        if (idx >= 0) vkCmdWriteTimestamp(cmd, VK_PIPELINE_STAGE_TOP_OF_PIPE_BIT, queryPools[currentFrame], idx);
+        write(cmd, VK_PIPELINE_STAGE_TOP_OF_PIPE_BIT, profiler.beginScope(name));
     }
 
-    /** Write pass-end timestamp for a named pass. */
-    public void writePassEnd(VkCommandBuffer cmd, String passId) {
+    /** Close the innermost open scope. */
+    public void endScope(VkCommandBuffer cmd) {
         if (!available) return;
-        int idx = passEndIndex(passId);
-        if (idx >= 0) vkCmdWriteTimestamp(cmd, VK_PIPELINE_STAGE_BOTTOM_OF_PIPE_BIT, queryPools[currentFrame], idx);
+        write(cmd, VK_PIPELINE_STAGE_BOTTOM_OF_PIPE_BIT, profiler.endScope());
     }
 
-    /**
-     * Read results from the previous frame. Call at beginning of new frame.
-     * Returns false if results are not yet available.
-     */
-    public boolean readPreviousFrame(VkDevice device, int frameIndex) {
-        if (!available) { resultsValid = false; return false; }
+    /** Reserve the compiled query block of a graph plan for this frame; returns its base or -1. */
+    public int beginPlan(VulkanRenderGraphTimestampSlots slots) {
+        return available ? profiler.reservePlan(slots) : -1;
+    }
 
-        int prevFrame = ((frameIndex % framesInFlight) - 1 + framesInFlight) % framesInFlight;
-        long[] timestamps = new long[QUERY_COUNT];
+    /** Write pass-start timestamp for node {@code nodeIndex} of a plan reserved with {@link #beginPlan}. */
+    public void writePassStart(VkCommandBuffer cmd, int base, VulkanRenderGraphTimestampSlots slots, int nodeIndex) {
+        if (!available) return;
+        write(cmd, VK_PIPELINE_STAGE_TOP_OF_PIPE_BIT, profiler.beginPlannedScope(base, slots, nodeIndex));
+    }
 
-        try (var stack = MemoryStack.stackPush()) {
-            var pResults = stack.mallocLong(QUERY_COUNT);
-            int result = vkGetQueryPoolResults(device, queryPools[prevFrame], 0, QUERY_COUNT,
-                pResults, 8, VK_QUERY_RESULT_64_BIT);
+    /** Write pass-end timestamp for the pass opened by {@link #writePassStart}. */
+    public void writePassEnd(VkCommandBuffer cmd) {
+        endScope(cmd);
+    }
 
-            if (result == VK_NOT_READY) {
-                resultsValid = false;
-                return false;
-            }
-            if (result != VK_SUCCESS) {
-                resultsValid = false;
-                return false;
-            }
+    /**
+     * Resolve the slot of frame {@code frameIndex}. Call once that frame's fence has signalled and before
+     * {@link #resetForFrame} reuses the slot; the results are then complete and the read never waits.
+     * Returns false if no frame has resolved yet.
+     */
+    public boolean resolveFrame(VkDevice device, int frameIndex) {
+        if (!available) { resultsValid = false; return false; }
 
-            for (int i = 0; i < QUERY_COUNT; i++) {
-                timestamps[i] = pResults.get(i);
-            }
+        int slot = profiler.slotOf(frameIndex);
+        int count = profiler.pendingQueryCount(slot);
+        if (count == 0) {
+            return resultsValid;
         }
-
-        // Convert to milliseconds
-        double nsToMs = timestampPeriodNs / 1_000_000.0;
-        frameTimeMs = (timestamps[FRAME_END] - timestamps[FRAME_START]) * nsToMs;
-        shadowPassMs = (timestamps[SHADOW_END] - timestamps[SHADOW_START]) * nsToMs;
-        geometryPassMs = (timestamps[GEOMETRY_END] - timestamps[GEOMETRY_START]) * nsToMs;
-        postProcessMs = (timestamps[POST_END] - timestamps[POST_START]) * nsToMs;
-        uiPassMs = (timestamps[UI_END] - timestamps[UI_START]) * nsToMs;
-
-        // Clamp negatives (can happen if timestamps wrap or pass not executed)
-        if (frameTimeMs < 0) frameTimeMs = 0;
-        if (shadowPassMs < 0) shadowPassMs = 0;
-        if (geometryPassMs < 0) geometryPassMs = 0;
-        if (postProcessMs < 0) postProcessMs = 0;
-        if (uiPassMs < 0) uiPassMs = 0;
-
+        LongBuffer results = queryResults[slot];
+        results.clear().limit(count);
+        int result = vkGetQueryPoolResults(device, queryPools[slot], 0, count,
+            results, 8, VK_QUERY_RESULT_64_BIT);
+        if (result != VK_SUCCESS) {
+            // Not ready despite the fence (e.g. device lost): the slot is dropped when it is reused.
+            return resultsValid;
+        }
+        long[] timestamps = slotTimestamps[slot];
+        results.get(0, timestamps, 0, count);
+        profiler.resolve(slot, timestamps);
         resultsValid = true;
         return true;
     }
@@ -179,18 +163,31 @@ public final class VulkanGpuTimestamps {
     /** Get timing results as a map suitable for DebugSnapshot metrics. */
     public Map<String, Double> getMetrics() {
         var metrics = new LinkedHashMap<String, Double>();
-        metrics.put("gpu.frameTimeMs", frameTimeMs);
-        metrics.put("gpu.shadowPassMs", shadowPassMs);
-        metrics.put("gpu.geometryPassMs", geometryPassMs);
-        metrics.put("gpu.postProcessMs", postProcessMs);
-        metrics.put("gpu.uiPassMs", uiPassMs);
+        List<VulkanGpuPassTiming> timings = passTimings();
+        metrics.put("gpu.frameTimeMs", frameTimeMs());
+        metrics.put("gpu.shadowPassMs", lastMsOfPass(timings, "shadow_passes"));
+        metrics.put("gpu.geometryPassMs", lastMsOfPass(timings, "main_geometry"));
+        metrics.put("gpu.postProcessMs", lastMsOfPass(timings, "post_composite"));
+        metrics.put("gpu.uiPassMs", lastMsOfPass(timings, "ui"));
+        for (VulkanGpuPassTiming timing : timings) {
+            String prefix = "gpu.scope." + timing.scope();
+            metrics.put(prefix + ".minMs", timing.minMs());
+            metrics.put(prefix + ".avgMs", timing.avgMs());
+            metrics.put(prefix + ".p95Ms", timing.p95Ms());
+        }
+        metrics.put("gpu.droppedFrames", available ? (double) profiler.droppedFrames() : 0.0);
         metrics.put("gpu.timingAvailable", resultsValid ? 1.0 : 0.0);
         return metrics;
     }
 
+    /** Rolling per-scope timings; empty until a frame has resolved. */
+    public List<VulkanGpuPassTiming> passTimings() {
+        return available ? profiler.passTimings() : List.of();
+    }
+
     public boolean isAvailable() { return available; }
     public boolean hasValidResults() { return resultsValid; }
-    public double frameTimeMs() { return frameTimeMs; }
+    public double frameTimeMs() { return available ? profiler.lastFrameMs() : 0.0; }
 
     public void destroy(VkDevice device) {
         if (queryPools != null) {
@@ -199,28 +196,42 @@ public final class VulkanGpuTimestamps {
             }
             queryPools = null;
         }
+        if (queryResults != null) {
+            for (LongBuffer results : queryResults) {
+                if (results != null) memFree(results);
+            }
+            queryResults = null;
+        }
+        slotTimestamps = null;
         available = false;
+        resultsValid = false;
     }
 
-    // --- Pass ID mapping ---
+    private void write(VkCommandBuffer cmd, int stage, int query) {
+        if (query >= 0) {
+            vkCmdWriteTimestamp(cmd, stage, queryPools[currentSlot], query);
+        }
+    }
 
-    private static int passStartIndex(String passId) {
-        return switch (passId) {
-            case "shadow_passes" -> SHADOW_START;
-            case "main_geometry" -> GEOMETRY_START;
-            case "post_composite" -> POST_START;
-            case "ui" -> UI_START;
-            default -> -1;
-        };
+    /**
+     * Sum of the latest samples of top-level scopes for pass {@code passId}; graph node ids have the
+     * form {@code featureId:passId#n}.
+     */
+    private static double lastMsOfPass(List<VulkanGpuPassTiming> timings, String passId) {
+        double sum = 0.0;
+        for (VulkanGpuPassTiming timing : timings) {
+            if (timing.depth() == 0 && passId.equals(passIdOf(timing.scope()))) {
+                sum += timing.lastMs();
+            }
+        }
+        return sum;
     }
 
-    private static int passEndIndex(String passId) {
-        return switch (passId) {
-            case "shadow_passes" -> SHADOW_END;
-            case "main_geometry" -> GEOMETRY_END;
-            case "post_composite" -> POST_END;
-            case "ui" -> UI_END;
-            default -> -1;
-        };
+    static String passIdOf(String scope) {
+        int colon = scope.lastIndexOf(':');
+        int hash = scope.lastIndexOf('#');
+        int begin = colon < 0 ? 0 : colon + 1;
+        int end = hash > begin ? hash : scope.length();
+        return scope.substring(begin, end);
     }
 }
@@ -1,5 +1,7 @@
 package org.dynamisengine.light.impl.vulkan.profile;
 
+import org.dynamisengine.light.impl.vulkan.graph.VulkanExecutableRenderGraphPlanCache;
+
 public final class VulkanProfileFactory {
     private VulkanProfileFactory() {
     }
@@ -54,6 +56,9 @@ public final class VulkanProfileFactory {
             long descriptorRingPoolReuseCount,
             long descriptorRingPoolResetFailureCount,
             long descriptorRingCapBypassCount,
+            int descriptorPoolCount,
+            int descriptorSetHighWaterMark,
+            long descriptorAllocationFailureCount,
             int dynamicUploadMergeGapObjects,
             int dynamicObjectSoftLimit,
             int maxObservedDynamicObjects,
@@ -89,6 +94,9 @@ public final class VulkanProfileFactory {
                 descriptorRingPoolReuseCount,
                 descriptorRingPoolResetFailureCount,
                 descriptorRingCapBypassCount,
+                descriptorPoolCount,
+                descriptorSetHighWaterMark,
+                descriptorAllocationFailureCount,
                 dynamicUploadMergeGapObjects,
                 dynamicObjectSoftLimit,
                 maxObservedDynamicObjects,
@@ -126,4 +134,21 @@ public final class VulkanProfileFactory {
                 postOffscreenActive ? "offscreen" : "shader-fallback"
         );
     }
+
+    public static RenderGraphProfile renderGraphProfile(
+            VulkanExecutableRenderGraphPlanCache.Stats planCache,
+            VulkanExecutableRenderGraphPlanCache.TransientMemoryStats transientMemory
+    ) {
+        return new RenderGraphProfile(
+                planCache.hits(),
+                planCache.misses(),
+                planCache.invalidations(),
+                planCache.entries(),
+                transientMemory.packingEnabled(),
+                transientMemory.peakTransientBytes(),
+                transientMemory.unpackedTransientBytes(),
+                transientMemory.heaps(),
+                transientMemory.resources()
+        );
+    }
 }
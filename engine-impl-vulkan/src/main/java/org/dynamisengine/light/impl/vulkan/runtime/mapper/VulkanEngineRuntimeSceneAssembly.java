@@ -15,6 +15,7 @@ import org.dynamisengine.light.api.scene.TransformDesc;
 import org.dynamisengine.light.api.scene.Vec3;
 import org.dynamisengine.light.impl.vulkan.asset.VulkanGltfMeshParser;
 import org.dynamisengine.light.impl.vulkan.asset.VulkanMeshAssetLoader;
+import org.dynamisengine.light.impl.vulkan.model.VulkanRegisteredMesh;
 import org.dynamisengine.light.impl.vulkan.model.VulkanSceneMeshData;
 import org.vectrix.core.Matrix4f;
 
@@ -43,7 +44,6 @@ public final class VulkanEngineRuntimeSceneAssembly {
             if (mesh == null) {
                 continue;
             }
-            VulkanGltfMeshParser.MeshGeometry geometry = meshLoader.loadMeshGeometry(mesh, i);
             MaterialDesc material = materials.get(mesh.materialId());
             float[] color = materialToColor(material);
             float metallic = material == null ? 0.0f : clamp01(material.metallic());
@@ -58,10 +58,12 @@ public final class VulkanEngineRuntimeSceneAssembly {
             float reactivePreset = material == null ? 0f : toReactivePresetValue(material.reactivePreset());
             Matrix4f model = VulkanEngineRuntimeCameraMath.modelMatrixOf(transforms.get(mesh.transformId()), i);
             String stableMeshId = (mesh.id() == null || mesh.id().isBlank()) ? ("mesh-index-" + i) : mesh.id();
+            VulkanRegisteredMesh registered = meshLoader.registeredMesh(mesh);
+            VulkanGltfMeshParser.MeshGeometry geometry = registered == null ? meshLoader.loadMeshGeometry(mesh, i) : null;
             VulkanSceneMeshData meshData = new VulkanSceneMeshData(
                     stableMeshId,
-                    geometry.vertices(),
-                    geometry.indices(),
+                    geometry == null ? null : geometry.vertices(),
+                    geometry == null ? null : geometry.indices(),
                     model.get(new float[16]),
                     color,
                     metallic,
@@ -79,11 +81,13 @@ public final class VulkanEngineRuntimeSceneAssembly {
                     resolveTexturePath(material == null ? null : material.metallicRoughnessTexturePath(), assetRoot),
                     resolveTexturePath(material == null ? null : material.occlusionTexturePath(), assetRoot),
                     null,
-                    geometry.skinned(),
-                    geometry.jointCount(),
-                    geometry.morphTargetDeltas(),
-                    geometry.morphTargetCount(),
-                    null
+                    geometry != null && geometry.skinned(),
+                    geometry == null ? 0 : geometry.jointCount(),
+                    geometry == null ? null : geometry.morphTargetDeltas(),
+                    geometry == null ? 0 : geometry.morphTargetCount(),
+                    null,
+                    registered,
+                    geometry == null ? null : geometry.mapped()
             );
             out.add(meshData);
         }
@@ -8,6 +8,7 @@ import org.dynamisengine.light.api.config.QualityTier;
 import org.dynamisengine.light.api.scene.LightDesc;
 import org.dynamisengine.light.api.scene.LightType;
 import org.dynamisengine.light.api.scene.ShadowDesc;
+import org.dynamisengine.light.impl.common.culling.ClusteredLightRecords;
 import org.dynamisengine.light.impl.common.shadow.ShadowAtlasPlanner;
 
 import java.util.ArrayList;
@@ -273,11 +274,14 @@ final class VulkanEngineRuntimeShadowMapper {
                 float outerCos = VulkanEngineRuntimeCameraMath.cosFromDegrees(shadowLight.outerConeDegrees());
                 shadowPointOuterCos = Math.min(innerCos, outerCos);
             }
+            float[] clusteredLights = ClusteredLightRecords.pack(localLights, localLightCount, VulkanContext.MAX_CLUSTERED_LIGHTS);
+            int clusteredLightCount = clusteredLights.length / ClusteredLightRecords.RECORD_FLOATS;
             return new LightingConfig(
                     dir, dirColor, dirIntensity,
                     shadowPointPos, shadowPointDir, shadowPointIsSpot, shadowPointOuterCos, shadowPointRange, shadowPointCastsShadows,
                     localLightCount, localLightPosRange, localLightColorIntensity, localLightDirInner, localLightOuterTypeShadow,
-                    java.util.Map.copyOf(newAssignments), assignedShadowLights, allocatorReused, allocatorEvictions
+                    java.util.Map.copyOf(newAssignments), assignedShadowLights, allocatorReused, allocatorEvictions,
+                    clusteredLightCount, clusteredLights
             );
         }
         return new LightingConfig(
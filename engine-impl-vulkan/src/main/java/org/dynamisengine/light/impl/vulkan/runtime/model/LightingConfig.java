@@ -20,6 +20,36 @@ public record LightingConfig(
         Map<String, Integer> shadowLayerAssignments,
         int shadowAllocatorAssignedLights,
         int shadowAllocatorReusedAssignments,
-        int shadowAllocatorEvictions
+        int shadowAllocatorEvictions,
+        int clusteredLightCount,
+        float[] clusteredLights
 ) {
+    public LightingConfig(
+            float[] directionalDirection,
+            float[] directionalColor,
+            float directionalIntensity,
+            float[] shadowPointPosition,
+            float[] shadowPointDirection,
+            boolean shadowPointIsSpot,
+            float shadowPointOuterCos,
+            float shadowPointRange,
+            boolean shadowPointCastsShadows,
+            int localLightCount,
+            float[] localLightPosRange,
+            float[] localLightColorIntensity,
+            float[] localLightDirInner,
+            float[] localLightOuterTypeShadow,
+            Map<String, Integer> shadowLayerAssignments,
+            int shadowAllocatorAssignedLights,
+            int shadowAllocatorReusedAssignments,
+            int shadowAllocatorEvictions
+    ) {
+        this(
+                directionalDirection, directionalColor, directionalIntensity,
+                shadowPointPosition, shadowPointDirection, shadowPointIsSpot, shadowPointOuterCos, shadowPointRange, shadowPointCastsShadows,
+                localLightCount, localLightPosRange, localLightColorIntensity, localLightDirInner, localLightOuterTypeShadow,
+                shadowLayerAssignments, shadowAllocatorAssignedLights, shadowAllocatorReusedAssignments, shadowAllocatorEvictions,
+                0, new float[0]
+        );
+    }
 }
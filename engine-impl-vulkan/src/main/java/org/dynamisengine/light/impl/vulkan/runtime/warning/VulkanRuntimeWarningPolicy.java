@@ -11,8 +11,10 @@ import java.util.Locale;
 
 import org.dynamisengine.light.api.config.QualityTier;
 import org.dynamisengine.light.api.event.EngineWarning;
+import org.dynamisengine.light.impl.vulkan.lighting.VulkanClusteredLightBuffer;
 import org.dynamisengine.light.impl.vulkan.profile.FrameResourceProfile;
 import org.dynamisengine.light.impl.vulkan.profile.PostProcessPipelineProfile;
+import org.dynamisengine.light.impl.vulkan.profile.RenderGraphProfile;
 import org.dynamisengine.light.impl.vulkan.profile.SceneReuseStats;
 import org.dynamisengine.light.impl.vulkan.profile.ShadowCascadeProfile;
 
@@ -161,6 +163,28 @@ public final class VulkanRuntimeWarningPolicy {
                             + " descriptorPoolBuilds=" + reuse.descriptorPoolBuilds()
                             + " descriptorPoolRebuilds=" + reuse.descriptorPoolRebuilds()
             ));
+            RenderGraphProfile renderGraph = in.context().renderGraphProfile();
+            warnings.add(new EngineWarning(
+                    "VULKAN_RENDER_GRAPH_PROFILE",
+                    "planCacheHits=" + renderGraph.planCacheHits()
+                            + " planCacheMisses=" + renderGraph.planCacheMisses()
+                            + " planCacheInvalidations=" + renderGraph.planCacheInvalidations()
+                            + " planCacheEntries=" + renderGraph.planCacheEntries()
+                            + " transientPackingEnabled=" + renderGraph.transientPackingEnabled()
+                            + " transientPeakBytes=" + renderGraph.transientPeakBytes()
+                            + " transientUnpackedBytes=" + renderGraph.transientUnpackedBytes()
+                            + " transientHeaps=" + renderGraph.transientHeaps()
+                            + " transientResources=" + renderGraph.transientResources()
+            ));
+            int droppedClusterAssignments = in.context().clusteredLightDroppedAssignments();
+            if (droppedClusterAssignments > 0) {
+                warnings.add(new EngineWarning(
+                        "CLUSTERED_LIGHT_CLUSTER_OVERFLOW",
+                        "Clustered lighting dropped " + droppedClusterAssignments
+                                + " light-to-cluster assignments; each cluster shades at most "
+                                + VulkanClusteredLightBuffer.MAX_LIGHTS_PER_CLUSTER + " lights"
+                ));
+            }
             FrameResourceProfile frameResources = in.context().frameResourceProfile();
             warnings.add(new EngineWarning(
                     "VULKAN_FRAME_RESOURCE_PROFILE",
@@ -193,6 +217,9 @@ public final class VulkanRuntimeWarningPolicy {
                             + " descriptorRingPoolReuses=" + frameResources.descriptorRingPoolReuses()
                             + " descriptorRingPoolResetFailures=" + frameResources.descriptorRingPoolResetFailures()
                             + " descriptorRingCapBypasses=" + frameResources.descriptorRingCapBypasses()
+                            + " descriptorPoolCount=" + frameResources.descriptorPoolCount()
+                            + " descriptorSetHighWaterMark=" + frameResources.descriptorSetHighWaterMark()
+                            + " descriptorAllocationFailures=" + frameResources.descriptorAllocationFailures()
                             + " dynamicUploadMergeGapObjects=" + frameResources.dynamicUploadMergeGapObjects()
                             + " dynamicObjectSoftLimit=" + frameResources.dynamicObjectSoftLimit()
                             + " maxObservedDynamicObjects=" + frameResources.maxObservedDynamicObjects()
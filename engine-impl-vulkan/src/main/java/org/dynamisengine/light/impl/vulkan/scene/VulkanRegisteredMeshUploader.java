@@ -0,0 +1,244 @@
+package org.dynamisengine.light.impl.vulkan.scene;
+
+import org.dynamisengine.gpu.api.error.GpuException;
+import org.dynamisengine.gpu.vulkan.memory.VulkanBufferAlloc;
+import org.dynamisengine.gpu.vulkan.memory.VulkanBufferOps;
+import org.dynamisengine.light.api.error.EngineErrorCode;
+import org.dynamisengine.light.api.error.EngineException;
+import org.dynamisengine.light.impl.common.mesh.RegisteredMeshPayload;
+import org.dynamisengine.light.impl.vulkan.model.VulkanRegisteredMesh;
+import org.lwjgl.PointerBuffer;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.vulkan.VK10;
+import org.lwjgl.vulkan.VkBufferCopy;
+import org.lwjgl.vulkan.VkCommandBuffer;
+import org.lwjgl.vulkan.VkCommandBufferAllocateInfo;
+import org.lwjgl.vulkan.VkCommandBufferBeginInfo;
+import org.lwjgl.vulkan.VkDevice;
+import org.lwjgl.vulkan.VkPhysicalDevice;
+import org.lwjgl.vulkan.VkQueue;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.lwjgl.system.MemoryStack.stackPush;
+import static org.lwjgl.vulkan.VK10.VK_BUFFER_USAGE_INDEX_BUFFER_BIT;
+import static org.lwjgl.vulkan.VK10.VK_BUFFER_USAGE_TRANSFER_DST_BIT;
+import static org.lwjgl.vulkan.VK10.VK_BUFFER_USAGE_TRANSFER_SRC_BIT;
+import static org.lwjgl.vulkan.VK10.VK_BUFFER_USAGE_VERTEX_BUFFER_BIT;
+import static org.lwjgl.vulkan.VK10.VK_MEMORY_PROPERTY_DEVICE_LOCAL_BIT;
+import static org.lwjgl.vulkan.VK10.VK_MEMORY_PROPERTY_HOST_COHERENT_BIT;
+import static org.lwjgl.vulkan.VK10.VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT;
+import static org.lwjgl.vulkan.VK10.VK_NULL_HANDLE;
+import static org.lwjgl.vulkan.VK10.VK_SUCCESS;
+import static org.lwjgl.vulkan.VK10.vkDestroyBuffer;
+import static org.lwjgl.vulkan.VK10.vkFreeMemory;
+import static org.lwjgl.vulkan.VK10.vkMapMemory;
+import static org.lwjgl.vulkan.VK10.vkUnmapMemory;
+
+/**
+ * Uploads a batch of registered meshes through one host-visible staging buffer and one transfer submit.
+ *
+ * <p>DMESH_V1 vertices already use the static 11-float scene layout, so each payload's vertex and index
+ * segments are copied once from the caller's memory into the mapped staging buffer and then into per-mesh
+ * device-local buffers. Meshes keep their own allocations so they can be removed individually.</p>
+ */
+public final class VulkanRegisteredMeshUploader {
+    private static final ValueLayout.OfFloat FLOAT_LE = ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfInt INT_LE = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private VulkanRegisteredMeshUploader() {
+    }
+
+    public static List<VulkanRegisteredMesh> upload(
+            VkDevice device,
+            VkPhysicalDevice physicalDevice,
+            long commandPool,
+            VkQueue graphicsQueue,
+            List<RegisteredMeshPayload> payloads,
+            VulkanSceneMeshLifecycle.FailureFactory vkFailure
+    ) throws EngineException {
+        long stagingBytes = 0L;
+        for (RegisteredMeshPayload payload : payloads) {
+            stagingBytes += payload.vertexBytes() + payload.indexBytes();
+        }
+        if (stagingBytes > Integer.MAX_VALUE) {
+            throw new EngineException(EngineErrorCode.INVALID_ARGUMENT, "Registered mesh batch exceeds supported staging size", true);
+        }
+        List<VulkanRegisteredMesh> created = new ArrayList<>(payloads.size());
+        try (MemoryStack stack = stackPush()) {
+            VulkanBufferAlloc staging = VulkanBufferOps.createBuffer(
+                    device,
+                    physicalDevice,
+                    stack,
+                    (int) stagingBytes,
+                    VK_BUFFER_USAGE_TRANSFER_SRC_BIT,
+                    VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT | VK_MEMORY_PROPERTY_HOST_COHERENT_BIT
+            );
+            try {
+                fillStaging(device, stack, staging, stagingBytes, payloads, vkFailure);
+                for (RegisteredMeshPayload payload : payloads) {
+                    created.add(createDeviceBuffers(device, physicalDevice, stack, payload));
+                }
+                copyToDevice(device, commandPool, graphicsQueue, stack, staging.buffer(), payloads, created, vkFailure);
+            } finally {
+                destroyBuffer(device, staging.buffer(), staging.memory());
+            }
+            return created;
+        } catch (GpuException ex) {
+            created.forEach(mesh -> destroy(device, mesh));
+            throw new EngineException(
+                    EngineErrorCode.BACKEND_INIT_FAILED,
+                    "Failed to upload registered meshes: " + ex.getMessage(),
+                    false
+            );
+        } catch (EngineException | RuntimeException ex) {
+            created.forEach(mesh -> destroy(device, mesh));
+            throw ex;
+        }
+    }
+
+    public static void destroy(VkDevice device, VulkanRegisteredMesh mesh) {
+        if (device == null || mesh == null) {
+            return;
+        }
+        destroyBuffer(device, mesh.vertexBuffer(), mesh.vertexMemory());
+        destroyBuffer(device, mesh.indexBuffer(), mesh.indexMemory());
+    }
+
+    private static void fillStaging(
+            VkDevice device,
+            MemoryStack stack,
+            VulkanBufferAlloc staging,
+            long stagingBytes,
+            List<RegisteredMeshPayload> payloads,
+            VulkanSceneMeshLifecycle.FailureFactory vkFailure
+    ) throws EngineException {
+        PointerBuffer mapped = stack.mallocPointer(1);
+        int result = vkMapMemory(device, staging.memory(), 0, stagingBytes, 0, mapped);
+        if (result != VK_SUCCESS) {
+            throw vkFailure.failure("vkMapMemory(registered meshes)", result);
+        }
+        try {
+            MemorySegment target = MemorySegment.ofAddress(mapped.get(0)).reinterpret(stagingBytes);
+            long offset = 0L;
+            for (RegisteredMeshPayload payload : payloads) {
+                int vertexFloats = (int) (payload.vertexBytes() / Float.BYTES);
+                MemorySegment.copy(payload.vertices(), FLOAT_LE, 0L, target, ValueLayout.JAVA_FLOAT_UNALIGNED, offset, vertexFloats);
+                offset += payload.vertexBytes();
+                MemorySegment.copy(payload.indices(), INT_LE, 0L, target, ValueLayout.JAVA_INT_UNALIGNED, offset, payload.indexCount());
+                offset += payload.indexBytes();
+            }
+        } finally {
+            vkUnmapMemory(device, staging.memory());
+        }
+    }
+
+    private static VulkanRegisteredMesh createDeviceBuffers(
+            VkDevice device,
+            VkPhysicalDevice physicalDevice,
+            MemoryStack stack,
+            RegisteredMeshPayload payload
+    ) throws GpuException {
+        VulkanBufferAlloc vertexAlloc = VulkanBufferOps.createBuffer(
+                device,
+                physicalDevice,
+                stack,
+                (int) payload.vertexBytes(),
+                VK_BUFFER_USAGE_TRANSFER_DST_BIT | VK_BUFFER_USAGE_VERTEX_BUFFER_BIT,
+                VK_MEMORY_PROPERTY_DEVICE_LOCAL_BIT
+        );
+        VulkanBufferAlloc indexAlloc;
+        try {
+            indexAlloc = VulkanBufferOps.createBuffer(
+                    device,
+                    physicalDevice,
+                    stack,
+                    (int) payload.indexBytes(),
+                    VK_BUFFER_USAGE_TRANSFER_DST_BIT | VK_BUFFER_USAGE_INDEX_BUFFER_BIT,
+                    VK_MEMORY_PROPERTY_DEVICE_LOCAL_BIT
+            );
+        } catch (GpuException ex) {
+            destroyBuffer(device, vertexAlloc.buffer(), vertexAlloc.memory());
+            throw ex;
+        }
+        float[] sphere = payload.sphere();
+        return new VulkanRegisteredMesh(
+                vertexAlloc.buffer(),
+                vertexAlloc.memory(),
+                indexAlloc.buffer(),
+                indexAlloc.memory(),
+                payload.vertexCount(),
+                payload.indexCount(),
+                payload.vertexBytes(),
+                payload.indexBytes(),
+                payload.contentHash64(),
+                sphere.clone()
+        );
+    }
+
+    private static void copyToDevice(
+            VkDevice device,
+            long commandPool,
+            VkQueue graphicsQueue,
+            MemoryStack stack,
+            long stagingBuffer,
+            List<RegisteredMeshPayload> payloads,
+            List<VulkanRegisteredMesh> meshes,
+            VulkanSceneMeshLifecycle.FailureFactory vkFailure
+    ) throws EngineException {
+        VkCommandBufferAllocateInfo allocInfo = VkCommandBufferAllocateInfo.calloc(stack)
+                .sType$Default()
+                .commandPool(commandPool)
+                .level(VK10.VK_COMMAND_BUFFER_LEVEL_PRIMARY)
+                .commandBufferCount(1);
+        PointerBuffer pCmd = stack.mallocPointer(1);
+        int result = VK10.vkAllocateCommandBuffers(device, allocInfo, pCmd);
+        if (result != VK_SUCCESS) {
+            throw vkFailure.failure("vkAllocateCommandBuffers(registered meshes)", result);
+        }
+        VkCommandBuffer cmd = new VkCommandBuffer(pCmd.get(0), device);
+        try {
+            VK10.vkBeginCommandBuffer(cmd, VkCommandBufferBeginInfo.calloc(stack)
+                    .sType$Default()
+                    .flags(VK10.VK_COMMAND_BUFFER_USAGE_ONE_TIME_SUBMIT_BIT));
+            VkBufferCopy.Buffer region = VkBufferCopy.calloc(1, stack);
+            long offset = 0L;
+            for (int i = 0; i < payloads.size(); i++) {
+                RegisteredMeshPayload payload = payloads.get(i);
+                VulkanRegisteredMesh mesh = meshes.get(i);
+                region.get(0).srcOffset(offset).dstOffset(0L).size(payload.vertexBytes());
+                VK10.vkCmdCopyBuffer(cmd, stagingBuffer, mesh.vertexBuffer(), region);
+                offset += payload.vertexBytes();
+                region.get(0).srcOffset(offset).dstOffset(0L).size(payload.indexBytes());
+                VK10.vkCmdCopyBuffer(cmd, stagingBuffer, mesh.indexBuffer(), region);
+                offset += payload.indexBytes();
+            }
+            VK10.vkEndCommandBuffer(cmd);
+
+            result = VK10.vkQueueSubmit(
+                    graphicsQueue,
+                    org.lwjgl.vulkan.VkSubmitInfo.calloc(stack).sType$Default().pCommandBuffers(pCmd),
+                    VK_NULL_HANDLE
+            );
+            if (result != VK_SUCCESS) {
+                throw vkFailure.failure("vkQueueSubmit(registered meshes)", result);
+            }
+            VK10.vkQueueWaitIdle(graphicsQueue);
+        } finally {
+            VK10.vkFreeCommandBuffers(device, commandPool, pCmd);
+        }
+    }
+
+    private static void destroyBuffer(VkDevice device, long buffer, long memory) {
+        if (buffer != VK_NULL_HANDLE) {
+            vkDestroyBuffer(device, buffer, null);
+        }
+        if (memory != VK_NULL_HANDLE) {
+            vkFreeMemory(device, memory, null);
+        }
+    }
+}
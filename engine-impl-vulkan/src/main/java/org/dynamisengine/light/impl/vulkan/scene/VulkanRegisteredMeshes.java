@@ -0,0 +1,144 @@
+package org.dynamisengine.light.impl.vulkan.scene;
+
+import org.dynamisengine.light.api.error.EngineErrorCode;
+import org.dynamisengine.light.api.error.EngineException;
+import org.dynamisengine.light.api.mesh.MeshFormats;
+import org.dynamisengine.light.api.mesh.MeshUploadRequest;
+import org.dynamisengine.light.api.mesh.MeshUploadResult;
+import org.dynamisengine.light.api.scene.MeshDesc;
+import org.dynamisengine.light.api.scene.SceneDescriptor;
+import org.dynamisengine.light.impl.common.mesh.RegisteredMeshPayload;
+import org.dynamisengine.light.impl.common.mesh.RegisteredMeshTable;
+import org.dynamisengine.light.impl.vulkan.model.VulkanRegisteredMesh;
+import org.dynamisengine.light.impl.vulkan.model.VulkanSceneMeshData;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.lwjgl.vulkan.VK10.VK_NULL_HANDLE;
+
+/**
+ * Meshes registered through {@code registerMesh}/{@code registerMeshes} on the Vulkan backend.
+ *
+ * <p>Scene meshes whose {@code meshAssetPath} is a {@link MeshFormats#registeredMeshPath(String)} share the
+ * registered device-local buffers. Removing a mesh the current scene still draws is deferred until a later
+ * scene stops referencing it.</p>
+ */
+public final class VulkanRegisteredMeshes {
+    private final RegisteredMeshTable<VulkanRegisteredMesh> table = new RegisteredMeshTable<>();
+    private final RegisteredMeshTable.Uploader<VulkanRegisteredMesh> uploader;
+    private final Consumer<VulkanRegisteredMesh> destroyer;
+    private Set<VulkanRegisteredMesh> sceneMeshes = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<VulkanRegisteredMesh> pendingDestroy = new ArrayList<>();
+
+    public VulkanRegisteredMeshes(
+            RegisteredMeshTable.Uploader<VulkanRegisteredMesh> uploader,
+            Consumer<VulkanRegisteredMesh> destroyer
+    ) {
+        this.uploader = uploader;
+        this.destroyer = destroyer;
+    }
+
+    /**
+     * Registration table for the mock context: meshes are validated and tracked but own no GPU buffers.
+     */
+    public static VulkanRegisteredMeshes mock() {
+        return new VulkanRegisteredMeshes(VulkanRegisteredMeshes::placeholders, mesh -> {
+        });
+    }
+
+    public List<MeshUploadResult> register(List<MeshUploadRequest> requests) throws EngineException {
+        return table.register(requests, uploader);
+    }
+
+    public void remove(int meshHandle) throws EngineException {
+        VulkanRegisteredMesh released = table.remove(meshHandle);
+        if (released == null) {
+            return;
+        }
+        if (sceneMeshes.contains(released)) {
+            pendingDestroy.add(released);
+        } else {
+            destroyer.accept(released);
+        }
+    }
+
+    /**
+     * @return the registered mesh for {@code meshId} or one of its dedupe aliases, or {@code null}
+     */
+    public VulkanRegisteredMesh lookup(String meshId) {
+        RegisteredMeshTable.Entry<VulkanRegisteredMesh> entry = table.byMeshId(meshId);
+        return entry == null ? null : entry.resource();
+    }
+
+    /**
+     * Rejects a scene that references a registered mesh id which is not (or no longer) registered.
+     */
+    public void requireKnown(SceneDescriptor scene) throws EngineException {
+        if (scene == null || scene.meshes() == null) {
+            return;
+        }
+        for (MeshDesc mesh : scene.meshes()) {
+            String meshId = mesh == null ? null : MeshFormats.registeredMeshId(mesh.meshAssetPath());
+            if (meshId != null && table.byMeshId(meshId) == null) {
+                throw new EngineException(EngineErrorCode.INVALID_ARGUMENT, "Unknown registered mesh '" + meshId + "'", true);
+            }
+        }
+    }
+
+    /**
+     * Records which registered meshes the newly applied scene draws and destroys removed meshes it no longer uses.
+     */
+    public void retainSceneMeshes(List<VulkanSceneMeshData> meshes) {
+        Set<VulkanRegisteredMesh> inUse = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (VulkanSceneMeshData mesh : meshes) {
+            if (mesh.registeredMesh() != null) {
+                inUse.add(mesh.registeredMesh());
+            }
+        }
+        sceneMeshes = inUse;
+        pendingDestroy.removeIf(mesh -> {
+            if (inUse.contains(mesh)) {
+                return false;
+            }
+            destroyer.accept(mesh);
+            return true;
+        });
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    public void shutdown() {
+        for (VulkanRegisteredMesh mesh : table.clear()) {
+            destroyer.accept(mesh);
+        }
+        pendingDestroy.forEach(destroyer);
+        pendingDestroy.clear();
+        sceneMeshes.clear();
+    }
+
+    private static List<VulkanRegisteredMesh> placeholders(List<RegisteredMeshPayload> payloads) {
+        List<VulkanRegisteredMesh> meshes = new ArrayList<>(payloads.size());
+        for (RegisteredMeshPayload payload : payloads) {
+            meshes.add(new VulkanRegisteredMesh(
+                    VK_NULL_HANDLE,
+                    VK_NULL_HANDLE,
+                    VK_NULL_HANDLE,
+                    VK_NULL_HANDLE,
+                    payload.vertexCount(),
+                    payload.indexCount(),
+                    payload.vertexBytes(),
+                    payload.indexBytes(),
+                    payload.contentHash64(),
+                    payload.sphere().clone()
+            ));
+        }
+        return meshes;
+    }
+}
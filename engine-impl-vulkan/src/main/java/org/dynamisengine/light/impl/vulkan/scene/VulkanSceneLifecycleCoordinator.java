@@ -74,21 +74,19 @@ public final class VulkanSceneLifecycleCoordinator {
         );
     }
 
-    public static VulkanSceneMeshLifecycle.DestroyResult destroy(
+    public static void destroy(
             VkDevice device,
             List<VulkanGpuMesh> gpuMeshes,
             VulkanGpuTexture iblIrradianceTexture,
             VulkanGpuTexture iblRadianceTexture,
-            VulkanGpuTexture iblBrdfLutTexture,
-            long textureDescriptorPool
+            VulkanGpuTexture iblBrdfLutTexture
     ) {
-        return VulkanSceneMeshLifecycle.destroyMeshes(
+        VulkanSceneMeshLifecycle.destroyMeshes(
                 device,
                 gpuMeshes,
                 iblIrradianceTexture,
                 iblRadianceTexture,
-                iblBrdfLutTexture,
-                textureDescriptorPool
+                iblBrdfLutTexture
         );
     }
 
@@ -3,6 +3,7 @@ package org.dynamisengine.light.impl.vulkan.scene;
 import java.util.List;
 
 import org.dynamisengine.light.api.error.EngineException;
+import org.dynamisengine.light.impl.vulkan.descriptor.VulkanDescriptorPageAllocator;
 import org.dynamisengine.light.impl.vulkan.descriptor.VulkanTextureDescriptorSetCoordinator;
 import org.dynamisengine.light.impl.vulkan.state.VulkanBackendResources;
 import org.dynamisengine.light.impl.vulkan.state.VulkanDescriptorResourceState;
@@ -24,6 +25,7 @@ public final class VulkanSceneMeshCoordinator {
                 (path, normalMap) -> in.textureCacheKey().key(path, normalMap)
         );
         List<org.dynamisengine.light.impl.vulkan.model.VulkanSceneMeshData> safe = plan.sceneMeshes();
+        VulkanSceneMeshLifecycle.releaseMappedMeshes(in.sceneResources().pendingSceneMeshes, safe);
         in.sceneResources().pendingSceneMeshes = safe;
         if (in.backendResources().device == null) {
             return new SetSceneResult(in.estimatedGpuMemoryBytes());
@@ -145,15 +147,16 @@ public final class VulkanSceneMeshCoordinator {
                 in.backendResources().currentFrame
         );
         in.sceneResources().nextInstanceBatchHandle = 0;
-        var destroyResult = VulkanSceneRuntimeCoordinator.destroy(
+        VulkanSceneRuntimeCoordinator.destroy(
                 in.backendResources().device,
                 in.sceneResources().gpuMeshes,
                 in.iblState().irradianceTexture,
                 in.iblState().radianceTexture,
-                in.iblState().brdfLutTexture,
-                in.descriptorResources().textureDescriptorPool
+                in.iblState().brdfLutTexture
         );
-        in.descriptorResources().textureDescriptorPool = destroyResult.textureDescriptorPool();
+        if (in.descriptorResources().textureDescriptorPages != null) {
+            in.descriptorResources().textureDescriptorPages.retireAll();
+        }
         in.iblState().irradianceTexture = null;
         in.iblState().radianceTexture = null;
         in.iblState().brdfLutTexture = null;
@@ -188,7 +191,8 @@ public final class VulkanSceneMeshCoordinator {
                         in.stack(),
                         in.sceneResources().gpuMeshes,
                         in.descriptorResources().textureDescriptorSetLayout,
-                        in.descriptorResources().textureDescriptorPool,
+                        in.descriptorResources().textureDescriptorPages,
+                        Math.max(1, in.backendResources().commandBuffers.length),
                         in.descriptorRingStats().descriptorRingSetCapacity,
                         in.descriptorRingStats().descriptorRingPeakSetCapacity,
                         in.descriptorRingStats().descriptorRingPeakWasteSetCount,
@@ -198,6 +202,8 @@ public final class VulkanSceneMeshCoordinator {
                         in.descriptorRingStats().descriptorRingSteadyRebuildCount,
                         in.descriptorRingStats().descriptorRingPoolReuseCount,
                         in.descriptorRingStats().descriptorRingPoolResetFailureCount,
+                        in.descriptorRingStats().descriptorSetHighWaterMark,
+                        in.descriptorRingStats().descriptorAllocationFailureCount,
                         in.descriptorRingStats().descriptorRingMaxSetCapacity,
                         in.descriptorResources().textureDescriptorBindingCount,
                         in.backendResources().shadowDepthImageView,
@@ -217,7 +223,7 @@ public final class VulkanSceneMeshCoordinator {
         if (state == null) {
             return;
         }
-        in.descriptorResources().textureDescriptorPool = state.textureDescriptorPool();
+        in.descriptorResources().textureDescriptorPages = state.textureDescriptorPages();
         in.descriptorRingStats().descriptorPoolBuildCount = state.descriptorPoolBuildCount();
         in.descriptorRingStats().descriptorPoolRebuildCount = state.descriptorPoolRebuildCount();
         in.descriptorRingStats().descriptorRingGrowthRebuildCount = state.descriptorRingGrowthRebuildCount();
@@ -229,9 +235,35 @@ public final class VulkanSceneMeshCoordinator {
         in.descriptorRingStats().descriptorRingActiveSetCount = state.descriptorRingActiveSetCount();
         in.descriptorRingStats().descriptorRingWasteSetCount = state.descriptorRingWasteSetCount();
         in.descriptorRingStats().descriptorRingPeakWasteSetCount = state.descriptorRingPeakWasteSetCount();
+        in.descriptorRingStats().descriptorPoolCount = state.descriptorPoolCount();
+        in.descriptorRingStats().descriptorSetHighWaterMark = state.descriptorSetHighWaterMark();
+        in.descriptorRingStats().descriptorAllocationFailureCount = state.descriptorAllocationFailureCount();
         in.descriptorRingStats().descriptorRingCapBypassCount += state.descriptorRingCapBypassCountIncrement();
     }
 
+    /**
+     * Recycles texture descriptor pages retired at least a full frame ring ago. Called once per frame
+     * before the frame fence wait, alongside the bindless heap retirements.
+     */
+    public static void processTextureDescriptorRetirements(
+            VulkanDescriptorResourceState descriptorResources,
+            VulkanDescriptorRingStats descriptorRingStats,
+            long frameSerial
+    ) {
+        VulkanDescriptorPageAllocator pages = descriptorResources.textureDescriptorPages;
+        if (pages == null) {
+            return;
+        }
+        long recycledBefore = pages.pagesRecycled();
+        long resetFailuresBefore = pages.resetFailures();
+        pages.processRetirements(frameSerial);
+        descriptorRingStats.descriptorRingPoolReuseCount += pages.pagesRecycled() - recycledBefore;
+        descriptorRingStats.descriptorRingPoolResetFailureCount += pages.resetFailures() - resetFailuresBefore;
+        descriptorRingStats.descriptorPoolCount = pages.poolCount();
+        descriptorRingStats.descriptorRingSetCapacity = pages.setCapacity();
+        descriptorRingStats.descriptorRingWasteSetCount = Math.max(0, pages.setCapacity() - pages.liveSets());
+    }
+
     private static void refreshTextureDescriptorSets(SetSceneRequest in) throws EngineException {
         try (MemoryStack stack = stackPush()) {
             createTextureDescriptorSets(
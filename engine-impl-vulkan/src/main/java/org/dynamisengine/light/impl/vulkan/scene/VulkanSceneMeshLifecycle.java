@@ -11,7 +11,9 @@ import org.dynamisengine.light.impl.vulkan.model.VulkanInstanceBatch;
 import org.dynamisengine.light.impl.vulkan.model.VulkanInstanceBatchBuffer;
 import org.dynamisengine.light.impl.vulkan.model.VulkanGpuTexture;
 import org.dynamisengine.gpu.vulkan.buffer.VulkanMorphTargetBuffer;
+import org.dynamisengine.light.impl.vulkan.model.VulkanMappedMesh;
 import org.dynamisengine.light.impl.vulkan.model.VulkanMorphWeightUniforms;
+import org.dynamisengine.light.impl.vulkan.model.VulkanRegisteredMesh;
 import org.dynamisengine.light.impl.vulkan.model.VulkanSceneMeshData;
 import org.dynamisengine.light.impl.vulkan.model.VulkanSkinnedMeshUniforms;
 import org.dynamisengine.light.impl.vulkan.texture.VulkanTextureResourceOps;
@@ -37,7 +39,6 @@ import static org.lwjgl.vulkan.VK10.VK_BUFFER_USAGE_INDEX_BUFFER_BIT;
 import static org.lwjgl.vulkan.VK10.VK_BUFFER_USAGE_VERTEX_BUFFER_BIT;
 import static org.lwjgl.vulkan.VK10.VK_NULL_HANDLE;
 import static org.lwjgl.vulkan.VK10.vkDestroyBuffer;
-import static org.lwjgl.vulkan.VK10.vkDestroyDescriptorPool;
 import static org.lwjgl.vulkan.VK10.vkFreeMemory;
 
 public final class VulkanSceneMeshLifecycle {
@@ -100,50 +101,81 @@ public final class VulkanSceneMeshLifecycle {
         VulkanGpuTexture iblBrdfLutTexture = textureResolver.resolve(iblBrdfLutPath, textureCache, defaultAlbedo, false);
 
         for (VulkanSceneMeshData mesh : sceneMeshes) {
-            float[] vertices = mesh.vertices();
-            int[] indices = mesh.indices();
-            ByteBuffer vertexData = ByteBuffer.allocateDirect(vertices.length * Float.BYTES).order(ByteOrder.nativeOrder());
-            FloatBuffer vb = vertexData.asFloatBuffer();
-            vb.put(vertices);
-            vertexData.limit(vertices.length * Float.BYTES);
+            VulkanRegisteredMesh registered = mesh.registeredMesh();
+            VulkanMappedMesh mapped = mesh.mappedMesh();
+            long vertexBuffer;
+            long vertexMemory;
+            long indexBuffer;
+            long indexMemory;
+            long vertexBytes;
+            long indexBytes;
+            if (registered != null) {
+                vertexBuffer = registered.vertexBuffer();
+                vertexMemory = registered.vertexMemory();
+                indexBuffer = registered.indexBuffer();
+                indexMemory = registered.indexMemory();
+                vertexBytes = registered.vertexBytes();
+                indexBytes = registered.indexBytes();
+            } else {
+                ByteBuffer vertexData;
+                ByteBuffer indexData;
+                if (mapped != null) {
+                    // Staging is filled straight from the mapped (or off-heap repacked) streams.
+                    vertexData = mapped.vertexData();
+                    indexData = mapped.indexData();
+                } else {
+                    float[] vertices = mesh.vertices();
+                    int[] indices = mesh.indices();
+                    vertexData = ByteBuffer.allocateDirect(vertices.length * Float.BYTES).order(ByteOrder.nativeOrder());
+                    FloatBuffer vb = vertexData.asFloatBuffer();
+                    vb.put(vertices);
+                    vertexData.limit(vertices.length * Float.BYTES);
 
-            ByteBuffer indexData = ByteBuffer.allocateDirect(indices.length * Integer.BYTES).order(ByteOrder.nativeOrder());
-            IntBuffer ib = indexData.asIntBuffer();
-            ib.put(indices);
-            indexData.limit(indices.length * Integer.BYTES);
+                    indexData = ByteBuffer.allocateDirect(indices.length * Integer.BYTES).order(ByteOrder.nativeOrder());
+                    IntBuffer ib = indexData.asIntBuffer();
+                    ib.put(indices);
+                    indexData.limit(indices.length * Integer.BYTES);
+                }
 
-            VulkanBufferAlloc vertexAlloc;
-            VulkanBufferAlloc indexAlloc;
-            try {
-                vertexAlloc = VulkanBufferOps.createDeviceLocalBufferWithStaging(
-                        device,
-                        physicalDevice,
-                        commandPool,
-                        graphicsQueue,
-                        stack,
-                        vertexData,
-                        VK_BUFFER_USAGE_VERTEX_BUFFER_BIT,
-                        vkFailure::failure
-                );
-                indexAlloc = VulkanBufferOps.createDeviceLocalBufferWithStaging(
-                        device,
-                        physicalDevice,
-                        commandPool,
-                        graphicsQueue,
-                        stack,
-                        indexData,
-                        VK_BUFFER_USAGE_INDEX_BUFFER_BIT,
-                        vkFailure::failure
-                );
-            } catch (GpuException ex) {
-                throw new EngineException(
-                        EngineErrorCode.BACKEND_INIT_FAILED,
-                        "Failed to upload mesh vertex/index buffers: " + ex.getMessage(),
-                        false
-                );
+                VulkanBufferAlloc vertexAlloc;
+                VulkanBufferAlloc indexAlloc;
+                try {
+                    vertexAlloc = VulkanBufferOps.createDeviceLocalBufferWithStaging(
+                            device,
+                            physicalDevice,
+                            commandPool,
+                            graphicsQueue,
+                            stack,
+                            vertexData,
+                            VK_BUFFER_USAGE_VERTEX_BUFFER_BIT,
+                            vkFailure::failure
+                    );
+                    indexAlloc = VulkanBufferOps.createDeviceLocalBufferWithStaging(
+                            device,
+                            physicalDevice,
+                            commandPool,
+                            graphicsQueue,
+                            stack,
+                            indexData,
+                            VK_BUFFER_USAGE_INDEX_BUFFER_BIT,
+                            vkFailure::failure
+                    );
+                } catch (GpuException ex) {
+                    throw new EngineException(
+                            EngineErrorCode.BACKEND_INIT_FAILED,
+                            "Failed to upload mesh vertex/index buffers: " + ex.getMessage(),
+                            false
+                    );
+                }
+                vertexBuffer = vertexAlloc.buffer();
+                vertexMemory = vertexAlloc.memory();
+                indexBuffer = indexAlloc.buffer();
+                indexMemory = indexAlloc.memory();
+                vertexBytes = vertexData.remaining();
+                indexBytes = indexData.remaining();
             }
-            int vertexHash = Arrays.hashCode(vertices);
-            int indexHash = Arrays.hashCode(indices);
+            int vertexHash = mesh.vertexHash();
+            int indexHash = mesh.indexHash();
             String albedoKey = textureKeyer.key(mesh.albedoTexturePath(), false);
             String normalKey = textureKeyer.key(mesh.normalTexturePath(), true);
             String metallicRoughnessKey = textureKeyer.key(mesh.metallicRoughnessTexturePath(), false);
@@ -202,16 +234,23 @@ public final class VulkanSceneMeshLifecycle {
                         morphTargets.bytes()
                 );
             }
-            float[] localBounds = computeLocalBounds(mesh.vertices(), skinned ? 16 : 11);
+            float[] localBounds;
+            if (registered != null) {
+                localBounds = registered.localBounds();
+            } else if (mapped != null) {
+                localBounds = mapped.localBounds();
+            } else {
+                localBounds = computeLocalBounds(mesh.vertices(), skinned ? 16 : 11);
+            }
 
-            gpuMeshes.add(new VulkanGpuMesh(
-                    vertexAlloc.buffer(),
-                    vertexAlloc.memory(),
-                    indexAlloc.buffer(),
-                    indexAlloc.memory(),
-                    indices.length,
-                    vertexData.remaining(),
-                    indexData.remaining(),
+            VulkanGpuMesh gpuMesh = new VulkanGpuMesh(
+                    vertexBuffer,
+                    vertexMemory,
+                    indexBuffer,
+                    indexMemory,
+                    mesh.indexCount(),
+                    vertexBytes,
+                    indexBytes,
                     mesh.modelMatrix().clone(),
                     mesh.modelMatrix().clone(),
                     mesh.color()[0],
@@ -252,7 +291,9 @@ public final class VulkanSceneMeshLifecycle {
                     morphTargetHash,
                     morphTargets,
                     morphWeightUniforms
-            ));
+            );
+            gpuMesh.sharedGeometry = registered != null;
+            gpuMeshes.add(gpuMesh);
         }
 
         descriptorWriter.write(stack);
@@ -392,6 +433,7 @@ public final class VulkanSceneMeshLifecycle {
                     mesh.morphTargets,
                     mesh.morphWeightUniforms
             ));
+            rebound.getLast().sharedGeometry = mesh.sharedGeometry;
         }
         gpuMeshes.clear();
         gpuMeshes.addAll(rebound);
@@ -400,31 +442,32 @@ public final class VulkanSceneMeshLifecycle {
         return new RebindResult(newIblIrradiance, newIblRadiance, newIblBrdfLut, oldTextures);
     }
 
-    public static DestroyResult destroyMeshes(
+    public static void destroyMeshes(
             VkDevice device,
             List<VulkanGpuMesh> gpuMeshes,
             VulkanGpuTexture iblIrradianceTexture,
             VulkanGpuTexture iblRadianceTexture,
-            VulkanGpuTexture iblBrdfLutTexture,
-            long textureDescriptorPool
+            VulkanGpuTexture iblBrdfLutTexture
     ) {
         if (device == null) {
             gpuMeshes.clear();
-            return new DestroyResult(VK_NULL_HANDLE);
+            return;
         }
         Set<VulkanGpuTexture> uniqueTextures = new HashSet<>();
         for (VulkanGpuMesh mesh : gpuMeshes) {
-            if (mesh.vertexBuffer != VK_NULL_HANDLE) {
-                vkDestroyBuffer(device, mesh.vertexBuffer, null);
-            }
-            if (mesh.vertexMemory != VK_NULL_HANDLE) {
-                vkFreeMemory(device, mesh.vertexMemory, null);
-            }
-            if (mesh.indexBuffer != VK_NULL_HANDLE) {
-                vkDestroyBuffer(device, mesh.indexBuffer, null);
-            }
-            if (mesh.indexMemory != VK_NULL_HANDLE) {
-                vkFreeMemory(device, mesh.indexMemory, null);
+            if (!mesh.sharedGeometry) {
+                if (mesh.vertexBuffer != VK_NULL_HANDLE) {
+                    vkDestroyBuffer(device, mesh.vertexBuffer, null);
+                }
+                if (mesh.vertexMemory != VK_NULL_HANDLE) {
+                    vkFreeMemory(device, mesh.vertexMemory, null);
+                }
+                if (mesh.indexBuffer != VK_NULL_HANDLE) {
+                    vkDestroyBuffer(device, mesh.indexBuffer, null);
+                }
+                if (mesh.indexMemory != VK_NULL_HANDLE) {
+                    vkFreeMemory(device, mesh.indexMemory, null);
+                }
             }
             if (mesh.skinnedUniforms != null) {
                 mesh.skinnedUniforms.destroy();
@@ -444,13 +487,7 @@ public final class VulkanSceneMeshLifecycle {
         uniqueTextures.add(iblRadianceTexture);
         uniqueTextures.add(iblBrdfLutTexture);
         VulkanTextureResourceOps.destroyTextures(device, uniqueTextures);
-        long nextTextureDescriptorPool = textureDescriptorPool;
-        if (nextTextureDescriptorPool != VK_NULL_HANDLE) {
-            vkDestroyDescriptorPool(device, nextTextureDescriptorPool, null);
-            nextTextureDescriptorPool = VK_NULL_HANDLE;
-        }
         gpuMeshes.clear();
-        return new DestroyResult(nextTextureDescriptorPool);
     }
 
     private static float[] computeLocalBounds(float[] vertices, int strideFloats) {
@@ -739,6 +776,23 @@ public final class VulkanSceneMeshLifecycle {
         }
     }
 
+    /**
+     * Closes the mappings held by {@code previous} scene meshes that {@code next} no longer references.
+     */
+    public static void releaseMappedMeshes(List<VulkanSceneMeshData> previous, List<VulkanSceneMeshData> next) {
+        Set<VulkanMappedMesh> kept = new HashSet<>();
+        for (VulkanSceneMeshData mesh : next) {
+            if (mesh.mappedMesh() != null) {
+                kept.add(mesh.mappedMesh());
+            }
+        }
+        for (VulkanSceneMeshData mesh : previous) {
+            if (mesh.mappedMesh() != null && !kept.contains(mesh.mappedMesh())) {
+                mesh.mappedMesh().close();
+            }
+        }
+    }
+
     public static void clearInstanceBatches(
             Map<Integer, VulkanInstanceBatch> instanceBatches,
             VulkanBindlessDescriptorHeap bindlessDescriptorHeap,
@@ -777,7 +831,4 @@ public final class VulkanSceneMeshLifecycle {
             Set<VulkanGpuTexture> staleTextures
     ) {
     }
-
-    public record DestroyResult(long textureDescriptorPool) {
-    }
 }
@@ -32,12 +32,15 @@ public final class VulkanSceneReusePolicy {
             if (gpuMesh == null) {
                 return false;
             }
-            long vertexBytes = (long) sceneMesh.vertices().length * Float.BYTES;
-            long indexBytes = (long) sceneMesh.indices().length * Integer.BYTES;
-            if (gpuMesh.vertexBytes != vertexBytes || gpuMesh.indexBytes != indexBytes || gpuMesh.indexCount != sceneMesh.indices().length) {
+            if (gpuMesh.sharedGeometry != (sceneMesh.registeredMesh() != null)) {
                 return false;
             }
-            if (gpuMesh.vertexHash != Arrays.hashCode(sceneMesh.vertices()) || gpuMesh.indexHash != Arrays.hashCode(sceneMesh.indices())) {
+            if (gpuMesh.vertexBytes != sceneMesh.vertexBytes()
+                    || gpuMesh.indexBytes != sceneMesh.indexBytes()
+                    || gpuMesh.indexCount != sceneMesh.indexCount()) {
+                return false;
+            }
+            if (gpuMesh.vertexHash != sceneMesh.vertexHash() || gpuMesh.indexHash != sceneMesh.indexHash()) {
                 return false;
             }
             if (gpuMesh.skinned != sceneMesh.skinned() || gpuMesh.jointCount != sceneMesh.jointCount()) {
@@ -76,12 +79,15 @@ public final class VulkanSceneReusePolicy {
             if (gpuMesh == null) {
                 return false;
             }
-            long vertexBytes = (long) sceneMesh.vertices().length * Float.BYTES;
-            long indexBytes = (long) sceneMesh.indices().length * Integer.BYTES;
-            if (gpuMesh.vertexBytes != vertexBytes || gpuMesh.indexBytes != indexBytes || gpuMesh.indexCount != sceneMesh.indices().length) {
+            if (gpuMesh.sharedGeometry != (sceneMesh.registeredMesh() != null)) {
+                return false;
+            }
+            if (gpuMesh.vertexBytes != sceneMesh.vertexBytes()
+                    || gpuMesh.indexBytes != sceneMesh.indexBytes()
+                    || gpuMesh.indexCount != sceneMesh.indexCount()) {
                 return false;
             }
-            if (gpuMesh.vertexHash != Arrays.hashCode(sceneMesh.vertices()) || gpuMesh.indexHash != Arrays.hashCode(sceneMesh.indices())) {
+            if (gpuMesh.vertexHash != sceneMesh.vertexHash() || gpuMesh.indexHash != sceneMesh.indexHash()) {
                 return false;
             }
             if (gpuMesh.skinned != sceneMesh.skinned() || gpuMesh.jointCount != sceneMesh.jointCount()) {
@@ -84,23 +84,20 @@ public final class VulkanSceneRuntimeCoordinator {
         );
     }
 
-    public static DestroyState destroy(
+    public static void destroy(
             VkDevice device,
             List<VulkanGpuMesh> gpuMeshes,
             VulkanGpuTexture iblIrradianceTexture,
             VulkanGpuTexture iblRadianceTexture,
-            VulkanGpuTexture iblBrdfLutTexture,
-            long textureDescriptorPool
+            VulkanGpuTexture iblBrdfLutTexture
     ) {
-        var result = VulkanSceneLifecycleCoordinator.destroy(
+        VulkanSceneLifecycleCoordinator.destroy(
                 device,
                 gpuMeshes,
                 iblIrradianceTexture,
                 iblRadianceTexture,
-                iblBrdfLutTexture,
-                textureDescriptorPool
+                iblBrdfLutTexture
         );
-        return new DestroyState(result.textureDescriptorPool());
     }
 
     public record UploadRequest(
@@ -160,7 +157,4 @@ public final class VulkanSceneRuntimeCoordinator {
             VulkanGpuTexture iblBrdfLutTexture
     ) {
     }
-
-    public record DestroyState(long textureDescriptorPool) {
-    }
 }
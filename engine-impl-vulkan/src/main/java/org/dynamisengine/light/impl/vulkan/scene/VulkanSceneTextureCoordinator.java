@@ -5,6 +5,7 @@ import java.nio.file.Path;
 import java.util.Map;
 
 import org.dynamisengine.light.api.error.EngineException;
+import org.dynamisengine.light.impl.vulkan.descriptor.VulkanDescriptorPageAllocator;
 import org.dynamisengine.light.impl.vulkan.descriptor.VulkanTextureDescriptorSetCoordinator;
 import org.dynamisengine.light.impl.vulkan.model.VulkanGpuMesh;
 import org.dynamisengine.light.impl.vulkan.model.VulkanGpuTexture;
@@ -52,7 +53,8 @@ public final class VulkanSceneTextureCoordinator {
                         in.stack(),
                         in.gpuMeshes(),
                         in.textureDescriptorSetLayout(),
-                        in.textureDescriptorPool(),
+                        in.textureDescriptorPages(),
+                        in.framesInFlight(),
                         in.descriptorRingSetCapacity(),
                         in.descriptorRingPeakSetCapacity(),
                         in.descriptorRingPeakWasteSetCount(),
@@ -62,6 +64,8 @@ public final class VulkanSceneTextureCoordinator {
                         in.descriptorRingSteadyRebuildCount(),
                         in.descriptorRingPoolReuseCount(),
                         in.descriptorRingPoolResetFailureCount(),
+                        in.descriptorSetHighWaterMark(),
+                        in.descriptorAllocationFailureCount(),
                         in.descriptorRingMaxSetCapacity(),
                         in.textureDescriptorBindingCount(),
                         in.shadowDepthImageView(),
@@ -86,7 +90,8 @@ public final class VulkanSceneTextureCoordinator {
             MemoryStack stack,
             java.util.List<VulkanGpuMesh> gpuMeshes,
             long textureDescriptorSetLayout,
-            long textureDescriptorPool,
+            VulkanDescriptorPageAllocator textureDescriptorPages,
+            int framesInFlight,
             int descriptorRingSetCapacity,
             int descriptorRingPeakSetCapacity,
             int descriptorRingPeakWasteSetCount,
@@ -96,6 +101,8 @@ public final class VulkanSceneTextureCoordinator {
             long descriptorRingSteadyRebuildCount,
             long descriptorRingPoolReuseCount,
             long descriptorRingPoolResetFailureCount,
+            int descriptorSetHighWaterMark,
+            long descriptorAllocationFailureCount,
             int descriptorRingMaxSetCapacity,
             int textureDescriptorBindingCount,
             long shadowDepthImageView,
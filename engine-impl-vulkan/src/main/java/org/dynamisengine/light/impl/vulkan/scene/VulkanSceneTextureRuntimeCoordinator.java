@@ -67,7 +67,8 @@ public final class VulkanSceneTextureRuntimeCoordinator {
                         backendResources.physicalDevice,
                         backendResources.commandPool,
                         backendResources.graphicsQueue,
-                        vkFailure
+                        vkFailure,
+                        backendResources.textureCompressionBcSupported
                 )
         );
     }
@@ -35,9 +35,20 @@ public final class VulkanCullingComputeSource {
                 } outputCmds;
 
                 layout(set = 0, binding = 3) buffer DrawCount {
-                    uint counts[8];
+                    uint counts[8]; // [0..4] per-variant draws, [5] occlusion culled, [6] frustum culled
                 } drawCount;
 
+                layout(set = 0, binding = 4) uniform sampler2D hiz;
+
+                layout(set = 0, binding = 5) readonly buffer OcclusionParams {
+                    mat4 viewProj;
+                    uvec4 info; // x=enabled, y=levels, z=width, w=height
+                } occlusion;
+
+                layout(set = 0, binding = 6) buffer VisibilityHistory {
+                    uint visible[];
+                } history;
+
                 layout(push_constant) uniform FrustumPush {
                     vec4 planes[6];
                     uvec4 header0; // x=drawCount, y=boundsCount, z=staticBase, w=morphBase
@@ -71,6 +82,51 @@ public final class VulkanCullingComputeSource {
                     return true;
                 }
 
+                int texelOf(float ndc, int extent) {
+                    float uv = clamp(ndc, -1.0, 1.0) * 0.5 + 0.5;
+                    return clamp(int(floor(uv * float(extent))), 0, extent - 1);
+                }
+
+                // Must match HiZPyramid.sphereOccluded in engine-impl-common.
+                bool sphereOccluded(vec3 center, float radius) {
+                    vec3 lo = vec3(1.0e30);
+                    vec2 hi = vec2(-1.0e30);
+                    for (int corner = 0; corner < 8; corner++) {
+                        vec3 offset = vec3(
+                                (corner & 1) != 0 ? radius : -radius,
+                                (corner & 2) != 0 ? radius : -radius,
+                                (corner & 4) != 0 ? radius : -radius);
+                        vec4 clip = occlusion.viewProj * vec4(center + offset, 1.0);
+                        if (!(clip.w > 1.0e-5)) {
+                            return false;
+                        }
+                        vec3 ndc = clip.xyz / clip.w;
+                        lo = min(lo, ndc);
+                        hi = max(hi, ndc.xy);
+                    }
+                    if (hi.x < -1.0 || lo.x > 1.0 || hi.y < -1.0 || lo.y > 1.0) {
+                        return false;
+                    }
+                    ivec2 base = ivec2(occlusion.info.zw);
+                    ivec2 t0 = ivec2(texelOf(lo.x, base.x), texelOf(lo.y, base.y));
+                    ivec2 t1 = ivec2(texelOf(hi.x, base.x), texelOf(hi.y, base.y));
+                    int level = 0;
+                    int top = int(occlusion.info.y) - 1;
+                    while (level < top && ((t1.x >> level) - (t0.x >> level) > 1 || (t1.y >> level) - (t0.y >> level) > 1)) {
+                        level++;
+                    }
+                    ivec2 size = max(base >> level, ivec2(1));
+                    ivec2 a = min(t0 >> level, size - 1);
+                    ivec2 b = min(t1 >> level, size - 1);
+                    float farthest = 0.0;
+                    for (int y = a.y; y <= b.y; y++) {
+                        for (int x = a.x; x <= b.x; x++) {
+                            farthest = max(farthest, texelFetch(hiz, ivec2(x, y), level).r);
+                        }
+                    }
+                    return lo.z > farthest;
+                }
+
                 void main() {
                     uint id = gl_GlobalInvocationID.x;
                     if (id >= pc.header0.x) {
@@ -84,17 +140,144 @@ public final class VulkanCullingComputeSource {
                         variant = 0u;
                     }
 
-                    bool visible = true;
                     if (id < pc.header0.y) {
                         MeshBounds b = meshBounds.bounds[id];
-                        visible = sphereVisible(b.centerRadius.xyz, b.centerRadius.w);
-                    }
-                    if (!visible) {
-                        return;
+                        if (!sphereVisible(b.centerRadius.xyz, b.centerRadius.w)) {
+                            atomicAdd(drawCount.counts[6], 1u);
+                            return;
+                        }
+                        // Two-phase occlusion: draws visible last frame are kept, the rest must pass the
+                        // Hi-Z test. Every tested draw records its result for the next frame.
+                        if (occlusion.info.x != 0u && b.centerRadius.w < 1.0e30) {
+                            bool occluded = sphereOccluded(b.centerRadius.xyz, b.centerRadius.w);
+                            bool wasVisible = true;
+                            if (b.meta.x < uint(history.visible.length())) {
+                                wasVisible = history.visible[b.meta.x] != 0u;
+                                history.visible[b.meta.x] = occluded ? 0u : 1u;
+                            }
+                            if (occluded && !wasVisible) {
+                                atomicAdd(drawCount.counts[5], 1u);
+                                return;
+                            }
+                        }
                     }
                     uint outIndex = variantBase(variant) + atomicAdd(drawCount.counts[variant], 1u);
                     outputCmds.cmds[outIndex] = cmd;
                 }
                 """;
     }
+
+    /**
+     * One level of the Hi-Z pyramid: level 0 copies the depth buffer, every further level keeps the
+     * farthest depth of its 2x2 source texels, with the last row and column also absorbing an odd source
+     * extent. Must match {@code HiZPyramid.build} in engine-impl-common.
+     */
+    public static String hiZReduceCompute() {
+        return """
+                #version 450
+                layout(local_size_x = 8, local_size_y = 8) in;
+
+                layout(set = 0, binding = 0) uniform sampler2D srcDepth;
+                layout(set = 0, binding = 1, r32f) uniform writeonly image2D dstLevel;
+
+                layout(push_constant) uniform ReducePush {
+                    ivec4 extents; // xy=source, zw=destination
+                    uvec4 mode;    // x=1 copies level 0 from the depth buffer
+                } pc;
+
+                void main() {
+                    ivec2 p = ivec2(gl_GlobalInvocationID.xy);
+                    if (p.x >= pc.extents.z || p.y >= pc.extents.w) {
+                        return;
+                    }
+                    if (pc.mode.x != 0u) {
+                        imageStore(dstLevel, p, vec4(texelFetch(srcDepth, p, 0).r));
+                        return;
+                    }
+                    ivec2 lo = min(p * 2, pc.extents.xy - 1);
+                    ivec2 hi = ivec2(
+                            p.x == pc.extents.z - 1 ? pc.extents.x - 1 : p.x * 2 + 1,
+                            p.y == pc.extents.w - 1 ? pc.extents.y - 1 : p.y * 2 + 1);
+                    float farthest = 0.0;
+                    for (int y = lo.y; y <= hi.y; y++) {
+                        for (int x = lo.x; x <= hi.x; x++) {
+                            farthest = max(farthest, texelFetch(srcDepth, ivec2(x, y), 0).r);
+                        }
+                    }
+                    imageStore(dstLevel, p, vec4(farthest));
+                }
+                """;
+    }
+
+    /**
+     * Per-instance culling for one instanced batch. Visible source records are compacted to the front of
+     * the batch buffer (the region the instanced vertex shaders read), their source indices are appended to
+     * the visible-index list, and the batch's indirect command receives the visible count. Must match
+     * {@code InstanceFrustumCuller} in engine-impl-common.
+     */
+    public static String instanceCompute() {
+        return """
+                #version 450
+                layout(local_size_x = 64) in;
+
+                struct InstanceRecord {
+                    mat4 model;
+                    uvec4 meta;
+                };
+
+                struct DrawCmd {
+                    uint indexCount;
+                    uint instanceCount;
+                    uint firstIndex;
+                    int vertexOffset;
+                    uint firstInstance;
+                };
+
+                layout(set = 0, binding = 0) buffer InstanceRecords {
+                    InstanceRecord records[];
+                } instances;
+
+                layout(set = 0, binding = 1) buffer Commands {
+                    DrawCmd cmds[];
+                } commands;
+
+                layout(set = 0, binding = 2) writeonly buffer VisibleIndices {
+                    uint indices[];
+                } visible;
+
+                layout(push_constant) uniform InstanceCullPush {
+                    vec4 planes[6];
+                    vec4 localSphere;
+                    uvec4 header; // x=instanceCount, y=sourceOffset, z=commandIndex, w=visibleBase
+                } pc;
+
+                bool sphereVisible(vec3 center, float radius) {
+                    for (int i = 0; i < 6; i++) {
+                        vec4 p = pc.planes[i];
+                        float d = dot(p.xyz, center) + p.w;
+                        if (d < -radius) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+
+                void main() {
+                    uint id = gl_GlobalInvocationID.x;
+                    if (id >= pc.header.x) {
+                        return;
+                    }
+                    InstanceRecord record = instances.records[pc.header.y + id];
+                    vec3 center = (record.model * vec4(pc.localSphere.xyz, 1.0)).xyz;
+                    float scale = max(length(record.model[0].xyz), max(length(record.model[1].xyz), length(record.model[2].xyz)));
+                    float radius = max(0.0001, pc.localSphere.w * max(scale, 0.0001));
+                    if (!sphereVisible(center, radius)) {
+                        return;
+                    }
+                    uint slot = atomicAdd(commands.cmds[pc.header.z].instanceCount, 1u);
+                    instances.records[slot] = record;
+                    visible.indices[pc.header.w + slot] = id;
+                }
+                """;
+    }
 }
@@ -63,6 +63,13 @@ final class VulkanMainFragmentShaderPart0 {
                     ivec4 uProbeHeader;
                     ProbeData uProbes[];
                 } probes;
+                layout(std430, set = 0, binding = 3) readonly buffer ClusteredLightData {
+                    uvec4 uClusterGrid;
+                    vec4 uClusterDepth;
+                    vec4 uClusterLights[16384];
+                    uvec2 uClusterRanges[3456];
+                    uint uClusterIndices[];
+                } clusters;
                 layout(set = 1, binding = 0) uniform sampler2D uAlbedoTexture;
                 layout(set = 1, binding = 1) uniform sampler2D uNormalTexture;
                 layout(set = 1, binding = 2) uniform sampler2D uMetallicRoughnessTexture;
@@ -715,6 +715,44 @@ final class VulkanMainFragmentShaderPart3 {
                         }
                         pointLit += (kd * baseColor / 3.14159) * localColor * (localNdl * attenuation * spotAttenuation * localIntensity * localShadowVisibility * contact);
                     }
+                    uint clusterLightCount = clusters.uClusterGrid.w;
+                    if (clusterLightCount > 0u) {
+                        vec4 clusterViewPos = gbo.uView * vec4(vWorldPos, 1.0);
+                        vec4 clusterClip = gbo.uProj * clusterViewPos;
+                        vec2 clusterNdc = clusterClip.xy / max(clusterClip.w, 0.0001);
+                        float clusterDepth = -clusterViewPos.z;
+                        if (clusterDepth >= clusters.uClusterDepth.z && clusterDepth < clusters.uClusterDepth.w
+                                && abs(clusterNdc.x) < 1.0 && abs(clusterNdc.y) < 1.0) {
+                            uvec3 clusterGrid = clusters.uClusterGrid.xyz;
+                            uint tileX = min(uint((clusterNdc.x * 0.5 + 0.5) * float(clusterGrid.x)), clusterGrid.x - 1u);
+                            uint tileY = min(uint((clusterNdc.y * 0.5 + 0.5) * float(clusterGrid.y)), clusterGrid.y - 1u);
+                            int slice = int(floor(log(clusterDepth) * clusters.uClusterDepth.x + clusters.uClusterDepth.y));
+                            uint clusterSlice = uint(clamp(slice, 0, int(clusterGrid.z) - 1));
+                            uvec2 clusterRange = clusters.uClusterRanges[(clusterSlice * clusterGrid.y + tileY) * clusterGrid.x + tileX];
+                            for (uint c = 0u; c < clusterRange.y; c++) {
+                                uint record = clusters.uClusterIndices[clusterRange.x + c] * 4u;
+                                vec4 clusterPosRange = clusters.uClusterLights[record];
+                                vec4 clusterColorIntensity = clusters.uClusterLights[record + 1u];
+                                vec4 clusterDirInner = clusters.uClusterLights[record + 2u];
+                                vec4 clusterOuterType = clusters.uClusterLights[record + 3u];
+                                vec3 clusterToLight = clusterPosRange.xyz - vWorldPos;
+                                float clusterDist = max(length(clusterToLight), 0.1);
+                                float clusterFade = 1.0 - pow(clamp(clusterDist / max(clusterPosRange.w, 0.1), 0.0, 1.0), 4.0);
+                                clusterFade = clamp(clusterFade * clusterFade, 0.0, 1.0);
+                                float clusterAtten = (1.0 / (1.0 + 0.35 * clusterDist + 0.1 * clusterDist * clusterDist)) * clusterFade;
+                                float clusterNdl = max(dot(n, normalize(clusterToLight)), 0.0);
+                                float clusterSpot = 1.0;
+                                if (clusterOuterType.y > 0.5) {
+                                    float cosTheta = dot(normalize(clusterDirInner.xyz), normalize(-clusterToLight));
+                                    float coneRange = max(clusterDirInner.w - clusterOuterType.x, 0.0001);
+                                    clusterSpot = clamp((cosTheta - clusterOuterType.x) / coneRange, 0.0, 1.0);
+                                    clusterSpot *= clusterSpot;
+                                }
+                                pointLit += (kd * baseColor / 3.14159) * clusterColorIntensity.rgb
+                                        * (clusterNdl * clusterAtten * clusterSpot * max(clusterColorIntensity.a, 0.0));
+                            }
+                        }
+                    }
                     vec3 ambient = (0.08 + 0.1 * (1.0 - roughness)) * baseColor * ao;
 
                     vec3 color = ambient + directional + pointLit;
@@ -1,20 +1,32 @@
 package org.dynamisengine.light.impl.vulkan.shader;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import org.dynamisengine.light.api.error.EngineErrorCode;
 import org.dynamisengine.light.api.error.EngineException;
+import org.lwjgl.Version;
 import org.lwjgl.system.MemoryStack;
 import org.lwjgl.system.MemoryUtil;
+import org.lwjgl.util.shaderc.Shaderc;
 import org.lwjgl.vulkan.VK10;
 import org.lwjgl.vulkan.VkDevice;
 import org.lwjgl.vulkan.VkShaderModuleCreateInfo;
 
 import static org.lwjgl.util.shaderc.Shaderc.shaderc_compilation_status_success;
+import static org.lwjgl.util.shaderc.Shaderc.shaderc_compile_options_add_macro_definition;
 import static org.lwjgl.util.shaderc.Shaderc.shaderc_compile_options_initialize;
 import static org.lwjgl.util.shaderc.Shaderc.shaderc_compile_options_release;
 import static org.lwjgl.util.shaderc.Shaderc.shaderc_compile_options_set_target_env;
 import static org.lwjgl.util.shaderc.Shaderc.shaderc_compiler_initialize;
 import static org.lwjgl.util.shaderc.Shaderc.shaderc_compiler_release;
+import static org.lwjgl.util.shaderc.Shaderc.shaderc_get_spv_version;
 import static org.lwjgl.util.shaderc.Shaderc.nshaderc_compile_into_spv;
 import static org.lwjgl.util.shaderc.Shaderc.shaderc_result_get_bytes;
 import static org.lwjgl.util.shaderc.Shaderc.shaderc_result_get_compilation_status;
@@ -39,69 +51,164 @@ public final class VulkanShaderCompiler {
         return pShaderModule.get(0);
     }
 
+    /**
+     * Compiles GLSL to SPIR-V through the shared {@link VulkanSpirvCache}.
+     *
+     * @return a new direct buffer owned by the caller
+     */
     public static ByteBuffer compileGlslToSpv(String source, int shaderKind, String sourceName) throws EngineException {
-        long compiler = shaderc_compiler_initialize();
-        if (compiler == 0L) {
-            throw new EngineException(EngineErrorCode.BACKEND_INIT_FAILED, "shaderc_compiler_initialize failed", false);
+        return VulkanSpirvCache.shared().getOrCompile(VulkanSpirvCompileRequest.of(source, shaderKind, sourceName));
+    }
+
+    /**
+     * Compiles several shaders through the shared cache, running all misses in parallel.
+     * Results are returned in request order.
+     */
+    public static List<ByteBuffer> compileGlslToSpv(List<VulkanSpirvCompileRequest> requests) throws EngineException {
+        return VulkanSpirvCache.shared().getOrCompileAll(requests);
+    }
+
+    /**
+     * Starts background compilation of uncached shaders so later {@link #compileGlslToSpv}
+     * calls resolve from memory. Compile errors surface on those later calls.
+     */
+    public static void prefetch(List<VulkanSpirvCompileRequest> requests) {
+        VulkanSpirvCache.shared().prefetch(requests);
+    }
+
+    /**
+     * Creates a shaderc backend. Each {@link VulkanSpirvCache} owns its backend and releases the
+     * backend's compilers when it is closed.
+     */
+    public static VulkanSpirvCache.Compiler shadercBackend() {
+        return new ShadercBackend();
+    }
+
+    private static final class ShadercBackend implements VulkanSpirvCache.Compiler {
+        // shaderc compilers are not thread-safe to share; keep one per compile worker thread.
+        private final ThreadLocal<Long> threadCompiler = new ThreadLocal<>();
+        private final Queue<Long> compilers = new ConcurrentLinkedQueue<>();
+        private volatile String version;
+
+        @Override
+        public String version() {
+            String resolved = version;
+            if (resolved == null) {
+                try (MemoryStack stack = MemoryStack.stackPush()) {
+                    IntBuffer spvVersion = stack.mallocInt(1);
+                    IntBuffer spvRevision = stack.mallocInt(1);
+                    shaderc_get_spv_version(spvVersion, spvRevision);
+                    // The SPIR-V version alone does not change when shaderc is upgraded; the LWJGL
+                    // version pins the bundled shaderc build, and the native library fingerprint
+                    // catches a shaderc override via org.lwjgl.librarypath.
+                    resolved = "shaderc-spv-" + Integer.toHexString(spvVersion.get(0))
+                            + "-r" + spvRevision.get(0)
+                            + "-lwjgl-" + Version.getVersion()
+                            + libraryFingerprint()
+                            + "-vulkan1.1";
+                }
+                version = resolved;
+            }
+            return resolved;
         }
-        long options = shaderc_compile_options_initialize();
-        if (options == 0L) {
-            shaderc_compiler_release(compiler);
-            throw new EngineException(EngineErrorCode.BACKEND_INIT_FAILED, "shaderc_compile_options_initialize failed", false);
+
+        @Override
+        public void close() {
+            Long compiler;
+            while ((compiler = compilers.poll()) != null) {
+                shaderc_compiler_release(compiler);
+            }
         }
-        // Target Vulkan 1.1 so gl_DrawID and other Vulkan 1.1 features are available
-        shaderc_compile_options_set_target_env(options, shaderc_target_env_vulkan, shaderc_env_version_vulkan_1_1);
-        long result = 0L;
-        ByteBuffer sourceUtf8 = null;
-        ByteBuffer sourceNameUtf8 = null;
-        ByteBuffer entryPointUtf8 = null;
-        try {
-            // Large shader sources can overflow LWJGL MemoryStack when CharSequence overload is used.
-            // Use native-heap UTF8 buffers and explicit source length via nshaderc_* API.
-            sourceUtf8 = MemoryUtil.memUTF8(source, true);
-            // shaderc expects C-strings for source name and entry point.
-            sourceNameUtf8 = MemoryUtil.memUTF8(sourceName == null ? "shader" : sourceName, true);
-            entryPointUtf8 = MemoryUtil.memUTF8("main", true);
-            result = nshaderc_compile_into_spv(
-                    compiler,
-                    MemoryUtil.memAddress(sourceUtf8),
-                    sourceUtf8.remaining() - 1L,
-                    shaderKind,
-                    MemoryUtil.memAddress(sourceNameUtf8),
-                    MemoryUtil.memAddress(entryPointUtf8),
-                    options
-            );
-            if (result == 0L) {
-                throw new EngineException(EngineErrorCode.BACKEND_INIT_FAILED, "shaderc_compile_into_spv failed", false);
+
+        private static String libraryFingerprint() {
+            String libraryPath = Shaderc.getLibrary().getPath();
+            if (libraryPath == null) {
+                return "";
             }
-            int status = shaderc_result_get_compilation_status(result);
-            if (status != shaderc_compilation_status_success) {
-                throw new EngineException(
-                        EngineErrorCode.BACKEND_INIT_FAILED,
-                        "Shader compile failed for " + sourceName + ": " + shaderc_result_get_error_message(result),
-                        false
-                );
+            Path path = Path.of(libraryPath);
+            try {
+                return "-lib-" + Files.size(path) + "-" + Files.getLastModifiedTime(path).toMillis();
+            } catch (IOException e) {
+                return "";
+            }
+        }
+
+        @Override
+        public byte[] compile(VulkanSpirvCompileRequest request) throws EngineException {
+            long compiler = compilerForCurrentThread();
+            long options = shaderc_compile_options_initialize();
+            if (options == 0L) {
+                throw new EngineException(EngineErrorCode.BACKEND_INIT_FAILED, "shaderc_compile_options_initialize failed", false);
             }
-            ByteBuffer bytes = shaderc_result_get_bytes(result);
-            ByteBuffer out = ByteBuffer.allocateDirect(bytes.remaining());
-            out.put(bytes);
-            out.flip();
-            return out;
-        } finally {
-            if (result != 0L) {
-                shaderc_result_release(result);
+            // Target Vulkan 1.1 so gl_DrawID and other Vulkan 1.1 features are available
+            shaderc_compile_options_set_target_env(options, shaderc_target_env_vulkan, shaderc_env_version_vulkan_1_1);
+            for (Map.Entry<String, String> define : request.defines().entrySet()) {
+                shaderc_compile_options_add_macro_definition(options, define.getKey(), define.getValue());
             }
-            shaderc_compile_options_release(options);
-            shaderc_compiler_release(compiler);
-            if (sourceUtf8 != null) {
-                MemoryUtil.memFree(sourceUtf8);
+            long result = 0L;
+            ByteBuffer sourceUtf8 = null;
+            ByteBuffer sourceNameUtf8 = null;
+            ByteBuffer entryPointUtf8 = null;
+            try {
+                // Large shader sources can overflow LWJGL MemoryStack when CharSequence overload is used.
+                // Use native-heap UTF8 buffers and explicit source length via nshaderc_* API.
+                sourceUtf8 = MemoryUtil.memUTF8(request.source(), true);
+                // shaderc expects C-strings for source name and entry point.
+                sourceNameUtf8 = MemoryUtil.memUTF8(request.sourceName(), true);
+                entryPointUtf8 = MemoryUtil.memUTF8("main", true);
+                result = nshaderc_compile_into_spv(
+                        compiler,
+                        MemoryUtil.memAddress(sourceUtf8),
+                        sourceUtf8.remaining() - 1L,
+                        request.shaderKind(),
+                        MemoryUtil.memAddress(sourceNameUtf8),
+                        MemoryUtil.memAddress(entryPointUtf8),
+                        options
+                );
+                if (result == 0L) {
+                    throw new EngineException(EngineErrorCode.BACKEND_INIT_FAILED, "shaderc_compile_into_spv failed", false);
+                }
+                int status = shaderc_result_get_compilation_status(result);
+                if (status != shaderc_compilation_status_success) {
+                    throw new EngineException(
+                            EngineErrorCode.BACKEND_INIT_FAILED,
+                            "Shader compile failed for " + request.sourceName() + ": " + shaderc_result_get_error_message(result),
+                            false
+                    );
+                }
+                ByteBuffer bytes = shaderc_result_get_bytes(result);
+                byte[] out = new byte[bytes.remaining()];
+                bytes.get(out);
+                return out;
+            } finally {
+                if (result != 0L) {
+                    shaderc_result_release(result);
+                }
+                shaderc_compile_options_release(options);
+                if (sourceUtf8 != null) {
+                    MemoryUtil.memFree(sourceUtf8);
+                }
+                if (sourceNameUtf8 != null) {
+                    MemoryUtil.memFree(sourceNameUtf8);
+                }
+                if (entryPointUtf8 != null) {
+                    MemoryUtil.memFree(entryPointUtf8);
+                }
             }
-            if (sourceNameUtf8 != null) {
-                MemoryUtil.memFree(sourceNameUtf8);
+        }
+
+        private long compilerForCurrentThread() throws EngineException {
+            Long existing = threadCompiler.get();
+            if (existing != null) {
+                return existing;
             }
-            if (entryPointUtf8 != null) {
-                MemoryUtil.memFree(entryPointUtf8);
+            long compiler = shaderc_compiler_initialize();
+            if (compiler == 0L) {
+                throw new EngineException(EngineErrorCode.BACKEND_INIT_FAILED, "shaderc_compiler_initialize failed", false);
             }
+            threadCompiler.set(compiler);
+            compilers.add(compiler);
+            return compiler;
         }
     }
 }
@@ -0,0 +1,362 @@
+package org.dynamisengine.light.impl.vulkan.shader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import org.dynamisengine.light.api.error.EngineErrorCode;
+import org.dynamisengine.light.api.error.EngineException;
+
+/**
+ * Content-addressed SPIR-V cache shared by every Vulkan pipeline builder.
+ *
+ * <p>Entries are keyed by SHA-256 of (compiler version, shader kind, sorted defines, source),
+ * held in memory for the process lifetime and persisted as {@code <key>.spv} files so later
+ * startups skip shaderc entirely. Misses compile on a fixed worker pool; the shaderc backend
+ * keeps one compiler instance per worker thread. Concurrent requests for the same key share
+ * one compilation.
+ *
+ * <p>The shared instance persists under {@code ~/.dynamis/shader-cache/spirv} by default.
+ * Override with {@code -Ddle.vulkan.spirvCache.dir=<path>} or disable disk persistence with
+ * {@code -Ddle.vulkan.spirvCache.disk=false}. Each live context holds a reference taken with
+ * {@link #acquireShared()}; the last {@link #releaseShared()} stops the workers and releases the
+ * compilers, and the next acquire starts a fresh instance.
+ */
+public final class VulkanSpirvCache implements AutoCloseable {
+    private static final Logger LOG = Logger.getLogger(VulkanSpirvCache.class.getName());
+    private static final String FILE_SUFFIX = ".spv";
+
+    /**
+     * Compiles one request to SPIR-V bytes. Implementations must be safe to call from
+     * several worker threads at once.
+     */
+    public interface Compiler {
+        byte[] compile(VulkanSpirvCompileRequest request) throws EngineException;
+
+        String version();
+
+        /** Releases native compiler state. Called once the owning cache's workers have stopped. */
+        default void close() {
+        }
+    }
+
+    public record Stats(long memoryHits, long diskHits, long misses, long compileFailures, int entries) {
+        public double hitRate() {
+            long total = memoryHits + diskHits + misses;
+            return total == 0L ? 0.0 : (double) (memoryHits + diskHits) / (double) total;
+        }
+    }
+
+    private static VulkanSpirvCache sharedInstance;
+    private static int sharedReferences;
+
+    private final Compiler compiler;
+    private final Path cacheDir;
+    private final ExecutorService workers;
+    private final Map<String, byte[]> memory = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong compileFailures = new AtomicLong();
+
+    /**
+     * @param compiler compile backend
+     * @param cacheDir on-disk cache directory, or {@code null} for memory-only
+     * @param workerThreads size of the compile worker pool
+     */
+    public VulkanSpirvCache(Compiler compiler, Path cacheDir, int workerThreads) {
+        this.compiler = compiler;
+        this.cacheDir = cacheDir;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, workerThreads), runnable -> {
+            Thread thread = new Thread(runnable, "dle-spirv-compile-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the shared cache, creating it if needed. This does not take a reference; callers that
+     * outlive a single call should hold one through {@link #acquireShared()}.
+     */
+    public static synchronized VulkanSpirvCache shared() {
+        if (sharedInstance == null) {
+            sharedInstance = createShared();
+        }
+        return sharedInstance;
+    }
+
+    /** Takes a reference on the shared cache; pair every call with {@link #releaseShared()}. */
+    public static VulkanSpirvCache acquireShared() {
+        return acquireShared(VulkanSpirvCache::createShared);
+    }
+
+    static synchronized VulkanSpirvCache acquireShared(Supplier<VulkanSpirvCache> factory) {
+        if (sharedInstance == null) {
+            sharedInstance = factory.get();
+        }
+        sharedReferences++;
+        return sharedInstance;
+    }
+
+    /**
+     * Drops a reference taken by {@link #acquireShared()}. The last one closes the shared cache so
+     * other live contexts never lose their compile workers. Persisted entries stay on disk.
+     */
+    public static synchronized void releaseShared() {
+        if (sharedReferences == 0) {
+            return;
+        }
+        sharedReferences--;
+        if (sharedReferences == 0 && sharedInstance != null) {
+            sharedInstance.close();
+            sharedInstance = null;
+        }
+    }
+
+    private static VulkanSpirvCache createShared() {
+        return new VulkanSpirvCache(
+                VulkanShaderCompiler.shadercBackend(),
+                Boolean.parseBoolean(System.getProperty("dle.vulkan.spirvCache.disk", "true"))
+                        ? Path.of(System.getProperty(
+                                "dle.vulkan.spirvCache.dir",
+                                Path.of(System.getProperty("user.home"), ".dynamis", "shader-cache", "spirv").toString()))
+                        : null,
+                Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors() - 1))
+        );
+    }
+
+    /**
+     * Stops the worker pool, waiting briefly for running compiles, then releases the compiler
+     * backend. Later misses fail with an {@link EngineException}; memory and disk hits still resolve.
+     */
+    @Override
+    public void close() {
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(5, TimeUnit.SECONDS)) {
+                // A compile still holds its thread's compiler; leaking it beats releasing it mid-use.
+                LOG.warning("SPIR-V compile workers did not stop; compilers left to process exit");
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        compiler.close();
+    }
+
+    /**
+     * Returns SPIR-V for the request, compiling on a worker thread on a miss.
+     *
+     * @return a new direct buffer positioned at zero; callers own it
+     */
+    public ByteBuffer getOrCompile(VulkanSpirvCompileRequest request) throws EngineException {
+        return toDirect(await(lookupOrSubmit(request)));
+    }
+
+    /**
+     * Resolves every request, compiling all misses in parallel before waiting on any of them.
+     * Results are returned in request order.
+     */
+    public List<ByteBuffer> getOrCompileAll(List<VulkanSpirvCompileRequest> requests) throws EngineException {
+        List<CompletableFuture<byte[]>> pending = new ArrayList<>(requests.size());
+        for (VulkanSpirvCompileRequest request : requests) {
+            pending.add(lookupOrSubmit(request));
+        }
+        List<ByteBuffer> results = new ArrayList<>(pending.size());
+        for (CompletableFuture<byte[]> future : pending) {
+            results.add(toDirect(await(future)));
+        }
+        return results;
+    }
+
+    /**
+     * Starts compiling any uncached requests without waiting. Failures are left for the
+     * eventual {@link #getOrCompile} call to report, so optional variants may be prefetched.
+     */
+    public void prefetch(List<VulkanSpirvCompileRequest> requests) {
+        for (VulkanSpirvCompileRequest request : requests) {
+            lookupOrSubmit(request);
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(memoryHits.get(), diskHits.get(), misses.get(), compileFailures.get(), memory.size());
+    }
+
+    /**
+     * Drops in-memory entries and deletes persisted {@code .spv} files.
+     */
+    public void clear() {
+        memory.clear();
+        if (cacheDir == null || !Files.isDirectory(cacheDir)) {
+            return;
+        }
+        try (var stream = Files.list(cacheDir)) {
+            stream.filter(p -> p.getFileName().toString().endsWith(FILE_SUFFIX)).forEach(p -> {
+                try {
+                    Files.deleteIfExists(p);
+                } catch (IOException ignored) {
+                }
+            });
+        } catch (IOException e) {
+            LOG.warning("Failed to clear SPIR-V cache: " + e.getMessage());
+        }
+    }
+
+    public String keyOf(VulkanSpirvCompileRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(compiler.version().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(Integer.toString(request.shaderKind()).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            for (Map.Entry<String, String> define : request.defines().entrySet()) {
+                digest.update(define.getKey().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '=');
+                if (define.getValue() != null) {
+                    digest.update(define.getValue().getBytes(StandardCharsets.UTF_8));
+                }
+                digest.update((byte) 0);
+            }
+            digest.update((byte) 0);
+            digest.update(request.source().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private CompletableFuture<byte[]> lookupOrSubmit(VulkanSpirvCompileRequest request) {
+        String key = keyOf(request);
+        byte[] cached = memory.get(key);
+        if (cached != null) {
+            memoryHits.incrementAndGet();
+            return CompletableFuture.completedFuture(cached);
+        }
+        byte[] persisted = readPersisted(key);
+        if (persisted != null) {
+            diskHits.incrementAndGet();
+            memory.put(key, persisted);
+            return CompletableFuture.completedFuture(persisted);
+        }
+        CompletableFuture<byte[]> created = new CompletableFuture<>();
+        CompletableFuture<byte[]> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            memoryHits.incrementAndGet();
+            return existing;
+        }
+        cached = memory.get(key);
+        if (cached != null) {
+            // Another caller finished compiling between the first lookup and registration.
+            inFlight.remove(key, created);
+            memoryHits.incrementAndGet();
+            created.complete(cached);
+            return created;
+        }
+        misses.incrementAndGet();
+        try {
+            workers.execute(() -> {
+                try {
+                    byte[] spirv = compiler.compile(request);
+                    memory.put(key, spirv);
+                    persist(key, spirv);
+                    created.complete(spirv);
+                } catch (EngineException | RuntimeException e) {
+                    compileFailures.incrementAndGet();
+                    created.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(key, created);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(new EngineException(
+                    EngineErrorCode.BACKEND_INIT_FAILED, "SPIR-V cache is closed: " + request.sourceName(), false));
+        }
+        return created;
+    }
+
+    private byte[] readPersisted(String key) {
+        if (cacheDir == null) {
+            return null;
+        }
+        Path path = cacheDir.resolve(key + FILE_SUFFIX);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try {
+            byte[] bytes = Files.readAllBytes(path);
+            return isSpirv(bytes) ? bytes : null;
+        } catch (IOException e) {
+            LOG.warning("Failed to read cached SPIR-V " + path.getFileName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void persist(String key, byte[] spirv) {
+        if (cacheDir == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(cacheDir);
+            Path target = cacheDir.resolve(key + FILE_SUFFIX);
+            Path temp = Files.createTempFile(cacheDir, key, ".tmp");
+            Files.write(temp, spirv);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warning("Failed to persist SPIR-V " + key + ": " + e.getMessage());
+        }
+    }
+
+    private static boolean isSpirv(byte[] bytes) {
+        // SPIR-V magic 0x07230203, little-endian as emitted by shaderc.
+        return bytes.length >= 20 && (bytes.length % 4) == 0
+                && (bytes[0] & 0xFF) == 0x03 && (bytes[1] & 0xFF) == 0x02
+                && (bytes[2] & 0xFF) == 0x23 && (bytes[3] & 0xFF) == 0x07;
+    }
+
+    private static byte[] await(CompletableFuture<byte[]> future) throws EngineException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof EngineException engineException) {
+                throw engineException;
+            }
+            throw new EngineException(
+                    EngineErrorCode.BACKEND_INIT_FAILED,
+                    "SPIR-V compilation failed: " + (cause == null ? e.getMessage() : cause.getMessage()),
+                    false
+            );
+        }
+    }
+
+    private static ByteBuffer toDirect(byte[] spirv) {
+        ByteBuffer out = ByteBuffer.allocateDirect(spirv.length);
+        out.put(spirv);
+        out.flip();
+        return out;
+    }
+}
@@ -0,0 +1,32 @@
+package org.dynamisengine.light.impl.vulkan.shader;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * GLSL to SPIR-V compile request.
+ *
+ * @param source GLSL source
+ * @param shaderKind shaderc shader kind constant
+ * @param sourceName name reported in compiler diagnostics (not part of the cache key)
+ * @param defines preprocessor macro definitions, normalized to a sorted immutable map
+ */
+public record VulkanSpirvCompileRequest(
+        String source,
+        int shaderKind,
+        String sourceName,
+        Map<String, String> defines
+) {
+    public VulkanSpirvCompileRequest {
+        source = source == null ? "" : source;
+        sourceName = sourceName == null ? "shader" : sourceName;
+        defines = defines == null || defines.isEmpty()
+                ? Map.of()
+                : Collections.unmodifiableMap(new TreeMap<>(defines));
+    }
+
+    public static VulkanSpirvCompileRequest of(String source, int shaderKind, String sourceName) {
+        return new VulkanSpirvCompileRequest(source, shaderKind, sourceName, Map.of());
+    }
+}
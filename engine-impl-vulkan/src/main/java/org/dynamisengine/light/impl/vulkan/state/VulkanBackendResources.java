@@ -22,6 +22,7 @@ public final class VulkanBackendResources {
     public int graphicsQueueFamilyIndex = -1;
     public boolean shadowRtTraversalSupported;
     public boolean shadowRtBvhSupported;
+    public boolean textureCompressionBcSupported;
     public long window = VK_NULL_HANDLE;
     public long surface = VK_NULL_HANDLE;
 
@@ -1,5 +1,7 @@
 package org.dynamisengine.light.impl.vulkan.state;
 
+import org.dynamisengine.light.impl.vulkan.descriptor.VulkanDescriptorPageAllocator;
+
 import static org.lwjgl.vulkan.VK10.VK_NULL_HANDLE;
 
 public final class VulkanDescriptorResourceState {
@@ -10,7 +12,7 @@ public final class VulkanDescriptorResourceState {
     public long descriptorPool = VK_NULL_HANDLE;
     public long descriptorSet = VK_NULL_HANDLE;
     public long[] frameDescriptorSets = new long[0];
-    public long textureDescriptorPool = VK_NULL_HANDLE;
+    public VulkanDescriptorPageAllocator textureDescriptorPages;
 
     public long sceneGlobalUniformBuffer = VK_NULL_HANDLE;
     public long sceneGlobalUniformMemory = VK_NULL_HANDLE;
@@ -32,6 +34,11 @@ public final class VulkanDescriptorResourceState {
     public int reflectionProbeMetadataBufferBytes;
     public int reflectionProbeMetadataActiveCount;
 
+    public long clusteredLightBuffer = VK_NULL_HANDLE;
+    public long clusteredLightMemory = VK_NULL_HANDLE;
+    public long clusteredLightMappedAddress;
+    public int clusteredLightFrameSpanBytes;
+
     public int uniformStrideBytes = 96;
     public int uniformFrameSpanBytes = 96;
     public int globalUniformFrameSpanBytes = 784;
@@ -15,4 +15,7 @@ public final class VulkanDescriptorRingStats {
     public int descriptorRingWasteSetCount;
     public int descriptorRingPeakWasteSetCount;
     public int descriptorRingMaxSetCapacity = 4096;
+    public int descriptorPoolCount;
+    public int descriptorSetHighWaterMark;
+    public long descriptorAllocationFailureCount;
 }
@@ -51,7 +51,7 @@ public final class VulkanFramebufferResources {
                         height,
                         depthFormat,
                         VK10.VK_IMAGE_TILING_OPTIMAL,
-                        VK10.VK_IMAGE_USAGE_DEPTH_STENCIL_ATTACHMENT_BIT,
+                        VK10.VK_IMAGE_USAGE_DEPTH_STENCIL_ATTACHMENT_BIT | VK10.VK_IMAGE_USAGE_SAMPLED_BIT,
                         VK10.VK_MEMORY_PROPERTY_DEVICE_LOCAL_BIT,
                         1
                 );
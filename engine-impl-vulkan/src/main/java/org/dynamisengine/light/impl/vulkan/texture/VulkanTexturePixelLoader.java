@@ -167,7 +167,7 @@ public final class VulkanTexturePixelLoader {
         return requestedPath;
     }
 
-    private static boolean isKtxContainerPath(Path path) {
+    static boolean isKtxContainerPath(Path path) {
         if (path == null || path.getFileName() == null) {
             return false;
         }
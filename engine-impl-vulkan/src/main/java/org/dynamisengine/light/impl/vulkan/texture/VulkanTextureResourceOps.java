@@ -10,8 +10,16 @@ import org.dynamisengine.light.impl.vulkan.model.VulkanGpuMesh;
 import org.dynamisengine.light.impl.vulkan.model.VulkanGpuTexture;
 import org.dynamisengine.gpu.vulkan.memory.VulkanImageAlloc;
 import org.dynamisengine.gpu.api.VulkanTexturePixelData;
+import org.dynamisengine.light.impl.common.texture.CookedTexture;
+import org.dynamisengine.light.impl.common.texture.KtxDecodeUtil;
+import org.dynamisengine.light.impl.common.texture.TextureCooker;
 import org.lwjgl.system.MemoryStack;
 import org.lwjgl.vulkan.VK10;
+import org.lwjgl.vulkan.VkBufferImageCopy;
+import org.lwjgl.vulkan.VkCommandBuffer;
+import org.lwjgl.vulkan.VkCommandBufferAllocateInfo;
+import org.lwjgl.vulkan.VkCommandBufferBeginInfo;
+import org.lwjgl.vulkan.VkImageMemoryBarrier;
 import org.lwjgl.vulkan.VkImageViewCreateInfo;
 import org.lwjgl.vulkan.VkSamplerCreateInfo;
 
@@ -59,8 +67,18 @@ public final class VulkanTextureResourceOps {
             org.lwjgl.vulkan.VkPhysicalDevice physicalDevice,
             long commandPool,
             org.lwjgl.vulkan.VkQueue graphicsQueue,
-            FailureFactory vkFailure
+            FailureFactory vkFailure,
+            boolean textureCompressionBcSupported
     ) {
+        public Context(
+                org.lwjgl.vulkan.VkDevice device,
+                org.lwjgl.vulkan.VkPhysicalDevice physicalDevice,
+                long commandPool,
+                org.lwjgl.vulkan.VkQueue graphicsQueue,
+                FailureFactory vkFailure
+        ) {
+            this(device, physicalDevice, commandPool, graphicsQueue, vkFailure, false);
+        }
     }
 
     public static Set<VulkanGpuTexture> collectLiveTextures(
@@ -106,6 +124,16 @@ public final class VulkanTextureResourceOps {
     }
 
     public static VulkanGpuTexture createTextureFromPath(Path texturePath, boolean normalMap, Context context) throws EngineException {
+        if (TextureCooker.isEnabled() && texturePath != null && !VulkanTexturePixelLoader.isKtxContainerPath(texturePath)) {
+            CookedTexture cooked = TextureCooker.cook(
+                    texturePath,
+                    cookOptions(context),
+                    VulkanTextureResourceOps::decodeForCooking
+            );
+            if (cooked != null && (!cooked.format().compressed() || context.textureCompressionBcSupported())) {
+                return createTextureFromCooked(cooked, context);
+            }
+        }
         VulkanTexturePixelData pixels = VulkanTexturePixelLoader.loadTexturePixels(texturePath);
         if (pixels == null) {
             ByteBuffer data = memAlloc(4);
@@ -123,6 +151,194 @@ public final class VulkanTextureResourceOps {
         }
     }
 
+    /**
+     * Uploads every level of a cooked texture through one staging buffer and one command buffer.
+     */
+    public static VulkanGpuTexture createTextureFromCooked(CookedTexture cooked, Context context) throws EngineException {
+        long totalBytes = cooked.totalBytes();
+        if (totalBytes > Integer.MAX_VALUE) {
+            throw new EngineException(EngineErrorCode.INVALID_ARGUMENT, "Cooked texture exceeds supported staging size", false);
+        }
+        int levelCount = cooked.levelCount();
+        ByteBuffer packed = memAlloc((int) totalBytes);
+        for (CookedTexture.Level level : cooked.levels()) {
+            packed.put(level.data());
+        }
+        packed.flip();
+
+        try (MemoryStack stack = stackPush()) {
+            VulkanBufferAlloc staging = VulkanBufferOps.createBuffer(
+                    context.device(),
+                    context.physicalDevice(),
+                    stack,
+                    (int) totalBytes,
+                    VK_BUFFER_USAGE_TRANSFER_SRC_BIT,
+                    VK_MEMORY_PROPERTY_HOST_VISIBLE_BIT | VK_MEMORY_PROPERTY_HOST_COHERENT_BIT
+            );
+            try {
+                VulkanBufferOps.uploadToMemory(context.device(), staging.memory(), packed, context.vkFailure()::failure);
+                VulkanImageAlloc imageAlloc = VulkanImageOps.createImage(
+                        context.device(),
+                        context.physicalDevice(),
+                        stack,
+                        cooked.width(),
+                        cooked.height(),
+                        cooked.vkFormat(),
+                        VK10.VK_IMAGE_TILING_OPTIMAL,
+                        VK10.VK_IMAGE_USAGE_TRANSFER_DST_BIT | VK10.VK_IMAGE_USAGE_SAMPLED_BIT,
+                        VK_MEMORY_PROPERTY_DEVICE_LOCAL_BIT,
+                        1,
+                        levelCount,
+                        0
+                );
+                long imageView = VK_NULL_HANDLE;
+                boolean created = false;
+                try {
+                    copyLevelsToImage(context, stack, staging.buffer(), imageAlloc.image(), cooked);
+                    imageView = createImageView(
+                            context.device(),
+                            stack,
+                            imageAlloc.image(),
+                            cooked.vkFormat(),
+                            VK_IMAGE_ASPECT_COLOR_BIT,
+                            VK_IMAGE_VIEW_TYPE_2D,
+                            1,
+                            levelCount
+                    );
+                    long sampler = createSampler(context.device(), stack, levelCount);
+                    created = true;
+                    return new VulkanGpuTexture(imageAlloc.image(), imageAlloc.memory(), imageView, sampler, totalBytes);
+                } finally {
+                    if (!created) {
+                        destroyTextures(context.device(), Set.of(
+                                new VulkanGpuTexture(imageAlloc.image(), imageAlloc.memory(), imageView, VK_NULL_HANDLE, 0L)));
+                    }
+                }
+            } finally {
+                if (staging.buffer() != VK_NULL_HANDLE) {
+                    vkDestroyBuffer(context.device(), staging.buffer(), null);
+                }
+                if (staging.memory() != VK_NULL_HANDLE) {
+                    vkFreeMemory(context.device(), staging.memory(), null);
+                }
+            }
+        } catch (GpuException ex) {
+            throw new EngineException(
+                    EngineErrorCode.BACKEND_INIT_FAILED,
+                    "Failed to create cooked texture: " + ex.getMessage(),
+                    false
+            );
+        } finally {
+            memFree(packed);
+        }
+    }
+
+    private static TextureCooker.Options cookOptions(Context context) {
+        // Scene textures have always been sampled as R8G8B8A8_SRGB; cooking keeps that contract.
+        return TextureCooker.Options.defaults(
+                context.textureCompressionBcSupported() ? TextureCooker.Format.BC7 : TextureCooker.Format.RGBA8,
+                true,
+                true
+        );
+    }
+
+    private static KtxDecodeUtil.DecodedRgba decodeForCooking(Path source) {
+        VulkanTexturePixelData pixels = VulkanTexturePixelLoader.loadTexturePixels(source);
+        if (pixels == null) {
+            return null;
+        }
+        try {
+            byte[] rgba = new byte[pixels.data().remaining()];
+            pixels.data().get(pixels.data().position(), rgba);
+            return new KtxDecodeUtil.DecodedRgba(pixels.width(), pixels.height(), rgba);
+        } finally {
+            memFree(pixels.data());
+        }
+    }
+
+    private static void copyLevelsToImage(
+            Context context,
+            MemoryStack stack,
+            long buffer,
+            long image,
+            CookedTexture cooked
+    ) throws EngineException {
+        int levelCount = cooked.levelCount();
+        VkCommandBufferAllocateInfo allocInfo = VkCommandBufferAllocateInfo.calloc(stack)
+                .sType$Default()
+                .commandPool(context.commandPool())
+                .level(VK10.VK_COMMAND_BUFFER_LEVEL_PRIMARY)
+                .commandBufferCount(1);
+        var pCmd = stack.mallocPointer(1);
+        int result = VK10.vkAllocateCommandBuffers(context.device(), allocInfo, pCmd);
+        if (result != VK_SUCCESS) {
+            throw context.vkFailure().failure("vkAllocateCommandBuffers(texture mips)", result);
+        }
+        VkCommandBuffer cmd = new VkCommandBuffer(pCmd.get(0), context.device());
+        try {
+            result = VK10.vkBeginCommandBuffer(cmd, VkCommandBufferBeginInfo.calloc(stack)
+                    .sType$Default()
+                    .flags(VK10.VK_COMMAND_BUFFER_USAGE_ONE_TIME_SUBMIT_BIT));
+            if (result != VK_SUCCESS) {
+                throw context.vkFailure().failure("vkBeginCommandBuffer(texture mips)", result);
+            }
+
+            VkImageMemoryBarrier.Buffer barrier = VkImageMemoryBarrier.calloc(1, stack)
+                    .sType$Default()
+                    .oldLayout(VK_IMAGE_LAYOUT_UNDEFINED)
+                    .newLayout(VK10.VK_IMAGE_LAYOUT_TRANSFER_DST_OPTIMAL)
+                    .srcQueueFamilyIndex(VK10.VK_QUEUE_FAMILY_IGNORED)
+                    .dstQueueFamilyIndex(VK10.VK_QUEUE_FAMILY_IGNORED)
+                    .image(image)
+                    .subresourceRange(r -> r.aspectMask(VK_IMAGE_ASPECT_COLOR_BIT)
+                            .baseMipLevel(0).levelCount(levelCount).baseArrayLayer(0).layerCount(1))
+                    .srcAccessMask(0)
+                    .dstAccessMask(VK10.VK_ACCESS_TRANSFER_WRITE_BIT);
+            VK10.vkCmdPipelineBarrier(cmd, VK10.VK_PIPELINE_STAGE_TOP_OF_PIPE_BIT,
+                    VK10.VK_PIPELINE_STAGE_TRANSFER_BIT, 0, null, null, barrier);
+
+            VkBufferImageCopy.Buffer regions = VkBufferImageCopy.calloc(levelCount, stack);
+            long offset = 0L;
+            for (int level = 0; level < levelCount; level++) {
+                CookedTexture.Level mip = cooked.levels().get(level);
+                int mipLevel = level;
+                regions.get(level)
+                        .bufferOffset(offset)
+                        .bufferRowLength(0)
+                        .bufferImageHeight(0)
+                        .imageSubresource(sub -> sub.aspectMask(VK_IMAGE_ASPECT_COLOR_BIT)
+                                .mipLevel(mipLevel).baseArrayLayer(0).layerCount(1))
+                        .imageOffset(o -> o.set(0, 0, 0))
+                        .imageExtent(e -> e.set(mip.width(), mip.height(), 1));
+                offset += mip.data().length;
+            }
+            VK10.vkCmdCopyBufferToImage(cmd, buffer, image, VK10.VK_IMAGE_LAYOUT_TRANSFER_DST_OPTIMAL, regions);
+
+            barrier.oldLayout(VK10.VK_IMAGE_LAYOUT_TRANSFER_DST_OPTIMAL)
+                    .newLayout(VK10.VK_IMAGE_LAYOUT_SHADER_READ_ONLY_OPTIMAL)
+                    .srcAccessMask(VK10.VK_ACCESS_TRANSFER_WRITE_BIT)
+                    .dstAccessMask(VK10.VK_ACCESS_SHADER_READ_BIT);
+            VK10.vkCmdPipelineBarrier(cmd, VK10.VK_PIPELINE_STAGE_TRANSFER_BIT,
+                    VK10.VK_PIPELINE_STAGE_FRAGMENT_SHADER_BIT, 0, null, null, barrier);
+            result = VK10.vkEndCommandBuffer(cmd);
+            if (result != VK_SUCCESS) {
+                throw context.vkFailure().failure("vkEndCommandBuffer(texture mips)", result);
+            }
+
+            result = VK10.vkQueueSubmit(
+                    context.graphicsQueue(),
+                    org.lwjgl.vulkan.VkSubmitInfo.calloc(stack).sType$Default().pCommandBuffers(pCmd),
+                    VK_NULL_HANDLE
+            );
+            if (result != VK_SUCCESS) {
+                throw context.vkFailure().failure("vkQueueSubmit(texture mips)", result);
+            }
+            VK10.vkQueueWaitIdle(context.graphicsQueue());
+        } finally {
+            VK10.vkFreeCommandBuffers(context.device(), context.commandPool(), pCmd);
+        }
+    }
+
     public static VulkanGpuTexture createTextureFromPixels(VulkanTexturePixelData pixels, Context context) throws EngineException {
         try (MemoryStack stack = stackPush()) {
             VulkanBufferAlloc staging = VulkanBufferOps.createBuffer(
@@ -350,7 +566,7 @@ public final class VulkanTextureResourceOps {
             int format,
             int aspectMask
     ) throws EngineException {
-        return createImageView(device, stack, image, format, aspectMask, VK_IMAGE_VIEW_TYPE_2D, 1);
+        return createImageView(device, stack, image, format, aspectMask, VK_IMAGE_VIEW_TYPE_2D, 1, 1);
     }
 
     private static long createImageView(
@@ -361,6 +577,19 @@ public final class VulkanTextureResourceOps {
             int aspectMask,
             int viewType,
             int layerCount
+    ) throws EngineException {
+        return createImageView(device, stack, image, format, aspectMask, viewType, layerCount, 1);
+    }
+
+    private static long createImageView(
+            org.lwjgl.vulkan.VkDevice device,
+            MemoryStack stack,
+            long image,
+            int format,
+            int aspectMask,
+            int viewType,
+            int layerCount,
+            int mipLevels
     ) throws EngineException {
         VkImageViewCreateInfo viewInfo = VkImageViewCreateInfo.calloc(stack)
                 .sType(VK_STRUCTURE_TYPE_IMAGE_VIEW_CREATE_INFO)
@@ -370,7 +599,7 @@ public final class VulkanTextureResourceOps {
         viewInfo.subresourceRange()
                 .aspectMask(aspectMask)
                 .baseMipLevel(0)
-                .levelCount(1)
+                .levelCount(Math.max(1, mipLevels))
                 .baseArrayLayer(0)
                 .layerCount(Math.max(1, layerCount));
         var pView = stack.longs(VK_NULL_HANDLE);
@@ -382,6 +611,10 @@ public final class VulkanTextureResourceOps {
     }
 
     private static long createSampler(org.lwjgl.vulkan.VkDevice device, MemoryStack stack) throws EngineException {
+        return createSampler(device, stack, 1);
+    }
+
+    private static long createSampler(org.lwjgl.vulkan.VkDevice device, MemoryStack stack, int mipLevels) throws EngineException {
         VkSamplerCreateInfo samplerInfo = VkSamplerCreateInfo.calloc(stack)
                 .sType(VK_STRUCTURE_TYPE_SAMPLER_CREATE_INFO)
                 .magFilter(VK10.VK_FILTER_LINEAR)
@@ -398,7 +631,7 @@ public final class VulkanTextureResourceOps {
                 .mipmapMode(VK10.VK_SAMPLER_MIPMAP_MODE_LINEAR)
                 .mipLodBias(0.0f)
                 .minLod(0.0f)
-                .maxLod(0.0f);
+                .maxLod((float) (Math.max(1, mipLevels) - 1));
         var pSampler = stack.longs(VK_NULL_HANDLE);
         int result = VK10.vkCreateSampler(device, samplerInfo, null, pSampler);
         if (result != VK_SUCCESS || pSampler.get(0) == VK_NULL_HANDLE) {
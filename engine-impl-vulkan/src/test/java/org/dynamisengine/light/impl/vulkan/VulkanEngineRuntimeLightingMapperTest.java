@@ -70,6 +70,39 @@ class VulkanEngineRuntimeLightingMapperTest {
         }
     }
 
+    @Test
+    void mapLightingPacksLightsPastTheUniformCapForClusteredShading() {
+        List<LightDesc> lights = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            lights.add(new LightDesc(
+                    "c" + i,
+                    new Vec3(i, 1f, 2f),
+                    new Vec3(1f, 0.5f, 0.25f),
+                    20f - i,
+                    5f,
+                    false,
+                    null,
+                    (i % 2) == 0 ? LightType.POINT : LightType.SPOT,
+                    new Vec3(0f, -1f, 0f),
+                    20f,
+                    30f
+            ));
+        }
+
+        LightingConfig config = VulkanEngineRuntimeLightingMapper.mapLighting(lights, org.dynamisengine.light.api.config.QualityTier.HIGH, 0);
+
+        assertEquals(VulkanContext.MAX_LOCAL_LIGHTS, config.localLightCount());
+        assertEquals(20 - VulkanContext.MAX_LOCAL_LIGHTS, config.clusteredLightCount());
+        for (int i = 0; i < config.clusteredLightCount(); i++) {
+            int light = VulkanContext.MAX_LOCAL_LIGHTS + i;
+            int offset = i * 16;
+            assertEquals(light, config.clusteredLights()[offset], 0.0001f);
+            assertEquals(5f, config.clusteredLights()[offset + 3], 0.0001f);
+            assertEquals(20f - light, config.clusteredLights()[offset + 7], 0.0001f);
+            assertEquals((light % 2) == 0 ? 0f : 1f, config.clusteredLights()[offset + 13], 0.0001f);
+        }
+    }
+
     @Test
     void mapShadowsAppliesTierBudgetAndPrimarySelectionPolicy() {
         List<LightDesc> lights = List.of(
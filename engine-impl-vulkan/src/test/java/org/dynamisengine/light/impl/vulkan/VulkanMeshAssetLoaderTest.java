@@ -1,7 +1,9 @@
 package org.dynamisengine.light.impl.vulkan;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -11,6 +13,7 @@ import java.util.Base64;
 import org.dynamisengine.light.api.scene.MeshDesc;
 import org.dynamisengine.light.impl.vulkan.asset.VulkanGltfMeshParser;
 import org.dynamisengine.light.impl.vulkan.asset.VulkanMeshAssetLoader;
+import org.dynamisengine.light.impl.vulkan.model.VulkanMappedMesh;
 import org.junit.jupiter.api.Test;
 
 class VulkanMeshAssetLoaderTest {
@@ -86,15 +89,38 @@ class VulkanMeshAssetLoaderTest {
 
         Files.writeString(root.resolve("meshes/triangle.gltf"), gltf);
 
-        var loader = new VulkanMeshAssetLoader(root);
+        var loader = new VulkanMeshAssetLoader(root, 256, meshId -> null, null);
         var mesh = new MeshDesc("mesh", "xform", "mat", "meshes/triangle.gltf");
 
         VulkanGltfMeshParser.MeshGeometry data = loader.loadMeshGeometry(mesh, 0);
 
+        assertNull(data.mapped());
         assertEquals(3, data.vertices().length / 11);
         assertEquals(3, data.indices().length);
     }
 
+    @Test
+    void cookedGltfIsHandedOverStillMapped() throws Exception {
+        Path root = Files.createTempDirectory("dle-vk-gltf-mapped");
+        Files.createDirectories(root.resolve("meshes"));
+        Files.writeString(root.resolve("meshes/triangle.gltf"), triangleGltf());
+
+        var loader = new VulkanMeshAssetLoader(root, 256, meshId -> null, Files.createTempDirectory("dle-vk-cook"));
+        var mesh = new MeshDesc("mesh", "xform", "mat", "meshes/triangle.gltf");
+
+        VulkanGltfMeshParser.MeshGeometry data = loader.loadMeshGeometry(mesh, 0);
+
+        try (VulkanMappedMesh mapped = data.mapped()) {
+            assertNotNull(mapped);
+            assertEquals(0, data.vertices().length);
+            assertEquals(3, mapped.vertexCount());
+            assertEquals(3, mapped.indexCount());
+            assertEquals(3L * 11 * Float.BYTES, mapped.vertexData().remaining());
+            assertEquals(3L * Integer.BYTES, mapped.indexData().remaining());
+        }
+        assertEquals(0, loader.cacheProfile().entries());
+    }
+
     @Test
     void gltfGeometryCacheReturnsDefensiveCopies() throws Exception {
         Path root = Files.createTempDirectory("dle-vk-gltf-cache");
@@ -132,7 +158,7 @@ class VulkanMeshAssetLoaderTest {
                 """.formatted(encoded, all.length, vertexBytes.length, vertexBytes.length, indexBytes.length);
         Files.writeString(root.resolve("meshes/triangle.gltf"), gltf);
 
-        var loader = new VulkanMeshAssetLoader(root);
+        var loader = new VulkanMeshAssetLoader(root, 256, meshId -> null, null);
         var mesh = new MeshDesc("mesh", "xform", "mat", "meshes/triangle.gltf");
 
         VulkanGltfMeshParser.MeshGeometry first = loader.loadMeshGeometry(mesh, 0);
@@ -186,4 +212,28 @@ class VulkanMeshAssetLoaderTest {
         assertEquals(8, profile.maxEntries());
         assertEquals(8, profile.evictions());
     }
+
+    private static String triangleGltf() {
+        byte[] all = new byte[9 * Float.BYTES + 3 * Short.BYTES];
+        ByteBuffer buffer = ByteBuffer.wrap(all).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putFloat(-0.5f).putFloat(-0.5f).putFloat(0.0f);
+        buffer.putFloat(0.5f).putFloat(-0.5f).putFloat(0.0f);
+        buffer.putFloat(0.0f).putFloat(0.5f).putFloat(0.0f);
+        buffer.putShort((short) 0).putShort((short) 1).putShort((short) 2);
+        return """
+                {
+                  "asset": { "version": "2.0" },
+                  "buffers": [{ "uri": "data:application/octet-stream;base64,%s", "byteLength": %d }],
+                  "bufferViews": [
+                    { "buffer": 0, "byteOffset": 0, "byteLength": 36 },
+                    { "buffer": 0, "byteOffset": 36, "byteLength": 6 }
+                  ],
+                  "accessors": [
+                    { "bufferView": 0, "componentType": 5126, "count": 3, "type": "VEC3" },
+                    { "bufferView": 1, "componentType": 5123, "count": 3, "type": "SCALAR" }
+                  ],
+                  "meshes": [{ "primitives": [{ "attributes": { "POSITION": 0 }, "indices": 1, "mode": 4 }] }]
+                }
+                """.formatted(Base64.getEncoder().encodeToString(all), all.length);
+    }
 }
@@ -0,0 +1,275 @@
+package org.dynamisengine.light.impl.vulkan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.dynamisengine.light.api.config.EngineConfig;
+import org.dynamisengine.light.api.config.QualityTier;
+import org.dynamisengine.light.api.error.EngineErrorCode;
+import org.dynamisengine.light.api.error.EngineErrorReport;
+import org.dynamisengine.light.api.error.EngineException;
+import org.dynamisengine.light.api.event.EngineEvent;
+import org.dynamisengine.light.api.logging.LogMessage;
+import org.dynamisengine.light.api.mesh.DmeshV1;
+import org.dynamisengine.light.api.mesh.MeshFormats;
+import org.dynamisengine.light.api.mesh.MeshUploadRequest;
+import org.dynamisengine.light.api.mesh.MeshUploadResult;
+import org.dynamisengine.light.api.runtime.EngineHostCallbacks;
+import org.dynamisengine.light.api.scene.CameraDesc;
+import org.dynamisengine.light.api.scene.EnvironmentDesc;
+import org.dynamisengine.light.api.scene.FogDesc;
+import org.dynamisengine.light.api.scene.FogMode;
+import org.dynamisengine.light.api.scene.LightDesc;
+import org.dynamisengine.light.api.scene.LightType;
+import org.dynamisengine.light.api.scene.MaterialDesc;
+import org.dynamisengine.light.api.scene.MeshDesc;
+import org.dynamisengine.light.api.scene.SceneDescriptor;
+import org.dynamisengine.light.api.scene.TransformDesc;
+import org.dynamisengine.light.api.scene.Vec3;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+class VulkanMeshRegistrationIntegrationTest {
+    private static final int MESH_COUNT = 256;
+    private static final int THROUGHPUT_BATCHES = 16;
+
+    @Test
+    void batchedRegistrationDedupesAndReleasesEveryLease() throws Exception {
+        VulkanEngineRuntime runtime = new VulkanEngineRuntime();
+        AtomicInteger released = new AtomicInteger();
+        try (Arena arena = Arena.ofConfined()) {
+            runtime.initialize(validConfig(), new NoopCallbacks());
+            List<MeshUploadRequest> requests = new ArrayList<>(MESH_COUNT);
+            for (int i = 0; i < MESH_COUNT; i++) {
+                // Every fourth mesh repeats the content of its predecessor and must reuse its handle.
+                int content = i % 4 == 3 ? i - 1 : i;
+                MemorySegment payload = leasedTriangle(arena, content);
+                requests.add(MeshUploadRequest.lease(
+                        "mesh-" + i, MeshFormats.DMESH_V1, payload, 1000L + content, false, released::incrementAndGet));
+            }
+
+            List<MeshUploadResult> results = runtime.registerMeshes(requests);
+
+            assertEquals(MESH_COUNT, results.size());
+            assertEquals(MESH_COUNT, released.get());
+            assertTrue(requests.stream().allMatch(MeshUploadRequest::released));
+            Set<Integer> handles = new HashSet<>();
+            for (int i = 0; i < MESH_COUNT; i++) {
+                MeshUploadResult result = results.get(i);
+                assertEquals("mesh-" + i, result.meshId());
+                assertEquals(i % 4 == 3, result.reused());
+                if (result.reused()) {
+                    assertEquals(results.get(i - 1).meshHandle(), result.meshHandle());
+                }
+                handles.add(result.meshHandle());
+            }
+            assertEquals(MESH_COUNT - MESH_COUNT / 4, handles.size());
+        } finally {
+            runtime.shutdown();
+        }
+    }
+
+    @Test
+    void leasedBatchesRegisterAtLeastAsFastAsPerMeshRegistration(TestReporter reporter) throws Exception {
+        VulkanEngineRuntime batchedRuntime = new VulkanEngineRuntime();
+        VulkanEngineRuntime perMeshRuntime = new VulkanEngineRuntime();
+        AtomicInteger released = new AtomicInteger();
+        try (Arena arena = Arena.ofConfined()) {
+            batchedRuntime.initialize(validConfig(), new NoopCallbacks());
+            perMeshRuntime.initialize(validConfig(), new NoopCallbacks());
+            // One untimed round per path so both are measured after JIT warm-up.
+            batchedRuntime.registerMeshes(leasedBatch(arena, "warm", 0, released));
+            for (MeshUploadRequest request : leasedBatch(arena, "warm", 0, released)) {
+                perMeshRuntime.registerMesh(request);
+            }
+
+            List<List<MeshUploadRequest>> batches = new ArrayList<>(THROUGHPUT_BATCHES);
+            List<MeshUploadRequest> singles = new ArrayList<>(THROUGHPUT_BATCHES * MESH_COUNT);
+            long payloadBytes = 0L;
+            for (int b = 0; b < THROUGHPUT_BATCHES; b++) {
+                List<MeshUploadRequest> batch = leasedBatch(arena, "batched-" + b, (b + 1) * MESH_COUNT, released);
+                batches.add(batch);
+                singles.addAll(leasedBatch(arena, "single-" + b, (b + 1) * MESH_COUNT, released));
+                for (MeshUploadRequest request : batch) {
+                    payloadBytes += request.payloadSize();
+                }
+            }
+            int meshCount = THROUGHPUT_BATCHES * MESH_COUNT;
+
+            long batchedStart = System.nanoTime();
+            for (List<MeshUploadRequest> batch : batches) {
+                assertEquals(MESH_COUNT, batchedRuntime.registerMeshes(batch).size());
+            }
+            long batchedNanos = Math.max(1L, System.nanoTime() - batchedStart);
+
+            long perMeshStart = System.nanoTime();
+            for (MeshUploadRequest request : singles) {
+                assertFalse(perMeshRuntime.registerMesh(request).reused());
+            }
+            long perMeshNanos = Math.max(1L, System.nanoTime() - perMeshStart);
+
+            double batchedMeshesPerSecond = meshCount * 1e9 / batchedNanos;
+            double perMeshMeshesPerSecond = meshCount * 1e9 / perMeshNanos;
+            reporter.publishEntry(Map.of(
+                    "meshes", Integer.toString(meshCount),
+                    "batchedMeshesPerSecond", String.format("%.0f", batchedMeshesPerSecond),
+                    "batchedBytesPerSecond", String.format("%.0f", payloadBytes * 1e9 / batchedNanos),
+                    "perMeshMeshesPerSecond", String.format("%.0f", perMeshMeshesPerSecond),
+                    "perMeshBytesPerSecond", String.format("%.0f", payloadBytes * 1e9 / perMeshNanos)
+            ));
+
+            assertEquals(2 * MESH_COUNT + 2 * meshCount, released.get());
+            // Batching must never cost throughput; the factor absorbs scheduler noise on shared CI hosts.
+            assertTrue(batchedMeshesPerSecond * 2.0 >= perMeshMeshesPerSecond,
+                    "batched " + Math.round(batchedMeshesPerSecond) + " meshes/s vs per-mesh "
+                            + Math.round(perMeshMeshesPerSecond) + " meshes/s");
+        } finally {
+            batchedRuntime.shutdown();
+            perMeshRuntime.shutdown();
+        }
+    }
+
+    @Test
+    void sceneDrawsRegisteredMeshAndKeepsItUntilTheSceneChanges() throws Exception {
+        VulkanEngineRuntime runtime = new VulkanEngineRuntime();
+        try {
+            runtime.initialize(validConfig(), new NoopCallbacks());
+            MeshUploadResult registered = runtime.registerMesh(new MeshUploadRequest(
+                    "crate", MeshFormats.DMESH_V1, DmeshV1.encode(triangleVertices(0), new int[]{0, 1, 2}), 7L));
+            assertFalse(registered.reused());
+
+            runtime.loadScene(scene(MeshFormats.registeredMeshPath("crate")));
+            assertNotNull(runtime.render());
+
+            runtime.removeMesh(registered.meshHandle());
+            assertNotNull(runtime.render());
+
+            EngineException unknown = assertThrows(EngineException.class,
+                    () -> runtime.loadScene(scene(MeshFormats.registeredMeshPath("crate"))));
+            assertEquals(EngineErrorCode.INVALID_ARGUMENT, unknown.code());
+        } finally {
+            runtime.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsMalformedPayloadAndStillReleasesTheLease() throws Exception {
+        VulkanEngineRuntime runtime = new VulkanEngineRuntime();
+        AtomicInteger released = new AtomicInteger();
+        try (Arena arena = Arena.ofConfined()) {
+            runtime.initialize(validConfig(), new NoopCallbacks());
+            MemorySegment truncated = leasedTriangle(arena, 0).asSlice(0, DmeshV1.HEADER_BYTES + 8);
+            MeshUploadRequest request = MeshUploadRequest.lease(
+                    "broken", MeshFormats.DMESH_V1, truncated, 1L, false, released::incrementAndGet);
+
+            EngineException failure = assertThrows(EngineException.class, () -> runtime.registerMeshes(List.of(request)));
+
+            assertEquals(EngineErrorCode.INVALID_ARGUMENT, failure.code());
+            assertEquals(1, released.get());
+        } finally {
+            runtime.shutdown();
+        }
+    }
+
+    private static List<MeshUploadRequest> leasedBatch(Arena arena, String prefix, int firstContent, AtomicInteger released) {
+        List<MeshUploadRequest> batch = new ArrayList<>(MESH_COUNT);
+        for (int i = 0; i < MESH_COUNT; i++) {
+            int content = firstContent + i;
+            batch.add(MeshUploadRequest.lease(prefix + "-" + i, MeshFormats.DMESH_V1, leasedTriangle(arena, content),
+                    1000L + content, false, released::incrementAndGet));
+        }
+        return batch;
+    }
+
+    private static MemorySegment leasedTriangle(Arena arena, int content) {
+        int[] indices = {0, 1, 2};
+        MemorySegment payload = arena.allocate(DmeshV1.byteSize(3, indices.length));
+        DmeshV1.write(payload, triangleVertices(content), indices);
+        return payload;
+    }
+
+    private static float[] triangleVertices(int content) {
+        float offset = content * 0.01f;
+        return new float[]{
+                offset, -0.6f, 0f,        0f, 0f, 1f,    0.5f, 0f,    1f, 0f, 0f,
+                offset + 0.6f, 0.6f, 0f,  0f, 0f, 1f,    1f, 1f,      1f, 0f, 0f,
+                offset - 0.6f, 0.6f, 0f,  0f, 0f, 1f,    0f, 1f,      1f, 0f, 0f
+        };
+    }
+
+    private static EngineConfig validConfig() {
+        return new EngineConfig(
+                "vulkan",
+                "vulkan-mesh-registration-test",
+                1280,
+                720,
+                1.0f,
+                true,
+                60,
+                QualityTier.MEDIUM,
+                Path.of("."),
+                Map.of("vulkan.mockContext", "true")
+        );
+    }
+
+    private static SceneDescriptor scene(String meshAssetPath) {
+        CameraDesc camera = new CameraDesc("cam", new Vec3(0, 0, 5), new Vec3(0, 0, 0), 60f, 0.1f, 100f);
+        TransformDesc transform = new TransformDesc("xform", new Vec3(0, 0, 0), new Vec3(0, 0, 0), new Vec3(1, 1, 1));
+        MeshDesc mesh = new MeshDesc("mesh", "xform", "mat", meshAssetPath);
+        MaterialDesc material = new MaterialDesc("mat", new Vec3(1, 1, 1), 0.0f, 0.5f, null, null);
+        LightDesc sun = new LightDesc(
+                "sun",
+                new Vec3(0, 6, 0),
+                new Vec3(1, 1, 1),
+                3.0f,
+                50f,
+                false,
+                null,
+                LightType.DIRECTIONAL,
+                new Vec3(0, -1, 0),
+                15f,
+                30f
+        );
+        EnvironmentDesc environment = new EnvironmentDesc(new Vec3(0.1f, 0.1f, 0.1f), 0.2f, null);
+        FogDesc fog = new FogDesc(false, FogMode.NONE, new Vec3(0.5f, 0.5f, 0.5f), 0f, 0f, 0f, 0f, 0f, 0f);
+        return new SceneDescriptor(
+                "mesh-registration-scene",
+                List.of(camera),
+                "cam",
+                List.of(transform),
+                List.of(mesh),
+                List.of(material),
+                List.of(sun),
+                environment,
+                fog,
+                List.of(),
+                null
+        );
+    }
+
+    private static final class NoopCallbacks implements EngineHostCallbacks {
+        @Override
+        public void onEvent(EngineEvent event) {
+        }
+
+        @Override
+        public void onLog(LogMessage message) {
+        }
+
+        @Override
+        public void onError(EngineErrorReport error) {
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.dynamisengine.light.impl.vulkan.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class VulkanDrawListTest {
+    @Test
+    void radixSortMatchesStableComparisonSortAt10kAnd100kDraws() {
+        for (int draws : new int[]{10_000, 100_000}) {
+            Random random = new Random(draws);
+            VulkanDrawList list = new VulkanDrawList();
+            list.reset(draws);
+            long[] expectedKeys = new long[draws];
+            for (int i = 0; i < draws; i++) {
+                VulkanRenderCommandRecorder.MeshDrawCmd draw = draw(i, random.nextInt(5), random.nextInt(64), random.nextInt(256));
+                float depth = random.nextFloat() * 500f - 10f;
+                list.add(draw, depth);
+                expectedKeys[i] = VulkanDrawList.sortKey(draw, depth);
+            }
+
+            list.sort();
+
+            Integer[] expectedOrder = new Integer[draws];
+            for (int i = 0; i < draws; i++) {
+                expectedOrder[i] = i;
+            }
+            Arrays.sort(expectedOrder, Comparator.comparingLong((Integer i) -> expectedKeys[i]));
+            assertEquals(draws, list.size());
+            for (int i = 0; i < draws; i++) {
+                assertEquals(expectedOrder[i].intValue(), list.insertionIndexAt(i), "sorted position " + i);
+                assertEquals(expectedKeys[expectedOrder[i]], list.keyAt(i));
+                assertEquals(expectedOrder[i].intValue(), list.draws().get(i).uniformMeshIndex());
+            }
+        }
+    }
+
+    @Test
+    void drawPathStaysPrimaryAndDepthOrdersFrontToBackWithinABatch() {
+        VulkanDrawList list = new VulkanDrawList();
+        list.reset(4);
+        list.add(draw(0, 4, 1, 1), 1f);
+        list.add(draw(1, 0, 1, 1), 50f);
+        list.add(draw(2, 2, 1, 1), 2f);
+        list.add(draw(3, 0, 1, 1), 5f);
+
+        list.sort();
+
+        List<Integer> order = list.draws().stream().map(VulkanRenderCommandRecorder.MeshDrawCmd::uniformMeshIndex).toList();
+        assertEquals(List.of(3, 1, 2, 0), order);
+        int previousRank = -1;
+        for (VulkanRenderCommandRecorder.MeshDrawCmd draw : list.draws()) {
+            assertTrue(VulkanDrawList.drawPathRank(draw) >= previousRank);
+            previousRank = VulkanDrawList.drawPathRank(draw);
+        }
+        assertTrue(VulkanDrawList.depthBucket(5f) < VulkanDrawList.depthBucket(50f));
+        assertEquals(0, VulkanDrawList.depthBucket(-3f));
+    }
+
+    @Test
+    void truncateLimitsTheReusedViewAcrossFrames() {
+        VulkanDrawList list = new VulkanDrawList();
+        VulkanRenderCommandRecorder.MeshDrawCmd a = draw(0, 0, 1, 1);
+        VulkanRenderCommandRecorder.MeshDrawCmd b = draw(1, 0, 2, 1);
+        list.reset(2);
+        list.add(a, 1f);
+        list.add(b, 1f);
+        list.sort();
+        List<VulkanRenderCommandRecorder.MeshDrawCmd> view = list.draws();
+
+        list.truncate(1);
+        assertEquals(1, view.size());
+
+        list.reset(2);
+        list.add(b, 1f);
+        list.add(a, 1f);
+        list.sort();
+        assertSame(view, list.draws());
+        assertEquals(2, view.size());
+    }
+
+    private static VulkanRenderCommandRecorder.MeshDrawCmd draw(int meshIndex, int pathRank, int material, int mesh) {
+        boolean instanced = pathRank == 4;
+        boolean skinned = pathRank == 2 || pathRank == 3;
+        boolean morph = pathRank == 1 || pathRank == 3;
+        return new VulkanRenderCommandRecorder.MeshDrawCmd(
+                1000L + mesh,
+                2000L + mesh,
+                36,
+                3000L + material,
+                0,
+                meshIndex,
+                skinned,
+                skinned ? 7L : 0L,
+                0L,
+                0L,
+                0L,
+                morph,
+                morph ? 9L : 0L,
+                morph ? 2 : 0,
+                morph ? 24 : 0,
+                instanced,
+                instanced ? 16 : 1,
+                0,
+                instanced ? 11L : 0L,
+                instanced ? 12L : 0L,
+                0L
+        );
+    }
+}
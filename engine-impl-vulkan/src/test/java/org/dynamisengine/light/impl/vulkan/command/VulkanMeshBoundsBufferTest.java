@@ -0,0 +1,145 @@
+package org.dynamisengine.light.impl.vulkan.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.lwjgl.system.MemoryUtil.memAlloc;
+import static org.lwjgl.system.MemoryUtil.memAddress;
+import static org.lwjgl.system.MemoryUtil.memFree;
+import static org.lwjgl.system.MemoryUtil.memGetFloat;
+import static org.lwjgl.system.MemoryUtil.memGetInt;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.dynamisengine.light.impl.vulkan.model.VulkanGpuMesh;
+import org.junit.jupiter.api.Test;
+
+class VulkanMeshBoundsBufferTest {
+    private static final int CAPACITY = 64;
+
+    @Test
+    void unchangedFrameWritesZeroBytes() {
+        withBuffer(buffer -> {
+            List<VulkanGpuMesh> meshes = meshes(8);
+            List<VulkanRenderCommandRecorder.MeshDrawCmd> draws = draws(8);
+
+            buffer.upload(meshes, draws);
+            assertEquals(8 * VulkanMeshBoundsBuffer.STRIDE_BYTES, buffer.lastUploadBytes());
+
+            buffer.upload(meshes, draws);
+            assertEquals(0, buffer.lastUploadBytes());
+            assertEquals(0, buffer.lastDirtySlots());
+            assertEquals(8L * VulkanMeshBoundsBuffer.STRIDE_BYTES, buffer.totalUploadBytes());
+        });
+    }
+
+    @Test
+    void movedMeshRewritesOnlyItsSlot() {
+        withBuffer(buffer -> {
+            List<VulkanGpuMesh> meshes = meshes(8);
+            List<VulkanRenderCommandRecorder.MeshDrawCmd> draws = draws(8);
+            buffer.upload(meshes, draws);
+
+            meshes.get(5).modelMatrix = translation(100f, 0f, 0f);
+            buffer.upload(meshes, draws);
+
+            assertEquals(1, buffer.lastDirtySlots());
+            assertEquals(VulkanMeshBoundsBuffer.STRIDE_BYTES, buffer.lastUploadBytes());
+        });
+    }
+
+    @Test
+    void addAndRemoveChurnWritesOnlyNewOrReusedSlots() {
+        withBuffer(buffer -> {
+            List<VulkanGpuMesh> meshes = meshes(10);
+            buffer.upload(meshes, draws(8));
+
+            buffer.upload(meshes, draws(10));
+            assertEquals(2, buffer.lastDirtySlots());
+
+            buffer.upload(meshes, draws(6));
+            assertEquals(0, buffer.lastUploadBytes());
+
+            buffer.upload(meshes, draws(10));
+            assertEquals(0, buffer.lastUploadBytes());
+
+            List<VulkanRenderCommandRecorder.MeshDrawCmd> shifted = new ArrayList<>(draws(10));
+            shifted.remove(3);
+            buffer.upload(meshes, shifted);
+            assertEquals(6, buffer.lastDirtySlots());
+        });
+    }
+
+    @Test
+    void slotsHoldWorldSpaceSpheresInDrawOrder() {
+        ByteBuffer memory = memAlloc(CAPACITY * VulkanMeshBoundsBuffer.STRIDE_BYTES);
+        try {
+            VulkanMeshBoundsBuffer buffer = VulkanMeshBoundsBuffer.wrapHostMemory(memAddress(memory), CAPACITY);
+            List<VulkanGpuMesh> meshes = meshes(4);
+            buffer.upload(meshes, List.of(draw(3), draw(1)));
+
+            long address = memAddress(memory);
+            assertEquals(30f, memGetFloat(address));
+            assertEquals(3, memGetInt(address + 16L));
+            assertEquals(10f, memGetFloat(address + VulkanMeshBoundsBuffer.STRIDE_BYTES));
+            assertEquals(1, memGetInt(address + VulkanMeshBoundsBuffer.STRIDE_BYTES + 16L));
+        } finally {
+            memFree(memory);
+        }
+    }
+
+    private static void withBuffer(Consumer<VulkanMeshBoundsBuffer> body) {
+        ByteBuffer memory = memAlloc(CAPACITY * VulkanMeshBoundsBuffer.STRIDE_BYTES);
+        try {
+            body.accept(VulkanMeshBoundsBuffer.wrapHostMemory(memAddress(memory), CAPACITY));
+        } finally {
+            memFree(memory);
+        }
+    }
+
+    private static List<VulkanRenderCommandRecorder.MeshDrawCmd> draws(int count) {
+        List<VulkanRenderCommandRecorder.MeshDrawCmd> out = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            out.add(draw(i));
+        }
+        return out;
+    }
+
+    private static VulkanRenderCommandRecorder.MeshDrawCmd draw(int meshIndex) {
+        return new VulkanRenderCommandRecorder.MeshDrawCmd(
+                1L, 2L, 36, 3L, 0, meshIndex,
+                false, 0L, 0L, 0L, 0L,
+                false, 0L, 0, 0,
+                false, 1, 0, 0L, 0L, 0L
+        );
+    }
+
+    private static List<VulkanGpuMesh> meshes(int count) {
+        List<VulkanGpuMesh> out = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            out.add(mesh(translation(i * 10f, 0f, 0f)));
+        }
+        return out;
+    }
+
+    private static float[] translation(float x, float y, float z) {
+        return new float[]{1f, 0f, 0f, 0f, 0f, 1f, 0f, 0f, 0f, 0f, 1f, 0f, x, y, z, 1f};
+    }
+
+    private static VulkanGpuMesh mesh(float[] model) {
+        return new VulkanGpuMesh(
+                1L, 0L, 2L, 0L, 36, 0L, 0L,
+                model, model.clone(),
+                1f, 1f, 1f, 0f, 0.5f, 0f,
+                false, false, 0,
+                0f, 0f, 0f, 0f,
+                null, null, null, null,
+                "mesh", 0, 0,
+                0f, 0f, 0f, 1f,
+                null, null, null, null,
+                false, 0, null,
+                0L, 0L, 0L,
+                0, 0, null, null
+        );
+    }
+}
@@ -1,7 +1,11 @@
 package org.dynamisengine.light.impl.vulkan.command;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.Arrays;
+import java.util.Map;
+import org.dynamisengine.light.impl.common.culling.InstanceFrustumCuller;
 import org.junit.jupiter.api.Test;
 
 class VulkanRenderCommandRecorderTest {
@@ -35,6 +39,44 @@ class VulkanRenderCommandRecorderTest {
         assertEquals(18, VulkanRenderCommandRecorder.shadowPassCount(inputs));
     }
 
+    @Test
+    void offScreenInstancedCasterStillReachesShadowPass() {
+        float[] models = new float[2 * 16];
+        writeTranslation(models, 0, 0.5f, -0.5f, 0.5f);
+        writeTranslation(models, 1, 3f, 0f, 0.5f);
+        int[] cameraVisible = new int[2];
+        int visibleCount = InstanceFrustumCuller.cullInstances(
+                InstanceFrustumCuller.frustumPlanes(null), 0f, 0f, 0f, 0.1f, models, 16, 2, cameraVisible);
+        assertEquals(1, visibleCount);
+
+        // Camera culling compacts the front region behind set 11; set 12 keeps the uploaded records.
+        Map<Long, int[]> recordsBySet = Map.of(
+                11L, Arrays.copyOf(cameraVisible, visibleCount),
+                12L, new int[]{0, 1}
+        );
+        VulkanRenderCommandRecorder.MeshDrawCmd caster = new VulkanRenderCommandRecorder.MeshDrawCmd(
+                1L, 2L, 36, 3L, 0, 0,
+                false, 0L, 0L, 0L, 0L,
+                false, 0L, 0, 0,
+                true, 2, 0, 11L, 12L, 0L
+        );
+
+        int[] shadowRecords = recordsBySet.get(caster.unculledInstanceDescriptorSet());
+        assertEquals(caster.instanceCount(), shadowRecords.length);
+        assertArrayEquals(new int[]{0, 1}, shadowRecords);
+    }
+
+    private static void writeTranslation(float[] models, int instance, float x, float y, float z) {
+        int base = instance * 16;
+        models[base] = 1f;
+        models[base + 5] = 1f;
+        models[base + 10] = 1f;
+        models[base + 12] = x;
+        models[base + 13] = y;
+        models[base + 14] = z;
+        models[base + 15] = 1f;
+    }
+
     private static VulkanRenderCommandRecorder.ShadowPassInputs shadowInputs(
             int shadowCascadeCount,
             boolean shadowEnabled,
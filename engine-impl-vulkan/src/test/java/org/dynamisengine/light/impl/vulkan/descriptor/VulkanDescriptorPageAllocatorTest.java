@@ -0,0 +1,189 @@
+package org.dynamisengine.light.impl.vulkan.descriptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.dynamisengine.light.api.error.EngineException;
+import org.junit.jupiter.api.Test;
+
+class VulkanDescriptorPageAllocatorTest {
+    private static final long LAYOUT = 42L;
+
+    @Test
+    void growsByAddingDoubledPagesWithoutTouchingExistingOnes() throws Exception {
+        FakePools pools = new FakePools();
+        VulkanDescriptorPageAllocator allocator = new VulkanDescriptorPageAllocator(pools, 2, 4, 64);
+
+        long[] first = allocator.allocate(LAYOUT, 3);
+        long[] second = allocator.allocate(LAYOUT, 10);
+
+        assertEquals(3, first.length);
+        assertEquals(10, second.length);
+        assertEquals(2, allocator.poolCount());
+        assertEquals(4 + 9, allocator.setCapacity());
+        assertEquals(13, allocator.liveSets());
+        assertEquals(0, pools.resets);
+        assertEquals(0, pools.destroyed);
+        assertEquals(13, pools.distinctSets());
+    }
+
+    @Test
+    void sceneChurnRecyclesRetiredPagesOnceFramesInFlightHavePassed() throws Exception {
+        FakePools pools = new FakePools();
+        VulkanDescriptorPageAllocator allocator = new VulkanDescriptorPageAllocator(pools, 2, 16, 64);
+
+        long frame = 0;
+        for (int scene = 0; scene < 20; scene++) {
+            allocator.retireAll();
+            allocator.allocate(LAYOUT, 10 + (scene % 3));
+            for (int i = 0; i < 3; i++) {
+                allocator.processRetirements(frame++);
+            }
+        }
+
+        assertEquals(2, allocator.poolCount());
+        assertEquals(2, allocator.pagesCreated());
+        assertEquals(19, allocator.pagesRecycled());
+        assertEquals(12, allocator.setHighWaterMark());
+        assertEquals(0, pools.destroyed);
+    }
+
+    @Test
+    void retiredPagesStayUntouchedWhileFramesMayStillUseThem() throws Exception {
+        FakePools pools = new FakePools();
+        VulkanDescriptorPageAllocator allocator = new VulkanDescriptorPageAllocator(pools, 3, 8, 8);
+        allocator.processRetirements(10);
+        allocator.allocate(LAYOUT, 8);
+
+        allocator.retireAll();
+        allocator.processRetirements(11);
+        allocator.processRetirements(12);
+        allocator.processRetirements(13);
+        assertEquals(0, pools.resets);
+        allocator.allocate(LAYOUT, 8);
+        assertEquals(2, allocator.poolCount());
+
+        allocator.processRetirements(14);
+        assertEquals(1, pools.resets);
+        assertEquals(1, allocator.pagesRecycled());
+    }
+
+    @Test
+    void exhaustedPagesCountAsAllocationFailuresAndSpillIntoNewPages() throws Exception {
+        FakePools pools = new FakePools();
+        pools.fragmentAfter = 2;
+        VulkanDescriptorPageAllocator allocator = new VulkanDescriptorPageAllocator(pools, 2, 8, 8);
+
+        allocator.allocate(LAYOUT, 2);
+        long[] sets = allocator.allocate(LAYOUT, 4);
+
+        assertEquals(4, sets.length);
+        assertEquals(1, allocator.allocationFailures());
+        assertEquals(2, allocator.poolCount());
+        assertEquals(6, allocator.setHighWaterMark());
+    }
+
+    @Test
+    void creationFailureIsReportedAsEngineException() {
+        FakePools pools = new FakePools();
+        pools.failCreate = true;
+        VulkanDescriptorPageAllocator allocator = new VulkanDescriptorPageAllocator(pools, 2, 8, 8);
+
+        assertThrows(EngineException.class, () -> allocator.allocate(LAYOUT, 1));
+        assertEquals(1, allocator.allocationFailures());
+    }
+
+    @Test
+    void replacedAllocatorPagesAreDestroyedOnlyAfterFramesInFlight() throws Exception {
+        FakePools pools = new FakePools();
+        VulkanDescriptorPageAllocator previous = new VulkanDescriptorPageAllocator(pools, 2, 8, 8);
+        previous.processRetirements(20);
+        previous.allocate(LAYOUT, 6);
+
+        VulkanDescriptorPageAllocator next = new VulkanDescriptorPageAllocator(pools, 2, 8, 8);
+        next.retireAllocator(previous);
+        next.retireAll();
+        next.allocate(LAYOUT, 4);
+        assertEquals(2, next.poolCount());
+
+        next.processRetirements(21);
+        assertEquals(0, pools.destroyed);
+        next.processRetirements(22);
+        next.processRetirements(23);
+        assertEquals(1, pools.destroyed);
+        assertEquals(1, next.poolCount());
+        assertEquals(0, pools.resets);
+    }
+
+    @Test
+    void destroyReleasesEveryPage() throws Exception {
+        FakePools pools = new FakePools();
+        VulkanDescriptorPageAllocator allocator = new VulkanDescriptorPageAllocator(pools, 1, 2, 2);
+        allocator.allocate(LAYOUT, 5);
+        allocator.retireAll();
+        allocator.allocate(LAYOUT, 1);
+
+        allocator.destroy();
+
+        assertEquals(4, pools.destroyed);
+        assertEquals(0, allocator.poolCount());
+        assertTrue(pools.live.isEmpty());
+    }
+
+    private static final class FakePools implements VulkanDescriptorPageAllocator.PoolOps {
+        private final Map<Long, int[]> live = new HashMap<>();
+        private final Set<Long> handedOut = new HashSet<>();
+        private long nextHandle = 1;
+        private long nextSet = 1000;
+        private boolean failCreate;
+        private int fragmentAfter = Integer.MAX_VALUE;
+        private int resets;
+        private int destroyed;
+
+        @Override
+        public long createPool(int maxSets) {
+            if (failCreate) {
+                return 0L;
+            }
+            long handle = nextHandle++;
+            live.put(handle, new int[]{maxSets, 0});
+            return handle;
+        }
+
+        @Override
+        public boolean allocate(long pool, long layout, int count, long[] out, int offset) {
+            int[] state = live.get(pool);
+            if (state == null || layout != LAYOUT || state[1] + count > state[0] || state[1] >= fragmentAfter) {
+                return false;
+            }
+            for (int i = 0; i < count; i++) {
+                out[offset + i] = nextSet;
+                handedOut.add(nextSet++);
+            }
+            state[1] += count;
+            return true;
+        }
+
+        @Override
+        public boolean resetPool(long pool) {
+            live.get(pool)[1] = 0;
+            resets++;
+            return true;
+        }
+
+        @Override
+        public void destroyPool(long pool) {
+            live.remove(pool);
+            destroyed++;
+        }
+
+        int distinctSets() {
+            return handedOut.size();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package org.dynamisengine.light.impl.vulkan.descriptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.dynamisengine.light.impl.vulkan.model.VulkanGpuMesh;
+import org.junit.jupiter.api.Test;
+
+class VulkanTextureDescriptorPoolManagerTest {
+    private static final long LAYOUT = 42L;
+
+    @Test
+    void secondBatchLeavesFirstBatchSetsUntouched() throws Exception {
+        CountingPools pools = new CountingPools();
+        VulkanDescriptorPageAllocator pages = new VulkanDescriptorPageAllocator(pools, 2, 4, 64);
+        List<VulkanGpuMesh> firstBatch = meshes(3);
+
+        List<VulkanGpuMesh> written = VulkanTextureDescriptorPoolManager.assignSets(pages, firstBatch, shared(7L));
+        long[] firstSets = setsOf(firstBatch);
+
+        List<VulkanGpuMesh> scene = new ArrayList<>(firstBatch);
+        List<VulkanGpuMesh> secondBatch = meshes(2);
+        scene.addAll(secondBatch);
+        List<VulkanGpuMesh> rewritten = VulkanTextureDescriptorPoolManager.assignSets(pages, scene, shared(7L));
+
+        assertEquals(firstBatch, written);
+        assertEquals(secondBatch, rewritten);
+        for (int i = 0; i < firstBatch.size(); i++) {
+            assertEquals(firstSets[i], firstBatch.get(i).textureDescriptorSet);
+        }
+        for (VulkanGpuMesh mesh : secondBatch) {
+            assertTrue(mesh.textureDescriptorSet > firstSets[firstSets.length - 1]);
+        }
+        assertEquals(5, pages.liveSets());
+        assertEquals(5, pools.allocated);
+        pages.processRetirements(10);
+        assertEquals(0, pools.resets);
+    }
+
+    @Test
+    void changedShadowViewRetiresAndRewritesEverySet() throws Exception {
+        CountingPools pools = new CountingPools();
+        VulkanDescriptorPageAllocator pages = new VulkanDescriptorPageAllocator(pools, 2, 4, 64);
+        List<VulkanGpuMesh> scene = meshes(3);
+        VulkanTextureDescriptorPoolManager.assignSets(pages, scene, shared(7L));
+        long[] before = setsOf(scene);
+
+        List<VulkanGpuMesh> written = VulkanTextureDescriptorPoolManager.assignSets(pages, scene, shared(8L));
+
+        assertEquals(scene, written);
+        for (int i = 0; i < scene.size(); i++) {
+            assertNotEquals(before[i], scene.get(i).textureDescriptorSet);
+        }
+        assertEquals(3, pages.liveSets());
+        assertEquals(shared(8L), pages.writtenBindings());
+    }
+
+    @Test
+    void unchangedSceneWritesNothing() throws Exception {
+        CountingPools pools = new CountingPools();
+        VulkanDescriptorPageAllocator pages = new VulkanDescriptorPageAllocator(pools, 2, 4, 64);
+        List<VulkanGpuMesh> scene = meshes(4);
+        VulkanTextureDescriptorPoolManager.assignSets(pages, scene, shared(7L));
+
+        List<VulkanGpuMesh> written = VulkanTextureDescriptorPoolManager.assignSets(pages, scene, shared(7L));
+
+        assertTrue(written.isEmpty());
+        assertEquals(4, pools.allocated);
+    }
+
+    @Test
+    void setsLeftByRemovedMeshesAreCompactedOnceTheyOutnumberLiveMeshes() throws Exception {
+        CountingPools pools = new CountingPools();
+        VulkanDescriptorPageAllocator pages = new VulkanDescriptorPageAllocator(pools, 2, 4, 64);
+        List<VulkanGpuMesh> scene = meshes(6);
+        VulkanTextureDescriptorPoolManager.assignSets(pages, scene, shared(7L));
+
+        List<VulkanGpuMesh> remaining = new ArrayList<>(scene.subList(0, 2));
+        remaining.add(meshes(1).get(0));
+        List<VulkanGpuMesh> written = VulkanTextureDescriptorPoolManager.assignSets(pages, remaining, shared(7L));
+
+        assertEquals(remaining, written);
+        assertEquals(3, pages.liveSets());
+    }
+
+    private static long[] setsOf(List<VulkanGpuMesh> meshes) {
+        long[] sets = new long[meshes.size()];
+        for (int i = 0; i < sets.length; i++) {
+            sets[i] = meshes.get(i).textureDescriptorSet;
+            assertNotEquals(0L, sets[i]);
+        }
+        return sets;
+    }
+
+    private static VulkanTextureDescriptorPoolManager.SharedBindings shared(long shadowDepthImageView) {
+        return new VulkanTextureDescriptorPoolManager.SharedBindings(
+                LAYOUT, shadowDepthImageView, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L
+        );
+    }
+
+    private static List<VulkanGpuMesh> meshes(int count) {
+        List<VulkanGpuMesh> out = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            float[] model = {1f, 0f, 0f, 0f, 0f, 1f, 0f, 0f, 0f, 0f, 1f, 0f, 0f, 0f, 0f, 1f};
+            out.add(new VulkanGpuMesh(
+                    1L, 0L, 2L, 0L, 36, 0L, 0L,
+                    model, model.clone(),
+                    1f, 1f, 1f, 0f, 0.5f, 0f,
+                    false, false, 0,
+                    0f, 0f, 0f, 0f,
+                    null, null, null, null,
+                    "mesh", 0, 0,
+                    0f, 0f, 0f, 1f,
+                    null, null, null, null,
+                    false, 0, null,
+                    0L, 0L, 0L,
+                    0, 0, null, null
+            ));
+        }
+        return out;
+    }
+
+    private static final class CountingPools implements VulkanDescriptorPageAllocator.PoolOps {
+        private long nextHandle = 1;
+        private long nextSet = 1000;
+        private int allocated;
+        private int resets;
+
+        @Override
+        public long createPool(int maxSets) {
+            return nextHandle++;
+        }
+
+        @Override
+        public boolean allocate(long pool, long layout, int count, long[] out, int offset) {
+            for (int i = 0; i < count; i++) {
+                out[offset + i] = nextSet++;
+            }
+            allocated += count;
+            return true;
+        }
+
+        @Override
+        public boolean resetPool(long pool) {
+            resets++;
+            return true;
+        }
+
+        @Override
+        public void destroyPool(long pool) {
+        }
+    }
+}
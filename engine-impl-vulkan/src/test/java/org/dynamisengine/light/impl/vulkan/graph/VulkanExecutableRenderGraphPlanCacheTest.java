@@ -0,0 +1,118 @@
+package org.dynamisengine.light.impl.vulkan.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.dynamisengine.light.spi.render.RenderPassContribution;
+import org.dynamisengine.light.spi.render.RenderPassPhase;
+import org.junit.jupiter.api.Test;
+
+class VulkanExecutableRenderGraphPlanCacheTest {
+    @Test
+    void cachedPlanMatchesFreshCompileAndRebindsCallbacks() {
+        VulkanExecutableRenderGraphPlanCache cache = new VulkanExecutableRenderGraphPlanCache();
+        List<String> executed = new ArrayList<>();
+
+        VulkanExecutableRenderGraphPlan first = cache.plan(frame(executed, "frame0"), VulkanAaPostRenderGraphPlanner.defaultImportedResources());
+        VulkanExecutableRenderGraphPlan cached = cache.plan(frame(executed, "frame1"), VulkanAaPostRenderGraphPlanner.defaultImportedResources());
+        VulkanExecutableRenderGraphPlan fresh = new VulkanExecutableRenderGraphPlanner()
+                .compile(frame(executed, "fresh"), VulkanAaPostRenderGraphPlanner.defaultImportedResources());
+
+        assertSame(first.metadataPlan(), cached.metadataPlan());
+        assertSame(first.barrierPlan(), cached.barrierPlan());
+        assertSame(first.timestampSlots(), cached.timestampSlots());
+        assertEquals(2 * cached.metadataPlan().orderedNodes().size(), cached.timestampSlots().queryCount());
+        assertEquals(fresh.metadataPlan(), cached.metadataPlan());
+        assertEquals(fresh.barrierPlan(), cached.barrierPlan());
+        assertEquals(fresh.barrierPlan().debugDump(), cached.barrierPlan().debugDump());
+        assertEquals(fresh.executeCallbackByNodeId().keySet(), cached.executeCallbackByNodeId().keySet());
+
+        for (VulkanRenderGraphNode node : cached.metadataPlan().orderedNodes()) {
+            cached.executeCallback(node.nodeId()).run();
+        }
+        assertEquals(List.of("frame1:shadow", "frame1:main", "frame1:post#0", "frame1:post#1"), executed);
+        assertEquals(new VulkanExecutableRenderGraphPlanCache.Stats(1, 1, 0, 1), cache.stats());
+    }
+
+    @Test
+    void structuralChangesInvalidateAndRecompile() {
+        VulkanExecutableRenderGraphPlanCache cache = new VulkanExecutableRenderGraphPlanCache();
+        List<String> executed = new ArrayList<>();
+        List<VulkanImportedResource> imports = VulkanAaPostRenderGraphPlanner.defaultImportedResources();
+
+        VulkanExecutableRenderGraphPlan withPost = cache.plan(frame(executed, "a"), imports);
+        List<VulkanExecutablePassDeclaration> noPost = frame(executed, "b").subList(0, 2);
+        VulkanExecutableRenderGraphPlan withoutPost = cache.plan(noPost, imports);
+        VulkanExecutableRenderGraphPlan withPostAgain = cache.plan(frame(executed, "c"), imports);
+        VulkanExecutableRenderGraphPlan withoutImports = cache.plan(frame(executed, "d"), List.of());
+
+        assertNotSame(withPost.metadataPlan(), withoutPost.metadataPlan());
+        assertEquals(2, withoutPost.metadataPlan().orderedNodes().size());
+        assertSame(withPost.metadataPlan(), withPostAgain.metadataPlan());
+        assertNotSame(withPost.metadataPlan(), withoutImports.metadataPlan());
+        assertEquals(
+                new VulkanExecutableRenderGraphPlanner().compile(frame(executed, "e"), List.of()).metadataPlan(),
+                withoutImports.metadataPlan()
+        );
+        assertEquals(new VulkanExecutableRenderGraphPlanCache.Stats(1, 3, 3, 3), cache.stats());
+    }
+
+    @Test
+    void leastRecentlyUsedTemplateIsDroppedAtCapacity() {
+        VulkanExecutableRenderGraphPlanCache cache = new VulkanExecutableRenderGraphPlanCache(new VulkanExecutableRenderGraphPlanner(), 1);
+        List<String> executed = new ArrayList<>();
+
+        cache.plan(frame(executed, "a"), List.of());
+        cache.plan(frame(executed, "b").subList(0, 1), List.of());
+        cache.plan(frame(executed, "c"), List.of());
+
+        assertEquals(new VulkanExecutableRenderGraphPlanCache.Stats(0, 3, 2, 1), cache.stats());
+    }
+
+    @Test
+    void transientPlanFollowsExtentAndReportsPackedAndUnpackedBytes() {
+        VulkanExecutableRenderGraphPlanCache packed = new VulkanExecutableRenderGraphPlanCache(true);
+        VulkanExecutableRenderGraphPlanCache unpacked = new VulkanExecutableRenderGraphPlanCache(false);
+        List<String> executed = new ArrayList<>();
+        List<VulkanImportedResource> imports = VulkanAaPostRenderGraphPlanner.defaultImportedResources();
+        VulkanExecutableRenderGraphPlanCache.TransientExtent small = new VulkanExecutableRenderGraphPlanCache.TransientExtent(640, 360, 512);
+        VulkanExecutableRenderGraphPlanCache.TransientExtent large = new VulkanExecutableRenderGraphPlanCache.TransientExtent(1280, 720, 1024);
+
+        VulkanExecutableRenderGraphPlan first = packed.plan(frame(executed, "a"), imports, small);
+        VulkanExecutableRenderGraphPlan reused = packed.plan(frame(executed, "b"), imports, small);
+        VulkanExecutableRenderGraphPlan resized = packed.plan(frame(executed, "c"), imports, large);
+        unpacked.plan(frame(executed, "d"), imports, large);
+
+        assertSame(first.transientPackingPlan(), reused.transientPackingPlan());
+        assertSame(first.metadataPlan(), resized.metadataPlan());
+        assertNotSame(first.transientPackingPlan(), resized.transientPackingPlan());
+        assertEquals(new VulkanExecutableRenderGraphPlanCache.Stats(2, 1, 0, 1), packed.stats());
+
+        VulkanExecutableRenderGraphPlanCache.TransientMemoryStats on = packed.transientMemory();
+        VulkanExecutableRenderGraphPlanCache.TransientMemoryStats off = unpacked.transientMemory();
+        assertTrue(on.packingEnabled());
+        assertEquals(3, on.resources());
+        assertEquals(2, on.heaps());
+        assertTrue(on.peakTransientBytes() < off.peakTransientBytes());
+        assertTrue(off.peakTransientBytes() >= off.unpackedTransientBytes());
+        assertEquals(off.unpackedTransientBytes(), on.unpackedTransientBytes());
+        assertEquals(3, off.heaps());
+    }
+
+    private static List<VulkanExecutablePassDeclaration> frame(List<String> executed, String tag) {
+        return new VulkanExecutableRenderGraphBuilder()
+                .addPass("shadow", pass("shadow", RenderPassPhase.PRE_MAIN, List.of(), List.of("shadow_map")), () -> executed.add(tag + ":shadow"))
+                .addPass("main", pass("main", RenderPassPhase.MAIN, List.of("shadow_map"), List.of("scene_color", "depth")), () -> executed.add(tag + ":main"))
+                .addPass("post", pass("tonemap", RenderPassPhase.POST_MAIN, List.of("scene_color"), List.of("post_intermediate")), () -> executed.add(tag + ":post#0"))
+                .addPass("post", pass("resolve", RenderPassPhase.POST_MAIN, List.of("post_intermediate"), List.of("resolved_color")), () -> executed.add(tag + ":post#1"))
+                .build();
+    }
+
+    private static RenderPassContribution pass(String id, RenderPassPhase phase, List<String> reads, List<String> writes) {
+        return new RenderPassContribution(id, phase, reads, writes, false);
+    }
+}
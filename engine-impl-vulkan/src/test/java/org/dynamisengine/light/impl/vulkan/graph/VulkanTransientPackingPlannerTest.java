@@ -0,0 +1,112 @@
+package org.dynamisengine.light.impl.vulkan.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.dynamisengine.light.spi.render.RenderPassContribution;
+import org.dynamisengine.light.spi.render.RenderPassPhase;
+import org.dynamisengine.light.spi.render.RenderResourceType;
+import org.junit.jupiter.api.Test;
+
+class VulkanTransientPackingPlannerTest {
+    private final VulkanTransientPackingPlanner planner = new VulkanTransientPackingPlanner();
+
+    @Test
+    void residentsOfAHeapNeverOverlapInLifetime() {
+        VulkanRenderGraphPlan graph = postChain();
+        List<VulkanTransientResourceRequest> requests = VulkanTransientPackingPlanner.mockRequests(graph, 1920, 1080, 2048);
+
+        VulkanTransientPackingPlan plan = planner.plan(graph, requests, true);
+
+        assertEquals(requests.size(), plan.allocations().size());
+        for (VulkanTransientPackingPlan.Heap heap : plan.heaps()) {
+            List<VulkanTransientPackingPlan.Allocation> residents = heap.residents().stream().map(plan::allocation).toList();
+            for (int i = 0; i < residents.size(); i++) {
+                VulkanTransientPackingPlan.Allocation a = residents.get(i);
+                assertTrue(heap.sizeBytes() >= a.sizeBytes());
+                for (int j = i + 1; j < residents.size(); j++) {
+                    VulkanTransientPackingPlan.Allocation b = residents.get(j);
+                    assertTrue(a.lastNodeIndex() < b.firstNodeIndex() || b.lastNodeIndex() < a.firstNodeIndex(),
+                            a.resourceName() + " and " + b.resourceName() + " are live together in heap " + heap.index());
+                }
+            }
+        }
+        for (int node = 0; node < graph.orderedNodes().size(); node++) {
+            for (VulkanTransientPackingPlan.Heap heap : plan.heaps()) {
+                final int nodeIndex = node;
+                long live = heap.residents().stream()
+                        .map(plan::allocation)
+                        .filter(a -> a.firstNodeIndex() <= nodeIndex && nodeIndex <= a.lastNodeIndex())
+                        .count();
+                assertTrue(live <= 1L, "heap " + heap.index() + " has " + live + " live residents at node " + nodeIndex);
+            }
+        }
+    }
+
+    @Test
+    void packingReducesPeakTransientBytes() {
+        VulkanRenderGraphPlan graph = postChain();
+        List<VulkanTransientResourceRequest> requests = VulkanTransientPackingPlanner.mockRequests(graph, 1920, 1080, 2048);
+
+        VulkanTransientPackingPlan packed = planner.plan(graph, requests, true);
+        VulkanTransientPackingPlan separate = planner.plan(graph, requests, false);
+
+        assertEquals(requests.size(), separate.heaps().size());
+        assertEquals(separate.unpackedTransientBytes(), packed.unpackedTransientBytes());
+        assertTrue(packed.peakTransientBytes() < separate.peakTransientBytes(),
+                packed.peakTransientBytes() + " >= " + separate.peakTransientBytes());
+        assertTrue(packed.heaps().stream().anyMatch(heap -> heap.residents().size() > 1));
+    }
+
+    @Test
+    void importedResourcesAndIncompatibleMemoryAreNeverShared() {
+        VulkanRenderGraphPlan graph = postChain();
+        List<VulkanTransientResourceRequest> requests = List.of(
+                new VulkanTransientResourceRequest("scene_input", RenderResourceType.SAMPLED_IMAGE, 1L << 20, 256, 1),
+                new VulkanTransientResourceRequest("shadow_map", RenderResourceType.ATTACHMENT, 1L << 20, 256, 0b01),
+                new VulkanTransientResourceRequest("bloom_a", RenderResourceType.ATTACHMENT, 1L << 20, 256, 0b10),
+                new VulkanTransientResourceRequest("post_color", RenderResourceType.ATTACHMENT, 1L << 20, 256, 0b10),
+                new VulkanTransientResourceRequest("luma_buffer", RenderResourceType.STORAGE_BUFFER, 1L << 20, 256, 0b11)
+        );
+
+        VulkanTransientPackingPlan plan = planner.plan(graph, requests, true);
+
+        assertNull(plan.allocation("scene_input"));
+        assertNotEquals(plan.allocation("shadow_map").heapIndex(), plan.allocation("bloom_a").heapIndex());
+        assertEquals(plan.allocation("bloom_a").heapIndex(), plan.allocation("post_color").heapIndex());
+        VulkanTransientPackingPlan.Heap bufferHeap = plan.heaps().get(plan.allocation("luma_buffer").heapIndex());
+        assertEquals(List.of("luma_buffer"), bufferHeap.residents());
+    }
+
+    /**
+     * shadow -> main -> bloom down/up -> tonemap -> luma -> fxaa, with scene_input imported.
+     */
+    private static VulkanRenderGraphPlan postChain() {
+        List<VulkanExecutablePassDeclaration> passes = new VulkanExecutableRenderGraphBuilder()
+                .addPass("shadow", pass("shadow", RenderPassPhase.PRE_MAIN, List.of(), List.of("shadow_map")), () -> { })
+                .addPass("main", pass("main", RenderPassPhase.MAIN, List.of("shadow_map", "scene_input"), List.of("hdr_color")), () -> { })
+                .addPass("bloom", pass("bloom_down", RenderPassPhase.POST_MAIN, List.of("hdr_color"), List.of("bloom_a")), () -> { })
+                .addPass("bloom", pass("bloom_up", RenderPassPhase.POST_MAIN, List.of("bloom_a"), List.of("bloom_b")), () -> { })
+                .addPass("post", pass("tonemap", RenderPassPhase.POST_MAIN, List.of("hdr_color", "bloom_b"), List.of("post_color")), () -> { })
+                .addPass("post", pass("luma", RenderPassPhase.POST_MAIN, List.of("post_color"), List.of("luma_buffer")), () -> { })
+                .addPass("post", pass("fxaa", RenderPassPhase.POST_MAIN, List.of("post_color", "luma_buffer"), List.of("resolved_color")), () -> { })
+                .build();
+        List<VulkanImportedResource> imports = List.of(new VulkanImportedResource(
+                "scene_input",
+                RenderResourceType.SAMPLED_IMAGE,
+                VulkanImportedResource.ResourceLifetime.PER_FRAME,
+                VulkanImportedResource.ResourceProvider.EXTERNAL_SYSTEM
+        ));
+        VulkanRenderGraphPlan plan = new VulkanExecutableRenderGraphPlanner().compile(passes, imports).metadataPlan();
+        assertFalse(plan.hasErrors(), plan.validationIssues().toString());
+        return plan;
+    }
+
+    private static RenderPassContribution pass(String passId, RenderPassPhase phase, List<String> reads, List<String> writes) {
+        return new RenderPassContribution(passId, phase, reads, writes, false);
+    }
+}
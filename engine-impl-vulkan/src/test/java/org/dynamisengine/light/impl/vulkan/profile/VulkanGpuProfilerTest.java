@@ -0,0 +1,210 @@
+package org.dynamisengine.light.impl.vulkan.profile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.dynamisengine.light.impl.vulkan.graph.VulkanRenderGraphNode;
+import org.dynamisengine.light.impl.vulkan.graph.VulkanRenderGraphPlan;
+import org.dynamisengine.light.impl.vulkan.graph.VulkanRenderGraphTimestampSlots;
+import org.dynamisengine.light.spi.render.RenderPassPhase;
+import org.junit.jupiter.api.Test;
+
+class VulkanGpuProfilerTest {
+    private static final String SHADOW = "feature.shadow:shadow_passes#0";
+    private static final String MAIN = "feature.main:main_geometry#0";
+    private static final String POST = "feature.post:post_composite#0";
+
+    @Test
+    void planNodesUseTheirCompiledBlockAndNestedScopesFollowIt() {
+        VulkanRenderGraphTimestampSlots slots = slots();
+        VulkanGpuProfiler profiler = new VulkanGpuProfiler(2, 64, 1.0, 8);
+
+        profiler.beginFrame(0);
+        assertEquals(0, profiler.beginScope(VulkanGpuProfiler.FRAME_SCOPE));
+        int base = profiler.reservePlan(slots);
+        assertEquals(2, base);
+        assertEquals(2, profiler.beginPlannedScope(base, slots, 0));
+        assertEquals(8, profiler.beginScope("cascade0"));
+        assertEquals(9, profiler.endScope());
+        assertEquals(3, profiler.endScope());
+        assertEquals(4, profiler.beginPlannedScope(base, slots, 1));
+        assertEquals(5, profiler.endScope());
+        assertEquals(6, profiler.beginPlannedScope(base, slots, 2));
+        assertEquals(7, profiler.endScope());
+        assertEquals(10, profiler.beginScope("ui"));
+        assertEquals(11, profiler.endScope());
+        assertEquals(1, profiler.endScope());
+        profiler.endFrame();
+
+        assertEquals(12, profiler.pendingQueryCount(0));
+        assertEquals(0, profiler.pendingQueryCount(1));
+    }
+
+    @Test
+    void resolvedFramesAggregateRollingMinAvgP95PerScope() {
+        VulkanGpuProfiler profiler = new VulkanGpuProfiler(2, 64, 1_000_000.0, 4);
+        long[] shadowTicks = {4, 2, 3, 10, 5};
+        for (int frame = 0; frame < shadowTicks.length; frame++) {
+            int slot = recordFrame(profiler, frame);
+            long[] timestamps = new long[profiler.pendingQueryCount(slot)];
+            timestamps[1] = 20;                          // frame
+            timestamps[3] = shadowTicks[frame];          // shadow pass
+            timestamps[4] = 3;                           // main pass 3..6
+            timestamps[5] = 6;
+            timestamps[8] = 1;                           // cascade nested in the shadow pass
+            timestamps[9] = 2;
+            profiler.resolve(slot, timestamps);
+        }
+
+        Map<String, VulkanGpuPassTiming> byScope = byScope(profiler.passTimings());
+        VulkanGpuPassTiming shadow = byScope.get(SHADOW);
+        assertEquals(4, shadow.samples());
+        assertEquals(5.0, shadow.lastMs(), 1e-9);
+        assertEquals(2.0, shadow.minMs(), 1e-9);
+        assertEquals(5.0, shadow.avgMs(), 1e-9);
+        assertEquals(10.0, shadow.p95Ms(), 1e-9);
+        assertEquals(0, shadow.depth());
+        assertEquals(3.0, byScope.get(MAIN).avgMs(), 1e-9);
+        assertEquals(1, byScope.get(SHADOW + "/cascade0").depth());
+        assertEquals(1.0, byScope.get(SHADOW + "/cascade0").lastMs(), 1e-9);
+        assertEquals(20.0, profiler.lastFrameMs(), 1e-9);
+    }
+
+    @Test
+    void resolvingEachSlotAfterItsFenceAndBeforeReuseDropsNoFrame() {
+        VulkanGpuProfiler profiler = new VulkanGpuProfiler(2, 64, 1_000_000.0, 16);
+        long[][] slotTimestamps = new long[2][64];
+        int frames = 10;
+        for (int frame = 0; frame < frames; frame++) {
+            // Fence of the frame that last used this slot has signalled; resolve before beginFrame reuses it.
+            int slot = profiler.slotOf(frame);
+            if (profiler.pendingQueryCount(slot) > 0) {
+                long[] timestamps = slotTimestamps[slot];
+                timestamps[0] = 0;
+                timestamps[1] = frame - 2;                // frame scope of the frame that used the slot
+                profiler.resolve(slot, timestamps);
+            }
+            assertEquals(slot, recordFrame(profiler, frame));
+        }
+
+        assertEquals(0, profiler.droppedFrames());
+        assertEquals(frames - 2, byScope(profiler.passTimings()).get(VulkanGpuProfiler.FRAME_SCOPE).samples());
+        assertEquals(frames - 3.0, profiler.lastFrameMs(), 1e-9);
+    }
+
+    @Test
+    void slotReusedBeforeItWasResolvedIsDropped() {
+        VulkanGpuProfiler profiler = new VulkanGpuProfiler(3, 64, 1.0, 8);
+        recordFrame(profiler, 4);
+        recordFrame(profiler, 5);
+        recordFrame(profiler, 6);
+
+        profiler.resolve(profiler.slotOf(7), new long[64]);
+        recordFrame(profiler, 7);
+        assertEquals(0, profiler.droppedFrames());
+        recordFrame(profiler, 8);
+
+        assertEquals(1, profiler.droppedFrames());
+        assertTrue(profiler.passTimings().stream().anyMatch(t -> t.scope().equals(VulkanGpuProfiler.FRAME_SCOPE)));
+    }
+
+    @Test
+    void reusedSlotBufferAndScopesOnlyCountTheQueriesOfTheResolvedFrame() {
+        VulkanGpuProfiler profiler = new VulkanGpuProfiler(1, 8, 1_000_000.0, 8);
+        long[] reused = new long[8];
+        profiler.beginFrame(0);
+        profiler.beginScope(VulkanGpuProfiler.FRAME_SCOPE);
+        profiler.beginScope("ui");
+        profiler.endScope();
+        profiler.endScope();
+        profiler.endFrame();
+        reused[1] = 9;
+        reused[2] = 4;
+        reused[3] = 6;
+        profiler.resolve(0, reused);
+
+        // The next frame in the slot skips the UI scope; its stale ticks stay in the reused buffer.
+        profiler.beginFrame(1);
+        profiler.beginScope(VulkanGpuProfiler.FRAME_SCOPE);
+        profiler.endScope();
+        profiler.endFrame();
+        reused[1] = 7;
+        profiler.resolve(0, reused);
+
+        Map<String, VulkanGpuPassTiming> byScope = byScope(profiler.passTimings());
+        assertEquals(2, byScope.get(VulkanGpuProfiler.FRAME_SCOPE).samples());
+        assertEquals(7.0, profiler.lastFrameMs(), 1e-9);
+        assertEquals(1, byScope.get("ui").samples());
+    }
+
+    @Test
+    void scopesBeyondPoolCapacityAreSkippedNotWrapped() {
+        VulkanGpuProfiler profiler = new VulkanGpuProfiler(1, 6, 1.0, 8);
+        profiler.beginFrame(0);
+        assertEquals(0, profiler.beginScope(VulkanGpuProfiler.FRAME_SCOPE));
+        int base = profiler.reservePlan(slots());
+        assertEquals(-1, base);
+        assertEquals(-1, profiler.beginPlannedScope(base, slots(), 0));
+        assertEquals(-1, profiler.endScope());
+        assertEquals(2, profiler.beginScope("ui"));
+        assertEquals(3, profiler.endScope());
+        assertEquals(1, profiler.endScope());
+        profiler.endFrame();
+
+        assertEquals(1, profiler.skippedScopes());
+        assertEquals(4, profiler.pendingQueryCount(0));
+        profiler.resolve(0, new long[]{0, 9, 2, 5});
+        assertTrue(byScope(profiler.passTimings()).containsKey("ui"));
+        assertFalse(byScope(profiler.passTimings()).containsKey(SHADOW));
+    }
+
+    @Test
+    void unbalancedScopesAreRejected() {
+        VulkanGpuProfiler profiler = new VulkanGpuProfiler(1, 8, 1.0, 8);
+        profiler.beginFrame(0);
+        assertThrows(IllegalStateException.class, profiler::endScope);
+        profiler.beginScope(VulkanGpuProfiler.FRAME_SCOPE);
+        assertThrows(IllegalStateException.class, profiler::endFrame);
+    }
+
+    private static int recordFrame(VulkanGpuProfiler profiler, int frameIndex) {
+        VulkanRenderGraphTimestampSlots slots = slots();
+        int slot = profiler.beginFrame(frameIndex);
+        profiler.beginScope(VulkanGpuProfiler.FRAME_SCOPE);
+        int base = profiler.reservePlan(slots);
+        for (int node = 0; node < slots.scopeNames().size(); node++) {
+            profiler.beginPlannedScope(base, slots, node);
+            if (node == 0) {
+                profiler.beginScope("cascade0");
+                profiler.endScope();
+            }
+            profiler.endScope();
+        }
+        profiler.endScope();
+        profiler.endFrame();
+        return slot;
+    }
+
+    private static VulkanRenderGraphTimestampSlots slots() {
+        return VulkanRenderGraphTimestampSlots.of(new VulkanRenderGraphPlan(
+                List.of(node(SHADOW, RenderPassPhase.PRE_MAIN), node(MAIN, RenderPassPhase.MAIN), node(POST, RenderPassPhase.POST_MAIN)),
+                List.of(),
+                List.of(),
+                List.of()
+        ));
+    }
+
+    private static VulkanRenderGraphNode node(String nodeId, RenderPassPhase phase) {
+        return new VulkanRenderGraphNode(nodeId, "feature", "pass", phase, List.of(), List.of(), false);
+    }
+
+    private static Map<String, VulkanGpuPassTiming> byScope(List<VulkanGpuPassTiming> timings) {
+        return timings.stream().collect(Collectors.toMap(VulkanGpuPassTiming::scope, Function.identity()));
+    }
+}
@@ -85,6 +85,8 @@ class VulkanShaderSourcesTest {
         assertTrue(shader.contains("float contactStrengthScale = clamp(gbo.uPointLightDir.w, 0.25, 2.0);"));
         assertTrue(shader.contains("if (contactShadows) {"));
         assertTrue(shader.contains("layout(std430, set = 0, binding = 2) readonly buffer ReflectionProbeData {"));
+        assertTrue(shader.contains("layout(std430, set = 0, binding = 3) readonly buffer ClusteredLightData {"));
+        assertTrue(shader.contains("uvec2 clusterRange = clusters.uClusterRanges[(clusterSlice * clusterGrid.y + tileY) * clusterGrid.x + tileX];"));
         assertTrue(shader.contains("layout(set = 1, binding = 9) uniform sampler2DArray uProbeRadianceTexture;"));
         assertTrue(shader.contains("float probeWeightAtWorldPos(vec3 worldPos, ProbeData probe)"));
         assertTrue(shader.contains("vec3 probeSampleDirection(vec3 worldPos, vec3 reflectDir, ProbeData probe)"));
@@ -0,0 +1,228 @@
+package org.dynamisengine.light.impl.vulkan.shader;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.dynamisengine.light.api.error.EngineErrorCode;
+import org.dynamisengine.light.api.error.EngineException;
+import org.junit.jupiter.api.Test;
+import org.lwjgl.Version;
+
+import static org.lwjgl.util.shaderc.Shaderc.shaderc_fragment_shader;
+
+class VulkanSpirvCacheTest {
+    private static final int VERTEX = 0;
+    private static final int FRAGMENT = 1;
+
+    @Test
+    void repeatedRequestsHitMemoryAndReturnIdenticalBytes() throws Exception {
+        FakeCompiler compiler = new FakeCompiler();
+        VulkanSpirvCache cache = new VulkanSpirvCache(compiler, null, 2);
+        VulkanSpirvCompileRequest request = VulkanSpirvCompileRequest.of("void main(){}", VERTEX, "a.vert");
+
+        byte[] first = bytes(cache.getOrCompile(request));
+        byte[] second = bytes(cache.getOrCompile(request));
+
+        assertArrayEquals(first, second);
+        assertEquals(1, compiler.compiles.get());
+        assertEquals(1L, cache.stats().misses());
+        assertEquals(1L, cache.stats().memoryHits());
+        assertEquals(0.5, cache.stats().hitRate(), 1.0e-9);
+    }
+
+    @Test
+    void persistedEntriesSurviveNewCacheInstances() throws Exception {
+        Path dir = Files.createTempDirectory("dle-spirv-cache");
+        VulkanSpirvCompileRequest request = VulkanSpirvCompileRequest.of("void main(){ gl_Position = vec4(0); }", VERTEX, "b.vert");
+        FakeCompiler coldCompiler = new FakeCompiler();
+        byte[] cold = bytes(new VulkanSpirvCache(coldCompiler, dir, 1).getOrCompile(request));
+
+        FakeCompiler warmCompiler = new FakeCompiler();
+        VulkanSpirvCache warm = new VulkanSpirvCache(warmCompiler, dir, 1);
+        byte[] reloaded = bytes(warm.getOrCompile(request));
+
+        assertArrayEquals(cold, reloaded);
+        assertEquals(0, warmCompiler.compiles.get());
+        assertEquals(1L, warm.stats().diskHits());
+        assertTrue(Files.exists(dir.resolve(warm.keyOf(request) + ".spv")));
+    }
+
+    @Test
+    void keyCoversStageDefinesAndCompilerVersionButNotSourceName() {
+        VulkanSpirvCache cache = new VulkanSpirvCache(new FakeCompiler(), null, 1);
+        String source = "void main(){}";
+        String base = cache.keyOf(VulkanSpirvCompileRequest.of(source, VERTEX, "a.vert"));
+
+        assertEquals(base, cache.keyOf(VulkanSpirvCompileRequest.of(source, VERTEX, "renamed.vert")));
+        assertNotEquals(base, cache.keyOf(VulkanSpirvCompileRequest.of(source, FRAGMENT, "a.vert")));
+        assertNotEquals(base, cache.keyOf(new VulkanSpirvCompileRequest(source, VERTEX, "a.vert", Map.of("SKINNED", "1"))));
+        assertEquals(
+                cache.keyOf(new VulkanSpirvCompileRequest(source, VERTEX, "a.vert", Map.of("A", "1", "B", "2"))),
+                cache.keyOf(new VulkanSpirvCompileRequest(source, VERTEX, "a.vert", Map.of("B", "2", "A", "1")))
+        );
+        FakeCompiler newer = new FakeCompiler();
+        newer.version = "fake-2";
+        assertNotEquals(base, new VulkanSpirvCache(newer, null, 1).keyOf(VulkanSpirvCompileRequest.of(source, VERTEX, "a.vert")));
+    }
+
+    @Test
+    void batchCompilesMissesInParallelAndDeduplicatesSharedSources() throws Exception {
+        FakeCompiler compiler = new FakeCompiler();
+        compiler.gate = new CountDownLatch(3);
+        VulkanSpirvCache cache = new VulkanSpirvCache(compiler, null, 3);
+        List<VulkanSpirvCompileRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            requests.add(VulkanSpirvCompileRequest.of("void main(){ /*" + i + "*/ }", VERTEX, "v" + i + ".vert"));
+        }
+        requests.add(VulkanSpirvCompileRequest.of("void main(){ /*0*/ }", VERTEX, "duplicate.vert"));
+
+        List<ByteBuffer> results = cache.getOrCompileAll(requests);
+
+        // The gate only opens once three compiles are running at the same time.
+        assertEquals(3, compiler.compiles.get());
+        assertEquals(3, compiler.threads.size());
+        assertEquals(4, results.size());
+        assertArrayEquals(bytes(results.get(0)), bytes(results.get(3)));
+    }
+
+    @Test
+    void compileFailuresPropagateAndAreNotCached() throws Exception {
+        FakeCompiler compiler = new FakeCompiler();
+        VulkanSpirvCache cache = new VulkanSpirvCache(compiler, null, 1);
+        VulkanSpirvCompileRequest broken = VulkanSpirvCompileRequest.of("#error broken", FRAGMENT, "broken.frag");
+
+        cache.prefetch(List.of(broken));
+        EngineException error = assertThrows(EngineException.class, () -> cache.getOrCompile(broken));
+
+        assertEquals(EngineErrorCode.BACKEND_INIT_FAILED, error.code());
+        assertEquals(0, cache.stats().entries());
+        assertTrue(cache.stats().compileFailures() >= 1L);
+    }
+
+    @Test
+    void shadercOutputIsByteIdenticalThroughTheCache() throws Exception {
+        String source = """
+                #version 450
+                layout(location = 0) out vec4 outColor;
+                void main() { outColor = vec4(1.0, 0.5, 0.25, 1.0); }
+                """;
+        VulkanSpirvCompileRequest request = VulkanSpirvCompileRequest.of(source, shaderc_fragment_shader, "equivalence.frag");
+        VulkanSpirvCache.Compiler backend = VulkanShaderCompiler.shadercBackend();
+        byte[] direct = backend.compile(request);
+        VulkanSpirvCache cache = new VulkanSpirvCache(
+                VulkanShaderCompiler.shadercBackend(), Files.createTempDirectory("dle-spirv-shaderc"), 2);
+
+        byte[] miss = bytes(cache.getOrCompile(request));
+        byte[] hit = bytes(cache.getOrCompile(request));
+        cache.close();
+
+        assertArrayEquals(direct, miss);
+        assertArrayEquals(direct, hit);
+        assertTrue(backend.version().contains("-lwjgl-" + Version.getVersion()));
+        backend.close();
+    }
+
+    @Test
+    void closeStopsWorkersAndReleasesTheCompiler() throws Exception {
+        FakeCompiler compiler = new FakeCompiler();
+        VulkanSpirvCache cache = new VulkanSpirvCache(compiler, null, 2);
+        VulkanSpirvCompileRequest cached = VulkanSpirvCompileRequest.of("void main(){}", VERTEX, "a.vert");
+        byte[] before = bytes(cache.getOrCompile(cached));
+
+        cache.close();
+
+        assertTrue(compiler.closed);
+        assertArrayEquals(before, bytes(cache.getOrCompile(cached)));
+        assertThrows(EngineException.class,
+                () -> cache.getOrCompile(VulkanSpirvCompileRequest.of("void main(){ }", VERTEX, "b.vert")));
+    }
+
+    @Test
+    void sharedCacheStaysOpenUntilTheLastContextReleasesIt() throws Exception {
+        FakeCompiler compiler = new FakeCompiler();
+        VulkanSpirvCache first = VulkanSpirvCache.acquireShared(() -> new VulkanSpirvCache(compiler, null, 1));
+        VulkanSpirvCache second = VulkanSpirvCache.acquireShared(() -> new VulkanSpirvCache(new FakeCompiler(), null, 1));
+        try {
+            assertSame(first, second);
+
+            VulkanSpirvCache.releaseShared();
+
+            assertFalse(compiler.closed);
+            second.getOrCompile(VulkanSpirvCompileRequest.of("void main(){ /*live*/ }", VERTEX, "live.vert"));
+        } finally {
+            VulkanSpirvCache.releaseShared();
+        }
+
+        assertTrue(compiler.closed);
+        assertThrows(EngineException.class,
+                () -> first.getOrCompile(VulkanSpirvCompileRequest.of("void main(){ /*gone*/ }", VERTEX, "gone.vert")));
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] out = new byte[buffer.remaining()];
+        buffer.duplicate().get(out);
+        return out;
+    }
+
+    private static final class FakeCompiler implements VulkanSpirvCache.Compiler {
+        private final AtomicInteger compiles = new AtomicInteger();
+        private final Set<String> threads = ConcurrentHashMap.newKeySet();
+        private volatile CountDownLatch gate;
+        private volatile String version = "fake-1";
+        private volatile boolean closed;
+
+        @Override
+        public byte[] compile(VulkanSpirvCompileRequest request) throws EngineException {
+            compiles.incrementAndGet();
+            threads.add(Thread.currentThread().getName());
+            CountDownLatch latch = gate;
+            if (latch != null) {
+                latch.countDown();
+                try {
+                    if (!latch.await(5, TimeUnit.SECONDS)) {
+                        throw new EngineException(EngineErrorCode.BACKEND_INIT_FAILED, "compiles did not overlap", false);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (request.source().startsWith("#error")) {
+                throw new EngineException(EngineErrorCode.BACKEND_INIT_FAILED, "fake compile error", false);
+            }
+            byte[] payload = (request.shaderKind() + ":" + request.defines() + ":" + request.source())
+                    .getBytes(StandardCharsets.UTF_8);
+            int words = 5 + (payload.length + 3) / 4;
+            ByteBuffer spirv = ByteBuffer.allocate(words * 4).order(ByteOrder.LITTLE_ENDIAN);
+            spirv.putInt(0x07230203).putInt(0x00010300).putInt(0).putInt(1).putInt(0).put(payload);
+            return spirv.array();
+        }
+
+        @Override
+        public String version() {
+            return version;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}